@@ -0,0 +1,235 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.fluss.benchmark;
+
+import com.alibaba.fluss.cluster.Endpoint;
+import com.alibaba.fluss.cluster.TabletServerInfo;
+import com.alibaba.fluss.config.ConfigOptions;
+import com.alibaba.fluss.config.Configuration;
+import com.alibaba.fluss.metadata.DatabaseDescriptor;
+import com.alibaba.fluss.metadata.Schema;
+import com.alibaba.fluss.metadata.TableDescriptor;
+import com.alibaba.fluss.metadata.TablePath;
+import com.alibaba.fluss.server.coordinator.AutoPartitionManager;
+import com.alibaba.fluss.server.coordinator.CoordinatorContext;
+import com.alibaba.fluss.server.coordinator.CoordinatorEventProcessor;
+import com.alibaba.fluss.server.coordinator.LakeTableTieringManager;
+import com.alibaba.fluss.server.coordinator.MetadataManager;
+import com.alibaba.fluss.server.coordinator.TestCoordinatorChannelManager;
+import com.alibaba.fluss.server.coordinator.event.AccessContextEvent;
+import com.alibaba.fluss.server.coordinator.event.CoordinatorEventManager;
+import com.alibaba.fluss.server.coordinator.event.DeadTabletServerEvent;
+import com.alibaba.fluss.server.metadata.CoordinatorMetadataCache;
+import com.alibaba.fluss.server.metrics.group.TestingMetricGroups;
+import com.alibaba.fluss.server.zk.NOPErrorHandler;
+import com.alibaba.fluss.server.zk.ZooKeeperClient;
+import com.alibaba.fluss.server.zk.ZooKeeperTestUtils;
+import com.alibaba.fluss.server.zk.data.CoordinatorAddress;
+import com.alibaba.fluss.server.zk.data.TabletServerRegistration;
+import com.alibaba.fluss.shaded.zookeeper3.org.apache.zookeeper.KeeperException;
+import com.alibaba.fluss.types.DataTypes;
+import com.alibaba.fluss.utils.concurrent.ExecutorThreadFactory;
+
+import org.apache.curator.test.TestingServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.VerboseMode;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static com.alibaba.fluss.config.ConfigOptions.DEFAULT_LISTENER_NAME;
+import static com.alibaba.fluss.server.coordinator.CoordinatorTestUtils.makeSendLeaderAndStopRequestAlwaysSuccess;
+import static com.alibaba.fluss.server.utils.TableAssignmentUtils.generateAssignment;
+
+/**
+ * Benchmark for the failover of a large cluster in the coordinator server, which measures the time
+ * to process the failures of several tablet servers at the same time, including moving the buckets
+ * and replicas on them to offline, electing new leaders in ZooKeeper and sending the requests to
+ * the live tablet servers. Each invocation starts a new coordinator on a new cluster, and the
+ * {@code maxBatchSize} compares processing the failures one by one with merging them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@Warmup(iterations = 2)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Measurement(iterations = 5)
+@Fork(value = 0)
+public class CoordinatorFailoverBenchmark {
+
+    private static final String DATABASE = "benchmark_db";
+    private static final int BUCKETS_PER_TABLE = 32;
+    private static final int REPLICATION_FACTOR = 3;
+
+    @Param({"50"})
+    public int numTabletServers;
+
+    @Param({"200"})
+    public int numTables;
+
+    @Param({"10"})
+    public int numDeadTabletServers;
+
+    @Param({"1", "1000"})
+    public int maxBatchSize;
+
+    private TestingServer zooKeeperServer;
+    private ZooKeeperClient zooKeeperClient;
+    private ExecutorService ioExecutor;
+    private CoordinatorEventProcessor eventProcessor;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        zooKeeperServer = ZooKeeperTestUtils.createAndStartZookeeperTestingServer();
+        zooKeeperClient =
+                ZooKeeperTestUtils.createZooKeeperClient(
+                        zooKeeperServer.getConnectString(), NOPErrorHandler.INSTANCE);
+        ioExecutor = Executors.newFixedThreadPool(1, new ExecutorThreadFactory("benchmark-io"));
+    }
+
+    @Setup(Level.Invocation)
+    public void startCluster() throws Exception {
+        try {
+            // clean up the cluster of the previous invocation
+            zooKeeperClient.getCuratorClient().delete().deletingChildrenIfNeeded().forPath("/");
+        } catch (KeeperException.NoNodeException ignored) {
+            // the first invocation
+        }
+
+        zooKeeperClient.registerCoordinatorLeader(
+                new CoordinatorAddress(
+                        "0", Endpoint.fromListenersString("CLIENT://localhost:10012")));
+        TabletServerInfo[] tabletServers = new TabletServerInfo[numTabletServers];
+        for (int i = 0; i < numTabletServers; i++) {
+            zooKeeperClient.registerTabletServer(
+                    i,
+                    new TabletServerRegistration(
+                            "rack" + i,
+                            Collections.singletonList(
+                                    new Endpoint("host" + i, 1000, DEFAULT_LISTENER_NAME)),
+                            System.currentTimeMillis()));
+            tabletServers[i] = new TabletServerInfo(i, "rack" + i);
+        }
+
+        Configuration conf = new Configuration();
+        conf.set(ConfigOptions.COORDINATOR_EVENT_MAX_BATCH_SIZE, maxBatchSize);
+        MetadataManager metadataManager = new MetadataManager(zooKeeperClient, conf);
+        metadataManager.createDatabase(DATABASE, DatabaseDescriptor.builder().build(), false);
+        TableDescriptor tableDescriptor =
+                TableDescriptor.builder()
+                        .schema(
+                                Schema.newBuilder()
+                                        .column("a", DataTypes.INT())
+                                        .primaryKey("a")
+                                        .build())
+                        .distributedBy(BUCKETS_PER_TABLE, "a")
+                        .build()
+                        .withReplicationFactor(REPLICATION_FACTOR);
+        for (int i = 0; i < numTables; i++) {
+            metadataManager.createTable(
+                    TablePath.of(DATABASE, "table_" + i),
+                    tableDescriptor,
+                    generateAssignment(BUCKETS_PER_TABLE, REPLICATION_FACTOR, tabletServers),
+                    false);
+        }
+
+        // make all the requests to the tablet servers succeed
+        TestCoordinatorChannelManager channelManager = new TestCoordinatorChannelManager();
+        makeSendLeaderAndStopRequestAlwaysSuccess(
+                channelManager,
+                IntStream.range(0, numTabletServers).boxed().collect(Collectors.toSet()));
+        CoordinatorMetadataCache serverMetadataCache = new CoordinatorMetadataCache();
+        eventProcessor =
+                new CoordinatorEventProcessor(
+                        zooKeeperClient,
+                        serverMetadataCache,
+                        channelManager,
+                        new CoordinatorContext(),
+                        new AutoPartitionManager(serverMetadataCache, metadataManager, conf),
+                        new LakeTableTieringManager(),
+                        TestingMetricGroups.COORDINATOR_METRICS,
+                        conf,
+                        ioExecutor);
+        eventProcessor.startup();
+        // wait for the leaders of all the buckets to be elected
+        awaitQueuedEvents();
+    }
+
+    @Benchmark
+    public Set<Integer> failover() throws Exception {
+        CoordinatorEventManager eventManager = eventProcessor.getCoordinatorEventManager();
+        // the failures of the tablet servers are queued at once, like a rack goes down
+        for (int i = 0; i < numDeadTabletServers; i++) {
+            eventManager.put(new DeadTabletServerEvent(i));
+        }
+        return awaitQueuedEvents();
+    }
+
+    @TearDown(Level.Invocation)
+    public void stopCluster() {
+        eventProcessor.shutdown();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        ioExecutor.shutdownNow();
+        zooKeeperClient.close();
+        zooKeeperServer.close();
+    }
+
+    /** Waits for the events queued so far to be processed and returns the live tablet servers. */
+    private Set<Integer> awaitQueuedEvents() throws Exception {
+        AccessContextEvent<Set<Integer>> event =
+                new AccessContextEvent<>(
+                        context -> new HashSet<>(context.getLiveTabletServers().keySet()));
+        eventProcessor.getCoordinatorEventManager().put(event);
+        return event.getResultFuture().get(10, TimeUnit.MINUTES);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt =
+                new OptionsBuilder()
+                        .verbosity(VerboseMode.NORMAL)
+                        .include(
+                                ".*" + CoordinatorFailoverBenchmark.class.getCanonicalName() + ".*")
+                        .build();
+
+        new Runner(opt).run();
+    }
+}
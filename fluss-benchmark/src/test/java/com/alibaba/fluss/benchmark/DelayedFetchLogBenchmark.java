@@ -0,0 +1,155 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.fluss.benchmark;
+
+import com.alibaba.fluss.metadata.TableBucket;
+import com.alibaba.fluss.server.replica.delay.DelayedOperation;
+import com.alibaba.fluss.server.replica.delay.DelayedOperationManager;
+import com.alibaba.fluss.server.replica.delay.DelayedTableBucketKey;
+import com.alibaba.fluss.server.replica.delay.TestingDelayedOperation;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.VerboseMode;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Benchmark for the {@link DelayedOperationManager} of the fetch log requests with 10k long-poll
+ * fetches waiting on the buckets of a tablet server. Every operation appends to a random bucket,
+ * which completes the fetches waiting on the bucket, and then re-issues them, as the fetchers do
+ * after receiving the responses. The score is the number of appends per second of all the threads,
+ * the number of threads can be overridden by {@code -t}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 3)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Measurement(iterations = 5)
+@Fork(value = 0)
+@Threads(8)
+public class DelayedFetchLogBenchmark {
+
+    private static final int NUM_DELAYED_FETCHES = 10_000;
+
+    @Param({"10", "1000"})
+    public int numBuckets;
+
+    private DelayedOperationManager<DelayedOperation> delayedFetchLogManager;
+    private Bucket[] buckets;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        delayedFetchLogManager = new DelayedOperationManager<>("FetchLog", 0, 1000);
+        buckets = new Bucket[numBuckets];
+        for (int i = 0; i < numBuckets; i++) {
+            buckets[i] = new Bucket(new TableBucket(1L, i));
+        }
+        for (int i = 0; i < NUM_DELAYED_FETCHES; i++) {
+            fetch(buckets[i % numBuckets]);
+        }
+    }
+
+    @TearDown
+    public void teardown() {
+        delayedFetchLogManager.shutdown();
+    }
+
+    @Benchmark
+    public int appendAndComplete() {
+        Bucket bucket = buckets[ThreadLocalRandom.current().nextInt(numBuckets)];
+        bucket.highWatermark.incrementAndGet();
+        return delayedFetchLogManager.checkAndComplete(bucket.key);
+    }
+
+    private void fetch(Bucket bucket) {
+        delayedFetchLogManager.tryCompleteElseWatch(
+                new TestDelayedFetchLog(bucket, bucket.highWatermark.get()), bucket.watchKeys);
+    }
+
+    /** A bucket that the fetches wait for the new data of. */
+    private static final class Bucket {
+        private final DelayedTableBucketKey key;
+        private final List<Object> watchKeys;
+        private final AtomicLong highWatermark = new AtomicLong(0);
+
+        private Bucket(TableBucket tableBucket) {
+            this.key = new DelayedTableBucketKey(tableBucket);
+            this.watchKeys = Collections.singletonList(key);
+        }
+    }
+
+    /** A fetch which completes once the high watermark of the bucket exceeds its fetch offset. */
+    private final class TestDelayedFetchLog extends TestingDelayedOperation {
+        private final Bucket bucket;
+        private final long fetchOffset;
+
+        private TestDelayedFetchLog(Bucket bucket, long fetchOffset) {
+            super(TimeUnit.MINUTES.toMillis(10));
+            this.bucket = bucket;
+            this.fetchOffset = fetchOffset;
+        }
+
+        @Override
+        public boolean tryComplete() {
+            if (bucket.highWatermark.get() > fetchOffset) {
+                return forceCompleteOperation();
+            }
+            return false;
+        }
+
+        @Override
+        public void onExpiration() {}
+
+        @Override
+        public void onComplete() {
+            // the fetcher fetches again after receiving the response
+            fetch(bucket);
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt =
+                new OptionsBuilder()
+                        .verbosity(VerboseMode.NORMAL)
+                        .include(".*" + DelayedFetchLogBenchmark.class.getCanonicalName() + ".*")
+                        .build();
+
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.fluss.benchmark;
+
+import com.alibaba.fluss.metrics.DescriptiveStatisticsHistogram;
+import com.alibaba.fluss.metrics.Histogram;
+import com.alibaba.fluss.metrics.LogBucketHistogram;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.VerboseMode;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark for the contention on a histogram shared by the threads recording the latency of the
+ * requests, such as the request metrics of a tablet server. The {@code update} benchmark only
+ * records values, while the {@code updateAndReport} group also computes the p99 concurrently as a
+ * metric reporter does. The score is the number of operations per second of all the threads, the
+ * number of threads of {@code update} can be overridden by {@code -t}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 3)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Measurement(iterations = 5)
+@Fork(value = 0)
+public class HistogramBenchmark {
+
+    @Param({"descriptive", "logBucket"})
+    public String type;
+
+    private Histogram histogram;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        switch (type) {
+            case "descriptive":
+                histogram = new DescriptiveStatisticsHistogram(1024);
+                break;
+            case "logBucket":
+                histogram = new LogBucketHistogram();
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown histogram type: " + type);
+        }
+    }
+
+    @Benchmark
+    @Threads(8)
+    public void update() {
+        histogram.update(ThreadLocalRandom.current().nextLong(1000));
+    }
+
+    @Benchmark
+    @Group("updateAndReport")
+    @GroupThreads(8)
+    public void updateWithReport() {
+        histogram.update(ThreadLocalRandom.current().nextLong(1000));
+    }
+
+    @Benchmark
+    @Group("updateAndReport")
+    @GroupThreads(1)
+    public double report() {
+        return histogram.getStatistics().getQuantile(0.99);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt =
+                new OptionsBuilder()
+                        .verbosity(VerboseMode.NORMAL)
+                        .include(".*" + HistogramBenchmark.class.getCanonicalName() + ".*")
+                        .build();
+
+        new Runner(opt).run();
+    }
+}
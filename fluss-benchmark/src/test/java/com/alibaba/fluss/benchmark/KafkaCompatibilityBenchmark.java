@@ -0,0 +1,242 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.fluss.benchmark;
+
+import com.alibaba.fluss.client.Connection;
+import com.alibaba.fluss.client.ConnectionFactory;
+import com.alibaba.fluss.client.admin.Admin;
+import com.alibaba.fluss.client.table.Table;
+import com.alibaba.fluss.client.table.scanner.ScanRecord;
+import com.alibaba.fluss.client.table.scanner.log.LogScanner;
+import com.alibaba.fluss.client.table.scanner.log.ScanRecords;
+import com.alibaba.fluss.client.table.writer.AppendWriter;
+import com.alibaba.fluss.cluster.ServerNode;
+import com.alibaba.fluss.config.ConfigOptions;
+import com.alibaba.fluss.config.Configuration;
+import com.alibaba.fluss.kafka.KafkaTopic;
+import com.alibaba.fluss.metadata.TablePath;
+import com.alibaba.fluss.row.GenericRow;
+import com.alibaba.fluss.row.InternalRow;
+import com.alibaba.fluss.row.TimestampLtz;
+import com.alibaba.fluss.server.testutils.FlussClusterExtension;
+
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.VerboseMode;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import static org.apache.commons.lang3.RandomStringUtils.randomAlphanumeric;
+
+/**
+ * Benchmark for the produce and consume throughput of the Kafka clients served by the Kafka
+ * protocol plugin, compared with the native Fluss {@link AppendWriter} and {@link LogScanner} on
+ * the same table. The score is the number of records produced or consumed per second.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 3)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Measurement(iterations = 3)
+@Fork(value = 0)
+public class KafkaCompatibilityBenchmark {
+
+    private static final String KAFKA_DATABASE = "kafka";
+    private static final String PRODUCE_TOPIC = "produce_topic";
+    private static final String CONSUME_TOPIC = "consume_topic";
+    private static final int RECORDS_SIZE = 10_000;
+
+    private final FlussClusterExtension flussCluster =
+            FlussClusterExtension.builder()
+                    .setNumOfTabletServers(1)
+                    .setTabletServerListeners("FLUSS://localhost:0, KAFKA://localhost:0")
+                    .setClusterConf(initConfig())
+                    .build();
+
+    private Connection conn;
+    private Table produceTable;
+    private Table consumeTable;
+    private AppendWriter appendWriter;
+    private KafkaProducer<byte[], byte[]> kafkaProducer;
+    private String kafkaBootstrapServers;
+    private byte[][] keys;
+    private byte[][] values;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        flussCluster.start();
+        conn = ConnectionFactory.createConnection(flussCluster.getClientConfig());
+        Admin admin = conn.getAdmin();
+        // the Kafka database is created by the coordinator, a single bucket for benchmark
+        for (String topic : new String[] {PRODUCE_TOPIC, CONSUME_TOPIC}) {
+            TablePath tablePath = TablePath.of(KAFKA_DATABASE, topic);
+            admin.createTable(tablePath, KafkaTopic.tableDescriptor(1), false).get();
+            flussCluster.waitUtilTableReady(admin.getTableInfo(tablePath).get().getTableId());
+        }
+
+        keys = new byte[RECORDS_SIZE][];
+        values = new byte[RECORDS_SIZE][];
+        for (int i = 0; i < RECORDS_SIZE; i++) {
+            keys[i] = randomAlphanumeric(10).getBytes(StandardCharsets.UTF_8);
+            values[i] = randomAlphanumeric(100).getBytes(StandardCharsets.UTF_8);
+        }
+
+        produceTable = conn.getTable(TablePath.of(KAFKA_DATABASE, PRODUCE_TOPIC));
+        appendWriter = produceTable.newAppend().createWriter();
+
+        ServerNode kafkaServer = flussCluster.getTabletServerNodes("KAFKA").get(0);
+        kafkaBootstrapServers = kafkaServer.host() + ":" + kafkaServer.port();
+        Properties producerProps = new Properties();
+        producerProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, kafkaBootstrapServers);
+        producerProps.put(ProducerConfig.ACKS_CONFIG, "all");
+        // the idempotent producers are not supported
+        producerProps.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, false);
+        producerProps.put(ProducerConfig.LINGER_MS_CONFIG, 5);
+        kafkaProducer =
+                new KafkaProducer<>(
+                        producerProps, new ByteArraySerializer(), new ByteArraySerializer());
+
+        // the records to consume
+        consumeTable = conn.getTable(TablePath.of(KAFKA_DATABASE, CONSUME_TOPIC));
+        AppendWriter consumeWriter = consumeTable.newAppend().createWriter();
+        for (int i = 0; i < RECORDS_SIZE; i++) {
+            consumeWriter.append(row(i));
+        }
+        consumeWriter.flush();
+    }
+
+    @TearDown
+    public void teardown() throws Exception {
+        kafkaProducer.close();
+        produceTable.close();
+        consumeTable.close();
+        conn.close();
+        flussCluster.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RECORDS_SIZE)
+    public void produceByKafkaProducer() {
+        for (int i = 0; i < RECORDS_SIZE; i++) {
+            kafkaProducer.send(new ProducerRecord<>(PRODUCE_TOPIC, 0, keys[i], values[i]));
+        }
+        kafkaProducer.flush();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RECORDS_SIZE)
+    public void produceByAppendWriter() {
+        for (int i = 0; i < RECORDS_SIZE; i++) {
+            appendWriter.append(row(i));
+        }
+        appendWriter.flush();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RECORDS_SIZE)
+    public void consumeByKafkaConsumer(Blackhole blackhole) {
+        Properties consumerProps = new Properties();
+        consumerProps.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, kafkaBootstrapServers);
+        try (KafkaConsumer<byte[], byte[]> consumer =
+                new KafkaConsumer<>(
+                        consumerProps, new ByteArrayDeserializer(), new ByteArrayDeserializer())) {
+            TopicPartition partition = new TopicPartition(CONSUME_TOPIC, 0);
+            consumer.assign(Collections.singletonList(partition));
+            consumer.seekToBeginning(Collections.singletonList(partition));
+            long consumed = 0;
+            while (consumed < RECORDS_SIZE) {
+                ConsumerRecords<byte[], byte[]> records = consumer.poll(Duration.ofSeconds(1));
+                for (ConsumerRecord<byte[], byte[]> record : records) {
+                    blackhole.consume(record.key());
+                    blackhole.consume(record.value());
+                    blackhole.consume(record.timestamp());
+                }
+                consumed += records.count();
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RECORDS_SIZE)
+    public void consumeByLogScanner(Blackhole blackhole) throws Exception {
+        try (LogScanner logScanner = consumeTable.newScan().createLogScanner()) {
+            logScanner.subscribeFromBeginning(0);
+            long consumed = 0;
+            while (consumed < RECORDS_SIZE) {
+                ScanRecords scanRecords = logScanner.poll(Duration.ofSeconds(1));
+                for (ScanRecord scanRecord : scanRecords) {
+                    InternalRow row = scanRecord.getRow();
+                    blackhole.consume(row.getBytes(0));
+                    blackhole.consume(row.getBytes(1));
+                    blackhole.consume(row.getTimestampLtz(2, 3));
+                }
+                consumed += scanRecords.count();
+            }
+        }
+    }
+
+    private GenericRow row(int i) {
+        return GenericRow.of(keys[i], values[i], TimestampLtz.fromEpochMillis(i));
+    }
+
+    private static Configuration initConfig() {
+        Configuration conf = new Configuration();
+        conf.set(ConfigOptions.KAFKA_ENABLED, true);
+        return conf;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt =
+                new OptionsBuilder()
+                        .verbosity(VerboseMode.NORMAL)
+                        .include(".*" + KafkaCompatibilityBenchmark.class.getCanonicalName() + ".*")
+                        .build();
+
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.fluss.benchmark;
+
+import com.alibaba.fluss.config.Configuration;
+import com.alibaba.fluss.server.kv.rocksdb.RocksDBKv;
+import com.alibaba.fluss.server.kv.rocksdb.RocksDBKvBuilder;
+import com.alibaba.fluss.server.kv.rocksdb.RocksDBResourceContainer;
+import com.alibaba.fluss.server.kv.rocksdb.RocksDBWriteBatchWrapper;
+import com.alibaba.fluss.utils.BytesUtils;
+import com.alibaba.fluss.utils.FileUtils;
+
+import org.apache.commons.lang3.RandomUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.VerboseMode;
+import org.rocksdb.FlushOptions;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark for looking up the old values of a batch of keys from {@link RocksDBKv} while putting a
+ * kv batch, comparing a point get per key to a single multi-get of the sorted keys.
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 3)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Measurement(iterations = 3)
+@Fork(value = 0)
+public class KvOldValueLookupBenchmark {
+
+    private static final int KEY_COUNT = 1_000_000;
+    private static final int VALUE_SIZE = 100;
+
+    @Param({"1024", "4096"})
+    private int batchSize;
+
+    private File kvDir;
+    private RocksDBKv rocksDBKv;
+    private List<byte[]> batchKeys;
+    private List<byte[]> sortedBatchKeys;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        kvDir = Files.createTempDirectory("kv-lookup-benchmark").toFile();
+        RocksDBResourceContainer resourceContainer =
+                new RocksDBResourceContainer(new Configuration(), kvDir);
+        rocksDBKv =
+                new RocksDBKvBuilder(kvDir, resourceContainer, resourceContainer.getColumnOptions())
+                        .build();
+        try (RocksDBWriteBatchWrapper writeBatch = rocksDBKv.newWriteBatch(2 * 1024 * 1024)) {
+            for (int i = 0; i < KEY_COUNT; i++) {
+                writeBatch.put(keyOf(i), RandomUtils.nextBytes(VALUE_SIZE));
+            }
+            writeBatch.flush();
+        }
+        // make sure the lookups hit the sst files instead of the memtable
+        try (FlushOptions flushOptions = new FlushOptions().setWaitForFlush(true)) {
+            rocksDBKv.getDb().flush(flushOptions);
+        }
+
+        // half of the keys in the batch exist in kv, the other half is for insert
+        batchKeys = new ArrayList<>(batchSize);
+        for (int i = 0; i < batchSize; i++) {
+            int id = RandomUtils.nextInt(0, KEY_COUNT);
+            batchKeys.add(keyOf(i % 2 == 0 ? id : KEY_COUNT + id));
+        }
+        sortedBatchKeys = new ArrayList<>(batchKeys);
+        sortedBatchKeys.sort(BytesUtils::compareUnsigned);
+    }
+
+    @TearDown
+    public void teardown() throws Exception {
+        rocksDBKv.close();
+        FileUtils.deleteDirectory(kvDir);
+    }
+
+    @Benchmark
+    public void lookupPerKey(Blackhole blackhole) throws Exception {
+        for (byte[] key : batchKeys) {
+            blackhole.consume(rocksDBKv.get(key));
+        }
+    }
+
+    @Benchmark
+    public void lookupBatched(Blackhole blackhole) throws Exception {
+        blackhole.consume(rocksDBKv.multiGet(sortedBatchKeys));
+    }
+
+    private static byte[] keyOf(int id) {
+        return String.format("key-%010d", id).getBytes();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt =
+                new OptionsBuilder()
+                        .verbosity(VerboseMode.NORMAL)
+                        .include(".*" + KvOldValueLookupBenchmark.class.getCanonicalName() + ".*")
+                        .build();
+
+        new Runner(opt).run();
+    }
+}
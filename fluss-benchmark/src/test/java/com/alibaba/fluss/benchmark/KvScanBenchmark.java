@@ -0,0 +1,182 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.fluss.benchmark;
+
+import com.alibaba.fluss.client.Connection;
+import com.alibaba.fluss.client.ConnectionFactory;
+import com.alibaba.fluss.client.admin.Admin;
+import com.alibaba.fluss.client.metadata.KvSnapshots;
+import com.alibaba.fluss.client.table.Table;
+import com.alibaba.fluss.client.table.scanner.batch.BatchScanner;
+import com.alibaba.fluss.client.table.writer.UpsertWriter;
+import com.alibaba.fluss.config.ConfigOptions;
+import com.alibaba.fluss.config.Configuration;
+import com.alibaba.fluss.metadata.DatabaseDescriptor;
+import com.alibaba.fluss.metadata.Schema;
+import com.alibaba.fluss.metadata.TableBucket;
+import com.alibaba.fluss.metadata.TableDescriptor;
+import com.alibaba.fluss.metadata.TablePath;
+import com.alibaba.fluss.row.InternalRow;
+import com.alibaba.fluss.server.testutils.FlussClusterExtension;
+import com.alibaba.fluss.types.DataTypes;
+import com.alibaba.fluss.utils.CloseableIterator;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.VerboseMode;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static com.alibaba.fluss.testutils.DataTestUtils.row;
+import static com.alibaba.fluss.testutils.common.CommonTestUtils.waitValue;
+import static org.apache.commons.lang3.RandomStringUtils.randomAlphanumeric;
+
+/**
+ * Benchmark for the full scan of a bucket of a primary key table, which compares scanning the kv
+ * from the leader page by page (with and without projection) and reading the kv snapshot, which
+ * downloads all the snapshot files before reading the first row.
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 3)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Measurement(iterations = 3)
+@Fork(value = 0)
+public class KvScanBenchmark {
+
+    private static final int RECORDS_SIZE = 10_000;
+
+    private final FlussClusterExtension flussCluster =
+            FlussClusterExtension.builder()
+                    .setNumOfTabletServers(1)
+                    .setClusterConf(
+                            new Configuration()
+                                    .set(ConfigOptions.KV_SNAPSHOT_INTERVAL, Duration.ofSeconds(1)))
+                    .build();
+    private Connection conn;
+    private Table table;
+    private TableBucket tableBucket;
+    private long snapshotId;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        flussCluster.start();
+
+        Configuration clientConf = flussCluster.getClientConfig();
+        this.conn = ConnectionFactory.createConnection(clientConf);
+        Admin admin = conn.getAdmin();
+
+        TablePath tablePath = TablePath.of("benchmark_db", "benchmark_kv_table");
+        TableDescriptor descriptor =
+                TableDescriptor.builder()
+                        .schema(
+                                Schema.newBuilder()
+                                        .column("id", DataTypes.BIGINT())
+                                        .column("small_str", DataTypes.STRING())
+                                        .column("long_str", DataTypes.STRING())
+                                        .primaryKey("id")
+                                        .build())
+                        .distributedBy(1) // 1 bucket for benchmark
+                        .build();
+        admin.createDatabase("benchmark_db", DatabaseDescriptor.EMPTY, false).get();
+        admin.createTable(tablePath, descriptor, false).get();
+
+        this.table = conn.getTable(tablePath);
+        UpsertWriter upsertWriter = table.newUpsert().createWriter();
+        for (long i = 0; i < RECORDS_SIZE; i++) {
+            upsertWriter.upsert(row(i, randomAlphanumeric(10), randomAlphanumeric(1000)));
+        }
+        upsertWriter.flush();
+
+        this.tableBucket = new TableBucket(table.getTableInfo().getTableId(), 0);
+        this.snapshotId =
+                waitValue(
+                        () -> {
+                            // wait for the snapshot which contains all the records
+                            KvSnapshots snapshots = admin.getLatestKvSnapshots(tablePath).get();
+                            return snapshots.getLogOffset(0).orElse(-1) >= RECORDS_SIZE
+                                    ? Optional.of(snapshots.getSnapshotId(0).getAsLong())
+                                    : Optional.empty();
+                        },
+                        Duration.ofMinutes(1),
+                        "Fail to wait for the kv snapshot.");
+    }
+
+    @TearDown
+    public void teardown() throws Exception {
+        table.close();
+        conn.close();
+        flussCluster.close();
+    }
+
+    @Benchmark
+    public void scanKv(Blackhole blackhole) throws Exception {
+        consume(table.newScan().createBatchScanner(tableBucket), blackhole);
+    }
+
+    @Benchmark
+    public void scanKvProjected(Blackhole blackhole) throws Exception {
+        consume(table.newScan().project(new int[] {1}).createBatchScanner(tableBucket), blackhole);
+    }
+
+    @Benchmark
+    public void scanKvSnapshot(Blackhole blackhole) throws Exception {
+        consume(table.newScan().createBatchScanner(tableBucket, snapshotId), blackhole);
+    }
+
+    private static void consume(BatchScanner scanner, Blackhole blackhole) throws Exception {
+        long scanned = 0;
+        CloseableIterator<InternalRow> iterator;
+        while ((iterator = scanner.pollBatch(Duration.ofSeconds(1))) != null) {
+            while (iterator.hasNext()) {
+                blackhole.consume(iterator.next());
+                scanned++;
+            }
+            iterator.close();
+        }
+        scanner.close();
+        if (scanned != RECORDS_SIZE) {
+            throw new IllegalStateException(
+                    "Expect to scan " + RECORDS_SIZE + " rows, but scanned " + scanned);
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt =
+                new OptionsBuilder()
+                        .verbosity(VerboseMode.NORMAL)
+                        .include(".*" + KvScanBenchmark.class.getCanonicalName() + ".*")
+                        .build();
+
+        new Runner(opt).run();
+    }
+}
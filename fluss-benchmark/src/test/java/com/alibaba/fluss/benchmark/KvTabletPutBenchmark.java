@@ -0,0 +1,197 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.fluss.benchmark;
+
+import com.alibaba.fluss.config.Configuration;
+import com.alibaba.fluss.config.TableConfig;
+import com.alibaba.fluss.memory.TestingMemorySegmentPool;
+import com.alibaba.fluss.metadata.KvFormat;
+import com.alibaba.fluss.metadata.LogFormat;
+import com.alibaba.fluss.metadata.PhysicalTablePath;
+import com.alibaba.fluss.metadata.TableBucket;
+import com.alibaba.fluss.metadata.TablePath;
+import com.alibaba.fluss.record.KvRecord;
+import com.alibaba.fluss.record.KvRecordBatch;
+import com.alibaba.fluss.record.KvRecordTestUtils;
+import com.alibaba.fluss.server.kv.KvTablet;
+import com.alibaba.fluss.server.kv.prewrite.KvPreWriteBufferMemoryPool;
+import com.alibaba.fluss.server.kv.rocksdb.RocksDBResourceContainer;
+import com.alibaba.fluss.server.kv.rowmerger.RowMerger;
+import com.alibaba.fluss.server.log.LogTablet;
+import com.alibaba.fluss.shaded.arrow.org.apache.arrow.memory.RootAllocator;
+import com.alibaba.fluss.utils.FileUtils;
+import com.alibaba.fluss.utils.FlussPaths;
+import com.alibaba.fluss.utils.clock.SystemClock;
+import com.alibaba.fluss.utils.concurrent.FlussScheduler;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.VerboseMode;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.alibaba.fluss.compression.ArrowCompressionInfo.DEFAULT_COMPRESSION;
+import static com.alibaba.fluss.record.TestData.DATA1_ROW_TYPE;
+import static com.alibaba.fluss.record.TestData.DATA1_SCHEMA_PK;
+
+/**
+ * Benchmark for putting kv batches to a {@link KvTablet} as leader. Each batch updates the keys put
+ * by the previous batches, so the records go through the whole path of looking up the old values,
+ * merging and appending the changelogs. The score is the average time of putting a record, run it
+ * with the GC profiler (as {@link #main} does) to get the allocation per record from {@code
+ * gc.alloc.rate.norm}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 3)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Measurement(iterations = 5)
+@Fork(value = 0)
+public class KvTabletPutBenchmark {
+
+    private static final int BATCH_SIZE = 1024;
+    private static final int NUM_BATCHES = 16;
+
+    private File dataDir;
+    private FlussScheduler scheduler;
+    private KvPreWriteBufferMemoryPool preWriteBufferMemoryPool;
+    private RootAllocator allocator;
+    private LogTablet logTablet;
+    private KvTablet kvTablet;
+    private List<KvRecordBatch> batches;
+    private int nextBatch;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        Configuration conf = new Configuration();
+        dataDir = Files.createTempDirectory("kv-put-benchmark").toFile();
+        PhysicalTablePath tablePath = PhysicalTablePath.of(TablePath.of("db", "t"));
+        TableBucket tableBucket = new TableBucket(1L, 0);
+        scheduler = new FlussScheduler(1);
+        scheduler.startup();
+        logTablet =
+                LogTablet.create(
+                        tablePath,
+                        FlussPaths.logTabletDir(dataDir, tablePath, tableBucket),
+                        conf,
+                        0,
+                        scheduler,
+                        LogFormat.ARROW,
+                        1,
+                        true,
+                        SystemClock.getInstance(),
+                        true);
+        preWriteBufferMemoryPool = KvPreWriteBufferMemoryPool.create(conf);
+        allocator = new RootAllocator(Long.MAX_VALUE);
+        kvTablet =
+                KvTablet.create(
+                        tablePath,
+                        tableBucket,
+                        logTablet,
+                        FlussPaths.kvTabletDir(dataDir, tablePath, tableBucket),
+                        conf,
+                        preWriteBufferMemoryPool,
+                        null,
+                        null,
+                        RocksDBResourceContainer.NO_PREFIX_EXTRACTOR,
+                        allocator,
+                        new TestingMemorySegmentPool(64 * 1024),
+                        KvFormat.COMPACTED,
+                        DATA1_SCHEMA_PK,
+                        RowMerger.create(
+                                new TableConfig(new Configuration()),
+                                DATA1_SCHEMA_PK,
+                                KvFormat.COMPACTED),
+                        DEFAULT_COMPRESSION,
+                        Collections.emptyList());
+
+        // the batches update the same keys round by round
+        KvRecordTestUtils.KvRecordBatchFactory batchFactory =
+                KvRecordTestUtils.KvRecordBatchFactory.of(1);
+        KvRecordTestUtils.PKBasedKvRecordFactory recordFactory =
+                KvRecordTestUtils.PKBasedKvRecordFactory.of(
+                        DATA1_ROW_TYPE, DATA1_SCHEMA_PK.getPrimaryKeyIndexes());
+        batches = new ArrayList<>(NUM_BATCHES);
+        for (int b = 0; b < NUM_BATCHES; b++) {
+            List<KvRecord> records = new ArrayList<>(BATCH_SIZE);
+            for (int i = 0; i < BATCH_SIZE; i++) {
+                records.add(
+                        recordFactory.ofRecord(
+                                new Object[] {(b % 4) * BATCH_SIZE + i, "value-" + b + "-" + i}));
+            }
+            batches.add(batchFactory.ofRecords(records));
+        }
+    }
+
+    @TearDown
+    public void teardown() throws Exception {
+        kvTablet.close();
+        logTablet.close();
+        scheduler.shutdown();
+        preWriteBufferMemoryPool.close();
+        allocator.close();
+        FileUtils.deleteDirectory(dataDir);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void putAsLeader() throws Exception {
+        kvTablet.putAsLeader(batches.get(nextBatch), null);
+        nextBatch = (nextBatch + 1) % NUM_BATCHES;
+        // flush the pre-write buffer as the high watermark advances to release its memory
+        long logEndOffset = logTablet.localLogEndOffset();
+        logTablet.updateHighWatermark(logEndOffset);
+        kvTablet.flush(
+                logEndOffset,
+                t -> {
+                    throw new RuntimeException(t);
+                });
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt =
+                new OptionsBuilder()
+                        .verbosity(VerboseMode.NORMAL)
+                        .include(".*" + KvTabletPutBenchmark.class.getCanonicalName() + ".*")
+                        .addProfiler(GCProfiler.class)
+                        .build();
+
+        new Runner(opt).run();
+    }
+}
@@ -21,7 +21,10 @@ import com.alibaba.fluss.client.Connection;
 import com.alibaba.fluss.client.ConnectionFactory;
 import com.alibaba.fluss.client.admin.Admin;
 import com.alibaba.fluss.client.table.Table;
+import com.alibaba.fluss.client.table.scanner.ScanRecord;
 import com.alibaba.fluss.client.table.scanner.log.LogScanner;
+import com.alibaba.fluss.client.table.scanner.log.ScanBatch;
+import com.alibaba.fluss.client.table.scanner.log.ScanBatches;
 import com.alibaba.fluss.client.table.scanner.log.ScanRecords;
 import com.alibaba.fluss.client.table.writer.AppendWriter;
 import com.alibaba.fluss.config.Configuration;
@@ -30,6 +33,8 @@ import com.alibaba.fluss.metadata.Schema;
 import com.alibaba.fluss.metadata.TableDescriptor;
 import com.alibaba.fluss.metadata.TablePath;
 import com.alibaba.fluss.row.GenericRow;
+import com.alibaba.fluss.row.InternalRow;
+import com.alibaba.fluss.row.columnar.VectorizedColumnBatch;
 import com.alibaba.fluss.server.testutils.FlussClusterExtension;
 import com.alibaba.fluss.types.DataTypes;
 
@@ -43,6 +48,7 @@ import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
 import org.openjdk.jmh.annotations.TearDown;
 import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
 import org.openjdk.jmh.runner.Runner;
 import org.openjdk.jmh.runner.RunnerException;
 import org.openjdk.jmh.runner.options.Options;
@@ -56,7 +62,8 @@ import static com.alibaba.fluss.testutils.DataTestUtils.row;
 import static org.apache.commons.lang3.RandomStringUtils.randomAlphanumeric;
 
 /**
- * Benchmark for log fetching via Netty.
+ * Benchmark for log fetching via Netty, which compares consuming the fetched log as rows by {@link
+ * LogScanner#poll(Duration)} and as columnar batches by {@link LogScanner#pollBatches(Duration)}.
  *
  * <p>Note: when profiling the benchmark process, the frame graph should show little percentage of
  * {@code RequestProcessor#sendResponse()} which shouldn't involve large bytes serialization and
@@ -117,17 +124,44 @@ public class LogScannerBenchmark {
     }
 
     @Benchmark
-    public void scanLog() throws Exception {
+    public void scanLog(Blackhole blackhole) throws Exception {
         LogScanner logScanner = table.newScan().createLogScanner();
         logScanner.subscribeFromBeginning(0);
         long scanned = 0;
         while (scanned < RECORDS_SIZE) {
             ScanRecords scanRecords = logScanner.poll(Duration.ofSeconds(1));
+            for (ScanRecord scanRecord : scanRecords) {
+                InternalRow row = scanRecord.getRow();
+                blackhole.consume(row.getString(0));
+                blackhole.consume(row.getLong(1));
+                blackhole.consume(row.getString(2));
+            }
             scanned += scanRecords.count();
         }
         logScanner.close();
     }
 
+    @Benchmark
+    public void scanLogBatches(Blackhole blackhole) throws Exception {
+        LogScanner logScanner = table.newScan().createLogScanner();
+        logScanner.subscribeFromBeginning(0);
+        long scanned = 0;
+        while (scanned < RECORDS_SIZE) {
+            try (ScanBatches scanBatches = logScanner.pollBatches(Duration.ofSeconds(1))) {
+                for (ScanBatch scanBatch : scanBatches) {
+                    VectorizedColumnBatch columns = scanBatch.getColumns();
+                    for (int i = 0; i < scanBatch.getRowCount(); i++) {
+                        blackhole.consume(columns.getByteArray(i, 0));
+                        blackhole.consume(columns.getLong(i, 1));
+                        blackhole.consume(columns.getByteArray(i, 2));
+                    }
+                }
+                scanned += scanBatches.count();
+            }
+        }
+        logScanner.close();
+    }
+
     public static void main(String[] args) throws RunnerException {
         Options opt =
                 new OptionsBuilder()
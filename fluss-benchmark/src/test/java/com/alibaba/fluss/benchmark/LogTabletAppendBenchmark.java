@@ -0,0 +1,158 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.fluss.benchmark;
+
+import com.alibaba.fluss.config.ConfigOptions;
+import com.alibaba.fluss.config.Configuration;
+import com.alibaba.fluss.metadata.LogFormat;
+import com.alibaba.fluss.metadata.PhysicalTablePath;
+import com.alibaba.fluss.metadata.TableBucket;
+import com.alibaba.fluss.metadata.TablePath;
+import com.alibaba.fluss.record.MemoryLogRecords;
+import com.alibaba.fluss.server.log.LogTablet;
+import com.alibaba.fluss.utils.FileUtils;
+import com.alibaba.fluss.utils.FlussPaths;
+import com.alibaba.fluss.utils.clock.SystemClock;
+import com.alibaba.fluss.utils.concurrent.FlussScheduler;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.VerboseMode;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static com.alibaba.fluss.record.TestData.DATA1;
+import static com.alibaba.fluss.testutils.DataTestUtils.genMemoryLogRecordsByObject;
+
+/**
+ * Benchmark for appending small batches to a single {@link LogTablet} by 1, 8 and 64 concurrent
+ * writers, comparing appending with and without group commit. The score is the average time of
+ * appending a batch.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 3)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Measurement(iterations = 5)
+@Fork(value = 0)
+public class LogTabletAppendBenchmark {
+
+    private static final int TOTAL_BATCHES = 6400;
+
+    @Param({"1", "8", "64"})
+    private int numWriters;
+
+    @Param({"true", "false"})
+    private boolean groupCommit;
+
+    private File dataDir;
+    private FlussScheduler scheduler;
+    private LogTablet logTablet;
+    private ExecutorService executor;
+    private List<MemoryLogRecords> writerRecords;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        Configuration conf = new Configuration();
+        conf.set(ConfigOptions.LOG_APPEND_GROUP_COMMIT_ENABLED, groupCommit);
+        dataDir = Files.createTempDirectory("log-append-benchmark").toFile();
+        PhysicalTablePath tablePath = PhysicalTablePath.of(TablePath.of("db", "t"));
+        File logDir = FlussPaths.logTabletDir(dataDir, tablePath, new TableBucket(1L, 0));
+        scheduler = new FlussScheduler(1);
+        scheduler.startup();
+        logTablet =
+                LogTablet.create(
+                        tablePath,
+                        logDir,
+                        conf,
+                        0,
+                        scheduler,
+                        LogFormat.ARROW,
+                        1,
+                        false,
+                        SystemClock.getInstance(),
+                        true);
+        executor = Executors.newFixedThreadPool(numWriters);
+        // each writer appends its own batch repeatedly, the offsets are re-assigned every time
+        writerRecords = new ArrayList<>(numWriters);
+        for (int i = 0; i < numWriters; i++) {
+            writerRecords.add(genMemoryLogRecordsByObject(DATA1));
+        }
+    }
+
+    @TearDown
+    public void teardown() throws Exception {
+        executor.shutdownNow();
+        logTablet.close();
+        scheduler.shutdown();
+        FileUtils.deleteDirectory(dataDir);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TOTAL_BATCHES)
+    public void append() throws Exception {
+        int batchesPerWriter = TOTAL_BATCHES / numWriters;
+        List<Future<?>> futures = new ArrayList<>(numWriters);
+        for (MemoryLogRecords records : writerRecords) {
+            futures.add(
+                    executor.submit(
+                            () -> {
+                                for (int i = 0; i < batchesPerWriter; i++) {
+                                    logTablet.appendAsLeader(records);
+                                }
+                                return null;
+                            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt =
+                new OptionsBuilder()
+                        .verbosity(VerboseMode.NORMAL)
+                        .include(".*" + LogTabletAppendBenchmark.class.getCanonicalName() + ".*")
+                        .build();
+
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.fluss.benchmark;
+
+import com.alibaba.fluss.metadata.LogFormat;
+import com.alibaba.fluss.record.FileLogProjection;
+import com.alibaba.fluss.record.FileLogProjection.ProjectionInfo;
+import com.alibaba.fluss.record.FileLogRecords;
+import com.alibaba.fluss.server.log.LogProjectionCache;
+import com.alibaba.fluss.types.DataField;
+import com.alibaba.fluss.types.DataType;
+import com.alibaba.fluss.types.DataTypes;
+import com.alibaba.fluss.types.RowType;
+import com.alibaba.fluss.utils.FileUtils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.VerboseMode;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.alibaba.fluss.compression.ArrowCompressionInfo.DEFAULT_COMPRESSION;
+import static com.alibaba.fluss.record.TestData.DEFAULT_SCHEMA_ID;
+import static com.alibaba.fluss.testutils.DataTestUtils.createRecordsWithoutBaseLogOffset;
+
+/**
+ * Benchmark for the projected fetches of a log segment by {@link FileLogProjection}. Every
+ * invocation is a fetch request with its own {@link FileLogProjection}, which prepares the
+ * projection by itself or gets it from the shared {@link LogProjectionCache}. The score is the
+ * number of fetches per millisecond.
+ *
+ * <p>A small max fetch size makes the preparation of the projection dominate the fetch, as the
+ * fetches of many source tasks in catching up the tail of the log do.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 3)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Measurement(iterations = 5)
+@Fork(value = 0)
+public class ProjectedFetchBenchmark {
+
+    private static final long TABLE_ID = 1L;
+    private static final int NUM_FIELDS = 40;
+    private static final int NUM_BATCHES = 200;
+    private static final int RECORDS_PER_BATCH = 10;
+    private static final int[] PROJECTED_FIELDS = new int[] {0, 1, 7, 20, 39};
+
+    @Param({"true", "false"})
+    public boolean sharedCache;
+
+    @Param({"4096", "1048576"})
+    public int maxFetchBytes;
+
+    private File dataDir;
+    private RowType rowType;
+    private FileLogRecords fileLogRecords;
+    private LogProjectionCache projectionCache;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        dataDir = Files.createTempDirectory("projected-fetch-benchmark").toFile();
+        List<DataField> fields = new ArrayList<>(NUM_FIELDS);
+        for (int i = 0; i < NUM_FIELDS; i++) {
+            DataType type = i % 2 == 0 ? DataTypes.INT() : DataTypes.STRING();
+            fields.add(new DataField("f" + i, type));
+        }
+        rowType = DataTypes.ROW(fields.toArray(new DataField[0]));
+
+        fileLogRecords = FileLogRecords.open(new File(dataDir, "00000000000000000000.log"));
+        long baseOffset = 0;
+        for (int batch = 0; batch < NUM_BATCHES; batch++) {
+            List<Object[]> rows = new ArrayList<>(RECORDS_PER_BATCH);
+            for (int r = 0; r < RECORDS_PER_BATCH; r++) {
+                Object[] row = new Object[NUM_FIELDS];
+                for (int i = 0; i < NUM_FIELDS; i++) {
+                    row[i] = i % 2 == 0 ? (Object) (batch * 1000 + r) : "value-" + r + "-" + i;
+                }
+                rows.add(row);
+            }
+            fileLogRecords.append(
+                    createRecordsWithoutBaseLogOffset(
+                            rowType,
+                            DEFAULT_SCHEMA_ID,
+                            baseOffset,
+                            System.currentTimeMillis(),
+                            rows,
+                            LogFormat.ARROW));
+            baseOffset += RECORDS_PER_BATCH;
+        }
+        fileLogRecords.flush();
+        projectionCache = new LogProjectionCache();
+    }
+
+    @TearDown
+    public void teardown() throws Exception {
+        fileLogRecords.close();
+        FileUtils.deleteDirectory(dataDir);
+    }
+
+    @Benchmark
+    public int fetch() throws Exception {
+        FileLogProjection projection = new FileLogProjection();
+        ProjectionInfo projectionInfo =
+                sharedCache
+                        ? projectionCache.getOrCreate(
+                                TABLE_ID,
+                                DEFAULT_SCHEMA_ID,
+                                rowType,
+                                DEFAULT_COMPRESSION,
+                                PROJECTED_FIELDS)
+                        : ProjectionInfo.create(rowType, DEFAULT_COMPRESSION, PROJECTED_FIELDS);
+        projection.setCurrentProjection(TABLE_ID, projectionInfo);
+        return projection
+                .project(fileLogRecords.channel(), 0, fileLogRecords.sizeInBytes(), maxFetchBytes)
+                .sizeInBytes();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt =
+                new OptionsBuilder()
+                        .verbosity(VerboseMode.NORMAL)
+                        .include(".*" + ProjectedFetchBenchmark.class.getCanonicalName() + ".*")
+                        .build();
+
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,199 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.fluss.benchmark;
+
+import com.alibaba.fluss.client.metrics.ScannerMetricGroup;
+import com.alibaba.fluss.client.table.scanner.RemoteFileDownloader;
+import com.alibaba.fluss.client.table.scanner.log.RemoteLogDownloadFuture;
+import com.alibaba.fluss.client.table.scanner.log.RemoteLogDownloader;
+import com.alibaba.fluss.config.ConfigOptions;
+import com.alibaba.fluss.config.Configuration;
+import com.alibaba.fluss.config.MemorySize;
+import com.alibaba.fluss.fs.FsPath;
+import com.alibaba.fluss.metadata.PhysicalTablePath;
+import com.alibaba.fluss.metadata.TableBucket;
+import com.alibaba.fluss.metadata.TablePath;
+import com.alibaba.fluss.metrics.registry.NOPMetricRegistry;
+import com.alibaba.fluss.remote.RemoteLogSegment;
+import com.alibaba.fluss.rpc.metrics.ClientMetricGroup;
+import com.alibaba.fluss.utils.FileUtils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.VerboseMode;
+
+import java.io.File;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static com.alibaba.fluss.utils.FlussPaths.remoteLogDir;
+import static com.alibaba.fluss.utils.FlussPaths.remoteLogSegmentDir;
+import static com.alibaba.fluss.utils.FlussPaths.remoteLogSegmentFile;
+import static com.alibaba.fluss.utils.FlussPaths.remoteLogTabletDir;
+
+/**
+ * Benchmark for catching up from the remote log by {@link RemoteLogDownloader}, the remote storage
+ * is stood in by the local file system. The score is the average time of downloading {@link
+ * #NUM_SEGMENTS} segments of {@link #SEGMENT_SIZE} bytes each from the start position.
+ *
+ * <p>A part size larger than the segment size downloads every segment by a single sequential
+ * stream, a smaller part size downloads the parts of the segments in parallel by the download
+ * threads. A non-zero start fraction reads the segments from the middle, as the scanner does when
+ * it starts from an offset in a segment.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 3)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Measurement(iterations = 5)
+@Fork(value = 0)
+public class RemoteLogDownloadBenchmark {
+
+    private static final int NUM_SEGMENTS = 4;
+    private static final int SEGMENT_SIZE = 32 * 1024 * 1024;
+
+    @Param({"1", "4"})
+    public int downloadThreads;
+
+    @Param({"1gb", "4mb"})
+    public String partSize;
+
+    @Param({"0", "0.5"})
+    public double startFraction;
+
+    private File remoteDataDir;
+    private File localDir;
+    private RemoteFileDownloader remoteFileDownloader;
+    private RemoteLogDownloader remoteLogDownloader;
+    private FsPath remoteLogTabletDir;
+    private List<RemoteLogSegment> segments;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        remoteDataDir = Files.createTempDirectory("remote-log-benchmark-remote").toFile();
+        localDir = Files.createTempDirectory("remote-log-benchmark-local").toFile();
+        Configuration conf = new Configuration();
+        conf.set(ConfigOptions.REMOTE_DATA_DIR, remoteDataDir.getAbsolutePath());
+        conf.set(ConfigOptions.CLIENT_SCANNER_IO_TMP_DIR, localDir.getAbsolutePath());
+        conf.set(ConfigOptions.CLIENT_SCANNER_REMOTE_LOG_PREFETCH_NUM, NUM_SEGMENTS);
+        conf.set(
+                ConfigOptions.CLIENT_SCANNER_REMOTE_LOG_DOWNLOAD_PART_SIZE,
+                MemorySize.parse(partSize));
+
+        TablePath tablePath = TablePath.of("db", "t");
+        PhysicalTablePath physicalTablePath = PhysicalTablePath.of(tablePath);
+        TableBucket tableBucket = new TableBucket(1L, 0);
+        remoteLogTabletDir = remoteLogTabletDir(remoteLogDir(conf), physicalTablePath, tableBucket);
+
+        // the downloader reads the bytes without decoding, so random bytes are enough
+        Random random = new Random(0);
+        byte[] bytes = new byte[1024 * 1024];
+        segments = new ArrayList<>(NUM_SEGMENTS);
+        for (int i = 0; i < NUM_SEGMENTS; i++) {
+            RemoteLogSegment segment =
+                    RemoteLogSegment.Builder.builder()
+                            .tableBucket(tableBucket)
+                            .physicalTablePath(physicalTablePath)
+                            .remoteLogSegmentId(UUID.randomUUID())
+                            .remoteLogStartOffset(i * 1000L)
+                            .remoteLogEndOffset(i * 1000L + 999)
+                            .segmentSizeInBytes(SEGMENT_SIZE)
+                            .build();
+            FsPath segmentFile =
+                    remoteLogSegmentFile(
+                            remoteLogSegmentDir(remoteLogTabletDir, segment.remoteLogSegmentId()),
+                            segment.remoteLogStartOffset());
+            Files.createDirectories(Paths.get(segmentFile.getParent().getPath()));
+            try (OutputStream out = Files.newOutputStream(Paths.get(segmentFile.getPath()))) {
+                for (int written = 0; written < SEGMENT_SIZE; written += bytes.length) {
+                    random.nextBytes(bytes);
+                    out.write(bytes);
+                }
+            }
+            segments.add(segment);
+        }
+
+        remoteFileDownloader = new RemoteFileDownloader(downloadThreads);
+        remoteLogDownloader =
+                new RemoteLogDownloader(
+                        tablePath,
+                        conf,
+                        remoteFileDownloader,
+                        new ScannerMetricGroup(
+                                new ClientMetricGroup(NOPMetricRegistry.INSTANCE, "0"), tablePath));
+    }
+
+    @TearDown
+    public void teardown() throws Exception {
+        remoteLogDownloader.close();
+        remoteFileDownloader.close();
+        FileUtils.deleteDirectory(remoteDataDir);
+        FileUtils.deleteDirectory(localDir);
+    }
+
+    @Benchmark
+    public void catchUp() throws Exception {
+        int startPosition = (int) (SEGMENT_SIZE * startFraction);
+        CountDownLatch downloaded = new CountDownLatch(NUM_SEGMENTS);
+        List<RemoteLogDownloadFuture> futures = new ArrayList<>(NUM_SEGMENTS);
+        for (RemoteLogSegment segment : segments) {
+            RemoteLogDownloadFuture future =
+                    remoteLogDownloader.requestRemoteLog(
+                            remoteLogTabletDir, segment, startPosition);
+            future.onComplete(downloaded::countDown);
+            futures.add(future);
+        }
+        downloaded.await();
+        // recycle the downloaded files for the next invocation
+        for (RemoteLogDownloadFuture future : futures) {
+            future.getRecycleCallback().run();
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt =
+                new OptionsBuilder()
+                        .verbosity(VerboseMode.NORMAL)
+                        .include(".*" + RemoteLogDownloadBenchmark.class.getCanonicalName() + ".*")
+                        .build();
+
+        new Runner(opt).run();
+    }
+}
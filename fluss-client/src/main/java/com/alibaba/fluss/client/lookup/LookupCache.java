@@ -0,0 +1,312 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.fluss.client.lookup;
+
+import com.alibaba.fluss.annotation.Internal;
+import com.alibaba.fluss.annotation.VisibleForTesting;
+import com.alibaba.fluss.client.metrics.LookupCacheMetricGroup;
+import com.alibaba.fluss.config.ConfigOptions;
+import com.alibaba.fluss.config.Configuration;
+import com.alibaba.fluss.metadata.TableBucket;
+import com.alibaba.fluss.metrics.MetricNames;
+import com.alibaba.fluss.utils.clock.Clock;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * A bounded cache of the encoded lookup results by primary key of a table, keyed by the table
+ * bucket and the encoded primary key.
+ *
+ * <p>The cache is bounded by the number of results, the size of the encoded keys and values and the
+ * time to live of the results, the least recently used results are evicted first. The cached
+ * results of a bucket are invalidated by the changes in the changelog of the bucket (see {@link
+ * LookupCacheInvalidator}), so a bucket is tracked before its results can be cached: a lookup
+ * result is cached only if the changelog of the bucket is consumed since before the lookup was
+ * issued and no change of the bucket was consumed while the lookup was in flight. Otherwise, the
+ * result may miss a change that is never invalidated.
+ */
+@Internal
+@ThreadSafe
+public class LookupCache {
+
+    /**
+     * The version returned by {@link #trackBucket} if the results of the bucket can't be cached.
+     */
+    public static final long UNCACHEABLE_VERSION = -1L;
+
+    private final long maxRows;
+    private final long maxWeightBytes;
+    private final long ttlMs;
+    private final Clock clock;
+    private final LookupCacheMetricGroup metricGroup;
+    private final Consumer<TableBucket> newBucketListener;
+
+    /** The cached results in access order, i.e. the least recently used result comes first. */
+    @GuardedBy("this")
+    private final LinkedHashMap<CacheKey, CacheEntry> entries;
+
+    @GuardedBy("this")
+    private final Map<TableBucket, BucketState> bucketStates;
+
+    @GuardedBy("this")
+    private long weightBytes;
+
+    public LookupCache(
+            Configuration conf,
+            Clock clock,
+            LookupCacheMetricGroup metricGroup,
+            Consumer<TableBucket> newBucketListener) {
+        this(
+                conf.get(ConfigOptions.CLIENT_LOOKUP_CACHE_MAX_ROWS),
+                conf.get(ConfigOptions.CLIENT_LOOKUP_CACHE_MAX_WEIGHT).getBytes(),
+                conf.get(ConfigOptions.CLIENT_LOOKUP_CACHE_TTL).toMillis(),
+                clock,
+                metricGroup,
+                newBucketListener);
+    }
+
+    @VisibleForTesting
+    LookupCache(
+            long maxRows,
+            long maxWeightBytes,
+            long ttlMs,
+            Clock clock,
+            LookupCacheMetricGroup metricGroup,
+            Consumer<TableBucket> newBucketListener) {
+        this.maxRows = maxRows;
+        this.maxWeightBytes = maxWeightBytes;
+        this.ttlMs = ttlMs;
+        this.clock = clock;
+        this.metricGroup = metricGroup;
+        this.newBucketListener = newBucketListener;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+        this.bucketStates = new HashMap<>();
+
+        metricGroup.gauge(MetricNames.LOOKUP_CACHE_SIZE, this::size);
+        metricGroup.gauge(MetricNames.LOOKUP_CACHE_WEIGHT, this::weightBytes);
+    }
+
+    /**
+     * Returns the cached result of the given key, or null if the result isn't cached. The value of
+     * the returned entry is null if the key doesn't exist in the table.
+     */
+    @Nullable
+    public synchronized CacheEntry get(TableBucket tableBucket, byte[] key) {
+        CacheKey cacheKey = new CacheKey(tableBucket, key);
+        CacheEntry entry = entries.get(cacheKey);
+        if (entry != null && clock.milliseconds() - entry.cachedTimeMs >= ttlMs) {
+            removeEntry(cacheKey);
+            entry = null;
+        }
+        if (entry == null) {
+            metricGroup.missCount().inc();
+        } else {
+            metricGroup.hitCount().inc();
+        }
+        return entry;
+    }
+
+    /**
+     * Tracks the given bucket before issuing a lookup of the bucket, the returned version must be
+     * passed to {@link #put} to cache the result of the lookup.
+     *
+     * @return the version of the bucket, or {@link #UNCACHEABLE_VERSION} if the changelog of the
+     *     bucket isn't consumed yet
+     */
+    public long trackBucket(TableBucket tableBucket) {
+        boolean newBucket = false;
+        long version;
+        synchronized (this) {
+            BucketState state = bucketStates.get(tableBucket);
+            if (state == null) {
+                state = new BucketState();
+                bucketStates.put(tableBucket, state);
+                newBucket = true;
+            }
+            version = state.ready ? state.version : UNCACHEABLE_VERSION;
+        }
+        if (newBucket) {
+            newBucketListener.accept(tableBucket);
+        }
+        return version;
+    }
+
+    /** Caches the result of a lookup issued at the given version of the bucket. */
+    public void put(TableBucket tableBucket, byte[] key, @Nullable byte[] value, long version) {
+        if (version == UNCACHEABLE_VERSION) {
+            return;
+        }
+        CacheEntry entry = new CacheEntry(value, clock.milliseconds());
+        long entryWeight = weight(key, value);
+        if (entryWeight > maxWeightBytes) {
+            return;
+        }
+
+        synchronized (this) {
+            BucketState state = bucketStates.get(tableBucket);
+            if (state == null || !state.ready || state.version != version) {
+                // the bucket is changed since the lookup was issued
+                return;
+            }
+            CacheKey cacheKey = new CacheKey(tableBucket, key);
+            removeEntry(cacheKey);
+            entries.put(cacheKey, entry);
+            weightBytes += entryWeight;
+            evictIfNeeded();
+        }
+    }
+
+    /** Marks that the changelog of the given bucket is consumed, so its results can be cached. */
+    public synchronized void markBucketReady(TableBucket tableBucket) {
+        BucketState state = bucketStates.get(tableBucket);
+        if (state != null) {
+            state.ready = true;
+        }
+    }
+
+    /**
+     * Stops tracking the given bucket whose changelog can't be consumed, it is tracked again by the
+     * next lookup of the bucket.
+     */
+    public synchronized void untrackBucket(TableBucket tableBucket) {
+        bucketStates.remove(tableBucket);
+    }
+
+    /**
+     * Invalidates the cached result of the given key which is changed in the changelog.
+     *
+     * @param changeTimestamp the timestamp of the change appended to the changelog
+     */
+    public void invalidate(TableBucket tableBucket, byte[] key, long changeTimestamp) {
+        synchronized (this) {
+            BucketState state = bucketStates.get(tableBucket);
+            if (state != null) {
+                state.version++;
+            }
+            removeEntry(new CacheKey(tableBucket, key));
+        }
+        metricGroup.invalidationCount().inc();
+        metricGroup.updateInvalidationLag(clock.milliseconds() - changeTimestamp);
+    }
+
+    /**
+     * Invalidates all the cached results, e.g. the changelog can't be consumed, the results may
+     * miss some changes.
+     */
+    public synchronized void invalidateAll() {
+        for (BucketState state : bucketStates.values()) {
+            state.version++;
+        }
+        entries.clear();
+        weightBytes = 0L;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    @VisibleForTesting
+    synchronized long weightBytes() {
+        return weightBytes;
+    }
+
+    @GuardedBy("this")
+    private void removeEntry(CacheKey cacheKey) {
+        CacheEntry removed = entries.remove(cacheKey);
+        if (removed != null) {
+            weightBytes -= weight(cacheKey.key, removed.value);
+        }
+    }
+
+    @GuardedBy("this")
+    private void evictIfNeeded() {
+        Iterator<Map.Entry<CacheKey, CacheEntry>> iterator = entries.entrySet().iterator();
+        while ((entries.size() > maxRows || weightBytes > maxWeightBytes) && iterator.hasNext()) {
+            Map.Entry<CacheKey, CacheEntry> eldest = iterator.next();
+            weightBytes -= weight(eldest.getKey().key, eldest.getValue().value);
+            iterator.remove();
+        }
+    }
+
+    private static long weight(byte[] key, @Nullable byte[] value) {
+        return key.length + (value == null ? 0 : value.length);
+    }
+
+    /** A cached lookup result. */
+    public static final class CacheEntry {
+        private final @Nullable byte[] value;
+        private final long cachedTimeMs;
+
+        private CacheEntry(@Nullable byte[] value, long cachedTimeMs) {
+            this.value = value;
+            this.cachedTimeMs = cachedTimeMs;
+        }
+
+        /** Returns the encoded value, or null if the key doesn't exist in the table. */
+        public @Nullable byte[] value() {
+            return value;
+        }
+    }
+
+    /** The state of a tracked bucket. */
+    private static final class BucketState {
+        /** Whether the changelog of the bucket is consumed. */
+        private boolean ready;
+
+        /** Increased on every change of the bucket, to detect the changes of in-flight lookups. */
+        private long version;
+    }
+
+    private static final class CacheKey {
+        private final TableBucket tableBucket;
+        private final byte[] key;
+        private final int hashCode;
+
+        private CacheKey(TableBucket tableBucket, byte[] key) {
+            this.tableBucket = tableBucket;
+            this.key = key;
+            this.hashCode = 31 * tableBucket.hashCode() + Arrays.hashCode(key);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            CacheKey that = (CacheKey) o;
+            return tableBucket.equals(that.tableBucket) && Arrays.equals(key, that.key);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
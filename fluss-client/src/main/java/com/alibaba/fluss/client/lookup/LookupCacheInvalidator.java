@@ -0,0 +1,210 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.fluss.client.lookup;
+
+import com.alibaba.fluss.annotation.Internal;
+import com.alibaba.fluss.client.admin.Admin;
+import com.alibaba.fluss.client.admin.OffsetSpec;
+import com.alibaba.fluss.client.metadata.MetadataUpdater;
+import com.alibaba.fluss.client.metrics.LookupCacheMetricGroup;
+import com.alibaba.fluss.client.table.scanner.ScanRecord;
+import com.alibaba.fluss.client.table.scanner.log.LogScanner;
+import com.alibaba.fluss.client.table.scanner.log.ScanRecords;
+import com.alibaba.fluss.config.Configuration;
+import com.alibaba.fluss.metadata.DataLakeFormat;
+import com.alibaba.fluss.metadata.TableBucket;
+import com.alibaba.fluss.metadata.TableInfo;
+import com.alibaba.fluss.row.encode.KeyEncoder;
+import com.alibaba.fluss.utils.clock.SystemClock;
+import com.alibaba.fluss.utils.concurrent.ShutdownableThread;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A thread to invalidate the cached results of a {@link LookupCache} by consuming the changelog of
+ * the tracked buckets.
+ *
+ * <p>The changelog of a bucket is consumed from the latest offset when the bucket is tracked, and
+ * the bucket is ready to cache results after that, so all the changes after a result is cached are
+ * consumed. The log scanner is projected to the primary key to fetch only the keys of the changes.
+ */
+@Internal
+public class LookupCacheInvalidator extends ShutdownableThread {
+
+    private static final Duration POLL_TIMEOUT = Duration.ofMillis(100);
+
+    private final TableInfo tableInfo;
+    private final LogScanner changelogScanner;
+    private final Admin admin;
+    private final MetadataUpdater metadataUpdater;
+    private final KeyEncoder primaryKeyEncoder;
+    private final LookupCacheMetricGroup metricGroup;
+    private final LookupCache lookupCache;
+
+    /** The buckets to subscribe, added by the lookup threads. */
+    private final LinkedBlockingQueue<TableBucket> pendingBuckets;
+
+    /** The subscribed buckets, only accessed by this thread. */
+    private final Set<TableBucket> subscribedBuckets;
+
+    /**
+     * Creates an invalidator with a log scanner of the table which is projected to the primary key.
+     */
+    public LookupCacheInvalidator(
+            Configuration conf,
+            TableInfo tableInfo,
+            LogScanner changelogScanner,
+            Admin admin,
+            MetadataUpdater metadataUpdater,
+            LookupCacheMetricGroup metricGroup) {
+        super("fluss-lookup-cache-invalidator-" + tableInfo.getTablePath(), false);
+        setDaemon(true);
+        this.tableInfo = tableInfo;
+        this.changelogScanner = changelogScanner;
+        this.admin = admin;
+        this.metadataUpdater = metadataUpdater;
+        DataLakeFormat lakeFormat = tableInfo.getTableConfig().getDataLakeFormat().orElse(null);
+        // the same encoder as the lookup key is encoded by the PrimaryKeyLookuper
+        this.primaryKeyEncoder =
+                KeyEncoder.of(
+                        tableInfo.getRowType().project(tableInfo.getPrimaryKeys()),
+                        tableInfo.getPhysicalPrimaryKeys(),
+                        lakeFormat);
+        this.metricGroup = metricGroup;
+        this.pendingBuckets = new LinkedBlockingQueue<>();
+        this.subscribedBuckets = new HashSet<>();
+        this.lookupCache =
+                new LookupCache(
+                        conf, SystemClock.getInstance(), metricGroup, this::addPendingBucket);
+    }
+
+    public LookupCache getLookupCache() {
+        return lookupCache;
+    }
+
+    @Override
+    public void doWork() throws Exception {
+        if (subscribedBuckets.isEmpty()) {
+            TableBucket tableBucket =
+                    pendingBuckets.poll(POLL_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+            if (tableBucket != null) {
+                subscribe(tableBucket);
+            }
+        }
+        TableBucket tableBucket;
+        while ((tableBucket = pendingBuckets.poll()) != null) {
+            subscribe(tableBucket);
+        }
+        if (subscribedBuckets.isEmpty()) {
+            return;
+        }
+
+        ScanRecords scanRecords;
+        try {
+            scanRecords = changelogScanner.poll(POLL_TIMEOUT);
+        } catch (Exception e) {
+            if (isRunning()) {
+                log.warn(
+                        "Failed to consume the changelog of table {}, invalidate all the cached "
+                                + "lookup results.",
+                        tableInfo.getTablePath(),
+                        e);
+                lookupCache.invalidateAll();
+            }
+            return;
+        }
+        for (TableBucket bucket : scanRecords.buckets()) {
+            for (ScanRecord record : scanRecords.records(bucket)) {
+                lookupCache.invalidate(
+                        bucket, primaryKeyEncoder.encodeKey(record.getRow()), record.timestamp());
+            }
+        }
+    }
+
+    @Override
+    public boolean initiateShutdown() {
+        boolean initiated = super.initiateShutdown();
+        changelogScanner.wakeup();
+        return initiated;
+    }
+
+    /** Closes the invalidator with the log scanner, the admin and the metric group. */
+    public void close() throws Exception {
+        shutdown();
+        changelogScanner.close();
+        admin.close();
+        metricGroup.close();
+    }
+
+    private void addPendingBucket(TableBucket tableBucket) {
+        pendingBuckets.add(tableBucket);
+        changelogScanner.wakeup();
+    }
+
+    private void subscribe(TableBucket tableBucket) {
+        if (subscribedBuckets.contains(tableBucket)) {
+            lookupCache.markBucketReady(tableBucket);
+            return;
+        }
+
+        try {
+            long latestOffset = fetchLatestOffset(tableBucket);
+            if (tableBucket.getPartitionId() == null) {
+                changelogScanner.subscribe(tableBucket.getBucket(), latestOffset);
+            } else {
+                changelogScanner.subscribe(
+                        tableBucket.getPartitionId(), tableBucket.getBucket(), latestOffset);
+            }
+        } catch (Exception e) {
+            log.warn(
+                    "Failed to subscribe the changelog of {}, the lookup results of it are not cached.",
+                    tableBucket,
+                    e);
+            lookupCache.untrackBucket(tableBucket);
+            return;
+        }
+        subscribedBuckets.add(tableBucket);
+        lookupCache.markBucketReady(tableBucket);
+    }
+
+    private long fetchLatestOffset(TableBucket tableBucket) throws Exception {
+        Set<Integer> buckets = Collections.singleton(tableBucket.getBucket());
+        if (tableBucket.getPartitionId() == null) {
+            return admin.listOffsets(tableInfo.getTablePath(), buckets, new OffsetSpec.LatestSpec())
+                    .bucketResult(tableBucket.getBucket())
+                    .get();
+        } else {
+            String partitionName =
+                    metadataUpdater
+                            .getCluster()
+                            .getPartitionNameOrElseThrow(tableBucket.getPartitionId());
+            return admin.listOffsets(
+                            tableInfo.getTablePath(),
+                            partitionName,
+                            buckets,
+                            new OffsetSpec.LatestSpec())
+                    .bucketResult(tableBucket.getBucket())
+                    .get();
+        }
+    }
+}
@@ -63,8 +63,14 @@ class PrimaryKeyLookuper implements Lookuper {
     /** Decode the lookup bytes to result row. */
     private final ValueDecoder kvValueDecoder;
 
+    /** The cache of the encoded lookup results, null if the cache is disabled. */
+    private @Nullable final LookupCache lookupCache;
+
     public PrimaryKeyLookuper(
-            TableInfo tableInfo, MetadataUpdater metadataUpdater, LookupClient lookupClient) {
+            TableInfo tableInfo,
+            MetadataUpdater metadataUpdater,
+            LookupClient lookupClient,
+            @Nullable LookupCache lookupCache) {
         checkArgument(
                 tableInfo.hasPrimaryKey(),
                 "Log table %s doesn't support lookup",
@@ -73,6 +79,7 @@ class PrimaryKeyLookuper implements Lookuper {
         this.numBuckets = tableInfo.getNumBuckets();
         this.metadataUpdater = metadataUpdater;
         this.lookupClient = lookupClient;
+        this.lookupCache = lookupCache;
 
         // the row type of the input lookup row
         RowType lookupRowType = tableInfo.getRowType().project(tableInfo.getPrimaryKeys());
@@ -117,15 +124,27 @@ class PrimaryKeyLookuper implements Lookuper {
                                 metadataUpdater);
         int bucketId = bucketingFunction.bucketing(bkBytes, numBuckets);
         TableBucket tableBucket = new TableBucket(tableInfo.getTableId(), partitionId, bucketId);
+        if (lookupCache == null) {
+            return lookupClient.lookup(tableBucket, pkBytes).thenApply(this::toLookupResult);
+        }
+
+        LookupCache.CacheEntry cacheEntry = lookupCache.get(tableBucket, pkBytes);
+        if (cacheEntry != null) {
+            return CompletableFuture.completedFuture(toLookupResult(cacheEntry.value()));
+        }
+        // track the bucket before issuing the lookup to detect the changes in flight
+        long version = lookupCache.trackBucket(tableBucket);
         return lookupClient
                 .lookup(tableBucket, pkBytes)
                 .thenApply(
                         valueBytes -> {
-                            InternalRow row =
-                                    valueBytes == null
-                                            ? null
-                                            : kvValueDecoder.decodeValue(valueBytes).row;
-                            return new LookupResult(row);
+                            lookupCache.put(tableBucket, pkBytes, valueBytes, version);
+                            return toLookupResult(valueBytes);
                         });
     }
+
+    private LookupResult toLookupResult(@Nullable byte[] valueBytes) {
+        InternalRow row = valueBytes == null ? null : kvValueDecoder.decodeValue(valueBytes).row;
+        return new LookupResult(row);
+    }
 }
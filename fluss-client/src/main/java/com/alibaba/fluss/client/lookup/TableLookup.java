@@ -31,33 +31,42 @@ public class TableLookup implements Lookup {
     private final MetadataUpdater metadataUpdater;
     private final LookupClient lookupClient;
 
+    /** The cache of the lookup results by primary key, null if the cache is disabled. */
+    @Nullable private final LookupCache lookupCache;
+
     @Nullable private final List<String> lookupColumnNames;
 
     public TableLookup(
-            TableInfo tableInfo, MetadataUpdater metadataUpdater, LookupClient lookupClient) {
-        this(tableInfo, metadataUpdater, lookupClient, null);
+            TableInfo tableInfo,
+            MetadataUpdater metadataUpdater,
+            LookupClient lookupClient,
+            @Nullable LookupCache lookupCache) {
+        this(tableInfo, metadataUpdater, lookupClient, lookupCache, null);
     }
 
     private TableLookup(
             TableInfo tableInfo,
             MetadataUpdater metadataUpdater,
             LookupClient lookupClient,
+            @Nullable LookupCache lookupCache,
             @Nullable List<String> lookupColumnNames) {
         this.tableInfo = tableInfo;
         this.metadataUpdater = metadataUpdater;
         this.lookupClient = lookupClient;
+        this.lookupCache = lookupCache;
         this.lookupColumnNames = lookupColumnNames;
     }
 
     @Override
     public Lookup lookupBy(List<String> lookupColumnNames) {
-        return new TableLookup(tableInfo, metadataUpdater, lookupClient, lookupColumnNames);
+        return new TableLookup(
+                tableInfo, metadataUpdater, lookupClient, lookupCache, lookupColumnNames);
     }
 
     @Override
     public Lookuper createLookuper() {
         if (lookupColumnNames == null) {
-            return new PrimaryKeyLookuper(tableInfo, metadataUpdater, lookupClient);
+            return new PrimaryKeyLookuper(tableInfo, metadataUpdater, lookupClient, lookupCache);
         } else {
             return new PrefixKeyLookuper(
                     tableInfo, metadataUpdater, lookupClient, lookupColumnNames);
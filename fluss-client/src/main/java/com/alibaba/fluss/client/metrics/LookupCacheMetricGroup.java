@@ -0,0 +1,100 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.fluss.client.metrics;
+
+import com.alibaba.fluss.annotation.Internal;
+import com.alibaba.fluss.client.lookup.LookupCache;
+import com.alibaba.fluss.metadata.TablePath;
+import com.alibaba.fluss.metrics.CharacterFilter;
+import com.alibaba.fluss.metrics.Counter;
+import com.alibaba.fluss.metrics.MeterView;
+import com.alibaba.fluss.metrics.MetricNames;
+import com.alibaba.fluss.metrics.ThreadSafeSimpleCounter;
+import com.alibaba.fluss.metrics.groups.AbstractMetricGroup;
+import com.alibaba.fluss.rpc.metrics.ClientMetricGroup;
+
+import java.util.Map;
+
+import static com.alibaba.fluss.metrics.utils.MetricGroupUtils.makeScope;
+
+/** The metric group for {@link LookupCache}. */
+@Internal
+public class LookupCacheMetricGroup extends AbstractMetricGroup {
+
+    private static final String NAME = "lookup_cache";
+
+    private final TablePath tablePath;
+
+    private final Counter hitCount;
+    private final Counter missCount;
+    private final Counter invalidationCount;
+
+    private volatile long invalidationLagMs;
+
+    public LookupCacheMetricGroup(ClientMetricGroup parent, TablePath tablePath) {
+        super(parent.getMetricRegistry(), makeScope(parent, NAME), parent);
+        this.tablePath = tablePath;
+
+        hitCount = new ThreadSafeSimpleCounter();
+        meter(MetricNames.LOOKUP_CACHE_HIT_RATE, new MeterView(hitCount));
+        missCount = new ThreadSafeSimpleCounter();
+        meter(MetricNames.LOOKUP_CACHE_MISS_RATE, new MeterView(missCount));
+        invalidationCount = new ThreadSafeSimpleCounter();
+        meter(MetricNames.LOOKUP_CACHE_INVALIDATION_RATE, new MeterView(invalidationCount));
+
+        gauge(MetricNames.LOOKUP_CACHE_HIT_RATIO, this::hitRatio);
+        gauge(MetricNames.LOOKUP_CACHE_INVALIDATION_LAG_MS, () -> invalidationLagMs);
+    }
+
+    public Counter hitCount() {
+        return hitCount;
+    }
+
+    public Counter missCount() {
+        return missCount;
+    }
+
+    public Counter invalidationCount() {
+        return invalidationCount;
+    }
+
+    /**
+     * Updates the invalidation lag, i.e. the time between a change is appended to the changelog and
+     * the cached result of the changed key is invalidated.
+     */
+    public void updateInvalidationLag(long lagMs) {
+        invalidationLagMs = Math.max(0L, lagMs);
+    }
+
+    private double hitRatio() {
+        long hits = hitCount.getCount();
+        long total = hits + missCount.getCount();
+        return total == 0 ? 0d : (double) hits / total;
+    }
+
+    @Override
+    protected String getGroupName(CharacterFilter filter) {
+        return NAME;
+    }
+
+    @Override
+    protected final void putVariables(Map<String, String> variables) {
+        variables.put("database", tablePath.getDatabaseName());
+        variables.put("table", tablePath.getTableName());
+    }
+}
@@ -23,8 +23,8 @@ import com.alibaba.fluss.client.table.scanner.log.LogScanner;
 import com.alibaba.fluss.metadata.TablePath;
 import com.alibaba.fluss.metrics.CharacterFilter;
 import com.alibaba.fluss.metrics.Counter;
-import com.alibaba.fluss.metrics.DescriptiveStatisticsHistogram;
 import com.alibaba.fluss.metrics.Histogram;
+import com.alibaba.fluss.metrics.LogBucketHistogram;
 import com.alibaba.fluss.metrics.MeterView;
 import com.alibaba.fluss.metrics.MetricNames;
 import com.alibaba.fluss.metrics.ThreadSafeSimpleCounter;
@@ -40,7 +40,6 @@ import static com.alibaba.fluss.metrics.utils.MetricGroupUtils.makeScope;
 public class ScannerMetricGroup extends AbstractMetricGroup {
 
     private static final String NAME = "scanner";
-    private static final int WINDOW_SIZE = 1024;
 
     private final TablePath tablePath;
 
@@ -73,9 +72,7 @@ public class ScannerMetricGroup extends AbstractMetricGroup {
         meter(MetricNames.SCANNER_REMOTE_FETCH_ERROR_RATE, new MeterView(remoteFetchErrorCount));
 
         bytesPerRequest =
-                histogram(
-                        MetricNames.SCANNER_BYTES_PER_REQUEST,
-                        new DescriptiveStatisticsHistogram(WINDOW_SIZE));
+                histogram(MetricNames.SCANNER_BYTES_PER_REQUEST, new LogBucketHistogram());
 
         gauge(MetricNames.SCANNER_TIME_MS_BETWEEN_POLL, () -> timeMsBetweenPoll);
         gauge(MetricNames.SCANNER_LAST_POLL_SECONDS_AGO, this::lastPollSecondsAgo);
@@ -19,14 +19,16 @@ package com.alibaba.fluss.client.metrics;
 
 import com.alibaba.fluss.annotation.Internal;
 import com.alibaba.fluss.client.write.WriterClient;
+import com.alibaba.fluss.metadata.TableBucket;
 import com.alibaba.fluss.metrics.CharacterFilter;
 import com.alibaba.fluss.metrics.Counter;
-import com.alibaba.fluss.metrics.DescriptiveStatisticsHistogram;
 import com.alibaba.fluss.metrics.Histogram;
+import com.alibaba.fluss.metrics.LogBucketHistogram;
 import com.alibaba.fluss.metrics.MeterView;
 import com.alibaba.fluss.metrics.MetricNames;
 import com.alibaba.fluss.metrics.ThreadSafeSimpleCounter;
 import com.alibaba.fluss.metrics.groups.AbstractMetricGroup;
+import com.alibaba.fluss.metrics.groups.MetricGroup;
 import com.alibaba.fluss.rpc.metrics.ClientMetricGroup;
 
 import static com.alibaba.fluss.metrics.utils.MetricGroupUtils.makeScope;
@@ -35,7 +37,6 @@ import static com.alibaba.fluss.metrics.utils.MetricGroupUtils.makeScope;
 @Internal
 public class WriterMetricGroup extends AbstractMetricGroup {
     private static final String name = "writer";
-    private static final int WINDOW_SIZE = 1024;
 
     private final Counter recordsRetryTotal;
     private final Counter recordsSendTotal;
@@ -59,14 +60,8 @@ public class WriterMetricGroup extends AbstractMetricGroup {
         meter(MetricNames.WRITER_BYTES_SEND_RATE, new MeterView(bytesSendTotal));
         gauge(MetricNames.WRITER_SEND_LATENCY_MS, () -> sendLatencyInMs);
 
-        bytesPerBatch =
-                histogram(
-                        MetricNames.WRITER_BYTES_PER_BATCH,
-                        new DescriptiveStatisticsHistogram(WINDOW_SIZE));
-        recordPerBatch =
-                histogram(
-                        MetricNames.WRITER_RECORDS_PER_BATCH,
-                        new DescriptiveStatisticsHistogram(WINDOW_SIZE));
+        bytesPerBatch = histogram(MetricNames.WRITER_BYTES_PER_BATCH, new LogBucketHistogram());
+        recordPerBatch = histogram(MetricNames.WRITER_RECORDS_PER_BATCH, new LogBucketHistogram());
     }
 
     public void setBatchQueueTimeMs(long batchQueueTimeMs) {
@@ -97,6 +92,15 @@ public class WriterMetricGroup extends AbstractMetricGroup {
         return recordPerBatch;
     }
 
+    /** Returns the metric group of the given table bucket, creating it if necessary. */
+    public MetricGroup bucketMetricGroup(TableBucket tableBucket) {
+        MetricGroup group = addGroup("table_id", String.valueOf(tableBucket.getTableId()));
+        if (tableBucket.getPartitionId() != null) {
+            group = group.addGroup("partition_id", String.valueOf(tableBucket.getPartitionId()));
+        }
+        return group.addGroup("bucket", String.valueOf(tableBucket.getBucket()));
+    }
+
     @Override
     protected String getGroupName(CharacterFilter filter) {
         return name;
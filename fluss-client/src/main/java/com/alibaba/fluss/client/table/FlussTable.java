@@ -18,18 +18,26 @@
 package com.alibaba.fluss.client.table;
 
 import com.alibaba.fluss.annotation.PublicEvolving;
+import com.alibaba.fluss.annotation.VisibleForTesting;
 import com.alibaba.fluss.client.FlussConnection;
 import com.alibaba.fluss.client.lookup.Lookup;
+import com.alibaba.fluss.client.lookup.LookupCache;
+import com.alibaba.fluss.client.lookup.LookupCacheInvalidator;
 import com.alibaba.fluss.client.lookup.TableLookup;
+import com.alibaba.fluss.client.metrics.LookupCacheMetricGroup;
 import com.alibaba.fluss.client.table.scanner.Scan;
 import com.alibaba.fluss.client.table.scanner.TableScan;
+import com.alibaba.fluss.client.table.scanner.log.LogScanner;
 import com.alibaba.fluss.client.table.writer.Append;
 import com.alibaba.fluss.client.table.writer.TableAppend;
 import com.alibaba.fluss.client.table.writer.TableUpsert;
 import com.alibaba.fluss.client.table.writer.Upsert;
+import com.alibaba.fluss.config.ConfigOptions;
 import com.alibaba.fluss.metadata.TableInfo;
 import com.alibaba.fluss.metadata.TablePath;
 
+import javax.annotation.Nullable;
+
 import static com.alibaba.fluss.utils.Preconditions.checkState;
 
 /**
@@ -45,6 +53,9 @@ public class FlussTable implements Table {
     private final TableInfo tableInfo;
     private final boolean hasPrimaryKey;
 
+    /** The invalidator of the lookup cache, created on the first lookup if the cache is enabled. */
+    private @Nullable LookupCacheInvalidator lookupCacheInvalidator;
+
     public FlussTable(FlussConnection conn, TablePath tablePath, TableInfo tableInfo) {
         this.conn = conn;
         this.tablePath = tablePath;
@@ -65,7 +76,10 @@ public class FlussTable implements Table {
     @Override
     public Lookup newLookup() {
         return new TableLookup(
-                tableInfo, conn.getMetadataUpdater(), conn.getOrCreateLookupClient());
+                tableInfo,
+                conn.getMetadataUpdater(),
+                conn.getOrCreateLookupClient(),
+                getOrCreateLookupCache());
     }
 
     @Override
@@ -88,6 +102,41 @@ public class FlussTable implements Table {
 
     @Override
     public void close() throws Exception {
-        // do nothing
+        LookupCacheInvalidator invalidator;
+        synchronized (this) {
+            invalidator = lookupCacheInvalidator;
+            lookupCacheInvalidator = null;
+        }
+        if (invalidator != null) {
+            invalidator.close();
+        }
+    }
+
+    @VisibleForTesting
+    synchronized @Nullable LookupCache getLookupCache() {
+        return lookupCacheInvalidator == null ? null : lookupCacheInvalidator.getLookupCache();
+    }
+
+    private synchronized @Nullable LookupCache getOrCreateLookupCache() {
+        if (!hasPrimaryKey
+                || !conn.getConfiguration().get(ConfigOptions.CLIENT_LOOKUP_CACHE_ENABLED)) {
+            return null;
+        }
+        if (lookupCacheInvalidator == null) {
+            LogScanner changelogScanner =
+                    new TableScan(conn, tableInfo)
+                            .project(tableInfo.getPrimaryKeys())
+                            .createLogScanner();
+            lookupCacheInvalidator =
+                    new LookupCacheInvalidator(
+                            conn.getConfiguration(),
+                            tableInfo,
+                            changelogScanner,
+                            conn.getAdmin(),
+                            conn.getMetadataUpdater(),
+                            new LookupCacheMetricGroup(conn.getClientMetricGroup(), tablePath));
+            lookupCacheInvalidator.start();
+        }
+        return lookupCacheInvalidator.getLookupCache();
     }
 }
@@ -17,17 +17,30 @@
 
 package com.alibaba.fluss.client.table.scanner;
 
+import com.alibaba.fluss.fs.FSDataInputStream;
+import com.alibaba.fluss.fs.FsPath;
 import com.alibaba.fluss.fs.FsPathAndFileName;
 import com.alibaba.fluss.fs.utils.FileDownloadSpec;
 import com.alibaba.fluss.fs.utils.FileDownloadUtils;
 import com.alibaba.fluss.utils.CloseableRegistry;
+import com.alibaba.fluss.utils.IOUtils;
 import com.alibaba.fluss.utils.concurrent.ExecutorThreadFactory;
+import com.alibaba.fluss.utils.concurrent.FutureUtils;
+import com.alibaba.fluss.utils.function.ThrowingRunnable;
 
 import java.io.Closeable;
+import java.io.EOFException;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 
@@ -37,6 +50,8 @@ import java.util.concurrent.Executors;
  */
 public class RemoteFileDownloader implements Closeable {
 
+    private static final int PART_BUFFER_SIZE = 64 * 1024;
+
     protected final ExecutorService snapshotDownLoadThreadPool;
 
     public RemoteFileDownloader(int threadNum) {
@@ -69,4 +84,109 @@ public class RemoteFileDownloader implements Closeable {
                 closeableRegistry,
                 snapshotDownLoadThreadPool);
     }
+
+    /**
+     * Downloads the remote file from the given start position to the end into the target file. The
+     * range is split into parts of the given size which are downloaded in parallel by the download
+     * threads, so a large file is not limited by a single sequential stream. The returned future
+     * completes with the number of downloaded bytes once all the parts are written.
+     */
+    public CompletableFuture<Long> transferRangeToFile(
+            FsPath remoteFilePath, long startPosition, Path targetFile, long partSize) {
+        return CompletableFuture.supplyAsync(
+                        () -> {
+                            try {
+                                return remoteFilePath
+                                        .getFileSystem()
+                                        .getFileStatus(remoteFilePath)
+                                        .getLen();
+                            } catch (IOException e) {
+                                throw new CompletionException(e);
+                            }
+                        },
+                        snapshotDownLoadThreadPool)
+                .thenCompose(
+                        fileLength ->
+                                transferPartsToFile(
+                                        remoteFilePath,
+                                        startPosition,
+                                        fileLength,
+                                        targetFile,
+                                        partSize));
+    }
+
+    private CompletableFuture<Long> transferPartsToFile(
+            FsPath remoteFilePath,
+            long startPosition,
+            long endPosition,
+            Path targetFile,
+            long partSize) {
+        FileChannel channel;
+        try {
+            Files.createDirectories(targetFile.getParent());
+            channel =
+                    FileChannel.open(
+                            targetFile,
+                            StandardOpenOption.CREATE,
+                            StandardOpenOption.WRITE,
+                            StandardOpenOption.TRUNCATE_EXISTING);
+        } catch (IOException e) {
+            return FutureUtils.completedExceptionally(e);
+        }
+        List<CompletableFuture<Void>> parts = new ArrayList<>();
+        for (long position = startPosition; position < endPosition; position += partSize) {
+            long partStart = position;
+            long partEnd = Math.min(position + partSize, endPosition);
+            parts.add(
+                    CompletableFuture.runAsync(
+                            ThrowingRunnable.unchecked(
+                                    () ->
+                                            transferPart(
+                                                    remoteFilePath,
+                                                    partStart,
+                                                    partEnd,
+                                                    channel,
+                                                    partStart - startPosition)),
+                            snapshotDownLoadThreadPool));
+        }
+        // wait for all the parts even if one fails, so that the channel is not closed while the
+        // other parts are still writing to it
+        return FutureUtils.completeAll(parts)
+                .handle(
+                        (ignored, t) -> {
+                            IOUtils.closeQuietly(channel);
+                            if (t != null) {
+                                throw new CompletionException(t);
+                            }
+                            return endPosition - startPosition;
+                        });
+    }
+
+    private static void transferPart(
+            FsPath remoteFilePath,
+            long partStart,
+            long partEnd,
+            FileChannel channel,
+            long targetPosition)
+            throws IOException {
+        byte[] buffer = new byte[(int) Math.min(PART_BUFFER_SIZE, partEnd - partStart)];
+        try (FSDataInputStream inputStream = remoteFilePath.getFileSystem().open(remoteFilePath)) {
+            inputStream.seek(partStart);
+            long remaining = partEnd - partStart;
+            while (remaining > 0) {
+                int read = inputStream.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+                if (read < 0) {
+                    throw new EOFException(
+                            String.format(
+                                    "Unexpected end of remote file %s at position %d, expected %d bytes more.",
+                                    remoteFilePath, partEnd - remaining, remaining));
+                }
+                ByteBuffer byteBuffer = ByteBuffer.wrap(buffer, 0, read);
+                while (byteBuffer.hasRemaining()) {
+                    targetPosition += channel.write(byteBuffer, targetPosition);
+                }
+                remaining -= read;
+            }
+        }
+    }
 }
@@ -21,6 +21,7 @@ import com.alibaba.fluss.annotation.PublicEvolving;
 import com.alibaba.fluss.client.table.scanner.batch.BatchScanner;
 import com.alibaba.fluss.client.table.scanner.log.LogScanner;
 import com.alibaba.fluss.metadata.TableBucket;
+import com.alibaba.fluss.record.LogRecordBatchFilter;
 
 import javax.annotation.Nullable;
 
@@ -58,6 +59,19 @@ public interface Scan {
      */
     Scan limit(int rowNumber);
 
+    /**
+     * Returns a new scan from this that will skip the log record batches which can't contain any
+     * record matching the given filter, by the batch statistics collected for the columns in {@code
+     * table.log.arrow.statistics.columns}. The filter is applied at batch level only, the scanned
+     * records may still not match the filter.
+     *
+     * <p>Note: only {@link LogScanner} supports the filter.
+     *
+     * @param batchFilter the filter of the log record batches, no filter if is null
+     * @since 0.8
+     */
+    Scan filter(@Nullable LogRecordBatchFilter batchFilter);
+
     /**
      * Creates a {@link LogScanner} to continuously read log data for this scan.
      *
@@ -68,7 +82,8 @@ public interface Scan {
     /**
      * Creates a {@link BatchScanner} to read current data in the given table bucket for this scan.
      *
-     * <p>Note: this API doesn't support pre-configured with {@link #project}.
+     * <p>Note: without {@link #limit(int)}, this API scans all the current data of the bucket and
+     * only support for Primary Key Tables.
      */
     BatchScanner createBatchScanner(TableBucket tableBucket);
 
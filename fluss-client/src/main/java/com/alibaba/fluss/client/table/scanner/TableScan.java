@@ -21,6 +21,7 @@ import com.alibaba.fluss.client.FlussConnection;
 import com.alibaba.fluss.client.admin.Admin;
 import com.alibaba.fluss.client.metadata.KvSnapshotMetadata;
 import com.alibaba.fluss.client.table.scanner.batch.BatchScanner;
+import com.alibaba.fluss.client.table.scanner.batch.KvScanBatchScanner;
 import com.alibaba.fluss.client.table.scanner.batch.KvSnapshotBatchScanner;
 import com.alibaba.fluss.client.table.scanner.batch.LimitBatchScanner;
 import com.alibaba.fluss.client.table.scanner.log.LogScanner;
@@ -29,6 +30,7 @@ import com.alibaba.fluss.config.ConfigOptions;
 import com.alibaba.fluss.exception.FlussRuntimeException;
 import com.alibaba.fluss.metadata.TableBucket;
 import com.alibaba.fluss.metadata.TableInfo;
+import com.alibaba.fluss.record.LogRecordBatchFilter;
 import com.alibaba.fluss.types.RowType;
 
 import javax.annotation.Nullable;
@@ -45,25 +47,29 @@ public class TableScan implements Scan {
     @Nullable private final int[] projectedColumns;
     /** The limited row number to read. No limit if is null. */
     @Nullable private final Integer limit;
+    /** The filter to skip the log record batches. No filter if is null. */
+    @Nullable private final LogRecordBatchFilter batchFilter;
 
     public TableScan(FlussConnection conn, TableInfo tableInfo) {
-        this(conn, tableInfo, null, null);
+        this(conn, tableInfo, null, null, null);
     }
 
     private TableScan(
             FlussConnection conn,
             TableInfo tableInfo,
             @Nullable int[] projectedColumns,
-            @Nullable Integer limit) {
+            @Nullable Integer limit,
+            @Nullable LogRecordBatchFilter batchFilter) {
         this.conn = conn;
         this.tableInfo = tableInfo;
         this.projectedColumns = projectedColumns;
         this.limit = limit;
+        this.batchFilter = batchFilter;
     }
 
     @Override
     public Scan project(@Nullable int[] projectedColumns) {
-        return new TableScan(conn, tableInfo, projectedColumns, limit);
+        return new TableScan(conn, tableInfo, projectedColumns, limit, batchFilter);
     }
 
     @Override
@@ -78,12 +84,17 @@ public class TableScan implements Scan {
             }
             columnIndexes[i] = index;
         }
-        return new TableScan(conn, tableInfo, columnIndexes, limit);
+        return new TableScan(conn, tableInfo, columnIndexes, limit, batchFilter);
     }
 
     @Override
     public Scan limit(int rowNumber) {
-        return new TableScan(conn, tableInfo, projectedColumns, rowNumber);
+        return new TableScan(conn, tableInfo, projectedColumns, rowNumber, batchFilter);
+    }
+
+    @Override
+    public Scan filter(@Nullable LogRecordBatchFilter batchFilter) {
+        return new TableScan(conn, tableInfo, projectedColumns, limit, batchFilter);
     }
 
     @Override
@@ -98,14 +109,26 @@ public class TableScan implements Scan {
                 conn.getMetadataUpdater(),
                 conn.getClientMetricGroup(),
                 conn.getOrCreateRemoteFileDownloader(),
-                projectedColumns);
+                projectedColumns,
+                batchFilter);
     }
 
     @Override
     public BatchScanner createBatchScanner(TableBucket tableBucket) {
         if (limit == null) {
-            throw new UnsupportedOperationException(
-                    "Currently, BatchScanner is only available when limit is set.");
+            if (!tableInfo.hasPrimaryKey()) {
+                throw new UnsupportedOperationException(
+                        "Currently, BatchScanner without limit is only available for primary key tables.");
+            }
+            return new KvScanBatchScanner(
+                    tableInfo,
+                    tableBucket,
+                    conn.getMetadataUpdater(),
+                    projectedColumns,
+                    (int)
+                            conn.getConfiguration()
+                                    .get(ConfigOptions.CLIENT_SCANNER_KV_FETCH_MAX_BYTES)
+                                    .getBytes());
         }
         return new LimitBatchScanner(
                 tableInfo, tableBucket, conn.getMetadataUpdater(), projectedColumns, limit);
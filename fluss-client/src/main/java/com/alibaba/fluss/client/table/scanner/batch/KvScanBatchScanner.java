@@ -0,0 +1,199 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.fluss.client.table.scanner.batch;
+
+import com.alibaba.fluss.client.metadata.MetadataUpdater;
+import com.alibaba.fluss.metadata.TableBucket;
+import com.alibaba.fluss.metadata.TableInfo;
+import com.alibaba.fluss.record.DefaultValueRecordBatch;
+import com.alibaba.fluss.record.ValueRecord;
+import com.alibaba.fluss.record.ValueRecordReadContext;
+import com.alibaba.fluss.row.InternalRow;
+import com.alibaba.fluss.row.decode.RowDecoder;
+import com.alibaba.fluss.rpc.gateway.TabletServerGateway;
+import com.alibaba.fluss.rpc.messages.ScanKvRequest;
+import com.alibaba.fluss.rpc.messages.ScanKvResponse;
+import com.alibaba.fluss.rpc.protocol.ApiError;
+import com.alibaba.fluss.types.DataType;
+import com.alibaba.fluss.types.RowType;
+import com.alibaba.fluss.utils.CloseableIterator;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * A {@link BatchScanner} implementation that scans the latest kv of a bucket of a primary key table
+ * from the leader tablet server, page by page.
+ *
+ * <p>The leader scans over a consistent snapshot of the kv and applies the projection before
+ * sending the values. The next page is requested as soon as the previous page is polled, so it is
+ * fetched while the previous page is consumed and a slow consumer buffers at most two pages: the
+ * polled one and the one in flight.
+ */
+public class KvScanBatchScanner implements BatchScanner {
+
+    private static final Logger LOG = LoggerFactory.getLogger(KvScanBatchScanner.class);
+
+    private final TableBucket tableBucket;
+    private final TabletServerGateway gateway;
+    private final int maxBytes;
+    @Nullable private final int[] projectedFields;
+    private final ValueRecordReadContext readContext;
+
+    private CompletableFuture<ScanKvResponse> scanFuture;
+    /** The scanner id to scan the next page, null if the first page is not returned yet. */
+    @Nullable private Long scannerId;
+
+    private boolean endOfInput;
+
+    public KvScanBatchScanner(
+            TableInfo tableInfo,
+            TableBucket tableBucket,
+            MetadataUpdater metadataUpdater,
+            @Nullable int[] projectedFields,
+            int maxBytes) {
+        this.tableBucket = tableBucket;
+        this.projectedFields = projectedFields;
+        this.maxBytes = maxBytes;
+
+        if (tableBucket.getPartitionId() != null) {
+            metadataUpdater.checkAndUpdateMetadata(tableInfo.getTablePath(), tableBucket);
+        }
+        int leader = metadataUpdater.leaderFor(tableBucket);
+        this.gateway = metadataUpdater.newTabletServerClientForNode(leader);
+
+        // the values are projected by the server, so decode them with the projected types
+        RowType rowType = tableInfo.getRowType();
+        DataType[] fieldTypes;
+        if (projectedFields == null) {
+            fieldTypes = rowType.getChildren().toArray(new DataType[0]);
+        } else {
+            fieldTypes = new DataType[projectedFields.length];
+            for (int i = 0; i < projectedFields.length; i++) {
+                fieldTypes[i] = rowType.getTypeAt(projectedFields[i]);
+            }
+        }
+        this.readContext =
+                new ValueRecordReadContext(
+                        RowDecoder.create(tableInfo.getTableConfig().getKvFormat(), fieldTypes));
+
+        this.scanFuture = gateway.scanKv(newScanKvRequest());
+        this.endOfInput = false;
+    }
+
+    @Nullable
+    @Override
+    public CloseableIterator<InternalRow> pollBatch(Duration timeout) throws IOException {
+        if (endOfInput) {
+            return null;
+        }
+        ScanKvResponse response;
+        try {
+            response = scanFuture.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // poll next time
+            return CloseableIterator.emptyIterator();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        } catch (ExecutionException e) {
+            endOfInput = true;
+            throw new IOException(e.getCause());
+        }
+
+        if (response.hasErrorCode()) {
+            endOfInput = true;
+            throw new IOException(
+                    "Failed to scan kv of bucket " + tableBucket + ".",
+                    ApiError.fromErrorMessage(response).exception());
+        }
+
+        if (response.hasHasMoreResults() && response.isHasMoreResults()) {
+            scannerId = response.getScannerId();
+            // request the next page while the current page is being consumed
+            scanFuture = gateway.scanKv(newScanKvRequest());
+        } else {
+            endOfInput = true;
+        }
+        return CloseableIterator.wrap(parseScanKvResponse(response).iterator());
+    }
+
+    private List<InternalRow> parseScanKvResponse(ScanKvResponse response) {
+        List<InternalRow> scanRows = new ArrayList<>();
+        if (response.hasRecords()) {
+            DefaultValueRecordBatch valueRecords =
+                    DefaultValueRecordBatch.pointToByteBuffer(
+                            ByteBuffer.wrap(response.getRecords()));
+            for (ValueRecord record : valueRecords.records(readContext)) {
+                scanRows.add(record.getRow());
+            }
+        }
+        return scanRows;
+    }
+
+    private ScanKvRequest newScanKvRequest() {
+        ScanKvRequest request =
+                new ScanKvRequest()
+                        .setTableId(tableBucket.getTableId())
+                        .setBucketId(tableBucket.getBucket())
+                        .setMaxBytes(maxBytes);
+        if (tableBucket.getPartitionId() != null) {
+            request.setPartitionId(tableBucket.getPartitionId());
+        }
+        if (scannerId == null) {
+            if (projectedFields != null) {
+                request.setProjectedFields(projectedFields);
+            }
+        } else {
+            request.setScannerId(scannerId);
+        }
+        return request;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!endOfInput && scannerId != null) {
+            // release the snapshot pinned by the scanner on the server eagerly, otherwise it is
+            // only released when the scanner expires
+            ScanKvRequest closeRequest = newScanKvRequest().setCloseScanner(true);
+            gateway.scanKv(closeRequest)
+                    .exceptionally(
+                            e -> {
+                                LOG.warn(
+                                        "Failed to close the kv scanner of bucket {}.",
+                                        tableBucket,
+                                        e);
+                                return null;
+                            });
+        }
+        endOfInput = true;
+        scanFuture.cancel(true);
+    }
+}
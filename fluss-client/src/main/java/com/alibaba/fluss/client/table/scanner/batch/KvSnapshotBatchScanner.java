@@ -26,9 +26,9 @@ import com.alibaba.fluss.metadata.TableBucket;
 import com.alibaba.fluss.row.InternalRow;
 import com.alibaba.fluss.types.RowType;
 import com.alibaba.fluss.utils.CloseableIterator;
-import com.alibaba.fluss.utils.CloseableRegistry;
 import com.alibaba.fluss.utils.FileUtils;
 import com.alibaba.fluss.utils.IOUtils;
+import com.alibaba.fluss.utils.concurrent.FutureUtils;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -40,9 +40,11 @@ import java.io.IOException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.locks.Condition;
@@ -53,8 +55,9 @@ import static com.alibaba.fluss.utils.concurrent.LockUtils.inLock;
 /**
  * A scanner to scan the snapshot data of a kv bucket.
  *
- * <p>When the scanner is created, It will download the given snapshot files from the remote storage
- * and create a reader to read the files into records asynchronously.
+ * <p>When the scanner is created, It will download the SST files of the given snapshot from the
+ * remote storage and create a reader to read the files into records asynchronously. The SST files
+ * are read directly without opening a RocksDB instance, see {@link SnapshotFilesReader}.
  *
  * <p>In the {@link BatchScanner#pollBatch(Duration)} method:
  *
@@ -72,6 +75,10 @@ public class KvSnapshotBatchScanner implements BatchScanner {
     public static final CloseableIterator<InternalRow> NO_DATA_AVAILABLE =
             CloseableIterator.emptyIterator();
 
+    private static final String SST_FILE_SUFFIX = ".sst";
+
+    private static final long SST_FILE_DOWNLOAD_PART_SIZE = 16 * 1024 * 1024;
+
     private final RowType tableRowType;
     private final TableBucket tableBucket;
     private final List<FsPathAndFileName> fsPathAndFileNames;
@@ -136,8 +143,10 @@ public class KvSnapshotBatchScanner implements BatchScanner {
                     try {
                         if (snapshotFilesReader == null) {
                             // wait for the reader to be ready,
-                            if (!readerIsReady.await(timeout.toMillis(), TimeUnit.MILLISECONDS)) {
-                                // reader is still not ready
+                            if (!readerIsReady.await(timeout.toMillis(), TimeUnit.MILLISECONDS)
+                                    || snapshotFilesReader == null) {
+                                // reader is still not ready or failed to be created
+                                ensureNoException();
                                 return NO_DATA_AVAILABLE;
                             }
                         }
@@ -167,57 +176,95 @@ public class KvSnapshotBatchScanner implements BatchScanner {
     @Override
     public void close() {
         if (closed.compareAndSet(false, true)) {
-            IOUtils.closeQuietly(snapshotFilesReader);
-            FileUtils.deleteDirectoryQuietly(snapshotLocalDirectory.toFile());
+            // in the lock to not race with the creation of the reader
+            inLock(
+                    lock,
+                    () -> {
+                        IOUtils.closeQuietly(snapshotFilesReader);
+                        FileUtils.deleteDirectoryQuietly(snapshotLocalDirectory.toFile());
+                    });
         }
     }
 
     private void initReaderAsynchronously() {
-        CompletableFuture.runAsync(
-                () ->
-                        inLock(
-                                lock,
-                                () -> {
-                                    CloseableRegistry closeableRegistry = new CloseableRegistry();
-                                    try {
-                                        if (!snapshotLocalDirectory.toFile().mkdirs()) {
-                                            throw new IOException(
-                                                    String.format(
-                                                            "Failed to create directory %s for storing kv snapshot files.",
-                                                            snapshotLocalDirectory));
+        if (!snapshotLocalDirectory.toFile().mkdirs()) {
+            initSnapshotFilesReaderException =
+                    new IOException(
+                            String.format(
+                                    "Failed to create directory %s for storing kv snapshot files.",
+                                    snapshotLocalDirectory));
+            return;
+        }
+
+        LOG.info(
+                "Start to download kv snapshot files to local directory for bucket {}.",
+                tableBucket);
+        long startTime = System.currentTimeMillis();
+        // only the SST files are needed to read the snapshot, each SST file is opened as soon as
+        // it is downloaded, so opening the files overlaps with downloading the others
+        List<CompletableFuture<SnapshotSstFileReader>> sstFileReaderFutures = new ArrayList<>();
+        for (FsPathAndFileName fsPathAndFileName : fsPathAndFileNames) {
+            if (!fsPathAndFileName.getFileName().endsWith(SST_FILE_SUFFIX)) {
+                continue;
+            }
+            Path localFile = snapshotLocalDirectory.resolve(fsPathAndFileName.getFileName());
+            sstFileReaderFutures.add(
+                    remoteFileDownloader
+                            .transferRangeToFile(
+                                    fsPathAndFileName.getPath(),
+                                    0,
+                                    localFile,
+                                    SST_FILE_DOWNLOAD_PART_SIZE)
+                            .thenApply(
+                                    ignored -> {
+                                        try {
+                                            return SnapshotSstFileReader.open(localFile);
+                                        } catch (IOException e) {
+                                            throw new CompletionException(e);
                                         }
-                                        closeableRegistry.registerCloseable(
-                                                () ->
-                                                        FileUtils.deleteDirectoryQuietly(
-                                                                snapshotLocalDirectory.toFile()));
-                                        // todo: refactor transferAllToDirectory method to
-                                        // return a future so that we won't need to runAsync using
-                                        // the default thread pool
-                                        LOG.info(
-                                                "Start to download kv snapshot files to local directory for bucket {}.",
-                                                tableBucket);
-                                        long startTime = System.currentTimeMillis();
-                                        remoteFileDownloader.transferAllToDirectory(
-                                                fsPathAndFileNames,
-                                                snapshotLocalDirectory,
-                                                closeableRegistry);
-                                        LOG.info(
-                                                "Download kv snapshot files to local directory for bucket {} cost {} ms.",
-                                                tableBucket,
-                                                System.currentTimeMillis() - startTime);
-                                        snapshotFilesReader =
-                                                new SnapshotFilesReader(
-                                                        kvFormat,
-                                                        snapshotLocalDirectory,
-                                                        tableRowType,
-                                                        projectedFields);
-                                        readerIsReady.signalAll();
-                                    } catch (Throwable e) {
-                                        IOUtils.closeQuietly(closeableRegistry);
-                                        initSnapshotFilesReaderException = e;
-                                    } finally {
-                                        IOUtils.closeQuietly(closeableRegistry);
-                                    }
-                                }));
+                                    }));
+        }
+
+        FutureUtils.completeAll(sstFileReaderFutures)
+                .whenComplete(
+                        (ignored, throwable) ->
+                                inLock(
+                                        lock,
+                                        () -> {
+                                            List<SnapshotSstFileReader> sstFileReaders =
+                                                    new ArrayList<>();
+                                            for (CompletableFuture<SnapshotSstFileReader> future :
+                                                    sstFileReaderFutures) {
+                                                if (!future.isCompletedExceptionally()) {
+                                                    sstFileReaders.add(future.join());
+                                                }
+                                            }
+                                            try {
+                                                if (throwable != null) {
+                                                    throw throwable;
+                                                }
+                                                if (!closed.get()) {
+                                                    LOG.info(
+                                                            "Download kv snapshot files to local directory for bucket {} cost {} ms.",
+                                                            tableBucket,
+                                                            System.currentTimeMillis() - startTime);
+                                                    snapshotFilesReader =
+                                                            new SnapshotFilesReader(
+                                                                    kvFormat,
+                                                                    sstFileReaders,
+                                                                    tableRowType,
+                                                                    projectedFields);
+                                                    return;
+                                                }
+                                            } catch (Throwable e) {
+                                                initSnapshotFilesReaderException = e;
+                                            } finally {
+                                                readerIsReady.signalAll();
+                                            }
+                                            // failed or closed, release the files
+                                            sstFileReaders.forEach(IOUtils::closeQuietly);
+                                            FileUtils.deleteDirectoryQuietly(
+                                                    snapshotLocalDirectory.toFile());
+                                        }));
     }
 }
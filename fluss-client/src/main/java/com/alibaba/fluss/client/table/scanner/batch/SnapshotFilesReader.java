@@ -19,138 +19,138 @@ package com.alibaba.fluss.client.table.scanner.batch;
 
 import com.alibaba.fluss.client.table.scanner.ScanRecord;
 import com.alibaba.fluss.exception.FlussRuntimeException;
+import com.alibaba.fluss.memory.MemorySegment;
 import com.alibaba.fluss.metadata.KvFormat;
-import com.alibaba.fluss.rocksdb.RocksDBHandle;
-import com.alibaba.fluss.rocksdb.RocksIteratorWrapper;
 import com.alibaba.fluss.row.InternalRow;
 import com.alibaba.fluss.row.ProjectedRow;
+import com.alibaba.fluss.row.compacted.ProjectedCompactedRowDeserializer;
 import com.alibaba.fluss.row.decode.RowDecoder;
 import com.alibaba.fluss.row.encode.ValueDecoder;
 import com.alibaba.fluss.types.DataType;
 import com.alibaba.fluss.types.RowType;
 import com.alibaba.fluss.utils.CloseableIterator;
-import com.alibaba.fluss.utils.CloseableRegistry;
 import com.alibaba.fluss.utils.IOUtils;
 
-import org.rocksdb.ColumnFamilyOptions;
-import org.rocksdb.DBOptions;
-import org.rocksdb.ReadOptions;
-import org.rocksdb.RocksDB;
-import org.rocksdb.RocksIterator;
-import org.rocksdb.Snapshot;
-
 import javax.annotation.Nullable;
 import javax.annotation.concurrent.NotThreadSafe;
 
 import java.io.IOException;
-import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+import static com.alibaba.fluss.row.encode.ValueEncoder.SCHEMA_ID_LENGTH;
 
 /**
  * A reader to read kv snapshot files to {@link ScanRecord}s. It will return the {@link ScanRecord}s
  * as an iterator.
+ *
+ * <p>The reader reads the SST files of the snapshot directly instead of opening a RocksDB instance
+ * over the snapshot, which avoids replaying the MANIFEST and allocating the memory of a RocksDB
+ * instance for every scanned bucket. The latest entries of the keys in the SST files are merged in
+ * key order, and the entry with the largest sequence number wins for a key, the deleted keys are
+ * skipped.
  */
 @NotThreadSafe
 class SnapshotFilesReader implements CloseableIterator<InternalRow> {
 
+    private static final Comparator<SnapshotSstFileReader> ENTRY_ORDER =
+            (left, right) -> {
+                int compare = SnapshotSstFileReader.compare(left.key(), right.key());
+                // the newer entry of the same key goes first
+                return compare != 0 ? compare : Long.compare(right.sequence(), left.sequence());
+            };
+
     private final ValueDecoder valueDecoder;
     @Nullable private final int[] projectedFields;
-    private RocksIteratorWrapper rocksIteratorWrapper;
+    // the decoder to only decode the projected fields, null if no projection or not compacted
+    @Nullable private final ProjectedCompactedRowDeserializer projectedDeserializer;
 
-    private Snapshot snapshot;
-    private RocksDBHandle rocksDBHandle;
-    private boolean isClose = false;
+    private final List<SnapshotSstFileReader> sstFileReaders;
+    private final PriorityQueue<SnapshotSstFileReader> mergeQueue;
 
-    private final CloseableRegistry closeableRegistry;
+    // the value of the next row, null if there is no more row
+    @Nullable private byte[] nextValue;
+    private boolean isClose = false;
 
     SnapshotFilesReader(
             KvFormat kvFormat,
-            Path rocksDbPath,
+            List<SnapshotSstFileReader> sstFileReaders,
             RowType tableRowType,
             @Nullable int[] projectedFields)
             throws IOException {
-        this.valueDecoder =
-                new ValueDecoder(
-                        RowDecoder.create(
-                                kvFormat, tableRowType.getChildren().toArray(new DataType[0])));
+        DataType[] fieldTypes = tableRowType.getChildren().toArray(new DataType[0]);
+        this.valueDecoder = new ValueDecoder(RowDecoder.create(kvFormat, fieldTypes));
         this.projectedFields = projectedFields;
-        closeableRegistry = new CloseableRegistry();
-        try {
-            initRocksDB(rocksDbPath);
-            initRocksIterator();
-        } catch (Throwable t) {
-            releaseSnapshot();
-            // If anything goes wrong, clean up our stuff. If things went smoothly the
-            // merging iterator is now responsible for closing the resources
-            IOUtils.closeQuietly(closeableRegistry);
-            throw new IOException("Error creating RocksDB snapshot reader.", t);
+        this.projectedDeserializer =
+                projectedFields != null && kvFormat == KvFormat.COMPACTED
+                        ? new ProjectedCompactedRowDeserializer(fieldTypes, projectedFields)
+                        : null;
+        this.sstFileReaders = new ArrayList<>(sstFileReaders);
+        this.mergeQueue = new PriorityQueue<>(Math.max(1, sstFileReaders.size()), ENTRY_ORDER);
+        for (SnapshotSstFileReader sstFileReader : sstFileReaders) {
+            if (sstFileReader.isValid()) {
+                mergeQueue.add(sstFileReader);
+            }
         }
+        advance();
     }
 
-    private void initRocksDB(Path rocksDbPath) throws Exception {
-        // create rocksdb
-        DBOptions dbOptions = new DBOptions();
-        closeableRegistry.registerCloseable(dbOptions::close);
-        ColumnFamilyOptions columnFamilyOptions = new ColumnFamilyOptions();
-        closeableRegistry.registerCloseable(columnFamilyOptions::close);
-
-        rocksDBHandle =
-                new RocksDBHandle(rocksDbPath.toFile(), dbOptions, columnFamilyOptions, true);
-        closeableRegistry.registerCloseable(rocksDBHandle::close);
+    /** Moves to the value of the next key which is not deleted. */
+    private void advance() throws IOException {
+        nextValue = null;
+        while (nextValue == null && !mergeQueue.isEmpty()) {
+            SnapshotSstFileReader latest = mergeQueue.poll();
+            byte[] key = latest.key();
+            byte[] value = latest.value();
+            moveToNext(latest);
+            // skip the older entries of the key in the other files
+            while (!mergeQueue.isEmpty()
+                    && SnapshotSstFileReader.compare(mergeQueue.peek().key(), key) == 0) {
+                moveToNext(mergeQueue.poll());
+            }
+            nextValue = value;
+        }
     }
 
-    private void initRocksIterator() throws IOException {
-        // open a db
-        rocksDBHandle.openDB();
-        // get the snapshot
-        RocksDB db = rocksDBHandle.getDb();
-        snapshot = db.getSnapshot();
-        closeableRegistry.registerCloseable(snapshot::close);
-
-        // use the snapshot to read rocksdb
-        ReadOptions readOptions = new ReadOptions();
-        closeableRegistry.registerCloseable(readOptions::close);
-        readOptions.setSnapshot(snapshot);
-
-        // get the iterator
-        RocksIterator rocksIterator = db.newIterator(db.getDefaultColumnFamily(), readOptions);
-        rocksIteratorWrapper = new RocksIteratorWrapper(rocksIterator);
-        closeableRegistry.registerCloseable(rocksIteratorWrapper);
-
-        // seek to first
-        rocksIteratorWrapper.seekToFirst();
+    private void moveToNext(SnapshotSstFileReader sstFileReader) throws IOException {
+        sstFileReader.next();
+        if (sstFileReader.isValid()) {
+            mergeQueue.add(sstFileReader);
+        }
     }
 
     public void close() {
         if (isClose) {
             return;
         }
-
-        releaseSnapshot();
-        try {
-            closeableRegistry.close();
-        } catch (IOException e) {
-            throw new FlussRuntimeException("Failed to close resources", e);
+        for (SnapshotSstFileReader sstFileReader : sstFileReaders) {
+            IOUtils.closeQuietly(sstFileReader);
         }
+        mergeQueue.clear();
+        nextValue = null;
         isClose = true;
     }
 
-    private void releaseSnapshot() {
-        if (snapshot != null && rocksDBHandle != null) {
-            rocksDBHandle.getDb().releaseSnapshot(snapshot);
-            snapshot = null;
-        }
-    }
-
     @Override
     public boolean hasNext() {
-        return !isClose && rocksIteratorWrapper.isValid();
+        return !isClose && nextValue != null;
     }
 
     @Override
     public InternalRow next() {
-        byte[] value = rocksIteratorWrapper.value();
-        rocksIteratorWrapper.next();
+        byte[] value = nextValue;
+        try {
+            advance();
+        } catch (IOException e) {
+            throw new FlussRuntimeException("Failed to read the kv snapshot files.", e);
+        }
 
+        if (projectedDeserializer != null) {
+            return projectedDeserializer.deserialize(
+                    MemorySegment.wrap(value), SCHEMA_ID_LENGTH, value.length - SCHEMA_ID_LENGTH);
+        }
         InternalRow originRow = valueDecoder.decodeValue(value).row;
         if (projectedFields != null) {
             ProjectedRow projectedRow = ProjectedRow.from(projectedFields);
@@ -0,0 +1,221 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.fluss.client.table.scanner.batch;
+
+import com.alibaba.fluss.utils.CloseableRegistry;
+import com.alibaba.fluss.utils.IOUtils;
+
+import org.rocksdb.Options;
+import org.rocksdb.ReadOptions;
+import org.rocksdb.RocksDBException;
+import org.rocksdb.SstFileReader;
+import org.rocksdb.SstFileReaderIterator;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.NotThreadSafe;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * A reader of an SST file of a kv snapshot, which reads the latest entry of each key of the file in
+ * key order, including the deleted keys, so that the SST files of a snapshot can be merged without
+ * opening a RocksDB instance over the snapshot.
+ *
+ * <p>RocksDB only exposes the sequence numbers and the deletions of the entries through the
+ * internal keys returned for the entries whose sequence number is not less than {@link
+ * ReadOptions#setIterStartSeqnum(long)}, while the entries compacted to the bottommost level may
+ * have zero sequence number. So the file is read with two iterators: one over the internal keys of
+ * the entries with non-zero sequence number, and one over the visible values of the file which
+ * covers the entries with zero sequence number.
+ */
+@NotThreadSafe
+class SnapshotSstFileReader implements Closeable {
+
+    // the value types in the internal keys of RocksDB, see rocksdb/db/dbformat.h
+    private static final int TYPE_DELETION = 0x0;
+    private static final int TYPE_VALUE = 0x1;
+    private static final int TYPE_SINGLE_DELETION = 0x7;
+
+    // the internal key is the user key followed by the packed sequence number and value type
+    private static final int INTERNAL_KEY_FOOTER_LENGTH = 8;
+
+    private final Path file;
+    private final CloseableRegistry closeableRegistry;
+    private final SstFileReaderIterator versionIterator;
+    private final SstFileReaderIterator valueIterator;
+
+    // the current entry
+    private boolean valid;
+    private byte[] key;
+    private long sequence;
+    @Nullable private byte[] value;
+
+    private SnapshotSstFileReader(
+            Path file,
+            CloseableRegistry closeableRegistry,
+            SstFileReaderIterator versionIterator,
+            SstFileReaderIterator valueIterator)
+            throws IOException {
+        this.file = file;
+        this.closeableRegistry = closeableRegistry;
+        this.versionIterator = versionIterator;
+        this.valueIterator = valueIterator;
+        versionIterator.seekToFirst();
+        valueIterator.seekToFirst();
+        next();
+    }
+
+    /** Opens the reader positioned at the first entry of the given SST file. */
+    static SnapshotSstFileReader open(Path file) throws IOException {
+        CloseableRegistry closeableRegistry = new CloseableRegistry();
+        try {
+            Options options = new Options();
+            closeableRegistry.registerCloseable(options::close);
+            SstFileReader sstFileReader = new SstFileReader(options);
+            closeableRegistry.registerCloseable(sstFileReader::close);
+            sstFileReader.open(file.toString());
+
+            ReadOptions versionReadOptions = new ReadOptions().setIterStartSeqnum(1);
+            closeableRegistry.registerCloseable(versionReadOptions::close);
+            SstFileReaderIterator versionIterator = sstFileReader.newIterator(versionReadOptions);
+            closeableRegistry.registerCloseable(versionIterator::close);
+
+            ReadOptions valueReadOptions = new ReadOptions();
+            closeableRegistry.registerCloseable(valueReadOptions::close);
+            SstFileReaderIterator valueIterator = sstFileReader.newIterator(valueReadOptions);
+            closeableRegistry.registerCloseable(valueIterator::close);
+
+            return new SnapshotSstFileReader(
+                    file, closeableRegistry, versionIterator, valueIterator);
+        } catch (Throwable t) {
+            IOUtils.closeQuietly(closeableRegistry);
+            throw new IOException("Failed to open the SST file " + file + ".", t);
+        }
+    }
+
+    boolean isValid() {
+        return valid;
+    }
+
+    /** The user key of the current entry. */
+    byte[] key() {
+        return key;
+    }
+
+    /** The sequence number of the current entry, zero if it's compacted to the bottommost level. */
+    long sequence() {
+        return sequence;
+    }
+
+    /** The value of the current entry, null if the key is deleted. */
+    @Nullable
+    byte[] value() {
+        return value;
+    }
+
+    /** Moves to the next key of the file. */
+    void next() throws IOException {
+        byte[] internalKey = versionIterator.isValid() ? versionIterator.key() : null;
+        byte[] valueKey = valueIterator.isValid() ? valueIterator.key() : null;
+        if (internalKey == null && valueKey == null) {
+            valid = false;
+            checkStatus();
+            return;
+        }
+
+        byte[] versionKey = internalKey == null ? null : userKey(internalKey);
+        int compare =
+                versionKey == null ? 1 : valueKey == null ? -1 : compare(versionKey, valueKey);
+        if (compare <= 0) {
+            // the latest version of the key, which is always newer than the visible value of the
+            // key if any
+            long packed = decodeFooter(internalKey);
+            int type = (int) (packed & 0xFF);
+            key = versionKey;
+            sequence = packed >>> 8;
+            if (type == TYPE_VALUE) {
+                value = versionIterator.value();
+            } else if (type == TYPE_DELETION || type == TYPE_SINGLE_DELETION) {
+                value = null;
+            } else {
+                throw new IOException(
+                        String.format(
+                                "Unsupported value type %d of the entry in the SST file %s.",
+                                type, file));
+            }
+            // skip the older versions of the key
+            do {
+                versionIterator.next();
+            } while (versionIterator.isValid()
+                    && Arrays.equals(userKey(versionIterator.key()), versionKey));
+            if (compare == 0) {
+                valueIterator.next();
+            }
+        } else {
+            key = valueKey;
+            sequence = 0;
+            value = valueIterator.value();
+            valueIterator.next();
+        }
+        valid = true;
+    }
+
+    private void checkStatus() throws IOException {
+        try {
+            versionIterator.status();
+            valueIterator.status();
+        } catch (RocksDBException e) {
+            throw new IOException("Failed to read the SST file " + file + ".", e);
+        }
+    }
+
+    private static byte[] userKey(byte[] internalKey) {
+        return Arrays.copyOf(internalKey, internalKey.length - INTERNAL_KEY_FOOTER_LENGTH);
+    }
+
+    private static long decodeFooter(byte[] internalKey) {
+        // the footer is encoded in little-endian
+        long packed = 0;
+        for (int i = internalKey.length - 1;
+                i >= internalKey.length - INTERNAL_KEY_FOOTER_LENGTH;
+                i--) {
+            packed = (packed << 8) | (internalKey[i] & 0xFF);
+        }
+        return packed;
+    }
+
+    /** Compares the keys in the order of the bytewise comparator of RocksDB. */
+    static int compare(byte[] left, byte[] right) {
+        int length = Math.min(left.length, right.length);
+        for (int i = 0; i < length; i++) {
+            int compare = (left[i] & 0xFF) - (right[i] & 0xFF);
+            if (compare != 0) {
+                return compare;
+            }
+        }
+        return left.length - right.length;
+    }
+
+    @Override
+    public void close() throws IOException {
+        closeableRegistry.close();
+    }
+}
@@ -24,6 +24,7 @@ import com.alibaba.fluss.exception.FetchException;
 import com.alibaba.fluss.metadata.TableBucket;
 import com.alibaba.fluss.record.LogRecord;
 import com.alibaba.fluss.record.LogRecordBatch;
+import com.alibaba.fluss.record.LogRecordBatchFilter;
 import com.alibaba.fluss.record.LogRecordReadContext;
 import com.alibaba.fluss.row.GenericRow;
 import com.alibaba.fluss.row.InternalRow;
@@ -34,6 +35,8 @@ import com.alibaba.fluss.utils.CloseableIterator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
+
 import java.io.Closeable;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -59,6 +62,8 @@ abstract class CompletedFetch {
     private final LogScannerStatus logScannerStatus;
     protected final LogRecordReadContext readContext;
     protected final InternalRow.FieldGetter[] selectedFieldGetters;
+    // the filter to skip the batches by statistics, only set for the batches not filtered by server
+    @Nullable private final LogRecordBatchFilter batchFilter;
 
     private LogRecordBatch currentBatch;
     private LogRecord lastRecord;
@@ -80,6 +85,30 @@ abstract class CompletedFetch {
             LogScannerStatus logScannerStatus,
             boolean isCheckCrcs,
             long fetchOffset) {
+        this(
+                tableBucket,
+                error,
+                sizeInBytes,
+                highWatermark,
+                batches,
+                readContext,
+                logScannerStatus,
+                isCheckCrcs,
+                fetchOffset,
+                null);
+    }
+
+    public CompletedFetch(
+            TableBucket tableBucket,
+            ApiError error,
+            int sizeInBytes,
+            long highWatermark,
+            Iterator<LogRecordBatch> batches,
+            LogRecordReadContext readContext,
+            LogScannerStatus logScannerStatus,
+            boolean isCheckCrcs,
+            long fetchOffset,
+            @Nullable LogRecordBatchFilter batchFilter) {
         this.tableBucket = tableBucket;
         this.error = error;
         this.sizeInBytes = sizeInBytes;
@@ -90,6 +119,7 @@ abstract class CompletedFetch {
         this.logScannerStatus = logScannerStatus;
         this.nextFetchOffset = fetchOffset;
         this.selectedFieldGetters = readContext.getSelectedFieldGetters();
+        this.batchFilter = batchFilter;
     }
 
     // TODO: optimize this to avoid deep copying the record.
@@ -195,6 +225,91 @@ abstract class CompletedFetch {
         return scanRecords;
     }
 
+    /**
+     * The {@link LogRecordBatch batches} are loaded as {@link ScanBatch scan batches} of columnar
+     * records and returned, the records before the next fetch offset are skipped. Unlike {@link
+     * #fetchRecords(int)}, the batches are never split, so the number of returned records may
+     * exceed the given maximum by the size of the last batch.
+     *
+     * @param maxRecords The number of records to stop loading the next batch after reached
+     * @return {@link ScanBatch scan batches}
+     */
+    public List<ScanBatch> fetchBatches(int maxRecords) {
+        if (corruptLastRecord) {
+            throw new FetchException(
+                    "Received exception when fetching the next batch from "
+                            + tableBucket
+                            + ". If needed, please back to past the batch to continue scanning.",
+                    cachedRecordException);
+        }
+
+        if (isConsumed) {
+            return Collections.emptyList();
+        }
+
+        List<ScanBatch> scanBatches = new ArrayList<>();
+        int recordsRemaining = maxRecords;
+        try {
+            while (recordsRemaining > 0) {
+                corruptLastRecord = true;
+                LogRecordBatch batch = nextFetchedBatch();
+                if (batch == null) {
+                    corruptLastRecord = false;
+                    break;
+                }
+
+                int startRowId = (int) Math.max(0, nextFetchOffset - batch.baseLogOffset());
+                if (startRowId < batch.getRecordCount() && !isFilteredOut(batch)) {
+                    ScanBatch scanBatch =
+                            new ScanBatch(
+                                    tableBucket,
+                                    batch.loadArrowBatch(readContext, startRowId),
+                                    readContext.getSelectedFields());
+                    scanBatches.add(scanBatch);
+                    recordsRead += scanBatch.getRowCount();
+                    recordsRemaining -= scanBatch.getRowCount();
+                }
+                corruptLastRecord = false;
+                nextFetchOffset = batch.nextLogOffset();
+            }
+        } catch (Exception e) {
+            cachedRecordException = e;
+            if (scanBatches.isEmpty()) {
+                throw new FetchException(
+                        "Received exception when fetching the next batch from "
+                                + tableBucket
+                                + ". If needed, please back to past the batch to continue scanning.",
+                        e);
+            }
+        }
+
+        return scanBatches;
+    }
+
+    private LogRecordBatch nextFetchedBatch() {
+        if (records != null) {
+            // the current batch may be partially consumed by fetchRecords(), return it again to
+            // load the remaining records from the next fetch offset
+            maybeCloseRecordStream();
+            cachedRecordException = null;
+            if (currentBatch.nextLogOffset() > nextFetchOffset) {
+                return currentBatch;
+            }
+        }
+
+        if (!batches.hasNext()) {
+            if (currentBatch != null) {
+                nextFetchOffset = currentBatch.nextLogOffset();
+            }
+            drain();
+            return null;
+        }
+
+        currentBatch = batches.next();
+        maybeEnsureValid(currentBatch);
+        return currentBatch;
+    }
+
     private LogRecord nextFetchedRecord() throws Exception {
         while (true) {
             if (records == null || !records.hasNext()) {
@@ -217,7 +332,10 @@ abstract class CompletedFetch {
                 // TODO get last epoch.
                 maybeEnsureValid(currentBatch);
 
-                records = currentBatch.records(readContext);
+                records =
+                        isFilteredOut(currentBatch)
+                                ? CloseableIterator.emptyIterator()
+                                : currentBatch.records(readContext);
             } else {
                 LogRecord record = records.next();
                 // skip any records out of range.
@@ -248,6 +366,11 @@ abstract class CompletedFetch {
         }
     }
 
+    /** Returns true if the batch can't contain any record matching the batch filter. */
+    private boolean isFilteredOut(LogRecordBatch batch) {
+        return batchFilter != null && !batchFilter.test(batch.statistics(), batch.getRecordCount());
+    }
+
     private void maybeCloseRecordStream() {
         if (records != null) {
             // release underlying resources
@@ -43,6 +43,8 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.BiFunction;
+import java.util.function.ToIntFunction;
 
 /* This file is based on source code of Apache Kafka Project (https://kafka.apache.org/), licensed by the Apache
  * Software Foundation (ASF) under the Apache License, Version 2.0. See the NOTICE file distributed with this work for
@@ -84,7 +86,28 @@ public class LogFetchCollector {
      *     the defaultResetPolicy is NONE
      */
     public Map<TableBucket, List<ScanRecord>> collectFetch(final LogFetchBuffer logFetchBuffer) {
-        Map<TableBucket, List<ScanRecord>> fetched = new HashMap<>();
+        return collect(logFetchBuffer, CompletedFetch::fetchRecords, List::size);
+    }
+
+    /**
+     * Return the fetched log records as columnar batches, empty the record buffer and update the
+     * consumed position. The same as {@link #collectFetch(LogFetchBuffer)} except that the log
+     * record batches are returned as a whole.
+     *
+     * @return The fetched batches per partition
+     */
+    public Map<TableBucket, List<ScanBatch>> collectBatches(final LogFetchBuffer logFetchBuffer) {
+        return collect(
+                logFetchBuffer,
+                CompletedFetch::fetchBatches,
+                batches -> batches.stream().mapToInt(ScanBatch::getRowCount).sum());
+    }
+
+    private <T> Map<TableBucket, List<T>> collect(
+            final LogFetchBuffer logFetchBuffer,
+            final BiFunction<CompletedFetch, Integer, List<T>> fetchFunction,
+            final ToIntFunction<List<T>> recordCounter) {
+        Map<TableBucket, List<T>> fetched = new HashMap<>();
         int recordsRemaining = maxPollRecords;
 
         try {
@@ -115,10 +138,11 @@ public class LogFetchCollector {
 
                     logFetchBuffer.poll();
                 } else {
-                    List<ScanRecord> records = fetchRecords(nextInLineFetch, recordsRemaining);
+                    List<T> records =
+                            fetchRecords(nextInLineFetch, recordsRemaining, fetchFunction);
                     if (!records.isEmpty()) {
                         TableBucket tableBucket = nextInLineFetch.tableBucket;
-                        List<ScanRecord> currentRecords = fetched.get(tableBucket);
+                        List<T> currentRecords = fetched.get(tableBucket);
                         if (currentRecords == null) {
                             fetched.put(tableBucket, records);
                         } else {
@@ -126,14 +150,14 @@ public class LogFetchCollector {
                             // a time per bucket, but it might conceivably happen in some rare
                             // cases (such as bucket leader changes). we have to copy to a new list
                             // because the old one may be immutable
-                            List<ScanRecord> newScanRecords =
+                            List<T> newScanRecords =
                                     new ArrayList<>(records.size() + currentRecords.size());
                             newScanRecords.addAll(currentRecords);
                             newScanRecords.addAll(records);
                             fetched.put(tableBucket, newScanRecords);
                         }
 
-                        recordsRemaining -= records.size();
+                        recordsRemaining -= recordCounter.applyAsInt(records);
                     }
                 }
             }
@@ -146,7 +170,10 @@ public class LogFetchCollector {
         return fetched;
     }
 
-    private List<ScanRecord> fetchRecords(CompletedFetch nextInLineFetch, int maxRecords) {
+    private <T> List<T> fetchRecords(
+            CompletedFetch nextInLineFetch,
+            int maxRecords,
+            BiFunction<CompletedFetch, Integer, List<T>> fetchFunction) {
         TableBucket tb = nextInLineFetch.tableBucket;
         Long offset = logScannerStatus.getBucketOffset(tb);
         if (offset == null) {
@@ -157,7 +184,7 @@ public class LogFetchCollector {
                     nextInLineFetch.nextFetchOffset());
         } else {
             if (nextInLineFetch.nextFetchOffset() == offset) {
-                List<ScanRecord> records = nextInLineFetch.fetchRecords(maxRecords);
+                List<T> records = fetchFunction.apply(nextInLineFetch, maxRecords);
                 LOG.trace(
                         "Returning {} fetched records at offset {} for assigned bucket {}.",
                         records.size(),
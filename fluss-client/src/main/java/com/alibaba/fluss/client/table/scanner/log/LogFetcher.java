@@ -27,6 +27,8 @@ import com.alibaba.fluss.cluster.BucketLocation;
 import com.alibaba.fluss.cluster.ServerNode;
 import com.alibaba.fluss.config.ConfigOptions;
 import com.alibaba.fluss.config.Configuration;
+import com.alibaba.fluss.exception.FetchSessionIdNotFoundException;
+import com.alibaba.fluss.exception.InvalidFetchSessionEpochException;
 import com.alibaba.fluss.exception.InvalidMetadataException;
 import com.alibaba.fluss.exception.LeaderNotAvailableException;
 import com.alibaba.fluss.fs.FsPath;
@@ -35,6 +37,7 @@ import com.alibaba.fluss.metadata.TableBucket;
 import com.alibaba.fluss.metadata.TableInfo;
 import com.alibaba.fluss.metadata.TablePartition;
 import com.alibaba.fluss.metadata.TablePath;
+import com.alibaba.fluss.record.LogRecordBatchFilter;
 import com.alibaba.fluss.record.LogRecordReadContext;
 import com.alibaba.fluss.record.LogRecords;
 import com.alibaba.fluss.record.MemoryLogRecords;
@@ -51,6 +54,8 @@ import com.alibaba.fluss.rpc.messages.PbFetchLogReqForTable;
 import com.alibaba.fluss.rpc.messages.PbFetchLogRespForBucket;
 import com.alibaba.fluss.rpc.messages.PbFetchLogRespForTable;
 import com.alibaba.fluss.rpc.protocol.Errors;
+import com.alibaba.fluss.rpc.util.FetchSessionHandler;
+import com.alibaba.fluss.utils.ExceptionUtils;
 import com.alibaba.fluss.utils.IOUtils;
 import com.alibaba.fluss.utils.Projection;
 
@@ -70,7 +75,9 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
+import static com.alibaba.fluss.client.utils.ClientRpcMessageUtils.toPbBatchFilter;
 import static com.alibaba.fluss.rpc.util.CommonRpcMessageUtils.getFetchLogResultForBucket;
 import static com.alibaba.fluss.utils.Preconditions.checkNotNull;
 
@@ -91,6 +98,7 @@ public class LogFetcher implements Closeable {
     //  bytes from remote file.
     private final LogRecordReadContext remoteReadContext;
     @Nullable private final Projection projection;
+    @Nullable private final LogRecordBatchFilter batchFilter;
     private final RpcClient rpcClient;
     private final int maxFetchBytes;
     private final int maxBucketFetchBytes;
@@ -105,6 +113,10 @@ public class LogFetcher implements Closeable {
     @GuardedBy("this")
     private final Set<Integer> nodesWithPendingFetchRequests;
 
+    /** The fetch sessions to the tablet servers, keyed by server id. */
+    @GuardedBy("this")
+    private final Map<Integer, FetchSessionHandler> fetchSessions;
+
     @GuardedBy("this")
     private boolean isClosed = false;
 
@@ -114,6 +126,7 @@ public class LogFetcher implements Closeable {
     public LogFetcher(
             TableInfo tableInfo,
             @Nullable Projection projection,
+            @Nullable LogRecordBatchFilter batchFilter,
             RpcClient rpcClient,
             LogScannerStatus logScannerStatus,
             Configuration conf,
@@ -122,10 +135,18 @@ public class LogFetcher implements Closeable {
             RemoteFileDownloader remoteFileDownloader) {
         this.tablePath = tableInfo.getTablePath();
         this.isPartitioned = tableInfo.isPartitioned();
+        if (projection == null && batchFilter != null) {
+            // the server filters the batches by rewriting them as the column projection does,
+            // so project all the columns to skip the CRC check of the rewritten batches
+            projection =
+                    Projection.of(
+                            IntStream.range(0, tableInfo.getRowType().getFieldCount()).toArray());
+        }
         this.readContext = LogRecordReadContext.createReadContext(tableInfo, false, projection);
         this.remoteReadContext =
                 LogRecordReadContext.createReadContext(tableInfo, true, projection);
         this.projection = projection;
+        this.batchFilter = batchFilter;
         this.rpcClient = rpcClient;
         this.logScannerStatus = logScannerStatus;
         this.maxFetchBytes =
@@ -142,6 +163,7 @@ public class LogFetcher implements Closeable {
         this.isCheckCrcs = conf.getBoolean(ConfigOptions.CLIENT_SCANNER_LOG_CHECK_CRC);
         this.logFetchBuffer = new LogFetchBuffer();
         this.nodesWithPendingFetchRequests = new HashSet<>();
+        this.fetchSessions = new HashMap<>();
         this.metadataUpdater = metadataUpdater;
         this.logFetchCollector =
                 new LogFetchCollector(tablePath, logScannerStatus, conf, metadataUpdater);
@@ -163,17 +185,25 @@ public class LogFetcher implements Closeable {
         return logFetchCollector.collectFetch(logFetchBuffer);
     }
 
+    public Map<TableBucket, List<ScanBatch>> collectBatches() {
+        return logFetchCollector.collectBatches(logFetchBuffer);
+    }
+
     /**
      * Set up a fetch request for any node that we have assigned buckets for which doesn't already
      * have an in-flight fetch or pending fetch data.
      */
     public synchronized void sendFetches() {
-        Map<Integer, FetchLogRequest> fetchRequestMap = prepareFetchLogRequests();
+        Map<Integer, Set<TableBucket>> fetchBucketsMap = new HashMap<>();
+        Map<Integer, FetchLogRequest> fetchRequestMap = prepareFetchLogRequests(fetchBucketsMap);
         fetchRequestMap.forEach(
                 (nodeId, fetchLogRequest) -> {
                     LOG.debug("Adding pending request for node id {}", nodeId);
                     nodesWithPendingFetchRequests.add(nodeId);
-                    sendFetchRequest(nodeId, fetchLogRequest);
+                    sendFetchRequest(
+                            nodeId,
+                            fetchLogRequest,
+                            getTableOrPartitions(fetchBucketsMap.get(nodeId)));
                 });
     }
 
@@ -195,14 +225,16 @@ public class LogFetcher implements Closeable {
         logFetchBuffer.wakeup();
     }
 
-    private void sendFetchRequest(int destination, FetchLogRequest fetchLogRequest) {
-        TableOrPartitions tableOrPartitionsInFetchRequest =
-                getTableOrPartitionsInFetchRequest(fetchLogRequest);
+    private void sendFetchRequest(
+            int destination,
+            FetchLogRequest fetchLogRequest,
+            TableOrPartitions tableOrPartitionsInFetchRequest) {
         // TODO cache the tablet server gateway.
         ServerNode destinationNode = metadataUpdater.getTabletServer(destination);
         if (destinationNode == null) {
             handleFetchLogException(
                     destination,
+                    fetchLogRequest,
                     tableOrPartitionsInFetchRequest,
                     new LeaderNotAvailableException(
                             "Server " + destination + " is not found in metadata cache."));
@@ -219,34 +251,36 @@ public class LogFetcher implements Closeable {
                             (fetchLogResponse, e) -> {
                                 if (e != null) {
                                     handleFetchLogException(
-                                            destination, tableOrPartitionsInFetchRequest, e);
+                                            destination,
+                                            fetchLogRequest,
+                                            tableOrPartitionsInFetchRequest,
+                                            e);
                                 } else {
                                     handleFetchLogResponse(
-                                            destination, requestStartTime, fetchLogResponse);
+                                            destination,
+                                            fetchLogRequest,
+                                            requestStartTime,
+                                            fetchLogResponse);
                                 }
                             });
         }
     }
 
-    private TableOrPartitions getTableOrPartitionsInFetchRequest(FetchLogRequest fetchLogRequest) {
+    /**
+     * Gets the tables or partitions of the fetched buckets, which includes the buckets cached by
+     * the fetch session but not contained in the fetch request.
+     */
+    private TableOrPartitions getTableOrPartitions(Set<TableBucket> fetchBuckets) {
         Set<Long> tableIdsInFetchRequest = null;
         Set<TablePartition> tablePartitionsInFetchRequest = null;
         if (!isPartitioned) {
             tableIdsInFetchRequest =
-                    fetchLogRequest.getTablesReqsList().stream()
-                            .map(PbFetchLogReqForTable::getTableId)
-                            .collect(Collectors.toSet());
+                    fetchBuckets.stream().map(TableBucket::getTableId).collect(Collectors.toSet());
         } else {
             tablePartitionsInFetchRequest = new HashSet<>();
-            // iterate over table requests
-            for (PbFetchLogReqForTable fetchTableRequest : fetchLogRequest.getTablesReqsList()) {
-                for (PbFetchLogReqForBucket fetchLogReqForBucket :
-                        fetchTableRequest.getBucketsReqsList()) {
-                    tablePartitionsInFetchRequest.add(
-                            new TablePartition(
-                                    fetchTableRequest.getTableId(),
-                                    fetchLogReqForBucket.getPartitionId()));
-                }
+            for (TableBucket tb : fetchBuckets) {
+                tablePartitionsInFetchRequest.add(
+                        new TablePartition(tb.getTableId(), tb.getPartitionId()));
             }
         }
         return new TableOrPartitions(tableIdsInFetchRequest, tablePartitionsInFetchRequest);
@@ -270,13 +304,29 @@ public class LogFetcher implements Closeable {
         metadataUpdater.invalidPhysicalTableBucketMeta(physicalTablePaths);
     }
 
-    private void handleFetchLogException(
-            int destination, TableOrPartitions tableOrPartitionsInFetchRequest, Throwable e) {
+    private synchronized void handleFetchLogException(
+            int destination,
+            FetchLogRequest fetchLogRequest,
+            TableOrPartitions tableOrPartitionsInFetchRequest,
+            Throwable e) {
         try {
             if (isClosed) {
                 return;
             }
 
+            FetchSessionHandler fetchSession = fetchSessions.get(destination);
+            if (fetchSession != null) {
+                fetchSession.handleError(fetchLogRequest);
+            }
+
+            Throwable cause = ExceptionUtils.stripCompletionException(e);
+            if (cause instanceof FetchSessionIdNotFoundException
+                    || cause instanceof InvalidFetchSessionEpochException) {
+                // the next fetch request will create a new session
+                LOG.debug("Fetch session to node {} is reset.", destination, cause);
+                return;
+            }
+
             LOG.error("Failed to fetch log from node {}", destination, e);
             // if is invalid metadata exception, we need to clear table bucket meta
             // to enable another round of log fetch to request new medata
@@ -295,12 +345,20 @@ public class LogFetcher implements Closeable {
 
     /** Implements the core logic for a successful fetch log response. */
     private synchronized void handleFetchLogResponse(
-            int destination, long requestStartTime, FetchLogResponse fetchLogResponse) {
+            int destination,
+            FetchLogRequest fetchLogRequest,
+            long requestStartTime,
+            FetchLogResponse fetchLogResponse) {
         try {
             if (isClosed) {
                 return;
             }
 
+            FetchSessionHandler fetchSession = fetchSessions.get(destination);
+            if (fetchSession != null) {
+                fetchSession.handleResponse(fetchLogRequest, fetchLogResponse);
+            }
+
             // update fetch metrics only when request success
             scannerMetricGroup.updateFetchLatency(System.currentTimeMillis() - requestStartTime);
             scannerMetricGroup.bytesPerRequest().update(fetchLogResponse.totalSize());
@@ -372,25 +430,36 @@ public class LogFetcher implements Closeable {
                 posInLogSegment = 0;
                 fetchOffset = segment.remoteLogStartOffset();
             }
+            // the start position is looked up from the offset index of the segment by the server,
+            // only the bytes from the position are downloaded
             RemoteLogDownloadFuture downloadFuture =
-                    remoteLogDownloader.requestRemoteLog(remoteLogTabletDir, segment);
+                    remoteLogDownloader.requestRemoteLog(
+                            remoteLogTabletDir, segment, posInLogSegment);
             PendingFetch pendingFetch =
                     new RemotePendingFetch(
                             segment,
                             downloadFuture,
-                            posInLogSegment,
                             fetchOffset,
                             highWatermark,
                             remoteReadContext,
                             logScannerStatus,
-                            isCheckCrcs);
+                            isCheckCrcs,
+                            batchFilter);
             logFetchBuffer.pend(pendingFetch);
             downloadFuture.onComplete(logFetchBuffer::tryComplete);
         }
     }
 
-    private Map<Integer, FetchLogRequest> prepareFetchLogRequests() {
+    /**
+     * Prepares the fetch log requests to the leaders of the fetchable buckets. The buckets cached
+     * by the fetch session to a leader with the same fetch offsets are omitted in the request.
+     *
+     * @param fetchBucketsMap the map to collect all the fetched buckets of each leader
+     */
+    private Map<Integer, FetchLogRequest> prepareFetchLogRequests(
+            Map<Integer, Set<TableBucket>> fetchBucketsMap) {
         Map<Integer, List<PbFetchLogReqForBucket>> fetchLogReqForBuckets = new HashMap<>();
+        Map<Integer, FetchSessionHandler.Builder> sessionBuilders = new HashMap<>();
         int readyForFetchCount = 0;
         Long tableId = null;
         for (TableBucket tb : fetchableBuckets()) {
@@ -423,6 +492,23 @@ public class LogFetcher implements Closeable {
                         tb,
                         leader);
             } else {
+                List<PbFetchLogReqForBucket> reqForBuckets =
+                        fetchLogReqForBuckets.computeIfAbsent(leader, key -> new ArrayList<>());
+                fetchBucketsMap.computeIfAbsent(leader, key -> new HashSet<>()).add(tb);
+                readyForFetchCount++;
+                FetchSessionHandler.Builder sessionBuilder =
+                        sessionBuilders.computeIfAbsent(
+                                leader,
+                                key ->
+                                        fetchSessions
+                                                .computeIfAbsent(
+                                                        key, k -> new FetchSessionHandler())
+                                                .newBuilder());
+                if (!sessionBuilder.add(tb, offset)) {
+                    // the bucket is cached by the fetch session with the same offset
+                    continue;
+                }
+
                 PbFetchLogReqForBucket fetchLogReqForBucket =
                         new PbFetchLogReqForBucket()
                                 .setBucketId(tb.getBucket())
@@ -431,10 +517,7 @@ public class LogFetcher implements Closeable {
                 if (tb.getPartitionId() != null) {
                     fetchLogReqForBucket.setPartitionId(tb.getPartitionId());
                 }
-                fetchLogReqForBuckets
-                        .computeIfAbsent(leader, key -> new ArrayList<>())
-                        .add(fetchLogReqForBucket);
-                readyForFetchCount++;
+                reqForBuckets.add(fetchLogReqForBucket);
             }
         }
 
@@ -461,8 +544,12 @@ public class LogFetcher implements Closeable {
                         } else {
                             reqForTable.setProjectionPushdownEnabled(false);
                         }
+                        if (batchFilter != null) {
+                            reqForTable.addAllBatchFilters(toPbBatchFilter(batchFilter));
+                        }
                         reqForTable.addAllBucketsReqs(reqForBuckets);
                         fetchLogRequest.addAllTablesReqs(Collections.singletonList(reqForTable));
+                        sessionBuilders.get(leaderId).build(fetchLogRequest);
                         fetchLogRequests.put(leaderId, fetchLogRequest);
                     });
             return fetchLogRequests;
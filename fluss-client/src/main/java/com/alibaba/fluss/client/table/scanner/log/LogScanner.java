@@ -50,6 +50,27 @@ public interface LogScanner extends AutoCloseable {
      */
     ScanRecords poll(Duration timeout);
 
+    /**
+     * Poll log data from tablet server as columnar batches.
+     *
+     * <p>It's the same as {@link #poll(Duration)} except that the records are returned as {@link
+     * ScanBatch batches} of column vectors which read the Arrow buffers decoded from the fetched
+     * log directly, rather than being deserialized into individual {@link
+     * com.alibaba.fluss.client.table.scanner.ScanRecord}s. It can be mixed with {@link
+     * #poll(Duration)}, both continue from the last scanned offset.
+     *
+     * <p>Note: the returned {@link ScanBatches} must be closed after consumed to release the Arrow
+     * buffers.
+     *
+     * @param timeout the timeout to poll.
+     * @return the result of poll.
+     * @throws java.lang.IllegalStateException if the scanner is not subscribed to any buckets to
+     *     read from.
+     * @throws java.lang.UnsupportedOperationException if the log format of the table is not {@link
+     *     com.alibaba.fluss.metadata.LogFormat#ARROW}.
+     */
+    ScanBatches pollBatches(Duration timeout);
+
     /**
      * Subscribe to the given table bucket in given offset dynamically. If the table bucket is
      * already subscribed, the offset will be updated.
@@ -21,12 +21,13 @@ import com.alibaba.fluss.annotation.PublicEvolving;
 import com.alibaba.fluss.client.metadata.MetadataUpdater;
 import com.alibaba.fluss.client.metrics.ScannerMetricGroup;
 import com.alibaba.fluss.client.table.scanner.RemoteFileDownloader;
-import com.alibaba.fluss.client.table.scanner.ScanRecord;
 import com.alibaba.fluss.config.Configuration;
 import com.alibaba.fluss.exception.WakeupException;
+import com.alibaba.fluss.metadata.LogFormat;
 import com.alibaba.fluss.metadata.TableBucket;
 import com.alibaba.fluss.metadata.TableInfo;
 import com.alibaba.fluss.metadata.TablePath;
+import com.alibaba.fluss.record.LogRecordBatchFilter;
 import com.alibaba.fluss.rpc.RpcClient;
 import com.alibaba.fluss.rpc.metrics.ClientMetricGroup;
 import com.alibaba.fluss.types.RowType;
@@ -45,6 +46,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
 
 /**
  * The default impl of {@link LogScanner}.
@@ -66,6 +68,7 @@ public class LogScannerImpl implements LogScanner {
     private final LogFetcher logFetcher;
     private final long tableId;
     private final boolean isPartitionedTable;
+    private final LogFormat logFormat;
 
     private volatile boolean closed = false;
 
@@ -84,10 +87,12 @@ public class LogScannerImpl implements LogScanner {
             MetadataUpdater metadataUpdater,
             ClientMetricGroup clientMetricGroup,
             RemoteFileDownloader remoteFileDownloader,
-            @Nullable int[] projectedFields) {
+            @Nullable int[] projectedFields,
+            @Nullable LogRecordBatchFilter batchFilter) {
         this.tablePath = tableInfo.getTablePath();
         this.tableId = tableInfo.getTableId();
         this.isPartitionedTable = tableInfo.isPartitioned();
+        this.logFormat = tableInfo.getTableConfig().getLogFormat();
         // add this table to metadata updater.
         metadataUpdater.checkAndUpdateTableMetadata(Collections.singleton(tablePath));
         this.logScannerStatus = new LogScannerStatus();
@@ -98,6 +103,7 @@ public class LogScannerImpl implements LogScanner {
                 new LogFetcher(
                         tableInfo,
                         projection,
+                        batchFilter,
                         rpcClient,
                         logScannerStatus,
                         conf,
@@ -131,6 +137,23 @@ public class LogScannerImpl implements LogScanner {
 
     @Override
     public ScanRecords poll(Duration timeout) {
+        return new ScanRecords(poll(timeout, logFetcher::collectFetch));
+    }
+
+    @Override
+    public ScanBatches pollBatches(Duration timeout) {
+        if (logFormat != LogFormat.ARROW) {
+            throw new UnsupportedOperationException(
+                    String.format(
+                            "Polling columnar batches is only supported for %s log format, "
+                                    + "but the log format of table %s is %s.",
+                            LogFormat.ARROW, tablePath, logFormat));
+        }
+        return new ScanBatches(poll(timeout, logFetcher::collectBatches));
+    }
+
+    private <T> Map<TableBucket, List<T>> poll(
+            Duration timeout, Supplier<Map<TableBucket, List<T>>> fetchCollector) {
         acquireAndEnsureOpen();
         try {
             if (!logScannerStatus.prepareToPoll()) {
@@ -141,17 +164,17 @@ public class LogScannerImpl implements LogScanner {
             long timeoutNanos = timeout.toNanos();
             long startNanos = System.nanoTime();
             do {
-                Map<TableBucket, List<ScanRecord>> fetchRecords = pollForFetches();
+                Map<TableBucket, List<T>> fetchRecords = pollForFetches(fetchCollector);
                 if (fetchRecords.isEmpty()) {
                     try {
                         if (!logFetcher.awaitNotEmpty(startNanos + timeoutNanos)) {
                             // logFetcher waits for the timeout and no data in buffer,
                             // so we return empty
-                            return new ScanRecords(fetchRecords);
+                            return fetchRecords;
                         }
                     } catch (WakeupException e) {
                         // wakeup() is called, we need to return empty
-                        return new ScanRecords(fetchRecords);
+                        return fetchRecords;
                     }
                 } else {
                     // before returning the fetched records, we can send off the next round of
@@ -159,11 +182,11 @@ public class LogScannerImpl implements LogScanner {
                     // while the user is handling the fetched records.
                     logFetcher.sendFetches();
 
-                    return new ScanRecords(fetchRecords);
+                    return fetchRecords;
                 }
             } while (System.nanoTime() - startNanos < timeoutNanos);
 
-            return ScanRecords.EMPTY;
+            return Collections.emptyMap();
         } finally {
             release();
             scannerMetricGroup.recordPollEnd(System.currentTimeMillis());
@@ -230,8 +253,9 @@ public class LogScannerImpl implements LogScanner {
         logFetcher.wakeup();
     }
 
-    private Map<TableBucket, List<ScanRecord>> pollForFetches() {
-        Map<TableBucket, List<ScanRecord>> fetchedRecords = logFetcher.collectFetch();
+    private <T> Map<TableBucket, List<T>> pollForFetches(
+            Supplier<Map<TableBucket, List<T>>> fetchCollector) {
+        Map<TableBucket, List<T>> fetchedRecords = fetchCollector.get();
         if (!fetchedRecords.isEmpty()) {
             return fetchedRecords;
         }
@@ -239,7 +263,7 @@ public class LogScannerImpl implements LogScanner {
         // send any new fetches (won't resend pending fetches).
         logFetcher.sendFetches();
 
-        return logFetcher.collectFetch();
+        return fetchCollector.get();
     }
 
     /**
@@ -20,9 +20,12 @@ package com.alibaba.fluss.client.table.scanner.log;
 import com.alibaba.fluss.annotation.Internal;
 import com.alibaba.fluss.metadata.TableBucket;
 import com.alibaba.fluss.record.FileLogRecords;
+import com.alibaba.fluss.record.LogRecordBatchFilter;
 import com.alibaba.fluss.record.LogRecordReadContext;
 import com.alibaba.fluss.rpc.protocol.ApiError;
 
+import javax.annotation.Nullable;
+
 import java.io.IOException;
 
 /**
@@ -45,6 +48,7 @@ class RemoteCompletedFetch extends CompletedFetch {
             LogScannerStatus logScannerStatus,
             boolean isCheckCrc,
             long fetchOffset,
+            @Nullable LogRecordBatchFilter batchFilter,
             Runnable recycleCallback) {
         super(
                 tableBucket,
@@ -55,7 +59,8 @@ class RemoteCompletedFetch extends CompletedFetch {
                 readContext,
                 logScannerStatus,
                 isCheckCrc,
-                fetchOffset);
+                fetchOffset,
+                batchFilter);
         this.fileLogRecords = fileLogRecords;
         this.recycleCallback = recycleCallback;
     }
@@ -40,14 +40,13 @@ public class RemoteLogDownloadFuture {
         return logFileFuture.isDone();
     }
 
-    public FileLogRecords getFileLogRecords(int startPosition) {
+    /**
+     * Returns the downloaded log records, which start from the requested position of the remote log
+     * segment.
+     */
+    public FileLogRecords getFileLogRecords() {
         try {
-            FileLogRecords fileLogRecords = FileLogRecords.open(logFileFuture.join(), false);
-            if (startPosition > 0) {
-                return fileLogRecords.slice(startPosition, Integer.MAX_VALUE);
-            } else {
-                return fileLogRecords;
-            }
+            return FileLogRecords.open(logFileFuture.join(), false);
         } catch (IOException e) {
             throw new FlussRuntimeException(e);
         }
@@ -27,7 +27,6 @@ import com.alibaba.fluss.fs.FsPath;
 import com.alibaba.fluss.fs.FsPathAndFileName;
 import com.alibaba.fluss.metadata.TablePath;
 import com.alibaba.fluss.remote.RemoteLogSegment;
-import com.alibaba.fluss.utils.CloseableRegistry;
 import com.alibaba.fluss.utils.FlussPaths;
 import com.alibaba.fluss.utils.MapUtils;
 import com.alibaba.fluss.utils.concurrent.ShutdownableThread;
@@ -43,7 +42,6 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.Collections;
 import java.util.UUID;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CompletableFuture;
@@ -52,6 +50,7 @@ import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 
+import static com.alibaba.fluss.utils.FileUtils.deleteDirectoryQuietly;
 import static com.alibaba.fluss.utils.FileUtils.deleteFileOrDirectory;
 import static com.alibaba.fluss.utils.FlussPaths.LOG_FILE_SUFFIX;
 import static com.alibaba.fluss.utils.FlussPaths.filenamePrefixFromOffset;
@@ -85,6 +84,10 @@ public class RemoteLogDownloader implements Closeable {
 
     private final long pollTimeout;
 
+    private final long downloadPartSize;
+
+    private volatile boolean closed;
+
     public RemoteLogDownloader(
             TablePath tablePath,
             Configuration conf,
@@ -107,6 +110,8 @@ public class RemoteLogDownloader implements Closeable {
         this.remoteFileDownloader = remoteFileDownloader;
         this.scannerMetricGroup = scannerMetricGroup;
         this.pollTimeout = pollTimeout;
+        this.downloadPartSize =
+                conf.get(ConfigOptions.CLIENT_SCANNER_REMOTE_LOG_DOWNLOAD_PART_SIZE).getBytes();
         this.prefetchSemaphore =
                 new Semaphore(conf.getInt(ConfigOptions.CLIENT_SCANNER_REMOTE_LOG_PREFETCH_NUM));
         // The local tmp dir to store the fetched log segment files,
@@ -121,7 +126,17 @@ public class RemoteLogDownloader implements Closeable {
 
     /** Request to fetch remote log segment to local. This method is non-blocking. */
     public RemoteLogDownloadFuture requestRemoteLog(FsPath logTabletDir, RemoteLogSegment segment) {
-        RemoteLogDownloadRequest request = new RemoteLogDownloadRequest(segment, logTabletDir);
+        return requestRemoteLog(logTabletDir, segment, 0);
+    }
+
+    /**
+     * Request to fetch remote log segment from the given position to local, the bytes before the
+     * position are not downloaded. This method is non-blocking.
+     */
+    public RemoteLogDownloadFuture requestRemoteLog(
+            FsPath logTabletDir, RemoteLogSegment segment, int startPosition) {
+        RemoteLogDownloadRequest request =
+                new RemoteLogDownloadRequest(segment, logTabletDir, startPosition);
         segmentsToFetch.add(request);
         return new RemoteLogDownloadFuture(request.future, () -> recycleRemoteLog(segment));
     }
@@ -137,7 +152,9 @@ public class RemoteLogDownloader implements Closeable {
 
     /**
      * Fetch a remote log segment file to local. This method will block until there is a log segment
-     * to fetch.
+     * to fetch and there is capacity to keep it, the download itself runs asynchronously in the
+     * download threads of the {@link RemoteFileDownloader}, so that the prefetched segments are
+     * downloaded in parallel.
      */
     void fetchOnce() throws Exception {
         // wait until there is a remote fetch request
@@ -147,40 +164,51 @@ public class RemoteLogDownloader implements Closeable {
         }
         // blocks until there is capacity (the fetched file is consumed)
         prefetchSemaphore.acquire();
-        try {
-            // 1. cleanup the finished logs first to free up disk space
-            cleanupRemoteLogs();
-
-            // 2. do the actual download work
-            FsPathAndFileName fsPathAndFileName = request.getFsPathAndFileName();
-            Path segmentPath = localLogDir.resolve(request.segment.remoteLogSegmentId().toString());
-            scannerMetricGroup.remoteFetchRequestCount().inc();
-            // download the remote file to local
-            LOG.info(
-                    "Start to download remote log segment file {} to local.",
-                    fsPathAndFileName.getFileName());
-            long startTime = System.currentTimeMillis();
-            remoteFileDownloader.transferAllToDirectory(
-                    Collections.singletonList(fsPathAndFileName),
-                    segmentPath,
-                    new CloseableRegistry());
-            LOG.info(
-                    "Download remote log segment file {} to local cost {} ms.",
-                    fsPathAndFileName.getFileName(),
-                    System.currentTimeMillis() - startTime);
-            File localFile = new File(segmentPath.toFile(), fsPathAndFileName.getFileName());
-            scannerMetricGroup.remoteFetchBytes().inc(localFile.length());
-            String segmentId = request.segment.remoteLogSegmentId().toString();
-            fetchedFiles.put(segmentId, segmentPath);
-            request.future.complete(localFile);
-        } catch (Throwable t) {
-            prefetchSemaphore.release();
-            // add back the request to the queue
-            segmentsToFetch.add(request);
-            scannerMetricGroup.remoteFetchErrorCount().inc();
-            // log the error and continue instead of shutdown the download thread
-            LOG.error("Failed to download remote log segment.", t);
-        }
+        // 1. cleanup the finished logs first to free up disk space
+        cleanupRemoteLogs();
+
+        // 2. download the needed range of the remote file to local
+        FsPathAndFileName fsPathAndFileName = request.getFsPathAndFileName();
+        String segmentId = request.segment.remoteLogSegmentId().toString();
+        Path segmentPath = localLogDir.resolve(segmentId);
+        File localFile = new File(segmentPath.toFile(), fsPathAndFileName.getFileName());
+        scannerMetricGroup.remoteFetchRequestCount().inc();
+        LOG.info(
+                "Start to download remote log segment file {} from position {} to local.",
+                fsPathAndFileName.getFileName(),
+                request.startPosition);
+        long startTime = System.currentTimeMillis();
+        remoteFileDownloader
+                .transferRangeToFile(
+                        fsPathAndFileName.getPath(),
+                        request.startPosition,
+                        localFile.toPath(),
+                        downloadPartSize)
+                .whenComplete(
+                        (downloadedBytes, t) -> {
+                            if (t != null) {
+                                prefetchSemaphore.release();
+                                deleteDirectoryQuietly(segmentPath.toFile());
+                                // add back the request to the queue
+                                segmentsToFetch.add(request);
+                                scannerMetricGroup.remoteFetchErrorCount().inc();
+                                // log the error and continue instead of failing the scanner
+                                LOG.error("Failed to download remote log segment.", t);
+                                return;
+                            }
+                            LOG.info(
+                                    "Download remote log segment file {} to local cost {} ms.",
+                                    fsPathAndFileName.getFileName(),
+                                    System.currentTimeMillis() - startTime);
+                            scannerMetricGroup.remoteFetchBytes().inc(downloadedBytes);
+                            fetchedFiles.put(segmentId, segmentPath);
+                            if (closed) {
+                                // the downloader is closed during the download
+                                deleteDirectoryQuietly(segmentPath.toFile());
+                                return;
+                            }
+                            request.future.complete(localFile);
+                        });
     }
 
     private void cleanupRemoteLogs() {
@@ -214,6 +242,7 @@ public class RemoteLogDownloader implements Closeable {
 
     @Override
     public void close() throws IOException {
+        closed = true;
         try {
             downloadThread.shutdown();
         } catch (InterruptedException e) {
@@ -268,11 +297,14 @@ public class RemoteLogDownloader implements Closeable {
     private static class RemoteLogDownloadRequest {
         private final RemoteLogSegment segment;
         private final FsPath remoteLogTabletDir;
+        private final int startPosition;
         private final CompletableFuture<File> future = new CompletableFuture<>();
 
-        public RemoteLogDownloadRequest(RemoteLogSegment segment, FsPath remoteLogTabletDir) {
+        public RemoteLogDownloadRequest(
+                RemoteLogSegment segment, FsPath remoteLogTabletDir, int startPosition) {
             this.segment = segment;
             this.remoteLogTabletDir = remoteLogTabletDir;
+            this.startPosition = startPosition;
         }
 
         public FsPathAndFileName getFsPathAndFileName() {
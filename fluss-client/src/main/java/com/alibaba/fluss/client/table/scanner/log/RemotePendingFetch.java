@@ -19,9 +19,12 @@ package com.alibaba.fluss.client.table.scanner.log;
 
 import com.alibaba.fluss.metadata.TableBucket;
 import com.alibaba.fluss.record.FileLogRecords;
+import com.alibaba.fluss.record.LogRecordBatchFilter;
 import com.alibaba.fluss.record.LogRecordReadContext;
 import com.alibaba.fluss.remote.RemoteLogSegment;
 
+import javax.annotation.Nullable;
+
 /**
  * {@link RemotePendingFetch} is a {@link PendingFetch} that represents a pending fetch that waiting
  * for the remote log file fetched to local disk.
@@ -31,30 +34,30 @@ class RemotePendingFetch implements PendingFetch {
     private final RemoteLogSegment remoteLogSegment;
     private final RemoteLogDownloadFuture downloadFuture;
 
-    private final int posInLogSegment;
     private final long fetchOffset;
     private final long highWatermark;
     private final LogRecordReadContext readContext;
     private final LogScannerStatus logScannerStatus;
     private final boolean isCheckCrc;
+    @Nullable private final LogRecordBatchFilter batchFilter;
 
     RemotePendingFetch(
             RemoteLogSegment remoteLogSegment,
             RemoteLogDownloadFuture downloadFuture,
-            int posInLogSegment,
             long fetchOffset,
             long highWatermark,
             LogRecordReadContext readContext,
             LogScannerStatus logScannerStatus,
-            boolean isCheckCrc) {
+            boolean isCheckCrc,
+            @Nullable LogRecordBatchFilter batchFilter) {
         this.remoteLogSegment = remoteLogSegment;
         this.downloadFuture = downloadFuture;
-        this.posInLogSegment = posInLogSegment;
         this.fetchOffset = fetchOffset;
         this.highWatermark = highWatermark;
         this.readContext = readContext;
         this.logScannerStatus = logScannerStatus;
         this.isCheckCrc = isCheckCrc;
+        this.batchFilter = batchFilter;
     }
 
     @Override
@@ -69,7 +72,7 @@ class RemotePendingFetch implements PendingFetch {
 
     @Override
     public CompletedFetch toCompletedFetch() {
-        FileLogRecords fileLogRecords = downloadFuture.getFileLogRecords(posInLogSegment);
+        FileLogRecords fileLogRecords = downloadFuture.getFileLogRecords();
         return new RemoteCompletedFetch(
                 remoteLogSegment.tableBucket(),
                 fileLogRecords,
@@ -78,6 +81,7 @@ class RemotePendingFetch implements PendingFetch {
                 logScannerStatus,
                 isCheckCrc,
                 fetchOffset,
+                batchFilter,
                 downloadFuture.getRecycleCallback());
     }
 }
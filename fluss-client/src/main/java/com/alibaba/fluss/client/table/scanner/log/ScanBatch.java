@@ -0,0 +1,145 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.fluss.client.table.scanner.log;
+
+import com.alibaba.fluss.annotation.PublicEvolving;
+import com.alibaba.fluss.metadata.TableBucket;
+import com.alibaba.fluss.record.ArrowBatchData;
+import com.alibaba.fluss.record.ChangeType;
+import com.alibaba.fluss.record.ChangeTypeVector;
+import com.alibaba.fluss.record.ColumnarLogBatch;
+import com.alibaba.fluss.row.columnar.ColumnVector;
+import com.alibaba.fluss.row.columnar.ColumnarRow;
+import com.alibaba.fluss.row.columnar.VectorizedColumnBatch;
+
+import javax.annotation.Nullable;
+
+/**
+ * A batch of log records of a table bucket in columnar format, returned by {@link
+ * LogScanner#pollBatches(java.time.Duration)}. The columns are views of the Arrow vectors decoded
+ * from the fetched log, so the records are never deserialized into individual rows unless requested
+ * by {@link #getRow(int)}.
+ *
+ * <p>The rows of the batch are addressed by the row id in range {@code [0, getRowCount())}, the
+ * record at row id {@code i} has the log offset {@code getBaseLogOffset() + i}.
+ *
+ * <p>The batch holds the Arrow buffers of the records, which must be released by {@link #close()}
+ * once the batch is consumed.
+ *
+ * @since 0.8
+ */
+@PublicEvolving
+public class ScanBatch implements ColumnarLogBatch, AutoCloseable {
+
+    private final TableBucket tableBucket;
+    private final ArrowBatchData data;
+    private final VectorizedColumnBatch columns;
+
+    ScanBatch(TableBucket tableBucket, ArrowBatchData data, int[] selectedFields) {
+        this.tableBucket = tableBucket;
+        this.data = data;
+        ColumnVector[] vectors = data.getColumnVectors();
+        ColumnVector[] selectedVectors = new ColumnVector[selectedFields.length];
+        for (int i = 0; i < selectedFields.length; i++) {
+            selectedVectors[i] = vectors[selectedFields[i]];
+        }
+        this.columns = new VectorizedColumnBatch(selectedVectors);
+    }
+
+    /** The table bucket the records belong to. */
+    public TableBucket getTableBucket() {
+        return tableBucket;
+    }
+
+    /** The number of records in the batch. */
+    @Override
+    public int getRowCount() {
+        return data.getRowCount();
+    }
+
+    /** The log offset of the first record in the batch. */
+    @Override
+    public long getBaseLogOffset() {
+        return data.getBaseLogOffset();
+    }
+
+    /** The log offset of the record at the given row id. */
+    @Override
+    public long getLogOffset(int rowId) {
+        return data.getBaseLogOffset() + rowId;
+    }
+
+    /** The log offset following the last record in the batch. */
+    public long getNextLogOffset() {
+        return data.getBaseLogOffset() + data.getRowCount();
+    }
+
+    /** The commit timestamp of the records in the batch. */
+    @Override
+    public long getTimestamp() {
+        return data.getTimestamp();
+    }
+
+    /** The columns of the records, in the order of the (projected) fields of the scanner. */
+    @Override
+    public VectorizedColumnBatch getColumns() {
+        return columns;
+    }
+
+    /**
+     * The change types of the records, or null if all the records of the batch are {@link
+     * ChangeType#APPEND_ONLY}.
+     */
+    @Nullable
+    public ChangeTypeVector getChangeTypes() {
+        return data.getChangeTypeVector();
+    }
+
+    /** The change type of the record at the given row id. */
+    @Override
+    public ChangeType getChangeType(int rowId) {
+        return data.getChangeType(rowId);
+    }
+
+    /**
+     * Returns a row view of the record at the given row id, which reads the columns of the batch
+     * directly and is only valid before the batch is closed.
+     */
+    @Override
+    public ColumnarRow getRow(int rowId) {
+        return new ColumnarRow(columns, rowId);
+    }
+
+    /** Releases the Arrow buffers of the records. */
+    @Override
+    public void close() {
+        data.close();
+    }
+
+    @Override
+    public String toString() {
+        return "ScanBatch{"
+                + "tableBucket="
+                + tableBucket
+                + ", baseLogOffset="
+                + getBaseLogOffset()
+                + ", rowCount="
+                + getRowCount()
+                + '}';
+    }
+}
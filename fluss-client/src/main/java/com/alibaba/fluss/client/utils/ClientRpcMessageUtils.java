@@ -33,6 +33,8 @@ import com.alibaba.fluss.metadata.PartitionSpec;
 import com.alibaba.fluss.metadata.PhysicalTablePath;
 import com.alibaba.fluss.metadata.TableBucket;
 import com.alibaba.fluss.metadata.TablePath;
+import com.alibaba.fluss.record.LogRecordBatchFilter;
+import com.alibaba.fluss.row.BinaryString;
 import com.alibaba.fluss.rpc.messages.CreatePartitionRequest;
 import com.alibaba.fluss.rpc.messages.DropPartitionRequest;
 import com.alibaba.fluss.rpc.messages.GetFileSystemSecurityTokenResponse;
@@ -43,6 +45,7 @@ import com.alibaba.fluss.rpc.messages.ListOffsetsRequest;
 import com.alibaba.fluss.rpc.messages.ListPartitionInfosResponse;
 import com.alibaba.fluss.rpc.messages.LookupRequest;
 import com.alibaba.fluss.rpc.messages.MetadataRequest;
+import com.alibaba.fluss.rpc.messages.PbBatchFilterPredicate;
 import com.alibaba.fluss.rpc.messages.PbKeyValue;
 import com.alibaba.fluss.rpc.messages.PbKvSnapshot;
 import com.alibaba.fluss.rpc.messages.PbLakeSnapshotForBucket;
@@ -172,6 +175,26 @@ public class ClientRpcMessageUtils {
         return request;
     }
 
+    public static List<PbBatchFilterPredicate> toPbBatchFilter(LogRecordBatchFilter filter) {
+        List<PbBatchFilterPredicate> pbPredicates = new ArrayList<>();
+        for (LogRecordBatchFilter.Predicate predicate : filter.getPredicates()) {
+            PbBatchFilterPredicate pbPredicate =
+                    new PbBatchFilterPredicate()
+                            .setFieldIndex(predicate.getFieldIndex())
+                            .setOperator(predicate.getOperator().getId());
+            Object literal = predicate.getLiteral();
+            if (literal instanceof Long) {
+                pbPredicate.setLongValue((Long) literal);
+            } else if (literal instanceof Double) {
+                pbPredicate.setDoubleValue((Double) literal);
+            } else if (literal instanceof BinaryString) {
+                pbPredicate.setBytesValue(((BinaryString) literal).toBytes());
+            }
+            pbPredicates.add(pbPredicate);
+        }
+        return pbPredicates;
+    }
+
     public static KvSnapshots toKvSnapshots(GetLatestKvSnapshotsResponse response) {
         long tableId = response.getTableId();
         Long partitionId = response.hasPartitionId() ? response.getPartitionId() : null;
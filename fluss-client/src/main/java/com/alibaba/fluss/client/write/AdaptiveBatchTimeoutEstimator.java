@@ -0,0 +1,285 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.fluss.client.write;
+
+import com.alibaba.fluss.annotation.Internal;
+import com.alibaba.fluss.annotation.VisibleForTesting;
+import com.alibaba.fluss.client.metrics.WriterMetricGroup;
+import com.alibaba.fluss.metadata.TableBucket;
+import com.alibaba.fluss.metrics.MetricNames;
+import com.alibaba.fluss.metrics.groups.MetricGroup;
+import com.alibaba.fluss.utils.MapUtils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * An estimator to estimate the batch timeout of each table bucket, i.e. how long a batch which
+ * isn't full waits for more records before it is ready to send.
+ *
+ * <p>The batch timeout of a bucket is the time to fill up a batch at the observed write rate of the
+ * bucket, bounded by the latency budget, which is the target latency minus the latency of the write
+ * requests. If a batch can't be filled up to a meaningful ratio within the budget (e.g. the write
+ * rate is low), the batch is sent immediately as waiting only adds latency. If the write requests
+ * already take longer than the target latency (i.e. the servers push back), waiting for a full
+ * batch doesn't hurt the latency much but reduces the number of requests, so the batch timeout is
+ * the time to fill up a batch. The batch timeout never exceeds the configured max batch timeout.
+ *
+ * <p>The estimation of a bucket which isn't drained for {@link #IDLE_BUCKET_EXPIRATION_MS} (e.g.
+ * the table is dropped or no longer written) is removed together with its metrics, a bucket written
+ * again starts with a new estimation as the former write rate is outdated.
+ */
+@Internal
+@ThreadSafe
+public class AdaptiveBatchTimeoutEstimator {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AdaptiveBatchTimeoutEstimator.class);
+
+    /** The weight of a new sample in the moving averages. */
+    private static final double SMOOTHING_FACTOR = 0.2d;
+
+    /**
+     * The weights of a new sample of the request latency which is higher or lower than the average,
+     * the average rises quickly and decays slowly to track the tail latency.
+     */
+    private static final double LATENCY_RISE_FACTOR = 0.5d;
+
+    private static final double LATENCY_DECAY_FACTOR = 0.1d;
+
+    /** Waiting is worthwhile only if it is expected to fill at least this ratio of a batch. */
+    private static final double MIN_FILL_RATIO_TO_WAIT = 0.1d;
+
+    /** The estimation of a bucket is removed if the bucket isn't drained for this time. */
+    @VisibleForTesting static final long IDLE_BUCKET_EXPIRATION_MS = 5 * 60 * 1000L;
+
+    private final boolean adaptiveBatchTimeoutEnabled;
+    private final int maxBatchTimeoutMs;
+    private final long targetLatencyMs;
+    private final WriterMetricGroup writerMetricGroup;
+
+    private final ConcurrentHashMap<TableBucket, BucketEstimation> bucketEstimations;
+
+    @GuardedBy("this")
+    private double requestLatencyMs = -1d;
+
+    /** The time to check the idle buckets next time, only accessed by the sender thread. */
+    private long nextIdleBucketsCheckMs = -1L;
+
+    public AdaptiveBatchTimeoutEstimator(
+            boolean adaptiveBatchTimeoutEnabled,
+            int maxBatchTimeoutMs,
+            long targetLatencyMs,
+            WriterMetricGroup writerMetricGroup) {
+        this.adaptiveBatchTimeoutEnabled = adaptiveBatchTimeoutEnabled;
+        this.maxBatchTimeoutMs = maxBatchTimeoutMs;
+        this.targetLatencyMs = targetLatencyMs;
+        this.writerMetricGroup = writerMetricGroup;
+        this.bucketEstimations =
+                adaptiveBatchTimeoutEnabled ? MapUtils.newConcurrentHashMap() : null;
+    }
+
+    /**
+     * Updates the latency of the write requests, including the failed requests (e.g. timed out), as
+     * their latency indicates the backpressure of the servers.
+     */
+    public void updateRequestLatency(long latencyMs) {
+        if (!adaptiveBatchTimeoutEnabled) {
+            return;
+        }
+
+        synchronized (this) {
+            if (requestLatencyMs < 0) {
+                requestLatencyMs = latencyMs;
+            } else {
+                double factor =
+                        latencyMs > requestLatencyMs ? LATENCY_RISE_FACTOR : LATENCY_DECAY_FACTOR;
+                requestLatencyMs = factor * latencyMs + (1 - factor) * requestLatencyMs;
+            }
+        }
+    }
+
+    /**
+     * Updates the estimation of the given table bucket with a batch drained to send.
+     *
+     * @param tableBucket the table bucket of the batch
+     * @param batchSizeInBytes the size of the drained batch
+     * @param targetBatchSizeInBytes the size of a full batch
+     * @param nowMs the current time
+     */
+    public void updateEstimation(
+            TableBucket tableBucket, int batchSizeInBytes, int targetBatchSizeInBytes, long nowMs) {
+        if (!adaptiveBatchTimeoutEnabled) {
+            return;
+        }
+
+        BucketEstimation estimation =
+                bucketEstimations.computeIfAbsent(tableBucket, this::createBucketEstimation);
+        // a bucket is only drained by the sender thread
+        int batchTimeoutMs = estimation.batchTimeoutMs;
+        estimation.update(batchSizeInBytes, targetBatchSizeInBytes, nowMs);
+        estimation.batchTimeoutMs =
+                estimateBatchTimeoutMs(estimation.writeRate, targetBatchSizeInBytes);
+        LOG.debug(
+                "Set batch timeout for {} from {} ms to {} ms",
+                tableBucket,
+                batchTimeoutMs,
+                estimation.batchTimeoutMs);
+    }
+
+    /**
+     * Removes the estimations and the metrics of the buckets which aren't drained for {@link
+     * #IDLE_BUCKET_EXPIRATION_MS}, the buckets are checked at most once in the expiration time.
+     */
+    public void expireIdleBuckets(long nowMs) {
+        if (!adaptiveBatchTimeoutEnabled) {
+            return;
+        }
+
+        if (nextIdleBucketsCheckMs < 0) {
+            nextIdleBucketsCheckMs = nowMs + IDLE_BUCKET_EXPIRATION_MS;
+        } else if (nowMs >= nextIdleBucketsCheckMs) {
+            nextIdleBucketsCheckMs = nowMs + IDLE_BUCKET_EXPIRATION_MS;
+            Iterator<Map.Entry<TableBucket, BucketEstimation>> iterator =
+                    bucketEstimations.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<TableBucket, BucketEstimation> entry = iterator.next();
+                BucketEstimation estimation = entry.getValue();
+                if (nowMs - estimation.lastDrainTimeMs >= IDLE_BUCKET_EXPIRATION_MS) {
+                    LOG.debug(
+                            "Remove the batch timeout estimation of idle bucket {}",
+                            entry.getKey());
+                    iterator.remove();
+                    estimation.bucketMetricGroup.close();
+                }
+            }
+        }
+    }
+
+    /** Removes the estimations and the metrics of all the buckets. */
+    public void close() {
+        if (!adaptiveBatchTimeoutEnabled) {
+            return;
+        }
+
+        for (BucketEstimation estimation : bucketEstimations.values()) {
+            estimation.bucketMetricGroup.close();
+        }
+        bucketEstimations.clear();
+    }
+
+    public int getBatchTimeoutMs(TableBucket tableBucket) {
+        if (!adaptiveBatchTimeoutEnabled) {
+            return maxBatchTimeoutMs;
+        }
+        BucketEstimation estimation = bucketEstimations.get(tableBucket);
+        return estimation == null ? maxBatchTimeoutMs : estimation.batchTimeoutMs;
+    }
+
+    @VisibleForTesting
+    double getBatchFillRatio(TableBucket tableBucket) {
+        BucketEstimation estimation = bucketEstimations.get(tableBucket);
+        return estimation == null ? 0d : estimation.fillRatio;
+    }
+
+    private int estimateBatchTimeoutMs(double writeRate, int targetBatchSizeInBytes) {
+        if (writeRate <= 0) {
+            // the write rate is unknown yet
+            return maxBatchTimeoutMs;
+        }
+
+        double timeToFillMs = targetBatchSizeInBytes / writeRate;
+        double latencyBudgetMs;
+        synchronized (this) {
+            latencyBudgetMs = targetLatencyMs - Math.max(requestLatencyMs, 0d);
+        }
+
+        double batchTimeoutMs;
+        if (latencyBudgetMs <= 0) {
+            // the servers push back, fill up the batches to reduce the number of requests
+            batchTimeoutMs = timeToFillMs;
+        } else if (timeToFillMs <= latencyBudgetMs) {
+            batchTimeoutMs = timeToFillMs;
+        } else if (writeRate * latencyBudgetMs >= MIN_FILL_RATIO_TO_WAIT * targetBatchSizeInBytes) {
+            batchTimeoutMs = latencyBudgetMs;
+        } else {
+            // the write rate is too low to fill up the batch by waiting
+            batchTimeoutMs = 0;
+        }
+        return (int) Math.min(Math.ceil(batchTimeoutMs), maxBatchTimeoutMs);
+    }
+
+    @VisibleForTesting
+    int numBucketEstimations() {
+        return bucketEstimations.size();
+    }
+
+    private BucketEstimation createBucketEstimation(TableBucket tableBucket) {
+        MetricGroup bucketMetricGroup = writerMetricGroup.bucketMetricGroup(tableBucket);
+        BucketEstimation estimation = new BucketEstimation(maxBatchTimeoutMs, bucketMetricGroup);
+        bucketMetricGroup.gauge(
+                MetricNames.WRITER_BUCKET_BATCH_TIMEOUT_MS, () -> estimation.batchTimeoutMs);
+        bucketMetricGroup.gauge(
+                MetricNames.WRITER_BUCKET_BATCH_FILL_RATIO, () -> estimation.fillRatio);
+        return estimation;
+    }
+
+    /** The estimation of a table bucket, only updated by the sender thread. */
+    private static final class BucketEstimation {
+        private final MetricGroup bucketMetricGroup;
+
+        /** The write rate of the bucket in bytes per millisecond, -1 if unknown. */
+        private double writeRate = -1d;
+
+        private long lastDrainTimeMs = -1L;
+        private volatile int batchTimeoutMs;
+        private volatile double fillRatio;
+
+        private BucketEstimation(int batchTimeoutMs, MetricGroup bucketMetricGroup) {
+            this.batchTimeoutMs = batchTimeoutMs;
+            this.bucketMetricGroup = bucketMetricGroup;
+        }
+
+        private void update(int batchSizeInBytes, int targetBatchSizeInBytes, long nowMs) {
+            double batchFillRatio =
+                    Math.min(1d, (double) batchSizeInBytes / Math.max(1, targetBatchSizeInBytes));
+            fillRatio =
+                    lastDrainTimeMs < 0
+                            ? batchFillRatio
+                            : SMOOTHING_FACTOR * batchFillRatio
+                                    + (1 - SMOOTHING_FACTOR) * fillRatio;
+
+            if (lastDrainTimeMs >= 0) {
+                // the bytes written since the last drain are drained now, which is independent
+                // of the batch timeout
+                double rate = (double) batchSizeInBytes / Math.max(1L, nowMs - lastDrainTimeMs);
+                writeRate =
+                        writeRate < 0
+                                ? rate
+                                : SMOOTHING_FACTOR * rate + (1 - SMOOTHING_FACTOR) * writeRate;
+            }
+            lastDrainTimeMs = nowMs;
+        }
+    }
+}
@@ -32,8 +32,10 @@ import com.alibaba.fluss.memory.PreAllocatedPagedOutputView;
 import com.alibaba.fluss.metadata.PhysicalTablePath;
 import com.alibaba.fluss.metadata.TableBucket;
 import com.alibaba.fluss.metadata.TableInfo;
+import com.alibaba.fluss.metrics.MeterView;
 import com.alibaba.fluss.metrics.MetricNames;
 import com.alibaba.fluss.record.LogRecordBatch;
+import com.alibaba.fluss.record.LogRecordBatchStatisticsCollector;
 import com.alibaba.fluss.row.arrow.ArrowWriter;
 import com.alibaba.fluss.row.arrow.ArrowWriterPool;
 import com.alibaba.fluss.shaded.arrow.org.apache.arrow.memory.BufferAllocator;
@@ -111,6 +113,7 @@ public final class RecordAccumulator {
     private final IdempotenceManager idempotenceManager;
     private final Clock clock;
     private final DynamicWriteBatchSizeEstimator batchSizeEstimator;
+    private final AdaptiveBatchTimeoutEstimator batchTimeoutEstimator;
 
     // TODO add retryBackoffMs to retry the produce request upon receiving an error.
     // TODO add deliveryTimeoutMs to report success or failure on record delivery.
@@ -142,6 +145,13 @@ public final class RecordAccumulator {
                         conf.get(ConfigOptions.CLIENT_WRITER_DYNAMIC_BATCH_SIZE_ENABLED),
                         batchSize,
                         (int) conf.get(ConfigOptions.CLIENT_WRITER_BUFFER_PAGE_SIZE).getBytes());
+        this.batchTimeoutEstimator =
+                new AdaptiveBatchTimeoutEstimator(
+                        conf.get(ConfigOptions.CLIENT_WRITER_ADAPTIVE_BATCH_TIMEOUT_ENABLED),
+                        batchTimeoutMs,
+                        conf.get(ConfigOptions.CLIENT_WRITER_ADAPTIVE_BATCH_TIMEOUT_TARGET_LATENCY)
+                                .toMillis(),
+                        writerMetricGroup);
         this.idempotenceManager = idempotenceManager;
         this.clock = clock;
         registerMetrics(writerMetricGroup);
@@ -155,6 +165,14 @@ public final class RecordAccumulator {
         // The number of user threads blocked waiting for buffer memory to enqueue their records
         writerMetricGroup.gauge(
                 MetricNames.WRITER_BUFFER_WAITING_THREADS, writerBufferPool::queued);
+        // The time in ms per second the user threads blocked waiting for buffer memory
+        writerMetricGroup.meter(
+                MetricNames.WRITER_BUFFER_WAIT_TIME_RATE,
+                new MeterView(writerBufferPool::totalWaitTimeMs));
+        writerMetricGroup.gauge(
+                MetricNames.WRITER_BUFFER_POOLED_PAGES, writerBufferPool::pooledPages);
+        writerMetricGroup.gauge(
+                MetricNames.WRITER_BUFFER_ALLOCATED_PAGES, writerBufferPool::allocatedPages);
     }
 
     /**
@@ -241,7 +259,7 @@ public final class RecordAccumulator {
      * <pre>
      *     1.There is at least one bucket that is not backing off its send.
      *     2.The record set is full
-     *     3.The record set has sat in the accumulator for at least lingerMs milliseconds
+     *     3.The record set has sat in the accumulator for at least the batch timeout of the bucket
      *     4.The accumulator is out of memory and threads are blocking waiting for data (in
      *     this case all buckets are immediately considered ready).
      *     5.The accumulator has been closed
@@ -268,6 +286,8 @@ public final class RecordAccumulator {
 
         // TODO and the earliest time at which any non-send-able bucket will be ready;
 
+        batchTimeoutEstimator.expireIdleBuckets(clock.milliseconds());
+
         return new ReadyCheckResult(readyNodes, nextReadyCheckDelayMs, unknownLeaderTables);
     }
 
@@ -312,6 +332,11 @@ public final class RecordAccumulator {
         }
     }
 
+    /** Update the latency of a write request sent to the tablet servers. */
+    public void updateRequestLatency(long latencyMs) {
+        batchTimeoutEstimator.updateRequestLatency(latencyMs);
+    }
+
     /** Abort all incomplete batches (whether they have been sent or not). */
     public void abortBatches(final Exception reason) {
         for (WriteBatch batch : incomplete.copyAll()) {
@@ -519,6 +544,7 @@ public final class RecordAccumulator {
                         batchReady(
                                 exhausted,
                                 leader,
+                                batchTimeoutEstimator.getBatchTimeoutMs(tableBucket),
                                 waitedTimeMs,
                                 full,
                                 readyNodes,
@@ -532,18 +558,19 @@ public final class RecordAccumulator {
     private long batchReady(
             boolean exhausted,
             ServerNode leader,
+            int bucketBatchTimeoutMs,
             long waitedTimeMs,
             boolean full,
             Set<ServerNode> readyNodes,
             long nextReadyCheckDelayMs) {
         if (!readyNodes.contains(leader)) {
             // if the wait time larger than lingerMs, we can send this batch even if it is not full.
-            boolean expired = waitedTimeMs >= (long) batchTimeoutMs;
+            boolean expired = waitedTimeMs >= (long) bucketBatchTimeoutMs;
             boolean sendAble = full || expired || exhausted || closed || flushInProgress();
             if (sendAble) {
                 readyNodes.add(leader);
             } else {
-                long timeLeftMs = Math.max(batchTimeoutMs - waitedTimeMs, 0);
+                long timeLeftMs = Math.max(bucketBatchTimeoutMs - waitedTimeMs, 0);
                 // Note that this results in a conservative estimate since an un-sendable bucket may
                 // have
                 // a leader that will later be found to have sendable data. However, this is good
@@ -611,6 +638,9 @@ public final class RecordAccumulator {
                             physicalTablePath,
                             schemaId,
                             arrowWriter,
+                            LogRecordBatchStatisticsCollector.create(
+                                    tableInfo.getRowType(),
+                                    tableInfo.getTableConfig().getLogArrowStatisticsColumns()),
                             outputView,
                             clock.milliseconds());
         } else {
@@ -734,6 +764,11 @@ public final class RecordAccumulator {
             batch.close();
             int currentBatchSize = batch.estimatedSizeInBytes();
             size += currentBatchSize;
+            batchTimeoutEstimator.updateEstimation(
+                    tableBucket,
+                    currentBatchSize,
+                    batchSizeEstimator.getEstimatedBatchSize(physicalTablePath),
+                    clock.milliseconds());
             batchSizeEstimator.updateEstimation(physicalTablePath, currentBatchSize);
 
             ready.add(new ReadyWriteBatch(tableBucket, batch));
@@ -922,6 +957,7 @@ public final class RecordAccumulator {
     public void close() {
         closed = true;
 
+        batchTimeoutEstimator.close();
         writerBufferPool.close();
         arrowWriterPool.close();
         bufferAllocator.close();
@@ -405,8 +405,9 @@ public class Sender implements Runnable {
         gateway.produceLog(request)
                 .whenComplete(
                         (produceLogResponse, e) -> {
-                            writerMetricGroup.setSendLatencyInMs(
-                                    System.currentTimeMillis() - startTime);
+                            long sendLatencyMs = System.currentTimeMillis() - startTime;
+                            writerMetricGroup.setSendLatencyInMs(sendLatencyMs);
+                            accumulator.updateRequestLatency(sendLatencyMs);
                             if (e != null) {
                                 handleWriteRequestException(e, recordsByBucket);
                             } else {
@@ -425,8 +426,9 @@ public class Sender implements Runnable {
         gateway.putKv(request)
                 .whenComplete(
                         (putKvResponse, e) -> {
-                            writerMetricGroup.setSendLatencyInMs(
-                                    System.currentTimeMillis() - startTime);
+                            long sendLatencyMs = System.currentTimeMillis() - startTime;
+                            writerMetricGroup.setSendLatencyInMs(sendLatencyMs);
+                            accumulator.updateRequestLatency(sendLatencyMs);
                             if (e != null) {
                                 handleWriteRequestException(e, recordsByBucket);
                             } else {
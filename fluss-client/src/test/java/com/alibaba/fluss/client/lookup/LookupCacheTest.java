@@ -0,0 +1,180 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.fluss.client.lookup;
+
+import com.alibaba.fluss.client.metrics.LookupCacheMetricGroup;
+import com.alibaba.fluss.metadata.TableBucket;
+import com.alibaba.fluss.metadata.TablePath;
+import com.alibaba.fluss.rpc.metrics.TestingClientMetricGroup;
+import com.alibaba.fluss.utils.clock.ManualClock;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.alibaba.fluss.client.lookup.LookupCache.UNCACHEABLE_VERSION;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Tests for {@link LookupCache}. */
+class LookupCacheTest {
+
+    private static final TableBucket TB0 = new TableBucket(1L, 0);
+    private static final TableBucket TB1 = new TableBucket(1L, 1);
+    private static final long TTL_MS = 1000L;
+
+    private ManualClock clock;
+    private LookupCacheMetricGroup metricGroup;
+    private List<TableBucket> newBuckets;
+
+    @BeforeEach
+    void setup() {
+        clock = new ManualClock();
+        metricGroup =
+                new LookupCacheMetricGroup(
+                        TestingClientMetricGroup.newInstance(), TablePath.of("db", "table"));
+        newBuckets = new ArrayList<>();
+    }
+
+    @Test
+    void testCacheAfterBucketReady() {
+        LookupCache cache = createCache(10, 1024);
+        // the bucket isn't ready, the result can't be cached
+        assertThat(cache.trackBucket(TB0)).isEqualTo(UNCACHEABLE_VERSION);
+        assertThat(newBuckets).containsExactly(TB0);
+        cache.put(TB0, key(1), value(1), UNCACHEABLE_VERSION);
+        assertThat(cache.get(TB0, key(1))).isNull();
+
+        cache.markBucketReady(TB0);
+        long version = cache.trackBucket(TB0);
+        assertThat(version).isNotEqualTo(UNCACHEABLE_VERSION);
+        // the bucket is only notified once
+        assertThat(newBuckets).containsExactly(TB0);
+        cache.put(TB0, key(1), value(1), version);
+        cache.put(TB0, key(2), null, version);
+        assertThat(cache.get(TB0, key(1)).value()).isEqualTo(value(1));
+        assertThat(cache.get(TB0, key(2)).value()).isNull();
+        // the same key of another bucket
+        assertThat(cache.get(TB1, key(1))).isNull();
+
+        assertThat(metricGroup.hitCount().getCount()).isEqualTo(2);
+        assertThat(metricGroup.missCount().getCount()).isEqualTo(2);
+    }
+
+    @Test
+    void testInvalidate() {
+        LookupCache cache = createCache(10, 1024);
+        long version = readyBucket(cache, TB0);
+        cache.put(TB0, key(1), value(1), version);
+        cache.put(TB0, key(2), value(2), version);
+
+        clock.advanceTime(10, TimeUnit.MILLISECONDS);
+        cache.invalidate(TB0, key(1), 5L);
+        assertThat(cache.get(TB0, key(1))).isNull();
+        assertThat(cache.get(TB0, key(2))).isNotNull();
+        assertThat(metricGroup.invalidationCount().getCount()).isEqualTo(1);
+
+        // the lookup is issued before the invalidation, the result may miss the change
+        cache.put(TB0, key(1), value(1), version);
+        assertThat(cache.get(TB0, key(1))).isNull();
+
+        version = cache.trackBucket(TB0);
+        cache.put(TB0, key(1), value(1), version);
+        assertThat(cache.get(TB0, key(1))).isNotNull();
+
+        cache.invalidateAll();
+        assertThat(cache.size()).isEqualTo(0);
+        assertThat(cache.weightBytes()).isEqualTo(0);
+        cache.put(TB0, key(1), value(1), version);
+        assertThat(cache.get(TB0, key(1))).isNull();
+    }
+
+    @Test
+    void testEviction() {
+        // a result of 4 bytes key and 8 bytes value weighs 12 bytes
+        LookupCache cache = createCache(3, 30);
+        long version = readyBucket(cache, TB0);
+        cache.put(TB0, key(1), value(1), version);
+        cache.put(TB0, key(2), value(2), version);
+        assertThat(cache.weightBytes()).isEqualTo(24);
+
+        // access the key 1 to make the key 2 the least recently used
+        assertThat(cache.get(TB0, key(1))).isNotNull();
+        cache.put(TB0, key(3), value(3), version);
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.get(TB0, key(2))).isNull();
+        assertThat(cache.get(TB0, key(1))).isNotNull();
+        assertThat(cache.get(TB0, key(3))).isNotNull();
+
+        // the missing keys only weigh the key
+        cache.put(TB0, key(4), null, version);
+        assertThat(cache.size()).isEqualTo(3);
+        cache.put(TB0, key(5), null, version);
+        assertThat(cache.size()).isEqualTo(3);
+        assertThat(cache.get(TB0, key(1))).isNull();
+        assertThat(cache.weightBytes()).isEqualTo(20);
+
+        // the result heavier than the max weight is not cached
+        cache.put(TB0, key(6), new byte[40], version);
+        assertThat(cache.get(TB0, key(6))).isNull();
+    }
+
+    @Test
+    void testExpiration() {
+        LookupCache cache = createCache(10, 1024);
+        long version = readyBucket(cache, TB0);
+        cache.put(TB0, key(1), value(1), version);
+
+        clock.advanceTime(TTL_MS - 1, TimeUnit.MILLISECONDS);
+        assertThat(cache.get(TB0, key(1))).isNotNull();
+        clock.advanceTime(1, TimeUnit.MILLISECONDS);
+        assertThat(cache.get(TB0, key(1))).isNull();
+        assertThat(cache.size()).isEqualTo(0);
+    }
+
+    @Test
+    void testUntrackBucket() {
+        LookupCache cache = createCache(10, 1024);
+        cache.trackBucket(TB0);
+        cache.untrackBucket(TB0);
+        // the bucket is tracked again by the next lookup
+        assertThat(cache.trackBucket(TB0)).isEqualTo(UNCACHEABLE_VERSION);
+        assertThat(newBuckets).containsExactly(TB0, TB0);
+    }
+
+    private LookupCache createCache(long maxRows, long maxWeightBytes) {
+        return new LookupCache(
+                maxRows, maxWeightBytes, TTL_MS, clock, metricGroup, newBuckets::add);
+    }
+
+    private static long readyBucket(LookupCache cache, TableBucket tableBucket) {
+        cache.trackBucket(tableBucket);
+        cache.markBucketReady(tableBucket);
+        return cache.trackBucket(tableBucket);
+    }
+
+    private static byte[] key(int key) {
+        return new byte[] {0, 0, 0, (byte) key};
+    }
+
+    private static byte[] value(int value) {
+        return new byte[] {1, 2, 3, 4, 5, 6, 7, (byte) value};
+    }
+}
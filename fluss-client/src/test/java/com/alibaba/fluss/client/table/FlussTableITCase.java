@@ -20,6 +20,7 @@ package com.alibaba.fluss.client.table;
 import com.alibaba.fluss.client.Connection;
 import com.alibaba.fluss.client.ConnectionFactory;
 import com.alibaba.fluss.client.admin.ClientToServerITCaseBase;
+import com.alibaba.fluss.client.lookup.LookupCache;
 import com.alibaba.fluss.client.lookup.LookupResult;
 import com.alibaba.fluss.client.lookup.Lookuper;
 import com.alibaba.fluss.client.table.scanner.Scan;
@@ -83,6 +84,7 @@ import static com.alibaba.fluss.testutils.DataTestUtils.compactedRow;
 import static com.alibaba.fluss.testutils.DataTestUtils.keyRow;
 import static com.alibaba.fluss.testutils.DataTestUtils.row;
 import static com.alibaba.fluss.testutils.InternalRowAssert.assertThatRow;
+import static com.alibaba.fluss.testutils.common.CommonTestUtils.retry;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
@@ -263,6 +265,56 @@ class FlussTableITCase extends ClientToServerITCaseBase {
         verifyPutAndLookup(table2, new Object[] {"a", 1});
     }
 
+    @Test
+    void testLookupWithCache() throws Exception {
+        TablePath tablePath = TablePath.of("test_db_1", "test_lookup_with_cache_table");
+        createTable(tablePath, DATA1_TABLE_DESCRIPTOR_PK, false);
+
+        Configuration config = new Configuration(clientConf);
+        config.set(ConfigOptions.CLIENT_LOOKUP_CACHE_ENABLED, true);
+        try (Connection conn = ConnectionFactory.createConnection(config);
+                Table table = conn.getTable(tablePath)) {
+            UpsertWriter upsertWriter = table.newUpsert().createWriter();
+            upsertWriter.upsert(row(1, "a"));
+            upsertWriter.flush();
+
+            Lookuper lookuper = table.newLookup().createLookuper();
+            LookupCache lookupCache = ((FlussTable) table).getLookupCache();
+            assertThat(lookupCache).isNotNull();
+            // the result is cached once the changelog of the bucket is consumed
+            retry(
+                    Duration.ofMinutes(1),
+                    () -> {
+                        assertThatRow(lookupRow(lookuper, row(1)))
+                                .withSchema(DATA1_ROW_TYPE)
+                                .isEqualTo(row(1, "a"));
+                        assertThat(lookupCache.size()).isEqualTo(1);
+                    });
+            // the missing key is cached as well
+            retry(
+                    Duration.ofMinutes(1),
+                    () -> {
+                        assertThat(lookupRow(lookuper, row(2))).isNull();
+                        assertThat(lookupCache.size()).isEqualTo(2);
+                    });
+
+            // the cached result is invalidated by the changelog
+            upsertWriter.upsert(row(1, "b"));
+            upsertWriter.upsert(row(2, "c"));
+            upsertWriter.flush();
+            retry(
+                    Duration.ofMinutes(1),
+                    () -> {
+                        assertThatRow(lookupRow(lookuper, row(1)))
+                                .withSchema(DATA1_ROW_TYPE)
+                                .isEqualTo(row(1, "b"));
+                        assertThatRow(lookupRow(lookuper, row(2)))
+                                .withSchema(DATA1_ROW_TYPE)
+                                .isEqualTo(row(2, "c"));
+                    });
+        }
+    }
+
     @Test
     void testPutAndPrefixLookup() throws Exception {
         TablePath tablePath = TablePath.of("test_db_1", "test_put_and_prefix_lookup_table");
@@ -437,6 +489,42 @@ class FlussTableITCase extends ClientToServerITCaseBase {
         }
     }
 
+    @Test
+    void testFullScanPrimaryTable() throws Exception {
+        TableDescriptor descriptor =
+                TableDescriptor.builder().schema(DATA1_SCHEMA_PK).distributedBy(1).build();
+        long tableId = createTable(DATA1_TABLE_PATH_PK, descriptor, true);
+        int insertSize = 200;
+        Configuration config = new Configuration(clientConf);
+        // small pages to scan the bucket with multiple requests
+        config.set(ConfigOptions.CLIENT_SCANNER_KV_FETCH_MAX_BYTES, new MemorySize(512));
+        try (Connection conn = ConnectionFactory.createConnection(config)) {
+            Table table = conn.getTable(DATA1_TABLE_PATH_PK);
+            UpsertWriter upsertWriter = table.newUpsert().createWriter();
+            List<Object> expectedIds = new ArrayList<>();
+            List<Object> expectedValues = new ArrayList<>();
+            for (int i = 0; i < insertSize; i++) {
+                upsertWriter.upsert(row(i, "v" + i));
+                expectedIds.add(i);
+                expectedValues.add("v" + i);
+            }
+            upsertWriter.flush();
+
+            TableBucket tb = new TableBucket(tableId, 0);
+            List<InternalRow> actualRows = collectRows(table.newScan().createBatchScanner(tb));
+            assertThat(actualRows)
+                    .extracting(r -> (Object) r.getInt(0))
+                    .containsExactlyInAnyOrderElementsOf(expectedIds);
+
+            // test projection scan, the projection is applied by the server
+            actualRows = collectRows(table.newScan().project(new int[] {1}).createBatchScanner(tb));
+            assertThat(actualRows).allSatisfy(r -> assertThat(r.getFieldCount()).isEqualTo(1));
+            assertThat(actualRows)
+                    .extracting(r -> (Object) r.getString(0).toString())
+                    .containsExactlyInAnyOrderElementsOf(expectedValues);
+        }
+    }
+
     @Test
     void testLimitScanLogTable() throws Exception {
         TableDescriptor descriptor =
@@ -0,0 +1,141 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.fluss.client.table.scanner.batch;
+
+import com.alibaba.fluss.metadata.KvFormat;
+import com.alibaba.fluss.row.InternalRow;
+import com.alibaba.fluss.row.encode.ValueEncoder;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.rocksdb.FlushOptions;
+import org.rocksdb.Options;
+import org.rocksdb.RocksDB;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static com.alibaba.fluss.record.TestData.DATA1_ROW_TYPE;
+import static com.alibaba.fluss.testutils.DataTestUtils.compactedRow;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Test for {@link SnapshotFilesReader}. */
+class SnapshotFilesReaderTest {
+
+    @Test
+    void testMergeSstFiles(@TempDir File tempDir) throws Exception {
+        Map<Integer, String> expected = new TreeMap<>();
+        try (Options options =
+                        new Options().setCreateIfMissing(true).setDisableAutoCompactions(true);
+                RocksDB db = RocksDB.open(options, tempDir.getAbsolutePath());
+                FlushOptions flushOptions = new FlushOptions().setWaitForFlush(true)) {
+            for (int i = 0; i < 100; i++) {
+                put(db, expected, i, "v" + i);
+            }
+            db.flush(flushOptions);
+            // compact to the bottommost level, which zeroes the sequence numbers
+            db.compactRange();
+
+            // delete and update some keys in a newer file
+            for (int i = 0; i < 20; i += 2) {
+                db.delete(key(i));
+                expected.remove(i);
+            }
+            for (int i = 50; i < 60; i++) {
+                put(db, expected, i, "u" + i);
+            }
+            db.flush(flushOptions);
+
+            // re-insert a deleted key and add new keys in the newest file
+            put(db, expected, 0, "r0");
+            for (int i = 100; i < 110; i++) {
+                put(db, expected, i, "v" + i);
+            }
+            db.flush(flushOptions);
+        }
+
+        List<SnapshotSstFileReader> sstFileReaders = new ArrayList<>();
+        File[] sstFiles = tempDir.listFiles((dir, name) -> name.endsWith(".sst"));
+        assertThat(sstFiles).hasSizeGreaterThan(1);
+        for (File sstFile : sstFiles) {
+            sstFileReaders.add(SnapshotSstFileReader.open(sstFile.toPath()));
+        }
+
+        List<Object[]> actual = new ArrayList<>();
+        try (SnapshotFilesReader reader =
+                new SnapshotFilesReader(KvFormat.COMPACTED, sstFileReaders, DATA1_ROW_TYPE, null)) {
+            while (reader.hasNext()) {
+                InternalRow row = reader.next();
+                actual.add(new Object[] {row.getInt(0), row.getString(1).toString()});
+            }
+        }
+        assertThat(actual).hasSize(expected.size());
+        int i = 0;
+        for (Map.Entry<Integer, String> entry : expected.entrySet()) {
+            assertThat(actual.get(i++)).containsExactly(entry.getKey(), entry.getValue());
+        }
+    }
+
+    @Test
+    void testProjection(@TempDir File tempDir) throws Exception {
+        try (Options options = new Options().setCreateIfMissing(true);
+                RocksDB db = RocksDB.open(options, tempDir.getAbsolutePath());
+                FlushOptions flushOptions = new FlushOptions().setWaitForFlush(true)) {
+            for (int i = 0; i < 10; i++) {
+                put(db, new TreeMap<>(), i, "v" + i);
+            }
+            db.flush(flushOptions);
+        }
+
+        Path sstFile = tempDir.listFiles((dir, name) -> name.endsWith(".sst"))[0].toPath();
+        try (SnapshotFilesReader reader =
+                new SnapshotFilesReader(
+                        KvFormat.COMPACTED,
+                        Collections.singletonList(SnapshotSstFileReader.open(sstFile)),
+                        DATA1_ROW_TYPE,
+                        new int[] {1, 0})) {
+            for (int i = 0; i < 10; i++) {
+                assertThat(reader.hasNext()).isTrue();
+                InternalRow row = reader.next();
+                assertThat(row.getFieldCount()).isEqualTo(2);
+                assertThat(row.getString(0).toString()).isEqualTo("v" + i);
+                assertThat(row.getInt(1)).isEqualTo(i);
+            }
+            assertThat(reader.hasNext()).isFalse();
+        }
+    }
+
+    private static void put(RocksDB db, Map<Integer, String> expected, int id, String value)
+            throws Exception {
+        db.put(
+                key(id),
+                ValueEncoder.encodeValue(
+                        (short) 1, compactedRow(DATA1_ROW_TYPE, new Object[] {id, value})));
+        expected.put(id, value);
+    }
+
+    private static byte[] key(int id) {
+        return ByteBuffer.allocate(4).putInt(id).array();
+    }
+}
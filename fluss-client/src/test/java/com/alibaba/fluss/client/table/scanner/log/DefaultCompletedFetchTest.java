@@ -127,6 +127,46 @@ public class DefaultCompletedFetchTest {
         assertThat(scanRecords.size()).isEqualTo(0);
     }
 
+    @Test
+    void testFetchBatches() throws Exception {
+        long fetchOffset = 0L;
+        int bucketId = 0; // records for 0-10.
+        TableBucket tb = new TableBucket(DATA2_TABLE_ID, bucketId);
+        Projection projection = Projection.of(new int[] {2, 0});
+        FetchLogResultForBucket resultForBucket0 =
+                new FetchLogResultForBucket(tb, genRecordsWithProjection(DATA2, projection), 10L);
+        DefaultCompletedFetch defaultCompletedFetch =
+                makeCompletedFetch(tb, resultForBucket0, fetchOffset, projection);
+        // consume part of the batch by rows first
+        List<ScanRecord> scanRecords = defaultCompletedFetch.fetchRecords(3);
+        assertThat(scanRecords.size()).isEqualTo(3);
+        assertThat(defaultCompletedFetch.nextFetchOffset()).isEqualTo(3L);
+
+        // the remaining records of the batch are returned as a columnar batch
+        List<ScanBatch> scanBatches = defaultCompletedFetch.fetchBatches(1);
+        assertThat(scanBatches.size()).isEqualTo(1);
+        try (ScanBatch scanBatch = scanBatches.get(0)) {
+            assertThat(scanBatch.getTableBucket()).isEqualTo(tb);
+            assertThat(scanBatch.getBaseLogOffset()).isEqualTo(3L);
+            assertThat(scanBatch.getRowCount()).isEqualTo(7);
+            assertThat(scanBatch.getNextLogOffset()).isEqualTo(10L);
+            assertThat(scanBatch.getColumns().getFieldCount()).isEqualTo(2);
+            for (int i = 0; i < scanBatch.getRowCount(); i++) {
+                Object[] expectObject = DATA2.get(i + 3);
+                assertThat(scanBatch.getLogOffset(i)).isEqualTo(i + 3L);
+                assertThat(scanBatch.getChangeType(i)).isEqualTo(ChangeType.APPEND_ONLY);
+                assertThat(scanBatch.getColumns().getString(i, 0)).isEqualTo(expectObject[2]);
+                assertThat(scanBatch.getColumns().getInt(i, 1)).isEqualTo(expectObject[0]);
+                InternalRow row = scanBatch.getRow(i);
+                assertThat(row.getInt(1)).isEqualTo(expectObject[0]);
+            }
+        }
+        assertThat(defaultCompletedFetch.nextFetchOffset()).isEqualTo(10L);
+
+        assertThat(defaultCompletedFetch.fetchBatches(8)).isEmpty();
+        assertThat(defaultCompletedFetch.isConsumed()).isTrue();
+    }
+
     @ParameterizedTest
     @ValueSource(strings = {"INDEXED", "ARROW"})
     void testProjection(String format) throws Exception {
@@ -23,12 +23,14 @@ import com.alibaba.fluss.client.table.scanner.ScanRecord;
 import com.alibaba.fluss.client.table.writer.AppendWriter;
 import com.alibaba.fluss.client.table.writer.UpsertWriter;
 import com.alibaba.fluss.exception.FetchException;
+import com.alibaba.fluss.metadata.LogFormat;
 import com.alibaba.fluss.metadata.Schema;
 import com.alibaba.fluss.metadata.TableDescriptor;
 import com.alibaba.fluss.metadata.TablePath;
 import com.alibaba.fluss.record.ChangeType;
 import com.alibaba.fluss.row.GenericRow;
 import com.alibaba.fluss.row.InternalRow;
+import com.alibaba.fluss.row.columnar.VectorizedColumnBatch;
 import com.alibaba.fluss.types.DataTypes;
 import com.alibaba.fluss.types.RowType;
 
@@ -272,6 +274,78 @@ public class LogScannerITCase extends ClientToServerITCaseBase {
         }
     }
 
+    @Test
+    void testPollBatches() throws Exception {
+        TablePath tablePath = TablePath.of("test_db_1", "test_poll_batches");
+        TableDescriptor descriptor =
+                TableDescriptor.builder()
+                        .schema(
+                                Schema.newBuilder()
+                                        .column("a", DataTypes.INT())
+                                        .column("b", DataTypes.STRING())
+                                        .primaryKey("a")
+                                        .build())
+                        .distributedBy(1)
+                        .build();
+        createTable(tablePath, descriptor, false);
+
+        int recordSize = 10;
+        List<ChangeType> expectedChangeTypes = new ArrayList<>();
+        List<String> expectedValues = new ArrayList<>();
+        try (Table table = conn.getTable(tablePath)) {
+            UpsertWriter upsertWriter = table.newUpsert().createWriter();
+            for (int i = 0; i < recordSize; i++) {
+                upsertWriter.upsert(row(i, "a" + i));
+                expectedChangeTypes.add(ChangeType.INSERT);
+                expectedValues.add("a" + i + "," + i);
+            }
+            upsertWriter.upsert(row(0, "b0"));
+            upsertWriter.flush();
+            expectedChangeTypes.add(ChangeType.UPDATE_BEFORE);
+            expectedValues.add("a0,0");
+            expectedChangeTypes.add(ChangeType.UPDATE_AFTER);
+            expectedValues.add("b0,0");
+
+            // project the columns in reversed order to verify the columns are reordered
+            try (LogScanner logScanner = createLogScanner(table, new int[] {1, 0})) {
+                logScanner.subscribeFromBeginning(0);
+                List<ChangeType> changeTypes = new ArrayList<>();
+                List<String> values = new ArrayList<>();
+                while (values.size() < expectedValues.size()) {
+                    try (ScanBatches scanBatches = logScanner.pollBatches(Duration.ofSeconds(1))) {
+                        for (ScanBatch scanBatch : scanBatches) {
+                            assertThat(scanBatch.getBaseLogOffset()).isEqualTo(values.size());
+                            VectorizedColumnBatch columns = scanBatch.getColumns();
+                            for (int i = 0; i < scanBatch.getRowCount(); i++) {
+                                changeTypes.add(scanBatch.getChangeType(i));
+                                values.add(columns.getString(i, 0) + "," + columns.getInt(i, 1));
+                            }
+                        }
+                    }
+                }
+                assertThat(changeTypes).isEqualTo(expectedChangeTypes);
+                assertThat(values).isEqualTo(expectedValues);
+            }
+        }
+
+        TablePath indexedTablePath = TablePath.of("test_db_1", "test_poll_batches_indexed");
+        createTable(
+                indexedTablePath,
+                TableDescriptor.builder()
+                        .schema(DATA1_SCHEMA)
+                        .distributedBy(1)
+                        .logFormat(LogFormat.INDEXED)
+                        .build(),
+                true);
+        try (Table table = conn.getTable(indexedTablePath);
+                LogScanner logScanner = createLogScanner(table)) {
+            logScanner.subscribeFromBeginning(0);
+            assertThatThrownBy(() -> logScanner.pollBatches(Duration.ofSeconds(1)))
+                    .isInstanceOf(UnsupportedOperationException.class)
+                    .hasMessageContaining("Polling columnar batches is only supported for ARROW");
+        }
+    }
+
     @ParameterizedTest
     @ValueSource(booleans = {true, false})
     void testScanFromStartTimestamp(boolean isPartitioned) throws Exception {
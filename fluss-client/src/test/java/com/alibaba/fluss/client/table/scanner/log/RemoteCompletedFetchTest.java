@@ -296,6 +296,7 @@ class RemoteCompletedFetchTest {
                 logScannerStatus,
                 true,
                 fetchOffset,
+                null,
                 recycle);
     }
 
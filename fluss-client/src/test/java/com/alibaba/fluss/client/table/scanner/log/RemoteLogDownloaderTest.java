@@ -22,9 +22,11 @@ import com.alibaba.fluss.client.metrics.TestingScannerMetricGroup;
 import com.alibaba.fluss.client.table.scanner.RemoteFileDownloader;
 import com.alibaba.fluss.config.ConfigOptions;
 import com.alibaba.fluss.config.Configuration;
+import com.alibaba.fluss.config.MemorySize;
 import com.alibaba.fluss.fs.FsPath;
 import com.alibaba.fluss.metadata.PhysicalTablePath;
 import com.alibaba.fluss.metadata.TableBucket;
+import com.alibaba.fluss.record.FileLogRecords;
 import com.alibaba.fluss.remote.RemoteLogSegment;
 import com.alibaba.fluss.utils.FileUtils;
 import com.alibaba.fluss.utils.IOUtils;
@@ -35,9 +37,12 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 
 import java.io.File;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.UUID;
 
@@ -137,6 +142,46 @@ class RemoteLogDownloaderTest {
         assertThat(FileUtils.listDirectory(localLogDir).length).isEqualTo(0);
     }
 
+    @Test
+    void testDownloadRangeInParts() throws Exception {
+        // split the segment file into many small parts downloaded by multiple threads
+        conf.set(
+                ConfigOptions.CLIENT_SCANNER_REMOTE_LOG_DOWNLOAD_PART_SIZE,
+                MemorySize.parse("64b"));
+        IOUtils.closeQuietly(remoteLogDownloader);
+        IOUtils.closeQuietly(remoteFileDownloader);
+        remoteFileDownloader = new RemoteFileDownloader(3);
+        remoteLogDownloader =
+                new RemoteLogDownloader(
+                        DATA1_TABLE_PATH, conf, remoteFileDownloader, scannerMetricGroup, 10L);
+
+        TableBucket tb = new TableBucket(DATA1_TABLE_ID, 0);
+        RemoteLogSegment segment =
+                buildRemoteLogSegmentList(tb, DATA1_PHYSICAL_TABLE_PATH, 1, conf).get(0);
+        FsPath remoteLogTabletDir = remoteLogTabletDir(remoteLogDir, DATA1_PHYSICAL_TABLE_PATH, tb);
+        byte[] remoteBytes =
+                Files.readAllBytes(
+                        Paths.get(
+                                RemoteLogDownloader.getFsPathAndFileName(
+                                                remoteLogTabletDir, segment)
+                                        .getPath()
+                                        .getPath()));
+        int startPosition = remoteBytes.length / 3;
+
+        RemoteLogDownloadFuture future =
+                remoteLogDownloader.requestRemoteLog(remoteLogTabletDir, segment, startPosition);
+        retry(Duration.ofMinutes(1), () -> assertThat(future.isDone()).isTrue());
+
+        // only the bytes from the start position are downloaded
+        FileLogRecords fileLogRecords = future.getFileLogRecords();
+        byte[] localBytes = Files.readAllBytes(fileLogRecords.file().toPath());
+        fileLogRecords.closeHandlers();
+        assertThat(localBytes)
+                .isEqualTo(Arrays.copyOfRange(remoteBytes, startPosition, remoteBytes.length));
+        assertThat(scannerMetricGroup.remoteFetchBytes().getCount())
+                .isEqualTo(remoteBytes.length - startPosition);
+    }
+
     private List<RemoteLogDownloadFuture> requestRemoteLogs(
             FsPath remoteLogTabletDir, List<RemoteLogSegment> remoteLogSegments) {
         List<RemoteLogDownloadFuture> futures = new ArrayList<>();
@@ -0,0 +1,165 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.fluss.client.write;
+
+import com.alibaba.fluss.client.metrics.TestingWriterMetricGroup;
+import com.alibaba.fluss.client.metrics.WriterMetricGroup;
+import com.alibaba.fluss.metadata.TableBucket;
+import com.alibaba.fluss.metrics.Gauge;
+import com.alibaba.fluss.metrics.Metric;
+import com.alibaba.fluss.metrics.MetricNames;
+import com.alibaba.fluss.metrics.groups.AbstractMetricGroup;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.offset;
+
+/** Test for {@link AdaptiveBatchTimeoutEstimator}. */
+public class AdaptiveBatchTimeoutEstimatorTest {
+
+    private static final TableBucket TB = new TableBucket(1L, 0);
+    private static final int MAX_BATCH_TIMEOUT_MS = 500;
+    private static final long TARGET_LATENCY_MS = 200L;
+    private static final int BATCH_SIZE = 1000;
+
+    @Test
+    void testDisabled() {
+        AdaptiveBatchTimeoutEstimator estimator = createEstimator(false);
+        estimator.updateEstimation(TB, BATCH_SIZE, BATCH_SIZE, 0L);
+        estimator.updateEstimation(TB, BATCH_SIZE, BATCH_SIZE, 10L);
+        assertThat(estimator.getBatchTimeoutMs(TB)).isEqualTo(MAX_BATCH_TIMEOUT_MS);
+    }
+
+    @Test
+    void testHighWriteRate() {
+        AdaptiveBatchTimeoutEstimator estimator = createEstimator(true);
+        // the write rate is unknown for the first batch
+        estimator.updateEstimation(TB, BATCH_SIZE, BATCH_SIZE, 0L);
+        assertThat(estimator.getBatchTimeoutMs(TB)).isEqualTo(MAX_BATCH_TIMEOUT_MS);
+
+        // 100 bytes per ms, a batch fills up in 10 ms
+        estimator.updateEstimation(TB, BATCH_SIZE, BATCH_SIZE, 10L);
+        assertThat(estimator.getBatchFillRatio(TB)).isEqualTo(1d);
+    }
+
+    @Test
+    void testLowWriteRate() {
+        AdaptiveBatchTimeoutEstimator estimator = createEstimator(true);
+        estimator.updateEstimation(TB, 10, BATCH_SIZE, 0L);
+        // 0.01 bytes per ms, waiting for the latency budget doesn't fill up the batch
+        estimator.updateEstimation(TB, 10, BATCH_SIZE, 1000L);
+        assertThat(estimator.getBatchTimeoutMs(TB)).isEqualTo(0);
+        assertThat(estimator.getBatchFillRatio(TB)).isCloseTo(0.01d, offset(1e-9));
+    }
+
+    @Test
+    void testBoundedByLatencyBudget() {
+        AdaptiveBatchTimeoutEstimator estimator = createEstimator(true);
+        estimator.updateEstimation(TB, BATCH_SIZE / 2, BATCH_SIZE, 0L);
+        // 1 byte per ms, a batch fills up in 1000 ms, wait for the latency budget
+        estimator.updateEstimation(TB, BATCH_SIZE, BATCH_SIZE, 1000L);
+        assertThat(estimator.getBatchTimeoutMs(TB)).isEqualTo(200);
+        assertThat(estimator.getBatchFillRatio(TB)).isCloseTo(0.6d, offset(1e-9));
+
+        // the latency budget is reduced by the request latency
+        estimator.updateRequestLatency(50L);
+        estimator.updateEstimation(TB, BATCH_SIZE, BATCH_SIZE, 2000L);
+        assertThat(estimator.getBatchTimeoutMs(TB)).isEqualTo(150);
+
+        // the request latency rises quickly, waiting for the rest of the budget (200 - 120 ms)
+        // doesn't fill up the batch
+        estimator.updateRequestLatency(190L);
+        estimator.updateEstimation(TB, BATCH_SIZE, BATCH_SIZE, 3000L);
+        assertThat(estimator.getBatchTimeoutMs(TB)).isEqualTo(0);
+    }
+
+    @Test
+    void testBackpressure() {
+        AdaptiveBatchTimeoutEstimator estimator = createEstimator(true);
+        // the requests take longer than the target latency
+        estimator.updateRequestLatency(300L);
+        estimator.updateEstimation(TB, BATCH_SIZE, BATCH_SIZE, 0L);
+        // 0.5 bytes per ms, fill up the batches to reduce the number of requests
+        estimator.updateEstimation(TB, BATCH_SIZE / 2, BATCH_SIZE, 1000L);
+        assertThat(estimator.getBatchTimeoutMs(TB)).isEqualTo(MAX_BATCH_TIMEOUT_MS);
+
+        // the write rate rises to 50 bytes per ms
+        estimator.updateEstimation(TB, 50 * 1000, BATCH_SIZE, 2000L);
+        assertThat(estimator.getBatchTimeoutMs(TB))
+                .isEqualTo((int) Math.ceil(BATCH_SIZE / (0.2d * 50 + 0.8d * 0.5)));
+    }
+
+    @Test
+    void testBucketMetrics() {
+        WriterMetricGroup writerMetricGroup = TestingWriterMetricGroup.newInstance();
+        AdaptiveBatchTimeoutEstimator estimator =
+                new AdaptiveBatchTimeoutEstimator(
+                        true, MAX_BATCH_TIMEOUT_MS, TARGET_LATENCY_MS, writerMetricGroup);
+        estimator.updateEstimation(TB, BATCH_SIZE / 2, BATCH_SIZE, 0L);
+        estimator.updateEstimation(TB, BATCH_SIZE, BATCH_SIZE, 5L);
+
+        Map<String, Metric> metrics =
+                ((AbstractMetricGroup) writerMetricGroup.bucketMetricGroup(TB)).getMetrics();
+        assertThat(((Gauge<?>) metrics.get(MetricNames.WRITER_BUCKET_BATCH_TIMEOUT_MS)).getValue())
+                .isEqualTo(5);
+        assertThat(
+                        (Double)
+                                ((Gauge<?>) metrics.get(MetricNames.WRITER_BUCKET_BATCH_FILL_RATIO))
+                                        .getValue())
+                .isCloseTo(0.6d, offset(1e-9));
+    }
+
+    @Test
+    void testExpireIdleBuckets() {
+        WriterMetricGroup writerMetricGroup = TestingWriterMetricGroup.newInstance();
+        AdaptiveBatchTimeoutEstimator estimator =
+                new AdaptiveBatchTimeoutEstimator(
+                        true, MAX_BATCH_TIMEOUT_MS, TARGET_LATENCY_MS, writerMetricGroup);
+        long expirationMs = AdaptiveBatchTimeoutEstimator.IDLE_BUCKET_EXPIRATION_MS;
+        TableBucket idleBucket = new TableBucket(1L, 1);
+        estimator.expireIdleBuckets(0L);
+        estimator.updateEstimation(TB, BATCH_SIZE, BATCH_SIZE, 0L);
+        estimator.updateEstimation(idleBucket, BATCH_SIZE, BATCH_SIZE, 0L);
+        AbstractMetricGroup idleBucketMetricGroup =
+                (AbstractMetricGroup) writerMetricGroup.bucketMetricGroup(idleBucket);
+
+        // the buckets are not checked before the expiration time
+        estimator.updateEstimation(TB, BATCH_SIZE, BATCH_SIZE, expirationMs - 10L);
+        estimator.expireIdleBuckets(expirationMs - 1L);
+        assertThat(estimator.numBucketEstimations()).isEqualTo(2);
+
+        estimator.expireIdleBuckets(expirationMs);
+        assertThat(estimator.numBucketEstimations()).isEqualTo(1);
+        assertThat(idleBucketMetricGroup.isClosed()).isTrue();
+        assertThat(estimator.getBatchTimeoutMs(idleBucket)).isEqualTo(MAX_BATCH_TIMEOUT_MS);
+
+        estimator.close();
+        assertThat(estimator.numBucketEstimations()).isEqualTo(0);
+    }
+
+    private static AdaptiveBatchTimeoutEstimator createEstimator(boolean enabled) {
+        return new AdaptiveBatchTimeoutEstimator(
+                enabled,
+                MAX_BATCH_TIMEOUT_MS,
+                TARGET_LATENCY_MS,
+                TestingWriterMetricGroup.newInstance());
+    }
+}
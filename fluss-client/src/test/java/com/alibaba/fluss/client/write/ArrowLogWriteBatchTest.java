@@ -131,6 +131,7 @@ public class ArrowLogWriteBatchTest {
                                 maxSizeInBytes,
                                 DATA1_ROW_TYPE,
                                 DEFAULT_COMPRESSION),
+                        null,
                         new PreAllocatedPagedOutputView(memorySegmentList),
                         System.currentTimeMillis());
         assertThat(arrowLogWriteBatch.pooledMemorySegments()).isEqualTo(memorySegmentList);
@@ -202,6 +203,7 @@ public class ArrowLogWriteBatchTest {
                             DATA1_PHYSICAL_TABLE_PATH,
                             DATA1_TABLE_INFO.getSchemaId(),
                             arrowWriter,
+                            null,
                             new PreAllocatedPagedOutputView(memorySegmentList),
                             System.currentTimeMillis());
 
@@ -302,6 +304,7 @@ public class ArrowLogWriteBatchTest {
                         maxSizeInBytes,
                         DATA1_ROW_TYPE,
                         DEFAULT_COMPRESSION),
+                null,
                 new UnmanagedPagedOutputView(128),
                 System.currentTimeMillis());
     }
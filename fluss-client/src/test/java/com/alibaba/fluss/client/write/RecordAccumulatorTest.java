@@ -524,6 +524,34 @@ class RecordAccumulatorTest {
         assertThat(result.nextReadyCheckDelayMs).isLessThanOrEqualTo(batchTimeout);
     }
 
+    @Test
+    void testAdaptiveBatchTimeout() throws Exception {
+        int batchTimeout = 5000;
+        int batchSize = 1024;
+        IndexedRow row = indexedRow(DATA1_ROW_TYPE, new Object[] {1, "a"});
+        conf.set(ConfigOptions.CLIENT_WRITER_ADAPTIVE_BATCH_TIMEOUT_ENABLED, true);
+        RecordAccumulator accum =
+                createTestRecordAccumulator(batchTimeout, batchSize, 256, 10 * batchSize);
+
+        // the batches wait for the max batch timeout until the write rate is known
+        for (int i = 0; i < 2; i++) {
+            accum.append(createRecord(row), writeCallback, cluster, bucket1.getBucketId(), false);
+            assertThat(accum.ready(cluster).readyNodes).isEmpty();
+            clock.advanceTime(batchTimeout, TimeUnit.MILLISECONDS);
+            RecordAccumulator.ReadyCheckResult result = accum.ready(cluster);
+            assertThat(result.readyNodes).containsExactly(node1);
+            assertThat(accum.drain(cluster, result.readyNodes, Integer.MAX_VALUE).get(node1.id()))
+                    .hasSize(1);
+        }
+
+        // the write rate of bucket1 is too low to fill up a batch, the batch is sent immediately
+        accum.append(createRecord(row), writeCallback, cluster, bucket1.getBucketId(), false);
+        assertThat(accum.ready(cluster).readyNodes).containsExactly(node1);
+        // the other buckets still wait for the max batch timeout
+        accum.append(createRecord(row), writeCallback, cluster, bucket3.getBucketId(), false);
+        assertThat(accum.ready(cluster).readyNodes).containsExactly(node1);
+    }
+
     /**
      * Creates a indexed WriteRecord as the DATA1_PHYSICAL_TABLE_PATH is registered as a INDEXED
      * format , see {@link #updateCluster(List)}.
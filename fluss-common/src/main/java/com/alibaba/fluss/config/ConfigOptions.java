@@ -295,6 +295,17 @@ public class ConfigOptions {
                                     + "Increase this value if you experience slow unnecessary snapshot files clean. "
                                     + "The default value is 10.");
 
+    public static final ConfigOption<Integer> COORDINATOR_EVENT_MAX_BATCH_SIZE =
+            key("coordinator.event.max-batch-size")
+                    .intType()
+                    .defaultValue(1000)
+                    .withDescription(
+                            "The maximum number of events the coordinator server takes from its event queue to process at a time. "
+                                    + "The consecutive events of the same kind in a batch, such as the failures of several tablet servers "
+                                    + "or the adjust isr requests of many buckets, are merged so that the state changes are computed together "
+                                    + "and the requests for them are sent to each tablet server once. "
+                                    + "Setting it to 1 processes the events one by one. The default value is 1000.");
+
     // ------------------------------------------------------------------------
     //  ConfigOptions for Tablet Server
     // ------------------------------------------------------------------------
@@ -556,6 +567,17 @@ public class ConfigOptions {
                                     + "we would fsync after every message; if it were 5 we would fsync after every "
                                     + "five messages.");
 
+    public static final ConfigOption<Boolean> LOG_APPEND_GROUP_COMMIT_ENABLED =
+            key("log.append.group-commit.enabled")
+                    .booleanType()
+                    .defaultValue(false)
+                    .withDescription(
+                            "Whether to enable group commit when appending records to the log as leader. "
+                                    + "If enabled, the concurrent appends to the same table bucket are queued, "
+                                    + "and the thread holding the log lock appends all the queued records "
+                                    + "at once with a single write, which improves the throughput of a hot "
+                                    + "bucket written by many writers concurrently.");
+
     public static final ConfigOption<Duration> LOG_REPLICA_HIGH_WATERMARK_CHECKPOINT_INTERVAL =
             key("log.replica.high-watermark.checkpoint-interval")
                     .durationType()
@@ -650,6 +672,20 @@ public class ConfigOptions {
                                     + LOG_REPLICA_FETCH_WAIT_MAX_TIME.key()
                                     + " time to return.");
 
+    public static final ConfigOption<Integer> LOG_FETCH_SESSION_CACHE_SIZE =
+            key("log.fetch.session-cache-size")
+                    .intType()
+                    .defaultValue(1000)
+                    .withDescription(
+                            "The maximum number of fetch sessions cached by the tablet server. "
+                                    + "A fetch session caches the fetched buckets and fetch offsets "
+                                    + "of a log scanner or a follower, so the fetch log requests only "
+                                    + "need to contain the changed buckets, and the responses omit "
+                                    + "the buckets without new data. If the cache is full, the least "
+                                    + "recently used session is evicted only if it has been idle for 2 "
+                                    + "minutes, otherwise the new fetcher sends full fetch requests "
+                                    + "without session. Setting it to 0 disables the fetch sessions.");
+
     public static final ConfigOption<Integer> LOG_REPLICA_MIN_IN_SYNC_REPLICAS_NUMBER =
             key("log.replica.min-in-sync-replicas-number")
                     .intType()
@@ -729,6 +765,23 @@ public class ConfigOptions {
                     .withDescription(
                             "The number of queued requests allowed for worker threads, before blocking the I/O threads.");
 
+    public static final ConfigOption<RequestDispatchMode> NETTY_SERVER_REQUEST_DISPATCH_MODE =
+            key("netty.server.request-dispatch-mode")
+                    .enumType(RequestDispatchMode.class)
+                    .defaultValue(RequestDispatchMode.CONNECTION)
+                    .withDescription(
+                            "The strategy to dispatch the requests received from the connections to "
+                                    + "the worker threads. "
+                                    + RequestDispatchMode.CONNECTION.name()
+                                    + ": all the requests of a connection are processed by the same "
+                                    + "worker thread in order. "
+                                    + RequestDispatchMode.PARALLEL.name()
+                                    + ": the read requests (e.g., fetch log, lookup) of a connection are "
+                                    + "spread across all the worker threads, the write requests are ordered "
+                                    + "per table of the connection, and the other requests are ordered per "
+                                    + "connection. This allows a single busy connection to use more than one "
+                                    + "worker thread.");
+
     public static final ConfigOption<Duration> NETTY_CONNECTION_MAX_IDLE_TIME =
             key("netty.connection.max-idle-time")
                     .durationType()
@@ -851,6 +904,29 @@ public class ConfigOptions {
                                     + "however if we have fewer than this many bytes accumulated for this bucket we will delay"
                                     + " for the specified time waiting for more records to show up.");
 
+    public static final ConfigOption<Boolean> CLIENT_WRITER_ADAPTIVE_BATCH_TIMEOUT_ENABLED =
+            key("client.writer.adaptive-batch-timeout.enabled")
+                    .booleanType()
+                    .defaultValue(false)
+                    .withDescription(
+                            "Controls whether the client writer adapts the batch timeout of each bucket to the observed write rate of the bucket, the latency of the write requests and the backpressure of the servers. "
+                                    + "With adaptive batch timeout enabled, the writer waits just long enough for a batch to fill up as long as the write latency stays under the target latency, and sends the batches of the buckets with low write rate immediately instead of delaying them for nothing. "
+                                    + "The adaptive batch timeout never exceeds `"
+                                    + CLIENT_WRITER_BATCH_TIMEOUT.key()
+                                    + "`. When disabled, all the buckets use the fixed `"
+                                    + CLIENT_WRITER_BATCH_TIMEOUT.key()
+                                    + "`.");
+
+    public static final ConfigOption<Duration> CLIENT_WRITER_ADAPTIVE_BATCH_TIMEOUT_TARGET_LATENCY =
+            key("client.writer.adaptive-batch-timeout.target-latency")
+                    .durationType()
+                    .defaultValue(Duration.ofMillis(200))
+                    .withDescription(
+                            "The target latency of a write, from the time a record is appended to the time the write request of it is acknowledged, "
+                                    + "when `"
+                                    + CLIENT_WRITER_ADAPTIVE_BATCH_TIMEOUT_ENABLED.key()
+                                    + "` is true. The part of the target latency which is not taken by the write requests is spent on waiting for the batches to fill up.");
+
     public static final ConfigOption<NoKeyAssigner> CLIENT_WRITER_BUCKET_NO_KEY_ASSIGNER =
             key("client.writer.bucket.no-key-assigner")
                     .enumType(NoKeyAssigner.class)
@@ -1019,6 +1095,16 @@ public class ConfigOptions {
                                     + CLIENT_SCANNER_LOG_FETCH_WAIT_MAX_TIME.key()
                                     + " time to return.");
 
+    public static final ConfigOption<MemorySize> CLIENT_SCANNER_KV_FETCH_MAX_BYTES =
+            key("client.scanner.kv.fetch.max-bytes")
+                    .memoryType()
+                    .defaultValue(MemorySize.parse("4mb"))
+                    .withDescription(
+                            "The maximum amount of data the server should return for a kv scan request "
+                                    + "from client, i.e. the size of a page of the full scan of a bucket of "
+                                    + "a primary key table. The next page is requested as soon as the "
+                                    + "previous page is polled, so a scanner buffers at most two pages.");
+
     public static final ConfigOption<Integer> CLIENT_LOOKUP_QUEUE_SIZE =
             key("client.lookup.queue-size")
                     .intType()
@@ -1047,6 +1133,40 @@ public class ConfigOptions {
                             "The maximum time to wait for the lookup batch to full, if this timeout is reached, "
                                     + "the lookup batch will be closed to send.");
 
+    public static final ConfigOption<Boolean> CLIENT_LOOKUP_CACHE_ENABLED =
+            key("client.lookup.cache.enabled")
+                    .booleanType()
+                    .defaultValue(false)
+                    .withDescription(
+                            "Whether to cache the lookup results by primary key in the client. The cached "
+                                    + "results of a bucket are invalidated by consuming the changelog of the bucket, "
+                                    + "so a cached result may be stale for a short time after the key is changed.");
+
+    public static final ConfigOption<Long> CLIENT_LOOKUP_CACHE_MAX_ROWS =
+            key("client.lookup.cache.max-rows")
+                    .longType()
+                    .defaultValue(100000L)
+                    .withDescription(
+                            "The maximum number of lookup results to cache for a table, "
+                                    + "the least recently used results are evicted when it is exceeded.");
+
+    public static final ConfigOption<MemorySize> CLIENT_LOOKUP_CACHE_MAX_WEIGHT =
+            key("client.lookup.cache.max-weight")
+                    .memoryType()
+                    .defaultValue(MemorySize.parse("64mb"))
+                    .withDescription(
+                            "The maximum size of the encoded keys and values of the lookup results to cache "
+                                    + "for a table, the least recently used results are evicted when it is exceeded.");
+
+    public static final ConfigOption<Duration> CLIENT_LOOKUP_CACHE_TTL =
+            key("client.lookup.cache.ttl")
+                    .durationType()
+                    .defaultValue(Duration.ofMinutes(10))
+                    .withDescription(
+                            "The time to live of a cached lookup result since it is cached, "
+                                    + "it bounds the staleness of the cached results if the changelog "
+                                    + "can't be consumed in time.");
+
     public static final ConfigOption<Integer> CLIENT_SCANNER_REMOTE_LOG_PREFETCH_NUM =
             key("client.scanner.remote-log.prefetch-num")
                     .intType()
@@ -1055,6 +1175,16 @@ public class ConfigOptions {
                             "The number of remote log segments to keep in local temp file for LogScanner, "
                                     + "which download from remote storage. The default setting is 4.");
 
+    public static final ConfigOption<MemorySize> CLIENT_SCANNER_REMOTE_LOG_DOWNLOAD_PART_SIZE =
+            key("client.scanner.remote-log.download-part-size")
+                    .memoryType()
+                    .defaultValue(MemorySize.parse("8mb"))
+                    .withDescription(
+                            "The size of the parts a remote log segment is split into when LogScanner "
+                                    + "downloads it, the parts are downloaded in parallel by the "
+                                    + "'client.remote-file.download-thread-num' threads. "
+                                    + "The default setting is 8mb.");
+
     public static final ConfigOption<String> CLIENT_SCANNER_IO_TMP_DIR =
             key("client.scanner.io.tmpdir")
                     .stringType()
@@ -1166,6 +1296,20 @@ public class ConfigOptions {
                             "The compression level of ZSTD for the log records if the log format is set to `ARROW` "
                                     + "and the compression type is set to `ZSTD`. The valid range is 1 to 22.");
 
+    public static final ConfigOption<List<String>> TABLE_LOG_ARROW_STATISTICS_COLUMNS =
+            key("table.log.arrow.statistics.columns")
+                    .stringType()
+                    .asList()
+                    .noDefaultValue()
+                    .withDescription(
+                            "The columns to collect the min/max values and null counts for each log record batch "
+                                    + "if the log format is set to `ARROW`. The statistics are used to skip "
+                                    + "the batches which can't match the filters of the log scanners, on the "
+                                    + "server side and when reading remote log segments. Only the columns of "
+                                    + "boolean, numeric (except decimal), string, date, time and timestamp "
+                                    + "types have min/max values, the other columns only have null counts. "
+                                    + "No statistics are collected by default.");
+
     public static final ConfigOption<KvFormat> TABLE_KV_FORMAT =
             key("table.kv.format")
                     .enumType(KvFormat.class)
@@ -1334,6 +1478,54 @@ public class ConfigOptions {
                     .withDescription(
                             "The number of threads the server uses to transfer (download and upload) kv snapshot files.");
 
+    public static final ConfigOption<MemorySize> KV_SNAPSHOT_DOWNLOAD_RATE_LIMIT =
+            key("kv.snapshot.download-rate-limit")
+                    .memoryType()
+                    .defaultValue(MemorySize.ZERO)
+                    .withDescription(
+                            "The maximum number of bytes per second the server downloads kv snapshot files "
+                                    + "for restoring the kv of all the buckets, to avoid saturating the network "
+                                    + "when restoring many buckets in parallel. 0 means no limit.");
+
+    public static final ConfigOption<Integer> KV_LOOKUP_THREAD_NUM =
+            key("kv.lookup.thread-num")
+                    .intType()
+                    .defaultValue(4)
+                    .withDescription(
+                            "The number of threads the server uses to execute the lookup, prefix lookup and "
+                                    + "limit scan requests of the kv tables, so that the reads of RocksDB don't "
+                                    + "occupy the worker threads of the RPC server.");
+
+    public static final ConfigOption<Integer> KV_LOOKUP_QUEUE_SIZE =
+            key("kv.lookup.queue-size")
+                    .intType()
+                    .defaultValue(1024)
+                    .withDescription(
+                            "The number of queued kv lookup requests allowed for the lookup threads. "
+                                    + "When the queue is full, the lookup requests are executed in the "
+                                    + "worker threads of the RPC server directly, which slows down receiving "
+                                    + "new requests.");
+
+    public static final ConfigOption<Integer> KV_SCANNER_MAX_NUM =
+            key("kv.scanner.max-num")
+                    .intType()
+                    .defaultValue(1000)
+                    .withDescription(
+                            "The maximum number of open kv scanners of the server. A kv scanner "
+                                    + "iterates a snapshot of the kv of a bucket page by page for the "
+                                    + "full scan of a primary key table, and pins the snapshot until the "
+                                    + "scan is finished or the scanner expires. Opening a new scanner "
+                                    + "fails if the server already has the maximum number of scanners.");
+
+    public static final ConfigOption<Duration> KV_SCANNER_EXPIRATION =
+            key("kv.scanner.expiration")
+                    .durationType()
+                    .defaultValue(Duration.ofMinutes(1))
+                    .withDescription(
+                            "The time after which an idle kv scanner is closed to release the "
+                                    + "snapshot of the kv it pins. The scan fails if it continues "
+                                    + "with the expired scanner.");
+
     public static final ConfigOption<Integer> KV_MAX_RETAINED_SNAPSHOTS =
             key("kv.snapshot.num-retained")
                     .intType()
@@ -1410,6 +1602,28 @@ public class ConfigOptions {
                             "The max size of the consumed memory for RocksDB batch write, "
                                     + "will flush just based on item count if this config set to 0.");
 
+    public static final ConfigOption<MemorySize> KV_PRE_WRITE_BUFFER_MEMORY_SIZE =
+            key("kv.pre-write-buffer.memory-size")
+                    .memoryType()
+                    .defaultValue(MemorySize.parse("256mb"))
+                    .withDescription(
+                            "The total off-heap memory that the tablet server can use to buffer the kv records "
+                                    + "waiting for their changelogs to be replicated before flushing into RocksDB. "
+                                    + "The memory is shared by the pre-write buffers of all kv buckets in the server. "
+                                    + "When the memory is exhausted, the put kv requests are rejected immediately "
+                                    + "with a retriable exception, so that the writers back off and retry. "
+                                    + "The records recovered from the log when a kv bucket becomes leader may "
+                                    + "exceed the memory until they are flushed. "
+                                    + "The default value is `256MB`.");
+
+    public static final ConfigOption<MemorySize> KV_PRE_WRITE_BUFFER_PAGE_SIZE =
+            key("kv.pre-write-buffer.page-size")
+                    .memoryType()
+                    .defaultValue(MemorySize.parse("64kb"))
+                    .withDescription(
+                            "The size of the memory page allocated to the kv pre-write buffer at a time. "
+                                    + "The default value is `64KB`.");
+
     // --------------------------------------------------------------------------
     // Provided configurable ColumnFamilyOptions within Fluss
     // --------------------------------------------------------------------------
@@ -1559,6 +1773,122 @@ public class ConfigOptions {
                             "If true, RocksDB will use block-based filter instead of full filter, this only take effect when bloom filter is used. "
                                     + "The default value is `false`.");
 
+    public static final ConfigOption<Boolean> KV_USE_PREFIX_BLOOM_FILTER =
+            key("kv.rocksdb.use-prefix-bloom-filter")
+                    .booleanType()
+                    .defaultValue(true)
+                    .withDescription(
+                            "If true, for the primary key tables whose bucket key is a prefix of the primary key, "
+                                    + "RocksDB will use a fixed length prefix extractor derived from the encoding of the bucket key, "
+                                    + "and build prefix bloom filters in memtables and SST files (when `kv.rocksdb.use-bloom-filter` is true), "
+                                    + "so that the prefix lookups on absent prefixes can skip most of the memtables and SST files. "
+                                    + "The default value is `true`.");
+
+    public static final ConfigOption<Double> KV_MEMTABLE_PREFIX_BLOOM_SIZE_RATIO =
+            key("kv.rocksdb.memtable.prefix-bloom-size-ratio")
+                    .doubleType()
+                    .defaultValue(0.1)
+                    .withDescription(
+                            "The size ratio of the prefix bloom filter in memtable to the write buffer size, "
+                                    + "this only take effect when the prefix bloom filter is used. "
+                                    + "The default value is 0.1.");
+
+    public static final ConfigOption<Boolean> KV_SHARED_MEMORY_ENABLED =
+            key("kv.rocksdb.shared-memory.enabled")
+                    .booleanType()
+                    .defaultValue(false)
+                    .withDescription(
+                            "If true, all the RocksDB instances of the kv buckets in a tablet server share "
+                                    + "one block cache and one write buffer manager bounded by `kv.rocksdb.shared-memory.size`, "
+                                    + "so that the total memory used by RocksDB doesn't grow with the number of kv buckets. "
+                                    + "The index and filter blocks are cached and pinned in the shared block cache, "
+                                    + "and `kv.rocksdb.block.cache-size` is ignored. The default value is `false`.");
+
+    public static final ConfigOption<MemorySize> KV_SHARED_MEMORY_SIZE =
+            key("kv.rocksdb.shared-memory.size")
+                    .memoryType()
+                    .defaultValue(MemorySize.parse("512mb"))
+                    .withDescription(
+                            "The total memory budget of the tablet server for the RocksDB block cache and write buffers "
+                                    + "shared by all the kv buckets, this only take effect when `kv.rocksdb.shared-memory.enabled` is true. "
+                                    + "The default value is `512MB`.");
+
+    public static final ConfigOption<Double> KV_SHARED_MEMORY_WRITE_BUFFER_RATIO =
+            key("kv.rocksdb.shared-memory.write-buffer-ratio")
+                    .doubleType()
+                    .defaultValue(0.5)
+                    .withDescription(
+                            "The fraction of `kv.rocksdb.shared-memory.size` that can be used by the write buffers "
+                                    + "(memtables) of all the kv buckets, this only take effect when `kv.rocksdb.shared-memory.enabled` is true. "
+                                    + "The default value is 0.5.");
+
+    public static final ConfigOption<Double> KV_SHARED_MEMORY_HIGH_PRIORITY_POOL_RATIO =
+            key("kv.rocksdb.shared-memory.high-priority-pool-ratio")
+                    .doubleType()
+                    .defaultValue(0.1)
+                    .withDescription(
+                            "The fraction of the shared block cache reserved for high priority blocks, "
+                                    + "like index and filter blocks, to protect them from being evicted by data blocks, "
+                                    + "this only take effect when `kv.rocksdb.shared-memory.enabled` is true. "
+                                    + "The default value is 0.1.");
+
+    public static final ConfigOption<List<String>> KV_ROCKSDB_METRICS_PROPERTIES =
+            key("kv.rocksdb.metrics.properties")
+                    .stringType()
+                    .asList()
+                    .defaultValues(
+                            "rocksdb.estimate-pending-compaction-bytes",
+                            "rocksdb.cur-size-all-mem-tables",
+                            "rocksdb.estimate-num-keys",
+                            "rocksdb.num-running-compactions",
+                            "rocksdb.num-running-flushes",
+                            "rocksdb.num-files-at-level0",
+                            "rocksdb.actual-delayed-write-rate",
+                            "rocksdb.is-write-stopped",
+                            "rocksdb.total-sst-files-size")
+                    .withDescription(
+                            "The RocksDB native properties (e.g. `rocksdb.estimate-pending-compaction-bytes`) "
+                                    + "of the kv buckets to be exposed as metrics. The properties are sampled in background "
+                                    + "by the interval of `kv.rocksdb.metrics.sample-interval`, and summed up to the table and tablet server level. "
+                                    + "Set to empty to disable the property metrics.");
+
+    public static final ConfigOption<List<String>> KV_ROCKSDB_METRICS_TICKERS =
+            key("kv.rocksdb.metrics.tickers")
+                    .stringType()
+                    .asList()
+                    .defaultValues(
+                            "BLOCK_CACHE_HIT",
+                            "BLOCK_CACHE_MISS",
+                            "STALL_MICROS",
+                            "BYTES_WRITTEN",
+                            "BYTES_READ",
+                            "COMPACT_READ_BYTES",
+                            "COMPACT_WRITE_BYTES")
+                    .withDescription(
+                            "The RocksDB statistics tickers (e.g. `BLOCK_CACHE_HIT`, see `org.rocksdb.TickerType`) of the kv buckets "
+                                    + "to be exposed as metrics, the cumulative counts of the tickers are sampled in background "
+                                    + "and summed up to the table and tablet server level. RocksDB statistics will be enabled "
+                                    + "if any ticker or histogram is configured, which introduces a little overhead to RocksDB operations.");
+
+    public static final ConfigOption<List<String>> KV_ROCKSDB_METRICS_HISTOGRAMS =
+            key("kv.rocksdb.metrics.histograms")
+                    .stringType()
+                    .asList()
+                    .noDefaultValue()
+                    .withDescription(
+                            "The RocksDB statistics histograms (e.g. `DB_GET`, see `org.rocksdb.HistogramType`) of the kv buckets "
+                                    + "to be exposed as metrics, the average and the 99th percentile of the histograms are sampled in background "
+                                    + "and the maximum of them is rolled up to the table and tablet server level. "
+                                    + "No histogram is exposed by default.");
+
+    public static final ConfigOption<Duration> KV_ROCKSDB_METRICS_SAMPLE_INTERVAL =
+            key("kv.rocksdb.metrics.sample-interval")
+                    .durationType()
+                    .defaultValue(Duration.ofSeconds(10))
+                    .withDescription(
+                            "The interval to sample the RocksDB native metrics of the kv buckets in background. "
+                                    + "The default value is 10 seconds.");
+
     // ------------------------------------------------------------------------
     //  ConfigOptions for Kv recovering
     // ------------------------------------------------------------------------
@@ -1569,6 +1899,16 @@ public class ConfigOptions {
                     .withDescription(
                             "The max fetch size for fetching log to apply to kv during recovering kv.");
 
+    public static final ConfigOption<Integer> KV_RECOVER_PARALLELISM =
+            key("kv.recover.parallelism")
+                    .intType()
+                    .defaultValue(4)
+                    .withDescription(
+                            "The maximum number of buckets the server restores the kv (i.e. downloads the kv "
+                                    + "snapshot and applies the log) in parallel when it becomes the leader of "
+                                    + "them, e.g. when it takes over the buckets of a failed server. The buckets "
+                                    + "requested by lookups or writes during restoring are restored first.");
+
     // ------------------------------------------------------------------------
     //  ConfigOptions for metrics
     // ------------------------------------------------------------------------
@@ -1676,6 +2016,12 @@ public class ConfigOptions {
         NUM_INFO_LOG_LEVELS,
     }
 
+    /** The strategy to dispatch the requests received by the RPC server to the worker threads. */
+    public enum RequestDispatchMode {
+        CONNECTION,
+        PARALLEL
+    }
+
     /** Append only row bucket assigner for Fluss writer. */
     public enum NoKeyAssigner {
         ROUND_ROBIN,
@@ -26,6 +26,8 @@ import com.alibaba.fluss.metadata.MergeEngineType;
 import com.alibaba.fluss.utils.AutoPartitionStrategy;
 
 import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -111,6 +113,15 @@ public class TableConfig {
         return ArrowCompressionInfo.fromConf(config);
     }
 
+    /**
+     * Gets the columns to collect the statistics for each log record batch of the table, empty if
+     * no statistics are collected.
+     */
+    public List<String> getLogArrowStatisticsColumns() {
+        return config.getOptional(ConfigOptions.TABLE_LOG_ARROW_STATISTICS_COLUMNS)
+                .orElse(Collections.emptyList());
+    }
+
     /** Gets the auto partition strategy of the table. */
     public AutoPartitionStrategy getAutoPartitionStrategy() {
         return AutoPartitionStrategy.from(config);
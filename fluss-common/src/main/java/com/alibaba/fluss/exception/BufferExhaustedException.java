@@ -21,7 +21,8 @@ import com.alibaba.fluss.annotation.PublicEvolving;
 
 /**
  * This exception is thrown if the producer cannot allocate memory for a record within max.block.ms
- * due to the buffer being too full.
+ * due to the buffer being too full, or if the tablet server has no free memory for the kv records
+ * in the kv pre-write buffer.
  *
  * @since 0.1
  */
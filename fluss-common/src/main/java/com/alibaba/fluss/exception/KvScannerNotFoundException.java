@@ -0,0 +1,37 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.fluss.exception;
+
+import com.alibaba.fluss.annotation.PublicEvolving;
+
+/**
+ * Exception thrown when the kv scanner of a kv scan request is not found in the server, e.g., the
+ * scanner has expired or has been closed as the leader of the bucket changed. The client should
+ * restart the scan of the bucket.
+ *
+ * @since 0.8
+ */
+@PublicEvolving
+public class KvScannerNotFoundException extends ApiException {
+
+    private static final long serialVersionUID = 1L;
+
+    public KvScannerNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -22,6 +22,7 @@ import com.alibaba.fluss.exception.FlussRuntimeException;
 import com.alibaba.fluss.fs.FSDataInputStream;
 import com.alibaba.fluss.fs.FileSystem;
 import com.alibaba.fluss.fs.FsPath;
+import com.alibaba.fluss.shaded.guava32.com.google.common.util.concurrent.RateLimiter;
 import com.alibaba.fluss.utils.CloseableRegistry;
 import com.alibaba.fluss.utils.ExceptionUtils;
 import com.alibaba.fluss.utils.FileUtils;
@@ -32,9 +33,11 @@ import com.alibaba.fluss.utils.function.CheckedSupplier;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.NotThreadSafe;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -51,6 +54,8 @@ import java.util.stream.Stream;
 public class FileDownloadUtils {
     private static final Logger LOG = LoggerFactory.getLogger(FileDownloadUtils.class);
 
+    private static final int BUFFER_SIZE = 4096;
+
     /**
      * Transfer all data to the target directory, as specified in the download requests.
      *
@@ -62,6 +67,22 @@ public class FileDownloadUtils {
             CloseableRegistry closeableRegistry,
             ExecutorService executorService)
             throws IOException {
+        transferAllDataToDirectory(fileDownloadSpecs, closeableRegistry, executorService, null);
+    }
+
+    /**
+     * Transfer all data to the target directory, as specified in the download requests.
+     *
+     * @param fileDownloadSpecs the list of downloads.
+     * @param rateLimiter the limiter of the downloaded bytes per second, null if no limit.
+     * @throws IOException If anything about the download goes wrong.
+     */
+    public static void transferAllDataToDirectory(
+            Collection<FileDownloadSpec> fileDownloadSpecs,
+            CloseableRegistry closeableRegistry,
+            ExecutorService executorService,
+            @Nullable RateLimiter rateLimiter)
+            throws IOException {
         // We use this closer for fine-grained shutdown of all parallel downloading.
         CloseableRegistry internalCloser = new CloseableRegistry();
         // Make sure we also react to external close signals.
@@ -69,7 +90,8 @@ public class FileDownloadUtils {
         List<CompletableFuture<Long>> futures = new ArrayList<>();
         try {
             futures =
-                    transferDataToDirectoryAsync(fileDownloadSpecs, internalCloser, executorService)
+                    transferDataToDirectoryAsync(
+                                    fileDownloadSpecs, internalCloser, executorService, rateLimiter)
                             .collect(Collectors.toList());
             // Wait until either all futures completed successfully or one failed exceptionally.
             FutureUtils.waitForAll(futures, new DownloadProgressAction(fileDownloadSpecs.size()))
@@ -100,7 +122,8 @@ public class FileDownloadUtils {
     private static Stream<CompletableFuture<Long>> transferDataToDirectoryAsync(
             Collection<FileDownloadSpec> fileDownloadSpecs,
             CloseableRegistry closeableRegistry,
-            ExecutorService executorService) {
+            ExecutorService executorService,
+            @Nullable RateLimiter rateLimiter) {
         return fileDownloadSpecs.stream()
                 .flatMap(
                         downloadSpec -> {
@@ -117,7 +140,8 @@ public class FileDownloadUtils {
                                                                 downloadFile(
                                                                         downloadDest,
                                                                         fileHandle.getPath(),
-                                                                        closeableRegistry));
+                                                                        closeableRegistry,
+                                                                        rateLimiter));
                                             });
                         })
                 .map(runnable -> CompletableFuture.supplyAsync(runnable, executorService));
@@ -128,7 +152,10 @@ public class FileDownloadUtils {
      * downloaded bytes.
      */
     private static Long downloadFile(
-            Path targetFilePath, FsPath remoteFilePath, CloseableRegistry closeableRegistry)
+            Path targetFilePath,
+            FsPath remoteFilePath,
+            CloseableRegistry closeableRegistry,
+            @Nullable RateLimiter rateLimiter)
             throws IOException {
 
         if (closeableRegistry.isClosed()) {
@@ -144,7 +171,10 @@ public class FileDownloadUtils {
             OutputStream outputStream = Files.newOutputStream(targetFilePath);
             closeableRegistry.registerCloseable(outputStream);
 
-            long readBytes = IOUtils.copyBytes(inputStream, outputStream, false);
+            long readBytes =
+                    rateLimiter == null
+                            ? IOUtils.copyBytes(inputStream, outputStream, false)
+                            : copyBytesWithRateLimit(inputStream, outputStream, rateLimiter);
 
             closeableRegistry.unregisterAndCloseAll(outputStream, inputStream);
 
@@ -157,6 +187,21 @@ public class FileDownloadUtils {
         }
     }
 
+    private static long copyBytesWithRateLimit(
+            InputStream in, OutputStream out, RateLimiter rateLimiter) throws IOException {
+        byte[] buf = new byte[BUFFER_SIZE];
+        long totalBytes = 0;
+        int bytesRead;
+        while ((bytesRead = in.read(buf)) >= 0) {
+            if (bytesRead > 0) {
+                rateLimiter.acquire(bytesRead);
+                out.write(buf, 0, bytesRead);
+                totalBytes += bytesRead;
+            }
+        }
+        return totalBytes;
+    }
+
     /** Logging the files download progress. It's not thread safe, should be used in locks. */
     @NotThreadSafe
     private static class DownloadProgressAction implements BiConsumer<Long, Throwable> {
@@ -18,6 +18,8 @@
 package com.alibaba.fluss.lake.writer;
 
 import com.alibaba.fluss.annotation.PublicEvolving;
+import com.alibaba.fluss.record.ColumnarLogBatch;
+import com.alibaba.fluss.record.GenericRecord;
 import com.alibaba.fluss.record.LogRecord;
 
 import java.io.Closeable;
@@ -40,6 +42,31 @@ public interface LakeWriter<WriteResult> extends Closeable {
      */
     void write(LogRecord record) throws IOException;
 
+    /**
+     * Writes the records of a columnar batch in row id range {@code [fromRowId, toRowId)} to the
+     * lake. The batch is only valid during the call, so the records must not be referenced after
+     * the method returns.
+     *
+     * <p>The default implementation writes the records one by one by {@link #write(LogRecord)}, the
+     * lake writers which can consume the columns directly should override it.
+     *
+     * @param batch the batch of the records to write
+     * @param fromRowId the row id of the first record to write, inclusive
+     * @param toRowId the row id of the last record to write, exclusive
+     * @throws IOException if an I/O error occurs
+     * @since 0.8
+     */
+    default void write(ColumnarLogBatch batch, int fromRowId, int toRowId) throws IOException {
+        for (int rowId = fromRowId; rowId < toRowId; rowId++) {
+            write(
+                    new GenericRecord(
+                            batch.getLogOffset(rowId),
+                            batch.getTimestamp(),
+                            batch.getChangeType(rowId),
+                            batch.getRow(rowId)));
+        }
+    }
+
     /**
      * Completes the writing process and returns the write result.
      *
@@ -23,48 +23,68 @@ import com.alibaba.fluss.config.ConfigOptions;
 import com.alibaba.fluss.config.Configuration;
 import com.alibaba.fluss.exception.FlussRuntimeException;
 
-import javax.annotation.concurrent.GuardedBy;
 import javax.annotation.concurrent.ThreadSafe;
 
 import java.io.Closeable;
 import java.io.EOFException;
 import java.io.IOException;
-import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Deque;
 import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
 import java.util.concurrent.locks.ReentrantLock;
 
 import static com.alibaba.fluss.utils.Preconditions.checkArgument;
 import static com.alibaba.fluss.utils.concurrent.LockUtils.inLock;
 
-/** MemorySegment pool of a MemorySegment list. */
+/**
+ * MemorySegment pool of lazily allocated heap memory segments.
+ *
+ * <p>The allocation and the return of pages are lock-free as long as the pool has free pages: the
+ * pages are reserved by a CAS on the page usage, and the returned pages are pooled in a lock-free
+ * queue to be reused by the next allocation. Only when the pool is exhausted, the allocations wait
+ * on the lock and reserve the returned pages in FIFO order, so that a large allocation is not
+ * starved by the following small ones.
+ */
 @Internal
 @ThreadSafe
 public class LazyMemorySegmentPool implements MemorySegmentPool, Closeable {
 
-    /** The lock to guard the memory pool. */
+    /** The bounds of the backoff to wait for a reserved page which is being pooled by others. */
+    private static final long MIN_TAKE_PAGE_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(1);
+
+    private static final long MAX_TAKE_PAGE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    /** The lock to guard the waiting of the allocations when the pool is exhausted. */
     private final ReentrantLock lock = new ReentrantLock();
 
-    @GuardedBy("lock")
-    private final List<MemorySegment> cachePages;
+    /** The pooled pages which are allocated but not in use. */
+    private final Queue<MemorySegment> cachePages;
 
-    @VisibleForTesting
-    @GuardedBy("lock")
-    final Deque<Condition> waiters;
+    @VisibleForTesting final Deque<Condition> waiters;
 
     private final int pageSize;
     private final int maxPages;
     private final int perRequestPages;
     private final long maxTimeToBlockMs;
 
-    @GuardedBy("lock")
-    private boolean closed;
+    /** The number of pages reserved by the allocations, including the pages in use. */
+    private final AtomicInteger pageUsage;
+
+    /** The number of pages allocated from the heap, including the pooled pages. */
+    private final AtomicInteger allocatedPages;
 
-    private int pageUsage;
+    private final LongAdder waitTimeNanos;
+
+    private volatile boolean closed;
 
     @VisibleForTesting
     LazyMemorySegmentPool(
@@ -81,14 +101,16 @@ public class LazyMemorySegmentPool implements MemorySegmentPool, Closeable {
                         "Page size should be less than or equal to per request memory size. Page size is:"
                                 + " %s KB, per request memory size is %s KB.",
                         pageSize / 1024, perRequestMemorySize / 1024));
-        this.cachePages = new ArrayList<>();
-        this.pageUsage = 0;
+        this.cachePages = new ConcurrentLinkedQueue<>();
+        this.pageUsage = new AtomicInteger(0);
+        this.allocatedPages = new AtomicInteger(0);
+        this.waitTimeNanos = new LongAdder();
         this.maxPages = maxPages;
         this.pageSize = pageSize;
         this.perRequestPages = Math.max(1, (int) (perRequestMemorySize / pageSize()));
 
         this.closed = false;
-        this.waiters = new ArrayDeque<>();
+        this.waiters = new ConcurrentLinkedDeque<>();
         this.maxTimeToBlockMs = maxTimeToBlockMs;
     }
 
@@ -123,7 +145,13 @@ public class LazyMemorySegmentPool implements MemorySegmentPool, Closeable {
 
     @Override
     public MemorySegment nextSegment() throws IOException {
-        return inLock(lock, () -> allocatePages(1).get(0));
+        reservePages(1);
+        try {
+            return takePage(1);
+        } catch (Throwable t) {
+            releasePages(1);
+            throw t;
+        }
     }
 
     @Override
@@ -136,50 +164,123 @@ public class LazyMemorySegmentPool implements MemorySegmentPool, Closeable {
                             this.maxPages, requiredPages));
         }
 
-        return inLock(
-                lock,
-                () -> {
-                    checkClosed();
+        reservePages(requiredPages);
+        List<MemorySegment> pages = new ArrayList<>(requiredPages);
+        try {
+            while (pages.size() < requiredPages) {
+                pages.add(takePage(requiredPages - pages.size()));
+            }
+            return pages;
+        } catch (Throwable t) {
+            cachePages.addAll(pages);
+            releasePages(requiredPages);
+            throw t;
+        }
+    }
 
-                    if (freePages() < requiredPages) {
-                        waitForSegment(requiredPages);
-                    }
+    /**
+     * Reserves the pages from the page budget, waits for the pages to be returned if the pool is
+     * exhausted or other allocations are already waiting.
+     */
+    private void reservePages(int requiredPages) throws EOFException {
+        checkClosed();
+        if (waiters.isEmpty() && tryReservePages(requiredPages)) {
+            return;
+        }
+        inLock(lock, () -> waitForSegment(requiredPages));
+    }
 
-                    lazilyAllocatePages(requiredPages);
-                    return drain(requiredPages);
-                });
+    private boolean tryReservePages(int requiredPages) {
+        while (true) {
+            int usage = pageUsage.get();
+            if (maxPages - usage < requiredPages) {
+                return false;
+            }
+            if (pageUsage.compareAndSet(usage, usage + requiredPages)) {
+                return true;
+            }
+        }
     }
 
-    private List<MemorySegment> drain(int numPages) {
-        List<MemorySegment> pages = new ArrayList<>(numPages);
-        for (int i = 0; i < numPages; i++) {
-            pages.add(cachePages.remove(cachePages.size() - 1));
+    private void releasePages(int numPages) {
+        while (true) {
+            int usage = pageUsage.get();
+            int newUsage = usage - numPages;
+            if (newUsage < 0) {
+                throw new RuntimeException("Return too more memories.");
+            }
+            if (pageUsage.compareAndSet(usage, newUsage)) {
+                break;
+            }
+        }
+        if (!waiters.isEmpty()) {
+            inLock(lock, this::signalFirstWaiter);
         }
-        pageUsage += numPages;
-        return pages;
+    }
+
+    /**
+     * Takes a reserved page from the pooled pages, or allocates new pages if no page is pooled. The
+     * page budget guarantees that a reserved page is either pooled, allocatable or being pooled by
+     * another thread, so in the rare case of racing with that thread it parks with a bounded
+     * backoff until the page is pooled, instead of burning the CPU by spinning.
+     */
+    private MemorySegment takePage(int requiredPages) {
+        MemorySegment page = cachePages.poll();
+        long parkNanos = MIN_TAKE_PAGE_PARK_NANOS;
+        while (page == null) {
+            lazilyAllocatePages(requiredPages);
+            page = cachePages.poll();
+            if (page == null) {
+                checkClosed();
+                LockSupport.parkNanos(this, parkNanos);
+                if (Thread.interrupted()) {
+                    Thread.currentThread().interrupt();
+                    throw new FlussRuntimeException(
+                            new InterruptedException("Interrupted while taking a reserved page."));
+                }
+                parkNanos = Math.min(parkNanos * 2, MAX_TAKE_PAGE_PARK_NANOS);
+                page = cachePages.poll();
+            }
+        }
+        return page;
     }
 
     @VisibleForTesting
     protected void lazilyAllocatePages(int required) {
-        if (cachePages.size() < required) {
-            int minAllocatePages = required - cachePages.size();
-            int maxAllocatePages = freePages() - cachePages.size();
-            // try to allocate more pages than minAllocatePages to have better CPU cache
-            int numPages = Math.min(maxAllocatePages, Math.max(minAllocatePages, perRequestPages));
+        int allocated;
+        int numPages;
+        do {
+            allocated = allocatedPages.get();
+            // try to allocate more pages than required to have better CPU cache
+            numPages = Math.min(maxPages - allocated, Math.max(required, perRequestPages));
+            if (numPages <= 0) {
+                // all the pages are allocated, the pages are being returned by other threads
+                return;
+            }
+        } while (!allocatedPages.compareAndSet(allocated, allocated + numPages));
 
-            for (int i = 0; i < numPages; i++) {
+        int newPages = 0;
+        try {
+            for (; newPages < numPages; newPages++) {
                 cachePages.add(MemorySegment.allocateHeapMemory(pageSize));
             }
+        } finally {
+            if (newPages < numPages) {
+                allocatedPages.addAndGet(newPages - numPages);
+            }
         }
     }
 
     private void waitForSegment(int requiredPages) throws EOFException {
+        checkClosed();
+        long startNanos = System.nanoTime();
         Condition moreMemory = lock.newCondition();
         waiters.addLast(moreMemory);
         try {
-            while (freePages() < requiredPages) {
-                boolean success = moreMemory.await(maxTimeToBlockMs, TimeUnit.MILLISECONDS);
-                if (!success) {
+            long remainingNanos = TimeUnit.MILLISECONDS.toNanos(maxTimeToBlockMs);
+            // only the first waiter reserves the pages to keep the allocations in FIFO order
+            while (waiters.peekFirst() != moreMemory || !tryReservePages(requiredPages)) {
+                if (remainingNanos <= 0) {
                     throw new EOFException(
                             "Failed to allocate new segment within the configured max blocking time "
                                     + maxTimeToBlockMs
@@ -192,6 +293,7 @@ public class LazyMemorySegmentPool implements MemorySegmentPool, Closeable {
                                     + ". Requested pages: "
                                     + requiredPages);
                 }
+                remainingNanos = moreMemory.awaitNanos(remainingNanos);
                 checkClosed();
             }
         } catch (InterruptedException e) {
@@ -199,6 +301,18 @@ public class LazyMemorySegmentPool implements MemorySegmentPool, Closeable {
             throw new FlussRuntimeException(e);
         } finally {
             waiters.remove(moreMemory);
+            waitTimeNanos.add(System.nanoTime() - startNanos);
+            // pass the remaining free pages on to the next waiter
+            if (freePages() > 0) {
+                signalFirstWaiter();
+            }
+        }
+    }
+
+    private void signalFirstWaiter() {
+        Condition firstWaiter = waiters.peekFirst();
+        if (firstWaiter != null) {
+            firstWaiter.signal();
         }
     }
 
@@ -222,24 +336,20 @@ public class LazyMemorySegmentPool implements MemorySegmentPool, Closeable {
         if (memory.isEmpty()) {
             return;
         }
-        inLock(
-                lock,
-                () -> {
-                    final int newPageUsage = pageUsage - memory.size();
-                    if (newPageUsage < 0) {
-                        throw new RuntimeException("Return too more memories.");
-                    }
-                    pageUsage = newPageUsage;
-                    cachePages.addAll(memory);
-                    for (int i = 0; i < memory.size() && !waiters.isEmpty(); i++) {
-                        waiters.peekFirst().signal();
-                    }
-                });
+        // the pages are pooled before released from the page usage, so that the allocations which
+        // reserve the released pages can take them
+        cachePages.addAll(memory);
+        try {
+            releasePages(memory.size());
+        } catch (RuntimeException e) {
+            cachePages.removeAll(memory);
+            throw e;
+        }
     }
 
     @Override
     public int freePages() {
-        return inLock(lock, () -> this.maxPages - this.pageUsage);
+        return this.maxPages - this.pageUsage.get();
     }
 
     @Override
@@ -249,13 +359,13 @@ public class LazyMemorySegmentPool implements MemorySegmentPool, Closeable {
 
     @Override
     public void close() {
-        inLock(
-                lock,
-                () -> {
-                    closed = true;
-                    cachePages.clear();
-                    waiters.forEach(Condition::signal);
-                });
+        closed = true;
+        int clearedPages = 0;
+        while (cachePages.poll() != null) {
+            clearedPages++;
+        }
+        allocatedPages.addAndGet(-clearedPages);
+        inLock(lock, () -> waiters.forEach(Condition::signal));
     }
 
     private void checkClosed() {
@@ -264,12 +374,28 @@ public class LazyMemorySegmentPool implements MemorySegmentPool, Closeable {
         }
     }
 
+    /** Returns the number of allocations waiting for the pages to be returned. */
     public int queued() {
-        return inLock(lock, waiters::size);
+        return waiters.size();
+    }
+
+    /** Returns the total time in milliseconds the allocations waited for the pages. */
+    public long totalWaitTimeMs() {
+        return TimeUnit.NANOSECONDS.toMillis(waitTimeNanos.sum());
+    }
+
+    /** Returns the number of pages allocated from the heap, including the pooled pages. */
+    public int allocatedPages() {
+        return allocatedPages.get();
+    }
+
+    /** Returns the number of pages allocated from the heap but not in use. */
+    public int pooledPages() {
+        return Math.max(0, allocatedPages.get() - pageUsage.get());
     }
 
     @VisibleForTesting
-    public List<MemorySegment> getAllCachePages() {
+    public Queue<MemorySegment> getAllCachePages() {
         return cachePages;
     }
 }
@@ -0,0 +1,240 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.fluss.metrics;
+
+import com.alibaba.fluss.annotation.VisibleForTesting;
+import com.alibaba.fluss.utils.clock.Clock;
+import com.alibaba.fluss.utils.clock.SystemClock;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.alibaba.fluss.utils.Preconditions.checkArgument;
+
+/**
+ * A lock-free {@link Histogram} which counts the values in logarithmic buckets over a decaying time
+ * window, so that recording a value is a few atomic increments and the quantiles are computed over
+ * all the values recorded in the window instead of a fixed number of samples.
+ *
+ * <p>Like the HdrHistogram, each power of two is split into {@link #SUB_BUCKETS} linear buckets, so
+ * the quantiles are accurate to within {@code 1 / (2 * SUB_BUCKETS)} of the value, and the values
+ * less than {@link #SUB_BUCKETS} are counted exactly. The buckets of a power of two are allocated
+ * on the first value recorded in it, so the memory is bounded by the range of the recorded values
+ * rather than the number of them.
+ *
+ * <p>The window is split into slices which are reused in a ring: when the time moves to a new
+ * slice, the slices of the expired time are cleared by the thread which wins the rotation, while
+ * the other threads keep recording into the current slice without waiting for it. The statistics
+ * cover the values recorded in the last {@code window} of time, decaying a slice at a time.
+ */
+@ThreadSafe
+public class LogBucketHistogram implements Histogram {
+
+    /** The default time window covered by the statistics of the histogram. */
+    public static final Duration DEFAULT_WINDOW = Duration.ofMinutes(1);
+
+    private static final int DEFAULT_NUM_SLICES = 4;
+
+    private static final int SUB_BUCKET_BITS = 4;
+
+    /** The number of linear buckets each power of two is split into. */
+    static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    // group 0 holds the values less than SUB_BUCKETS, group i (i > 0) holds the values in
+    // [2^(i + SUB_BUCKET_BITS - 1), 2^(i + SUB_BUCKET_BITS))
+    static final int NUM_GROUPS = Long.SIZE - SUB_BUCKET_BITS;
+
+    private final Clock clock;
+    private final long startNanos;
+    private final long sliceNanos;
+    private final Slice[] slices;
+    private final LongAdder count = new LongAdder();
+
+    /** The index of the time slice the values are recorded in. */
+    private volatile long currentTick;
+
+    private final AtomicBoolean rotating = new AtomicBoolean(false);
+
+    public LogBucketHistogram() {
+        this(DEFAULT_WINDOW);
+    }
+
+    public LogBucketHistogram(Duration window) {
+        this(window, DEFAULT_NUM_SLICES, SystemClock.getInstance());
+    }
+
+    @VisibleForTesting
+    LogBucketHistogram(Duration window, int numSlices, Clock clock) {
+        checkArgument(numSlices > 0, "The number of slices must be positive.");
+        checkArgument(
+                window.toNanos() >= numSlices,
+                "The window %s is too small to be split into %s slices.",
+                window,
+                numSlices);
+        this.clock = clock;
+        this.startNanos = clock.nanoseconds();
+        this.sliceNanos = window.toNanos() / numSlices;
+        this.slices = new Slice[numSlices];
+        for (int i = 0; i < numSlices; i++) {
+            slices[i] = new Slice();
+        }
+        this.currentTick = 0;
+    }
+
+    @Override
+    public void update(long value) {
+        long tick = advance();
+        slices[(int) (tick % slices.length)].record(Math.max(value, 0));
+        count.increment();
+    }
+
+    @Override
+    public long getCount() {
+        return count.sum();
+    }
+
+    @Override
+    public HistogramStatistics getStatistics() {
+        // expire the slices out of the window even if no value is recorded recently
+        advance();
+        long[] counts = new long[NUM_GROUPS * SUB_BUCKETS];
+        long sum = 0;
+        long min = Long.MAX_VALUE;
+        long max = Long.MIN_VALUE;
+        for (Slice slice : slices) {
+            slice.collect(counts);
+            sum += slice.sum.sum();
+            min = Math.min(min, slice.min.get());
+            max = Math.max(max, slice.max.get());
+        }
+        return new LogBucketHistogramStatistics(counts, sum, min, max);
+    }
+
+    /**
+     * Moves the histogram to the time slice of now if the time passes the current one and returns
+     * the tick of the slice to record values in. The thread failing to rotate the slices doesn't
+     * wait for the rotation, but records in the current slice which is still in the window.
+     */
+    private long advance() {
+        long tick = currentTick;
+        long now = (clock.nanoseconds() - startNanos) / sliceNanos;
+        if (now > tick && rotating.compareAndSet(false, true)) {
+            try {
+                tick = currentTick;
+                // clear the slices to be reused for the ticks in (tick, now], which hold the
+                // values of the ticks out of the window
+                for (long t = Math.max(tick + 1, now - slices.length + 1); t <= now; t++) {
+                    slices[(int) (t % slices.length)].reset();
+                }
+                currentTick = now;
+                tick = now;
+            } finally {
+                rotating.set(false);
+            }
+        }
+        return tick;
+    }
+
+    /** Returns the index of the bucket the value is counted in. */
+    static int bucketIndex(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        int shift = exponent - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) & (SUB_BUCKETS - 1);
+        return (shift + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    /** Returns the smallest value counted in the bucket of the given index. */
+    static long bucketLowerBound(int index) {
+        int group = index >>> SUB_BUCKET_BITS;
+        long subBucket = index & (SUB_BUCKETS - 1);
+        return group == 0 ? subBucket : (SUB_BUCKETS + subBucket) << (group - 1);
+    }
+
+    /** Returns the number of values counted in the bucket of the given index. */
+    static long bucketWidth(int index) {
+        int group = index >>> SUB_BUCKET_BITS;
+        return group == 0 ? 1 : 1L << (group - 1);
+    }
+
+    /** The values recorded in a slice of the time window. */
+    private static final class Slice {
+
+        private final AtomicReferenceArray<AtomicLongArray> groups =
+                new AtomicReferenceArray<>(NUM_GROUPS);
+        private final LongAdder sum = new LongAdder();
+        private final AtomicLong min = new AtomicLong(Long.MAX_VALUE);
+        private final AtomicLong max = new AtomicLong(Long.MIN_VALUE);
+
+        void record(long value) {
+            int index = bucketIndex(value);
+            int group = index >>> SUB_BUCKET_BITS;
+            AtomicLongArray buckets = groups.get(group);
+            if (buckets == null) {
+                groups.compareAndSet(group, null, new AtomicLongArray(SUB_BUCKETS));
+                buckets = groups.get(group);
+            }
+            buckets.incrementAndGet(index & (SUB_BUCKETS - 1));
+            sum.add(value);
+
+            long current;
+            while (value < (current = min.get()) && !min.compareAndSet(current, value)) {
+                // retry
+            }
+            while (value > (current = max.get()) && !max.compareAndSet(current, value)) {
+                // retry
+            }
+        }
+
+        /** Adds the bucket counts of the slice to the given counts. */
+        void collect(long[] counts) {
+            for (int group = 0; group < NUM_GROUPS; group++) {
+                AtomicLongArray buckets = groups.get(group);
+                if (buckets != null) {
+                    int offset = group * SUB_BUCKETS;
+                    for (int i = 0; i < SUB_BUCKETS; i++) {
+                        counts[offset + i] += buckets.get(i);
+                    }
+                }
+            }
+        }
+
+        void reset() {
+            // the buckets are kept to avoid reallocating them for the next values
+            for (int group = 0; group < NUM_GROUPS; group++) {
+                AtomicLongArray buckets = groups.get(group);
+                if (buckets != null) {
+                    for (int i = 0; i < SUB_BUCKETS; i++) {
+                        buckets.set(i, 0);
+                    }
+                }
+            }
+            sum.reset();
+            min.set(Long.MAX_VALUE);
+            max.set(Long.MIN_VALUE);
+        }
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.fluss.metrics;
+
+import static com.alibaba.fluss.metrics.LogBucketHistogram.bucketLowerBound;
+import static com.alibaba.fluss.metrics.LogBucketHistogram.bucketWidth;
+
+/**
+ * Histogram statistics implementation returned by {@link LogBucketHistogram}.
+ *
+ * <p>The statistics take a point-in-time snapshot of the bucket counts of the histogram, where each
+ * value is represented by the middle of the bucket it's counted in. The mean, the minimum and the
+ * maximum are exact, while the quantiles and the standard deviation are computed from the buckets.
+ * The values of the sample are not kept, {@link #getValues()} only returns a bounded set of values
+ * representing the distribution.
+ */
+public class LogBucketHistogramStatistics extends HistogramStatistics {
+
+    /** The max number of the values returned by {@link #getValues()}. */
+    public static final int MAX_VALUES = 1024;
+
+    private final long[] counts;
+    private final long totalCount;
+    private final long min;
+    private final long max;
+    private final double mean;
+
+    LogBucketHistogramStatistics(long[] counts, long sum, long min, long max) {
+        this.counts = counts;
+        long totalCount = 0;
+        for (long count : counts) {
+            totalCount += count;
+        }
+        this.totalCount = totalCount;
+        this.min = totalCount == 0 ? 0 : min;
+        this.max = totalCount == 0 ? 0 : max;
+        this.mean = totalCount == 0 ? 0 : (double) sum / totalCount;
+    }
+
+    @Override
+    public double getQuantile(double quantile) {
+        if (totalCount == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(quantile * totalCount));
+        if (rank >= totalCount) {
+            return max;
+        }
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return valueOf(i);
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Returns at most {@link #MAX_VALUES} values representing the distribution of the counted
+     * values, which are the values at the evenly spaced ranks in ascending order. All the values
+     * are returned if no more than {@link #MAX_VALUES} values are counted.
+     */
+    @Override
+    public long[] getValues() {
+        int numValues = (int) Math.min(totalCount, MAX_VALUES);
+        long[] values = new long[numValues];
+        int index = -1;
+        long seen = 0;
+        for (int i = 0; i < numValues; i++) {
+            long rank = i * totalCount / numValues + 1;
+            while (seen < rank) {
+                seen += counts[++index];
+            }
+            values[i] = Math.round(valueOf(index));
+        }
+        return values;
+    }
+
+    @Override
+    public int size() {
+        return (int) Math.min(totalCount, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public double getMean() {
+        return mean;
+    }
+
+    @Override
+    public double getStdDev() {
+        if (totalCount <= 1) {
+            return 0;
+        }
+        double squares = 0;
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] > 0) {
+                double diff = valueOf(i) - mean;
+                squares += diff * diff * counts[i];
+            }
+        }
+        // the bias-corrected sample standard deviation, the same as DescriptiveStatistics
+        return Math.sqrt(squares / (totalCount - 1));
+    }
+
+    @Override
+    public long getMax() {
+        return max;
+    }
+
+    @Override
+    public long getMin() {
+        return min;
+    }
+
+    /** The value representing the bucket, which is bounded by the exact minimum and maximum. */
+    private double valueOf(int index) {
+        double middle = bucketLowerBound(index) + (bucketWidth(index) - 1) / 2.0;
+        return Math.min(Math.max(middle, min), max);
+    }
+}
@@ -62,6 +62,14 @@ public class MetricNames {
             "delayedFetchFromFollowerExpiresPerSecond";
     public static final String DELAYED_FETCH_FROM_CLIENT_EXPIRES_RATE =
             "delayedFetchFromClientExpiresPerSecond";
+    public static final String KV_BUFFER_AVAILABLE_BYTES = "kvBufferAvailableBytes";
+    public static final String KV_BUFFER_WAITING_THREADS = "kvBufferWaitingThreads";
+    public static final String KV_BUFFER_WAIT_TIME_RATE = "kvBufferWaitTimeMsPerSecond";
+    public static final String KV_BUFFER_POOLED_PAGES = "kvBufferPooledPages";
+    public static final String KV_BUFFER_ALLOCATED_PAGES = "kvBufferAllocatedPages";
+    public static final String KV_RECOVER_TIME_MS = "kvRecoverTimeMs";
+    public static final String KV_RECOVERING_BUCKETS = "kvRecoveringBuckets";
+    public static final String KV_OPEN_SCANNERS = "kvOpenScanners";
 
     // --------------------------------------------------------------------------------------------
     // metrics for table
@@ -123,6 +131,10 @@ public class MetricNames {
     public static final String KV_PRE_WRITE_BUFFER_FLUSH_RATE = "preWriteBufferFlushPerSecond";
     public static final String KV_PRE_WRITE_BUFFER_FLUSH_LATENCY_MS =
             "preWriteBufferFlushLatencyMs";
+    public static final String KV_PRE_WRITE_BUFFER_MEMORY_SIZE = "preWriteBufferMemorySize";
+    public static final String KV_PRE_WRITE_BUFFER_ENTRY_COUNT = "preWriteBufferEntryCount";
+    public static final String KV_RECOVER_BUCKET_TIME_MS = "recoverTimeMs";
+    public static final String KV_SNAPSHOT_DOWNLOAD_TIME_MS = "snapshotDownloadTimeMs";
 
     // --------------------------------------------------------------------------------------------
     // metrics for rpc client
@@ -142,6 +154,9 @@ public class MetricNames {
     public static final String WRITER_BUFFER_TOTAL_BYTES = "bufferTotalBytes";
     public static final String WRITER_BUFFER_AVAILABLE_BYTES = "bufferAvailableBytes";
     public static final String WRITER_BUFFER_WAITING_THREADS = "bufferWaitingThreads";
+    public static final String WRITER_BUFFER_WAIT_TIME_RATE = "bufferWaitTimeMsPerSecond";
+    public static final String WRITER_BUFFER_POOLED_PAGES = "bufferPooledPages";
+    public static final String WRITER_BUFFER_ALLOCATED_PAGES = "bufferAllocatedPages";
     public static final String WRITER_BATCH_QUEUE_TIME_MS = "batchQueueTimeMs";
     public static final String WRITER_RECORDS_RETRY_RATE = "recordsRetryPerSecond";
     public static final String WRITER_RECORDS_SEND_RATE = "recordSendPerSecond";
@@ -149,6 +164,8 @@ public class MetricNames {
     public static final String WRITER_BYTES_PER_BATCH = "bytesPerBatch";
     public static final String WRITER_RECORDS_PER_BATCH = "recordsPerBatch";
     public static final String WRITER_SEND_LATENCY_MS = "sendLatencyMs";
+    public static final String WRITER_BUCKET_BATCH_TIMEOUT_MS = "batchTimeoutMs";
+    public static final String WRITER_BUCKET_BATCH_FILL_RATIO = "batchFillRatio";
 
     // for scanner
     public static final String SCANNER_TIME_MS_BETWEEN_POLL = "timeMsBetweenPoll";
@@ -161,6 +178,15 @@ public class MetricNames {
     public static final String SCANNER_REMOTE_FETCH_RATE = "remoteFetchRequestsPerSecond";
     public static final String SCANNER_REMOTE_FETCH_ERROR_RATE = "remoteFetchErrorPerSecond";
 
+    // for lookup cache
+    public static final String LOOKUP_CACHE_HIT_RATE = "hitsPerSecond";
+    public static final String LOOKUP_CACHE_MISS_RATE = "missesPerSecond";
+    public static final String LOOKUP_CACHE_HIT_RATIO = "hitRatio";
+    public static final String LOOKUP_CACHE_INVALIDATION_RATE = "invalidationsPerSecond";
+    public static final String LOOKUP_CACHE_INVALIDATION_LAG_MS = "invalidationLagMs";
+    public static final String LOOKUP_CACHE_SIZE = "size";
+    public static final String LOOKUP_CACHE_WEIGHT = "weightBytes";
+
     // for netty
     public static final String NETTY_USED_DIRECT_MEMORY = "usedDirectMemory";
     public static final String NETTY_NUM_DIRECT_ARENAS = "numDirectArenas";
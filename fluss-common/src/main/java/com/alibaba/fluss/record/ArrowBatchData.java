@@ -0,0 +1,91 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.fluss.record;
+
+import com.alibaba.fluss.annotation.Internal;
+import com.alibaba.fluss.row.arrow.ArrowReader;
+import com.alibaba.fluss.row.columnar.ColumnVector;
+
+import javax.annotation.Nullable;
+
+/**
+ * The columnar data of a {@link com.alibaba.fluss.metadata.LogFormat#ARROW} {@link LogRecordBatch}
+ * loaded by {@link LogRecordBatch#loadArrowBatch(LogRecordBatch.ReadContext, int)}. The column
+ * vectors read the decoded Arrow buffers directly, so no record is deserialized row by row.
+ *
+ * <p>The data owns the underlying Arrow buffers, which are released when it is closed.
+ */
+@Internal
+public class ArrowBatchData implements AutoCloseable {
+
+    private final ArrowReader reader;
+    @Nullable private final ChangeTypeVector changeTypeVector;
+    private final long baseLogOffset;
+    private final long timestamp;
+
+    public ArrowBatchData(
+            ArrowReader reader,
+            @Nullable ChangeTypeVector changeTypeVector,
+            long baseLogOffset,
+            long timestamp) {
+        this.reader = reader;
+        this.changeTypeVector = changeTypeVector;
+        this.baseLogOffset = baseLogOffset;
+        this.timestamp = timestamp;
+    }
+
+    /** Gets the column vectors of the records, in the order of the fields of the read row type. */
+    public ColumnVector[] getColumnVectors() {
+        return reader.getColumnVectors();
+    }
+
+    /**
+     * Gets the change types of the records, or null if the batch is an append only batch which
+     * means all the change types are {@link ChangeType#APPEND_ONLY}.
+     */
+    @Nullable
+    public ChangeTypeVector getChangeTypeVector() {
+        return changeTypeVector;
+    }
+
+    /** Gets the change type of the record at the given row. */
+    public ChangeType getChangeType(int rowId) {
+        return changeTypeVector == null
+                ? ChangeType.APPEND_ONLY
+                : changeTypeVector.getChangeType(rowId);
+    }
+
+    /** Gets the log offset of the first record, the record at row i has offset base + i. */
+    public long getBaseLogOffset() {
+        return baseLogOffset;
+    }
+
+    /** Gets the commit timestamp of the batch the records belong to. */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public int getRowCount() {
+        return reader.getRowCount();
+    }
+
+    @Override
+    public void close() {
+        reader.close();
+    }
+}
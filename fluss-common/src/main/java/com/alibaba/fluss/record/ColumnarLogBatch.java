@@ -0,0 +1,56 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.fluss.record;
+
+import com.alibaba.fluss.annotation.PublicEvolving;
+import com.alibaba.fluss.row.columnar.ColumnarRow;
+import com.alibaba.fluss.row.columnar.VectorizedColumnBatch;
+
+/**
+ * A batch of log records in columnar format. The rows of the batch are addressed by the row id in
+ * range {@code [0, getRowCount())}, the record at row id {@code i} has the log offset {@code
+ * getBaseLogOffset() + i}.
+ *
+ * @since 0.8
+ */
+@PublicEvolving
+public interface ColumnarLogBatch {
+
+    /** The number of records in the batch. */
+    int getRowCount();
+
+    /** The log offset of the first record in the batch. */
+    long getBaseLogOffset();
+
+    /** The log offset of the record at the given row id. */
+    default long getLogOffset(int rowId) {
+        return getBaseLogOffset() + rowId;
+    }
+
+    /** The commit timestamp of the records in the batch. */
+    long getTimestamp();
+
+    /** The columns of the records. */
+    VectorizedColumnBatch getColumns();
+
+    /** The change type of the record at the given row id. */
+    ChangeType getChangeType(int rowId);
+
+    /** Returns a row view of the record at the given row id. */
+    ColumnarRow getRow(int rowId);
+}
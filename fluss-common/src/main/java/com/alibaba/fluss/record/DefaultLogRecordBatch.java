@@ -32,9 +32,13 @@ import com.alibaba.fluss.utils.CloseableIterator;
 import com.alibaba.fluss.utils.MurmurHashUtils;
 import com.alibaba.fluss.utils.crc.Crc32C;
 
+import javax.annotation.Nullable;
+
 import java.nio.ByteBuffer;
 import java.util.NoSuchElementException;
 
+import static com.alibaba.fluss.utils.Preconditions.checkArgument;
+
 /* This file is based on source code of Apache Kafka Project (https://kafka.apache.org/), licensed by the Apache
  * Software Foundation (ASF) under the Apache License, Version 2.0. See the NOTICE file distributed with this work for
  * additional information regarding copyright ownership. */
@@ -77,11 +81,14 @@ import java.util.NoSuchElementException;
  * <p>The current attributes are given below:
  *
  * <pre>
- * ------------------------------------------
- * |  Unused (1-7)   |  AppendOnly Flag (0) |
- * ------------------------------------------
+ * -------------------------------------------------------------
+ * |  Unused (2-7)   |  Statistics Flag (1) |  AppendOnly Flag (0) |
+ * -------------------------------------------------------------
  * </pre>
  *
+ * <p>The statistics flag is only set by the {@link LogFormat#ARROW} batches with the {@link
+ * LogRecordBatchStatistics} serialized at the end of the records.
+ *
  * @since 0.1
  */
 // TODO rename to MemoryLogRecordBatch
@@ -117,6 +124,7 @@ public class DefaultLogRecordBatch implements LogRecordBatch {
     public static final int LOG_OVERHEAD = LENGTH_OFFSET + LENGTH_LENGTH;
 
     public static final byte APPEND_ONLY_FLAG_MASK = 0x01;
+    public static final byte STATISTICS_FLAG_MASK = 0x02;
 
     private MemorySegment segment;
     private int position;
@@ -187,10 +195,33 @@ public class DefaultLogRecordBatch implements LogRecordBatch {
     }
 
     private byte attributes() {
-        // note we're not using the byte of attributes now.
         return segment.get(ATTRIBUTES_OFFSET + position);
     }
 
+    @Nullable
+    @Override
+    public LogRecordBatchStatistics statistics() {
+        if (!hasStatistics()) {
+            return null;
+        }
+        return LogRecordBatchStatistics.readFrom(segment, position + sizeInBytes());
+    }
+
+    private boolean hasStatistics() {
+        return (attributes() & STATISTICS_FLAG_MASK) > 0;
+    }
+
+    /** Returns the size in bytes of the records without the statistics at the end of the batch. */
+    private int recordsEndOffset() {
+        int sizeInBytes = sizeInBytes();
+        if (hasStatistics()) {
+            int statisticsLength =
+                    segment.getInt(position + sizeInBytes - LogRecordBatchStatistics.LENGTH_LENGTH);
+            return sizeInBytes - LogRecordBatchStatistics.LENGTH_LENGTH - statisticsLength;
+        }
+        return sizeInBytes;
+    }
+
     @Override
     public long nextLogOffset() {
         return lastLogOffset() + 1;
@@ -301,14 +332,66 @@ public class DefaultLogRecordBatch implements LogRecordBatch {
         };
     }
 
+    @Override
+    public ArrowBatchData loadArrowBatch(ReadContext context, int startRowId) {
+        LogFormat logFormat = context.getLogFormat();
+        if (logFormat != LogFormat.ARROW) {
+            throw new IllegalArgumentException(
+                    "Only Arrow log format supports loading columnar batch, but is " + logFormat);
+        }
+        int recordCount = getRecordCount();
+        checkArgument(
+                startRowId >= 0 && startRowId < recordCount,
+                "The start row %s is out of range [0, %s).",
+                startRowId,
+                recordCount);
+
+        int schemaId = schemaId();
+        VectorSchemaRoot sharedRoot = context.getVectorSchemaRoot(schemaId);
+        int rowCount = recordCount - startRowId;
+        ChangeTypeVector changeTypeVector = null;
+        int arrowOffset = position + RECORD_BATCH_HEADER_SIZE;
+        if (!isAppendOnly()) {
+            // copy the change types out as the batch memory may be reused after loaded
+            byte[] changeTypes = new byte[rowCount];
+            segment.get(ARROW_CHANGETYPE_OFFSET + position + startRowId, changeTypes, 0, rowCount);
+            changeTypeVector = new ChangeTypeVector(MemorySegment.wrap(changeTypes), 0, rowCount);
+            arrowOffset += recordCount;
+        }
+        RowType rowType = context.getRowType(schemaId);
+        ArrowReader sharedReader =
+                ArrowUtils.createArrowReader(
+                        segment,
+                        arrowOffset,
+                        recordsEndOffset() - (arrowOffset - position),
+                        sharedRoot,
+                        context.getBufferAllocator(),
+                        rowType);
+        VectorSchemaRoot root;
+        try {
+            // move the decoded buffers out of the shared root which is reused by the next batch
+            root = ArrowUtils.transferVectorSchemaRoot(sharedRoot, startRowId, rowCount);
+        } finally {
+            sharedReader.close();
+        }
+        return new ArrowBatchData(
+                ArrowUtils.createArrowReader(root, rowType),
+                changeTypeVector,
+                baseLogOffset() + startRowId,
+                commitTimestamp());
+    }
+
+    private boolean isAppendOnly() {
+        return (attributes() & APPEND_ONLY_FLAG_MASK) > 0;
+    }
+
     private CloseableIterator<LogRecord> columnRecordIterator(
             RowType rowType, VectorSchemaRoot root, BufferAllocator allocator, long timestamp) {
-        boolean isAppendOnly = (attributes() & APPEND_ONLY_FLAG_MASK) > 0;
-        if (isAppendOnly) {
+        if (isAppendOnly()) {
             // append only batch, no change type vector,
             // the start of the arrow data is the beginning of the batch records
             int arrowOffset = position + RECORD_BATCH_HEADER_SIZE;
-            int arrowLength = sizeInBytes() - RECORD_BATCH_HEADER_SIZE;
+            int arrowLength = recordsEndOffset() - RECORD_BATCH_HEADER_SIZE;
             ArrowReader reader =
                     ArrowUtils.createArrowReader(
                             segment, arrowOffset, arrowLength, root, allocator, rowType);
@@ -326,7 +409,7 @@ public class DefaultLogRecordBatch implements LogRecordBatch {
                     new ChangeTypeVector(segment, changeTypeOffset, getRecordCount());
             int arrowOffset = changeTypeOffset + changeTypeVector.sizeInBytes();
             int arrowLength =
-                    sizeInBytes() - ARROW_CHANGETYPE_OFFSET - changeTypeVector.sizeInBytes();
+                    recordsEndOffset() - ARROW_CHANGETYPE_OFFSET - changeTypeVector.sizeInBytes();
             ArrowReader reader =
                     ArrowUtils.createArrowReader(
                             segment, arrowOffset, arrowLength, root, allocator, rowType);
@@ -22,6 +22,8 @@ import com.alibaba.fluss.memory.MemorySegment;
 import com.alibaba.fluss.utils.CloseableIterator;
 import com.alibaba.fluss.utils.FileUtils;
 
+import javax.annotation.Nullable;
+
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
@@ -167,6 +169,17 @@ public class FileLogInputStream
             return loadFullBatch().records(context);
         }
 
+        @Override
+        public ArrowBatchData loadArrowBatch(ReadContext context, int startRowId) {
+            return loadFullBatch().loadArrowBatch(context, startRowId);
+        }
+
+        @Nullable
+        @Override
+        public LogRecordBatchStatistics statistics() {
+            return loadFullBatch().statistics();
+        }
+
         @Override
         public boolean isValid() {
             return loadFullBatch().isValid();
@@ -20,6 +20,7 @@ package com.alibaba.fluss.record;
 import com.alibaba.fluss.annotation.VisibleForTesting;
 import com.alibaba.fluss.compression.ArrowCompressionInfo;
 import com.alibaba.fluss.exception.InvalidColumnProjectionException;
+import com.alibaba.fluss.memory.MemorySegment;
 import com.alibaba.fluss.record.bytesview.MultiBytesView;
 import com.alibaba.fluss.shaded.arrow.com.google.flatbuffers.FlatBufferBuilder;
 import com.alibaba.fluss.shaded.arrow.org.apache.arrow.flatbuf.Buffer;
@@ -40,6 +41,8 @@ import com.alibaba.fluss.types.RowType;
 import com.alibaba.fluss.utils.ArrowUtils;
 import com.alibaba.fluss.utils.types.Tuple2;
 
+import javax.annotation.Nullable;
+
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.nio.ByteBuffer;
@@ -60,11 +63,23 @@ import static com.alibaba.fluss.record.DefaultLogRecordBatch.LENGTH_OFFSET;
 import static com.alibaba.fluss.record.DefaultLogRecordBatch.LOG_OVERHEAD;
 import static com.alibaba.fluss.record.DefaultLogRecordBatch.RECORDS_COUNT_OFFSET;
 import static com.alibaba.fluss.record.DefaultLogRecordBatch.RECORD_BATCH_HEADER_SIZE;
+import static com.alibaba.fluss.record.DefaultLogRecordBatch.STATISTICS_FLAG_MASK;
+import static com.alibaba.fluss.utils.FileUtils.readFully;
 import static com.alibaba.fluss.utils.FileUtils.readFullyOrFail;
 import static com.alibaba.fluss.utils.Preconditions.checkNotNull;
 import static com.alibaba.fluss.utils.Preconditions.checkState;
 
-/** Column projection util on Arrow format {@link FileLogRecords}. */
+/**
+ * Column projection util on Arrow format {@link FileLogRecords}.
+ *
+ * <p>If a {@link LogRecordBatchFilter} is set, the batches whose {@link LogRecordBatchStatistics}
+ * don't match the filter are replaced by the batch headers without any record, which keep the
+ * offsets of the batches so that the readers can move forward to the next batch.
+ *
+ * <p>The headers of the batches are read through a read-ahead window of the file, so the log
+ * header, the arrow header and the arrow metadata of a batch are read by a single read, and the
+ * headers of consecutive small batches are served by the same read.
+ */
 public class FileLogProjection {
 
     // see the arrow binary message format in the page:
@@ -74,24 +89,44 @@ public class FileLogProjection {
     private static final int ARROW_IPC_METADATA_SIZE_LENGTH = 4;
     private static final int ARROW_HEADER_SIZE =
             ARROW_IPC_CONTINUATION_LENGTH + ARROW_IPC_METADATA_SIZE_LENGTH;
+    // the default size of the read-ahead window, which is enough for the headers and the arrow
+    // metadata of a batch in most cases, the window grows for the larger arrow metadata
+    private static final int READ_AHEAD_SIZE = 4096;
 
     final Map<Long, ProjectionInfo> projectionsCache = new HashMap<>();
     ProjectionInfo currentProjection;
+    @Nullable LogRecordBatchFilter currentFilter;
 
     // shared resources for multiple projections
     private final ByteArrayOutputStream outputStream;
     private final WriteChannel writeChannel;
     private final ByteBuffer logHeaderBuffer = ByteBuffer.allocate(RECORD_BATCH_HEADER_SIZE);
-    private final ByteBuffer arrowHeaderBuffer = ByteBuffer.allocate(ARROW_HEADER_SIZE);
-    private ByteBuffer arrowMetadataBuffer;
+    private final ByteBuffer statisticsLengthBuffer =
+            ByteBuffer.allocate(LogRecordBatchStatistics.LENGTH_LENGTH);
+
+    // the read-ahead window of the file content in [readAheadStart, readAheadStart +
+    // readAheadLength) of the readAheadChannel
+    private ByteBuffer readAheadBuffer;
+    @Nullable private FileChannel readAheadChannel;
+    private long readAheadStart;
+    private int readAheadLength;
 
     public FileLogProjection() {
         this.outputStream = new ByteArrayOutputStream();
         this.writeChannel = new WriteChannel(Channels.newChannel(outputStream));
         // fluss use little endian for encoding log records batch
         this.logHeaderBuffer.order(ByteOrder.LITTLE_ENDIAN);
+        this.statisticsLengthBuffer.order(ByteOrder.LITTLE_ENDIAN);
         // arrow force use little endian to encode int32 values
-        this.arrowHeaderBuffer.order(ByteOrder.LITTLE_ENDIAN);
+        this.readAheadBuffer = ByteBuffer.allocate(READ_AHEAD_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Sets the filter to skip the batches by their statistics for the following projections, null
+     * to disable filtering.
+     */
+    public void setCurrentFilter(@Nullable LogRecordBatchFilter filter) {
+        this.currentFilter = filter;
     }
 
     public void setCurrentProjection(
@@ -99,57 +134,38 @@ public class FileLogProjection {
             RowType schema,
             ArrowCompressionInfo compressionInfo,
             int[] selectedFields) {
-        if (projectionsCache.containsKey(tableId)) {
-            // the schema and projection should identical for the same table id.
-            currentProjection = projectionsCache.get(tableId);
-            if (!Arrays.equals(currentProjection.selectedFields, selectedFields)
-                    || !currentProjection.schema.equals(schema)) {
-                throw new InvalidColumnProjectionException(
-                        "The schema and projection should be identical for the same table id.");
-            }
+        ProjectionInfo cached = projectionsCache.get(tableId);
+        if (cached != null) {
+            checkIdenticalProjection(cached, schema, selectedFields);
+            currentProjection = cached;
             return;
         }
+        setCurrentProjection(
+                tableId, ProjectionInfo.create(schema, compressionInfo, selectedFields));
+    }
 
-        // initialize the projection util information
-        Schema arrowSchema = ArrowUtils.toArrowSchema(schema);
-        BitSet selection = toBitSet(arrowSchema.getFields().size(), selectedFields);
-        List<Tuple2<Field, Boolean>> flattenedFields = new ArrayList<>();
-        flattenFields(arrowSchema.getFields(), selection, flattenedFields);
-        int totalFieldNodes = flattenedFields.size();
-        int[] bufferLayoutCount = new int[totalFieldNodes];
-        BitSet nodesProjection = new BitSet(totalFieldNodes);
-        int totalBuffers = 0;
-        for (int i = 0; i < totalFieldNodes; i++) {
-            Field fieldNode = flattenedFields.get(i).f0;
-            boolean selected = flattenedFields.get(i).f1;
-            nodesProjection.set(i, selected);
-            bufferLayoutCount[i] = TypeLayout.getTypeBufferCount(fieldNode.getType());
-            totalBuffers += bufferLayoutCount[i];
-        }
-        BitSet buffersProjection = new BitSet(totalBuffers);
-        int bufferIndex = 0;
-        for (int i = 0; i < totalFieldNodes; i++) {
-            if (nodesProjection.get(i)) {
-                buffersProjection.set(bufferIndex, bufferIndex + bufferLayoutCount[i]);
-            }
-            bufferIndex += bufferLayoutCount[i];
+    /**
+     * Sets the current projection to the given prepared projection, which may be shared by the
+     * other {@link FileLogProjection}s.
+     */
+    public void setCurrentProjection(long tableId, ProjectionInfo projection) {
+        ProjectionInfo cached = projectionsCache.putIfAbsent(tableId, projection);
+        if (cached != null && cached != projection) {
+            checkIdenticalProjection(cached, projection.schema, projection.selectedFields);
+            currentProjection = cached;
+        } else {
+            currentProjection = projection;
         }
+    }
 
-        Schema projectedArrowSchema = ArrowUtils.toArrowSchema(schema.project(selectedFields));
-        ArrowBodyCompression bodyCompression =
-                CompressionUtil.createBodyCompression(compressionInfo.createCompressionCodec());
-        int metadataLength =
-                ArrowUtils.estimateArrowMetadataLength(projectedArrowSchema, bodyCompression);
-        currentProjection =
-                new ProjectionInfo(
-                        nodesProjection,
-                        buffersProjection,
-                        bufferIndex,
-                        schema,
-                        metadataLength,
-                        bodyCompression,
-                        selectedFields);
-        projectionsCache.put(tableId, currentProjection);
+    private static void checkIdenticalProjection(
+            ProjectionInfo cached, RowType schema, int[] selectedFields) {
+        // the schema and projection should identical for the same table id.
+        if (!Arrays.equals(cached.selectedFields, selectedFields)
+                || !cached.schema.equals(schema)) {
+            throw new InvalidColumnProjectionException(
+                    "The schema and projection should be identical for the same table id.");
+        }
     }
 
     /**
@@ -161,6 +177,8 @@ public class FileLogProjection {
     public BytesViewLogRecords project(FileChannel channel, int start, int end, int maxBytes)
             throws IOException {
         checkNotNull(currentProjection, "There is no projection registered yet.");
+        // the file may be truncated and rewritten since the last projection
+        readAheadChannel = null;
         MultiBytesView.Builder builder = MultiBytesView.builder();
         int position = start;
         while (maxBytes > RECORD_BATCH_HEADER_SIZE) {
@@ -170,9 +188,10 @@ public class FileLogProjection {
             }
 
             // read log header
-            logHeaderBuffer.rewind();
-            readFullyOrFail(channel, logHeaderBuffer, position, "log header");
-
+            int logHeaderOffset =
+                    readAhead(channel, position, RECORD_BATCH_HEADER_SIZE, end, "log header");
+            logHeaderBuffer.clear();
+            logHeaderBuffer.put(readAheadBuffer.array(), logHeaderOffset, RECORD_BATCH_HEADER_SIZE);
             logHeaderBuffer.rewind();
             int batchSizeInBytes = LOG_OVERHEAD + logHeaderBuffer.getInt(LENGTH_OFFSET);
             if (position > end - batchSizeInBytes) {
@@ -188,8 +207,24 @@ public class FileLogProjection {
                 continue;
             }
 
-            boolean isAppendOnly =
-                    (logHeaderBuffer.get(ATTRIBUTES_OFFSET) & APPEND_ONLY_FLAG_MASK) > 0;
+            byte attributes = logHeaderBuffer.get(ATTRIBUTES_OFFSET);
+            boolean isAppendOnly = (attributes & APPEND_ONLY_FLAG_MASK) > 0;
+            boolean hasStatistics = (attributes & STATISTICS_FLAG_MASK) > 0;
+            // the statistics are not projected, so clear the flag in the new header
+            logHeaderBuffer.put(ATTRIBUTES_OFFSET, (byte) (attributes & ~STATISTICS_FLAG_MASK));
+
+            if (currentFilter != null
+                    && hasStatistics
+                    && !currentFilter.test(
+                            readStatistics(channel, position + batchSizeInBytes),
+                            logHeaderBuffer.getInt(RECORDS_COUNT_OFFSET))) {
+                // the batch can't contain any matched record, only return the header to move
+                // the fetch offset forward
+                builder.addBytes(toEmptyBatchHeader());
+                maxBytes -= RECORD_BATCH_HEADER_SIZE;
+                position += batchSizeInBytes;
+                continue;
+            }
 
             final int changeTypeBytes;
             final long arrowHeaderOffset;
@@ -202,21 +237,22 @@ public class FileLogProjection {
             }
 
             // read arrow header
-            arrowHeaderBuffer.rewind();
-            readFullyOrFail(channel, arrowHeaderBuffer, arrowHeaderOffset, "arrow header");
-            arrowHeaderBuffer.position(ARROW_IPC_METADATA_SIZE_OFFSET);
-            int arrowMetadataSize = arrowHeaderBuffer.getInt();
-
-            resizeArrowMetadataBuffer(arrowMetadataSize);
-            arrowMetadataBuffer.rewind();
-            readFullyOrFail(
-                    channel,
-                    arrowMetadataBuffer,
-                    arrowHeaderOffset + ARROW_HEADER_SIZE,
-                    "arrow metadata");
-
-            arrowMetadataBuffer.rewind();
-            Message metadata = Message.getRootAsMessage(arrowMetadataBuffer);
+            int arrowHeaderBufferOffset =
+                    readAhead(channel, arrowHeaderOffset, ARROW_HEADER_SIZE, end, "arrow header");
+            int arrowMetadataSize =
+                    readAheadBuffer.getInt(
+                            arrowHeaderBufferOffset + ARROW_IPC_METADATA_SIZE_OFFSET);
+
+            int arrowMetadataOffset =
+                    readAhead(
+                            channel,
+                            arrowHeaderOffset + ARROW_HEADER_SIZE,
+                            arrowMetadataSize,
+                            end,
+                            "arrow metadata");
+            readAheadBuffer.position(arrowMetadataOffset);
+            readAheadBuffer.limit(arrowMetadataOffset + arrowMetadataSize);
+            Message metadata = Message.getRootAsMessage(readAheadBuffer);
             ProjectedArrowBatch projectedArrowBatch =
                     projectArrowBatch(
                             metadata,
@@ -272,6 +308,78 @@ public class FileLogProjection {
         return new BytesViewLogRecords(builder.build());
     }
 
+    /**
+     * Makes sure the bytes of the file in [position, position + length) are in the read-ahead
+     * window, the window is refilled from the position with the bytes until the end position if the
+     * bytes are not in the window.
+     *
+     * @return the offset of the position in the {@link #readAheadBuffer}.
+     */
+    private int readAhead(
+            FileChannel channel, long position, int length, int end, String description)
+            throws IOException {
+        if (channel == readAheadChannel
+                && position >= readAheadStart
+                && position + length <= readAheadStart + readAheadLength) {
+            readAheadBuffer.clear();
+            return (int) (position - readAheadStart);
+        }
+
+        int readLength =
+                (int) Math.max(length, Math.min(readAheadBuffer.capacity(), end - position));
+        if (readLength > readAheadBuffer.capacity()) {
+            readAheadBuffer = ByteBuffer.allocate(readLength).order(ByteOrder.LITTLE_ENDIAN);
+        }
+        // invalidate the window first in case the reading fails
+        readAheadChannel = null;
+        readAheadBuffer.clear();
+        readAheadBuffer.limit(readLength);
+        readFully(channel, readAheadBuffer, position);
+        if (readAheadBuffer.position() < length) {
+            // reached the end of the file, read the required bytes only to fail with the same
+            // error as reading the bytes directly
+            readAheadBuffer.clear();
+            readAheadBuffer.limit(length);
+            readFullyOrFail(channel, readAheadBuffer, position, description);
+        }
+        readAheadChannel = channel;
+        readAheadStart = position;
+        readAheadLength = readAheadBuffer.position();
+        readAheadBuffer.clear();
+        return 0;
+    }
+
+    /** Reads the statistics which end at the given position of the file. */
+    private LogRecordBatchStatistics readStatistics(FileChannel channel, long endPosition)
+            throws IOException {
+        statisticsLengthBuffer.rewind();
+        readFullyOrFail(
+                channel,
+                statisticsLengthBuffer,
+                endPosition - LogRecordBatchStatistics.LENGTH_LENGTH,
+                "statistics length");
+        int statisticsLength = statisticsLengthBuffer.getInt(0);
+        int statisticsSize = statisticsLength + LogRecordBatchStatistics.LENGTH_LENGTH;
+        ByteBuffer statisticsBuffer = ByteBuffer.allocate(statisticsSize);
+        readFullyOrFail(channel, statisticsBuffer, endPosition - statisticsSize, "statistics");
+        return LogRecordBatchStatistics.readFrom(
+                MemorySegment.wrap(statisticsBuffer.array()), statisticsSize);
+    }
+
+    /**
+     * Creates a batch header without any record from the current log header, which keeps the
+     * offsets of the batch.
+     */
+    private byte[] toEmptyBatchHeader() {
+        byte[] header = new byte[RECORD_BATCH_HEADER_SIZE];
+        ByteBuffer headerBuffer = ByteBuffer.wrap(header).order(ByteOrder.LITTLE_ENDIAN);
+        logHeaderBuffer.rewind();
+        headerBuffer.put(logHeaderBuffer);
+        headerBuffer.putInt(LENGTH_OFFSET, RECORD_BATCH_HEADER_SIZE - LOG_OVERHEAD);
+        headerBuffer.putInt(RECORDS_COUNT_OFFSET, 0);
+        return header;
+    }
+
     private ProjectedArrowBatch projectArrowBatch(
             Message metadata, BitSet nodesProjection, BitSet buffersProjection, int bufferCount) {
         List<ArrowFieldNode> newNodes = new ArrayList<>();
@@ -321,17 +429,8 @@ public class FileLogProjection {
         return outputStream.toByteArray();
     }
 
-    private void resizeArrowMetadataBuffer(int metadataSize) {
-        if (arrowMetadataBuffer == null || arrowMetadataBuffer.capacity() < metadataSize) {
-            arrowMetadataBuffer = ByteBuffer.allocate(metadataSize);
-            arrowMetadataBuffer.order(ByteOrder.LITTLE_ENDIAN);
-        } else {
-            arrowMetadataBuffer.limit(metadataSize);
-        }
-    }
-
     /** Flatten fields by a pre-order depth-first traversal of the fields in the schema. */
-    private void flattenFields(
+    private static void flattenFields(
             List<Field> arrowFields,
             BitSet selectedFields,
             List<Tuple2<Field, Boolean>> flattenedFields) {
@@ -385,7 +484,11 @@ public class FileLogProjection {
         return logHeaderBuffer;
     }
 
-    static final class ProjectionInfo {
+    /**
+     * The prepared projection of a schema, which is immutable and can be shared by the {@link
+     * FileLogProjection}s of different fetches.
+     */
+    public static final class ProjectionInfo {
         final BitSet nodesProjection;
         final BitSet buffersProjection;
         final int bufferCount;
@@ -410,6 +513,48 @@ public class FileLogProjection {
             this.bodyCompression = bodyCompression;
             this.selectedFields = selectedFields;
         }
+
+        /** Prepares the projection of the given fields of the schema. */
+        public static ProjectionInfo create(
+                RowType schema, ArrowCompressionInfo compressionInfo, int[] selectedFields) {
+            Schema arrowSchema = ArrowUtils.toArrowSchema(schema);
+            BitSet selection = toBitSet(arrowSchema.getFields().size(), selectedFields);
+            List<Tuple2<Field, Boolean>> flattenedFields = new ArrayList<>();
+            flattenFields(arrowSchema.getFields(), selection, flattenedFields);
+            int totalFieldNodes = flattenedFields.size();
+            int[] bufferLayoutCount = new int[totalFieldNodes];
+            BitSet nodesProjection = new BitSet(totalFieldNodes);
+            int totalBuffers = 0;
+            for (int i = 0; i < totalFieldNodes; i++) {
+                Field fieldNode = flattenedFields.get(i).f0;
+                boolean selected = flattenedFields.get(i).f1;
+                nodesProjection.set(i, selected);
+                bufferLayoutCount[i] = TypeLayout.getTypeBufferCount(fieldNode.getType());
+                totalBuffers += bufferLayoutCount[i];
+            }
+            BitSet buffersProjection = new BitSet(totalBuffers);
+            int bufferIndex = 0;
+            for (int i = 0; i < totalFieldNodes; i++) {
+                if (nodesProjection.get(i)) {
+                    buffersProjection.set(bufferIndex, bufferIndex + bufferLayoutCount[i]);
+                }
+                bufferIndex += bufferLayoutCount[i];
+            }
+
+            Schema projectedArrowSchema = ArrowUtils.toArrowSchema(schema.project(selectedFields));
+            ArrowBodyCompression bodyCompression =
+                    CompressionUtil.createBodyCompression(compressionInfo.createCompressionCodec());
+            int metadataLength =
+                    ArrowUtils.estimateArrowMetadataLength(projectedArrowSchema, bodyCompression);
+            return new ProjectionInfo(
+                    nodesProjection,
+                    buffersProjection,
+                    bufferIndex,
+                    schema,
+                    metadataLength,
+                    bodyCompression,
+                    selectedFields);
+        }
     }
 
     /** Metadata of a projected arrow record batch. */
@@ -35,6 +35,7 @@ import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.StandardOpenOption;
 import java.util.Iterator;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
 
 /* This file is based on source code of Apache Kafka Project (https://kafka.apache.org/), licensed by the Apache
@@ -184,6 +185,39 @@ public class FileLogRecords implements LogRecords, Closeable {
         return written;
     }
 
+    /**
+     * Append the given list of records with a single gathering write, which saves the system calls
+     * of appending many small record sets one by one.
+     */
+    public int append(List<MemoryLogRecords> recordsList) throws IOException {
+        if (recordsList.size() == 1) {
+            return append(recordsList.get(0));
+        }
+
+        long totalSize = 0;
+        ByteBuffer[] buffers = new ByteBuffer[recordsList.size()];
+        for (int i = 0; i < buffers.length; i++) {
+            MemoryLogRecords records = recordsList.get(i);
+            buffers[i] =
+                    records.getMemorySegment().wrap(records.getPosition(), records.sizeInBytes());
+            totalSize += records.sizeInBytes();
+        }
+        if (totalSize > Integer.MAX_VALUE - size.get()) {
+            throw new IllegalArgumentException(
+                    "Append of size "
+                            + totalSize
+                            + " bytes is too large for segment with current file position at "
+                            + size.get());
+        }
+
+        long written = 0;
+        while (written < totalSize) {
+            written += channel.write(buffers);
+        }
+        size.getAndAdd((int) written);
+        return (int) written;
+    }
+
     /** Commit all written data to the physical disk. */
     public void flush() throws IOException {
         channel.force(true);
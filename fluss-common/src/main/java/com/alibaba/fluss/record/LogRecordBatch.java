@@ -24,6 +24,8 @@ import com.alibaba.fluss.shaded.arrow.org.apache.arrow.vector.VectorSchemaRoot;
 import com.alibaba.fluss.types.RowType;
 import com.alibaba.fluss.utils.CloseableIterator;
 
+import javax.annotation.Nullable;
+
 import java.util.Iterator;
 
 /**
@@ -143,6 +145,15 @@ public interface LogRecordBatch {
      */
     int getRecordCount();
 
+    /**
+     * Get the column statistics of the records in this batch, which are only collected for the
+     * {@link LogFormat#ARROW} batches of the tables with statistics columns.
+     *
+     * @return The statistics of this batch, or null if the batch has no statistics.
+     */
+    @Nullable
+    LogRecordBatchStatistics statistics();
+
     /**
      * Returns a closeable iterator of records for this batch which basically delays deserialization
      * of the record stream until the records are actually asked for using {@link Iterator#next()}.
@@ -154,6 +165,20 @@ public interface LogRecordBatch {
      */
     CloseableIterator<LogRecord> records(ReadContext context);
 
+    /**
+     * Loads the records of this {@link LogFormat#ARROW} batch from the given row into a columnar
+     * {@link ArrowBatchData}, which exposes the decoded Arrow vectors directly instead of
+     * deserializing the records one by one. Unlike the vector schema root of the {@link
+     * ReadContext}, the returned data is not shared with other batches, so it can be cached until
+     * callers close it.
+     *
+     * @param context The context to read records from the record batch.
+     * @param startRowId The row of the first record to load, must be less than the record count.
+     * @return The columnar data of the records in this batch from the given row
+     * @throws IllegalArgumentException if the batch is not in {@link LogFormat#ARROW} format.
+     */
+    ArrowBatchData loadArrowBatch(ReadContext context, int startRowId);
+
     /** The read context of a {@link LogRecordBatch} to read records. */
     interface ReadContext {
 
@@ -0,0 +1,358 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.fluss.record;
+
+import com.alibaba.fluss.annotation.PublicEvolving;
+import com.alibaba.fluss.record.LogRecordBatchStatistics.ColumnStatistics;
+import com.alibaba.fluss.record.LogRecordBatchStatistics.ValueKind;
+import com.alibaba.fluss.row.BinaryString;
+import com.alibaba.fluss.row.TimestampLtz;
+import com.alibaba.fluss.row.TimestampNtz;
+import com.alibaba.fluss.types.DataType;
+import com.alibaba.fluss.types.RowType;
+
+import javax.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+import static com.alibaba.fluss.record.LogRecordBatchStatisticsCollector.timestampToLong;
+import static com.alibaba.fluss.record.LogRecordBatchStatisticsCollector.valueKindOf;
+import static com.alibaba.fluss.utils.Preconditions.checkArgument;
+import static com.alibaba.fluss.utils.Preconditions.checkNotNull;
+
+/**
+ * A conjunction of column predicates which is evaluated on the {@link LogRecordBatchStatistics} of
+ * the {@link LogRecordBatch}es to skip the batches which can't contain any matched record. The
+ * filter is evaluated at batch level only, the records of the batches which may match are all
+ * returned, so callers still need to filter the records.
+ *
+ * <p>Only the columns of boolean, integral, floating point, character string, date, time and
+ * timestamp types are supported, the predicates on the other columns are ignored by the {@link
+ * Builder}.
+ *
+ * @since 0.8
+ */
+@PublicEvolving
+public final class LogRecordBatchFilter {
+
+    private final List<Predicate> predicates;
+
+    private LogRecordBatchFilter(List<Predicate> predicates) {
+        this.predicates = predicates;
+    }
+
+    /** Creates a filter of the conjunction of the given predicates. */
+    public static LogRecordBatchFilter of(List<Predicate> predicates) {
+        checkArgument(!predicates.isEmpty(), "The predicates of the filter must not be empty.");
+        return new LogRecordBatchFilter(Collections.unmodifiableList(new ArrayList<>(predicates)));
+    }
+
+    /** Creates a builder of the filter on the rows of the given row type. */
+    public static Builder builder(RowType rowType) {
+        return new Builder(rowType);
+    }
+
+    public List<Predicate> getPredicates() {
+        return predicates;
+    }
+
+    /**
+     * Tests whether a batch with the given statistics may contain any record matching the filter. A
+     * batch without statistics may always match.
+     *
+     * @param statistics the statistics of the batch, null if the batch has no statistics
+     * @param recordCount the number of records in the batch
+     */
+    public boolean test(@Nullable LogRecordBatchStatistics statistics, int recordCount) {
+        if (statistics == null) {
+            return true;
+        }
+        for (Predicate predicate : predicates) {
+            ColumnStatistics columnStatistics =
+                    statistics.getColumnStatistics(predicate.fieldIndex);
+            if (columnStatistics != null && !predicate.test(columnStatistics, recordCount)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        LogRecordBatchFilter that = (LogRecordBatchFilter) o;
+        return predicates.equals(that.predicates);
+    }
+
+    @Override
+    public int hashCode() {
+        return predicates.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "LogRecordBatchFilter" + predicates;
+    }
+
+    // ------------------------------------------------------------------------------------------
+
+    /** The operators of the {@link Predicate}s. */
+    public enum Operator {
+        EQUAL(0),
+        NOT_EQUAL(1),
+        LESS_THAN(2),
+        LESS_OR_EQUAL(3),
+        GREATER_THAN(4),
+        GREATER_OR_EQUAL(5),
+        IS_NULL(6),
+        IS_NOT_NULL(7);
+
+        private final int id;
+
+        Operator(int id) {
+            this.id = id;
+        }
+
+        public int getId() {
+            return id;
+        }
+
+        public static Operator fromId(int id) {
+            for (Operator operator : values()) {
+                if (operator.id == id) {
+                    return operator;
+                }
+            }
+            throw new IllegalArgumentException("Unknown batch filter operator id: " + id);
+        }
+
+        boolean isNullCheck() {
+            return this == IS_NULL || this == IS_NOT_NULL;
+        }
+    }
+
+    /**
+     * A predicate comparing a column with a literal. The literal is a {@link Long}, {@link Double}
+     * or {@link BinaryString} according to the {@link ValueKind} of the column, and is null for
+     * {@link Operator#IS_NULL} and {@link Operator#IS_NOT_NULL}.
+     */
+    public static final class Predicate {
+        private final int fieldIndex;
+        private final Operator operator;
+        @Nullable private final Comparable<?> literal;
+
+        public Predicate(int fieldIndex, Operator operator, @Nullable Comparable<?> literal) {
+            checkArgument(
+                    operator.isNullCheck() == (literal == null),
+                    "The literal must be null only for the null check operators, but is %s for %s.",
+                    literal,
+                    operator);
+            checkArgument(
+                    literal == null
+                            || literal instanceof Long
+                            || literal instanceof Double
+                            || literal instanceof BinaryString,
+                    "Unsupported literal type: %s",
+                    literal == null ? null : literal.getClass());
+            this.fieldIndex = fieldIndex;
+            this.operator = checkNotNull(operator);
+            this.literal = literal;
+        }
+
+        public int getFieldIndex() {
+            return fieldIndex;
+        }
+
+        public Operator getOperator() {
+            return operator;
+        }
+
+        @Nullable
+        public Comparable<?> getLiteral() {
+            return literal;
+        }
+
+        private boolean test(ColumnStatistics statistics, int recordCount) {
+            int nullCount = statistics.getNullCount();
+            if (operator == Operator.IS_NULL) {
+                return nullCount > 0;
+            }
+            if (operator == Operator.IS_NOT_NULL || nullCount >= recordCount) {
+                // comparisons with null are never true
+                return nullCount < recordCount;
+            }
+            Comparable<?> min = statistics.getMin();
+            Comparable<?> max = statistics.getMax();
+            if (min == null || max == null || min.getClass() != literal.getClass()) {
+                // no bounds, or the column type has been changed, which may match
+                return true;
+            }
+            switch (operator) {
+                case EQUAL:
+                    return compare(literal, min) >= 0 && compare(literal, max) <= 0;
+                case NOT_EQUAL:
+                    return compare(literal, min) != 0 || compare(literal, max) != 0;
+                case LESS_THAN:
+                    return compare(min, literal) < 0;
+                case LESS_OR_EQUAL:
+                    return compare(min, literal) <= 0;
+                case GREATER_THAN:
+                    return compare(max, literal) > 0;
+                case GREATER_OR_EQUAL:
+                    return compare(max, literal) >= 0;
+                default:
+                    return true;
+            }
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private static int compare(Comparable a, Comparable b) {
+            return a.compareTo(b);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            Predicate that = (Predicate) o;
+            return fieldIndex == that.fieldIndex
+                    && operator == that.operator
+                    && Objects.equals(literal, that.literal);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(fieldIndex, operator, literal);
+        }
+
+        @Override
+        public String toString() {
+            return "$" + fieldIndex + " " + operator + (literal == null ? "" : " " + literal);
+        }
+    }
+
+    /**
+     * Builder of {@link LogRecordBatchFilter}, which converts the literals in the internal data
+     * structures of the column types (e.g., {@link Integer} for INT, {@link BinaryString} for
+     * STRING and {@link TimestampNtz} for TIMESTAMP) to the literals of the {@link Predicate}s.
+     */
+    public static final class Builder {
+        private final RowType rowType;
+        private final List<Predicate> predicates = new ArrayList<>();
+
+        private Builder(RowType rowType) {
+            this.rowType = rowType;
+        }
+
+        /**
+         * Adds a predicate on the field with the given name, see {@link #add(int, Operator,
+         * Object)}.
+         */
+        public boolean add(String fieldName, Operator operator, @Nullable Object literal) {
+            int fieldIndex = rowType.getFieldIndex(fieldName);
+            checkArgument(fieldIndex >= 0, "Field %s doesn't exist in %s.", fieldName, rowType);
+            return add(fieldIndex, operator, literal);
+        }
+
+        /**
+         * Adds a predicate on the field with the given index.
+         *
+         * @return false if the predicate is ignored because the column type or the literal is not
+         *     supported, which is always treated as a match.
+         */
+        public boolean add(int fieldIndex, Operator operator, @Nullable Object literal) {
+            if (operator.isNullCheck()) {
+                predicates.add(new Predicate(fieldIndex, operator, null));
+                return true;
+            }
+            if (literal == null) {
+                return false;
+            }
+            Comparable<?> normalized = normalize(rowType.getTypeAt(fieldIndex), literal);
+            if (normalized == null) {
+                return false;
+            }
+            predicates.add(new Predicate(fieldIndex, operator, normalized));
+            return true;
+        }
+
+        /** Builds the filter, or returns null if there is no supported predicate. */
+        @Nullable
+        public LogRecordBatchFilter build() {
+            return predicates.isEmpty() ? null : of(predicates);
+        }
+
+        @Nullable
+        private static Comparable<?> normalize(DataType type, Object literal) {
+            ValueKind kind = valueKindOf(type);
+            try {
+                switch (kind) {
+                    case LONG:
+                        if (literal instanceof Boolean) {
+                            return (Boolean) literal ? 1L : 0L;
+                        } else if (literal instanceof TimestampNtz) {
+                            TimestampNtz ntz = (TimestampNtz) literal;
+                            return timestampToLong(
+                                    ntz.getMillisecond(), ntz.getNanoOfMillisecond());
+                        } else if (literal instanceof TimestampLtz) {
+                            TimestampLtz ltz = (TimestampLtz) literal;
+                            return timestampToLong(
+                                    ltz.getEpochMillisecond(), ltz.getNanoOfMillisecond());
+                        } else if (literal instanceof Byte
+                                || literal instanceof Short
+                                || literal instanceof Integer
+                                || literal instanceof Long) {
+                            return ((Number) literal).longValue();
+                        }
+                        return null;
+                    case DOUBLE:
+                        if (!(literal instanceof Float || literal instanceof Double)) {
+                            return null;
+                        }
+                        double value = ((Number) literal).doubleValue();
+                        // normalize -0.0 to 0.0 as the statistics do
+                        return Double.isNaN(value) ? null : value + 0.0d;
+                    case STRING:
+                        if (literal instanceof BinaryString) {
+                            return ((BinaryString) literal).copy();
+                        } else if (literal instanceof String) {
+                            return BinaryString.fromString((String) literal);
+                        }
+                        return null;
+                    default:
+                        return null;
+                }
+            } catch (ArithmeticException e) {
+                // the timestamp is out of the range of the statistics
+                return null;
+            }
+        }
+    }
+}
@@ -0,0 +1,227 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.fluss.record;
+
+import com.alibaba.fluss.annotation.PublicEvolving;
+import com.alibaba.fluss.exception.CorruptMessageException;
+import com.alibaba.fluss.memory.MemorySegment;
+import com.alibaba.fluss.metadata.LogFormat;
+import com.alibaba.fluss.row.BinaryString;
+
+import javax.annotation.Nullable;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The column statistics of a {@link LogFormat#ARROW} {@link LogRecordBatch}, which are collected
+ * when the batch is built for the columns configured by {@code table.log.arrow.statistics.columns}.
+ * The statistics are used to skip the batches which can't contain any record matching a {@link
+ * LogRecordBatchFilter} without decoding the records.
+ *
+ * <p>The statistics are serialized at the end of the batch, and the batch sets the statistics flag
+ * in its attributes. The schema of the serialized statistics is given below:
+ *
+ * <ul>
+ *   Statistics =>
+ *   <li>Version => Int8
+ *   <li>ColumnCount => Int16
+ *   <li>Columns => [FieldIndex => Int16, NullCount => Int32, ValueKind => Int8, Min, Max]
+ *   <li>Length => Int32
+ * </ul>
+ *
+ * <p>The type of the Min and Max values depends on the ValueKind: Int64 for {@link ValueKind#LONG},
+ * Float64 for {@link ValueKind#DOUBLE}, and Int32 length prefixed UTF-8 bytes for {@link
+ * ValueKind#STRING}. There are no Min and Max values for {@link ValueKind#NONE}, which is used for
+ * the unsupported types and the columns without any comparable value. The trailing Length is the
+ * size in bytes of the statistics without itself, so that the statistics can be located from the
+ * end of the batch.
+ *
+ * @since 0.8
+ */
+@PublicEvolving
+public final class LogRecordBatchStatistics {
+
+    static final byte CURRENT_VERSION = 0;
+    static final int LENGTH_LENGTH = 4;
+
+    private final Map<Integer, ColumnStatistics> columns;
+
+    LogRecordBatchStatistics(Map<Integer, ColumnStatistics> columns) {
+        this.columns = columns;
+    }
+
+    /**
+     * Gets the statistics of the field with the given index in the row type of the batch, or null
+     * if the statistics are not collected for the field.
+     */
+    @Nullable
+    public ColumnStatistics getColumnStatistics(int fieldIndex) {
+        return columns.get(fieldIndex);
+    }
+
+    /** Reads the statistics which end at the given position (exclusive) of the segment. */
+    static LogRecordBatchStatistics readFrom(MemorySegment segment, int endPosition) {
+        int length = segment.getInt(endPosition - LENGTH_LENGTH);
+        int position = endPosition - LENGTH_LENGTH - length;
+        if (length < 3 || position < 0) {
+            throw new CorruptMessageException(
+                    "Record batch statistics are corrupt (the length is " + length + ")");
+        }
+        byte version = segment.get(position);
+        if (version != CURRENT_VERSION) {
+            // statistics of an unknown version can't be used, treat it as no statistics
+            return new LogRecordBatchStatistics(new HashMap<>());
+        }
+        int columnCount = segment.getShort(position + 1);
+        position += 3;
+        Map<Integer, ColumnStatistics> columns = new HashMap<>(columnCount);
+        for (int i = 0; i < columnCount; i++) {
+            int fieldIndex = segment.getShort(position);
+            int nullCount = segment.getInt(position + 2);
+            ValueKind kind = ValueKind.fromId(segment.get(position + 6));
+            position += 7;
+            Comparable<?> min = null;
+            Comparable<?> max = null;
+            switch (kind) {
+                case LONG:
+                    min = segment.getLong(position);
+                    max = segment.getLong(position + 8);
+                    position += 16;
+                    break;
+                case DOUBLE:
+                    min = segment.getDouble(position);
+                    max = segment.getDouble(position + 8);
+                    position += 16;
+                    break;
+                case STRING:
+                    int minLength = segment.getInt(position);
+                    min = BinaryString.fromBytes(readBytes(segment, position + 4, minLength));
+                    position += 4 + minLength;
+                    int maxLength = segment.getInt(position);
+                    max = BinaryString.fromBytes(readBytes(segment, position + 4, maxLength));
+                    position += 4 + maxLength;
+                    break;
+                default:
+                    break;
+            }
+            columns.put(fieldIndex, new ColumnStatistics(nullCount, kind, min, max));
+        }
+        return new LogRecordBatchStatistics(columns);
+    }
+
+    private static byte[] readBytes(MemorySegment segment, int position, int length) {
+        byte[] bytes = new byte[length];
+        segment.get(position, bytes, 0, length);
+        return bytes;
+    }
+
+    @Override
+    public String toString() {
+        return "LogRecordBatchStatistics{" + columns + '}';
+    }
+
+    // ------------------------------------------------------------------------------------------
+
+    /** The kind of the min and max values of a column, see {@link LogRecordBatchStatistics}. */
+    public enum ValueKind {
+        /** No min and max values. */
+        NONE((byte) 0),
+        /** The values of integral, boolean, date, time and timestamp types as a long. */
+        LONG((byte) 1),
+        /** The values of floating point types as a double. */
+        DOUBLE((byte) 2),
+        /** The values of character string types as a {@link BinaryString}. */
+        STRING((byte) 3);
+
+        final byte id;
+
+        ValueKind(byte id) {
+            this.id = id;
+        }
+
+        static ValueKind fromId(byte id) {
+            for (ValueKind kind : values()) {
+                if (kind.id == id) {
+                    return kind;
+                }
+            }
+            // the value kind added by a newer version can't be compared
+            return NONE;
+        }
+    }
+
+    /** The statistics of a column in a {@link LogRecordBatch}. */
+    public static final class ColumnStatistics {
+        private final int nullCount;
+        private final ValueKind valueKind;
+        @Nullable private final Comparable<?> min;
+        @Nullable private final Comparable<?> max;
+
+        ColumnStatistics(
+                int nullCount,
+                ValueKind valueKind,
+                @Nullable Comparable<?> min,
+                @Nullable Comparable<?> max) {
+            this.nullCount = nullCount;
+            this.valueKind = valueKind;
+            this.min = min;
+            this.max = max;
+        }
+
+        /** Gets the number of null values of the column in the batch. */
+        public int getNullCount() {
+            return nullCount;
+        }
+
+        /** Gets the kind of the min and max values. */
+        public ValueKind getValueKind() {
+            return valueKind;
+        }
+
+        /**
+         * Gets the min value of the non-null values of the column in the batch, or null if the
+         * value kind is {@link ValueKind#NONE}.
+         */
+        @Nullable
+        public Comparable<?> getMin() {
+            return min;
+        }
+
+        /**
+         * Gets the max value of the non-null values of the column in the batch, or null if the
+         * value kind is {@link ValueKind#NONE}.
+         */
+        @Nullable
+        public Comparable<?> getMax() {
+            return max;
+        }
+
+        @Override
+        public String toString() {
+            return "ColumnStatistics{"
+                    + "nullCount="
+                    + nullCount
+                    + ", min="
+                    + min
+                    + ", max="
+                    + max
+                    + '}';
+        }
+    }
+}
@@ -0,0 +1,340 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.fluss.record;
+
+import com.alibaba.fluss.annotation.Internal;
+import com.alibaba.fluss.memory.OutputView;
+import com.alibaba.fluss.record.LogRecordBatchStatistics.ValueKind;
+import com.alibaba.fluss.row.BinaryString;
+import com.alibaba.fluss.row.InternalRow;
+import com.alibaba.fluss.row.TimestampLtz;
+import com.alibaba.fluss.row.TimestampNtz;
+import com.alibaba.fluss.types.DataType;
+import com.alibaba.fluss.types.DataTypeChecks;
+import com.alibaba.fluss.types.DataTypeRoot;
+import com.alibaba.fluss.types.RowType;
+
+import javax.annotation.Nullable;
+
+import java.io.IOException;
+import java.util.List;
+
+import static com.alibaba.fluss.record.LogRecordBatchStatistics.CURRENT_VERSION;
+import static com.alibaba.fluss.record.LogRecordBatchStatistics.LENGTH_LENGTH;
+
+/**
+ * Collects the {@link LogRecordBatchStatistics} of the rows appended to a {@link
+ * MemoryLogRecordsArrowBuilder}. A collector is created for each batch and is not thread safe.
+ */
+@Internal
+public final class LogRecordBatchStatisticsCollector {
+
+    /**
+     * The max size in bytes of the min and max values of a string column, the strings longer than
+     * that disable the min and max values of the column to keep the statistics small.
+     */
+    static final int MAX_STRING_STATISTICS_SIZE = 256;
+
+    private static final int HEADER_SIZE = 3;
+    private static final int COLUMN_HEADER_SIZE = 7;
+
+    private final ColumnCollector[] columns;
+
+    public LogRecordBatchStatisticsCollector(RowType rowType, int[] fieldIndexes) {
+        this.columns = new ColumnCollector[fieldIndexes.length];
+        for (int i = 0; i < fieldIndexes.length; i++) {
+            columns[i] = new ColumnCollector(fieldIndexes[i], rowType.getTypeAt(fieldIndexes[i]));
+        }
+    }
+
+    /**
+     * Creates a collector for the given columns of the row type, or returns null if no column is
+     * given.
+     *
+     * @throws IllegalArgumentException if any column doesn't exist in the row type.
+     */
+    @Nullable
+    public static LogRecordBatchStatisticsCollector create(RowType rowType, List<String> columns) {
+        if (columns.isEmpty()) {
+            return null;
+        }
+        int[] fieldIndexes = new int[columns.size()];
+        for (int i = 0; i < fieldIndexes.length; i++) {
+            fieldIndexes[i] = rowType.getFieldIndex(columns.get(i));
+            if (fieldIndexes[i] < 0) {
+                throw new IllegalArgumentException(
+                        "The statistics column '"
+                                + columns.get(i)
+                                + "' doesn't exist in the row type "
+                                + rowType);
+            }
+        }
+        return new LogRecordBatchStatisticsCollector(rowType, fieldIndexes);
+    }
+
+    /** Updates the statistics with the given row. */
+    public void update(InternalRow row) {
+        for (ColumnCollector column : columns) {
+            column.update(row);
+        }
+    }
+
+    /** Gets the size in bytes of the serialized statistics including the trailing length. */
+    public int sizeInBytes() {
+        int size = HEADER_SIZE + LENGTH_LENGTH;
+        for (ColumnCollector column : columns) {
+            size += COLUMN_HEADER_SIZE + column.boundsSizeInBytes();
+        }
+        return size;
+    }
+
+    /** Serializes the statistics to the given output view. */
+    public void writeTo(OutputView outputView) throws IOException {
+        outputView.writeByte(CURRENT_VERSION);
+        outputView.writeShort(columns.length);
+        for (ColumnCollector column : columns) {
+            column.writeTo(outputView);
+        }
+        outputView.writeInt(sizeInBytes() - LENGTH_LENGTH);
+    }
+
+    // ------------------------------------------------------------------------------------------
+
+    /** Gets the kind of the min and max values of the given type. */
+    static ValueKind valueKindOf(DataType type) {
+        switch (type.getTypeRoot()) {
+            case BOOLEAN:
+            case TINYINT:
+            case SMALLINT:
+            case INTEGER:
+            case BIGINT:
+            case DATE:
+            case TIME_WITHOUT_TIME_ZONE:
+            case TIMESTAMP_WITHOUT_TIME_ZONE:
+            case TIMESTAMP_WITH_LOCAL_TIME_ZONE:
+                return ValueKind.LONG;
+            case FLOAT:
+            case DOUBLE:
+                return ValueKind.DOUBLE;
+            case CHAR:
+            case STRING:
+                return ValueKind.STRING;
+            default:
+                return ValueKind.NONE;
+        }
+    }
+
+    /**
+     * Encodes a timestamp as the nanoseconds since epoch.
+     *
+     * @throws ArithmeticException if the timestamp is out of the range of the encoding.
+     */
+    static long timestampToLong(long millisecond, int nanoOfMillisecond) {
+        return Math.addExact(Math.multiplyExact(millisecond, 1_000_000L), nanoOfMillisecond);
+    }
+
+    /** The statistics of a column. */
+    private static final class ColumnCollector {
+        private final int fieldIndex;
+        private final DataTypeRoot typeRoot;
+        private final int precision;
+        private final ValueKind valueKind;
+
+        private int nullCount;
+        private boolean hasBounds;
+        // the bounds are disabled once a value can't be compared, e.g. NaN
+        private boolean boundsDisabled;
+        private long minLong;
+        private long maxLong;
+        private double minDouble;
+        private double maxDouble;
+        private BinaryString minString;
+        private BinaryString maxString;
+
+        private ColumnCollector(int fieldIndex, DataType type) {
+            this.fieldIndex = fieldIndex;
+            this.typeRoot = type.getTypeRoot();
+            this.valueKind = valueKindOf(type);
+            this.precision =
+                    typeRoot == DataTypeRoot.TIMESTAMP_WITHOUT_TIME_ZONE
+                                    || typeRoot == DataTypeRoot.TIMESTAMP_WITH_LOCAL_TIME_ZONE
+                            ? DataTypeChecks.getPrecision(type)
+                            : 0;
+        }
+
+        private void update(InternalRow row) {
+            if (row.isNullAt(fieldIndex)) {
+                nullCount++;
+                return;
+            }
+            if (boundsDisabled) {
+                return;
+            }
+            switch (valueKind) {
+                case LONG:
+                    updateLong(row);
+                    break;
+                case DOUBLE:
+                    double doubleValue =
+                            typeRoot == DataTypeRoot.FLOAT
+                                    ? row.getFloat(fieldIndex)
+                                    : row.getDouble(fieldIndex);
+                    updateDouble(doubleValue);
+                    break;
+                case STRING:
+                    updateString(row.getString(fieldIndex));
+                    break;
+                default:
+                    boundsDisabled = true;
+            }
+        }
+
+        private void updateLong(InternalRow row) {
+            long value;
+            switch (typeRoot) {
+                case BOOLEAN:
+                    value = row.getBoolean(fieldIndex) ? 1 : 0;
+                    break;
+                case TINYINT:
+                    value = row.getByte(fieldIndex);
+                    break;
+                case SMALLINT:
+                    value = row.getShort(fieldIndex);
+                    break;
+                case BIGINT:
+                    value = row.getLong(fieldIndex);
+                    break;
+                case TIMESTAMP_WITHOUT_TIME_ZONE:
+                    TimestampNtz ntz = row.getTimestampNtz(fieldIndex, precision);
+                    try {
+                        value = timestampToLong(ntz.getMillisecond(), ntz.getNanoOfMillisecond());
+                    } catch (ArithmeticException e) {
+                        boundsDisabled = true;
+                        return;
+                    }
+                    break;
+                case TIMESTAMP_WITH_LOCAL_TIME_ZONE:
+                    TimestampLtz ltz = row.getTimestampLtz(fieldIndex, precision);
+                    try {
+                        value =
+                                timestampToLong(
+                                        ltz.getEpochMillisecond(), ltz.getNanoOfMillisecond());
+                    } catch (ArithmeticException e) {
+                        boundsDisabled = true;
+                        return;
+                    }
+                    break;
+                default:
+                    // INTEGER, DATE and TIME
+                    value = row.getInt(fieldIndex);
+            }
+            if (!hasBounds) {
+                minLong = value;
+                maxLong = value;
+                hasBounds = true;
+            } else if (value < minLong) {
+                minLong = value;
+            } else if (value > maxLong) {
+                maxLong = value;
+            }
+        }
+
+        private void updateDouble(double value) {
+            if (Double.isNaN(value)) {
+                boundsDisabled = true;
+                return;
+            }
+            // normalize -0.0 to 0.0 as they are equal
+            value += 0.0d;
+            if (!hasBounds) {
+                minDouble = value;
+                maxDouble = value;
+                hasBounds = true;
+            } else if (value < minDouble) {
+                minDouble = value;
+            } else if (value > maxDouble) {
+                maxDouble = value;
+            }
+        }
+
+        private void updateString(BinaryString value) {
+            if (value.getSizeInBytes() > MAX_STRING_STATISTICS_SIZE) {
+                boundsDisabled = true;
+                minString = null;
+                maxString = null;
+                return;
+            }
+            // copy the bounds out as the memory of the row may be reused
+            if (!hasBounds) {
+                minString = value.copy();
+                maxString = minString;
+                hasBounds = true;
+            } else if (value.compareTo(minString) < 0) {
+                minString = value.copy();
+            } else if (value.compareTo(maxString) > 0) {
+                maxString = value.copy();
+            }
+        }
+
+        private ValueKind boundsKind() {
+            return hasBounds && !boundsDisabled ? valueKind : ValueKind.NONE;
+        }
+
+        private int boundsSizeInBytes() {
+            switch (boundsKind()) {
+                case LONG:
+                case DOUBLE:
+                    return 16;
+                case STRING:
+                    return 8 + minString.getSizeInBytes() + maxString.getSizeInBytes();
+                default:
+                    return 0;
+            }
+        }
+
+        private void writeTo(OutputView outputView) throws IOException {
+            ValueKind boundsKind = boundsKind();
+            outputView.writeShort(fieldIndex);
+            outputView.writeInt(nullCount);
+            outputView.writeByte(boundsKind.id);
+            switch (boundsKind) {
+                case LONG:
+                    outputView.writeLong(minLong);
+                    outputView.writeLong(maxLong);
+                    break;
+                case DOUBLE:
+                    outputView.writeDouble(minDouble);
+                    outputView.writeDouble(maxDouble);
+                    break;
+                case STRING:
+                    writeString(outputView, minString);
+                    writeString(outputView, maxString);
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        private static void writeString(OutputView outputView, BinaryString value)
+                throws IOException {
+            byte[] bytes = value.toBytes();
+            outputView.writeInt(bytes.length);
+            outputView.write(bytes);
+        }
+    }
+}
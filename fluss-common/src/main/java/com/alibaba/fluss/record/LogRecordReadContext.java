@@ -51,6 +51,8 @@ public class LogRecordReadContext implements LogRecordBatch.ReadContext, AutoClo
     @Nullable private final VectorSchemaRoot vectorSchemaRoot;
     // the Arrow memory buffer allocator for the table, should be null if not ARROW log format
     @Nullable private final BufferAllocator bufferAllocator;
+    // the indexes of the final selected fields in the read data
+    private final int[] selectedFields;
     // the final selected fields of the read data
     private final FieldGetter[] selectedFieldGetters;
     // whether the projection is push downed to the server side and the returned data is pruned.
@@ -106,6 +108,7 @@ public class LogRecordReadContext implements LogRecordBatch.ReadContext, AutoClo
                 schemaId,
                 vectorRoot,
                 allocator,
+                selectedFields,
                 fieldGetters,
                 projectionPushDowned);
     }
@@ -146,7 +149,14 @@ public class LogRecordReadContext implements LogRecordBatch.ReadContext, AutoClo
         FieldGetter[] fieldGetters = buildProjectedFieldGetters(rowType, selectedFields);
         // for INDEXED log format, the projection is NEVER push downed to the server side
         return new LogRecordReadContext(
-                LogFormat.INDEXED, rowType, schemaId, null, null, fieldGetters, false);
+                LogFormat.INDEXED,
+                rowType,
+                schemaId,
+                null,
+                null,
+                selectedFields,
+                fieldGetters,
+                false);
     }
 
     private LogRecordReadContext(
@@ -155,6 +165,7 @@ public class LogRecordReadContext implements LogRecordBatch.ReadContext, AutoClo
             int schemaId,
             VectorSchemaRoot vectorSchemaRoot,
             BufferAllocator bufferAllocator,
+            int[] selectedFields,
             FieldGetter[] selectedFieldGetters,
             boolean projectionPushDowned) {
         this.logFormat = logFormat;
@@ -162,6 +173,7 @@ public class LogRecordReadContext implements LogRecordBatch.ReadContext, AutoClo
         this.schemaId = schemaId;
         this.vectorSchemaRoot = vectorSchemaRoot;
         this.bufferAllocator = bufferAllocator;
+        this.selectedFields = selectedFields;
         this.selectedFieldGetters = selectedFieldGetters;
         this.projectionPushDowned = projectionPushDowned;
     }
@@ -181,6 +193,11 @@ public class LogRecordReadContext implements LogRecordBatch.ReadContext, AutoClo
         return dataRowType;
     }
 
+    /** Get the indexes of the selected fields in the read data, in the order of final output. */
+    public int[] getSelectedFields() {
+        return selectedFields;
+    }
+
     /** Get the selected field getters for the read data. */
     public FieldGetter[] getSelectedFieldGetters() {
         return selectedFieldGetters;
@@ -27,14 +27,18 @@ import com.alibaba.fluss.row.InternalRow;
 import com.alibaba.fluss.row.arrow.ArrowWriter;
 import com.alibaba.fluss.utils.crc.Crc32C;
 
+import javax.annotation.Nullable;
+
 import java.io.IOException;
 
+import static com.alibaba.fluss.record.DefaultLogRecordBatch.APPEND_ONLY_FLAG_MASK;
 import static com.alibaba.fluss.record.DefaultLogRecordBatch.ARROW_CHANGETYPE_OFFSET;
 import static com.alibaba.fluss.record.DefaultLogRecordBatch.BASE_OFFSET_LENGTH;
 import static com.alibaba.fluss.record.DefaultLogRecordBatch.CRC_OFFSET;
 import static com.alibaba.fluss.record.DefaultLogRecordBatch.LENGTH_LENGTH;
 import static com.alibaba.fluss.record.DefaultLogRecordBatch.RECORD_BATCH_HEADER_SIZE;
 import static com.alibaba.fluss.record.DefaultLogRecordBatch.SCHEMA_ID_OFFSET;
+import static com.alibaba.fluss.record.DefaultLogRecordBatch.STATISTICS_FLAG_MASK;
 import static com.alibaba.fluss.record.LogRecordBatch.CURRENT_LOG_MAGIC_VALUE;
 import static com.alibaba.fluss.record.LogRecordBatch.NO_BATCH_SEQUENCE;
 import static com.alibaba.fluss.record.LogRecordBatch.NO_WRITER_ID;
@@ -54,6 +58,7 @@ public class MemoryLogRecordsArrowBuilder implements AutoCloseable {
     private final MemorySegment firstSegment;
     private final AbstractPagedOutputView pagedOutputView;
     private final boolean appendOnly;
+    @Nullable private final LogRecordBatchStatisticsCollector statisticsCollector;
 
     private volatile MultiBytesView bytesView = null;
 
@@ -72,8 +77,10 @@ public class MemoryLogRecordsArrowBuilder implements AutoCloseable {
             byte magic,
             ArrowWriter arrowWriter,
             AbstractPagedOutputView pagedOutputView,
-            boolean appendOnly) {
+            boolean appendOnly,
+            @Nullable LogRecordBatchStatisticsCollector statisticsCollector) {
         this.appendOnly = appendOnly;
+        this.statisticsCollector = statisticsCollector;
         checkArgument(
                 schemaId <= Short.MAX_VALUE,
                 "schemaId shouldn't be greater than the max value of short: " + Short.MAX_VALUE);
@@ -106,7 +113,13 @@ public class MemoryLogRecordsArrowBuilder implements AutoCloseable {
             ArrowWriter arrowWriter,
             AbstractPagedOutputView outputView) {
         return new MemoryLogRecordsArrowBuilder(
-                baseLogOffset, schemaId, CURRENT_LOG_MAGIC_VALUE, arrowWriter, outputView, false);
+                baseLogOffset,
+                schemaId,
+                CURRENT_LOG_MAGIC_VALUE,
+                arrowWriter,
+                outputView,
+                false,
+                null);
     }
 
     /** Builder with limited write size and the memory segment used to serialize records. */
@@ -115,13 +128,28 @@ public class MemoryLogRecordsArrowBuilder implements AutoCloseable {
             ArrowWriter arrowWriter,
             AbstractPagedOutputView outputView,
             boolean appendOnly) {
+        return builder(schemaId, arrowWriter, outputView, appendOnly, null);
+    }
+
+    /**
+     * Builder with limited write size and the memory segment used to serialize records, the
+     * statistics of the appended records are collected by the given collector and written at the
+     * end of the batch if the collector is not null.
+     */
+    public static MemoryLogRecordsArrowBuilder builder(
+            int schemaId,
+            ArrowWriter arrowWriter,
+            AbstractPagedOutputView outputView,
+            boolean appendOnly,
+            @Nullable LogRecordBatchStatisticsCollector statisticsCollector) {
         return new MemoryLogRecordsArrowBuilder(
                 BUILDER_DEFAULT_OFFSET,
                 schemaId,
                 CURRENT_LOG_MAGIC_VALUE,
                 arrowWriter,
                 outputView,
-                appendOnly);
+                appendOnly,
+                statisticsCollector);
     }
 
     public MultiBytesView build() throws IOException {
@@ -141,6 +169,10 @@ public class MemoryLogRecordsArrowBuilder implements AutoCloseable {
         arrowWriter.serializeToOutputView(
                 pagedOutputView, ARROW_CHANGETYPE_OFFSET + changeTypeWriter.sizeInBytes());
         recordCount = arrowWriter.getRecordsCount();
+        if (hasStatistics()) {
+            // the statistics follow the arrow batch, see LogRecordBatchStatistics
+            statisticsCollector.writeTo(pagedOutputView);
+        }
         bytesView =
                 MultiBytesView.builder()
                         .addMemorySegmentByteViewList(pagedOutputView.getWrittenSegments())
@@ -180,6 +212,9 @@ public class MemoryLogRecordsArrowBuilder implements AutoCloseable {
         if (!appendOnly) {
             changeTypeWriter.writeChangeType(changeType);
         }
+        if (statisticsCollector != null) {
+            statisticsCollector.update(row);
+        }
         reCalculateSizeInBytes = true;
     }
 
@@ -239,7 +274,8 @@ public class MemoryLogRecordsArrowBuilder implements AutoCloseable {
             estimatedSizeInBytes =
                     ARROW_CHANGETYPE_OFFSET
                             + changeTypeWriter.sizeInBytes()
-                            + arrowWriter.estimatedSizeInBytes();
+                            + arrowWriter.estimatedSizeInBytes()
+                            + (statisticsCollector == null ? 0 : statisticsCollector.sizeInBytes());
         }
 
         reCalculateSizeInBytes = false;
@@ -263,8 +299,8 @@ public class MemoryLogRecordsArrowBuilder implements AutoCloseable {
         outputView.writeUnsignedInt(0);
         // write schema id
         outputView.writeShort((short) schemaId);
-        // write attributes (currently only appendOnly flag)
-        outputView.writeBoolean(appendOnly);
+        // write attributes
+        outputView.writeByte(attributes());
         // write lastOffsetDelta
         if (recordCount > 0) {
             outputView.writeInt(recordCount - 1);
@@ -283,6 +319,21 @@ public class MemoryLogRecordsArrowBuilder implements AutoCloseable {
         outputView.writeUnsignedInt(crc);
     }
 
+    private boolean hasStatistics() {
+        return statisticsCollector != null && recordCount > 0;
+    }
+
+    private byte attributes() {
+        byte attributes = 0;
+        if (appendOnly) {
+            attributes |= APPEND_ONLY_FLAG_MASK;
+        }
+        if (hasStatistics()) {
+            attributes |= STATISTICS_FLAG_MASK;
+        }
+        return attributes;
+    }
+
     @VisibleForTesting
     int getWriteLimitInBytes() {
         return arrowWriter.getWriteLimitInBytes();
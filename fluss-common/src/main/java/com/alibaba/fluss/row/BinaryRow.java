@@ -32,4 +32,14 @@ public interface BinaryRow extends InternalRow, MemoryAwareGetters {
      * @param dstOffset The copying offset in the destination memory.
      */
     void copyTo(byte[] dst, int dstOffset);
+
+    /**
+     * Points the row to the bytes in the given memory segment, which allows to reuse the row
+     * instance to read many rows of the same schema.
+     *
+     * @param segment the memory segment of the row bytes.
+     * @param offset the offset of the row bytes in the memory segment.
+     * @param sizeInBytes the size in bytes of the row.
+     */
+    void pointTo(MemorySegment segment, int offset, int sizeInBytes);
 }
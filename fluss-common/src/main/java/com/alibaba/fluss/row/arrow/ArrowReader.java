@@ -52,6 +52,11 @@ public class ArrowReader {
         return rowCount;
     }
 
+    /** Gets the column vectors of the underlying Arrow format data. */
+    public ColumnVector[] getColumnVectors() {
+        return columnVectors;
+    }
+
     /** Read the {@link InternalRow} from underlying Arrow format data. */
     public ColumnarRow read(int rowId) {
         return new ColumnarRow(new VectorizedColumnBatch(columnVectors), rowId);
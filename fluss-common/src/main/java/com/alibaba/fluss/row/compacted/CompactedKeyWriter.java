@@ -17,8 +17,12 @@
 
 package com.alibaba.fluss.row.compacted;
 
+import com.alibaba.fluss.row.TimestampLtz;
+import com.alibaba.fluss.row.TimestampNtz;
 import com.alibaba.fluss.types.DataType;
 
+import static com.alibaba.fluss.types.DataTypeChecks.getPrecision;
+
 /**
  * A wrapping of {@link CompactedRowWriter} used to encode key columns.
  *
@@ -45,4 +49,40 @@ public class CompactedKeyWriter extends CompactedRowWriter {
             }
         };
     }
+
+    /**
+     * Returns the minimum number of bytes of the encoded value of the given type. The values of
+     * int, long and the length of string and bytes are written in variable length, so the minimum
+     * size of them is 1 byte.
+     */
+    public static int getMinEncodedSize(DataType fieldType) {
+        switch (fieldType.getTypeRoot()) {
+            case BOOLEAN:
+            case TINYINT:
+            case CHAR:
+            case STRING:
+            case BINARY:
+            case BYTES:
+            case DECIMAL:
+            case INTEGER:
+            case DATE:
+            case TIME_WITHOUT_TIME_ZONE:
+            case BIGINT:
+                return 1;
+            case SMALLINT:
+                return 2;
+            case FLOAT:
+                return 4;
+            case DOUBLE:
+                return 8;
+            case TIMESTAMP_WITHOUT_TIME_ZONE:
+                // the nano of millisecond is written after the millisecond if not compact
+                return TimestampNtz.isCompact(getPrecision(fieldType)) ? 1 : 2;
+            case TIMESTAMP_WITH_LOCAL_TIME_ZONE:
+                return TimestampLtz.isCompact(getPrecision(fieldType)) ? 1 : 2;
+            default:
+                throw new IllegalArgumentException(
+                        "Unsupported type for compacted key encoder: " + fieldType);
+        }
+    }
 }
@@ -93,9 +93,12 @@ public class CompactedRow implements BinaryRow {
         segment.get(offset, dst, dstOffset, sizeInBytes);
     }
 
+    @Override
     public void pointTo(MemorySegment segment, int offset, int sizeInBytes) {
+        if (this.segment != segment) {
+            this.segments = new MemorySegment[] {segment};
+        }
         this.segment = segment;
-        this.segments = new MemorySegment[] {segment};
         this.offset = offset;
         this.sizeInBytes = sizeInBytes;
         this.decoded = false;
@@ -141,13 +144,14 @@ public class CompactedRow implements BinaryRow {
     private void deserialize() {
         if (decodedRow == null) {
             decodedRow = new GenericRow(arity);
+        }
+        // the reader is kept to decode again when the row is reused by pointing to another row
+        if (reader == null) {
             reader = new CompactedRowReader(arity);
         }
         reader.pointTo(segment, offset, sizeInBytes);
         deserializer.deserialize(reader, decodedRow);
         decoded = true;
-        // for GC friendly
-        reader = null;
     }
 
     @Override
@@ -0,0 +1,69 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.fluss.row.compacted;
+
+import com.alibaba.fluss.memory.MemorySegment;
+import com.alibaba.fluss.row.GenericRow;
+import com.alibaba.fluss.types.DataType;
+
+/**
+ * A decoder to decode the projected fields of a {@link CompactedRow} into a {@link GenericRow} of
+ * the projected fields. As the fields of {@link CompactedRow} are stored sequentially, the fields
+ * after the last projected field are never read, and only the projected fields are kept.
+ */
+public class ProjectedCompactedRowDeserializer {
+
+    private final int[] projection;
+    // the readers of the fields up to the last projected field
+    private final CompactedRowReader.FieldReader[] readers;
+    private final CompactedRowReader reader;
+    private final Object[] fields;
+
+    public ProjectedCompactedRowDeserializer(DataType[] types, int[] projection) {
+        this.projection = projection;
+        int maxIndex = -1;
+        for (int index : projection) {
+            maxIndex = Math.max(maxIndex, index);
+        }
+        this.readers = new CompactedRowReader.FieldReader[maxIndex + 1];
+        for (int i = 0; i <= maxIndex; i++) {
+            readers[i] = CompactedRowReader.createFieldReader(types[i]);
+        }
+        this.reader = new CompactedRowReader(types.length);
+        this.fields = new Object[readers.length];
+    }
+
+    /**
+     * Decodes the projected fields of the compacted row in the memory segment.
+     *
+     * @param segment the memory segment to read.
+     * @param offset the offset in the memory segment to read from.
+     * @param sizeInBytes the total size in bytes to read.
+     */
+    public GenericRow deserialize(MemorySegment segment, int offset, int sizeInBytes) {
+        reader.pointTo(segment, offset, sizeInBytes);
+        for (int i = 0; i < readers.length; i++) {
+            fields[i] = readers[i].readField(reader, i);
+        }
+        GenericRow row = new GenericRow(projection.length);
+        for (int i = 0; i < projection.length; i++) {
+            row.setField(i, fields[projection[i]]);
+        }
+        return row;
+    }
+}
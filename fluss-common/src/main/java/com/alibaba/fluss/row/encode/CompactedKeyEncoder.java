@@ -52,6 +52,28 @@ public class CompactedKeyEncoder implements KeyEncoder {
         return new CompactedKeyEncoder(rowType, encodeColIndexes);
     }
 
+    /**
+     * Returns the minimum number of bytes of the key encoded by the encoder created by {@link
+     * #createKeyEncoder(RowType, List)}. As the fields are encoded one after another, any encoded
+     * key, and any key encoded with more fields appended, is at least this length, which makes the
+     * leading bytes of this length a fixed length prefix of the key.
+     *
+     * @param rowType the row type of the input row
+     * @param keys the key fields to encode
+     */
+    public static int getMinEncodedLength(RowType rowType, List<String> keys) {
+        int length = 0;
+        for (String key : keys) {
+            int fieldIndex = rowType.getFieldIndex(key);
+            if (fieldIndex == -1) {
+                throw new IllegalArgumentException(
+                        "Field " + key + " not found in input row type " + rowType);
+            }
+            length += CompactedKeyWriter.getMinEncodedSize(rowType.getTypeAt(fieldIndex));
+        }
+        return length;
+    }
+
     public CompactedKeyEncoder(RowType rowType) {
         this(rowType, IntStream.range(0, rowType.getFieldCount()).toArray());
     }
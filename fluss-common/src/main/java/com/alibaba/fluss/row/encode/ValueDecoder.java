@@ -21,6 +21,8 @@ import com.alibaba.fluss.memory.MemorySegment;
 import com.alibaba.fluss.row.BinaryRow;
 import com.alibaba.fluss.row.decode.RowDecoder;
 
+import javax.annotation.Nullable;
+
 import static com.alibaba.fluss.row.encode.ValueEncoder.SCHEMA_ID_LENGTH;
 
 /**
@@ -50,6 +52,22 @@ public class ValueDecoder {
         return new Value(schemaId, row);
     }
 
+    /**
+     * Decode the row encoded in the value bytes into the given reused row to avoid creating a row
+     * for each value, a new row is created if the reused row is null.
+     *
+     * @return the decoded row, which is the reused row if it's not null
+     */
+    public BinaryRow decodeRow(byte[] valueBytes, @Nullable BinaryRow reuse) {
+        MemorySegment memorySegment = MemorySegment.wrap(valueBytes);
+        int sizeInBytes = valueBytes.length - SCHEMA_ID_LENGTH;
+        if (reuse == null) {
+            return rowDecoder.decode(memorySegment, SCHEMA_ID_LENGTH, sizeInBytes);
+        }
+        reuse.pointTo(memorySegment, SCHEMA_ID_LENGTH, sizeInBytes);
+        return reuse;
+    }
+
     /** The schema id and {@link BinaryRow} stored as the value of kv store. */
     public static class Value {
         public final short schemaId;
@@ -106,9 +106,12 @@ public class IndexedRow implements BinaryRow, NullAwareGetters {
         segment.get(offset, dst, dstOffset, sizeInBytes);
     }
 
+    @Override
     public void pointTo(MemorySegment segment, int offset, int sizeInBytes) {
+        if (this.segment != segment) {
+            this.segments = new MemorySegment[] {segment};
+        }
         this.segment = segment;
-        this.segments = new MemorySegment[] {segment};
         this.offset = offset;
         this.sizeInBytes = sizeInBytes;
         this.columnLengths = calculateColumnLengths();
@@ -100,6 +100,7 @@ import com.alibaba.fluss.shaded.arrow.org.apache.arrow.vector.types.pojo.Field;
 import com.alibaba.fluss.shaded.arrow.org.apache.arrow.vector.types.pojo.FieldType;
 import com.alibaba.fluss.shaded.arrow.org.apache.arrow.vector.types.pojo.Schema;
 import com.alibaba.fluss.shaded.arrow.org.apache.arrow.vector.util.DataSizeRoundingUtil;
+import com.alibaba.fluss.shaded.arrow.org.apache.arrow.vector.util.TransferPair;
 import com.alibaba.fluss.types.BigIntType;
 import com.alibaba.fluss.types.BinaryType;
 import com.alibaba.fluss.types.BooleanType;
@@ -161,18 +162,60 @@ public class ArrowUtils {
             VectorLoader vectorLoader =
                     new VectorLoader(schemaRoot, ArrowCompressionFactory.INSTANCE);
             vectorLoader.load(batch);
-            List<ColumnVector> columnVectors = new ArrayList<>();
-            List<FieldVector> fieldVectors = schemaRoot.getFieldVectors();
-            for (int i = 0; i < fieldVectors.size(); i++) {
-                columnVectors.add(
-                        createArrowColumnVector(fieldVectors.get(i), rowType.getTypeAt(i)));
-            }
-            return new ArrowReader(schemaRoot, columnVectors.toArray(new ColumnVector[0]));
+            return createArrowReader(schemaRoot, rowType);
         } catch (IOException e) {
             throw new RuntimeException("Failed to deserialize ArrowRecordBatch.", e);
         }
     }
 
+    /**
+     * Creates an {@link ArrowReader} for the data already loaded in the {@link VectorSchemaRoot}.
+     */
+    public static ArrowReader createArrowReader(VectorSchemaRoot schemaRoot, RowType rowType) {
+        List<ColumnVector> columnVectors = new ArrayList<>();
+        List<FieldVector> fieldVectors = schemaRoot.getFieldVectors();
+        for (int i = 0; i < fieldVectors.size(); i++) {
+            columnVectors.add(createArrowColumnVector(fieldVectors.get(i), rowType.getTypeAt(i)));
+        }
+        return new ArrowReader(schemaRoot, columnVectors.toArray(new ColumnVector[0]));
+    }
+
+    /**
+     * Transfers the rows in range {@code [startRowId, startRowId + rowCount)} of the given {@link
+     * VectorSchemaRoot} to a new {@link VectorSchemaRoot} owned by the caller. The Arrow buffers
+     * are moved without copying if all the rows are transferred, and the given schema root is left
+     * empty so that it can be loaded again.
+     *
+     * <p>Note: unlike {@link VectorSchemaRoot#slice(int, int)}, the returned schema root never
+     * shares the vectors with the given one, so it's safe to cache it after the given one is
+     * reused.
+     */
+    public static VectorSchemaRoot transferVectorSchemaRoot(
+            VectorSchemaRoot schemaRoot, int startRowId, int rowCount) {
+        checkArgument(
+                startRowId >= 0
+                        && rowCount >= 0
+                        && startRowId + rowCount <= schemaRoot.getRowCount(),
+                "Invalid range [%s, %s) to transfer, the row count of the schema root is %s.",
+                startRowId,
+                startRowId + rowCount,
+                schemaRoot.getRowCount());
+        boolean transferAll = startRowId == 0 && rowCount == schemaRoot.getRowCount();
+        List<FieldVector> fieldVectors = new ArrayList<>();
+        for (FieldVector fieldVector : schemaRoot.getFieldVectors()) {
+            TransferPair transferPair = fieldVector.getTransferPair(fieldVector.getAllocator());
+            if (transferAll) {
+                transferPair.transfer();
+            } else {
+                transferPair.splitAndTransfer(startRowId, rowCount);
+            }
+            fieldVectors.add((FieldVector) transferPair.getTo());
+        }
+        VectorSchemaRoot transferred = new VectorSchemaRoot(fieldVectors);
+        transferred.setRowCount(rowCount);
+        return transferred;
+    }
+
     /**
      * Serialize metadata of a {@link ArrowRecordBatch} into write channel. This avoids to create an
      * instance of {@link ArrowRecordBatch}.
@@ -75,6 +75,26 @@ public final class BytesUtils {
         return BEST_EQUAL_COMPARER.prefixEquals(prefix, bytes);
     }
 
+    /**
+     * Compares two byte arrays lexicographically, treating the bytes as unsigned values. This is
+     * the same order as the default bytewise comparator of RocksDB.
+     *
+     * @param left the first byte array to compare
+     * @param right the second byte array to compare
+     * @return a negative integer, zero, or a positive integer as the first byte array is less than,
+     *     equal to, or greater than the second byte array.
+     */
+    public static int compareUnsigned(byte[] left, byte[] right) {
+        int minLength = Math.min(left.length, right.length);
+        for (int i = 0; i < minLength; i++) {
+            int result = (left[i] & 0xFF) - (right[i] & 0xFF);
+            if (result != 0) {
+                return result;
+            }
+        }
+        return left.length - right.length;
+    }
+
     // -------------------------------------------------------------------------------------------
 
     private static final BytesPrefixComparer BEST_EQUAL_COMPARER;
@@ -21,6 +21,7 @@ import com.alibaba.fluss.config.ConfigOptions;
 import com.alibaba.fluss.config.Configuration;
 import com.alibaba.fluss.config.MemorySize;
 import com.alibaba.fluss.exception.FlussRuntimeException;
+import com.alibaba.fluss.utils.function.CheckedSupplier;
 
 import org.apache.commons.lang3.RandomUtils;
 import org.junit.jupiter.api.BeforeEach;
@@ -38,6 +39,7 @@ import java.util.Collections;
 import java.util.Deque;
 import java.util.List;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -311,6 +313,39 @@ public class LazyMemorySegmentPoolTest {
         assertThat(pool.availableMemory()).isEqualTo(1024);
     }
 
+    @Test
+    void testTakeReservedPageBeingPooledByOthers() throws Exception {
+        CountDownLatch allocationAttempted = new CountDownLatch(1);
+        LazyMemorySegmentPool pool =
+                new LazyMemorySegmentPool(1, 64, Long.MAX_VALUE, 64) {
+                    @Override
+                    protected void lazilyAllocatePages(int required) {
+                        // emulate the page being pooled by another thread
+                        allocationAttempted.countDown();
+                    }
+                };
+
+        CompletableFuture<MemorySegment> future =
+                CompletableFuture.supplyAsync(CheckedSupplier.unchecked(pool::nextSegment));
+        assertThat(allocationAttempted.await(1, TimeUnit.MINUTES)).isTrue();
+        assertThat(future).isNotDone();
+
+        MemorySegment page = MemorySegment.allocateHeapMemory(64);
+        pool.getAllCachePages().add(page);
+        assertThat(future.get(1, TimeUnit.MINUTES)).isSameAs(page);
+        assertThat(pool.freePages()).isEqualTo(0);
+
+        // closing the pool fails the allocation waiting for the page
+        pool.returnPage(page);
+        pool.getAllCachePages().clear();
+        CompletableFuture<MemorySegment> closedFuture =
+                CompletableFuture.supplyAsync(CheckedSupplier.unchecked(pool::nextSegment));
+        pool.close();
+        assertThatThrownBy(() -> closedFuture.get(1, TimeUnit.MINUTES))
+                .hasRootCauseInstanceOf(FlussRuntimeException.class);
+        assertThat(pool.freePages()).isEqualTo(1);
+    }
+
     @Test
     void testCloseNotifyWaiters() throws Exception {
         final int numWorkers = 2;
@@ -410,6 +445,54 @@ public class LazyMemorySegmentPoolTest {
         assertThat(getNextSegmentLatch.await(Long.MAX_VALUE, TimeUnit.SECONDS)).isTrue();
     }
 
+    @Test
+    void testPooledAndAllocatedPages() throws Exception {
+        LazyMemorySegmentPool pool = buildLazyMemorySegmentSource(10, 512, Long.MAX_VALUE, 2048);
+        assertThat(pool.allocatedPages()).isEqualTo(0);
+        assertThat(pool.pooledPages()).isEqualTo(0);
+
+        // 4 pages are allocated lazily, 1 in use and 3 pooled
+        List<MemorySegment> segments = pool.allocatePages(1);
+        assertThat(pool.allocatedPages()).isEqualTo(4);
+        assertThat(pool.pooledPages()).isEqualTo(3);
+
+        // the pooled pages are reused before allocating new pages
+        segments.addAll(pool.allocatePages(5));
+        assertThat(pool.allocatedPages()).isEqualTo(8);
+        assertThat(pool.pooledPages()).isEqualTo(2);
+
+        pool.returnAll(segments);
+        assertThat(pool.allocatedPages()).isEqualTo(8);
+        assertThat(pool.pooledPages()).isEqualTo(8);
+
+        pool.close();
+        assertThat(pool.allocatedPages()).isEqualTo(0);
+        assertThat(pool.pooledPages()).isEqualTo(0);
+    }
+
+    @Test
+    void testWaitersReservePagesInOrder() throws Exception {
+        LazyMemorySegmentPool pool = buildLazyMemorySegmentSource(4, 1024, Long.MAX_VALUE, 1024);
+        List<MemorySegment> segments = pool.allocatePages(4);
+        assertThat(pool.totalWaitTimeMs()).isEqualTo(0);
+
+        // the first waiter requires all the pages
+        CountDownLatch largeAllocation = asyncAllocatePages(pool, 4);
+        retry(Duration.ofSeconds(1), () -> assertThat(pool.queued()).isEqualTo(1));
+        CountDownLatch smallAllocation = asyncAllocatePages(pool, 1);
+        retry(Duration.ofSeconds(1), () -> assertThat(pool.queued()).isEqualTo(2));
+
+        // the small allocation can't overtake the large one even if there is a free page
+        pool.returnPage(segments.get(0));
+        assertThat(smallAllocation.await(100, TimeUnit.MILLISECONDS)).isFalse();
+        assertThat(largeAllocation.getCount()).isEqualTo(1);
+
+        pool.returnAll(segments.subList(1, 4));
+        assertThat(largeAllocation.await(1, TimeUnit.SECONDS)).isTrue();
+        assertThat(pool.queued()).isEqualTo(1);
+        assertThat(pool.totalWaitTimeMs()).isGreaterThanOrEqualTo(100);
+    }
+
     @Test
     void testConstructorIllegalArgument() {
         assertThatThrownBy(() -> buildLazyMemorySegmentSource(0, 64, 100, 64))
@@ -0,0 +1,151 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.fluss.metrics;
+
+import com.alibaba.fluss.utils.clock.ManualClock;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.offset;
+import static org.assertj.core.api.Assertions.withinPercentage;
+
+/** Tests for {@link LogBucketHistogram} and {@link LogBucketHistogramStatistics}. */
+class LogBucketHistogramTest {
+
+    @Test
+    void testBuckets() {
+        for (long value : new long[] {0, 1, 15, 16, 17, 31, 32, 1000, 123456789L, Long.MAX_VALUE}) {
+            int index = LogBucketHistogram.bucketIndex(value);
+            long lowerBound = LogBucketHistogram.bucketLowerBound(index);
+            long width = LogBucketHistogram.bucketWidth(index);
+            assertThat(value).isGreaterThanOrEqualTo(lowerBound);
+            assertThat(value - lowerBound).isLessThan(width);
+            assertThat(index)
+                    .isLessThan(LogBucketHistogram.NUM_GROUPS * LogBucketHistogram.SUB_BUCKETS);
+        }
+        // the small values are counted exactly
+        for (int value = 0; value < LogBucketHistogram.SUB_BUCKETS; value++) {
+            assertThat(LogBucketHistogram.bucketWidth(LogBucketHistogram.bucketIndex(value)))
+                    .isEqualTo(1);
+        }
+    }
+
+    @Test
+    void testStatistics() {
+        Histogram histogram = new LogBucketHistogram();
+        HistogramStatistics statistics = histogram.getStatistics();
+        assertThat(statistics.size()).isZero();
+        assertThat(statistics.getQuantile(0.99)).isZero();
+
+        for (int i = 1; i <= 10_000; i++) {
+            histogram.update(i);
+        }
+        statistics = histogram.getStatistics();
+        assertThat(histogram.getCount()).isEqualTo(10_000);
+        assertThat(statistics.size()).isEqualTo(10_000);
+        assertThat(statistics.getMin()).isEqualTo(1);
+        assertThat(statistics.getMax()).isEqualTo(10_000);
+        assertThat(statistics.getMean()).isEqualTo(5000.5);
+        assertThat(statistics.getQuantile(0.5)).isCloseTo(5000, withinPercentage(3.2));
+        assertThat(statistics.getQuantile(0.99)).isCloseTo(9900, withinPercentage(3.2));
+        assertThat(statistics.getQuantile(0.999)).isCloseTo(9990, withinPercentage(3.2));
+        assertThat(statistics.getQuantile(1.0)).isEqualTo(10_000);
+        assertThat(statistics.getStdDev()).isCloseTo(2886.9, withinPercentage(3.2));
+        // the values are bounded and represent the distribution
+        long[] values = statistics.getValues();
+        assertThat(values).hasSize(LogBucketHistogramStatistics.MAX_VALUES).isSorted();
+        assertThat(values[0]).isEqualTo(1);
+        assertThat(values[values.length / 2]).isCloseTo(5000, withinPercentage(3.2));
+        assertThat(values[values.length - 1]).isCloseTo(9990, withinPercentage(3.2));
+
+        // the values less than the number of sub-buckets are exact
+        Histogram small = new LogBucketHistogram();
+        for (int i = 0; i < 10; i++) {
+            small.update(i);
+        }
+        assertThat(small.getStatistics().getQuantile(0.5)).isCloseTo(4, offset(0.001));
+        assertThat(small.getStatistics().getValues()).containsExactly(0, 1, 2, 3, 4, 5, 6, 7, 8, 9);
+    }
+
+    @Test
+    void testDecay() {
+        ManualClock clock = new ManualClock();
+        Histogram histogram = new LogBucketHistogram(Duration.ofSeconds(4), 4, clock);
+        histogram.update(1000);
+        clock.advanceTime(1, TimeUnit.SECONDS);
+        histogram.update(10);
+        assertThat(histogram.getStatistics().size()).isEqualTo(2);
+        assertThat(histogram.getStatistics().getMax()).isEqualTo(1000);
+
+        // the first value is out of the window
+        clock.advanceTime(3, TimeUnit.SECONDS);
+        HistogramStatistics statistics = histogram.getStatistics();
+        assertThat(statistics.size()).isEqualTo(1);
+        assertThat(statistics.getMax()).isEqualTo(10);
+        assertThat(statistics.getMin()).isEqualTo(10);
+
+        // all the values are out of the window, but the count of seen values is kept
+        clock.advanceTime(10, TimeUnit.SECONDS);
+        assertThat(histogram.getStatistics().size()).isZero();
+        assertThat(histogram.getCount()).isEqualTo(2);
+
+        histogram.update(5);
+        assertThat(histogram.getStatistics().getValues()).containsExactly(5);
+    }
+
+    @Test
+    void testConcurrentUpdates() throws Exception {
+        Histogram histogram = new LogBucketHistogram();
+        int threads = 8;
+        int updatesPerThread = 100_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(
+                        executor.submit(
+                                () -> {
+                                    for (int i = 0; i < updatesPerThread; i++) {
+                                        histogram.update(i % 100);
+                                    }
+                                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        HistogramStatistics statistics = histogram.getStatistics();
+        assertThat(histogram.getCount()).isEqualTo((long) threads * updatesPerThread);
+        assertThat(statistics.size()).isEqualTo(threads * updatesPerThread);
+        assertThat(statistics.getMin()).isEqualTo(0);
+        assertThat(statistics.getMax()).isEqualTo(99);
+        assertThat(statistics.getMean()).isEqualTo(49.5);
+    }
+}
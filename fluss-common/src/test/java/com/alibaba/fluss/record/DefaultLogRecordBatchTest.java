@@ -18,7 +18,10 @@
 package com.alibaba.fluss.record;
 
 import com.alibaba.fluss.memory.UnmanagedPagedOutputView;
+import com.alibaba.fluss.metadata.LogFormat;
 import com.alibaba.fluss.row.TestInternalRowGenerator;
+import com.alibaba.fluss.row.columnar.ColumnVector;
+import com.alibaba.fluss.row.columnar.IntColumnVector;
 import com.alibaba.fluss.row.indexed.IndexedRow;
 import com.alibaba.fluss.testutils.DataTestUtils;
 import com.alibaba.fluss.types.RowType;
@@ -27,10 +30,19 @@ import com.alibaba.fluss.utils.CloseableIterator;
 import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
 
+import static com.alibaba.fluss.compression.ArrowCompressionInfo.DEFAULT_COMPRESSION;
+import static com.alibaba.fluss.record.LogRecordBatch.NO_BATCH_SEQUENCE;
+import static com.alibaba.fluss.record.LogRecordBatch.NO_WRITER_ID;
+import static com.alibaba.fluss.record.TestData.DATA1;
+import static com.alibaba.fluss.record.TestData.DATA1_ROW_TYPE;
+import static com.alibaba.fluss.record.TestData.DEFAULT_SCHEMA_ID;
+import static com.alibaba.fluss.testutils.DataTestUtils.createBasicMemoryLogRecords;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 /** Test for {@link DefaultLogRecordBatch}. */
 public class DefaultLogRecordBatchTest extends LogTestBase {
@@ -152,4 +164,75 @@ public class DefaultLogRecordBatchTest extends LogTestBase {
             assertThat(iter.hasNext()).isFalse();
         }
     }
+
+    @Test
+    void testLoadArrowBatch() throws Exception {
+        List<ChangeType> changeTypes = new ArrayList<>();
+        for (int i = 0; i < DATA1.size(); i++) {
+            changeTypes.add(i % 2 == 0 ? ChangeType.INSERT : ChangeType.DELETE);
+        }
+        MemoryLogRecords records1 =
+                createBasicMemoryLogRecords(
+                        DATA1_ROW_TYPE,
+                        DEFAULT_SCHEMA_ID,
+                        100L,
+                        System.currentTimeMillis(),
+                        NO_WRITER_ID,
+                        NO_BATCH_SEQUENCE,
+                        changeTypes,
+                        DATA1,
+                        LogFormat.ARROW,
+                        DEFAULT_COMPRESSION);
+        MemoryLogRecords records2 =
+                DataTestUtils.createRecordsWithoutBaseLogOffset(
+                        DATA1_ROW_TYPE,
+                        DEFAULT_SCHEMA_ID,
+                        200L,
+                        System.currentTimeMillis(),
+                        Arrays.asList(new Object[] {100, "x"}, new Object[] {200, "y"}),
+                        LogFormat.ARROW);
+        LogRecordBatch batch1 = records1.batches().iterator().next();
+        LogRecordBatch batch2 = records2.batches().iterator().next();
+
+        try (LogRecordReadContext readContext =
+                LogRecordReadContext.createArrowReadContext(DATA1_ROW_TYPE, DEFAULT_SCHEMA_ID)) {
+            try (ArrowBatchData data1 = batch1.loadArrowBatch(readContext, 3);
+                    ArrowBatchData data2 = batch2.loadArrowBatch(readContext, 0)) {
+                // the first batch is still readable after the second batch is loaded into the
+                // shared vector schema root of the read context
+                assertThat(data1.getRowCount()).isEqualTo(DATA1.size() - 3);
+                assertThat(data1.getBaseLogOffset()).isEqualTo(103L);
+                assertThat(data1.getTimestamp()).isEqualTo(batch1.commitTimestamp());
+                ColumnVector[] vectors = data1.getColumnVectors();
+                for (int i = 0; i < data1.getRowCount(); i++) {
+                    Object[] expected = DATA1.get(i + 3);
+                    assertThat(((IntColumnVector) vectors[0]).getInt(i)).isEqualTo(expected[0]);
+                    assertThat(data1.getChangeType(i)).isEqualTo(changeTypes.get(i + 3));
+                }
+                assertThat(data1.getChangeTypeVector()).isNotNull();
+
+                assertThat(data2.getRowCount()).isEqualTo(2);
+                assertThat(data2.getChangeType(1)).isEqualTo(ChangeType.APPEND_ONLY);
+                assertThat(((IntColumnVector) data2.getColumnVectors()[0]).getInt(1))
+                        .isEqualTo(200);
+            }
+
+            // the record iterator still works with the shared vector schema root
+            try (CloseableIterator<LogRecord> iter = batch1.records(readContext)) {
+                assertThat(iter.next().getRow().getInt(0)).isEqualTo(1);
+            }
+
+            assertThatThrownBy(() -> batch2.loadArrowBatch(readContext, 2))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("The start row 2 is out of range [0, 2).");
+        }
+
+        try (LogRecordReadContext readContext =
+                LogRecordReadContext.createIndexedReadContext(DATA1_ROW_TYPE, DEFAULT_SCHEMA_ID)) {
+            assertThatThrownBy(() -> batch1.loadArrowBatch(readContext, 0))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage(
+                            "Only Arrow log format supports loading columnar batch, but is INDEXED");
+        }
+    }
 }
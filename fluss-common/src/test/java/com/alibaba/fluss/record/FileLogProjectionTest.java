@@ -18,8 +18,16 @@
 package com.alibaba.fluss.record;
 
 import com.alibaba.fluss.exception.InvalidColumnProjectionException;
+import com.alibaba.fluss.memory.ManagedPagedOutputView;
+import com.alibaba.fluss.memory.TestingMemorySegmentPool;
 import com.alibaba.fluss.metadata.LogFormat;
 import com.alibaba.fluss.row.InternalRow;
+import com.alibaba.fluss.row.arrow.ArrowWriter;
+import com.alibaba.fluss.row.arrow.ArrowWriterPool;
+import com.alibaba.fluss.shaded.arrow.org.apache.arrow.memory.BufferAllocator;
+import com.alibaba.fluss.shaded.arrow.org.apache.arrow.memory.RootAllocator;
+import com.alibaba.fluss.types.DataField;
+import com.alibaba.fluss.types.DataTypes;
 import com.alibaba.fluss.types.RowType;
 import com.alibaba.fluss.utils.CloseableIterator;
 
@@ -33,6 +41,7 @@ import java.io.EOFException;
 import java.io.File;
 import java.nio.ByteOrder;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.stream.Stream;
 
@@ -40,6 +49,7 @@ import static com.alibaba.fluss.compression.ArrowCompressionInfo.DEFAULT_COMPRES
 import static com.alibaba.fluss.record.LogRecordReadContext.createArrowReadContext;
 import static com.alibaba.fluss.record.TestData.DEFAULT_SCHEMA_ID;
 import static com.alibaba.fluss.testutils.DataTestUtils.createRecordsWithoutBaseLogOffset;
+import static com.alibaba.fluss.testutils.DataTestUtils.row;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.assertj.core.api.Assertions.fail;
@@ -88,6 +98,92 @@ class FileLogProjectionTest {
                 .hasMessage("The schema and projection should be identical for the same table id.");
     }
 
+    @Test
+    void testSetSharedProjection() throws Exception {
+        FileLogRecords fileLogRecords =
+                createFileLogRecords(
+                        TestData.DATA1_ROW_TYPE, TestData.DATA1, TestData.ANOTHER_DATA1);
+        FileLogProjection.ProjectionInfo shared =
+                FileLogProjection.ProjectionInfo.create(
+                        TestData.DATA1_ROW_TYPE, DEFAULT_COMPRESSION, new int[] {1});
+        FileLogProjection projection1 = new FileLogProjection();
+        FileLogProjection projection2 = new FileLogProjection();
+        projection1.setCurrentProjection(1L, shared);
+        projection2.setCurrentProjection(1L, shared);
+        assertThat(projection1.currentProjection).isSameAs(shared);
+        assertThat(projection2.currentProjection).isSameAs(shared);
+        LogRecords projected1 =
+                projection1.project(
+                        fileLogRecords.channel(),
+                        0,
+                        fileLogRecords.sizeInBytes(),
+                        Integer.MAX_VALUE);
+        LogRecords projected2 =
+                projection2.project(
+                        fileLogRecords.channel(),
+                        0,
+                        fileLogRecords.sizeInBytes(),
+                        Integer.MAX_VALUE);
+        assertThat(projected2.sizeInBytes()).isEqualTo(projected1.sizeInBytes());
+
+        // an identical projection prepared separately is allowed for the same table id
+        projection1.setCurrentProjection(
+                1L,
+                FileLogProjection.ProjectionInfo.create(
+                        TestData.DATA1_ROW_TYPE, DEFAULT_COMPRESSION, new int[] {1}));
+        assertThat(projection1.currentProjection).isSameAs(shared);
+        assertThatThrownBy(
+                        () ->
+                                projection1.setCurrentProjection(
+                                        1L,
+                                        FileLogProjection.ProjectionInfo.create(
+                                                TestData.DATA1_ROW_TYPE,
+                                                DEFAULT_COMPRESSION,
+                                                new int[] {0})))
+                .isInstanceOf(InvalidColumnProjectionException.class)
+                .hasMessage("The schema and projection should be identical for the same table id.");
+    }
+
+    @Test
+    void testProjectWideSchema() throws Exception {
+        // the arrow metadata of the wide schema is larger than the default read-ahead size
+        int fieldCount = 200;
+        DataField[] fields = new DataField[fieldCount];
+        for (int i = 0; i < fieldCount; i++) {
+            fields[i] = new DataField("f" + i, DataTypes.INT());
+        }
+        RowType rowType = DataTypes.ROW(fields);
+        List<Object[]> allData = new ArrayList<>();
+        List<List<Object[]>> inputs = new ArrayList<>();
+        for (int batch = 0; batch < 3; batch++) {
+            List<Object[]> input = new ArrayList<>();
+            for (int row = 0; row < 5; row++) {
+                Object[] values = new Object[fieldCount];
+                for (int i = 0; i < fieldCount; i++) {
+                    values[i] = batch * 10000 + row * 1000 + i;
+                }
+                input.add(values);
+            }
+            inputs.add(input);
+            allData.addAll(input);
+        }
+        @SuppressWarnings("unchecked")
+        FileLogRecords fileLogRecords = createFileLogRecords(rowType, inputs.toArray(new List[0]));
+        int[] projectedFields = new int[] {0, 99, 199};
+        List<Object[]> results =
+                doProjection(
+                        new FileLogProjection(),
+                        fileLogRecords,
+                        rowType,
+                        projectedFields,
+                        Integer.MAX_VALUE);
+        List<Object[]> expected = new ArrayList<>();
+        for (Object[] data : allData) {
+            expected.add(new Object[] {data[0], data[99], data[199]});
+        }
+        assertEquals(results, expected);
+    }
+
     @Test
     void testIllegalSetCurrentProjection() {
         FileLogProjection projection = new FileLogProjection();
@@ -218,6 +314,104 @@ class FileLogProjectionTest {
         assertThat(hasFull).isTrue();
     }
 
+    @Test
+    void testProjectWithBatchFilter() throws Exception {
+        RowType rowType = TestData.DATA1_ROW_TYPE;
+        FileLogRecords fileLogRecords = FileLogRecords.open(new File(tempDir, "filter.tmp"));
+        List<List<Object[]>> inputs = new ArrayList<>();
+        try (BufferAllocator allocator = new RootAllocator(Long.MAX_VALUE);
+                ArrowWriterPool provider = new ArrowWriterPool(allocator)) {
+            for (int i = 0; i < 3; i++) {
+                List<Object[]> input = new ArrayList<>();
+                for (int j = 0; j < 10; j++) {
+                    input.add(new Object[] {i * 10 + j, "v" + (i * 10 + j)});
+                }
+                inputs.add(input);
+                ArrowWriter writer =
+                        provider.getOrCreateWriter(
+                                1L,
+                                DEFAULT_SCHEMA_ID,
+                                Integer.MAX_VALUE,
+                                rowType,
+                                DEFAULT_COMPRESSION);
+                MemoryLogRecordsArrowBuilder builder =
+                        MemoryLogRecordsArrowBuilder.builder(
+                                DEFAULT_SCHEMA_ID,
+                                writer,
+                                new ManagedPagedOutputView(new TestingMemorySegmentPool(10 * 1024)),
+                                true,
+                                LogRecordBatchStatisticsCollector.create(
+                                        rowType, Collections.singletonList("a")));
+                for (Object[] objects : input) {
+                    builder.append(ChangeType.APPEND_ONLY, row(objects));
+                }
+                builder.close();
+                MemoryLogRecords records = MemoryLogRecords.pointToBytesView(builder.build());
+                ((DefaultLogRecordBatch) records.batches().iterator().next())
+                        .setBaseLogOffset(i * 10L);
+                fileLogRecords.append(records);
+            }
+        }
+        fileLogRecords.flush();
+
+        FileLogProjection projection = new FileLogProjection();
+        projection.setCurrentProjection(1L, rowType, DEFAULT_COMPRESSION, new int[] {1});
+        LogRecordBatchFilter.Builder filterBuilder = LogRecordBatchFilter.builder(rowType);
+        filterBuilder.add("a", LogRecordBatchFilter.Operator.GREATER_OR_EQUAL, 15);
+        filterBuilder.add("a", LogRecordBatchFilter.Operator.LESS_THAN, 20);
+        projection.setCurrentFilter(filterBuilder.build());
+        LogRecords projected =
+                projection.project(
+                        fileLogRecords.channel(),
+                        0,
+                        fileLogRecords.sizeInBytes(),
+                        Integer.MAX_VALUE);
+
+        RowType projectedType = rowType.project(new int[] {1});
+        List<LogRecordBatch> batches = new ArrayList<>();
+        projected.batches().forEach(batches::add);
+        assertThat(batches).hasSize(3);
+        try (LogRecordReadContext context =
+                createArrowReadContext(projectedType, DEFAULT_SCHEMA_ID)) {
+            for (int i = 0; i < 3; i++) {
+                LogRecordBatch batch = batches.get(i);
+                // the skipped batches are kept as empty batches to advance the fetch offset
+                assertThat(batch.baseLogOffset()).isEqualTo(i * 10L);
+                assertThat(batch.lastLogOffset()).isEqualTo(i * 10L + 9);
+                assertThat(batch.statistics()).isNull();
+                List<Object[]> results = new ArrayList<>();
+                try (CloseableIterator<LogRecord> records = batch.records(context)) {
+                    while (records.hasNext()) {
+                        results.add(new Object[] {records.next().getRow().getString(0).toString()});
+                    }
+                }
+                if (i == 1) {
+                    assertThat(batch.getRecordCount()).isEqualTo(10);
+                    List<Object[]> expected = new ArrayList<>();
+                    for (Object[] objects : inputs.get(i)) {
+                        expected.add(new Object[] {objects[1]});
+                    }
+                    assertEquals(results, expected);
+                } else {
+                    assertThat(batch.getRecordCount()).isEqualTo(0);
+                    assertThat(batch.sizeInBytes())
+                            .isEqualTo(DefaultLogRecordBatch.RECORD_BATCH_HEADER_SIZE);
+                    assertThat(results).isEmpty();
+                }
+            }
+        }
+
+        // the batches are not filtered without the filter
+        assertThat(
+                        doProjection(
+                                new FileLogProjection(),
+                                fileLogRecords,
+                                rowType,
+                                new int[] {0, 1},
+                                Integer.MAX_VALUE))
+                .hasSize(30);
+    }
+
     @SafeVarargs
     private final FileLogRecords createFileLogRecords(RowType rowType, List<Object[]>... inputs)
             throws Exception {
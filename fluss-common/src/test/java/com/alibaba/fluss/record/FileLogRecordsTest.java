@@ -129,6 +129,24 @@ public class FileLogRecordsTest extends LogTestBase {
         }
     }
 
+    @Test
+    void testAppendList() throws Exception {
+        FileLogRecords log = FileLogRecords.open(new File(tempDir, "test-append-list.tmp"));
+        int written = log.append(values);
+        assertThat(written)
+                .isEqualTo(values.stream().mapToInt(MemoryLogRecords::sizeInBytes).sum());
+        assertThat(log.sizeInBytes()).isEqualTo(written).isEqualTo(log.channel().size());
+
+        Iterator<LogRecordBatch> batches = log.batches().iterator();
+        for (MemoryLogRecords records : values) {
+            assertThat(batches.hasNext()).isTrue();
+            assertLogRecordBatchEquals(
+                    DATA1_ROW_TYPE, batches.next(), records.batches().iterator().next());
+        }
+        assertThat(batches.hasNext()).isFalse();
+        log.close();
+    }
+
     @Test
     void testIterationOverPartialAndTruncation() throws Exception {
         // Test that adding invalid bytes to the end of the log doesn't break iteration.
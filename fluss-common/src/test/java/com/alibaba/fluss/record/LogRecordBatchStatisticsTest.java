@@ -0,0 +1,301 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.fluss.record;
+
+import com.alibaba.fluss.memory.ManagedPagedOutputView;
+import com.alibaba.fluss.memory.TestingMemorySegmentPool;
+import com.alibaba.fluss.record.LogRecordBatchFilter.Operator;
+import com.alibaba.fluss.record.LogRecordBatchFilter.Predicate;
+import com.alibaba.fluss.record.LogRecordBatchStatistics.ColumnStatistics;
+import com.alibaba.fluss.record.LogRecordBatchStatistics.ValueKind;
+import com.alibaba.fluss.row.BinaryString;
+import com.alibaba.fluss.row.TimestampNtz;
+import com.alibaba.fluss.row.arrow.ArrowWriter;
+import com.alibaba.fluss.row.arrow.ArrowWriterPool;
+import com.alibaba.fluss.shaded.arrow.org.apache.arrow.memory.BufferAllocator;
+import com.alibaba.fluss.shaded.arrow.org.apache.arrow.memory.RootAllocator;
+import com.alibaba.fluss.types.DataField;
+import com.alibaba.fluss.types.DataTypes;
+import com.alibaba.fluss.types.RowType;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static com.alibaba.fluss.compression.ArrowCompressionInfo.DEFAULT_COMPRESSION;
+import static com.alibaba.fluss.record.TestData.DATA1;
+import static com.alibaba.fluss.record.TestData.DATA1_ROW_TYPE;
+import static com.alibaba.fluss.record.TestData.DEFAULT_SCHEMA_ID;
+import static com.alibaba.fluss.testutils.DataTestUtils.assertLogRecordsEquals;
+import static com.alibaba.fluss.testutils.DataTestUtils.row;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/** Test for {@link LogRecordBatchStatistics} and {@link LogRecordBatchFilter}. */
+class LogRecordBatchStatisticsTest {
+
+    private static final RowType ROW_TYPE =
+            DataTypes.ROW(
+                    new DataField("id", DataTypes.INT()),
+                    new DataField("name", DataTypes.STRING()),
+                    new DataField("score", DataTypes.DOUBLE()),
+                    new DataField("ts", DataTypes.TIMESTAMP(3)),
+                    new DataField("bytes", DataTypes.BYTES()));
+
+    private BufferAllocator allocator;
+    private ArrowWriterPool provider;
+
+    @BeforeEach
+    void setup() {
+        this.allocator = new RootAllocator(Long.MAX_VALUE);
+        this.provider = new ArrowWriterPool(allocator);
+    }
+
+    @AfterEach
+    void tearDown() {
+        provider.close();
+        allocator.close();
+    }
+
+    @Test
+    void testStatisticsOfBatch() throws Exception {
+        List<Object[]> data =
+                Arrays.asList(
+                        new Object[] {
+                            3, "b", 1.5d, timestamp("2025-01-01T00:00:01"), new byte[] {1}
+                        },
+                        new Object[] {1, null, -0.0d, timestamp("2025-01-01T00:00:03"), null},
+                        new Object[] {
+                            2, "a", 3.5d, timestamp("2025-01-01T00:00:02"), new byte[] {2}
+                        });
+        MemoryLogRecords records =
+                createRecords(ROW_TYPE, Arrays.asList("id", "name", "score", "ts", "bytes"), data);
+        LogRecordBatch batch = records.batches().iterator().next();
+        assertLogRecordsEquals(ROW_TYPE, records, data);
+
+        LogRecordBatchStatistics statistics = batch.statistics();
+        assertThat(statistics).isNotNull();
+        assertColumnStatistics(statistics.getColumnStatistics(0), 0, ValueKind.LONG, 1L, 3L);
+        assertColumnStatistics(
+                statistics.getColumnStatistics(1),
+                1,
+                ValueKind.STRING,
+                BinaryString.fromString("a"),
+                BinaryString.fromString("b"));
+        assertColumnStatistics(statistics.getColumnStatistics(2), 0, ValueKind.DOUBLE, 0.0d, 3.5d);
+        assertColumnStatistics(
+                statistics.getColumnStatistics(3),
+                0,
+                ValueKind.LONG,
+                timestamp("2025-01-01T00:00:01").getMillisecond() * 1_000_000L,
+                timestamp("2025-01-01T00:00:03").getMillisecond() * 1_000_000L);
+        // the bounds of the unsupported types are not collected
+        assertColumnStatistics(statistics.getColumnStatistics(4), 1, ValueKind.NONE, null, null);
+    }
+
+    @Test
+    void testBatchWithoutStatistics() throws Exception {
+        MemoryLogRecords records = createRecords(DATA1_ROW_TYPE, Collections.emptyList(), DATA1);
+        LogRecordBatch batch = records.batches().iterator().next();
+        assertThat(batch.statistics()).isNull();
+        assertLogRecordsEquals(DATA1_ROW_TYPE, records, DATA1);
+
+        LogRecordBatchFilter filter =
+                LogRecordBatchFilter.of(
+                        Collections.singletonList(new Predicate(0, Operator.EQUAL, 100L)));
+        assertThat(filter.test(batch.statistics(), batch.getRecordCount())).isTrue();
+    }
+
+    @Test
+    void testStringBoundsTooLong() throws Exception {
+        char[] chars = new char[LogRecordBatchStatisticsCollector.MAX_STRING_STATISTICS_SIZE + 1];
+        Arrays.fill(chars, 'x');
+        List<Object[]> data =
+                Arrays.asList(new Object[] {1, "a"}, new Object[] {2, new String(chars)});
+        MemoryLogRecords records = createRecords(DATA1_ROW_TYPE, Arrays.asList("a", "b"), data);
+        LogRecordBatchStatistics statistics = records.batches().iterator().next().statistics();
+        assertThat(statistics).isNotNull();
+        assertColumnStatistics(statistics.getColumnStatistics(0), 0, ValueKind.LONG, 1L, 2L);
+        assertColumnStatistics(statistics.getColumnStatistics(1), 0, ValueKind.NONE, null, null);
+    }
+
+    @Test
+    void testFilter() throws Exception {
+        // id in [1, 10], name in ["a", "j"]
+        MemoryLogRecords records = createRecords(DATA1_ROW_TYPE, Arrays.asList("a", "b"), DATA1);
+        LogRecordBatch batch = records.batches().iterator().next();
+        LogRecordBatchStatistics statistics = batch.statistics();
+        int recordCount = batch.getRecordCount();
+
+        assertThat(testFilter(statistics, recordCount, "a", Operator.EQUAL, 5)).isTrue();
+        assertThat(testFilter(statistics, recordCount, "a", Operator.EQUAL, 11)).isFalse();
+        assertThat(testFilter(statistics, recordCount, "a", Operator.NOT_EQUAL, 5)).isTrue();
+        assertThat(testFilter(statistics, recordCount, "a", Operator.LESS_THAN, 1)).isFalse();
+        assertThat(testFilter(statistics, recordCount, "a", Operator.LESS_OR_EQUAL, 1)).isTrue();
+        assertThat(testFilter(statistics, recordCount, "a", Operator.GREATER_THAN, 10)).isFalse();
+        assertThat(testFilter(statistics, recordCount, "a", Operator.GREATER_OR_EQUAL, 10))
+                .isTrue();
+        assertThat(testFilter(statistics, recordCount, "a", Operator.IS_NULL, null)).isFalse();
+        assertThat(testFilter(statistics, recordCount, "a", Operator.IS_NOT_NULL, null)).isTrue();
+        assertThat(testFilter(statistics, recordCount, "b", Operator.EQUAL, "c")).isTrue();
+        assertThat(
+                        testFilter(
+                                statistics,
+                                recordCount,
+                                "b",
+                                Operator.GREATER_THAN,
+                                BinaryString.fromString("j")))
+                .isFalse();
+
+        // the conjunction of the predicates
+        LogRecordBatchFilter.Builder builder = LogRecordBatchFilter.builder(DATA1_ROW_TYPE);
+        builder.add("a", Operator.GREATER_THAN, 5);
+        builder.add("b", Operator.LESS_THAN, "a");
+        assertThat(builder.build().test(statistics, recordCount)).isFalse();
+
+        // a single distinct value doesn't match NOT_EQUAL
+        MemoryLogRecords single =
+                createRecords(
+                        DATA1_ROW_TYPE,
+                        Collections.singletonList("a"),
+                        Arrays.asList(new Object[] {7, "a"}, new Object[] {7, "b"}));
+        LogRecordBatch singleBatch = single.batches().iterator().next();
+        assertThat(
+                        testFilter(
+                                singleBatch.statistics(),
+                                singleBatch.getRecordCount(),
+                                "a",
+                                Operator.NOT_EQUAL,
+                                7))
+                .isFalse();
+        // the predicates on the columns without statistics always match
+        assertThat(
+                        testFilter(
+                                singleBatch.statistics(),
+                                singleBatch.getRecordCount(),
+                                "b",
+                                Operator.EQUAL,
+                                "z"))
+                .isTrue();
+    }
+
+    @Test
+    void testFilterBuilder() {
+        LogRecordBatchFilter.Builder builder = LogRecordBatchFilter.builder(ROW_TYPE);
+        assertThat(builder.build()).isNull();
+        // unsupported literals and types are ignored
+        assertThat(builder.add("id", Operator.EQUAL, "1")).isFalse();
+        assertThat(builder.add("id", Operator.EQUAL, null)).isFalse();
+        assertThat(builder.add("score", Operator.EQUAL, Double.NaN)).isFalse();
+        assertThat(builder.add("bytes", Operator.EQUAL, new byte[] {1})).isFalse();
+        assertThat(builder.build()).isNull();
+
+        assertThat(builder.add("id", Operator.EQUAL, 1)).isTrue();
+        assertThat(builder.add("score", Operator.LESS_THAN, 1.5f)).isTrue();
+        assertThat(builder.add("name", Operator.IS_NULL, null)).isTrue();
+        assertThat(builder.add("ts", Operator.GREATER_THAN, timestamp("1970-01-01T00:00:01")))
+                .isTrue();
+        assertThat(builder.build())
+                .isEqualTo(
+                        LogRecordBatchFilter.of(
+                                Arrays.asList(
+                                        new Predicate(0, Operator.EQUAL, 1L),
+                                        new Predicate(2, Operator.LESS_THAN, 1.5d),
+                                        new Predicate(1, Operator.IS_NULL, null),
+                                        new Predicate(3, Operator.GREATER_THAN, 1_000_000_000L))));
+
+        assertThatThrownBy(() -> builder.add("unknown", Operator.EQUAL, 1))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Field unknown doesn't exist");
+        assertThatThrownBy(() -> new Predicate(0, Operator.EQUAL, 1))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Unsupported literal type");
+        assertThatThrownBy(() -> new Predicate(0, Operator.IS_NULL, 1L))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> LogRecordBatchFilter.of(Collections.emptyList()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void testCreateCollectorWithUnknownColumn() {
+        assertThat(LogRecordBatchStatisticsCollector.create(ROW_TYPE, Collections.emptyList()))
+                .isNull();
+        assertThatThrownBy(
+                        () ->
+                                LogRecordBatchStatisticsCollector.create(
+                                        ROW_TYPE, Collections.singletonList("unknown")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("The statistics column 'unknown' doesn't exist");
+    }
+
+    // ------------------------------------------------------------------------------------------
+
+    private MemoryLogRecords createRecords(
+            RowType rowType, List<String> statisticsColumns, List<Object[]> data) throws Exception {
+        ArrowWriter writer =
+                provider.getOrCreateWriter(
+                        1L, DEFAULT_SCHEMA_ID, Integer.MAX_VALUE, rowType, DEFAULT_COMPRESSION);
+        MemoryLogRecordsArrowBuilder builder =
+                MemoryLogRecordsArrowBuilder.builder(
+                        DEFAULT_SCHEMA_ID,
+                        writer,
+                        new ManagedPagedOutputView(new TestingMemorySegmentPool(10 * 1024)),
+                        true,
+                        LogRecordBatchStatisticsCollector.create(rowType, statisticsColumns));
+        for (Object[] objects : data) {
+            builder.append(ChangeType.APPEND_ONLY, row(objects));
+        }
+        builder.close();
+        MemoryLogRecords records = MemoryLogRecords.pointToBytesView(builder.build());
+        records.ensureValid();
+        return records;
+    }
+
+    private static boolean testFilter(
+            LogRecordBatchStatistics statistics,
+            int recordCount,
+            String fieldName,
+            Operator operator,
+            Object literal) {
+        LogRecordBatchFilter.Builder builder = LogRecordBatchFilter.builder(DATA1_ROW_TYPE);
+        assertThat(builder.add(fieldName, operator, literal)).isTrue();
+        return builder.build().test(statistics, recordCount);
+    }
+
+    private static void assertColumnStatistics(
+            ColumnStatistics statistics,
+            int nullCount,
+            ValueKind valueKind,
+            Object min,
+            Object max) {
+        assertThat(statistics).isNotNull();
+        assertThat(statistics.getNullCount()).isEqualTo(nullCount);
+        assertThat(statistics.getValueKind()).isEqualTo(valueKind);
+        assertThat(statistics.getMin()).isEqualTo(min);
+        assertThat(statistics.getMax()).isEqualTo(max);
+    }
+
+    private static TimestampNtz timestamp(String dateTime) {
+        return TimestampNtz.fromLocalDateTime(LocalDateTime.parse(dateTime));
+    }
+}
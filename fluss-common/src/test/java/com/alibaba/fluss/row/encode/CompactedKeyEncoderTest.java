@@ -32,6 +32,7 @@ import com.alibaba.fluss.types.RowType;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.stream.IntStream;
@@ -168,6 +169,55 @@ class CompactedKeyEncoderTest {
         }
     }
 
+    @Test
+    void testGetMinEncodedLength() {
+        final RowType rowType =
+                RowType.of(
+                        new DataType[] {
+                            DataTypes.INT(),
+                            DataTypes.STRING(),
+                            DataTypes.DOUBLE(),
+                            DataTypes.BIGINT()
+                        },
+                        new String[] {"a", "b", "c", "d"});
+        assertThat(CompactedKeyEncoder.getMinEncodedLength(rowType, Arrays.asList("a", "b")))
+                .isEqualTo(2);
+        assertThat(CompactedKeyEncoder.getMinEncodedLength(rowType, Arrays.asList("c", "a")))
+                .isEqualTo(9);
+
+        // the smallest values are encoded in exactly the min length
+        List<String> keys = Arrays.asList("a", "b", "c", "d");
+        byte[] minKey =
+                CompactedKeyEncoder.createKeyEncoder(rowType, keys).encodeKey(row(0, "", 0.0d, 0L));
+        assertThat(minKey).hasSize(CompactedKeyEncoder.getMinEncodedLength(rowType, keys));
+        byte[] key =
+                CompactedKeyEncoder.createKeyEncoder(rowType, keys)
+                        .encodeKey(row(Integer.MAX_VALUE, "abc", 1.0d, Long.MIN_VALUE));
+        assertThat(key.length).isGreaterThan(minKey.length);
+
+        assertThatThrownBy(
+                        () ->
+                                CompactedKeyEncoder.getMinEncodedLength(
+                                        rowType, Collections.singletonList("e")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Field e not found in input row type");
+    }
+
+    @Test
+    void testGetMinEncodedLengthForAllTypes() throws Exception {
+        RowType rowType = createAllRowType();
+        DataType[] dataTypes = rowType.getChildren().toArray(new DataType[0]);
+        try (IndexedRowWriter writer = IndexedRowTest.genRecordForAllTypes(dataTypes)) {
+            IndexedRow row = new IndexedRow(dataTypes);
+            row.pointTo(writer.segment(), 0, writer.position());
+            // the last column will be null, we exclude the last column as primary key
+            List<String> keys = rowType.getFieldNames().subList(0, rowType.getFieldCount() - 1);
+            byte[] keyBytes = CompactedKeyEncoder.createKeyEncoder(rowType, keys).encodeKey(row);
+            assertThat(keyBytes.length)
+                    .isGreaterThanOrEqualTo(CompactedKeyEncoder.getMinEncodedLength(rowType, keys));
+        }
+    }
+
     private InternalRow decodeRow(DataType[] dataTypes, byte[] values) {
         // use 0 as field count, then the null bits will be 0
         CompactedRowReader compactedRowReader = new CompactedRowReader(0);
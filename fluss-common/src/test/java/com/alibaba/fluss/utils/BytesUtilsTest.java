@@ -53,4 +53,15 @@ class BytesUtilsTest {
         assertThat(BytesUtils.toArray(buffer)).isEqualTo(new byte[] {2, 3, 4});
         assertThat(buffer.position()).isEqualTo(2);
     }
+
+    @Test
+    void compareUnsigned() {
+        assertThat(BytesUtils.compareUnsigned(new byte[] {1, 2}, new byte[] {1, 2})).isZero();
+        assertThat(BytesUtils.compareUnsigned(new byte[] {1, 2}, new byte[] {1, 3})).isNegative();
+        assertThat(BytesUtils.compareUnsigned(new byte[] {1}, new byte[] {1, 0})).isNegative();
+        assertThat(BytesUtils.compareUnsigned(new byte[] {}, new byte[] {0})).isNegative();
+        // bytes are compared as unsigned values, so 0xFF is greater than 0x01
+        assertThat(BytesUtils.compareUnsigned(new byte[] {(byte) 0xFF}, new byte[] {1}))
+                .isPositive();
+    }
 }
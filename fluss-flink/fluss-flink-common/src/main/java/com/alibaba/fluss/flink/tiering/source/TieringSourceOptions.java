@@ -18,6 +18,8 @@
 package com.alibaba.fluss.flink.tiering.source;
 
 import com.alibaba.fluss.config.ConfigOption;
+import com.alibaba.fluss.config.ConfigOptions;
+import com.alibaba.fluss.config.MemorySize;
 
 import java.time.Duration;
 
@@ -34,4 +36,22 @@ public class TieringSourceOptions {
                     .defaultValue(Duration.ofSeconds(30))
                     .withDescription(
                             "The fixed interval to request tiering table from Fluss cluster, by default 30 seconds.");
+
+    public static final ConfigOption<MemorySize> TIERING_READER_LOG_FETCH_BUFFER_BUDGET =
+            key("tiering.reader.log-fetch-buffer-budget")
+                    .memoryType()
+                    .defaultValue(MemorySize.parse("64mb"))
+                    .withDescription(
+                            "The budget of the log fetch buffers of the tables tiered "
+                                    + "concurrently by a tiering source reader. Each table being "
+                                    + "tiered fetches up to '"
+                                    + ConfigOptions.CLIENT_SCANNER_LOG_FETCH_MAX_BYTES.key()
+                                    + "' of logs at a time, so a reader tiers up to the budget "
+                                    + "divided by it tables at once, and at least one table. "
+                                    + "The tables are tiered in turn, so the small tables are "
+                                    + "not blocked by the big ones. Note that the budget only "
+                                    + "covers the log fetch buffers, the lake writers of each "
+                                    + "table being tiered buffer the written records "
+                                    + "additionally, e.g. the write buffers of Paimon which are "
+                                    + "configured by the Paimon table options.");
 }
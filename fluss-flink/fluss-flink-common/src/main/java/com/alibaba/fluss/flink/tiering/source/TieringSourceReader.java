@@ -19,6 +19,7 @@ package com.alibaba.fluss.flink.tiering.source;
 
 import com.alibaba.fluss.annotation.Internal;
 import com.alibaba.fluss.config.Configuration;
+import com.alibaba.fluss.flink.tiering.source.metrics.TieringReaderMetrics;
 import com.alibaba.fluss.flink.tiering.source.split.TieringSplit;
 import com.alibaba.fluss.flink.tiering.source.state.TieringSplitState;
 import com.alibaba.fluss.lake.writer.LakeTieringFactory;
@@ -45,7 +46,11 @@ public final class TieringSourceReader<WriteResult>
             Configuration flussConf,
             LakeTieringFactory<WriteResult, ?> lakeTieringFactory) {
         super(
-                () -> new TieringSplitReader<>(flussConf, lakeTieringFactory),
+                () ->
+                        new TieringSplitReader<>(
+                                flussConf,
+                                lakeTieringFactory,
+                                new TieringReaderMetrics(context.metricGroup())),
                 new TableBucketWriteResultEmitter<>(),
                 context.getConfiguration(),
                 context);
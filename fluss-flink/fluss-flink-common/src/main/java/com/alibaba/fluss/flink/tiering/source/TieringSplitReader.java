@@ -22,15 +22,20 @@ import com.alibaba.fluss.client.ConnectionFactory;
 import com.alibaba.fluss.client.table.Table;
 import com.alibaba.fluss.client.table.scanner.ScanRecord;
 import com.alibaba.fluss.client.table.scanner.log.LogScanner;
+import com.alibaba.fluss.client.table.scanner.log.ScanBatch;
+import com.alibaba.fluss.client.table.scanner.log.ScanBatches;
 import com.alibaba.fluss.client.table.scanner.log.ScanRecords;
+import com.alibaba.fluss.config.ConfigOptions;
 import com.alibaba.fluss.config.Configuration;
 import com.alibaba.fluss.flink.source.reader.BoundedSplitReader;
 import com.alibaba.fluss.flink.source.reader.RecordAndPos;
+import com.alibaba.fluss.flink.tiering.source.metrics.TieringReaderMetrics;
 import com.alibaba.fluss.flink.tiering.source.split.TieringLogSplit;
 import com.alibaba.fluss.flink.tiering.source.split.TieringSnapshotSplit;
 import com.alibaba.fluss.flink.tiering.source.split.TieringSplit;
 import com.alibaba.fluss.lake.writer.LakeTieringFactory;
 import com.alibaba.fluss.lake.writer.LakeWriter;
+import com.alibaba.fluss.metadata.LogFormat;
 import com.alibaba.fluss.metadata.TableBucket;
 import com.alibaba.fluss.metadata.TableInfo;
 import com.alibaba.fluss.metadata.TablePath;
@@ -52,15 +57,30 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Queue;
 import java.util.Set;
 
+import static com.alibaba.fluss.flink.tiering.source.TieringSourceOptions.TIERING_READER_LOG_FETCH_BUFFER_BUDGET;
 import static com.alibaba.fluss.utils.Preconditions.checkArgument;
 import static com.alibaba.fluss.utils.Preconditions.checkNotNull;
 
-/** The {@link SplitReader} implementation which will read Fluss and write to lake. */
+/**
+ * The {@link SplitReader} implementation which will read Fluss and write to lake.
+ *
+ * <p>The reader tiers several tables at once, up to the number of tables whose log fetches fit in
+ * the {@link TieringSourceOptions#TIERING_READER_LOG_FETCH_BUFFER_BUDGET}. Each fetch reads from
+ * the tables in turn, so that the small tables aren't blocked behind the big ones. The other tables
+ * wait in the order they are assigned until a table being tiered is finished. The budget doesn't
+ * cover the memory of the {@link LakeWriter}s, which is bounded by the lake format.
+ *
+ * <p>The log of the tables in {@link LogFormat#ARROW} format is polled by {@link
+ * LogScanner#pollBatches(Duration)} and written to the lake writers batch by batch, so that the
+ * lake writers can read the columns directly rather than a row per record. The log in the other
+ * formats is polled by {@link LogScanner#poll(Duration)} and written record by record.
+ */
 public class TieringSplitReader<WriteResult>
         implements SplitReader<TableBucketWriteResult<WriteResult>, TieringSplit> {
 
@@ -68,76 +88,70 @@ public class TieringSplitReader<WriteResult>
 
     private static final Duration POLL_TIMEOUT = Duration.ofMillis(10000L);
 
+    // the poll timeout when more than one table is being tiered, which doesn't block the other
+    // tables for long when the log of a table is not ready
+    private static final Duration MULTI_TABLES_POLL_TIMEOUT = Duration.ofMillis(100L);
+
     private final LakeTieringFactory<WriteResult, ?> lakeTieringFactory;
+    private final TieringReaderMetrics tieringReaderMetrics;
+    private final int maxTieringTables;
 
     // the id for the pending tables to be tiered
     private final Queue<Long> pendingTieringTables;
     // the table_id to the pending splits
     private final Map<Long, Set<TieringSplit>> pendingTieringSplits;
 
+    // the table_id to the tables being tiered
+    private final Map<Long, TieringTable> tieringTables;
+    // the tables being tiered in the order to fetch
+    private final Queue<TieringTable> tieringTablesToFetch;
+
     private final Map<TableBucket, LakeWriter<WriteResult>> lakeWriters;
     private final Connection connection;
 
-    @Nullable private Long currentTableId;
-    @Nullable private TablePath currentTablePath;
-    @Nullable private LogScanner currentLogScanner;
-    @Nullable private Table currentTable;
-
-    private final Queue<TieringSnapshotSplit> currentPendingSnapshotSplits;
-    @Nullable private BoundedSplitReader currentSnapshotSplitReader;
-    @Nullable private TieringSnapshotSplit currentSnapshotSplit;
-    @Nullable private Integer currentTableNumberOfSplits;
-
-    // map from table bucket to split id
-    private final Map<TableBucket, TieringSplit> currentTableSplitsByBucket;
-    private final Map<TableBucket, Long> currentTableStoppingOffsets;
-    private final Set<TieringLogSplit> currentTableEmptyLogSplits;
-
     public TieringSplitReader(
-            Configuration flussConf, LakeTieringFactory<WriteResult, ?> lakeTieringFactory) {
+            Configuration flussConf,
+            LakeTieringFactory<WriteResult, ?> lakeTieringFactory,
+            TieringReaderMetrics tieringReaderMetrics) {
         this.lakeTieringFactory = lakeTieringFactory;
+        this.tieringReaderMetrics = tieringReaderMetrics;
+        this.maxTieringTables = maxTieringTables(flussConf);
         this.connection = ConnectionFactory.createConnection(flussConf);
         this.pendingTieringTables = new ArrayDeque<>();
         this.pendingTieringSplits = new HashMap<>();
-        this.currentTableStoppingOffsets = new HashMap<>();
-        this.currentTableEmptyLogSplits = new HashSet<>();
-        this.currentTableSplitsByBucket = new HashMap<>();
+        this.tieringTables = new LinkedHashMap<>();
+        this.tieringTablesToFetch = new ArrayDeque<>();
         this.lakeWriters = new HashMap<>();
-        this.currentPendingSnapshotSplits = new ArrayDeque<>();
+    }
+
+    private static int maxTieringTables(Configuration flussConf) {
+        long budget = flussConf.get(TIERING_READER_LOG_FETCH_BUFFER_BUDGET).getBytes();
+        long fetchMaxBytes =
+                flussConf.get(ConfigOptions.CLIENT_SCANNER_LOG_FETCH_MAX_BYTES).getBytes();
+        return (int) Math.max(1, Math.min(Integer.MAX_VALUE, budget / Math.max(1, fetchMaxBytes)));
     }
 
     @Override
     public RecordsWithSplitIds<TableBucketWriteResult<WriteResult>> fetch() throws IOException {
         // check empty splits
-        if (!currentTableEmptyLogSplits.isEmpty()) {
-            LOG.info("Empty split(s) {} finished.", currentTableEmptyLogSplits);
-            TableBucketWriteResultWithSplitIds records = forEmptySplits(currentTableEmptyLogSplits);
-            currentTableEmptyLogSplits.forEach(
-                    split -> currentTableSplitsByBucket.remove(split.getTableBucket()));
-            mayFinishCurrentTable();
-            currentTableEmptyLogSplits.clear();
-            return records;
-        }
-        checkSplitOrStartNext();
-
-        // may read snapshot firstly
-        if (currentSnapshotSplitReader != null) {
-            CloseableIterator<RecordAndPos> recordIterator = currentSnapshotSplitReader.readBatch();
-            if (recordIterator == null) {
-                LOG.info("Split {} is finished", currentSnapshotSplit.splitId());
-                return finishCurrentSnapshotSplit();
-            } else {
-                return forSnapshotSplitRecords(
-                        currentSnapshotSplit.getTableBucket(), recordIterator);
-            }
-        } else {
-            if (currentLogScanner != null) {
-                ScanRecords scanRecords = currentLogScanner.poll(POLL_TIMEOUT);
-                return forLogRecords(scanRecords);
-            } else {
-                return emptyTableBucketWriteResultWithSplitIds();
+        for (TieringTable tieringTable : tieringTables.values()) {
+            if (!tieringTable.emptyLogSplits.isEmpty()) {
+                return tieringTable.finishEmptySplits();
             }
         }
+
+        if (mayStartPendingTables()) {
+            // the splits of the started tables are added, read them from the next fetch
+            return emptyTableBucketWriteResultWithSplitIds();
+        }
+
+        // read the tables being tiered in turn
+        TieringTable tieringTable = tieringTablesToFetch.poll();
+        if (tieringTable == null) {
+            return emptyTableBucketWriteResultWithSplitIds();
+        }
+        tieringTablesToFetch.add(tieringTable);
+        return tieringTable.fetch();
     }
 
     @Override
@@ -151,9 +165,10 @@ public class TieringSplitReader<WriteResult>
         for (TieringSplit split : splitsChange.splits()) {
             LOG.info("add split {}", split.splitId());
             long tableId = split.getTableBucket().getTableId();
-            // the split belongs to the current table
-            if (currentTableId != null && currentTableId == tableId) {
-                addSplitToCurrentTable(split);
+            TieringTable tieringTable = tieringTables.get(tableId);
+            // the split belongs to a table being tiered
+            if (tieringTable != null) {
+                tieringTable.addSplit(split);
             } else {
                 Set<TieringSplit> alreadyPendingSplits = pendingTieringSplits.get(tableId);
                 if (alreadyPendingSplits != null) {
@@ -169,314 +184,451 @@ public class TieringSplitReader<WriteResult>
         }
     }
 
-    private void addSplitToCurrentTable(TieringSplit split) {
-        this.currentTableSplitsByBucket.put(split.getTableBucket(), split);
-        if (split.isTieringSnapshotSplit()) {
-            this.currentPendingSnapshotSplits.add((TieringSnapshotSplit) split);
-        } else if (split.isTieringLogSplit()) {
-            subscribeLog((TieringLogSplit) split);
-        }
-    }
-
-    private void checkSplitOrStartNext() {
-        if (currentSnapshotSplitReader != null) {
-            return;
-        }
-
-        // may poll next snapshot split to read
-        TieringSnapshotSplit nextSnapshotSplit = currentPendingSnapshotSplits.poll();
-        if (nextSnapshotSplit != null) {
-            Table table = getOrMoveToTable(nextSnapshotSplit);
-            currentSnapshotSplit = nextSnapshotSplit;
-            currentSnapshotSplitReader =
-                    new BoundedSplitReader(
-                            table.newScan()
-                                    .createBatchScanner(
-                                            currentSnapshotSplit.getTableBucket(),
-                                            currentSnapshotSplit.getSnapshotId()),
-                            0);
-            return;
-        }
-
-        // use current log scanner to read
-        if (currentLogScanner != null) {
-            return;
-        }
-
-        // may poll next table to read
-        Long pendingTableId = pendingTieringTables.poll();
-        if (pendingTableId == null) {
-            return;
-        }
-
-        Set<TieringSplit> pendingSplits = pendingTieringSplits.remove(pendingTableId);
-        for (TieringSplit split : pendingSplits) {
-            getOrMoveToTable(split);
-            addSplitToCurrentTable(split);
-        }
-    }
-
-    private Table getOrMoveToTable(TieringSplit split) {
-        if (currentTable == null) {
-            TablePath tablePath = split.getTablePath();
-            currentTable = connection.getTable(tablePath);
-            currentTablePath = tablePath;
-            currentTableId = split.getTableBucket().getTableId();
-            currentTableNumberOfSplits = split.getNumberOfSplits();
-            TableInfo currentTableInfo = checkNotNull(currentTable).getTableInfo();
-            // check currentTable's id for the table path is same with table id of the tiering
-            // split, if not, it means the tiering split is for a previous dropped table. let's fail
-            // directly
-            // todo: we should skip and notify enumerator that the table id is not tiering now
-            // instead of fail directly
-            checkArgument(
-                    currentTableInfo.getTableId() == split.getTableBucket().getTableId(),
-                    "The current table id %s for table path % is different from the table id %s in TieringSplit split.",
-                    currentTableInfo.getTableId(),
-                    tablePath,
-                    split.getTableBucket().getTableId());
-            LOG.info("Start to tier table {} with table id {}.", currentTablePath, currentTableId);
-        }
-        return currentTable;
-    }
-
-    private void mayCreateLogScanner() {
-        if (currentLogScanner == null) {
-            currentLogScanner = checkNotNull(currentTable).newScan().createLogScanner();
-        }
-    }
-
-    private RecordsWithSplitIds<TableBucketWriteResult<WriteResult>> forLogRecords(
-            ScanRecords scanRecords) throws IOException {
-        Map<TableBucket, TableBucketWriteResult<WriteResult>> writeResults = new HashMap<>();
-        Map<TableBucket, String> finishedSplitIds = new HashMap<>();
-        for (TableBucket bucket : scanRecords.buckets()) {
-            List<ScanRecord> bucketScanRecords = scanRecords.records(bucket);
-            if (bucketScanRecords.isEmpty()) {
-                continue;
-            }
-            // no any stopping offset, just skip handle the records for the bucket
-            Long stoppingOffset = currentTableStoppingOffsets.get(bucket);
-            if (stoppingOffset == null) {
-                continue;
+    /** Starts to tier the pending tables if the budget allows, returns whether any is started. */
+    private boolean mayStartPendingTables() {
+        boolean started = false;
+        while (tieringTables.size() < maxTieringTables) {
+            Long pendingTableId = pendingTieringTables.poll();
+            if (pendingTableId == null) {
+                break;
             }
-            LakeWriter<WriteResult> lakeWriter =
-                    getOrCreateLakeWriter(
-                            bucket, currentTableSplitsByBucket.get(bucket).getPartitionName());
-            for (ScanRecord record : bucketScanRecords) {
-                // if record is less than stopping offset
-                if (record.logOffset() < stoppingOffset) {
-                    lakeWriter.write(record);
-                }
+            Set<TieringSplit> pendingSplits = pendingTieringSplits.remove(pendingTableId);
+            TieringTable tieringTable = new TieringTable(pendingSplits.iterator().next());
+            tieringTables.put(pendingTableId, tieringTable);
+            tieringTablesToFetch.add(tieringTable);
+            for (TieringSplit split : pendingSplits) {
+                tieringTable.addSplit(split);
             }
-            ScanRecord lastRecord = bucketScanRecords.get(bucketScanRecords.size() - 1);
-            // has arrived into the end of the split,
-            if (lastRecord.logOffset() >= stoppingOffset - 1) {
-                currentTableStoppingOffsets.remove(bucket);
-                if (bucket.getPartitionId() != null) {
-                    currentLogScanner.unsubscribe(bucket.getPartitionId(), bucket.getBucket());
-                } else {
-                    // todo: should unsubscribe the log split if unsubscribe bucket for
-                    // un-partitioned table is supported
-                }
-                // put write result of the bucket
-                writeResults.put(bucket, completeLakeWriter(bucket, stoppingOffset));
-                String currentSplitId = currentTableSplitsByBucket.remove(bucket).splitId();
-                // put split of the bucket
-                finishedSplitIds.put(bucket, currentSplitId);
-                LOG.info("Split {} has been finished.", currentSplitId);
-            }
-        }
-
-        if (!finishedSplitIds.isEmpty()) {
-            mayFinishCurrentTable();
+            started = true;
         }
-
-        return new TableBucketWriteResultWithSplitIds(writeResults, finishedSplitIds);
+        return started;
     }
 
     private LakeWriter<WriteResult> getOrCreateLakeWriter(
-            TableBucket bucket, @Nullable String partitionName) throws IOException {
+            TieringTable tieringTable, TableBucket bucket, @Nullable String partitionName)
+            throws IOException {
         LakeWriter<WriteResult> lakeWriter = lakeWriters.get(bucket);
         if (lakeWriter == null) {
             lakeWriter =
                     lakeTieringFactory.createLakeWriter(
                             new TieringWriterInitContext(
-                                    currentTablePath,
+                                    tieringTable.tablePath,
                                     bucket,
                                     partitionName,
-                                    currentTable.getTableInfo().getSchema()));
+                                    tieringTable.table.getTableInfo().getSchema()));
             lakeWriters.put(bucket, lakeWriter);
         }
         return lakeWriter;
     }
 
     private TableBucketWriteResult<WriteResult> completeLakeWriter(
-            TableBucket bucket, long logEndOffset) throws IOException {
+            TieringTable tieringTable, TableBucket bucket, long logEndOffset) throws IOException {
         LakeWriter<WriteResult> lakeWriter = lakeWriters.remove(bucket);
         WriteResult writeResult = lakeWriter.complete();
         lakeWriter.close();
         return toTableBucketWriteResult(
-                currentTablePath,
+                tieringTable.tablePath,
                 bucket,
                 writeResult,
                 logEndOffset,
-                checkNotNull(currentTableNumberOfSplits));
+                tieringTable.numberOfSplits);
     }
 
-    private TableBucketWriteResultWithSplitIds forEmptySplits(Set<TieringLogSplit> emptySplits) {
-        Map<TableBucket, TableBucketWriteResult<WriteResult>> writeResults = new HashMap<>();
-        Map<TableBucket, String> finishedSplitIds = new HashMap<>();
-        for (TieringLogSplit logSplit : emptySplits) {
-            TableBucket tableBucket = logSplit.getTableBucket();
-            finishedSplitIds.put(tableBucket, logSplit.splitId());
-            writeResults.put(
-                    tableBucket,
-                    toTableBucketWriteResult(
-                            logSplit.getTablePath(),
-                            tableBucket,
-                            null,
-                            logSplit.getStoppingOffset(),
-                            logSplit.getNumberOfSplits()));
+    private TableBucketWriteResultWithSplitIds emptyTableBucketWriteResultWithSplitIds() {
+        return new TableBucketWriteResultWithSplitIds();
+    }
+
+    @Override
+    public void wakeUp() {
+        for (TieringTable tieringTable : tieringTables.values()) {
+            if (tieringTable.logScanner != null) {
+                tieringTable.logScanner.wakeup();
+            }
         }
-        return new TableBucketWriteResultWithSplitIds(writeResults, finishedSplitIds);
     }
 
-    private void mayFinishCurrentTable() throws IOException {
-        // no any pending splits for the table, just finish the table
-        if (currentTableSplitsByBucket.isEmpty()) {
-            LOG.info("Finish tier  table {} of table id {}.", currentTablePath, currentTableId);
-            finishCurrentTable();
+    @Override
+    public void close() throws Exception {
+        for (TieringTable tieringTable : tieringTables.values()) {
+            tieringTable.close();
+        }
+        tieringTables.clear();
+        tieringTablesToFetch.clear();
+        if (connection != null) {
+            connection.close();
         }
     }
 
-    private TableBucketWriteResultWithSplitIds finishCurrentSnapshotSplit() throws IOException {
-        TableBucket tableBucket = currentSnapshotSplit.getTableBucket();
-        long logEndOffset = currentSnapshotSplit.getLogOffsetOfSnapshot();
-        String splitId = currentTableSplitsByBucket.remove(tableBucket).splitId();
-        TableBucketWriteResult<WriteResult> writeResult =
-                completeLakeWriter(tableBucket, logEndOffset);
-        closeCurrentSnapshotSplit();
-        mayFinishCurrentTable();
-        return new TableBucketWriteResultWithSplitIds(
-                Collections.singletonMap(tableBucket, writeResult),
-                Collections.singletonMap(tableBucket, splitId));
+    private TableBucketWriteResult<WriteResult> toTableBucketWriteResult(
+            TablePath tablePath,
+            TableBucket tableBucket,
+            @Nullable WriteResult writeResult,
+            long endLogOffset,
+            int numberOfSplits) {
+        return new TableBucketWriteResult<>(
+                tablePath, tableBucket, writeResult, endLogOffset, numberOfSplits);
     }
 
-    private TableBucketWriteResultWithSplitIds forSnapshotSplitRecords(
-            TableBucket bucket, CloseableIterator<RecordAndPos> recordIterator) throws IOException {
-        LakeWriter<WriteResult> lakeWriter =
-                getOrCreateLakeWriter(
-                        bucket, checkNotNull(currentSnapshotSplit).getPartitionName());
-        while (recordIterator.hasNext()) {
-            ScanRecord scanRecord = recordIterator.next().record();
-            lakeWriter.write(scanRecord);
+    /** The state of a table being tiered. */
+    private class TieringTable {
+
+        private final long tableId;
+        private final TablePath tablePath;
+        private final Table table;
+        private final int numberOfSplits;
+        private final TieringReaderMetrics.TableMetrics tableMetrics;
+
+        @Nullable private LogScanner logScanner;
+        // whether to poll the log as columnar batches, only supported for the arrow log format
+        private final boolean pollBatches;
+
+        private final Queue<TieringSnapshotSplit> pendingSnapshotSplits;
+        @Nullable private BoundedSplitReader snapshotSplitReader;
+        @Nullable private TieringSnapshotSplit snapshotSplit;
+
+        // map from table bucket to split id
+        private final Map<TableBucket, TieringSplit> splitsByBucket;
+        private final Map<TableBucket, Long> stoppingOffsets;
+        private final Set<TieringLogSplit> emptyLogSplits;
+        // the records of the log splits which are not tiered yet
+        private final Map<TableBucket, Long> pendingRecords;
+
+        private TieringTable(TieringSplit split) {
+            this.tableId = split.getTableBucket().getTableId();
+            this.tablePath = split.getTablePath();
+            this.table = connection.getTable(tablePath);
+            this.numberOfSplits = split.getNumberOfSplits();
+            this.tableMetrics = tieringReaderMetrics.tableMetrics(tablePath);
+            this.pendingSnapshotSplits = new ArrayDeque<>();
+            this.splitsByBucket = new HashMap<>();
+            this.stoppingOffsets = new HashMap<>();
+            this.emptyLogSplits = new HashSet<>();
+            this.pendingRecords = new HashMap<>();
+            TableInfo tableInfo = table.getTableInfo();
+            this.pollBatches = tableInfo.getTableConfig().getLogFormat() == LogFormat.ARROW;
+            // check table's id for the table path is same with table id of the tiering split, if
+            // not, it means the tiering split is for a previous dropped table. let's fail directly
+            // todo: we should skip and notify enumerator that the table id is not tiering now
+            // instead of fail directly
+            checkArgument(
+                    tableInfo.getTableId() == tableId,
+                    "The current table id %s for table path % is different from the table id %s in TieringSplit split.",
+                    tableInfo.getTableId(),
+                    tablePath,
+                    tableId);
+            LOG.info("Start to tier table {} with table id {}.", tablePath, tableId);
+        }
+
+        private void addSplit(TieringSplit split) {
+            splitsByBucket.put(split.getTableBucket(), split);
+            if (split.isTieringSnapshotSplit()) {
+                pendingSnapshotSplits.add((TieringSnapshotSplit) split);
+            } else if (split.isTieringLogSplit()) {
+                subscribeLog((TieringLogSplit) split);
+            }
         }
-        recordIterator.close();
-        return emptyTableBucketWriteResultWithSplitIds();
-    }
 
-    private TableBucketWriteResultWithSplitIds emptyTableBucketWriteResultWithSplitIds() {
-        return new TableBucketWriteResultWithSplitIds();
-    }
+        private RecordsWithSplitIds<TableBucketWriteResult<WriteResult>> fetch()
+                throws IOException {
+            checkSplitOrStartNext();
 
-    private void closeCurrentSnapshotSplit() throws IOException {
-        try {
-            currentSnapshotSplitReader.close();
-        } catch (Exception e) {
-            throw new IOException("Fail to close current snapshot split reader.", e);
+            // may read snapshot firstly
+            if (snapshotSplitReader != null) {
+                CloseableIterator<RecordAndPos> recordIterator = snapshotSplitReader.readBatch();
+                if (recordIterator == null) {
+                    LOG.info("Split {} is finished", checkNotNull(snapshotSplit).splitId());
+                    return finishSnapshotSplit();
+                } else {
+                    return forSnapshotSplitRecords(
+                            checkNotNull(snapshotSplit).getTableBucket(), recordIterator);
+                }
+            } else if (logScanner != null) {
+                Duration pollTimeout =
+                        tieringTables.size() > 1 ? MULTI_TABLES_POLL_TIMEOUT : POLL_TIMEOUT;
+                if (pollBatches) {
+                    return forLogBatches(pollTimeout);
+                } else {
+                    ScanRecords scanRecords = logScanner.poll(pollTimeout);
+                    return forLogRecords(scanRecords);
+                }
+            } else {
+                return emptyTableBucketWriteResultWithSplitIds();
+            }
         }
-        currentSnapshotSplitReader = null;
-        currentSnapshotSplit = null;
-    }
 
-    private void finishCurrentTable() throws IOException {
-        try {
-            if (currentLogScanner != null) {
-                currentLogScanner.close();
-                currentLogScanner = null;
+        private void checkSplitOrStartNext() {
+            if (snapshotSplitReader != null) {
+                return;
             }
 
-            if (currentSnapshotSplitReader != null) {
-                currentSnapshotSplitReader.close();
-                currentSnapshotSplitReader = null;
+            // may poll next snapshot split to read
+            TieringSnapshotSplit nextSnapshotSplit = pendingSnapshotSplits.poll();
+            if (nextSnapshotSplit != null) {
+                snapshotSplit = nextSnapshotSplit;
+                snapshotSplitReader =
+                        new BoundedSplitReader(
+                                table.newScan()
+                                        .createBatchScanner(
+                                                nextSnapshotSplit.getTableBucket(),
+                                                nextSnapshotSplit.getSnapshotId()),
+                                0);
+            }
+        }
+
+        private RecordsWithSplitIds<TableBucketWriteResult<WriteResult>> forLogRecords(
+                ScanRecords scanRecords) throws IOException {
+            Map<TableBucket, TableBucketWriteResult<WriteResult>> writeResults = new HashMap<>();
+            Map<TableBucket, String> finishedSplitIds = new HashMap<>();
+            for (TableBucket bucket : scanRecords.buckets()) {
+                List<ScanRecord> bucketScanRecords = scanRecords.records(bucket);
+                if (bucketScanRecords.isEmpty()) {
+                    continue;
+                }
+                // no any stopping offset, just skip handle the records for the bucket
+                Long stoppingOffset = stoppingOffsets.get(bucket);
+                if (stoppingOffset == null) {
+                    continue;
+                }
+                LakeWriter<WriteResult> lakeWriter =
+                        getOrCreateLakeWriter(
+                                this, bucket, splitsByBucket.get(bucket).getPartitionName());
+                long tieredRecords = 0;
+                ScanRecord lastTieredRecord = null;
+                for (ScanRecord record : bucketScanRecords) {
+                    // if record is less than stopping offset
+                    if (record.logOffset() < stoppingOffset) {
+                        lakeWriter.write(record);
+                        tieredRecords++;
+                        lastTieredRecord = record;
+                    }
+                }
+                if (lastTieredRecord != null) {
+                    tableMetrics.recordsTiered(tieredRecords);
+                    tableMetrics.reportRecordTimestamp(lastTieredRecord.timestamp());
+                }
+                long lastOffset = bucketScanRecords.get(bucketScanRecords.size() - 1).logOffset();
+                mayFinishLogSplit(
+                        bucket, stoppingOffset, lastOffset, writeResults, finishedSplitIds);
             }
 
-            if (currentTable != null) {
-                currentTable.close();
-                currentTable = null;
+            if (!finishedSplitIds.isEmpty()) {
+                mayFinish();
             }
-        } catch (Exception e) {
-            throw new IOException("Fail to finish current table.", e);
+
+            return new TableBucketWriteResultWithSplitIds(writeResults, finishedSplitIds);
         }
 
-        // before switch to a new table, mark all as empty or null
-        currentTableId = null;
-        currentTablePath = null;
-        currentTableNumberOfSplits = null;
-        currentPendingSnapshotSplits.clear();
-        currentTableStoppingOffsets.clear();
-        currentTableEmptyLogSplits.clear();
-        currentTableSplitsByBucket.clear();
-    }
+        private RecordsWithSplitIds<TableBucketWriteResult<WriteResult>> forLogBatches(
+                Duration pollTimeout) throws IOException {
+            Map<TableBucket, TableBucketWriteResult<WriteResult>> writeResults = new HashMap<>();
+            Map<TableBucket, String> finishedSplitIds = new HashMap<>();
+            // the batches hold the arrow buffers allocated by the log scanner, so they must be
+            // released before the log scanner is closed when the table is finished
+            try (ScanBatches scanBatches = checkNotNull(logScanner).pollBatches(pollTimeout)) {
+                for (TableBucket bucket : scanBatches.buckets()) {
+                    List<ScanBatch> bucketScanBatches = scanBatches.batches(bucket);
+                    if (bucketScanBatches.isEmpty()) {
+                        continue;
+                    }
+                    // no any stopping offset, just skip handle the records for the bucket
+                    Long stoppingOffset = stoppingOffsets.get(bucket);
+                    if (stoppingOffset == null) {
+                        continue;
+                    }
+                    LakeWriter<WriteResult> lakeWriter =
+                            getOrCreateLakeWriter(
+                                    this, bucket, splitsByBucket.get(bucket).getPartitionName());
+                    long tieredRecords = 0;
+                    ScanBatch lastTieredBatch = null;
+                    for (ScanBatch batch : bucketScanBatches) {
+                        // only write the records less than stopping offset
+                        int toRowId =
+                                (int)
+                                        Math.min(
+                                                batch.getRowCount(),
+                                                stoppingOffset - batch.getBaseLogOffset());
+                        if (toRowId > 0) {
+                            lakeWriter.write(batch, 0, toRowId);
+                            tieredRecords += toRowId;
+                            lastTieredBatch = batch;
+                        }
+                    }
+                    if (lastTieredBatch != null) {
+                        tableMetrics.recordsTiered(tieredRecords);
+                        tableMetrics.reportRecordTimestamp(lastTieredBatch.getTimestamp());
+                    }
+                    long lastOffset =
+                            bucketScanBatches.get(bucketScanBatches.size() - 1).getNextLogOffset()
+                                    - 1;
+                    mayFinishLogSplit(
+                            bucket, stoppingOffset, lastOffset, writeResults, finishedSplitIds);
+                }
+            }
 
-    @Override
-    public void wakeUp() {
-        if (currentLogScanner != null) {
-            currentLogScanner.wakeup();
+            if (!finishedSplitIds.isEmpty()) {
+                mayFinish();
+            }
+
+            return new TableBucketWriteResultWithSplitIds(writeResults, finishedSplitIds);
         }
-    }
 
-    @Override
-    public void close() throws Exception {
-        if (currentLogScanner != null) {
-            currentLogScanner.close();
+        private void mayFinishLogSplit(
+                TableBucket bucket,
+                long stoppingOffset,
+                long lastOffset,
+                Map<TableBucket, TableBucketWriteResult<WriteResult>> writeResults,
+                Map<TableBucket, String> finishedSplitIds)
+                throws IOException {
+            updatePendingRecords(bucket, Math.max(0, stoppingOffset - lastOffset - 1));
+            // has arrived into the end of the split,
+            if (lastOffset >= stoppingOffset - 1) {
+                stoppingOffsets.remove(bucket);
+                if (bucket.getPartitionId() != null) {
+                    checkNotNull(logScanner)
+                            .unsubscribe(bucket.getPartitionId(), bucket.getBucket());
+                } else {
+                    // todo: should unsubscribe the log split if unsubscribe bucket for
+                    // un-partitioned table is supported
+                }
+                // put write result of the bucket
+                writeResults.put(bucket, completeLakeWriter(this, bucket, stoppingOffset));
+                String splitId = splitsByBucket.remove(bucket).splitId();
+                // put split of the bucket
+                finishedSplitIds.put(bucket, splitId);
+                LOG.info("Split {} has been finished.", splitId);
+            }
         }
-        if (currentTable != null) {
-            currentTable.close();
+
+        private TableBucketWriteResultWithSplitIds finishEmptySplits() throws IOException {
+            LOG.info("Empty split(s) {} finished.", emptyLogSplits);
+            Map<TableBucket, TableBucketWriteResult<WriteResult>> writeResults = new HashMap<>();
+            Map<TableBucket, String> finishedSplitIds = new HashMap<>();
+            for (TieringLogSplit logSplit : emptyLogSplits) {
+                TableBucket tableBucket = logSplit.getTableBucket();
+                finishedSplitIds.put(tableBucket, logSplit.splitId());
+                writeResults.put(
+                        tableBucket,
+                        toTableBucketWriteResult(
+                                logSplit.getTablePath(),
+                                tableBucket,
+                                null,
+                                logSplit.getStoppingOffset(),
+                                logSplit.getNumberOfSplits()));
+                splitsByBucket.remove(tableBucket);
+            }
+            emptyLogSplits.clear();
+            mayFinish();
+            return new TableBucketWriteResultWithSplitIds(writeResults, finishedSplitIds);
         }
-        if (connection != null) {
-            connection.close();
+
+        private TableBucketWriteResultWithSplitIds finishSnapshotSplit() throws IOException {
+            TieringSnapshotSplit split = checkNotNull(snapshotSplit);
+            TableBucket tableBucket = split.getTableBucket();
+            long logEndOffset = split.getLogOffsetOfSnapshot();
+            String splitId = splitsByBucket.remove(tableBucket).splitId();
+            TableBucketWriteResult<WriteResult> writeResult =
+                    completeLakeWriter(this, tableBucket, logEndOffset);
+            closeSnapshotSplit();
+            mayFinish();
+            return new TableBucketWriteResultWithSplitIds(
+                    Collections.singletonMap(tableBucket, writeResult),
+                    Collections.singletonMap(tableBucket, splitId));
         }
-    }
 
-    private void subscribeLog(TieringLogSplit logSplit) {
-        // assign bucket offset dynamically
-        TableBucket tableBucket = logSplit.getTableBucket();
-        long stoppingOffset = logSplit.getStoppingOffset();
-        long startingOffset = logSplit.getStartingOffset();
-        if (startingOffset >= stoppingOffset || stoppingOffset <= 0) {
-            currentTableEmptyLogSplits.add(logSplit);
-            return;
-        } else {
-            currentTableStoppingOffsets.put(tableBucket, stoppingOffset);
+        private TableBucketWriteResultWithSplitIds forSnapshotSplitRecords(
+                TableBucket bucket, CloseableIterator<RecordAndPos> recordIterator)
+                throws IOException {
+            LakeWriter<WriteResult> lakeWriter =
+                    getOrCreateLakeWriter(
+                            this, bucket, checkNotNull(snapshotSplit).getPartitionName());
+            long tieredRecords = 0;
+            while (recordIterator.hasNext()) {
+                ScanRecord scanRecord = recordIterator.next().record();
+                lakeWriter.write(scanRecord);
+                tieredRecords++;
+            }
+            recordIterator.close();
+            tableMetrics.recordsTiered(tieredRecords);
+            return emptyTableBucketWriteResultWithSplitIds();
         }
 
-        mayCreateLogScanner();
-        Long partitionId = tableBucket.getPartitionId();
-        int bucket = tableBucket.getBucket();
-        checkNotNull(currentLogScanner, "current log scanner shouldn't be null.");
-        if (partitionId != null) {
-            currentLogScanner.subscribe(partitionId, bucket, startingOffset);
-        } else {
-            // If no partition id, subscribe by bucket only.
-            currentLogScanner.subscribe(bucket, startingOffset);
+        private void closeSnapshotSplit() throws IOException {
+            try {
+                checkNotNull(snapshotSplitReader).close();
+            } catch (Exception e) {
+                throw new IOException("Fail to close current snapshot split reader.", e);
+            }
+            snapshotSplitReader = null;
+            snapshotSplit = null;
         }
-        LOG.info(
-                "Subscribe to read log for split {} from starting offset {} to end offset {}.",
-                logSplit.splitId(),
-                startingOffset,
-                stoppingOffset);
-    }
 
-    private TableBucketWriteResult<WriteResult> toTableBucketWriteResult(
-            TablePath tablePath,
-            TableBucket tableBucket,
-            @Nullable WriteResult writeResult,
-            long endLogOffset,
-            int numberOfSplits) {
-        return new TableBucketWriteResult<>(
-                tablePath, tableBucket, writeResult, endLogOffset, numberOfSplits);
+        private void mayFinish() throws IOException {
+            // no any pending splits for the table, just finish the table
+            if (splitsByBucket.isEmpty()) {
+                LOG.info("Finish tier table {} of table id {}.", tablePath, tableId);
+                try {
+                    close();
+                } catch (Exception e) {
+                    throw new IOException("Fail to finish table " + tablePath + ".", e);
+                }
+                tieringTables.remove(tableId);
+                tieringTablesToFetch.remove(this);
+            }
+        }
+
+        private void subscribeLog(TieringLogSplit logSplit) {
+            // assign bucket offset dynamically
+            TableBucket tableBucket = logSplit.getTableBucket();
+            long stoppingOffset = logSplit.getStoppingOffset();
+            long startingOffset = logSplit.getStartingOffset();
+            if (startingOffset >= stoppingOffset || stoppingOffset <= 0) {
+                emptyLogSplits.add(logSplit);
+                return;
+            } else {
+                stoppingOffsets.put(tableBucket, stoppingOffset);
+                // the starting offset may be the earliest offset, which is unknown yet
+                updatePendingRecords(tableBucket, stoppingOffset - Math.max(0, startingOffset));
+            }
+
+            if (logScanner == null) {
+                logScanner = table.newScan().createLogScanner();
+            }
+            Long partitionId = tableBucket.getPartitionId();
+            int bucket = tableBucket.getBucket();
+            if (partitionId != null) {
+                logScanner.subscribe(partitionId, bucket, startingOffset);
+            } else {
+                // If no partition id, subscribe by bucket only.
+                logScanner.subscribe(bucket, startingOffset);
+            }
+            LOG.info(
+                    "Subscribe to read log for split {} from starting offset {} to end offset {}.",
+                    logSplit.splitId(),
+                    startingOffset,
+                    stoppingOffset);
+        }
+
+        private void updatePendingRecords(TableBucket tableBucket, long records) {
+            pendingRecords.put(tableBucket, records);
+            long total = 0;
+            for (long bucketRecords : pendingRecords.values()) {
+                total += bucketRecords;
+            }
+            tableMetrics.setPendingRecords(total);
+        }
+
+        private void close() throws Exception {
+            if (logScanner != null) {
+                logScanner.close();
+                logScanner = null;
+            }
+            if (snapshotSplitReader != null) {
+                snapshotSplitReader.close();
+                snapshotSplitReader = null;
+            }
+            table.close();
+            tableMetrics.setPendingRecords(0);
+        }
     }
 
     private class TableBucketWriteResultWithSplitIds
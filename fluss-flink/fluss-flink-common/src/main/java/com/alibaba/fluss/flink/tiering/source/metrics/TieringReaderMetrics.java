@@ -0,0 +1,118 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.fluss.flink.tiering.source.metrics;
+
+import com.alibaba.fluss.flink.tiering.source.TieringSourceReader;
+import com.alibaba.fluss.metadata.TablePath;
+
+import org.apache.flink.metrics.Counter;
+import org.apache.flink.metrics.MeterView;
+import org.apache.flink.metrics.MetricGroup;
+import org.apache.flink.metrics.SimpleCounter;
+import org.apache.flink.metrics.groups.SourceReaderMetricGroup;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A collection class for handling metrics in {@link TieringSourceReader} of Fluss.
+ *
+ * <p>All metrics of the tiering source reader are registered under group "fluss.tiering", which is
+ * a child group of {@link org.apache.flink.metrics.groups.OperatorMetricGroup}. Metrics related to
+ * a specific table will be registered in the group "fluss.tiering.table.{table_path}".
+ *
+ * <p>For example, the records tiered per second of table "my_db.my_table" will be reported in
+ * metric: "{some_parent_groups}.operator.fluss.tiering.table.my_db.my_table.tieredRecordsPerSecond"
+ *
+ * <p>The metrics of a table are kept after a round of tiering of the table is finished, as the
+ * table will be tiered again in the next round.
+ */
+public class TieringReaderMetrics {
+
+    // Constants
+    public static final String FLUSS_METRIC_GROUP = "fluss";
+    public static final String TIERING_METRIC_GROUP = "tiering";
+    public static final String TABLE_GROUP = "table";
+    public static final String TIERED_RECORDS_COUNTER = "tieredRecords";
+    public static final String TIERED_RECORDS_RATE = "tieredRecordsPerSecond";
+    public static final String PENDING_RECORDS_GAUGE = "pendingRecords";
+    public static final String TIERING_LAG_GAUGE = "tieringLag";
+
+    public static final long UNINITIALIZED = -1;
+
+    // Metric group for registering Fluss specific tiering metrics
+    private final MetricGroup flussTieringMetricGroup;
+
+    private final Map<TablePath, TableMetrics> tableMetrics = new HashMap<>();
+
+    public TieringReaderMetrics(SourceReaderMetricGroup sourceReaderMetricGroup) {
+        this.flussTieringMetricGroup =
+                sourceReaderMetricGroup.addGroup(FLUSS_METRIC_GROUP).addGroup(TIERING_METRIC_GROUP);
+    }
+
+    /** Returns the metrics of the given table, which are registered on the first call. */
+    public TableMetrics tableMetrics(TablePath tablePath) {
+        return tableMetrics.computeIfAbsent(
+                tablePath,
+                path ->
+                        new TableMetrics(
+                                flussTieringMetricGroup.addGroup(TABLE_GROUP, path.toString())));
+    }
+
+    /** The tiering metrics of a table. */
+    public static final class TableMetrics {
+
+        private final Counter tieredRecords;
+
+        // the records of the log splits of the table being tiered which are not tiered yet
+        private volatile long pendingRecords = 0;
+
+        // the time between the last tiered log record being appended to Fluss and being tiered
+        private volatile long tieringLag = UNINITIALIZED;
+
+        private TableMetrics(MetricGroup tableMetricGroup) {
+            this.tieredRecords =
+                    tableMetricGroup.counter(TIERED_RECORDS_COUNTER, new SimpleCounter());
+            tableMetricGroup.meter(TIERED_RECORDS_RATE, new MeterView(tieredRecords));
+            tableMetricGroup.gauge(PENDING_RECORDS_GAUGE, () -> pendingRecords);
+            tableMetricGroup.gauge(TIERING_LAG_GAUGE, () -> tieringLag);
+        }
+
+        public void recordsTiered(long count) {
+            tieredRecords.inc(count);
+        }
+
+        public void reportRecordTimestamp(long timestamp) {
+            if (timestamp >= 0) {
+                tieringLag = Math.max(0, System.currentTimeMillis() - timestamp);
+            }
+        }
+
+        public void setPendingRecords(long pendingRecords) {
+            this.pendingRecords = pendingRecords;
+        }
+
+        public long getTieredRecords() {
+            return tieredRecords.getCount();
+        }
+
+        public long getPendingRecords() {
+            return pendingRecords;
+        }
+    }
+}
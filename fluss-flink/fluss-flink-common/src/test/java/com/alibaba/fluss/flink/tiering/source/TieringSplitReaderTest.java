@@ -22,8 +22,12 @@ import com.alibaba.fluss.client.table.writer.AppendWriter;
 import com.alibaba.fluss.client.table.writer.TableWriter;
 import com.alibaba.fluss.client.table.writer.UpsertWriter;
 import com.alibaba.fluss.client.write.HashBucketAssigner;
+import com.alibaba.fluss.config.ConfigOptions;
+import com.alibaba.fluss.config.Configuration;
+import com.alibaba.fluss.config.MemorySize;
 import com.alibaba.fluss.flink.tiering.TestingLakeTieringFactory;
 import com.alibaba.fluss.flink.tiering.TestingWriteResult;
+import com.alibaba.fluss.flink.tiering.source.metrics.TieringReaderMetrics;
 import com.alibaba.fluss.flink.tiering.source.split.TieringLogSplit;
 import com.alibaba.fluss.flink.tiering.source.split.TieringSnapshotSplit;
 import com.alibaba.fluss.flink.tiering.source.split.TieringSplit;
@@ -36,6 +40,8 @@ import com.alibaba.fluss.row.encode.CompactedKeyEncoder;
 import org.apache.flink.api.connector.source.SourceSplit;
 import org.apache.flink.connector.base.source.reader.RecordsWithSplitIds;
 import org.apache.flink.connector.base.source.reader.splitreader.SplitsAddition;
+import org.apache.flink.metrics.testutils.MetricListener;
+import org.apache.flink.runtime.metrics.groups.InternalSourceReaderMetricGroup;
 import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
@@ -51,6 +57,7 @@ import java.util.Set;
 import java.util.stream.Collectors;
 
 import static com.alibaba.fluss.client.table.scanner.log.LogScanner.EARLIEST_OFFSET;
+import static com.alibaba.fluss.flink.tiering.source.TieringSourceOptions.TIERING_READER_LOG_FETCH_BUFFER_BUDGET;
 import static com.alibaba.fluss.testutils.DataTestUtils.row;
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -266,9 +273,98 @@ class TieringSplitReaderTest extends FlinkTestBase {
         }
     }
 
+    @Test
+    void testTieringTablesConcurrently() throws Exception {
+        TablePath tablePath0 = TablePath.of("fluss", "tiering_concurrent_table0");
+        long tableId0 = createTable(tablePath0, DEFAULT_LOG_TABLE_DESCRIPTOR);
+        TablePath tablePath1 = TablePath.of("fluss", "tiering_concurrent_table1");
+        long tableId1 = createTable(tablePath1, DEFAULT_LOG_TABLE_DESCRIPTOR);
+        Map<TableBucket, List<InternalRow>> table0Rows = putRows(tableId0, tablePath0, 100);
+        Map<TableBucket, List<InternalRow>> table1Rows = putRows(tableId1, tablePath1, 10);
+
+        TieringReaderMetrics tieringReaderMetrics = createTieringReaderMetrics();
+        try (TieringSplitReader<TestingWriteResult> tieringSplitReader =
+                createTieringReader(2, tieringReaderMetrics)) {
+            List<TieringSplit> splits = new ArrayList<>();
+            Set<String> expectedFinishSplits = new HashSet<>();
+            Map<TableBucket, Integer> expectedRowCount = new HashMap<>();
+            for (Map<TableBucket, List<InternalRow>> tableRows :
+                    Arrays.asList(table0Rows, table1Rows)) {
+                for (Map.Entry<TableBucket, List<InternalRow>> entry : tableRows.entrySet()) {
+                    TableBucket tableBucket = entry.getKey();
+                    int rows = entry.getValue().size();
+                    TieringLogSplit logSplit =
+                            createLogSplit(
+                                    tableBucket.getTableId() == tableId0 ? tablePath0 : tablePath1,
+                                    tableBucket.getTableId(),
+                                    tableBucket.getBucket(),
+                                    EARLIEST_OFFSET,
+                                    rows);
+                    splits.add(logSplit);
+                    expectedFinishSplits.add(logSplit.splitId());
+                    expectedRowCount.put(tableBucket, rows);
+                }
+            }
+            tieringSplitReader.handleSplitsChanges(new SplitsAddition<>(splits));
+
+            // one fetch to start tiering both of the tables
+            tieringSplitReader.fetch();
+            TieringReaderMetrics.TableMetrics table0Metrics =
+                    tieringReaderMetrics.tableMetrics(tablePath0);
+            TieringReaderMetrics.TableMetrics table1Metrics =
+                    tieringReaderMetrics.tableMetrics(tablePath1);
+            assertThat(table0Metrics.getPendingRecords()).isEqualTo(100);
+            assertThat(table1Metrics.getPendingRecords()).isEqualTo(10);
+
+            // the results of the tables may be interleaved
+            Map<TableBucket, Integer> actualRowCount = new HashMap<>();
+            Set<String> actualFinishSplits = new HashSet<>();
+            while (actualRowCount.size() != expectedRowCount.size()) {
+                RecordsWithSplitIds<TableBucketWriteResult<TestingWriteResult>> fetchResult =
+                        tieringSplitReader.fetch();
+                actualFinishSplits.addAll(fetchResult.finishedSplits());
+                while (fetchResult.nextSplit() != null) {
+                    TableBucketWriteResult<TestingWriteResult> tableBucketWriteResult =
+                            fetchResult.nextRecordFromSplit();
+                    assertThat(tableBucketWriteResult).isNotNull();
+                    TestingWriteResult testingWriteResult = tableBucketWriteResult.writeResult();
+                    assertThat(testingWriteResult).isNotNull();
+                    actualRowCount.put(
+                            tableBucketWriteResult.tableBucket(),
+                            testingWriteResult.getWriteResult());
+                }
+            }
+            assertThat(actualRowCount).isEqualTo(expectedRowCount);
+            assertThat(actualFinishSplits).isEqualTo(expectedFinishSplits);
+
+            assertThat(table0Metrics.getTieredRecords()).isEqualTo(100);
+            assertThat(table0Metrics.getPendingRecords()).isZero();
+            assertThat(table1Metrics.getTieredRecords()).isEqualTo(10);
+            assertThat(table1Metrics.getPendingRecords()).isZero();
+        }
+    }
+
     private TieringSplitReader<TestingWriteResult> createTieringReader() {
+        // tier one table at a time to verify the order of tiering the tables
+        return createTieringReader(1, createTieringReaderMetrics());
+    }
+
+    private TieringSplitReader<TestingWriteResult> createTieringReader(
+            int maxTieringTables, TieringReaderMetrics tieringReaderMetrics) {
+        Configuration conf = new Configuration(FLUSS_CLUSTER_EXTENSION.getClientConfig());
+        conf.set(
+                TIERING_READER_LOG_FETCH_BUFFER_BUDGET,
+                new MemorySize(
+                        conf.get(ConfigOptions.CLIENT_SCANNER_LOG_FETCH_MAX_BYTES).getBytes()
+                                * maxTieringTables));
         return new TieringSplitReader<>(
-                FLUSS_CLUSTER_EXTENSION.getClientConfig(), new TestingLakeTieringFactory());
+                conf, new TestingLakeTieringFactory(), tieringReaderMetrics);
+    }
+
+    private static TieringReaderMetrics createTieringReaderMetrics() {
+        MetricListener metricListener = new MetricListener();
+        return new TieringReaderMetrics(
+                InternalSourceReaderMetricGroup.mock(metricListener.getMetricGroup()));
     }
 
     private void verifyTieringRows(
@@ -32,11 +32,14 @@ public class KafkaChannelInitializer extends NettyChannelInitializer {
     public static final int MAX_FRAME_LENGTH = 100 * 1024 * 1024; // 100MB
 
     private final RequestChannel[] requestChannels;
+    private final String listenerName;
     private final LengthFieldPrepender prepender = new LengthFieldPrepender(4);
 
-    public KafkaChannelInitializer(RequestChannel[] requestChannels, long maxIdleTimeSeconds) {
+    public KafkaChannelInitializer(
+            RequestChannel[] requestChannels, String listenerName, long maxIdleTimeSeconds) {
         super(maxIdleTimeSeconds);
         this.requestChannels = requestChannels;
+        this.listenerName = listenerName;
     }
 
     @Override
@@ -46,6 +49,6 @@ public class KafkaChannelInitializer extends NettyChannelInitializer {
         ch.pipeline().addLast(prepender);
         addFrameDecoder(ch, MAX_FRAME_LENGTH, 4);
         ch.pipeline().addLast("flowController", new FlowControlHandler());
-        ch.pipeline().addLast(new KafkaCommandDecoder(requestChannels));
+        ch.pipeline().addLast(new KafkaCommandDecoder(requestChannels, listenerName));
     }
 }
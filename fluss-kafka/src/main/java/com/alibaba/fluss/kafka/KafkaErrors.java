@@ -0,0 +1,80 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.fluss.kafka;
+
+import org.apache.kafka.common.errors.ApiException;
+import org.apache.kafka.common.protocol.Errors;
+
+/** Utilities to translate the errors of Fluss to the errors of the Kafka protocol. */
+final class KafkaErrors {
+
+    private KafkaErrors() {}
+
+    /** Returns the Kafka error of the given Fluss error code. */
+    static Errors fromFlussErrorCode(int errorCode) {
+        com.alibaba.fluss.rpc.protocol.Errors error =
+                com.alibaba.fluss.rpc.protocol.Errors.forCode(errorCode);
+        switch (error) {
+            case NONE:
+                return Errors.NONE;
+            case TABLE_NOT_EXIST:
+            case UNKNOWN_TABLE_OR_BUCKET_EXCEPTION:
+                return Errors.UNKNOWN_TOPIC_OR_PARTITION;
+            case NOT_LEADER_OR_FOLLOWER:
+            case FENCED_LEADER_EPOCH_EXCEPTION:
+                return Errors.NOT_LEADER_OR_FOLLOWER;
+            case LEADER_NOT_AVAILABLE_EXCEPTION:
+                return Errors.LEADER_NOT_AVAILABLE;
+            case LOG_OFFSET_OUT_OF_RANGE_EXCEPTION:
+                return Errors.OFFSET_OUT_OF_RANGE;
+            case RECORD_TOO_LARGE_EXCEPTION:
+                return Errors.MESSAGE_TOO_LARGE;
+            case CORRUPT_MESSAGE:
+            case CORRUPT_RECORD_EXCEPTION:
+                return Errors.CORRUPT_MESSAGE;
+            case INVALID_REQUIRED_ACKS:
+                return Errors.INVALID_REQUIRED_ACKS;
+            case INVALID_TIMESTAMP_EXCEPTION:
+                return Errors.INVALID_TIMESTAMP;
+            case REQUEST_TIME_OUT:
+                return Errors.REQUEST_TIMED_OUT;
+            case NOT_ENOUGH_REPLICAS_EXCEPTION:
+                return Errors.NOT_ENOUGH_REPLICAS;
+            case NOT_ENOUGH_REPLICAS_AFTER_APPEND_EXCEPTION:
+                return Errors.NOT_ENOUGH_REPLICAS_AFTER_APPEND;
+            case LOG_STORAGE_EXCEPTION:
+            case STORAGE_EXCEPTION:
+                return Errors.KAFKA_STORAGE_ERROR;
+            case AUTHORIZATION_EXCEPTION:
+                return Errors.TOPIC_AUTHORIZATION_FAILED;
+            case NETWORK_EXCEPTION:
+                return Errors.NETWORK_EXCEPTION;
+            default:
+                return Errors.UNKNOWN_SERVER_ERROR;
+        }
+    }
+
+    /** Returns the Kafka error of the given exception thrown by Fluss or Kafka. */
+    static Errors fromThrowable(Throwable t) {
+        Throwable cause = com.alibaba.fluss.rpc.protocol.Errors.maybeUnwrapException(t);
+        if (cause instanceof ApiException) {
+            return Errors.forException(cause);
+        }
+        return fromFlussErrorCode(com.alibaba.fluss.rpc.protocol.Errors.forException(cause).code());
+    }
+}
@@ -53,6 +53,7 @@ public class KafkaProtocolPlugin implements NetworkProtocolPlugin {
             RequestChannel[] requestChannels, String listenerName) {
         return new KafkaChannelInitializer(
                 requestChannels,
+                listenerName,
                 conf.get(ConfigOptions.KAFKA_CONNECTION_MAX_IDLE_TIME).getSeconds());
     }
 
@@ -63,7 +64,6 @@ public class KafkaProtocolPlugin implements NetworkProtocolPlugin {
                     "Kafka protocol endpoints can only be enabled on TabletServers, but the service is "
                             + service.getClass().getSimpleName());
         }
-        TabletServerGateway gateway = (TabletServerGateway) service;
-        return new KafkaRequestHandler(gateway);
+        return new KafkaRequestHandler(service, conf.get(ConfigOptions.KAFKA_DATABASE));
     }
 }
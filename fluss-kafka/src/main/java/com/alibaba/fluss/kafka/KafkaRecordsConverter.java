@@ -0,0 +1,133 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.fluss.kafka;
+
+import com.alibaba.fluss.memory.UnmanagedPagedOutputView;
+import com.alibaba.fluss.metadata.TableInfo;
+import com.alibaba.fluss.record.ChangeType;
+import com.alibaba.fluss.record.LogRecord;
+import com.alibaba.fluss.record.LogRecordBatch;
+import com.alibaba.fluss.record.LogRecords;
+import com.alibaba.fluss.record.MemoryLogRecordsIndexedBuilder;
+import com.alibaba.fluss.record.bytesview.BytesView;
+import com.alibaba.fluss.row.InternalRow;
+import com.alibaba.fluss.row.TimestampLtz;
+import com.alibaba.fluss.row.encode.IndexedRowEncoder;
+import com.alibaba.fluss.utils.CloseableIterator;
+
+import org.apache.kafka.common.compress.Compression;
+import org.apache.kafka.common.record.MemoryRecords;
+import org.apache.kafka.common.record.MemoryRecordsBuilder;
+import org.apache.kafka.common.record.Record;
+import org.apache.kafka.common.record.RecordBatch;
+import org.apache.kafka.common.record.TimestampType;
+import org.apache.kafka.common.utils.Utils;
+
+import java.nio.ByteBuffer;
+
+import static com.alibaba.fluss.kafka.KafkaTopic.KEY_INDEX;
+import static com.alibaba.fluss.kafka.KafkaTopic.TIMESTAMP_INDEX;
+import static com.alibaba.fluss.kafka.KafkaTopic.TIMESTAMP_PRECISION;
+import static com.alibaba.fluss.kafka.KafkaTopic.VALUE_INDEX;
+
+/**
+ * Converts the records between the Kafka record batches and the Fluss {@link
+ * com.alibaba.fluss.metadata.LogFormat#INDEXED} record batches of a {@link KafkaTopic}.
+ *
+ * <p>The two batch formats differ in the header and the record layout, so the records have to be
+ * re-encoded in both directions. The offsets of a Fluss bucket are used as the offsets of the Kafka
+ * partition as is.
+ */
+final class KafkaRecordsConverter {
+
+    private static final int PAGE_SIZE = 64 * 1024;
+
+    private KafkaRecordsConverter() {}
+
+    /**
+     * Converts the records produced by a Kafka producer to a Fluss record batch, the control
+     * batches (e.g., transaction markers) are skipped.
+     */
+    static BytesView toFlussRecords(KafkaTopic topic, MemoryRecords records) throws Exception {
+        TableInfo tableInfo = topic.tableInfo();
+        try (IndexedRowEncoder encoder = new IndexedRowEncoder(tableInfo.getRowType());
+                MemoryLogRecordsIndexedBuilder builder =
+                        MemoryLogRecordsIndexedBuilder.builder(
+                                topic.schemaId(),
+                                Integer.MAX_VALUE,
+                                new UnmanagedPagedOutputView(PAGE_SIZE),
+                                true)) {
+            for (RecordBatch batch : records.batches()) {
+                if (batch.isControlBatch()) {
+                    continue;
+                }
+                for (Record record : batch) {
+                    encoder.startNewRow();
+                    encoder.encodeField(KEY_INDEX, toBytes(record.key()));
+                    encoder.encodeField(VALUE_INDEX, toBytes(record.value()));
+                    encoder.encodeField(
+                            TIMESTAMP_INDEX, TimestampLtz.fromEpochMillis(record.timestamp()));
+                    builder.append(ChangeType.APPEND_ONLY, encoder.finishRow());
+                }
+            }
+            return builder.build();
+        }
+    }
+
+    /**
+     * Converts the Fluss records fetched from a bucket to Kafka records, the records before the
+     * fetch offset are skipped as a Fluss fetch returns the whole batch containing the fetch
+     * offset.
+     */
+    static MemoryRecords toKafkaRecords(KafkaTopic topic, LogRecords records, long fetchOffset) {
+        MemoryRecordsBuilder builder = null;
+        for (LogRecordBatch batch : records.batches()) {
+            if (batch.nextLogOffset() <= fetchOffset) {
+                continue;
+            }
+            if (builder == null) {
+                builder =
+                        MemoryRecords.builder(
+                                ByteBuffer.allocate(records.sizeInBytes()),
+                                Compression.NONE,
+                                TimestampType.CREATE_TIME,
+                                Math.max(batch.baseLogOffset(), fetchOffset));
+            }
+            try (CloseableIterator<LogRecord> iterator = batch.records(topic.readContext())) {
+                while (iterator.hasNext()) {
+                    LogRecord record = iterator.next();
+                    if (record.logOffset() < fetchOffset) {
+                        continue;
+                    }
+                    InternalRow row = record.getRow();
+                    builder.appendWithOffset(
+                            record.logOffset(),
+                            row.getTimestampLtz(TIMESTAMP_INDEX, TIMESTAMP_PRECISION)
+                                    .getEpochMillisecond(),
+                            row.isNullAt(KEY_INDEX) ? null : row.getBytes(KEY_INDEX),
+                            row.isNullAt(VALUE_INDEX) ? null : row.getBytes(VALUE_INDEX));
+                }
+            }
+        }
+        return builder == null ? MemoryRecords.EMPTY : builder.build();
+    }
+
+    private static byte[] toBytes(ByteBuffer buffer) {
+        return buffer == null ? null : Utils.toArray(buffer);
+    }
+}
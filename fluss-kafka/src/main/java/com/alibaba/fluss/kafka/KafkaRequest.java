@@ -33,6 +33,9 @@ import org.apache.kafka.common.requests.AbstractResponse;
 import org.apache.kafka.common.requests.RequestHeader;
 import org.apache.kafka.common.requests.ResponseHeader;
 
+import javax.annotation.Nullable;
+
+import java.net.InetAddress;
 import java.nio.ByteBuffer;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicLong;
@@ -48,6 +51,8 @@ public class KafkaRequest implements RpcRequest {
     private final AbstractRequest request;
     private final ByteBuf buffer;
     private final ChannelHandlerContext ctx;
+    private final String listenerName;
+    @Nullable private final InetAddress address;
     private final long startTimeMs;
     private final CompletableFuture<AbstractResponse> future;
     private volatile boolean cancelled = false;
@@ -59,6 +64,8 @@ public class KafkaRequest implements RpcRequest {
             AbstractRequest request,
             ByteBuf buffer,
             ChannelHandlerContext ctx,
+            String listenerName,
+            @Nullable InetAddress address,
             CompletableFuture<AbstractResponse> future) {
         this.apiKey = apiKey;
         this.apiVersion = apiVersion;
@@ -66,6 +73,8 @@ public class KafkaRequest implements RpcRequest {
         this.request = request;
         this.buffer = buffer.retain();
         this.ctx = ctx;
+        this.listenerName = listenerName;
+        this.address = address;
         this.startTimeMs = System.currentTimeMillis();
         this.future = future;
     }
@@ -104,7 +113,19 @@ public class KafkaRequest implements RpcRequest {
         return ctx;
     }
 
-    public long startTimeMs() {
+    /** Returns the name of the listener the request is received from. */
+    public String listenerName() {
+        return listenerName;
+    }
+
+    /** Returns the address of the client, null if unknown. */
+    @Nullable
+    public InetAddress address() {
+        return address;
+    }
+
+    @Override
+    public long getStartTimeMs() {
         return startTimeMs;
     }
 
@@ -17,27 +17,101 @@
 
 package com.alibaba.fluss.kafka;
 
+import com.alibaba.fluss.metadata.TableBucket;
+import com.alibaba.fluss.metadata.TableDescriptor;
+import com.alibaba.fluss.metadata.TableInfo;
+import com.alibaba.fluss.metadata.TablePath;
+import com.alibaba.fluss.record.MemoryLogRecords;
+import com.alibaba.fluss.record.bytesview.BytesView;
+import com.alibaba.fluss.rpc.RpcGatewayService;
 import com.alibaba.fluss.rpc.gateway.TabletServerGateway;
+import com.alibaba.fluss.rpc.messages.FetchLogRequest;
+import com.alibaba.fluss.rpc.messages.FetchLogResponse;
+import com.alibaba.fluss.rpc.messages.GetTableInfoRequest;
+import com.alibaba.fluss.rpc.messages.GetTableInfoResponse;
+import com.alibaba.fluss.rpc.messages.ListTablesRequest;
+import com.alibaba.fluss.rpc.messages.PbBucketMetadata;
+import com.alibaba.fluss.rpc.messages.PbFetchLogReqForTable;
+import com.alibaba.fluss.rpc.messages.PbFetchLogRespForBucket;
+import com.alibaba.fluss.rpc.messages.PbFetchLogRespForTable;
+import com.alibaba.fluss.rpc.messages.PbListOffsetsRespForBucket;
+import com.alibaba.fluss.rpc.messages.PbProduceLogRespForBucket;
+import com.alibaba.fluss.rpc.messages.PbServerNode;
+import com.alibaba.fluss.rpc.messages.PbTableMetadata;
+import com.alibaba.fluss.rpc.messages.ProduceLogRequest;
+import com.alibaba.fluss.rpc.messages.ProduceLogResponse;
 import com.alibaba.fluss.rpc.netty.server.RequestHandler;
+import com.alibaba.fluss.rpc.netty.server.Session;
 import com.alibaba.fluss.rpc.protocol.RequestType;
+import com.alibaba.fluss.security.acl.FlussPrincipal;
+import com.alibaba.fluss.utils.MapUtils;
+import com.alibaba.fluss.utils.concurrent.FutureUtils;
 
 import org.apache.kafka.common.message.ApiVersionsResponseData;
+import org.apache.kafka.common.message.FetchRequestData;
+import org.apache.kafka.common.message.FetchResponseData;
+import org.apache.kafka.common.message.ListOffsetsRequestData;
+import org.apache.kafka.common.message.ListOffsetsResponseData;
+import org.apache.kafka.common.message.MetadataResponseData;
+import org.apache.kafka.common.message.ProduceRequestData;
+import org.apache.kafka.common.message.ProduceResponseData;
 import org.apache.kafka.common.protocol.ApiKeys;
 import org.apache.kafka.common.protocol.Errors;
+import org.apache.kafka.common.record.MemoryRecords;
 import org.apache.kafka.common.record.RecordBatch;
 import org.apache.kafka.common.requests.AbstractRequest;
 import org.apache.kafka.common.requests.AbstractResponse;
 import org.apache.kafka.common.requests.ApiVersionsResponse;
-
-/** Kafka protocol implementation for request handler. */
+import org.apache.kafka.common.requests.FetchMetadata;
+import org.apache.kafka.common.requests.FetchRequest;
+import org.apache.kafka.common.requests.FetchResponse;
+import org.apache.kafka.common.requests.ListOffsetsResponse;
+import org.apache.kafka.common.requests.MetadataResponse;
+import org.apache.kafka.common.requests.ProduceRequest;
+import org.apache.kafka.common.requests.ProduceResponse;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+import static com.alibaba.fluss.server.log.ListOffsetsParam.EARLIEST_OFFSET_TYPE;
+import static com.alibaba.fluss.server.log.ListOffsetsParam.LATEST_OFFSET_TYPE;
+import static com.alibaba.fluss.server.log.ListOffsetsParam.TIMESTAMP_OFFSET_TYPE;
+import static com.alibaba.fluss.utils.Preconditions.checkArgument;
+
+/**
+ * Kafka protocol implementation for request handler.
+ *
+ * <p>A Kafka topic is served by the Fluss log table of the same name in the Kafka database, see
+ * {@link KafkaTopic}. The produce, fetch, metadata and list offsets requests are translated to the
+ * corresponding requests of the {@link TabletServerGateway}, so that they go through the same path,
+ * e.g., authorization, delayed operations and replication, as the requests of Fluss clients.
+ */
 public class KafkaRequestHandler implements RequestHandler<KafkaRequest> {
 
+    /** The follower server id of the requests sent by clients rather than followers. */
+    private static final int CLIENT_FOLLOWER_SERVER_ID = -1;
+
     // TODO: we may need a new abstraction between TabletService and ReplicaManager to avoid
     //  affecting Fluss protocol when supporting compatibility with Kafka.
+    private final RpcGatewayService service;
     private final TabletServerGateway gateway;
-
-    public KafkaRequestHandler(TabletServerGateway gateway) {
-        this.gateway = gateway;
+    private final String database;
+
+    /** The resolved Kafka topics, evicted once the table is found unknown by the tablet server. */
+    private final Map<String, KafkaTopic> topics = MapUtils.newConcurrentHashMap();
+
+    public KafkaRequestHandler(RpcGatewayService service, String database) {
+        checkArgument(
+                service instanceof TabletServerGateway,
+                "The service must be a TabletServerGateway, but is %s.",
+                service.getClass().getSimpleName());
+        this.service = service;
+        this.gateway = (TabletServerGateway) service;
+        this.database = database;
     }
 
     @Override
@@ -47,6 +121,22 @@ public class KafkaRequestHandler implements RequestHandler<KafkaRequest> {
 
     @Override
     public void processRequest(KafkaRequest request) {
+        // the gateway methods authorize the requests and pick the endpoints by the session
+        service.setCurrentSession(
+                new Session(
+                        request.apiVersion(),
+                        request.listenerName(),
+                        false,
+                        request.address(),
+                        FlussPrincipal.ANONYMOUS));
+        try {
+            handleRequest(request);
+        } catch (Throwable t) {
+            request.fail(t);
+        }
+    }
+
+    private void handleRequest(KafkaRequest request) throws Exception {
         // See kafka.server.KafkaApis#handle
         switch (request.apiKey()) {
             case API_VERSIONS:
@@ -184,19 +274,458 @@ public class KafkaRequestHandler implements RequestHandler<KafkaRequest> {
         request.complete(new ApiVersionsResponse(data));
     }
 
-    void handleProducerRequest(KafkaRequest request) {}
+    void handleProducerRequest(KafkaRequest request) {
+        ProduceRequest produceRequest = request.request();
+        ProduceResponseData.TopicProduceResponseCollection topicResponses =
+                new ProduceResponseData.TopicProduceResponseCollection();
+        List<CompletableFuture<?>> futures = new ArrayList<>();
+        for (ProduceRequestData.TopicProduceData topicData : produceRequest.data().topicData()) {
+            ProduceResponseData.TopicProduceResponse topicResponse =
+                    new ProduceResponseData.TopicProduceResponse().setName(topicData.name());
+            topicResponses.add(topicResponse);
+            Map<Integer, ProduceResponseData.PartitionProduceResponse> partitionResponses =
+                    new HashMap<>();
+            for (ProduceRequestData.PartitionProduceData partitionData :
+                    topicData.partitionData()) {
+                ProduceResponseData.PartitionProduceResponse partitionResponse =
+                        new ProduceResponseData.PartitionProduceResponse()
+                                .setIndex(partitionData.index());
+                topicResponse.partitionResponses().add(partitionResponse);
+                partitionResponses.put(partitionData.index(), partitionResponse);
+            }
+
+            KafkaTopic topic;
+            try {
+                topic = getTopic(topicData.name());
+            } catch (Throwable t) {
+                partitionResponses
+                        .values()
+                        .forEach(r -> setError(r, KafkaErrors.fromThrowable(t), t.getMessage()));
+                continue;
+            }
 
-    void handleMetadataRequest(KafkaRequest request) {}
+            ProduceLogRequest produceLogRequest =
+                    new ProduceLogRequest()
+                            .setAcks(produceRequest.acks())
+                            .setTableId(topic.tableId())
+                            .setTimeoutMs(produceRequest.timeout());
+            for (ProduceRequestData.PartitionProduceData partitionData :
+                    topicData.partitionData()) {
+                try {
+                    BytesView records =
+                            KafkaRecordsConverter.toFlussRecords(
+                                    topic, (MemoryRecords) partitionData.records());
+                    produceLogRequest
+                            .addBucketsReq()
+                            .setBucketId(partitionData.index())
+                            .setRecordsBytesView(records);
+                } catch (Throwable t) {
+                    setError(
+                            partitionResponses.remove(partitionData.index()),
+                            KafkaErrors.fromThrowable(t),
+                            t.getMessage());
+                }
+            }
+            if (partitionResponses.isEmpty()) {
+                continue;
+            }
+            futures.add(
+                    callGateway(() -> gateway.produceLog(produceLogRequest))
+                            .handle(
+                                    (response, t) -> {
+                                        completeProduce(topic, response, t, partitionResponses);
+                                        return null;
+                                    }));
+        }
+
+        FutureUtils.waitForAll(futures)
+                .whenComplete(
+                        (ignored, t) ->
+                                request.complete(
+                                        new ProduceResponse(
+                                                new ProduceResponseData()
+                                                        .setResponses(topicResponses))));
+    }
+
+    private void completeProduce(
+            KafkaTopic topic,
+            ProduceLogResponse response,
+            Throwable throwable,
+            Map<Integer, ProduceResponseData.PartitionProduceResponse> partitionResponses) {
+        if (throwable != null) {
+            Errors error = KafkaErrors.fromThrowable(throwable);
+            maybeEvictTopic(topic, error);
+            partitionResponses.values().forEach(r -> setError(r, error, throwable.getMessage()));
+            return;
+        }
+        for (PbProduceLogRespForBucket bucketResponse : response.getBucketsRespsList()) {
+            ProduceResponseData.PartitionProduceResponse partitionResponse =
+                    partitionResponses.get(bucketResponse.getBucketId());
+            if (bucketResponse.hasErrorCode()
+                    && bucketResponse.getErrorCode()
+                            != com.alibaba.fluss.rpc.protocol.Errors.NONE.code()) {
+                Errors error = KafkaErrors.fromFlussErrorCode(bucketResponse.getErrorCode());
+                maybeEvictTopic(topic, error);
+                setError(
+                        partitionResponse,
+                        error,
+                        bucketResponse.hasErrorMessage() ? bucketResponse.getErrorMessage() : null);
+            } else {
+                partitionResponse
+                        .setErrorCode(Errors.NONE.code())
+                        .setBaseOffset(bucketResponse.getBaseOffset());
+            }
+        }
+    }
+
+    private static void setError(
+            ProduceResponseData.PartitionProduceResponse partitionResponse,
+            Errors error,
+            String errorMessage) {
+        partitionResponse
+                .setErrorCode(error.code())
+                .setErrorMessage(errorMessage)
+                .setBaseOffset(ProduceResponse.INVALID_OFFSET);
+    }
+
+    void handleMetadataRequest(KafkaRequest request) throws Exception {
+        org.apache.kafka.common.requests.MetadataRequest metadataRequest = request.request();
+        MetadataResponseData data =
+                new MetadataResponseData().setControllerId(MetadataResponse.NO_CONTROLLER_ID);
+
+        // the tablet servers of the listener the request is received from
+        com.alibaba.fluss.rpc.messages.MetadataResponse clusterMetadata =
+                getMetadata(new com.alibaba.fluss.rpc.messages.MetadataRequest());
+        for (PbServerNode node : clusterMetadata.getTabletServersList()) {
+            data.brokers()
+                    .add(
+                            new MetadataResponseData.MetadataResponseBroker()
+                                    .setNodeId(node.getNodeId())
+                                    .setHost(node.getHost())
+                                    .setPort(node.getPort())
+                                    .setRack(node.hasRack() ? node.getRack() : null));
+        }
+
+        boolean allTopics = metadataRequest.isAllTopics();
+        List<String> topicNames = allTopics ? listTopicNames() : metadataRequest.topics();
+        for (String topicName : topicNames) {
+            MetadataResponseData.MetadataResponseTopic topicResponse =
+                    new MetadataResponseData.MetadataResponseTopic().setName(topicName);
+            try {
+                com.alibaba.fluss.rpc.messages.MetadataRequest tableMetadataRequest =
+                        new com.alibaba.fluss.rpc.messages.MetadataRequest();
+                tableMetadataRequest
+                        .addTablePath()
+                        .setDatabaseName(database)
+                        .setTableName(topicName);
+                PbTableMetadata tableMetadata =
+                        getMetadata(tableMetadataRequest).getTableMetadataAt(0);
+                KafkaTopic topic = KafkaTopic.of(topicName, toTableInfo(topicName, tableMetadata));
+                topics.put(topicName, topic);
+                for (PbBucketMetadata bucketMetadata : tableMetadata.getBucketMetadatasList()) {
+                    topicResponse.partitions().add(toPartitionMetadata(bucketMetadata));
+                }
+            } catch (Throwable t) {
+                if (allTopics) {
+                    // the tables can't back Kafka topics are not listed
+                    continue;
+                }
+                topicResponse.setErrorCode(KafkaErrors.fromThrowable(t).code());
+            }
+            data.topics().add(topicResponse);
+        }
+        request.complete(new MetadataResponse(data, request.apiVersion()));
+    }
+
+    private static MetadataResponseData.MetadataResponsePartition toPartitionMetadata(
+            PbBucketMetadata bucketMetadata) {
+        List<Integer> replicas = new ArrayList<>();
+        for (int replica : bucketMetadata.getReplicaIds()) {
+            replicas.add(replica);
+        }
+        boolean hasLeader = bucketMetadata.hasLeaderId();
+        return new MetadataResponseData.MetadataResponsePartition()
+                .setErrorCode(hasLeader ? Errors.NONE.code() : Errors.LEADER_NOT_AVAILABLE.code())
+                .setPartitionIndex(bucketMetadata.getBucketId())
+                .setLeaderId(
+                        hasLeader ? bucketMetadata.getLeaderId() : MetadataResponse.NO_LEADER_ID)
+                // the leader epoch is not exposed, otherwise the consumers validate the
+                // positions by OffsetsForLeaderEpoch requests which are not supported
+                .setLeaderEpoch(RecordBatch.NO_PARTITION_LEADER_EPOCH)
+                .setReplicaNodes(replicas)
+                // the isr is not in the bucket metadata yet
+                .setIsrNodes(replicas);
+    }
 
     void handleFindCoordinatorRequest(KafkaRequest request) {}
 
-    void handleListOffsetRequest(KafkaRequest request) {}
+    void handleListOffsetRequest(KafkaRequest request) {
+        org.apache.kafka.common.requests.ListOffsetsRequest listOffsetsRequest = request.request();
+        ListOffsetsResponseData data = new ListOffsetsResponseData();
+        List<CompletableFuture<?>> futures = new ArrayList<>();
+        for (ListOffsetsRequestData.ListOffsetsTopic listOffsetsTopic :
+                listOffsetsRequest.data().topics()) {
+            ListOffsetsResponseData.ListOffsetsTopicResponse topicResponse =
+                    new ListOffsetsResponseData.ListOffsetsTopicResponse()
+                            .setName(listOffsetsTopic.name());
+            data.topics().add(topicResponse);
+            // the partitions are grouped by the timestamps, as a Fluss request lists the offsets
+            // of a single offset type
+            Map<Long, Map<Integer, ListOffsetsResponseData.ListOffsetsPartitionResponse>>
+                    partitionsByTimestamp = new HashMap<>();
+            for (ListOffsetsRequestData.ListOffsetsPartition partition :
+                    listOffsetsTopic.partitions()) {
+                ListOffsetsResponseData.ListOffsetsPartitionResponse partitionResponse =
+                        new ListOffsetsResponseData.ListOffsetsPartitionResponse()
+                                .setPartitionIndex(partition.partitionIndex())
+                                .setTimestamp(ListOffsetsResponse.UNKNOWN_TIMESTAMP)
+                                .setOffset(ListOffsetsResponse.UNKNOWN_OFFSET)
+                                .setLeaderEpoch(ListOffsetsResponse.UNKNOWN_EPOCH);
+                topicResponse.partitions().add(partitionResponse);
+                partitionsByTimestamp
+                        .computeIfAbsent(partition.timestamp(), k -> new HashMap<>())
+                        .put(partition.partitionIndex(), partitionResponse);
+            }
+
+            KafkaTopic topic;
+            try {
+                topic = getTopic(listOffsetsTopic.name());
+            } catch (Throwable t) {
+                short errorCode = KafkaErrors.fromThrowable(t).code();
+                topicResponse.partitions().forEach(r -> r.setErrorCode(errorCode));
+                continue;
+            }
+            partitionsByTimestamp.forEach(
+                    (timestamp, partitionResponses) -> {
+                        com.alibaba.fluss.rpc.messages.ListOffsetsRequest listOffsetsLogRequest =
+                                toListOffsetsRequest(topic, timestamp);
+                        if (listOffsetsLogRequest == null) {
+                            partitionResponses
+                                    .values()
+                                    .forEach(r -> r.setErrorCode(Errors.INVALID_REQUEST.code()));
+                            return;
+                        }
+                        partitionResponses.keySet().forEach(listOffsetsLogRequest::addBucketId);
+                        futures.add(
+                                callGateway(() -> gateway.listOffsets(listOffsetsLogRequest))
+                                        .handle(
+                                                (response, t) -> {
+                                                    completeListOffsets(
+                                                            topic,
+                                                            timestamp,
+                                                            response,
+                                                            t,
+                                                            partitionResponses);
+                                                    return null;
+                                                }));
+                    });
+        }
+
+        FutureUtils.waitForAll(futures)
+                .whenComplete((ignored, t) -> request.complete(new ListOffsetsResponse(data)));
+    }
+
+    /**
+     * Returns the Fluss request to list the offsets of the given Kafka timestamp, null if the
+     * timestamp is not supported.
+     */
+    private static com.alibaba.fluss.rpc.messages.ListOffsetsRequest toListOffsetsRequest(
+            KafkaTopic topic, long timestamp) {
+        com.alibaba.fluss.rpc.messages.ListOffsetsRequest listOffsetsRequest =
+                new com.alibaba.fluss.rpc.messages.ListOffsetsRequest()
+                        .setFollowerServerId(CLIENT_FOLLOWER_SERVER_ID)
+                        .setTableId(topic.tableId());
+        if (timestamp == org.apache.kafka.common.requests.ListOffsetsRequest.LATEST_TIMESTAMP) {
+            return listOffsetsRequest.setOffsetType(LATEST_OFFSET_TYPE);
+        } else if (timestamp
+                        == org.apache.kafka.common.requests.ListOffsetsRequest.EARLIEST_TIMESTAMP
+                || timestamp
+                        == org.apache.kafka.common.requests.ListOffsetsRequest
+                                .EARLIEST_LOCAL_TIMESTAMP) {
+            return listOffsetsRequest.setOffsetType(EARLIEST_OFFSET_TYPE);
+        } else if (timestamp >= 0) {
+            return listOffsetsRequest
+                    .setOffsetType(TIMESTAMP_OFFSET_TYPE)
+                    .setStartTimestamp(timestamp);
+        } else {
+            return null;
+        }
+    }
+
+    private void completeListOffsets(
+            KafkaTopic topic,
+            long timestamp,
+            com.alibaba.fluss.rpc.messages.ListOffsetsResponse response,
+            Throwable throwable,
+            Map<Integer, ListOffsetsResponseData.ListOffsetsPartitionResponse> partitionResponses) {
+        if (throwable != null) {
+            Errors error = KafkaErrors.fromThrowable(throwable);
+            maybeEvictTopic(topic, error);
+            partitionResponses.values().forEach(r -> r.setErrorCode(error.code()));
+            return;
+        }
+        for (PbListOffsetsRespForBucket bucketResponse : response.getBucketsRespsList()) {
+            ListOffsetsResponseData.ListOffsetsPartitionResponse partitionResponse =
+                    partitionResponses.get(bucketResponse.getBucketId());
+            if (timestamp >= 0
+                    && bucketResponse.hasErrorCode()
+                    && bucketResponse.getErrorCode()
+                            == com.alibaba.fluss.rpc.protocol.Errors.INVALID_TIMESTAMP_EXCEPTION
+                                    .code()) {
+                // no record is appended after the timestamp, which is not an error in Kafka
+                partitionResponse.setErrorCode(Errors.NONE.code());
+            } else if (bucketResponse.hasErrorCode()
+                    && bucketResponse.getErrorCode()
+                            != com.alibaba.fluss.rpc.protocol.Errors.NONE.code()) {
+                Errors error = KafkaErrors.fromFlussErrorCode(bucketResponse.getErrorCode());
+                maybeEvictTopic(topic, error);
+                partitionResponse.setErrorCode(error.code());
+            } else {
+                partitionResponse
+                        .setErrorCode(Errors.NONE.code())
+                        .setOffset(bucketResponse.getOffset());
+                if (timestamp >= 0) {
+                    // Fluss looks up the offsets by the append timestamps of the batches rather
+                    // than the timestamps of the records, so the requested timestamp is returned
+                    partitionResponse.setTimestamp(timestamp);
+                }
+            }
+        }
+    }
 
     void handleOffsetFetchRequest(KafkaRequest request) {}
 
     void handleOffsetCommitRequest(KafkaRequest request) {}
 
-    void handleFetchRequest(KafkaRequest request) {}
+    void handleFetchRequest(KafkaRequest request) {
+        FetchRequest fetchRequest = request.request();
+        // fetch sessions are not supported, the consumers send full fetch requests
+        FetchResponseData data =
+                new FetchResponseData().setSessionId(FetchMetadata.INVALID_SESSION_ID);
+        FetchLogRequest fetchLogRequest =
+                new FetchLogRequest()
+                        .setFollowerServerId(CLIENT_FOLLOWER_SERVER_ID)
+                        .setMaxBytes(fetchRequest.maxBytes())
+                        .setMinBytes(fetchRequest.minBytes())
+                        .setMaxWaitMs(fetchRequest.maxWait());
+        Map<Long, KafkaTopic> fetchedTopics = new HashMap<>();
+        Map<TableBucket, FetchedPartition> fetchedPartitions = new HashMap<>();
+        for (FetchRequestData.FetchTopic fetchTopic : fetchRequest.data().topics()) {
+            FetchResponseData.FetchableTopicResponse topicResponse =
+                    new FetchResponseData.FetchableTopicResponse().setTopic(fetchTopic.topic());
+            data.responses().add(topicResponse);
+            for (FetchRequestData.FetchPartition fetchPartition : fetchTopic.partitions()) {
+                topicResponse
+                        .partitions()
+                        .add(
+                                new FetchResponseData.PartitionData()
+                                        .setPartitionIndex(fetchPartition.partition())
+                                        .setRecords(MemoryRecords.EMPTY));
+            }
+
+            KafkaTopic topic;
+            try {
+                topic = getTopic(fetchTopic.topic());
+            } catch (Throwable t) {
+                Errors error = KafkaErrors.fromThrowable(t);
+                topicResponse.partitions().forEach(r -> setError(r, error));
+                continue;
+            }
+            fetchedTopics.put(topic.tableId(), topic);
+            PbFetchLogReqForTable fetchLogReqForTable =
+                    fetchLogRequest
+                            .addTablesReq()
+                            .setTableId(topic.tableId())
+                            .setProjectionPushdownEnabled(false);
+            for (int i = 0; i < fetchTopic.partitions().size(); i++) {
+                FetchRequestData.FetchPartition fetchPartition = fetchTopic.partitions().get(i);
+                fetchLogReqForTable
+                        .addBucketsReq()
+                        .setBucketId(fetchPartition.partition())
+                        .setFetchOffset(fetchPartition.fetchOffset())
+                        .setMaxFetchBytes(fetchPartition.partitionMaxBytes());
+                fetchedPartitions.put(
+                        new TableBucket(topic.tableId(), fetchPartition.partition()),
+                        new FetchedPartition(
+                                topic,
+                                fetchPartition.fetchOffset(),
+                                topicResponse.partitions().get(i)));
+            }
+        }
+
+        if (fetchedPartitions.isEmpty()) {
+            request.complete(new FetchResponse(data));
+            return;
+        }
+        callGateway(() -> gateway.fetchLog(fetchLogRequest))
+                .whenComplete(
+                        (response, t) -> {
+                            completeFetch(fetchedTopics, fetchedPartitions, response, t);
+                            request.complete(new FetchResponse(data));
+                        });
+    }
+
+    private void completeFetch(
+            Map<Long, KafkaTopic> fetchedTopics,
+            Map<TableBucket, FetchedPartition> fetchedPartitions,
+            FetchLogResponse response,
+            Throwable throwable) {
+        if (throwable != null) {
+            Errors error = KafkaErrors.fromThrowable(throwable);
+            for (FetchedPartition partition : fetchedPartitions.values()) {
+                maybeEvictTopic(partition.topic, error);
+                setError(partition.partitionData, error);
+            }
+            return;
+        }
+        for (PbFetchLogRespForTable tableResponse : response.getTablesRespsList()) {
+            for (PbFetchLogRespForBucket bucketResponse : tableResponse.getBucketsRespsList()) {
+                FetchedPartition partition =
+                        fetchedPartitions.get(
+                                new TableBucket(
+                                        tableResponse.getTableId(), bucketResponse.getBucketId()));
+                if (bucketResponse.hasErrorCode()
+                        && bucketResponse.getErrorCode()
+                                != com.alibaba.fluss.rpc.protocol.Errors.NONE.code()) {
+                    Errors error = KafkaErrors.fromFlussErrorCode(bucketResponse.getErrorCode());
+                    maybeEvictTopic(fetchedTopics.get(tableResponse.getTableId()), error);
+                    setError(partition.partitionData, error);
+                } else if (bucketResponse.hasRemoteLogFetchInfo()) {
+                    // the log segments tiered to the remote storage are not served to Kafka
+                    // consumers yet
+                    setError(partition.partitionData, Errors.KAFKA_STORAGE_ERROR);
+                } else {
+                    long highWatermark = bucketResponse.getHighWatermark();
+                    partition
+                            .partitionData
+                            .setErrorCode(Errors.NONE.code())
+                            .setHighWatermark(highWatermark)
+                            .setLastStableOffset(highWatermark)
+                            .setLogStartOffset(
+                                    bucketResponse.hasLogStartOffset()
+                                            ? bucketResponse.getLogStartOffset()
+                                            : FetchResponse.INVALID_LOG_START_OFFSET);
+                    if (bucketResponse.hasRecords()) {
+                        MemoryLogRecords records =
+                                MemoryLogRecords.pointToByteBuffer(
+                                        bucketResponse.getRecordsSlice().nioBuffer());
+                        partition.partitionData.setRecords(
+                                KafkaRecordsConverter.toKafkaRecords(
+                                        partition.topic, records, partition.fetchOffset));
+                    }
+                }
+            }
+        }
+    }
+
+    private static void setError(FetchResponseData.PartitionData partitionData, Errors error) {
+        partitionData
+                .setErrorCode(error.code())
+                .setHighWatermark(FetchResponse.INVALID_HIGH_WATERMARK)
+                .setLastStableOffset(FetchResponse.INVALID_LAST_STABLE_OFFSET)
+                .setLogStartOffset(FetchResponse.INVALID_LOG_START_OFFSET)
+                .setRecords(MemoryRecords.EMPTY);
+    }
 
     void handleJoinGroupRequest(KafkaRequest request) {}
 
@@ -243,4 +772,82 @@ public class KafkaRequestHandler implements RequestHandler<KafkaRequest> {
     void handleCreatePartitionsRequest(KafkaRequest request) {}
 
     void handleDescribeClusterRequest(KafkaRequest request) {}
+
+    // ------------------------------------------------------------------------------------------
+
+    /** Returns the Kafka topic of the given name, resolves it from the table if not cached. */
+    private KafkaTopic getTopic(String topicName) throws Exception {
+        KafkaTopic topic = topics.get(topicName);
+        if (topic == null) {
+            GetTableInfoRequest getTableInfoRequest = new GetTableInfoRequest();
+            getTableInfoRequest.setTablePath().setDatabaseName(database).setTableName(topicName);
+            GetTableInfoResponse response =
+                    callGateway(() -> gateway.getTableInfo(getTableInfoRequest)).get();
+            topic =
+                    KafkaTopic.of(
+                            topicName,
+                            TableInfo.of(
+                                    new TablePath(database, topicName),
+                                    response.getTableId(),
+                                    response.getSchemaId(),
+                                    TableDescriptor.fromJsonBytes(response.getTableJson()),
+                                    response.getCreatedTime(),
+                                    response.getModifiedTime()));
+            topics.put(topicName, topic);
+        }
+        return topic;
+    }
+
+    /** Evicts the cached topic if its table is unknown, e.g., the table has been re-created. */
+    private void maybeEvictTopic(KafkaTopic topic, Errors error) {
+        if (error == Errors.UNKNOWN_TOPIC_OR_PARTITION) {
+            topics.remove(topic.name(), topic);
+        }
+    }
+
+    private TableInfo toTableInfo(String topicName, PbTableMetadata tableMetadata) {
+        return TableInfo.of(
+                new TablePath(database, topicName),
+                tableMetadata.getTableId(),
+                tableMetadata.getSchemaId(),
+                TableDescriptor.fromJsonBytes(tableMetadata.getTableJson()),
+                tableMetadata.getCreatedTime(),
+                tableMetadata.getModifiedTime());
+    }
+
+    private List<String> listTopicNames() throws Exception {
+        ListTablesRequest listTablesRequest = new ListTablesRequest().setDatabaseName(database);
+        return callGateway(() -> gateway.listTables(listTablesRequest)).get().getTableNamesList();
+    }
+
+    private com.alibaba.fluss.rpc.messages.MetadataResponse getMetadata(
+            com.alibaba.fluss.rpc.messages.MetadataRequest metadataRequest) throws Exception {
+        return callGateway(() -> gateway.metadata(metadataRequest)).get();
+    }
+
+    /**
+     * Calls the gateway, the exceptions thrown by the gateway method are returned as the failed
+     * future, e.g., the authorization failures.
+     */
+    private static <T> CompletableFuture<T> callGateway(Supplier<CompletableFuture<T>> call) {
+        try {
+            return call.get();
+        } catch (Throwable t) {
+            return FutureUtils.completedExceptionally(t);
+        }
+    }
+
+    /** A partition fetched by a Kafka fetch request. */
+    private static final class FetchedPartition {
+        private final KafkaTopic topic;
+        private final long fetchOffset;
+        private final FetchResponseData.PartitionData partitionData;
+
+        private FetchedPartition(
+                KafkaTopic topic, long fetchOffset, FetchResponseData.PartitionData partitionData) {
+            this.topic = topic;
+            this.fetchOffset = fetchOffset;
+            this.partitionData = partitionData;
+        }
+    }
 }
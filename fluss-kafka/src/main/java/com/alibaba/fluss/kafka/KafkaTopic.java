@@ -0,0 +1,125 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.fluss.kafka;
+
+import com.alibaba.fluss.metadata.LogFormat;
+import com.alibaba.fluss.metadata.Schema;
+import com.alibaba.fluss.metadata.TableDescriptor;
+import com.alibaba.fluss.metadata.TableInfo;
+import com.alibaba.fluss.record.LogRecordReadContext;
+import com.alibaba.fluss.types.DataTypes;
+
+import org.apache.kafka.common.errors.InvalidTopicException;
+
+/**
+ * A Kafka topic backed by a Fluss log table in the Kafka database, the partitions of the topic are
+ * the buckets of the table.
+ *
+ * <p>Kafka records are opaque bytes, so the table must be a non-partitioned log table of the {@link
+ * #SCHEMA} in the {@link LogFormat#INDEXED} format, which stores the key, the value and the
+ * timestamp of a Kafka record in a row. The headers of the Kafka records are not retained.
+ *
+ * @since 0.8
+ */
+public final class KafkaTopic {
+
+    /** The schema of the Fluss tables backing Kafka topics. */
+    public static final Schema SCHEMA =
+            Schema.newBuilder()
+                    .column("key", DataTypes.BYTES())
+                    .column("value", DataTypes.BYTES())
+                    .column("timestamp", DataTypes.TIMESTAMP_LTZ(3))
+                    .build();
+
+    static final int KEY_INDEX = 0;
+    static final int VALUE_INDEX = 1;
+    static final int TIMESTAMP_INDEX = 2;
+    static final int TIMESTAMP_PRECISION = 3;
+
+    private final String name;
+    private final TableInfo tableInfo;
+    private final LogRecordReadContext readContext;
+
+    private KafkaTopic(String name, TableInfo tableInfo) {
+        this.name = name;
+        this.tableInfo = tableInfo;
+        this.readContext =
+                LogRecordReadContext.createIndexedReadContext(
+                        tableInfo.getRowType(), tableInfo.getSchemaId());
+    }
+
+    /**
+     * Creates the Kafka topic of the given table, throws {@link InvalidTopicException} if the table
+     * can't back a Kafka topic.
+     */
+    public static KafkaTopic of(String name, TableInfo tableInfo) {
+        String reason = null;
+        if (tableInfo.hasPrimaryKey()) {
+            reason = "it is a primary key table";
+        } else if (tableInfo.isPartitioned()) {
+            reason = "it is a partitioned table";
+        } else if (tableInfo.getTableConfig().getLogFormat() != LogFormat.INDEXED) {
+            reason = "its log format is not " + LogFormat.INDEXED;
+        } else if (!tableInfo
+                .getRowType()
+                .getChildren()
+                .equals(SCHEMA.getRowType().getChildren())) {
+            reason = "its row type is not " + SCHEMA.getRowType();
+        }
+        if (reason != null) {
+            throw new InvalidTopicException(
+                    String.format(
+                            "Table %s can't be used as Kafka topic '%s' as %s.",
+                            tableInfo.getTablePath(), name, reason));
+        }
+        return new KafkaTopic(name, tableInfo);
+    }
+
+    /** Returns the descriptor of a table which can back a Kafka topic of the given partitions. */
+    public static TableDescriptor tableDescriptor(int numPartitions) {
+        return TableDescriptor.builder()
+                .schema(SCHEMA)
+                .distributedBy(numPartitions)
+                .logFormat(LogFormat.INDEXED)
+                .build();
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public long tableId() {
+        return tableInfo.getTableId();
+    }
+
+    public int schemaId() {
+        return tableInfo.getSchemaId();
+    }
+
+    public int numPartitions() {
+        return tableInfo.getNumBuckets();
+    }
+
+    public TableInfo tableInfo() {
+        return tableInfo;
+    }
+
+    public LogRecordReadContext readContext() {
+        return readContext;
+    }
+}
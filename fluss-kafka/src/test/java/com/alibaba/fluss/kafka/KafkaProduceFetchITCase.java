@@ -0,0 +1,212 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.fluss.kafka;
+
+import com.alibaba.fluss.config.ConfigOptions;
+import com.alibaba.fluss.config.Configuration;
+import com.alibaba.fluss.metadata.Schema;
+import com.alibaba.fluss.metadata.TableDescriptor;
+import com.alibaba.fluss.metadata.TablePath;
+import com.alibaba.fluss.server.testutils.FlussClusterExtension;
+import com.alibaba.fluss.types.DataTypes;
+
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.InvalidTopicException;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ExecutionException;
+import java.util.stream.Collectors;
+
+import static com.alibaba.fluss.server.testutils.RpcMessageTestUtils.createTable;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/** ITCase for producing and consuming the log tables by Kafka clients. */
+class KafkaProduceFetchITCase {
+
+    private static final String KAFKA_DATABASE = "kafka";
+    private static final int NUM_PARTITIONS = 3;
+
+    @RegisterExtension
+    public static final FlussClusterExtension FLUSS_CLUSTER_EXTENSION =
+            FlussClusterExtension.builder()
+                    .setNumOfTabletServers(1)
+                    .setTabletServerListeners("FLUSS://localhost:0, KAFKA://localhost:0")
+                    .setClusterConf(initConfig())
+                    .build();
+
+    private KafkaProducer<String, String> producer;
+    private KafkaConsumer<String, String> consumer;
+
+    @BeforeEach
+    void beforeEach() {
+        String bootstrapServers =
+                FLUSS_CLUSTER_EXTENSION.getTabletServerNodes("KAFKA").stream()
+                        .map(node -> node.host() + ":" + node.port())
+                        .collect(Collectors.joining(","));
+        Properties producerProps = new Properties();
+        producerProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        producerProps.put(ProducerConfig.ACKS_CONFIG, "all");
+        // the idempotent producers are not supported
+        producerProps.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, false);
+        producerProps.put(ProducerConfig.MAX_BLOCK_MS_CONFIG, 10_000);
+        producer =
+                new KafkaProducer<>(producerProps, new StringSerializer(), new StringSerializer());
+
+        Properties consumerProps = new Properties();
+        consumerProps.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        consumerProps.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        consumer =
+                new KafkaConsumer<>(
+                        consumerProps, new StringDeserializer(), new StringDeserializer());
+    }
+
+    @AfterEach
+    void afterEach() {
+        producer.close();
+        consumer.close();
+    }
+
+    @Test
+    void testProduceAndFetch() throws Exception {
+        String topic = "produce_fetch";
+        createTable(
+                FLUSS_CLUSTER_EXTENSION,
+                TablePath.of(KAFKA_DATABASE, topic),
+                KafkaTopic.tableDescriptor(NUM_PARTITIONS));
+
+        List<PartitionInfo> partitions = producer.partitionsFor(topic);
+        assertThat(partitions).hasSize(NUM_PARTITIONS);
+
+        int numRecords = 300;
+        Map<TopicPartition, List<ProducerRecord<String, String>>> expected = new HashMap<>();
+        for (int i = 0; i < numRecords; i++) {
+            ProducerRecord<String, String> record =
+                    new ProducerRecord<>(
+                            topic,
+                            i % NUM_PARTITIONS,
+                            1000L + i,
+                            i % 10 == 0 ? null : "key-" + i,
+                            "value-" + i);
+            RecordMetadata metadata = producer.send(record).get();
+            TopicPartition tp = new TopicPartition(topic, metadata.partition());
+            List<ProducerRecord<String, String>> records =
+                    expected.computeIfAbsent(tp, k -> new ArrayList<>());
+            // the offsets of the partitions are the offsets of the buckets
+            assertThat(metadata.offset()).isEqualTo(records.size());
+            records.add(record);
+        }
+
+        List<TopicPartition> tps = new ArrayList<>(expected.keySet());
+        consumer.assign(tps);
+        Map<TopicPartition, Long> endOffsets = consumer.endOffsets(tps);
+        Map<TopicPartition, Long> beginningOffsets = consumer.beginningOffsets(tps);
+        for (TopicPartition tp : tps) {
+            assertThat(endOffsets.get(tp)).isEqualTo(expected.get(tp).size());
+            assertThat(beginningOffsets.get(tp)).isEqualTo(0L);
+        }
+
+        // fetch from the middle of a partition
+        TopicPartition seekPartition = new TopicPartition(topic, 0);
+        consumer.seek(seekPartition, 50);
+        Map<TopicPartition, List<ConsumerRecord<String, String>>> consumed = new HashMap<>();
+        int expectedCount = numRecords - 50;
+        int count = 0;
+        long deadline = System.currentTimeMillis() + 60_000;
+        while (count < expectedCount && System.currentTimeMillis() < deadline) {
+            for (ConsumerRecord<String, String> record : consumer.poll(Duration.ofMillis(100))) {
+                consumed.computeIfAbsent(
+                                new TopicPartition(record.topic(), record.partition()),
+                                k -> new ArrayList<>())
+                        .add(record);
+                count++;
+            }
+        }
+        assertThat(count).isEqualTo(expectedCount);
+
+        for (TopicPartition tp : tps) {
+            List<ProducerRecord<String, String>> produced = expected.get(tp);
+            List<ConsumerRecord<String, String>> records = consumed.get(tp);
+            int startOffset = tp.equals(seekPartition) ? 50 : 0;
+            assertThat(records).hasSize(produced.size() - startOffset);
+            for (int i = 0; i < records.size(); i++) {
+                ConsumerRecord<String, String> record = records.get(i);
+                ProducerRecord<String, String> producedRecord = produced.get(startOffset + i);
+                assertThat(record.offset()).isEqualTo(startOffset + i);
+                assertThat(record.key()).isEqualTo(producedRecord.key());
+                assertThat(record.value()).isEqualTo(producedRecord.value());
+                assertThat(record.timestamp()).isEqualTo(producedRecord.timestamp());
+            }
+        }
+
+        // list offsets by timestamp
+        Map<TopicPartition, Long> timestampOffsets =
+                consumer.offsetsForTimes(Collections.singletonMap(seekPartition, 0L)).entrySet()
+                        .stream()
+                        .collect(Collectors.toMap(Map.Entry::getKey, e -> e.getValue().offset()));
+        assertThat(timestampOffsets.get(seekPartition)).isEqualTo(0L);
+    }
+
+    @Test
+    void testUnsupportedTable() throws Exception {
+        String topic = "pk_table";
+        TableDescriptor descriptor =
+                TableDescriptor.builder()
+                        .schema(
+                                Schema.newBuilder()
+                                        .column("key", DataTypes.BYTES())
+                                        .column("value", DataTypes.BYTES())
+                                        .primaryKey("key")
+                                        .build())
+                        .distributedBy(1)
+                        .build();
+        createTable(FLUSS_CLUSTER_EXTENSION, TablePath.of(KAFKA_DATABASE, topic), descriptor);
+
+        assertThatThrownBy(() -> producer.send(new ProducerRecord<>(topic, "k", "v")).get())
+                .isInstanceOf(ExecutionException.class)
+                .cause()
+                .isInstanceOf(InvalidTopicException.class);
+    }
+
+    private static Configuration initConfig() {
+        Configuration conf = new Configuration();
+        conf.set(ConfigOptions.KAFKA_ENABLED, true);
+        conf.set(ConfigOptions.DEFAULT_REPLICATION_FACTOR, 1);
+        return conf;
+    }
+}
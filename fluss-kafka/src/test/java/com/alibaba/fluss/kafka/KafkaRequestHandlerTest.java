@@ -53,6 +53,8 @@ public class KafkaRequestHandlerTest {
                         apiVersionsRequest,
                         ByteBufAllocator.DEFAULT.buffer(),
                         ctx,
+                        "KAFKA",
+                        null,
                         new CompletableFuture<>());
         handler.handleApiVersionsRequest(request);
 
@@ -81,6 +83,8 @@ public class KafkaRequestHandlerTest {
                         apiVersionsRequest,
                         ByteBufAllocator.DEFAULT.buffer(),
                         ctx,
+                        "KAFKA",
+                        null,
                         new CompletableFuture<>());
         handler.handleApiVersionsRequest(request);
 
@@ -113,6 +117,6 @@ public class KafkaRequestHandlerTest {
     }
 
     private static KafkaRequestHandler createKafkaRequestHandler() {
-        return new KafkaRequestHandler(new TestingTabletGatewayService());
+        return new KafkaRequestHandler(new TestingTabletGatewayService(), "kafka");
     }
 }
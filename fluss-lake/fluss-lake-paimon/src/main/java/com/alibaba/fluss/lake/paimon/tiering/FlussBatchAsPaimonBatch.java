@@ -0,0 +1,384 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.fluss.lake.paimon.tiering;
+
+import com.alibaba.fluss.record.ColumnarLogBatch;
+import com.alibaba.fluss.row.TimestampLtz;
+import com.alibaba.fluss.row.TimestampNtz;
+
+import org.apache.paimon.data.Decimal;
+import org.apache.paimon.data.Timestamp;
+import org.apache.paimon.data.columnar.BooleanColumnVector;
+import org.apache.paimon.data.columnar.ByteColumnVector;
+import org.apache.paimon.data.columnar.BytesColumnVector;
+import org.apache.paimon.data.columnar.ColumnVector;
+import org.apache.paimon.data.columnar.DecimalColumnVector;
+import org.apache.paimon.data.columnar.DoubleColumnVector;
+import org.apache.paimon.data.columnar.FloatColumnVector;
+import org.apache.paimon.data.columnar.IntColumnVector;
+import org.apache.paimon.data.columnar.LongColumnVector;
+import org.apache.paimon.data.columnar.ShortColumnVector;
+import org.apache.paimon.data.columnar.TimestampColumnVector;
+import org.apache.paimon.data.columnar.VectorizedColumnBatch;
+import org.apache.paimon.types.DataType;
+import org.apache.paimon.types.RowType;
+
+import static com.alibaba.fluss.utils.Preconditions.checkState;
+
+/**
+ * To wrap the columns of a Fluss {@link ColumnarLogBatch} as paimon {@link VectorizedColumnBatch},
+ * with the three system columns __bucket, __offset, __timestamp appended. The paimon columns read
+ * the Fluss columns directly, so they are only valid as long as the Fluss batch.
+ */
+public class FlussBatchAsPaimonBatch {
+
+    // Lake table for paimon will append three system columns: __bucket, __offset,__timestamp
+    private static final int LAKE_PAIMON_SYSTEM_COLUMNS = 3;
+    private final RowType tableRowType;
+    private final int bucket;
+
+    public FlussBatchAsPaimonBatch(int bucket, RowType tableRowType) {
+        this.bucket = bucket;
+        this.tableRowType = tableRowType;
+    }
+
+    public VectorizedColumnBatch wrap(ColumnarLogBatch flussBatch) {
+        com.alibaba.fluss.row.columnar.ColumnVector[] flussColumns =
+                flussBatch.getColumns().columns;
+        int originRowFieldCount = flussColumns.length;
+        checkState(
+                originRowFieldCount == tableRowType.getFieldCount() - LAKE_PAIMON_SYSTEM_COLUMNS,
+                "The paimon table fields count must equals to LogRecord's fields count.");
+        ColumnVector[] columns = new ColumnVector[originRowFieldCount + LAKE_PAIMON_SYSTEM_COLUMNS];
+        for (int i = 0; i < originRowFieldCount; i++) {
+            columns[i] = toPaimonColumn(flussColumns[i], tableRowType.getTypeAt(i));
+        }
+        // the system columns: bucket, offset, timestamp
+        columns[originRowFieldCount] = new BucketColumn(bucket);
+        columns[originRowFieldCount + 1] = new OffsetColumn(flussBatch.getBaseLogOffset());
+        columns[originRowFieldCount + 2] = new CommitTimestampColumn(flussBatch.getTimestamp());
+        VectorizedColumnBatch batch = new VectorizedColumnBatch(columns);
+        batch.setNumRows(flussBatch.getRowCount());
+        return batch;
+    }
+
+    private static ColumnVector toPaimonColumn(
+            com.alibaba.fluss.row.columnar.ColumnVector flussColumn, DataType paimonType) {
+        switch (paimonType.getTypeRoot()) {
+            case BOOLEAN:
+                return new FlussBooleanColumn(
+                        (com.alibaba.fluss.row.columnar.BooleanColumnVector) flussColumn);
+            case TINYINT:
+                return new FlussByteColumn(
+                        (com.alibaba.fluss.row.columnar.ByteColumnVector) flussColumn);
+            case SMALLINT:
+                return new FlussShortColumn(
+                        (com.alibaba.fluss.row.columnar.ShortColumnVector) flussColumn);
+            case INTEGER:
+            case DATE:
+            case TIME_WITHOUT_TIME_ZONE:
+                return new FlussIntColumn(
+                        (com.alibaba.fluss.row.columnar.IntColumnVector) flussColumn);
+            case BIGINT:
+                return new FlussLongColumn(
+                        (com.alibaba.fluss.row.columnar.LongColumnVector) flussColumn);
+            case FLOAT:
+                return new FlussFloatColumn(
+                        (com.alibaba.fluss.row.columnar.FloatColumnVector) flussColumn);
+            case DOUBLE:
+                return new FlussDoubleColumn(
+                        (com.alibaba.fluss.row.columnar.DoubleColumnVector) flussColumn);
+            case CHAR:
+            case VARCHAR:
+            case BINARY:
+            case VARBINARY:
+                return new FlussBytesColumn(
+                        (com.alibaba.fluss.row.columnar.BytesColumnVector) flussColumn);
+            case DECIMAL:
+                return new FlussDecimalColumn(
+                        (com.alibaba.fluss.row.columnar.DecimalColumnVector) flussColumn);
+            case TIMESTAMP_WITHOUT_TIME_ZONE:
+                return new FlussTimestampNtzColumn(
+                        (com.alibaba.fluss.row.columnar.TimestampNtzColumnVector) flussColumn);
+            case TIMESTAMP_WITH_LOCAL_TIME_ZONE:
+                return new FlussTimestampLtzColumn(
+                        (com.alibaba.fluss.row.columnar.TimestampLtzColumnVector) flussColumn);
+            default:
+                throw new UnsupportedOperationException(
+                        "Unsupported data type to write Fluss columns to paimon: " + paimonType);
+        }
+    }
+
+    private abstract static class FlussColumn<T extends com.alibaba.fluss.row.columnar.ColumnVector>
+            implements ColumnVector {
+
+        protected final T flussColumn;
+
+        private FlussColumn(T flussColumn) {
+            this.flussColumn = flussColumn;
+        }
+
+        @Override
+        public boolean isNullAt(int i) {
+            return flussColumn.isNullAt(i);
+        }
+    }
+
+    private static class FlussBooleanColumn
+            extends FlussColumn<com.alibaba.fluss.row.columnar.BooleanColumnVector>
+            implements BooleanColumnVector {
+
+        private FlussBooleanColumn(com.alibaba.fluss.row.columnar.BooleanColumnVector flussColumn) {
+            super(flussColumn);
+        }
+
+        @Override
+        public boolean getBoolean(int i) {
+            return flussColumn.getBoolean(i);
+        }
+    }
+
+    private static class FlussByteColumn
+            extends FlussColumn<com.alibaba.fluss.row.columnar.ByteColumnVector>
+            implements ByteColumnVector {
+
+        private FlussByteColumn(com.alibaba.fluss.row.columnar.ByteColumnVector flussColumn) {
+            super(flussColumn);
+        }
+
+        @Override
+        public byte getByte(int i) {
+            return flussColumn.getByte(i);
+        }
+    }
+
+    private static class FlussShortColumn
+            extends FlussColumn<com.alibaba.fluss.row.columnar.ShortColumnVector>
+            implements ShortColumnVector {
+
+        private FlussShortColumn(com.alibaba.fluss.row.columnar.ShortColumnVector flussColumn) {
+            super(flussColumn);
+        }
+
+        @Override
+        public short getShort(int i) {
+            return flussColumn.getShort(i);
+        }
+    }
+
+    private static class FlussIntColumn
+            extends FlussColumn<com.alibaba.fluss.row.columnar.IntColumnVector>
+            implements IntColumnVector {
+
+        private FlussIntColumn(com.alibaba.fluss.row.columnar.IntColumnVector flussColumn) {
+            super(flussColumn);
+        }
+
+        @Override
+        public int getInt(int i) {
+            return flussColumn.getInt(i);
+        }
+    }
+
+    private static class FlussLongColumn
+            extends FlussColumn<com.alibaba.fluss.row.columnar.LongColumnVector>
+            implements LongColumnVector {
+
+        private FlussLongColumn(com.alibaba.fluss.row.columnar.LongColumnVector flussColumn) {
+            super(flussColumn);
+        }
+
+        @Override
+        public long getLong(int i) {
+            return flussColumn.getLong(i);
+        }
+    }
+
+    private static class FlussFloatColumn
+            extends FlussColumn<com.alibaba.fluss.row.columnar.FloatColumnVector>
+            implements FloatColumnVector {
+
+        private FlussFloatColumn(com.alibaba.fluss.row.columnar.FloatColumnVector flussColumn) {
+            super(flussColumn);
+        }
+
+        @Override
+        public float getFloat(int i) {
+            return flussColumn.getFloat(i);
+        }
+    }
+
+    private static class FlussDoubleColumn
+            extends FlussColumn<com.alibaba.fluss.row.columnar.DoubleColumnVector>
+            implements DoubleColumnVector {
+
+        private FlussDoubleColumn(com.alibaba.fluss.row.columnar.DoubleColumnVector flussColumn) {
+            super(flussColumn);
+        }
+
+        @Override
+        public double getDouble(int i) {
+            return flussColumn.getDouble(i);
+        }
+    }
+
+    private static class FlussBytesColumn
+            extends FlussColumn<com.alibaba.fluss.row.columnar.BytesColumnVector>
+            implements BytesColumnVector {
+
+        private FlussBytesColumn(com.alibaba.fluss.row.columnar.BytesColumnVector flussColumn) {
+            super(flussColumn);
+        }
+
+        @Override
+        public Bytes getBytes(int i) {
+            com.alibaba.fluss.row.columnar.BytesColumnVector.Bytes bytes = flussColumn.getBytes(i);
+            return new Bytes(bytes.data, bytes.offset, bytes.len);
+        }
+    }
+
+    private static class FlussDecimalColumn
+            extends FlussColumn<com.alibaba.fluss.row.columnar.DecimalColumnVector>
+            implements DecimalColumnVector {
+
+        private FlussDecimalColumn(com.alibaba.fluss.row.columnar.DecimalColumnVector flussColumn) {
+            super(flussColumn);
+        }
+
+        @Override
+        public Decimal getDecimal(int i, int precision, int scale) {
+            com.alibaba.fluss.row.Decimal flussDecimal =
+                    flussColumn.getDecimal(i, precision, scale);
+            if (flussDecimal.isCompact()) {
+                return Decimal.fromUnscaledLong(flussDecimal.toUnscaledLong(), precision, scale);
+            } else {
+                return Decimal.fromBigDecimal(flussDecimal.toBigDecimal(), precision, scale);
+            }
+        }
+    }
+
+    private static class FlussTimestampNtzColumn
+            extends FlussColumn<com.alibaba.fluss.row.columnar.TimestampNtzColumnVector>
+            implements TimestampColumnVector {
+
+        private FlussTimestampNtzColumn(
+                com.alibaba.fluss.row.columnar.TimestampNtzColumnVector flussColumn) {
+            super(flussColumn);
+        }
+
+        @Override
+        public Timestamp getTimestamp(int i, int precision) {
+            TimestampNtz timestampNtz = flussColumn.getTimestampNtz(i, precision);
+            if (TimestampNtz.isCompact(precision)) {
+                return Timestamp.fromEpochMillis(timestampNtz.getMillisecond());
+            } else {
+                return Timestamp.fromEpochMillis(
+                        timestampNtz.getMillisecond(), timestampNtz.getNanoOfMillisecond());
+            }
+        }
+    }
+
+    private static class FlussTimestampLtzColumn
+            extends FlussColumn<com.alibaba.fluss.row.columnar.TimestampLtzColumnVector>
+            implements TimestampColumnVector {
+
+        private FlussTimestampLtzColumn(
+                com.alibaba.fluss.row.columnar.TimestampLtzColumnVector flussColumn) {
+            super(flussColumn);
+        }
+
+        @Override
+        public Timestamp getTimestamp(int i, int precision) {
+            TimestampLtz timestampLtz = flussColumn.getTimestampLtz(i, precision);
+            if (TimestampLtz.isCompact(precision)) {
+                return Timestamp.fromEpochMillis(timestampLtz.getEpochMillisecond());
+            } else {
+                return Timestamp.fromEpochMillis(
+                        timestampLtz.getEpochMillisecond(), timestampLtz.getNanoOfMillisecond());
+            }
+        }
+    }
+
+    /** The __bucket system column, which is the bucket of the writer for all the rows. */
+    private static class BucketColumn implements IntColumnVector {
+
+        private final int bucket;
+
+        private BucketColumn(int bucket) {
+            this.bucket = bucket;
+        }
+
+        @Override
+        public int getInt(int i) {
+            return bucket;
+        }
+
+        @Override
+        public boolean isNullAt(int i) {
+            return false;
+        }
+    }
+
+    /** The __offset system column, which is the log offset of the row in the Fluss batch. */
+    private static class OffsetColumn implements LongColumnVector {
+
+        private final long baseLogOffset;
+
+        private OffsetColumn(long baseLogOffset) {
+            this.baseLogOffset = baseLogOffset;
+        }
+
+        @Override
+        public long getLong(int i) {
+            return baseLogOffset + i;
+        }
+
+        @Override
+        public boolean isNullAt(int i) {
+            return false;
+        }
+    }
+
+    /**
+     * The __timestamp system column, which is the commit timestamp of the Fluss batch for all the
+     * rows, read as a long or a timestamp the same as {@link FlussRecordAsPaimonRow}.
+     */
+    private static class CommitTimestampColumn implements LongColumnVector, TimestampColumnVector {
+
+        private final long timestamp;
+
+        private CommitTimestampColumn(long timestamp) {
+            this.timestamp = timestamp;
+        }
+
+        @Override
+        public long getLong(int i) {
+            return timestamp;
+        }
+
+        @Override
+        public Timestamp getTimestamp(int i, int precision) {
+            return Timestamp.fromEpochMillis(timestamp);
+        }
+
+        @Override
+        public boolean isNullAt(int i) {
+            return false;
+        }
+    }
+}
@@ -22,6 +22,7 @@ import com.alibaba.fluss.lake.paimon.tiering.mergetree.MergeTreeWriter;
 import com.alibaba.fluss.lake.writer.LakeWriter;
 import com.alibaba.fluss.lake.writer.WriterInitContext;
 import com.alibaba.fluss.metadata.TablePath;
+import com.alibaba.fluss.record.ColumnarLogBatch;
 import com.alibaba.fluss.record.LogRecord;
 
 import org.apache.paimon.catalog.Catalog;
@@ -70,6 +71,15 @@ public class PaimonLakeWriter implements LakeWriter<PaimonWriteResult> {
         }
     }
 
+    @Override
+    public void write(ColumnarLogBatch batch, int fromRowId, int toRowId) throws IOException {
+        try {
+            recordWriter.write(batch, fromRowId, toRowId);
+        } catch (Exception e) {
+            throw new IOException("Fail to write Fluss records to Paimon.", e);
+        }
+    }
+
     @Override
     public PaimonWriteResult complete() throws IOException {
         CommitMessage commitMessage;
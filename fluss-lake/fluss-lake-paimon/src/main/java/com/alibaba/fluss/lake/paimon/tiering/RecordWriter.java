@@ -18,9 +18,12 @@
 package com.alibaba.fluss.lake.paimon.tiering;
 
 import com.alibaba.fluss.metadata.TableBucket;
+import com.alibaba.fluss.record.ColumnarLogBatch;
 import com.alibaba.fluss.record.LogRecord;
 
 import org.apache.paimon.data.BinaryRow;
+import org.apache.paimon.data.InternalRow;
+import org.apache.paimon.data.columnar.ColumnarRow;
 import org.apache.paimon.table.sink.CommitMessage;
 import org.apache.paimon.table.sink.TableWriteImpl;
 import org.apache.paimon.types.RowType;
@@ -30,6 +33,7 @@ import javax.annotation.Nullable;
 import java.util.List;
 
 import static com.alibaba.fluss.lake.paimon.utils.PaimonConversions.toPaimonPartitionBinaryRow;
+import static com.alibaba.fluss.lake.paimon.utils.PaimonConversions.toRowKind;
 import static com.alibaba.fluss.utils.Preconditions.checkState;
 
 /** A base interface to write {@link LogRecord} to Paimon. */
@@ -40,6 +44,7 @@ public abstract class RecordWriter<T> implements AutoCloseable {
     protected final int bucket;
     @Nullable protected final BinaryRow partition;
     protected final FlussRecordAsPaimonRow flussRecordAsPaimonRow;
+    protected final FlussBatchAsPaimonBatch flussBatchAsPaimonBatch;
 
     public RecordWriter(
             TableWriteImpl<T> tableWrite,
@@ -53,9 +58,26 @@ public abstract class RecordWriter<T> implements AutoCloseable {
         this.partition = toPaimonPartitionBinaryRow(partitionKeys, partition);
         this.flussRecordAsPaimonRow =
                 new FlussRecordAsPaimonRow(tableBucket.getBucket(), tableRowType);
+        this.flussBatchAsPaimonBatch =
+                new FlussBatchAsPaimonBatch(tableBucket.getBucket(), tableRowType);
     }
 
-    public abstract void write(LogRecord record) throws Exception;
+    public void write(LogRecord record) throws Exception {
+        flussRecordAsPaimonRow.setFlussRecord(record);
+        write(flussRecordAsPaimonRow);
+    }
+
+    public void write(ColumnarLogBatch batch, int fromRowId, int toRowId) throws Exception {
+        // read the rows from the columns of the batch directly instead of a row per record
+        ColumnarRow row = new ColumnarRow(flussBatchAsPaimonBatch.wrap(batch));
+        for (int rowId = fromRowId; rowId < toRowId; rowId++) {
+            row.setRowId(rowId);
+            row.setRowKind(toRowKind(batch.getChangeType(rowId)));
+            write(row);
+        }
+    }
+
+    protected abstract void write(InternalRow row) throws Exception;
 
     CommitMessage complete() throws Exception {
         List<CommitMessage> commitMessages = tableWrite.prepareCommit();
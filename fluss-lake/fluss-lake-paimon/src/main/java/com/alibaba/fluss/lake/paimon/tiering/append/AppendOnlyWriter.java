@@ -19,7 +19,6 @@ package com.alibaba.fluss.lake.paimon.tiering.append;
 
 import com.alibaba.fluss.lake.paimon.tiering.RecordWriter;
 import com.alibaba.fluss.metadata.TableBucket;
-import com.alibaba.fluss.record.LogRecord;
 
 import org.apache.paimon.data.InternalRow;
 import org.apache.paimon.table.FileStoreTable;
@@ -51,11 +50,10 @@ public class AppendOnlyWriter extends RecordWriter<InternalRow> {
     }
 
     @Override
-    public void write(LogRecord record) throws Exception {
-        flussRecordAsPaimonRow.setFlussRecord(record);
+    protected void write(InternalRow row) throws Exception {
         // hacky, call internal method tableWrite.getWrite() to support
         // to write to given partition, otherwise, it'll always extract a partition from Paimon row
         // which may be costly
-        tableWrite.getWrite().write(partition, bucket, flussRecordAsPaimonRow);
+        tableWrite.getWrite().write(partition, bucket, row);
     }
 }
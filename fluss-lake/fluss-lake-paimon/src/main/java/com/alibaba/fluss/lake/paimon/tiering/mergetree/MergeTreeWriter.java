@@ -19,9 +19,9 @@ package com.alibaba.fluss.lake.paimon.tiering.mergetree;
 
 import com.alibaba.fluss.lake.paimon.tiering.RecordWriter;
 import com.alibaba.fluss.metadata.TableBucket;
-import com.alibaba.fluss.record.LogRecord;
 
 import org.apache.paimon.KeyValue;
+import org.apache.paimon.data.InternalRow;
 import org.apache.paimon.table.FileStoreTable;
 import org.apache.paimon.table.sink.RowKeyExtractor;
 import org.apache.paimon.table.sink.TableWriteImpl;
@@ -31,7 +31,6 @@ import javax.annotation.Nullable;
 import java.util.List;
 
 import static com.alibaba.fluss.lake.paimon.tiering.PaimonLakeTieringFactory.FLUSS_LAKE_TIERING_COMMIT_USER;
-import static com.alibaba.fluss.lake.paimon.utils.PaimonConversions.toRowKind;
 
 /** A {@link RecordWriter} to write to Paimon's primary-key table. */
 public class MergeTreeWriter extends RecordWriter<KeyValue> {
@@ -60,14 +59,13 @@ public class MergeTreeWriter extends RecordWriter<KeyValue> {
     }
 
     @Override
-    public void write(LogRecord record) throws Exception {
-        flussRecordAsPaimonRow.setFlussRecord(record);
-        rowKeyExtractor.setRecord(flussRecordAsPaimonRow);
+    protected void write(InternalRow row) throws Exception {
+        rowKeyExtractor.setRecord(row);
         keyValue.replace(
                 rowKeyExtractor.trimmedPrimaryKey(),
                 KeyValue.UNKNOWN_SEQUENCE,
-                toRowKind(record.getChangeType()),
-                flussRecordAsPaimonRow);
+                row.getRowKind(),
+                row);
         // hacky, call internal method tableWrite.getWrite() to support
         // to write to given partition, otherwise, it'll always extract a partition from Paimon row
         // which may be costly
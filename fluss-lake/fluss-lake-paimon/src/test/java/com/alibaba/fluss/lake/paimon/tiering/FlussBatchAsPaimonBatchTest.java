@@ -0,0 +1,227 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.fluss.lake.paimon.tiering;
+
+import com.alibaba.fluss.metadata.LogFormat;
+import com.alibaba.fluss.record.ArrowBatchData;
+import com.alibaba.fluss.record.ChangeType;
+import com.alibaba.fluss.record.ColumnarLogBatch;
+import com.alibaba.fluss.record.LogRecordReadContext;
+import com.alibaba.fluss.record.MemoryLogRecords;
+import com.alibaba.fluss.row.Decimal;
+import com.alibaba.fluss.row.TimestampLtz;
+import com.alibaba.fluss.row.TimestampNtz;
+import com.alibaba.fluss.row.columnar.ColumnarRow;
+import com.alibaba.fluss.row.columnar.VectorizedColumnBatch;
+import com.alibaba.fluss.types.DataTypes;
+
+import org.apache.paimon.data.Timestamp;
+import org.apache.paimon.types.RowType;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.alibaba.fluss.compression.ArrowCompressionInfo.DEFAULT_COMPRESSION;
+import static com.alibaba.fluss.record.LogRecordBatch.NO_BATCH_SEQUENCE;
+import static com.alibaba.fluss.record.LogRecordBatch.NO_WRITER_ID;
+import static com.alibaba.fluss.record.TestData.DEFAULT_SCHEMA_ID;
+import static com.alibaba.fluss.testutils.DataTestUtils.createBasicMemoryLogRecords;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Test for {@link FlussBatchAsPaimonBatch}. */
+class FlussBatchAsPaimonBatchTest {
+
+    @Test
+    void testLogTableBatchAllTypes() throws Exception {
+        int tableBucket = 1;
+        com.alibaba.fluss.types.RowType flussRowType =
+                com.alibaba.fluss.types.RowType.of(
+                        DataTypes.BOOLEAN(),
+                        DataTypes.TINYINT(),
+                        DataTypes.SMALLINT(),
+                        DataTypes.INT(),
+                        DataTypes.BIGINT(),
+                        DataTypes.FLOAT(),
+                        DataTypes.DOUBLE(),
+                        DataTypes.STRING(),
+                        DataTypes.DECIMAL(5, 2),
+                        DataTypes.DECIMAL(20, 0),
+                        DataTypes.TIMESTAMP_LTZ(6),
+                        DataTypes.TIMESTAMP(6),
+                        DataTypes.BYTES(),
+                        DataTypes.STRING());
+        RowType tableRowType =
+                RowType.of(
+                        new org.apache.paimon.types.BooleanType(),
+                        new org.apache.paimon.types.TinyIntType(),
+                        new org.apache.paimon.types.SmallIntType(),
+                        new org.apache.paimon.types.IntType(),
+                        new org.apache.paimon.types.BigIntType(),
+                        new org.apache.paimon.types.FloatType(),
+                        new org.apache.paimon.types.DoubleType(),
+                        new org.apache.paimon.types.VarCharType(),
+                        new org.apache.paimon.types.DecimalType(5, 2),
+                        new org.apache.paimon.types.DecimalType(20, 0),
+                        new org.apache.paimon.types.LocalZonedTimestampType(6),
+                        new org.apache.paimon.types.TimestampType(6),
+                        new org.apache.paimon.types.VarBinaryType(),
+                        new org.apache.paimon.types.VarCharType(),
+                        // append three system columns: __bucket, __offset,__timestamp
+                        new org.apache.paimon.types.IntType(),
+                        new org.apache.paimon.types.BigIntType(),
+                        new org.apache.paimon.types.LocalZonedTimestampType(3));
+
+        long baseLogOffset = 100;
+        long timeStamp = System.currentTimeMillis();
+        List<Object[]> rows =
+                Arrays.asList(
+                        new Object[] {
+                            true,
+                            (byte) 1,
+                            (short) 2,
+                            3,
+                            4L,
+                            5.1f,
+                            6.0d,
+                            "string",
+                            Decimal.fromUnscaledLong(9, 5, 2),
+                            Decimal.fromBigDecimal(new BigDecimal(10), 20, 0),
+                            TimestampLtz.fromEpochMillis(1698235273182L, 5000),
+                            TimestampNtz.fromMillis(1698235273182L, 5000),
+                            new byte[] {1, 2, 3, 4},
+                            null
+                        },
+                        new Object[] {
+                            false,
+                            null,
+                            null,
+                            null,
+                            null,
+                            null,
+                            null,
+                            "another",
+                            null,
+                            null,
+                            null,
+                            null,
+                            null,
+                            "not null"
+                        });
+        MemoryLogRecords records =
+                createBasicMemoryLogRecords(
+                        flussRowType,
+                        DEFAULT_SCHEMA_ID,
+                        baseLogOffset,
+                        timeStamp,
+                        NO_WRITER_ID,
+                        NO_BATCH_SEQUENCE,
+                        Arrays.asList(ChangeType.APPEND_ONLY, ChangeType.APPEND_ONLY),
+                        rows,
+                        LogFormat.ARROW,
+                        DEFAULT_COMPRESSION);
+
+        FlussBatchAsPaimonBatch flussBatchAsPaimonBatch =
+                new FlussBatchAsPaimonBatch(tableBucket, tableRowType);
+        try (LogRecordReadContext readContext =
+                        LogRecordReadContext.createArrowReadContext(
+                                flussRowType, DEFAULT_SCHEMA_ID);
+                ArrowBatchData data =
+                        records.batches().iterator().next().loadArrowBatch(readContext, 0)) {
+            org.apache.paimon.data.columnar.VectorizedColumnBatch paimonBatch =
+                    flussBatchAsPaimonBatch.wrap(toColumnarLogBatch(data));
+            assertThat(paimonBatch.getNumRows()).isEqualTo(2);
+            assertThat(paimonBatch.getArity()).isEqualTo(14 + 3);
+            org.apache.paimon.data.columnar.ColumnarRow row =
+                    new org.apache.paimon.data.columnar.ColumnarRow(paimonBatch, 0);
+
+            // verify the normal columns of the first row
+            assertThat(row.getBoolean(0)).isTrue();
+            assertThat(row.getByte(1)).isEqualTo((byte) 1);
+            assertThat(row.getShort(2)).isEqualTo((short) 2);
+            assertThat(row.getInt(3)).isEqualTo(3);
+            assertThat(row.getLong(4)).isEqualTo(4L);
+            assertThat(row.getFloat(5)).isEqualTo(5.1f);
+            assertThat(row.getDouble(6)).isEqualTo(6.0d);
+            assertThat(row.getString(7).toString()).isEqualTo("string");
+            assertThat(row.getDecimal(8, 5, 2).toBigDecimal()).isEqualTo(new BigDecimal("0.09"));
+            assertThat(row.getDecimal(9, 20, 0).toBigDecimal()).isEqualTo(new BigDecimal(10));
+            assertThat(row.getTimestamp(10, 6).getMillisecond()).isEqualTo(1698235273182L);
+            assertThat(row.getTimestamp(10, 6).getNanoOfMillisecond()).isEqualTo(5000);
+            assertThat(row.getTimestamp(11, 6).getMillisecond()).isEqualTo(1698235273182L);
+            assertThat(row.getTimestamp(11, 6).getNanoOfMillisecond()).isEqualTo(5000);
+            assertThat(row.getBinary(12)).isEqualTo(new byte[] {1, 2, 3, 4});
+            assertThat(row.isNullAt(13)).isTrue();
+
+            // verify the system columns of the first row
+            assertThat(row.getInt(14)).isEqualTo(tableBucket);
+            assertThat(row.getLong(15)).isEqualTo(baseLogOffset);
+            assertThat(row.getLong(16)).isEqualTo(timeStamp);
+            assertThat(row.getTimestamp(16, 3)).isEqualTo(Timestamp.fromEpochMillis(timeStamp));
+
+            // verify the second row, which reads the same columns with another row id
+            row.setRowId(1);
+            assertThat(row.getBoolean(0)).isFalse();
+            for (int i = 1; i < 13; i++) {
+                assertThat(row.isNullAt(i)).isEqualTo(i != 7);
+            }
+            assertThat(row.getString(7).toString()).isEqualTo("another");
+            assertThat(row.getString(13).toString()).isEqualTo("not null");
+            assertThat(row.getInt(14)).isEqualTo(tableBucket);
+            assertThat(row.getLong(15)).isEqualTo(baseLogOffset + 1);
+            assertThat(row.getLong(16)).isEqualTo(timeStamp);
+        }
+    }
+
+    /** Views the columns of the given {@link ArrowBatchData} as a {@link ColumnarLogBatch}. */
+    static ColumnarLogBatch toColumnarLogBatch(ArrowBatchData data) {
+        VectorizedColumnBatch columns = new VectorizedColumnBatch(data.getColumnVectors());
+        return new ColumnarLogBatch() {
+            @Override
+            public int getRowCount() {
+                return data.getRowCount();
+            }
+
+            @Override
+            public long getBaseLogOffset() {
+                return data.getBaseLogOffset();
+            }
+
+            @Override
+            public long getTimestamp() {
+                return data.getTimestamp();
+            }
+
+            @Override
+            public VectorizedColumnBatch getColumns() {
+                return columns;
+            }
+
+            @Override
+            public ChangeType getChangeType(int rowId) {
+                return data.getChangeType(rowId);
+            }
+
+            @Override
+            public ColumnarRow getRow(int rowId) {
+                return new ColumnarRow(columns, rowId);
+            }
+        };
+    }
+}
@@ -23,11 +23,16 @@ import com.alibaba.fluss.lake.committer.LakeCommitter;
 import com.alibaba.fluss.lake.serializer.SimpleVersionedSerializer;
 import com.alibaba.fluss.lake.writer.LakeWriter;
 import com.alibaba.fluss.lake.writer.WriterInitContext;
+import com.alibaba.fluss.metadata.LogFormat;
 import com.alibaba.fluss.metadata.TableBucket;
 import com.alibaba.fluss.metadata.TablePath;
+import com.alibaba.fluss.record.ArrowBatchData;
 import com.alibaba.fluss.record.ChangeType;
+import com.alibaba.fluss.record.ColumnarLogBatch;
 import com.alibaba.fluss.record.GenericRecord;
 import com.alibaba.fluss.record.LogRecord;
+import com.alibaba.fluss.record.LogRecordReadContext;
+import com.alibaba.fluss.record.MemoryLogRecords;
 import com.alibaba.fluss.row.BinaryString;
 import com.alibaba.fluss.row.GenericRow;
 import com.alibaba.fluss.utils.types.Tuple2;
@@ -53,6 +58,7 @@ import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
 
 import javax.annotation.Nullable;
 
@@ -66,6 +72,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.stream.Stream;
 
+import static com.alibaba.fluss.compression.ArrowCompressionInfo.DEFAULT_COMPRESSION;
 import static com.alibaba.fluss.lake.paimon.utils.PaimonConversions.toPaimon;
 import static com.alibaba.fluss.metadata.TableDescriptor.BUCKET_COLUMN_NAME;
 import static com.alibaba.fluss.metadata.TableDescriptor.OFFSET_COLUMN_NAME;
@@ -74,6 +81,10 @@ import static com.alibaba.fluss.record.ChangeType.DELETE;
 import static com.alibaba.fluss.record.ChangeType.INSERT;
 import static com.alibaba.fluss.record.ChangeType.UPDATE_AFTER;
 import static com.alibaba.fluss.record.ChangeType.UPDATE_BEFORE;
+import static com.alibaba.fluss.record.LogRecordBatch.NO_BATCH_SEQUENCE;
+import static com.alibaba.fluss.record.LogRecordBatch.NO_WRITER_ID;
+import static com.alibaba.fluss.record.TestData.DEFAULT_SCHEMA_ID;
+import static com.alibaba.fluss.testutils.DataTestUtils.createBasicMemoryLogRecords;
 import static com.alibaba.fluss.utils.Preconditions.checkState;
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -213,6 +224,92 @@ class PaimonTieringTest {
         }
     }
 
+    @ParameterizedTest
+    @ValueSource(booleans = {true, false})
+    void testTieringWriteBatch(boolean isPrimaryKeyTable) throws Exception {
+        int bucket = 0;
+        TablePath tablePath =
+                TablePath.of(
+                        "paimon",
+                        String.format(
+                                "test_tiering_batch_%s",
+                                isPrimaryKeyTable ? "primary_key" : "log"));
+        createTable(tablePath, isPrimaryKeyTable, false, isPrimaryKeyTable ? 1 : null);
+
+        Tuple2<List<LogRecord>, List<LogRecord>> writeAndExpectRecords =
+                isPrimaryKeyTable
+                        ? genPrimaryKeyTableRecords(null, bucket)
+                        : genLogTableRecords(null, bucket, 10);
+        // all the records of a batch have the commit timestamp of the batch
+        long timestamp = System.currentTimeMillis();
+        List<ChangeType> changeTypes = new ArrayList<>();
+        List<Object[]> rows = new ArrayList<>();
+        for (LogRecord logRecord : writeAndExpectRecords.f0) {
+            changeTypes.add(logRecord.getChangeType());
+            rows.add(
+                    new Object[] {
+                        logRecord.getRow().getInt(0),
+                        logRecord.getRow().getString(1).toString(),
+                        logRecord.getRow().getString(2).toString()
+                    });
+        }
+        List<LogRecord> expectRecords = new ArrayList<>();
+        for (LogRecord logRecord : writeAndExpectRecords.f1) {
+            expectRecords.add(
+                    new GenericRecord(
+                            logRecord.logOffset(),
+                            timestamp,
+                            logRecord.getChangeType(),
+                            logRecord.getRow()));
+        }
+        com.alibaba.fluss.types.RowType flussRowType =
+                com.alibaba.fluss.types.RowType.of(
+                        com.alibaba.fluss.types.DataTypes.INT(),
+                        com.alibaba.fluss.types.DataTypes.STRING(),
+                        com.alibaba.fluss.types.DataTypes.STRING());
+        MemoryLogRecords records =
+                createBasicMemoryLogRecords(
+                        flussRowType,
+                        DEFAULT_SCHEMA_ID,
+                        0L,
+                        timestamp,
+                        NO_WRITER_ID,
+                        NO_BATCH_SEQUENCE,
+                        changeTypes,
+                        rows,
+                        LogFormat.ARROW,
+                        DEFAULT_COMPRESSION);
+
+        PaimonWriteResult paimonWriteResult;
+        try (LakeWriter<PaimonWriteResult> lakeWriter = createLakeWriter(tablePath, bucket, null);
+                LogRecordReadContext readContext =
+                        LogRecordReadContext.createArrowReadContext(
+                                flussRowType, DEFAULT_SCHEMA_ID);
+                ArrowBatchData data =
+                        records.batches().iterator().next().loadArrowBatch(readContext, 0)) {
+            ColumnarLogBatch batch = FlussBatchAsPaimonBatchTest.toColumnarLogBatch(data);
+            // write the batch in two ranges
+            lakeWriter.write(batch, 0, 4);
+            lakeWriter.write(batch, 4, batch.getRowCount());
+            paimonWriteResult = lakeWriter.complete();
+        }
+
+        try (LakeCommitter<PaimonWriteResult, PaimonCommittable> lakeCommitter =
+                createLakeCommitter(tablePath)) {
+            PaimonCommittable committable =
+                    lakeCommitter.toCommitable(Collections.singletonList(paimonWriteResult));
+            assertThat(lakeCommitter.commit(committable)).isEqualTo(1);
+        }
+
+        CloseableIterator<InternalRow> actualRecords =
+                getPaimonRows(tablePath, null, isPrimaryKeyTable, bucket);
+        if (isPrimaryKeyTable) {
+            verifyPrimaryKeyTableRecord(actualRecords, expectRecords, bucket, null);
+        } else {
+            verifyLogTableRecords(actualRecords, expectRecords, bucket, false, null);
+        }
+    }
+
     @Test
     void testMultiPartitionTiering() throws Exception {
         // Test multiple partitions: region + year
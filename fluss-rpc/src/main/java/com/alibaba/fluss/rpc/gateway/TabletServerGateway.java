@@ -42,6 +42,8 @@ import com.alibaba.fluss.rpc.messages.ProduceLogRequest;
 import com.alibaba.fluss.rpc.messages.ProduceLogResponse;
 import com.alibaba.fluss.rpc.messages.PutKvRequest;
 import com.alibaba.fluss.rpc.messages.PutKvResponse;
+import com.alibaba.fluss.rpc.messages.ScanKvRequest;
+import com.alibaba.fluss.rpc.messages.ScanKvResponse;
 import com.alibaba.fluss.rpc.messages.StopReplicaRequest;
 import com.alibaba.fluss.rpc.messages.StopReplicaResponse;
 import com.alibaba.fluss.rpc.messages.UpdateMetadataRequest;
@@ -130,6 +132,16 @@ public interface TabletServerGateway extends RpcGateway, AdminReadOnlyGateway {
     @RPC(api = ApiKeys.LIMIT_SCAN)
     CompletableFuture<LimitScanResponse> limitScan(LimitScanRequest request);
 
+    /**
+     * Scan a page of the values of the specified table bucket of a primary key table, the
+     * following pages are scanned by the scanner returned in the response.
+     *
+     * @param request the kv scan request
+     * @return the kv scan response
+     */
+    @RPC(api = ApiKeys.SCAN_KV)
+    CompletableFuture<ScanKvResponse> scanKv(ScanKvRequest request);
+
     /**
      * List offsets for the specified table bucket.
      *
@@ -65,6 +65,7 @@ public class FlussProtocolPlugin implements NetworkProtocolPlugin {
             RequestChannel[] requestChannels, String listenerName) {
         return new ServerChannelInitializer(
                 requestChannels,
+                conf.get(ConfigOptions.NETTY_SERVER_REQUEST_DISPATCH_MODE),
                 apiManager,
                 listenerName,
                 listenerName.equals(conf.get(ConfigOptions.INTERNAL_LISTENER_NAME)),
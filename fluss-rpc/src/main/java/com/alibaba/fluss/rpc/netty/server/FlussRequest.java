@@ -111,6 +111,7 @@ public final class FlussRequest implements RpcRequest {
         }
     }
 
+    @Override
     public long getStartTimeMs() {
         return startTimeMs;
     }
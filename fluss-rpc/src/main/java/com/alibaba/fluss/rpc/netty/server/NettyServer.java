@@ -227,7 +227,8 @@ public final class NettyServer implements RpcServer {
         List<String> listeners =
                 endpoints.stream().map(Endpoint::getListenerName).collect(Collectors.toList());
         List<NetworkProtocolPlugin> protocolPlugins = new ArrayList<>();
-        if (conf.get(ConfigOptions.KAFKA_ENABLED)) {
+        // the Kafka requests are served by the tablet servers only
+        if (conf.get(ConfigOptions.KAFKA_ENABLED) && serverType != ServerType.COORDINATOR) {
             NetworkProtocolPlugin kafkaPlugin =
                     loadProtocolPlugin(NetworkProtocolPlugin.KAFKA_PROTOCOL_NAME);
             kafkaPlugin.setup(conf);
@@ -61,7 +61,7 @@ public final class NettyServerHandler extends ChannelInboundHandlerAdapter {
 
     private static final Logger LOG = LoggerFactory.getLogger(NettyServerHandler.class);
 
-    private final RequestChannel requestChannel;
+    private final RequestDispatcher requestDispatcher;
     private final ApiManager apiManager;
     private final boolean isInternal;
     private final String listenerName;
@@ -75,13 +75,13 @@ public final class NettyServerHandler extends ChannelInboundHandlerAdapter {
     private volatile boolean initialized = false;
 
     public NettyServerHandler(
-            RequestChannel requestChannel,
+            RequestDispatcher requestDispatcher,
             ApiManager apiManager,
             String listenerName,
             boolean isInternal,
             RequestsMetrics requestsMetrics,
             ServerAuthenticator authenticator) {
-        this.requestChannel = requestChannel;
+        this.requestDispatcher = requestDispatcher;
         this.apiManager = apiManager;
         this.listenerName = listenerName;
         this.isInternal = isInternal;
@@ -142,7 +142,7 @@ public final class NettyServerHandler extends ChannelInboundHandlerAdapter {
                 // 3. the channel is complete, but receive auth request (PLAINTEXT case)
                 handleAuthenticateRequest(apiKey, requestMessage, future);
             } else {
-                requestChannel.putRequest(request);
+                requestDispatcher.dispatch(apiKey, requestMessage).putRequest(request);
             }
 
             if (!state.isActive()) {
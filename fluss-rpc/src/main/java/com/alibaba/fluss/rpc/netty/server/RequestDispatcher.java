@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.fluss.rpc.netty.server;
+
+import com.alibaba.fluss.annotation.VisibleForTesting;
+import com.alibaba.fluss.config.ConfigOptions.RequestDispatchMode;
+import com.alibaba.fluss.rpc.messages.ApiMessage;
+import com.alibaba.fluss.rpc.messages.ProduceLogRequest;
+import com.alibaba.fluss.rpc.messages.PutKvRequest;
+import com.alibaba.fluss.rpc.protocol.ApiKeys;
+import com.alibaba.fluss.utils.MathUtils;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import static com.alibaba.fluss.utils.Preconditions.checkArgument;
+
+/**
+ * Dispatches the requests received from a connection to the {@link RequestChannel}s of the request
+ * processors according to the {@link RequestDispatchMode}.
+ *
+ * <p>In {@link RequestDispatchMode#CONNECTION} mode, all the requests of the connection are
+ * dispatched to the same request channel, which makes them processed serially in order.
+ *
+ * <p>In {@link RequestDispatchMode#PARALLEL} mode, the ordering is only kept where it is needed:
+ *
+ * <ul>
+ *   <li>The read requests (e.g. fetch log, lookup) are dispatched to the less loaded one of two
+ *       randomly picked request channels, as they don't depend on each other.
+ *   <li>The write requests (produce log and put kv) are dispatched by the hash of the connection
+ *       and the table id, so that the writes of a table bucket from the connection are still
+ *       processed in order. A write request contains the batches of a single table, so ordering per
+ *       table is the finest ordering that keeps the per bucket ordering.
+ *   <li>The other requests are dispatched to the request channel of the connection, the same as
+ *       {@link RequestDispatchMode#CONNECTION} mode.
+ * </ul>
+ */
+public final class RequestDispatcher {
+
+    private final RequestChannel[] requestChannels;
+    private final RequestDispatchMode dispatchMode;
+    private final int connectionHash;
+
+    public RequestDispatcher(
+            RequestChannel[] requestChannels,
+            RequestDispatchMode dispatchMode,
+            int connectionHash) {
+        checkArgument(requestChannels.length > 0, "There must be at least one request channel.");
+        checkArgument(connectionHash >= 0, "The connection hash must be non-negative.");
+        this.requestChannels = requestChannels;
+        this.dispatchMode = dispatchMode;
+        this.connectionHash = connectionHash;
+    }
+
+    /** Returns the {@link RequestChannel} to put the given request. */
+    public RequestChannel dispatch(short apiKey, ApiMessage requestMessage) {
+        return requestChannels[selectChannel(apiKey, requestMessage)];
+    }
+
+    @VisibleForTesting
+    int selectChannel(short apiKey, ApiMessage requestMessage) {
+        int numChannels = requestChannels.length;
+        if (dispatchMode == RequestDispatchMode.CONNECTION || numChannels == 1) {
+            return connectionChannel();
+        }
+
+        if (isReadRequest(apiKey)) {
+            // the power of two choices, which balances the load much better than a random choice
+            // without the cost of scanning all the request channels
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            int first = random.nextInt(numChannels);
+            int second = (first + 1 + random.nextInt(numChannels - 1)) % numChannels;
+            return requestChannels[first].requestsCount() <= requestChannels[second].requestsCount()
+                    ? first
+                    : second;
+        } else if (apiKey == ApiKeys.PRODUCE_LOG.id) {
+            return tableChannel(((ProduceLogRequest) requestMessage).getTableId());
+        } else if (apiKey == ApiKeys.PUT_KV.id) {
+            return tableChannel(((PutKvRequest) requestMessage).getTableId());
+        } else {
+            return connectionChannel();
+        }
+    }
+
+    private int connectionChannel() {
+        return connectionHash % requestChannels.length;
+    }
+
+    private int tableChannel(long tableId) {
+        return MathUtils.murmurHash(31 * connectionHash + Long.hashCode(tableId))
+                % requestChannels.length;
+    }
+
+    private static boolean isReadRequest(short apiKey) {
+        return apiKey == ApiKeys.FETCH_LOG.id
+                || apiKey == ApiKeys.LOOKUP.id
+                || apiKey == ApiKeys.PREFIX_LOOKUP.id
+                || apiKey == ApiKeys.LIMIT_SCAN.id
+                || apiKey == ApiKeys.LIST_OFFSETS.id
+                || apiKey == ApiKeys.GET_METADATA.id;
+    }
+}
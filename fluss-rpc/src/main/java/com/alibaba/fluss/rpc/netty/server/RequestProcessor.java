@@ -34,6 +34,7 @@ final class RequestProcessor implements Runnable {
     private final RequestChannel requestChannel;
     private final CompletableFuture<Void> shutdownComplete = new CompletableFuture<>();
     private final RequestHandler<?>[] requestHandlers;
+    private final RequestsMetrics.ProcessorMetrics processorMetrics;
 
     private volatile boolean isRunning;
 
@@ -41,11 +42,13 @@ final class RequestProcessor implements Runnable {
             int processorId,
             RequestChannel requestChannel,
             RpcGatewayService service,
-            RequestHandler<?>[] requestHandlers) {
+            RequestHandler<?>[] requestHandlers,
+            RequestsMetrics.ProcessorMetrics processorMetrics) {
         this.processorId = processorId;
         this.service = service;
         this.requestChannel = requestChannel;
         this.requestHandlers = requestHandlers;
+        this.processorMetrics = processorMetrics;
         this.isRunning = true;
     }
 
@@ -66,6 +69,7 @@ final class RequestProcessor implements Runnable {
                             processorId,
                             service.name(),
                             request);
+                    long dequeueTimeMs = System.currentTimeMillis();
                     try {
                         processRequest(request);
                     } catch (Throwable t) {
@@ -76,6 +80,7 @@ final class RequestProcessor implements Runnable {
                         // the invoking of RPC method, i.e. async execution shouldn't retain the
                         // request/ByteBuf. The request/ByteBuf is released after the RPC method.
                         request.releaseBuffer();
+                        updateMetrics(request, dequeueTimeMs);
                     }
                 }
             }
@@ -98,6 +103,18 @@ final class RequestProcessor implements Runnable {
         handler.processRequest(request);
     }
 
+    private void updateMetrics(RpcRequest request, long dequeueTimeMs) {
+        processorMetrics.getRequestsCount().inc();
+        processorMetrics
+                .getRequestQueueTimeMs()
+                .update(Math.max(0, dequeueTimeMs - request.getStartTimeMs()));
+        // the time the processor is occupied by the request, the asynchronous part of the request
+        // processing (e.g. waiting for the replication of produce) is not counted
+        processorMetrics
+                .getRequestProcessTimeMs()
+                .update(System.currentTimeMillis() - dequeueTimeMs);
+    }
+
     public void initiateShutdown() {
         try {
             requestChannel.putShutdownRequest();
@@ -55,9 +55,17 @@ final class RequestProcessorPool {
         RequestHandler<?>[] requestHandlers = initializeRequestHandlers(protocols, service);
         for (int i = 0; i < numProcessors; i++) {
             requestChannels[i] = new RequestChannel(totalQueueCapacity / numProcessors);
-            // bind processor to a single channel to make requests from the
-            // same channel processed serializable
-            processors[i] = new RequestProcessor(i, requestChannels[i], service, requestHandlers);
+            // bind processor to a single channel, the requests put into the same channel are
+            // processed serially, see RequestDispatcher for how the requests are dispatched
+            RequestChannel requestChannel = requestChannels[i];
+            processors[i] =
+                    new RequestProcessor(
+                            i,
+                            requestChannel,
+                            service,
+                            requestHandlers,
+                            requestsMetrics.createProcessorMetrics(
+                                    i, requestChannel::requestsCount));
         }
         // register requestQueueSize metrics
         requestsMetrics.gauge(MetricNames.REQUEST_QUEUE_SIZE, this::getRequestQueueSize);
@@ -18,9 +18,9 @@
 package com.alibaba.fluss.rpc.netty.server;
 
 import com.alibaba.fluss.metrics.Counter;
-import com.alibaba.fluss.metrics.DescriptiveStatisticsHistogram;
 import com.alibaba.fluss.metrics.Gauge;
 import com.alibaba.fluss.metrics.Histogram;
+import com.alibaba.fluss.metrics.LogBucketHistogram;
 import com.alibaba.fluss.metrics.MeterView;
 import com.alibaba.fluss.metrics.MetricNames;
 import com.alibaba.fluss.metrics.ThreadSafeSimpleCounter;
@@ -47,6 +47,9 @@ public class RequestsMetrics {
     // the request metric group
     private final MetricGroup requestMetricGroup;
 
+    // the server metric group, the parent of the request processor metric groups
+    private final MetricGroup serverMetricGroup;
+
     private RequestsMetrics(MetricGroup serverMetricsGroup, Collection<ApiKeys> apiKeys) {
         for (ApiKeys apiKey : apiKeys) {
             // we create a metrics group for each type of request, with the request type
@@ -60,6 +63,7 @@ public class RequestsMetrics {
             }
         }
         this.requestMetricGroup = serverMetricsGroup.addGroup("request");
+        this.serverMetricGroup = serverMetricsGroup;
     }
 
     public static RequestsMetrics createTabletServerRequestMetrics(MetricGroup serverMetricsGroup) {
@@ -85,6 +89,17 @@ public class RequestsMetrics {
         requestMetricGroup.gauge(name, gauge);
     }
 
+    /**
+     * Create the metrics of the request processor with the given id, the request queue size of the
+     * processor is reported by the given gauge.
+     */
+    ProcessorMetrics createProcessorMetrics(int processorId, Gauge<Integer> requestQueueSize) {
+        MetricGroup processorGroup =
+                serverMetricGroup.addGroup("requestProcessor", String.valueOf(processorId));
+        processorGroup.gauge(MetricNames.REQUEST_QUEUE_SIZE, requestQueueSize);
+        return new ProcessorMetrics(processorGroup);
+    }
+
     /** Add a metric group for given request name. */
     private void addMetrics(MetricGroup parentMetricGroup, String requestName) {
         metricsByRequest.put(
@@ -117,7 +132,6 @@ public class RequestsMetrics {
 
     /** A class wrapping all registered metrics for a given request type. */
     public static final class Metrics {
-        private static final int WINDOW_SIZE = 1024;
         private final Counter requestsCount;
         private final Counter errorsCount;
 
@@ -135,25 +149,23 @@ public class RequestsMetrics {
             metricGroup.meter(MetricNames.ERRORS_RATE, new MeterView(errorsCount));
 
             requestBytes =
-                    metricGroup.histogram(
-                            MetricNames.REQUEST_BYTES,
-                            new DescriptiveStatisticsHistogram(WINDOW_SIZE));
+                    metricGroup.histogram(MetricNames.REQUEST_BYTES, new LogBucketHistogram());
             requestQueueTimeMs =
                     metricGroup.histogram(
                             MetricNames.REQUEST_QUEUE_TIME_MS,
-                            new DescriptiveStatisticsHistogram(WINDOW_SIZE));
+                            new LogBucketHistogram());
             requestProcessTimeMs =
                     metricGroup.histogram(
                             MetricNames.REQUEST_PROCESS_TIME_MS,
-                            new DescriptiveStatisticsHistogram(WINDOW_SIZE));
+                            new LogBucketHistogram());
             responseSendTimeMs =
                     metricGroup.histogram(
                             MetricNames.RESPONSE_SEND_TIME_MS,
-                            new DescriptiveStatisticsHistogram(WINDOW_SIZE));
+                            new LogBucketHistogram());
             totalTimeMs =
                     metricGroup.histogram(
                             MetricNames.REQUEST_TOTAL_TIME_MS,
-                            new DescriptiveStatisticsHistogram(WINDOW_SIZE));
+                            new LogBucketHistogram());
         }
 
         public Counter getRequestsCount() {
@@ -184,4 +196,39 @@ public class RequestsMetrics {
             return totalTimeMs;
         }
     }
+
+    /**
+     * A class wrapping the metrics of a request processor, which make the hot-spotting of the
+     * request processors visible.
+     */
+    static final class ProcessorMetrics {
+        private final Counter requestsCount;
+        private final Histogram requestQueueTimeMs;
+        private final Histogram requestProcessTimeMs;
+
+        private ProcessorMetrics(MetricGroup metricGroup) {
+            requestsCount = new ThreadSafeSimpleCounter();
+            metricGroup.meter(MetricNames.REQUESTS_RATE, new MeterView(requestsCount));
+            requestQueueTimeMs =
+                    metricGroup.histogram(
+                            MetricNames.REQUEST_QUEUE_TIME_MS,
+                            new LogBucketHistogram());
+            requestProcessTimeMs =
+                    metricGroup.histogram(
+                            MetricNames.REQUEST_PROCESS_TIME_MS,
+                            new LogBucketHistogram());
+        }
+
+        Counter getRequestsCount() {
+            return requestsCount;
+        }
+
+        Histogram getRequestQueueTimeMs() {
+            return requestQueueTimeMs;
+        }
+
+        Histogram getRequestProcessTimeMs() {
+            return requestProcessTimeMs;
+        }
+    }
 }
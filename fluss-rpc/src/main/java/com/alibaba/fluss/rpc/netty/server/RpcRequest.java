@@ -25,6 +25,9 @@ public interface RpcRequest {
     /** Returns the type of the RPC request. */
     RequestType getRequestType();
 
+    /** Returns the time in milliseconds when the request is received from the network. */
+    long getStartTimeMs();
+
     /** Releases the Netty buffer associated with this request. */
     void releaseBuffer();
 }
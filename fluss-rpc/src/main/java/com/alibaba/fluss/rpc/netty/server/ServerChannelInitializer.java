@@ -17,6 +17,7 @@
 
 package com.alibaba.fluss.rpc.netty.server;
 
+import com.alibaba.fluss.config.ConfigOptions.RequestDispatchMode;
 import com.alibaba.fluss.rpc.netty.NettyChannelInitializer;
 import com.alibaba.fluss.rpc.protocol.ApiManager;
 import com.alibaba.fluss.security.auth.ServerAuthenticator;
@@ -38,6 +39,7 @@ final class ServerChannelInitializer extends NettyChannelInitializer {
     private static final Logger LOG = LoggerFactory.getLogger(ServerChannelInitializer.class);
 
     private final RequestChannel[] requestChannels;
+    private final RequestDispatchMode dispatchMode;
     private final ApiManager apiManager;
     private final String endpointListenerName;
     private final boolean isInternal;
@@ -46,6 +48,7 @@ final class ServerChannelInitializer extends NettyChannelInitializer {
 
     public ServerChannelInitializer(
             RequestChannel[] requestChannels,
+            RequestDispatchMode dispatchMode,
             ApiManager apiManager,
             String endpointListenerName,
             boolean isInternal,
@@ -54,6 +57,7 @@ final class ServerChannelInitializer extends NettyChannelInitializer {
             Supplier<ServerAuthenticator> authenticatorSupplier) {
         super(maxIdleTimeSeconds);
         this.requestChannels = requestChannels;
+        this.dispatchMode = dispatchMode;
         this.apiManager = apiManager;
         this.endpointListenerName = endpointListenerName;
         this.isInternal = isInternal;
@@ -72,14 +76,14 @@ final class ServerChannelInitializer extends NettyChannelInitializer {
                 "initial a channel for listener {} with protocol {}",
                 endpointListenerName,
                 serverAuthenticator.protocol());
-        // TODO: we can introduce a smarter and dynamic strategy to distribute requests to channels
+        RequestDispatcher requestDispatcher =
+                new RequestDispatcher(
+                        requestChannels, dispatchMode, MathUtils.murmurHash(ch.id().hashCode()));
         ch.pipeline()
                 .addLast(
                         "handler",
                         new NettyServerHandler(
-                                requestChannels[
-                                        MathUtils.murmurHash(ch.id().hashCode())
-                                                % requestChannels.length],
+                                requestDispatcher,
                                 apiManager,
                                 endpointListenerName,
                                 isInternal,
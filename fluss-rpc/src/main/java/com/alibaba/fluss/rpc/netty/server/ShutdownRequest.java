@@ -31,6 +31,11 @@ public class ShutdownRequest implements RpcRequest {
         return RequestType.SHUTDOWN;
     }
 
+    @Override
+    public long getStartTimeMs() {
+        return 0;
+    }
+
     @Override
     public void releaseBuffer() {
         // no-op
@@ -70,7 +70,8 @@ public enum ApiKeys {
     CREATE_ACLS(1039, 0, 0, PUBLIC),
     LIST_ACLS(1040, 0, 0, PUBLIC),
     DROP_ACLS(1041, 0, 0, PUBLIC),
-    LAKE_TIERING_HEARTBEAT(1042, 0, 0, PRIVATE);
+    LAKE_TIERING_HEARTBEAT(1042, 0, 0, PRIVATE),
+    SCAN_KV(1043, 0, 0, PUBLIC);
 
     private static final Map<Integer, ApiKeys> ID_TO_TYPE =
             Arrays.stream(ApiKeys.values())
@@ -28,10 +28,12 @@ import com.alibaba.fluss.exception.DatabaseNotExistException;
 import com.alibaba.fluss.exception.DuplicateSequenceException;
 import com.alibaba.fluss.exception.FencedLeaderEpochException;
 import com.alibaba.fluss.exception.FencedTieringEpochException;
+import com.alibaba.fluss.exception.FetchSessionIdNotFoundException;
 import com.alibaba.fluss.exception.InvalidColumnProjectionException;
 import com.alibaba.fluss.exception.InvalidConfigException;
 import com.alibaba.fluss.exception.InvalidCoordinatorException;
 import com.alibaba.fluss.exception.InvalidDatabaseException;
+import com.alibaba.fluss.exception.InvalidFetchSessionEpochException;
 import com.alibaba.fluss.exception.InvalidPartitionException;
 import com.alibaba.fluss.exception.InvalidReplicationFactorException;
 import com.alibaba.fluss.exception.InvalidRequiredAcksException;
@@ -40,6 +42,7 @@ import com.alibaba.fluss.exception.InvalidTableException;
 import com.alibaba.fluss.exception.InvalidTargetColumnException;
 import com.alibaba.fluss.exception.InvalidTimestampException;
 import com.alibaba.fluss.exception.InvalidUpdateVersionException;
+import com.alibaba.fluss.exception.KvScannerNotFoundException;
 import com.alibaba.fluss.exception.KvSnapshotNotExistException;
 import com.alibaba.fluss.exception.KvStorageException;
 import com.alibaba.fluss.exception.LakeStorageNotConfiguredException;
@@ -67,6 +70,7 @@ import com.alibaba.fluss.exception.TableNotExistException;
 import com.alibaba.fluss.exception.TableNotPartitionedException;
 import com.alibaba.fluss.exception.TimeoutException;
 import com.alibaba.fluss.exception.TooManyBucketsException;
+import com.alibaba.fluss.exception.TooManyKvScannersException;
 import com.alibaba.fluss.exception.TooManyPartitionsException;
 import com.alibaba.fluss.exception.UnknownServerException;
 import com.alibaba.fluss.exception.UnknownTableOrBucketException;
@@ -214,7 +218,14 @@ public enum Errors {
     INVALID_SERVER_RACK_INFO_EXCEPTION(
             52, "The server rack info is invalid.", InvalidServerRackInfoException::new),
     LAKE_SNAPSHOT_NOT_EXIST(
-            53, "The lake snapshot is not exist.", LakeTableSnapshotNotExistException::new);
+            53, "The lake snapshot is not exist.", LakeTableSnapshotNotExistException::new),
+    FETCH_SESSION_ID_NOT_FOUND(
+            54, "The fetch session id is not found.", FetchSessionIdNotFoundException::new),
+    INVALID_FETCH_SESSION_EPOCH(
+            55, "The fetch session epoch is invalid.", InvalidFetchSessionEpochException::new),
+    KV_SCANNER_NOT_FOUND(56, "The kv scanner is not found.", KvScannerNotFoundException::new),
+    TOO_MANY_KV_SCANNERS(
+            57, "The server has too many open kv scanners.", TooManyKvScannersException::new);
 
     private static final Logger LOG = LoggerFactory.getLogger(Errors.class);
 
@@ -0,0 +1,204 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.fluss.rpc.util;
+
+import com.alibaba.fluss.annotation.Internal;
+import com.alibaba.fluss.metadata.TableBucket;
+import com.alibaba.fluss.rpc.messages.FetchLogRequest;
+import com.alibaba.fluss.rpc.messages.FetchLogResponse;
+import com.alibaba.fluss.rpc.messages.PbTableBucket;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/* This file is based on source code of Apache Kafka Project (https://kafka.apache.org/), licensed by the Apache
+ * Software Foundation (ASF) under the Apache License, Version 2.0. See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership. */
+
+/**
+ * The handler of the fetch session between a fetcher (a log scanner or a follower) and a tablet
+ * server. The server caches the fetched buckets and their fetch offsets of the session, so the
+ * incremental fetch log requests of the session only contain the buckets which are added or whose
+ * fetch offsets are changed since the last request, and the buckets which are removed from the
+ * session. The server omits the buckets without any change in the responses of the session.
+ *
+ * <p>The fetch log requests to a server are built by {@link #newBuilder()}, and the result of the
+ * in-flight request must be passed to {@link #handleResponse(FetchLogRequest, FetchLogResponse)} or
+ * {@link #handleError(FetchLogRequest)}. There is at most one in-flight request of a session,
+ * building a new request abandons the in-flight request (e.g., which is timed out) and makes the
+ * new request a full request.
+ */
+@Internal
+@ThreadSafe
+public final class FetchSessionHandler {
+
+    /** The session id indicates there is no fetch session. */
+    public static final int INVALID_SESSION_ID = 0;
+
+    /** The session epoch of the full fetch request which creates a new fetch session. */
+    public static final int INITIAL_EPOCH = 0;
+
+    @GuardedBy("this")
+    private int sessionId = INVALID_SESSION_ID;
+
+    @GuardedBy("this")
+    private int nextEpoch = INITIAL_EPOCH;
+
+    /** The fetch offsets of the buckets in the session, as cached by the server. */
+    @GuardedBy("this")
+    private Map<TableBucket, Long> sessionBuckets = new HashMap<>();
+
+    /** The in-flight request, null if there is no in-flight request. */
+    @GuardedBy("this")
+    @Nullable
+    private FetchLogRequest pendingRequest;
+
+    /** The fetch offsets of the buckets in the in-flight request. */
+    @GuardedBy("this")
+    @Nullable
+    private Map<TableBucket, Long> pendingBuckets;
+
+    /** Starts building the next fetch log request of the session. */
+    public synchronized Builder newBuilder() {
+        if (pendingRequest != null) {
+            // the in-flight request is abandoned, the server may or may not apply it
+            clearPending();
+            resetSession(sessionId);
+        }
+        return new Builder();
+    }
+
+    /**
+     * Handles the successful response of the in-flight request. The session is established if the
+     * response carries a session id, otherwise the next request is a full request again.
+     */
+    public synchronized void handleResponse(FetchLogRequest request, FetchLogResponse response) {
+        if (request != pendingRequest) {
+            return;
+        }
+        Map<TableBucket, Long> requestBuckets = pendingBuckets;
+        clearPending();
+
+        if (response.hasSessionId() && response.getSessionId() != INVALID_SESSION_ID) {
+            sessionId = response.getSessionId();
+            nextEpoch = nextEpoch(nextEpoch);
+            sessionBuckets = requestBuckets;
+        } else {
+            // the server doesn't create a session (e.g., the session cache is full or disabled)
+            resetSession(INVALID_SESSION_ID);
+        }
+    }
+
+    /**
+     * Handles the failure of the in-flight request. The server may or may not apply the request to
+     * the session, so the next request is a full request which replaces the current session.
+     */
+    public synchronized void handleError(FetchLogRequest request) {
+        if (request != pendingRequest) {
+            return;
+        }
+        clearPending();
+        resetSession(sessionId);
+    }
+
+    /** Returns the id of the current fetch session, or {@link #INVALID_SESSION_ID} if absent. */
+    public synchronized int sessionId() {
+        return sessionId;
+    }
+
+    @GuardedBy("this")
+    private void clearPending() {
+        pendingRequest = null;
+        pendingBuckets = null;
+    }
+
+    @GuardedBy("this")
+    private void resetSession(int sessionIdToClose) {
+        sessionId = sessionIdToClose;
+        nextEpoch = INITIAL_EPOCH;
+        sessionBuckets = new HashMap<>();
+    }
+
+    private static int nextEpoch(int epoch) {
+        // the epoch wraps around to 1 as 0 is reserved for the initial epoch
+        return epoch == Integer.MAX_VALUE ? 1 : epoch + 1;
+    }
+
+    /** The builder of a fetch log request of the session. */
+    public final class Builder {
+        private final Map<TableBucket, Long> requestBuckets = new HashMap<>();
+
+        private Builder() {}
+
+        /**
+         * Adds a bucket to fetch in the request.
+         *
+         * @return true if the bucket needs to be sent in the request, false if the bucket is
+         *     already cached by the server with the same fetch offset.
+         */
+        public boolean add(TableBucket tableBucket, long fetchOffset) {
+            requestBuckets.put(tableBucket, fetchOffset);
+            synchronized (FetchSessionHandler.this) {
+                if (nextEpoch == INITIAL_EPOCH) {
+                    return true;
+                }
+                Long sessionOffset = sessionBuckets.get(tableBucket);
+                return sessionOffset == null || sessionOffset != fetchOffset;
+            }
+        }
+
+        /**
+         * Sets the session id, session epoch and the buckets removed from the session to the
+         * request which contains the buckets required by {@link #add(TableBucket, long)}. The
+         * request becomes the in-flight request of the session.
+         */
+        public FetchLogRequest build(FetchLogRequest request) {
+            synchronized (FetchSessionHandler.this) {
+                return buildLocked(request);
+            }
+        }
+
+        @GuardedBy("FetchSessionHandler.this")
+        private FetchLogRequest buildLocked(FetchLogRequest request) {
+            if (sessionId != INVALID_SESSION_ID) {
+                request.setSessionId(sessionId);
+            }
+            request.setSessionEpoch(nextEpoch);
+            if (nextEpoch != INITIAL_EPOCH) {
+                for (TableBucket tableBucket : sessionBuckets.keySet()) {
+                    if (!requestBuckets.containsKey(tableBucket)) {
+                        PbTableBucket forgotten =
+                                request.addForgottenBucket()
+                                        .setTableId(tableBucket.getTableId())
+                                        .setBucketId(tableBucket.getBucket());
+                        if (tableBucket.getPartitionId() != null) {
+                            forgotten.setPartitionId(tableBucket.getPartitionId());
+                        }
+                    }
+                }
+            }
+            pendingRequest = request;
+            pendingBuckets = requestBuckets;
+            return request;
+        }
+    }
+}
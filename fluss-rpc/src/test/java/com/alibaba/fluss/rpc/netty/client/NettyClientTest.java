@@ -138,6 +138,29 @@ final class NettyClientTest {
         assertThat(deduplicatedThreadNames).hasSize(1);
     }
 
+    @Test
+    void testRequestsProcessedInOrderInParallelDispatchMode() throws Exception {
+        nettyServer.close();
+        conf.set(
+                ConfigOptions.NETTY_SERVER_REQUEST_DISPATCH_MODE,
+                ConfigOptions.RequestDispatchMode.PARALLEL);
+        buildNettyServer(1);
+
+        int numRequests = 100;
+        List<CompletableFuture<ApiMessage>> futures = new ArrayList<>();
+        for (int i = 0; i < numRequests; i++) {
+            ApiVersionsRequest request =
+                    new ApiVersionsRequest()
+                            .setClientSoftwareName("testing_client" + i)
+                            .setClientSoftwareVersion("1.0");
+            futures.add(nettyClient.sendRequest(serverNode, ApiKeys.API_VERSIONS, request));
+        }
+        FutureUtils.waitForAll(futures).get();
+        assertThat(service.getProcessorThreadNames()).hasSize(numRequests + 1);
+        // the requests other than reads and writes are still processed in order by one thread
+        assertThat(new HashSet<>(service.getProcessorThreadNames())).hasSize(1);
+    }
+
     @Test
     void testServerDisconnection() throws Exception {
         ApiVersionsRequest request =
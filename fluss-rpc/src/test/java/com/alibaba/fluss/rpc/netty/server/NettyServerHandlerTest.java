@@ -18,6 +18,7 @@
 package com.alibaba.fluss.rpc.netty.server;
 
 import com.alibaba.fluss.cluster.ServerType;
+import com.alibaba.fluss.config.ConfigOptions.RequestDispatchMode;
 import com.alibaba.fluss.metrics.groups.MetricGroup;
 import com.alibaba.fluss.metrics.util.NOPMetricsGroup;
 import com.alibaba.fluss.rpc.messages.ApiVersionsRequest;
@@ -67,7 +68,10 @@ final class NettyServerHandlerTest {
         MetricGroup metricGroup = NOPMetricsGroup.newInstance();
         this.serverHandler =
                 new NettyServerHandler(
-                        requestChannel,
+                        new RequestDispatcher(
+                                new RequestChannel[] {requestChannel},
+                                RequestDispatchMode.CONNECTION,
+                                0),
                         new ApiManager(ServerType.TABLET_SERVER),
                         "FLUSS",
                         true,
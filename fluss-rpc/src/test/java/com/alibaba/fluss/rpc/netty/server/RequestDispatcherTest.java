@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.fluss.rpc.netty.server;
+
+import com.alibaba.fluss.config.ConfigOptions.RequestDispatchMode;
+import com.alibaba.fluss.rpc.messages.FetchLogRequest;
+import com.alibaba.fluss.rpc.messages.LookupRequest;
+import com.alibaba.fluss.rpc.messages.NotifyLeaderAndIsrRequest;
+import com.alibaba.fluss.rpc.messages.ProduceLogRequest;
+import com.alibaba.fluss.rpc.messages.PutKvRequest;
+import com.alibaba.fluss.rpc.protocol.ApiKeys;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Test for {@link RequestDispatcher}. */
+class RequestDispatcherTest {
+
+    private static final int NUM_CHANNELS = 8;
+
+    @Test
+    void testConnectionMode() {
+        RequestDispatcher dispatcher = createDispatcher(RequestDispatchMode.CONNECTION, 13);
+        int expected = 13 % NUM_CHANNELS;
+        for (int i = 0; i < 100; i++) {
+            assertThat(dispatcher.selectChannel(ApiKeys.FETCH_LOG.id, new FetchLogRequest()))
+                    .isEqualTo(expected);
+            assertThat(dispatcher.selectChannel(ApiKeys.PRODUCE_LOG.id, produceLog(i)))
+                    .isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void testParallelModeSpreadsReads() {
+        RequestDispatcher dispatcher = createDispatcher(RequestDispatchMode.PARALLEL, 13);
+        Set<Integer> channels = new HashSet<>();
+        for (int i = 0; i < 1000; i++) {
+            channels.add(dispatcher.selectChannel(ApiKeys.FETCH_LOG.id, new FetchLogRequest()));
+            channels.add(dispatcher.selectChannel(ApiKeys.LOOKUP.id, new LookupRequest()));
+        }
+        assertThat(channels).hasSize(NUM_CHANNELS);
+    }
+
+    @Test
+    void testParallelModePrefersLessLoadedChannel() throws Exception {
+        RequestChannel[] requestChannels = new RequestChannel[2];
+        requestChannels[0] = new RequestChannel(100);
+        requestChannels[1] = new RequestChannel(100);
+        requestChannels[0].putShutdownRequest();
+        RequestDispatcher dispatcher =
+                new RequestDispatcher(requestChannels, RequestDispatchMode.PARALLEL, 0);
+        for (int i = 0; i < 100; i++) {
+            assertThat(dispatcher.selectChannel(ApiKeys.LOOKUP.id, new LookupRequest()))
+                    .isEqualTo(1);
+        }
+        // the writes and the other requests are not affected by the load
+        assertThat(dispatcher.selectChannel(ApiKeys.NOTIFY_LEADER_AND_ISR.id, null)).isEqualTo(0);
+    }
+
+    @Test
+    void testParallelModeOrdersWritesPerTable() {
+        RequestDispatcher dispatcher = createDispatcher(RequestDispatchMode.PARALLEL, 13);
+        Set<Integer> channels = new HashSet<>();
+        for (long tableId = 0; tableId < 100; tableId++) {
+            int channel = dispatcher.selectChannel(ApiKeys.PRODUCE_LOG.id, produceLog(tableId));
+            // the writes of the same table are always dispatched to the same channel
+            for (int i = 0; i < 10; i++) {
+                assertThat(dispatcher.selectChannel(ApiKeys.PRODUCE_LOG.id, produceLog(tableId)))
+                        .isEqualTo(channel);
+            }
+            assertThat(dispatcher.selectChannel(ApiKeys.PUT_KV.id, putKv(tableId)))
+                    .isEqualTo(channel);
+            channels.add(channel);
+        }
+        // the writes of different tables are spread across the channels
+        assertThat(channels.size()).isGreaterThan(1);
+
+        // the other requests are ordered per connection
+        for (int i = 0; i < 10; i++) {
+            assertThat(
+                            dispatcher.selectChannel(
+                                    ApiKeys.NOTIFY_LEADER_AND_ISR.id,
+                                    new NotifyLeaderAndIsrRequest()))
+                    .isEqualTo(13 % NUM_CHANNELS);
+        }
+    }
+
+    private static RequestDispatcher createDispatcher(RequestDispatchMode mode, int hash) {
+        RequestChannel[] requestChannels = new RequestChannel[NUM_CHANNELS];
+        for (int i = 0; i < NUM_CHANNELS; i++) {
+            requestChannels[i] = new RequestChannel(100);
+        }
+        return new RequestDispatcher(requestChannels, mode, hash);
+    }
+
+    private static ProduceLogRequest produceLog(long tableId) {
+        return new ProduceLogRequest().setTableId(tableId).setAcks(-1).setTimeoutMs(1000);
+    }
+
+    private static PutKvRequest putKv(long tableId) {
+        return new PutKvRequest().setTableId(tableId).setAcks(-1).setTimeoutMs(1000);
+    }
+}
@@ -18,6 +18,7 @@
 package com.alibaba.fluss.rpc.protocol;
 
 import com.alibaba.fluss.cluster.ServerType;
+import com.alibaba.fluss.config.ConfigOptions.RequestDispatchMode;
 import com.alibaba.fluss.metrics.groups.MetricGroup;
 import com.alibaba.fluss.metrics.util.NOPMetricsGroup;
 import com.alibaba.fluss.record.send.Send;
@@ -30,6 +31,7 @@ import com.alibaba.fluss.rpc.netty.client.NettyClientHandler;
 import com.alibaba.fluss.rpc.netty.server.FlussRequest;
 import com.alibaba.fluss.rpc.netty.server.NettyServerHandler;
 import com.alibaba.fluss.rpc.netty.server.RequestChannel;
+import com.alibaba.fluss.rpc.netty.server.RequestDispatcher;
 import com.alibaba.fluss.rpc.netty.server.RequestsMetrics;
 import com.alibaba.fluss.security.auth.PlainTextAuthenticationPlugin;
 import com.alibaba.fluss.shaded.netty4.io.netty.buffer.ByteBuf;
@@ -67,7 +69,10 @@ class MessageCodecTest {
         MetricGroup metricGroup = NOPMetricsGroup.newInstance();
         this.serverHandler =
                 new NettyServerHandler(
-                        requestChannel,
+                        new RequestDispatcher(
+                                new RequestChannel[] {requestChannel},
+                                RequestDispatchMode.CONNECTION,
+                                0),
                         new ApiManager(ServerType.TABLET_SERVER),
                         "FLUSS",
                         true,
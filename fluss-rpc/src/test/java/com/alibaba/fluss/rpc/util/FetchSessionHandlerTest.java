@@ -0,0 +1,152 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.fluss.rpc.util;
+
+import com.alibaba.fluss.metadata.TableBucket;
+import com.alibaba.fluss.rpc.messages.FetchLogRequest;
+import com.alibaba.fluss.rpc.messages.FetchLogResponse;
+import com.alibaba.fluss.rpc.messages.PbTableBucket;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static com.alibaba.fluss.rpc.util.FetchSessionHandler.INITIAL_EPOCH;
+import static com.alibaba.fluss.rpc.util.FetchSessionHandler.INVALID_SESSION_ID;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Tests for {@link FetchSessionHandler}. */
+class FetchSessionHandlerTest {
+
+    private static final TableBucket TB0 = new TableBucket(1L, 0);
+    private static final TableBucket TB1 = new TableBucket(1L, 1);
+    private static final TableBucket TB2 = new TableBucket(1L, 10L, 2);
+
+    @Test
+    void testIncrementalRequests() {
+        FetchSessionHandler handler = new FetchSessionHandler();
+
+        // the first request is a full request
+        FetchSessionHandler.Builder builder = handler.newBuilder();
+        assertThat(builder.add(TB0, 0L)).isTrue();
+        assertThat(builder.add(TB1, 0L)).isTrue();
+        FetchLogRequest request = builder.build(new FetchLogRequest());
+        assertThat(request.hasSessionId()).isFalse();
+        assertThat(request.getSessionEpoch()).isEqualTo(INITIAL_EPOCH);
+        handler.handleResponse(request, new FetchLogResponse().setSessionId(100));
+        assertThat(handler.sessionId()).isEqualTo(100);
+
+        // only the changed and added buckets are sent, the removed buckets are forgotten
+        builder = handler.newBuilder();
+        assertThat(builder.add(TB0, 0L)).isFalse();
+        assertThat(builder.add(TB2, 5L)).isTrue();
+        request = builder.build(new FetchLogRequest());
+        assertThat(request.getSessionId()).isEqualTo(100);
+        assertThat(request.getSessionEpoch()).isEqualTo(1);
+        assertThat(forgottenBuckets(request)).containsExactly(TB1);
+        handler.handleResponse(request, new FetchLogResponse().setSessionId(100));
+
+        builder = handler.newBuilder();
+        assertThat(builder.add(TB0, 10L)).isTrue();
+        assertThat(builder.add(TB2, 5L)).isFalse();
+        request = builder.build(new FetchLogRequest());
+        assertThat(request.getSessionEpoch()).isEqualTo(2);
+        assertThat(request.getForgottenBucketsCount()).isEqualTo(0);
+    }
+
+    @Test
+    void testNoSessionCreated() {
+        FetchSessionHandler handler = new FetchSessionHandler();
+        FetchSessionHandler.Builder builder = handler.newBuilder();
+        builder.add(TB0, 0L);
+        FetchLogRequest request = builder.build(new FetchLogRequest());
+        // the server doesn't support or create the fetch session
+        handler.handleResponse(request, new FetchLogResponse());
+        assertThat(handler.sessionId()).isEqualTo(INVALID_SESSION_ID);
+
+        builder = handler.newBuilder();
+        assertThat(builder.add(TB0, 0L)).isTrue();
+        request = builder.build(new FetchLogRequest());
+        assertThat(request.hasSessionId()).isFalse();
+        assertThat(request.getSessionEpoch()).isEqualTo(INITIAL_EPOCH);
+    }
+
+    @Test
+    void testResetSessionOnError() {
+        FetchSessionHandler handler = new FetchSessionHandler();
+        FetchSessionHandler.Builder builder = handler.newBuilder();
+        builder.add(TB0, 0L);
+        FetchLogRequest request = builder.build(new FetchLogRequest());
+        handler.handleResponse(request, new FetchLogResponse().setSessionId(100));
+
+        builder = handler.newBuilder();
+        builder.add(TB0, 0L);
+        request = builder.build(new FetchLogRequest());
+        handler.handleError(request);
+
+        // a full request to replace the session
+        builder = handler.newBuilder();
+        assertThat(builder.add(TB0, 0L)).isTrue();
+        FetchLogRequest fullRequest = builder.build(new FetchLogRequest());
+        assertThat(fullRequest.getSessionId()).isEqualTo(100);
+        assertThat(fullRequest.getSessionEpoch()).isEqualTo(INITIAL_EPOCH);
+        assertThat(fullRequest.getForgottenBucketsCount()).isEqualTo(0);
+
+        // the response of a stale request is ignored
+        handler.handleResponse(request, new FetchLogResponse().setSessionId(200));
+        handler.handleResponse(fullRequest, new FetchLogResponse().setSessionId(300));
+        assertThat(handler.sessionId()).isEqualTo(300);
+    }
+
+    @Test
+    void testAbandonInFlightRequest() {
+        FetchSessionHandler handler = new FetchSessionHandler();
+        FetchSessionHandler.Builder builder = handler.newBuilder();
+        builder.add(TB0, 0L);
+        FetchLogRequest request = builder.build(new FetchLogRequest());
+        handler.handleResponse(request, new FetchLogResponse().setSessionId(100));
+
+        builder = handler.newBuilder();
+        builder.add(TB0, 0L);
+        FetchLogRequest timedOutRequest = builder.build(new FetchLogRequest());
+        assertThat(timedOutRequest.getSessionEpoch()).isEqualTo(1);
+
+        // the in-flight request is abandoned, so the next request is a full request
+        builder = handler.newBuilder();
+        assertThat(builder.add(TB0, 0L)).isTrue();
+        request = builder.build(new FetchLogRequest());
+        assertThat(request.getSessionEpoch()).isEqualTo(INITIAL_EPOCH);
+        handler.handleError(timedOutRequest);
+        handler.handleResponse(request, new FetchLogResponse().setSessionId(200));
+        assertThat(handler.sessionId()).isEqualTo(200);
+    }
+
+    private static List<TableBucket> forgottenBuckets(FetchLogRequest request) {
+        return request.getForgottenBucketsList().stream()
+                .map(FetchSessionHandlerTest::toTableBucket)
+                .collect(Collectors.toList());
+    }
+
+    private static TableBucket toTableBucket(PbTableBucket pbTableBucket) {
+        return new TableBucket(
+                pbTableBucket.getTableId(),
+                pbTableBucket.hasPartitionId() ? pbTableBucket.getPartitionId() : null,
+                pbTableBucket.getBucketId());
+    }
+}
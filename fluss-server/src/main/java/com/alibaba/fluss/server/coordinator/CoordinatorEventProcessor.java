@@ -35,7 +35,6 @@ import com.alibaba.fluss.metadata.TableInfo;
 import com.alibaba.fluss.metadata.TablePartition;
 import com.alibaba.fluss.metadata.TablePath;
 import com.alibaba.fluss.metrics.MetricNames;
-import com.alibaba.fluss.rpc.messages.AdjustIsrResponse;
 import com.alibaba.fluss.rpc.messages.CommitKvSnapshotResponse;
 import com.alibaba.fluss.rpc.messages.CommitLakeTableSnapshotResponse;
 import com.alibaba.fluss.rpc.messages.CommitRemoteLogManifestResponse;
@@ -93,7 +92,9 @@ import javax.annotation.concurrent.NotThreadSafe;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -157,7 +158,11 @@ public class CoordinatorEventProcessor implements EventProcessor {
         this.serverMetadataCache = serverMetadataCache;
         this.coordinatorChannelManager = coordinatorChannelManager;
         this.coordinatorContext = coordinatorContext;
-        this.coordinatorEventManager = new CoordinatorEventManager(this, coordinatorMetricGroup);
+        this.coordinatorEventManager =
+                new CoordinatorEventManager(
+                        this,
+                        coordinatorMetricGroup,
+                        conf.getInt(ConfigOptions.COORDINATOR_EVENT_MAX_BATCH_SIZE));
         this.replicaStateMachine =
                 new ReplicaStateMachine(
                         coordinatorContext,
@@ -464,17 +469,10 @@ public class CoordinatorEventProcessor implements EventProcessor {
             } else if (event instanceof NewTabletServerEvent) {
                 processNewTabletServer((NewTabletServerEvent) event);
             } else if (event instanceof DeadTabletServerEvent) {
-                processDeadTabletServer((DeadTabletServerEvent) event);
+                processDeadTabletServers(
+                        Collections.singleton(((DeadTabletServerEvent) event).getServerId()));
             } else if (event instanceof AdjustIsrReceivedEvent) {
-                AdjustIsrReceivedEvent adjustIsrReceivedEvent = (AdjustIsrReceivedEvent) event;
-                CompletableFuture<AdjustIsrResponse> callback =
-                        adjustIsrReceivedEvent.getRespCallback();
-                completeFromCallable(
-                        callback,
-                        () ->
-                                makeAdjustIsrResponse(
-                                        tryProcessAdjustIsr(
-                                                adjustIsrReceivedEvent.getLeaderAndIsrMap())));
+                processAdjustIsr(Collections.singletonList((AdjustIsrReceivedEvent) event));
             } else if (event instanceof CommitKvSnapshotEvent) {
                 CommitKvSnapshotEvent commitKvSnapshotEvent = (CommitKvSnapshotEvent) event;
                 CompletableFuture<CommitKvSnapshotResponse> callback =
@@ -504,6 +502,42 @@ public class CoordinatorEventProcessor implements EventProcessor {
         }
     }
 
+    /**
+     * Processes the consecutive events of the same type together. The failures of tablet servers
+     * are merged to move the buckets and replicas on them to offline and elect new leaders at once,
+     * and the adjust isr requests are merged to update the leader and isr of the buckets in
+     * ZooKeeper by batches. The other events are processed one by one.
+     */
+    @Override
+    public void process(List<CoordinatorEvent> events) {
+        CoordinatorEvent firstEvent = events.get(0);
+        if (firstEvent instanceof DeadTabletServerEvent) {
+            try {
+                Set<Integer> tabletServerIds = new LinkedHashSet<>();
+                for (CoordinatorEvent event : events) {
+                    tabletServerIds.add(((DeadTabletServerEvent) event).getServerId());
+                }
+                processDeadTabletServers(tabletServerIds);
+            } finally {
+                updateMetrics();
+            }
+        } else if (firstEvent instanceof AdjustIsrReceivedEvent) {
+            try {
+                processAdjustIsrInBatches(events);
+            } finally {
+                updateMetrics();
+            }
+        } else {
+            for (CoordinatorEvent event : events) {
+                try {
+                    process(event);
+                } catch (Throwable t) {
+                    LOG.error("Uncaught error processing event {}.", event, t);
+                }
+            }
+        }
+    }
+
     private void updateMetrics() {
         tabletServerCount = coordinatorContext.getLiveTabletServers().size();
         tableCount = coordinatorContext.allTables().size();
@@ -826,20 +860,29 @@ public class CoordinatorEventProcessor implements EventProcessor {
         tableBucketStateMachine.triggerOnlineBucketStateChange();
     }
 
-    private void processDeadTabletServer(DeadTabletServerEvent deadTabletServerEvent) {
-        int tabletServerId = deadTabletServerEvent.getServerId();
-        if (!coordinatorContext.getLiveTabletServers().containsKey(tabletServerId)) {
-            // if the dead server is already not in live servers, return directly
+    private void processDeadTabletServers(Set<Integer> deadTabletServerIds) {
+        Set<Integer> tabletServerIds = new LinkedHashSet<>();
+        for (int tabletServerId : deadTabletServerIds) {
+            // if the dead server is already not in live servers, skip it
             // it may happen during coordinator server initiation, the watcher watch a new tablet
             // server unregister event, but the coordinator server also don't read it from zk and
             // haven't init to coordinator context
+            if (coordinatorContext.getLiveTabletServers().containsKey(tabletServerId)) {
+                tabletServerIds.add(tabletServerId);
+            }
+        }
+        if (tabletServerIds.isEmpty()) {
             return;
         }
-        // process dead tablet server
-        LOG.info("Tablet server failure callback for {}.", tabletServerId);
-        coordinatorContext.removeOfflineBucketInServer(tabletServerId);
-        coordinatorContext.removeLiveTabletServer(tabletServerId);
-        coordinatorChannelManager.removeTabletServer(tabletServerId);
+        // process dead tablet servers, the state changes of all the dead tablet servers are
+        // handled together, so that the leaders won't be elected to another dead tablet server
+        // and the requests are sent once to each live tablet server
+        LOG.info("Tablet server failure callback for {}.", tabletServerIds);
+        for (int tabletServerId : tabletServerIds) {
+            coordinatorContext.removeOfflineBucketInServer(tabletServerId);
+            coordinatorContext.removeLiveTabletServer(tabletServerId);
+            coordinatorChannelManager.removeTabletServer(tabletServerId);
+        }
 
         // Here, we will first update alive tabletServer info for all tabletServers and
         // coordinatorServer metadata. The purpose of this approach is to prevent the scenario where
@@ -853,23 +896,25 @@ public class CoordinatorEventProcessor implements EventProcessor {
         updateTabletServerMetadataCache(serverInfos, null, null, Collections.emptySet());
 
         TableBucketStateMachine tableBucketStateMachine = tableManager.getTableBucketStateMachine();
-        // get all table bucket whose leader is in this server and it not to be deleted
+        // get all table bucket whose leader is in these servers and it not to be deleted
         Set<TableBucket> bucketsWithOfflineLeader =
-                coordinatorContext.getBucketsWithLeaderIn(tabletServerId).stream()
+                tabletServerIds.stream()
+                        .flatMap(id -> coordinatorContext.getBucketsWithLeaderIn(id).stream())
                         .filter(
                                 // don't consider buckets to be deleted
                                 tableBucket -> !coordinatorContext.isToBeDeleted(tableBucket))
                         .collect(Collectors.toSet());
         // trigger offline state for all the table buckets whose current leader
-        // is the failed tablet server
+        // is one of the failed tablet servers
         tableBucketStateMachine.handleStateChange(bucketsWithOfflineLeader, OfflineBucket);
 
         // trigger online state changes for offline or new buckets
         tableBucketStateMachine.triggerOnlineBucketStateChange();
 
-        // get all replicas in this server and is not to be deleted
+        // get all replicas in these servers and is not to be deleted
         Set<TableBucketReplica> replicas =
-                coordinatorContext.replicasOnTabletServer(tabletServerId).stream()
+                tabletServerIds.stream()
+                        .flatMap(id -> coordinatorContext.replicasOnTabletServer(id).stream())
                         .filter(
                                 // don't consider replicas to be deleted
                                 tableBucketReplica ->
@@ -884,59 +929,149 @@ public class CoordinatorEventProcessor implements EventProcessor {
         updateTabletServerMetadataCache(serverInfos, null, null, bucketsWithOfflineLeader);
     }
 
-    private List<AdjustIsrResultForBucket> tryProcessAdjustIsr(
-            Map<TableBucket, LeaderAndIsr> leaderAndIsrList) {
-        // TODO verify leader epoch.
+    private void processAdjustIsrInBatches(List<CoordinatorEvent> events) {
+        // the adjust isr request of a bucket must be validated against the leader and isr updated
+        // by the previous request of it, so a batch is cut off before the event requesting a
+        // bucket already in the batch
+        List<AdjustIsrReceivedEvent> batch = new ArrayList<>();
+        Set<TableBucket> bucketsInBatch = new HashSet<>();
+        for (CoordinatorEvent event : events) {
+            AdjustIsrReceivedEvent adjustIsrReceivedEvent = (AdjustIsrReceivedEvent) event;
+            Set<TableBucket> buckets = adjustIsrReceivedEvent.getLeaderAndIsrMap().keySet();
+            if (!Collections.disjoint(bucketsInBatch, buckets)) {
+                processAdjustIsr(batch);
+                batch = new ArrayList<>();
+                bucketsInBatch.clear();
+            }
+            batch.add(adjustIsrReceivedEvent);
+            bucketsInBatch.addAll(buckets);
+        }
+        processAdjustIsr(batch);
+    }
 
-        List<AdjustIsrResultForBucket> result = new ArrayList<>();
-        for (Map.Entry<TableBucket, LeaderAndIsr> entry : leaderAndIsrList.entrySet()) {
-            TableBucket tableBucket = entry.getKey();
-            LeaderAndIsr tryAdjustLeaderAndIsr = entry.getValue();
+    /**
+     * Adjusts the isr of the buckets requested by the events, which don't request the same bucket.
+     * The new leader and isr of all the buckets are updated in ZooKeeper by batches before
+     * responding to the events.
+     */
+    private void processAdjustIsr(List<AdjustIsrReceivedEvent> events) {
+        // TODO verify leader epoch.
 
+        List<List<AdjustIsrResultForBucket>> results = new ArrayList<>(events.size());
+        Map<TableBucket, LeaderAndIsr> newLeaderAndIsrList = new HashMap<>();
+        for (AdjustIsrReceivedEvent event : events) {
+            List<AdjustIsrResultForBucket> result = new ArrayList<>();
             try {
-                validateLeaderAndIsr(tableBucket, tryAdjustLeaderAndIsr);
-            } catch (Exception e) {
-                result.add(new AdjustIsrResultForBucket(tableBucket, ApiError.fromThrowable(e)));
+                for (Map.Entry<TableBucket, LeaderAndIsr> entry :
+                        event.getLeaderAndIsrMap().entrySet()) {
+                    TableBucket tableBucket = entry.getKey();
+                    LeaderAndIsr tryAdjustLeaderAndIsr = entry.getValue();
+
+                    try {
+                        validateLeaderAndIsr(tableBucket, tryAdjustLeaderAndIsr);
+                    } catch (Exception e) {
+                        result.add(
+                                new AdjustIsrResultForBucket(
+                                        tableBucket, ApiError.fromThrowable(e)));
+                        continue;
+                    }
+
+                    LeaderAndIsr newLeaderAndIsr =
+                            makeAdjustedLeaderAndIsr(tableBucket, tryAdjustLeaderAndIsr);
+                    newLeaderAndIsrList.put(tableBucket, newLeaderAndIsr);
+                    result.add(new AdjustIsrResultForBucket(tableBucket, newLeaderAndIsr));
+                }
+                results.add(result);
+            } catch (Throwable t) {
+                // don't update the buckets of the failed request
+                event.getLeaderAndIsrMap().keySet().forEach(newLeaderAndIsrList::remove);
+                event.getRespCallback().completeExceptionally(t);
+                results.add(null);
+            }
+        }
+
+        // Do the updates in ZK.
+        Map<TableBucket, ApiError> failedBuckets = updateLeaderAndIsrInZk(newLeaderAndIsrList);
+
+        // update coordinator leader and isr cache.
+        newLeaderAndIsrList.forEach(
+                (tableBucket, newLeaderAndIsr) -> {
+                    if (!failedBuckets.containsKey(tableBucket)) {
+                        coordinatorContext.putBucketLeaderAndIsr(tableBucket, newLeaderAndIsr);
+                    }
+                });
+
+        // TODO update metadata for all alive tablet servers.
+
+        for (int i = 0; i < events.size(); i++) {
+            List<AdjustIsrResultForBucket> result = results.get(i);
+            if (result == null) {
                 continue;
             }
+            List<AdjustIsrResultForBucket> finalResult = new ArrayList<>(result.size());
+            for (AdjustIsrResultForBucket resultForBucket : result) {
+                ApiError error = failedBuckets.get(resultForBucket.getTableBucket());
+                finalResult.add(
+                        error == null
+                                ? resultForBucket
+                                : new AdjustIsrResultForBucket(
+                                        resultForBucket.getTableBucket(), error));
+            }
+            completeFromCallable(
+                    events.get(i).getRespCallback(), () -> makeAdjustIsrResponse(finalResult));
+        }
+    }
 
-            // Do the updates in ZK.
-            LeaderAndIsr currentLeaderAndIsr =
-                    coordinatorContext
-                            .getBucketLeaderAndIsr(tableBucket)
-                            .orElseThrow(
-                                    () ->
-                                            new FlussRuntimeException(
-                                                    "Leader not found for table bucket "
-                                                            + tableBucket));
-            LeaderAndIsr newLeaderAndIsr =
-                    new LeaderAndIsr(
-                            // the leaderEpoch in request has been validated to be equal to current
-                            // leaderEpoch, which means the leader is still the same, so we use
-                            // leader and leaderEpoch in currentLeaderAndIsr.
-                            currentLeaderAndIsr.leader(),
-                            currentLeaderAndIsr.leaderEpoch(),
-                            // TODO: reject the request if there is a replica in ISR is not online,
-                            //  see KIP-841.
-                            tryAdjustLeaderAndIsr.isr(),
-                            coordinatorContext.getCoordinatorEpoch(),
-                            currentLeaderAndIsr.bucketEpoch() + 1);
+    private LeaderAndIsr makeAdjustedLeaderAndIsr(
+            TableBucket tableBucket, LeaderAndIsr tryAdjustLeaderAndIsr) {
+        LeaderAndIsr currentLeaderAndIsr =
+                coordinatorContext
+                        .getBucketLeaderAndIsr(tableBucket)
+                        .orElseThrow(
+                                () ->
+                                        new FlussRuntimeException(
+                                                "Leader not found for table bucket "
+                                                        + tableBucket));
+        return new LeaderAndIsr(
+                // the leaderEpoch in request has been validated to be equal to current
+                // leaderEpoch, which means the leader is still the same, so we use
+                // leader and leaderEpoch in currentLeaderAndIsr.
+                currentLeaderAndIsr.leader(),
+                currentLeaderAndIsr.leaderEpoch(),
+                // TODO: reject the request if there is a replica in ISR is not online,
+                //  see KIP-841.
+                tryAdjustLeaderAndIsr.isr(),
+                coordinatorContext.getCoordinatorEpoch(),
+                currentLeaderAndIsr.bucketEpoch() + 1);
+    }
+
+    /**
+     * Updates the leader and isr of the buckets in ZK and returns the errors of the buckets failed
+     * to update. The buckets are updated by transactions first, and then one by one if any of the
+     * transactions fails, to find out the failed buckets.
+     */
+    private Map<TableBucket, ApiError> updateLeaderAndIsrInZk(
+            Map<TableBucket, LeaderAndIsr> leaderAndIsrList) {
+        try {
+            zooKeeperClient.batchUpdateLeaderAndIsr(leaderAndIsrList);
+            return Collections.emptyMap();
+        } catch (Exception e) {
+            LOG.warn(
+                    "Failed to batch update leader and isr of {} buckets, retry them one by one.",
+                    leaderAndIsrList.size(),
+                    e);
+        }
+
+        Map<TableBucket, ApiError> failedBuckets = new HashMap<>();
+        for (Map.Entry<TableBucket, LeaderAndIsr> entry : leaderAndIsrList.entrySet()) {
             try {
-                zooKeeperClient.updateLeaderAndIsr(tableBucket, newLeaderAndIsr);
+                zooKeeperClient.updateLeaderAndIsr(entry.getKey(), entry.getValue());
             } catch (Exception e) {
                 LOG.error("Error when register leader and isr.", e);
-                result.add(new AdjustIsrResultForBucket(tableBucket, ApiError.fromThrowable(e)));
+                failedBuckets.put(entry.getKey(), ApiError.fromThrowable(e));
             }
-
-            // update coordinator leader and isr cache.
-            coordinatorContext.putBucketLeaderAndIsr(tableBucket, newLeaderAndIsr);
-
-            // TODO update metadata for all alive tablet servers.
-
-            // Successful return.
-            result.add(new AdjustIsrResultForBucket(tableBucket, newLeaderAndIsr));
         }
-        return result;
+        return failedBuckets;
     }
 
     /**
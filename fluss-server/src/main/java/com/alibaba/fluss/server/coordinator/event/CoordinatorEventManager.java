@@ -18,8 +18,9 @@
 package com.alibaba.fluss.server.coordinator.event;
 
 import com.alibaba.fluss.annotation.Internal;
-import com.alibaba.fluss.metrics.DescriptiveStatisticsHistogram;
+import com.alibaba.fluss.config.ConfigOptions;
 import com.alibaba.fluss.metrics.Histogram;
+import com.alibaba.fluss.metrics.LogBucketHistogram;
 import com.alibaba.fluss.metrics.MetricNames;
 import com.alibaba.fluss.server.metrics.group.CoordinatorMetricGroup;
 import com.alibaba.fluss.utils.concurrent.ShutdownableThread;
@@ -27,15 +28,24 @@ import com.alibaba.fluss.utils.concurrent.ShutdownableThread;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 
+import static com.alibaba.fluss.utils.Preconditions.checkArgument;
 import static com.alibaba.fluss.utils.concurrent.LockUtils.inLock;
 
 /**
  * A manager for the events happens in Coordinator Server. It will poll the event from a queue and
  * then process it.
+ *
+ * <p>The events queued while processing the previous ones are taken from the queue at a time, up
+ * to the max batch size. The consecutive events of the same type in them are handed to the {@link
+ * EventProcessor} together, so that a burst of events, such as the failures of many tablet servers,
+ * can be merged and processed at once. The events are always processed in the order they are
+ * queued.
  */
 @Internal
 public final class CoordinatorEventManager implements EventManager {
@@ -46,6 +56,7 @@ public final class CoordinatorEventManager implements EventManager {
 
     private final EventProcessor eventProcessor;
     private final CoordinatorMetricGroup coordinatorMetricGroup;
+    private final int maxBatchSize;
 
     private final LinkedBlockingQueue<QueuedEvent> queue = new LinkedBlockingQueue<>();
     private final CoordinatorEventThread thread =
@@ -56,12 +67,25 @@ public final class CoordinatorEventManager implements EventManager {
     private Histogram eventProcessTime;
     private Histogram eventQueueTime;
 
-    private static final int WINDOW_SIZE = 100;
-
     public CoordinatorEventManager(
             EventProcessor eventProcessor, CoordinatorMetricGroup coordinatorMetricGroup) {
+        this(
+                eventProcessor,
+                coordinatorMetricGroup,
+                ConfigOptions.COORDINATOR_EVENT_MAX_BATCH_SIZE.defaultValue());
+    }
+
+    public CoordinatorEventManager(
+            EventProcessor eventProcessor,
+            CoordinatorMetricGroup coordinatorMetricGroup,
+            int maxBatchSize) {
+        checkArgument(
+                maxBatchSize > 0,
+                "The max batch size of coordinator events must be positive, but is %s.",
+                maxBatchSize);
         this.eventProcessor = eventProcessor;
         this.coordinatorMetricGroup = coordinatorMetricGroup;
+        this.maxBatchSize = maxBatchSize;
         registerMetrics();
     }
 
@@ -71,12 +95,12 @@ public final class CoordinatorEventManager implements EventManager {
         eventProcessTime =
                 coordinatorMetricGroup.histogram(
                         MetricNames.EVENT_PROCESS_TIME_MS,
-                        new DescriptiveStatisticsHistogram(WINDOW_SIZE));
+                        new LogBucketHistogram());
 
         eventQueueTime =
                 coordinatorMetricGroup.histogram(
                         MetricNames.EVENT_QUEUE_TIME_MS,
-                        new DescriptiveStatisticsHistogram(WINDOW_SIZE));
+                        new LogBucketHistogram());
     }
 
     public void start() {
@@ -124,18 +148,45 @@ public final class CoordinatorEventManager implements EventManager {
 
         @Override
         public void doWork() throws Exception {
-            QueuedEvent queuedEvent = queue.take();
-            CoordinatorEvent coordinatorEvent = queuedEvent.event;
+            List<QueuedEvent> queuedEvents = new ArrayList<>();
+            queuedEvents.add(queue.take());
+            queue.drainTo(queuedEvents, maxBatchSize - 1);
+
+            int start = 0;
+            // stop processing the rest events once the shutdown is initiated, like the events
+            // cleared from the queue
+            while (start < queuedEvents.size() && isRunning()) {
+                Class<?> eventType = queuedEvents.get(start).event.getClass();
+                int end = start + 1;
+                while (end < queuedEvents.size()
+                        && queuedEvents.get(end).event.getClass() == eventType) {
+                    end++;
+                }
+                processEvents(queuedEvents.subList(start, end));
+                start = end;
+            }
+        }
+
+        private void processEvents(List<QueuedEvent> queuedEvents) {
+            if (queuedEvents.get(0).event instanceof ShutdownEventThreadEvent) {
+                return;
+            }
 
             long eventStartTimeMs = System.currentTimeMillis();
+            List<CoordinatorEvent> coordinatorEvents = new ArrayList<>(queuedEvents.size());
+            for (QueuedEvent queuedEvent : queuedEvents) {
+                eventQueueTime.update(eventStartTimeMs - queuedEvent.enqueueTimeMs);
+                coordinatorEvents.add(queuedEvent.event);
+            }
 
             try {
-                if (!(coordinatorEvent instanceof ShutdownEventThreadEvent)) {
-                    eventQueueTime.update(System.currentTimeMillis() - queuedEvent.enqueueTimeMs);
-                    eventProcessor.process(coordinatorEvent);
+                if (coordinatorEvents.size() == 1) {
+                    eventProcessor.process(coordinatorEvents.get(0));
+                } else {
+                    eventProcessor.process(coordinatorEvents);
                 }
             } catch (Throwable e) {
-                log.error("Uncaught error processing event {}.", coordinatorEvent, e);
+                log.error("Uncaught error processing events {}.", coordinatorEvents, e);
             } finally {
                 long eventFinishTimeMs = System.currentTimeMillis();
                 eventProcessTime.update(eventFinishTimeMs - eventStartTimeMs);
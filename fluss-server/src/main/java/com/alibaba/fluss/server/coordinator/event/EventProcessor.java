@@ -17,7 +17,20 @@
 
 package com.alibaba.fluss.server.coordinator.event;
 
+import java.util.List;
+
 /** An interface for processor to process {@link CoordinatorEvent}. */
 public interface EventProcessor {
     void process(CoordinatorEvent event);
+
+    /**
+     * Processes the consecutive events of the same type taken from the event queue at a time, in
+     * the order they are queued. The processor can override it to merge the events and process
+     * them together, the events are processed one by one by default.
+     */
+    default void process(List<CoordinatorEvent> events) {
+        for (CoordinatorEvent event : events) {
+            process(event);
+        }
+    }
 }
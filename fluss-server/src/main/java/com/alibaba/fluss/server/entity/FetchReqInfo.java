@@ -18,6 +18,7 @@
 package com.alibaba.fluss.server.entity;
 
 import com.alibaba.fluss.annotation.Internal;
+import com.alibaba.fluss.record.LogRecordBatchFilter;
 
 import javax.annotation.Nullable;
 
@@ -30,6 +31,7 @@ public final class FetchReqInfo {
     private final long tableId;
     private final long fetchOffset;
     @Nullable private final int[] projectFields;
+    @Nullable private final LogRecordBatchFilter batchFilter;
 
     private int maxBytes;
 
@@ -39,10 +41,20 @@ public final class FetchReqInfo {
 
     public FetchReqInfo(
             long tableId, long fetchOffset, int maxBytes, @Nullable int[] projectFields) {
+        this(tableId, fetchOffset, maxBytes, projectFields, null);
+    }
+
+    public FetchReqInfo(
+            long tableId,
+            long fetchOffset,
+            int maxBytes,
+            @Nullable int[] projectFields,
+            @Nullable LogRecordBatchFilter batchFilter) {
         this.tableId = tableId;
         this.fetchOffset = fetchOffset;
         this.maxBytes = maxBytes;
         this.projectFields = projectFields;
+        this.batchFilter = batchFilter;
     }
 
     public long getTableId() {
@@ -66,6 +78,11 @@ public final class FetchReqInfo {
         return projectFields;
     }
 
+    @Nullable
+    public LogRecordBatchFilter getBatchFilter() {
+        return batchFilter;
+    }
+
     @Override
     public String toString() {
         return "FetchData{"
@@ -77,6 +94,8 @@ public final class FetchReqInfo {
                 + maxBytes
                 + ", projectionFields="
                 + Arrays.toString(projectFields)
+                + ", batchFilter="
+                + batchFilter
                 + '}';
     }
 
@@ -97,11 +116,16 @@ public final class FetchReqInfo {
             return false;
         }
 
+        if (!Objects.equals(batchFilter, fetchReqInfo.batchFilter)) {
+            return false;
+        }
+
         return fetchOffset == fetchReqInfo.fetchOffset && maxBytes == fetchReqInfo.maxBytes;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(tableId, fetchOffset, maxBytes, Arrays.hashCode(projectFields));
+        return Objects.hash(
+                tableId, fetchOffset, maxBytes, Arrays.hashCode(projectFields), batchFilter);
     }
 }
@@ -17,7 +17,7 @@
 
 package com.alibaba.fluss.server.kv;
 
-import com.alibaba.fluss.compression.ArrowCompressionInfo;
+import com.alibaba.fluss.annotation.VisibleForTesting;
 import com.alibaba.fluss.config.ConfigOptions;
 import com.alibaba.fluss.config.Configuration;
 import com.alibaba.fluss.config.TableConfig;
@@ -25,14 +25,19 @@ import com.alibaba.fluss.exception.KvStorageException;
 import com.alibaba.fluss.fs.FileSystem;
 import com.alibaba.fluss.fs.FsPath;
 import com.alibaba.fluss.memory.LazyMemorySegmentPool;
-import com.alibaba.fluss.memory.MemorySegmentPool;
-import com.alibaba.fluss.metadata.KvFormat;
 import com.alibaba.fluss.metadata.PhysicalTablePath;
-import com.alibaba.fluss.metadata.Schema;
 import com.alibaba.fluss.metadata.TableBucket;
 import com.alibaba.fluss.metadata.TableInfo;
 import com.alibaba.fluss.metadata.TablePath;
+import com.alibaba.fluss.metrics.MeterView;
+import com.alibaba.fluss.metrics.MetricNames;
+import com.alibaba.fluss.metrics.groups.MetricGroup;
+import com.alibaba.fluss.row.encode.CompactedKeyEncoder;
 import com.alibaba.fluss.server.TabletManagerBase;
+import com.alibaba.fluss.server.kv.prewrite.KvPreWriteBufferMemoryPool;
+import com.alibaba.fluss.server.kv.rocksdb.RocksDBMetricsCollector;
+import com.alibaba.fluss.server.kv.rocksdb.RocksDBResourceContainer;
+import com.alibaba.fluss.server.kv.rocksdb.RocksDBSharedResources;
 import com.alibaba.fluss.server.kv.rowmerger.RowMerger;
 import com.alibaba.fluss.server.log.LogManager;
 import com.alibaba.fluss.server.log.LogTablet;
@@ -47,6 +52,7 @@ import com.alibaba.fluss.utils.types.Tuple2;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.ThreadSafe;
 
 import java.io.File;
@@ -80,7 +86,19 @@ public final class KvManager extends TabletManagerBase {
     private final BufferAllocator arrowBufferAllocator;
 
     /** The memory segment pool to allocate memorySegment. */
-    private final MemorySegmentPool memorySegmentPool;
+    private final LazyMemorySegmentPool memorySegmentPool;
+
+    /** The memory pool shared by the pre-write buffers of all the kv tablets. */
+    private final KvPreWriteBufferMemoryPool kvPreWriteBufferMemoryPool;
+
+    /**
+     * The block cache and write buffer manager shared by the RocksDB instances of all the kv
+     * tablets, null if the shared memory of RocksDB is not enabled.
+     */
+    @Nullable private final RocksDBSharedResources rocksDBSharedResources;
+
+    /** The collector of the RocksDB native metrics of all the kv tablets. */
+    private final RocksDBMetricsCollector rocksDBMetricsCollector;
 
     private final FsPath remoteKvDir;
 
@@ -97,6 +115,9 @@ public final class KvManager extends TabletManagerBase {
         this.logManager = logManager;
         this.arrowBufferAllocator = new RootAllocator(Long.MAX_VALUE);
         this.memorySegmentPool = LazyMemorySegmentPool.createServerBufferPool(conf);
+        this.kvPreWriteBufferMemoryPool = KvPreWriteBufferMemoryPool.create(conf);
+        this.rocksDBSharedResources = RocksDBSharedResources.create(conf);
+        this.rocksDBMetricsCollector = RocksDBMetricsCollector.create(conf);
         this.zkClient = zkClient;
         this.remoteKvDir = FlussPaths.remoteKvDir(conf);
         this.remoteFileSystem = remoteKvDir.getFileSystem();
@@ -116,11 +137,33 @@ public final class KvManager extends TabletManagerBase {
     }
 
     public void startup() {
-        // should do nothing now
+        rocksDBMetricsCollector.startup();
+    }
+
+    /**
+     * Registers the metrics of the memory segment pool and the RocksDB native metrics rolled up to
+     * the tablet server level.
+     */
+    public void registerMetrics(MetricGroup serverMetricGroup) {
+        serverMetricGroup.gauge(
+                MetricNames.KV_BUFFER_AVAILABLE_BYTES, memorySegmentPool::availableMemory);
+        serverMetricGroup.gauge(MetricNames.KV_BUFFER_WAITING_THREADS, memorySegmentPool::queued);
+        serverMetricGroup.meter(
+                MetricNames.KV_BUFFER_WAIT_TIME_RATE,
+                new MeterView(memorySegmentPool::totalWaitTimeMs));
+        serverMetricGroup.gauge(MetricNames.KV_BUFFER_POOLED_PAGES, memorySegmentPool::pooledPages);
+        serverMetricGroup.gauge(
+                MetricNames.KV_BUFFER_ALLOCATED_PAGES, memorySegmentPool::allocatedPages);
+        rocksDBMetricsCollector.registerServerMetrics(serverMetricGroup);
     }
 
     public void shutdown() {
         LOG.info("Shutting down KvManager");
+        try {
+            rocksDBMetricsCollector.close();
+        } catch (Exception e) {
+            LOG.warn("Exception while closing the RocksDB metrics collector.", e);
+        }
         List<KvTablet> kvs = new ArrayList<>(currentKvs.values());
         for (KvTablet kvTablet : kvs) {
             try {
@@ -131,6 +174,11 @@ public final class KvManager extends TabletManagerBase {
         }
         arrowBufferAllocator.close();
         memorySegmentPool.close();
+        kvPreWriteBufferMemoryPool.close();
+        // the shared resources must be closed after all the kv tablets are closed
+        if (rocksDBSharedResources != null) {
+            rocksDBSharedResources.close();
+        }
         LOG.info("Shut down KvManager complete.");
     }
 
@@ -145,16 +193,13 @@ public final class KvManager extends TabletManagerBase {
      * @param tablePath the table path of the bucket belongs to
      * @param tableBucket the table bucket
      * @param logTablet the cdc log tablet of the kv tablet
-     * @param kvFormat the kv format
+     * @param tableInfo the table info of the table
      */
     public KvTablet getOrCreateKv(
             PhysicalTablePath tablePath,
             TableBucket tableBucket,
             LogTablet logTablet,
-            KvFormat kvFormat,
-            Schema schema,
-            TableConfig tableConfig,
-            ArrowCompressionInfo arrowCompressionInfo)
+            TableInfo tableInfo)
             throws Exception {
         return inLock(
                 tabletCreationOrDeletionLock,
@@ -165,18 +210,8 @@ public final class KvManager extends TabletManagerBase {
 
                     File tabletDir = getOrCreateTabletDir(tablePath, tableBucket);
 
-                    RowMerger merger = RowMerger.create(tableConfig, schema, kvFormat);
                     KvTablet tablet =
-                            KvTablet.create(
-                                    logTablet,
-                                    tabletDir,
-                                    conf,
-                                    arrowBufferAllocator,
-                                    memorySegmentPool,
-                                    kvFormat,
-                                    schema,
-                                    merger,
-                                    arrowCompressionInfo);
+                            createKvTablet(tablePath, tableBucket, logTablet, tabletDir, tableInfo);
                     currentKvs.put(tableBucket, tablet);
 
                     LOG.info(
@@ -188,6 +223,61 @@ public final class KvManager extends TabletManagerBase {
                 });
     }
 
+    private KvTablet createKvTablet(
+            PhysicalTablePath physicalTablePath,
+            TableBucket tableBucket,
+            LogTablet logTablet,
+            File tabletDir,
+            TableInfo tableInfo)
+            throws IOException {
+        TableConfig tableConfig = tableInfo.getTableConfig();
+        RowMerger rowMerger =
+                RowMerger.create(tableConfig, tableInfo.getSchema(), tableConfig.getKvFormat());
+        return KvTablet.create(
+                physicalTablePath,
+                tableBucket,
+                logTablet,
+                tabletDir,
+                conf,
+                kvPreWriteBufferMemoryPool,
+                rocksDBSharedResources,
+                rocksDBMetricsCollector,
+                getPrefixExtractorLength(tableInfo),
+                arrowBufferAllocator,
+                memorySegmentPool,
+                tableConfig.getKvFormat(),
+                tableInfo.getSchema(),
+                rowMerger,
+                tableConfig.getArrowCompressionInfo(),
+                tableConfig.getLogArrowStatisticsColumns());
+    }
+
+    /**
+     * Returns the length of the fixed length prefix of the kv keys of the table for the prefix
+     * bloom filters, or {@link RocksDBResourceContainer#NO_PREFIX_EXTRACTOR} if the table doesn't
+     * support prefix lookup.
+     *
+     * <p>The prefix lookup is only supported when the bucket key is a prefix of the physical
+     * primary key, and the prefix key is the bucket key encoded by {@link CompactedKeyEncoder}.
+     * Since any encoded bucket key is at least {@link CompactedKeyEncoder#getMinEncodedLength}
+     * bytes, the leading bytes of this length can be used as the fixed length prefix to filter the
+     * keys of any prefix key.
+     */
+    @VisibleForTesting
+    static int getPrefixExtractorLength(TableInfo tableInfo) {
+        List<String> bucketKeys = tableInfo.getBucketKeys();
+        List<String> physicalPrimaryKeys = tableInfo.getPhysicalPrimaryKeys();
+        if (bucketKeys.isEmpty()
+                || bucketKeys.size() >= physicalPrimaryKeys.size()
+                || !physicalPrimaryKeys.subList(0, bucketKeys.size()).equals(bucketKeys)
+                // the keys of the tables with datalake format are encoded by the lake encoder
+                || tableInfo.getTableConfig().getDataLakeFormat().isPresent()) {
+            return RocksDBResourceContainer.NO_PREFIX_EXTRACTOR;
+        }
+        return CompactedKeyEncoder.getMinEncodedLength(
+                tableInfo.getSchema().getRowType(), bucketKeys);
+    }
+
     /**
      * Create the tablet directory for the given table path and table bucket.
      *
@@ -267,24 +357,8 @@ public final class KvManager extends TabletManagerBase {
         // TODO: we should support recover schema from disk to decouple put and schema.
         TablePath tablePath = physicalTablePath.getTablePath();
         TableInfo tableInfo = getTableInfo(zkClient, tablePath);
-        RowMerger rowMerger =
-                RowMerger.create(
-                        tableInfo.getTableConfig(),
-                        tableInfo.getSchema(),
-                        tableInfo.getTableConfig().getKvFormat());
         KvTablet kvTablet =
-                KvTablet.create(
-                        physicalTablePath,
-                        tableBucket,
-                        logTablet,
-                        tabletDir,
-                        conf,
-                        arrowBufferAllocator,
-                        memorySegmentPool,
-                        tableInfo.getTableConfig().getKvFormat(),
-                        tableInfo.getSchema(),
-                        rowMerger,
-                        tableInfo.getTableConfig().getArrowCompressionInfo());
+                createKvTablet(physicalTablePath, tableBucket, logTablet, tabletDir, tableInfo);
         if (this.currentKvs.containsKey(tableBucket)) {
             throw new IllegalStateException(
                     String.format(
@@ -96,7 +96,9 @@ public class KvSnapshotResource {
                 new KvSnapshotDataUploader(dataTransferThreadPool);
 
         KvSnapshotDataDownloader kvSnapshotDataDownloader =
-                new KvSnapshotDataDownloader(dataTransferThreadPool);
+                new KvSnapshotDataDownloader(
+                        dataTransferThreadPool,
+                        conf.get(ConfigOptions.KV_SNAPSHOT_DOWNLOAD_RATE_LIMIT).getBytes());
 
         ScheduledExecutorService kvSnapshotScheduler =
                 Executors.newScheduledThreadPool(
@@ -21,7 +21,9 @@ import com.alibaba.fluss.annotation.VisibleForTesting;
 import com.alibaba.fluss.compression.ArrowCompressionInfo;
 import com.alibaba.fluss.config.ConfigOptions;
 import com.alibaba.fluss.config.Configuration;
+import com.alibaba.fluss.exception.BufferExhaustedException;
 import com.alibaba.fluss.exception.KvStorageException;
+import com.alibaba.fluss.memory.MemorySegment;
 import com.alibaba.fluss.memory.MemorySegmentPool;
 import com.alibaba.fluss.metadata.KvFormat;
 import com.alibaba.fluss.metadata.LogFormat;
@@ -36,17 +38,22 @@ import com.alibaba.fluss.record.ChangeType;
 import com.alibaba.fluss.record.KvRecord;
 import com.alibaba.fluss.record.KvRecordBatch;
 import com.alibaba.fluss.record.KvRecordReadContext;
+import com.alibaba.fluss.record.LogRecordBatchStatisticsCollector;
 import com.alibaba.fluss.row.BinaryRow;
 import com.alibaba.fluss.row.arrow.ArrowWriterPool;
 import com.alibaba.fluss.row.arrow.ArrowWriterProvider;
 import com.alibaba.fluss.row.encode.ValueDecoder;
-import com.alibaba.fluss.row.encode.ValueEncoder;
 import com.alibaba.fluss.server.kv.prewrite.KvPreWriteBuffer;
 import com.alibaba.fluss.server.kv.prewrite.KvPreWriteBuffer.TruncateReason;
+import com.alibaba.fluss.server.kv.prewrite.KvPreWriteBufferMemoryPool;
 import com.alibaba.fluss.server.kv.rocksdb.RocksDBKv;
 import com.alibaba.fluss.server.kv.rocksdb.RocksDBKvBuilder;
+import com.alibaba.fluss.server.kv.rocksdb.RocksDBMetricsCollector;
+import com.alibaba.fluss.server.kv.rocksdb.RocksDBNativeMetricMonitor;
 import com.alibaba.fluss.server.kv.rocksdb.RocksDBResourceContainer;
+import com.alibaba.fluss.server.kv.rocksdb.RocksDBSharedResources;
 import com.alibaba.fluss.server.kv.rowmerger.RowMerger;
+import com.alibaba.fluss.server.kv.scan.KvScanner;
 import com.alibaba.fluss.server.kv.snapshot.KvFileHandleAndLocalPath;
 import com.alibaba.fluss.server.kv.snapshot.KvSnapshotDataUploader;
 import com.alibaba.fluss.server.kv.snapshot.RocksIncrementalSnapshot;
@@ -74,9 +81,15 @@ import javax.annotation.concurrent.ThreadSafe;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executor;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
@@ -100,15 +113,23 @@ public final class KvTablet {
     private final long writeBatchSize;
     private final RocksDBKv rocksDBKv;
     private final KvPreWriteBuffer kvPreWriteBuffer;
+    private final KvPreWriteBufferMemoryPool kvPreWriteBufferMemoryPool;
+
+    // the collector and the monitor of the RocksDB native metrics, null if no metric is exposed
+    @Nullable private final RocksDBMetricsCollector rocksDBMetricsCollector;
+    @Nullable private final RocksDBNativeMetricMonitor rocksDBMetricMonitor;
 
     // A lock that guards all modifications to the kv.
     private final ReadWriteLock kvLock = new ReentrantReadWriteLock();
     private final LogFormat logFormat;
     private final KvFormat kvFormat;
     private final Schema schema;
+    private final DataType[] fieldTypes;
     // defines how to merge rows on the same primary key
     private final RowMerger rowMerger;
     private final ArrowCompressionInfo arrowCompressionInfo;
+    // the columns to collect the statistics for each cdc log batch
+    private final List<String> logStatisticsColumns;
 
     /**
      * The kv data in pre-write buffer whose log offset is less than the flushedLogOffset has been
@@ -119,6 +140,13 @@ public final class KvTablet {
     @GuardedBy("kvLock")
     private volatile boolean isClosed = false;
 
+    // the decoders of the kv records to put, keyed by the schema id of the kv record batches
+    @GuardedBy("kvLock")
+    private final Map<Short, KvRecordDecoder> recordDecoders = new HashMap<>();
+
+    // the open scanners on the snapshots of the kv, closed before the kv is closed
+    private final Set<KvScanner> openScanners = ConcurrentHashMap.newKeySet();
+
     private KvTablet(
             PhysicalTablePath physicalPath,
             TableBucket tableBucket,
@@ -126,39 +154,56 @@ public final class KvTablet {
             File kvTabletDir,
             RocksDBKv rocksDBKv,
             long writeBatchSize,
+            KvPreWriteBufferMemoryPool kvPreWriteBufferMemoryPool,
+            @Nullable RocksDBMetricsCollector rocksDBMetricsCollector,
             LogFormat logFormat,
             BufferAllocator arrowBufferAllocator,
             MemorySegmentPool memorySegmentPool,
             KvFormat kvFormat,
             Schema schema,
             RowMerger rowMerger,
-            ArrowCompressionInfo arrowCompressionInfo) {
+            ArrowCompressionInfo arrowCompressionInfo,
+            List<String> logStatisticsColumns) {
         this.physicalPath = physicalPath;
         this.tableBucket = tableBucket;
         this.logTablet = logTablet;
         this.kvTabletDir = kvTabletDir;
         this.rocksDBKv = rocksDBKv;
         this.writeBatchSize = writeBatchSize;
-        this.kvPreWriteBuffer = new KvPreWriteBuffer(createKvBatchWriter());
+        this.kvPreWriteBufferMemoryPool = kvPreWriteBufferMemoryPool;
+        this.kvPreWriteBuffer =
+                new KvPreWriteBuffer(createKvBatchWriter(), kvPreWriteBufferMemoryPool);
+        this.rocksDBMetricsCollector = rocksDBMetricsCollector;
+        this.rocksDBMetricMonitor =
+                rocksDBMetricsCollector == null
+                        ? null
+                        : rocksDBMetricsCollector.createMonitor(rocksDBKv);
         this.logFormat = logFormat;
         this.arrowWriterProvider = new ArrowWriterPool(arrowBufferAllocator);
         this.memorySegmentPool = memorySegmentPool;
         this.kvFormat = kvFormat;
         this.schema = schema;
+        this.fieldTypes = schema.getRowType().getChildren().toArray(new DataType[0]);
         this.rowMerger = rowMerger;
         this.arrowCompressionInfo = arrowCompressionInfo;
+        this.logStatisticsColumns = logStatisticsColumns;
     }
 
     public static KvTablet create(
             LogTablet logTablet,
             File kvTabletDir,
             Configuration serverConf,
+            KvPreWriteBufferMemoryPool kvPreWriteBufferMemoryPool,
+            @Nullable RocksDBSharedResources rocksDBSharedResources,
+            @Nullable RocksDBMetricsCollector rocksDBMetricsCollector,
+            int prefixExtractorLength,
             BufferAllocator arrowBufferAllocator,
             MemorySegmentPool memorySegmentPool,
             KvFormat kvFormat,
             Schema schema,
             RowMerger rowMerger,
-            ArrowCompressionInfo arrowCompressionInfo)
+            ArrowCompressionInfo arrowCompressionInfo,
+            List<String> logStatisticsColumns)
             throws IOException {
         Tuple2<PhysicalTablePath, TableBucket> tablePathAndBucket =
                 FlussPaths.parseTabletDir(kvTabletDir);
@@ -168,12 +213,17 @@ public final class KvTablet {
                 logTablet,
                 kvTabletDir,
                 serverConf,
+                kvPreWriteBufferMemoryPool,
+                rocksDBSharedResources,
+                rocksDBMetricsCollector,
+                prefixExtractorLength,
                 arrowBufferAllocator,
                 memorySegmentPool,
                 kvFormat,
                 schema,
                 rowMerger,
-                arrowCompressionInfo);
+                arrowCompressionInfo,
+                logStatisticsColumns);
     }
 
     public static KvTablet create(
@@ -182,14 +232,26 @@ public final class KvTablet {
             LogTablet logTablet,
             File kvTabletDir,
             Configuration serverConf,
+            KvPreWriteBufferMemoryPool kvPreWriteBufferMemoryPool,
+            @Nullable RocksDBSharedResources rocksDBSharedResources,
+            @Nullable RocksDBMetricsCollector rocksDBMetricsCollector,
+            int prefixExtractorLength,
             BufferAllocator arrowBufferAllocator,
             MemorySegmentPool memorySegmentPool,
             KvFormat kvFormat,
             Schema schema,
             RowMerger rowMerger,
-            ArrowCompressionInfo arrowCompressionInfo)
+            ArrowCompressionInfo arrowCompressionInfo,
+            List<String> logStatisticsColumns)
             throws IOException {
-        RocksDBKv kv = buildRocksDBKv(serverConf, kvTabletDir);
+        RocksDBKv kv =
+                buildRocksDBKv(
+                        serverConf,
+                        kvTabletDir,
+                        rocksDBSharedResources,
+                        rocksDBMetricsCollector != null
+                                && rocksDBMetricsCollector.getOptions().isStatisticsEnabled(),
+                        prefixExtractorLength);
         return new KvTablet(
                 tablePath,
                 tableBucket,
@@ -197,19 +259,32 @@ public final class KvTablet {
                 kvTabletDir,
                 kv,
                 serverConf.get(ConfigOptions.KV_WRITE_BATCH_SIZE).getBytes(),
+                kvPreWriteBufferMemoryPool,
+                rocksDBMetricsCollector,
                 logTablet.getLogFormat(),
                 arrowBufferAllocator,
                 memorySegmentPool,
                 kvFormat,
                 schema,
                 rowMerger,
-                arrowCompressionInfo);
+                arrowCompressionInfo,
+                logStatisticsColumns);
     }
 
-    private static RocksDBKv buildRocksDBKv(Configuration configuration, File kvDir)
+    private static RocksDBKv buildRocksDBKv(
+            Configuration configuration,
+            File kvDir,
+            @Nullable RocksDBSharedResources rocksDBSharedResources,
+            boolean enableStatistics,
+            int prefixExtractorLength)
             throws IOException {
         RocksDBResourceContainer rocksDBResourceContainer =
-                new RocksDBResourceContainer(configuration, kvDir);
+                new RocksDBResourceContainer(
+                        configuration,
+                        kvDir,
+                        enableStatistics,
+                        rocksDBSharedResources,
+                        prefixExtractorLength);
         RocksDBKvBuilder rocksDBKvBuilder =
                 new RocksDBKvBuilder(
                         kvDir,
@@ -259,6 +334,15 @@ public final class KvTablet {
         metricGroup.meter(
                 MetricNames.KV_PRE_WRITE_BUFFER_TRUNCATE_AS_ERROR_RATE,
                 new MeterView(kvPreWriteBuffer.getTruncateAsErrorCount()));
+        metricGroup.gauge(
+                MetricNames.KV_PRE_WRITE_BUFFER_MEMORY_SIZE, kvPreWriteBuffer::getMemorySize);
+        metricGroup.gauge(
+                MetricNames.KV_PRE_WRITE_BUFFER_ENTRY_COUNT, kvPreWriteBuffer::getEntryCount);
+
+        // about RocksDB native metrics, sampled in background by the collector.
+        if (rocksDBMetricMonitor != null) {
+            rocksDBMetricsCollector.register(rocksDBMetricMonitor, bucketMetricGroup);
+        }
     }
 
     /**
@@ -269,43 +353,61 @@ public final class KvTablet {
      */
     public LogAppendInfo putAsLeader(KvRecordBatch kvRecords, @Nullable int[] targetColumns)
             throws Exception {
+        // the pre-write buffer memory is shared by all the kv tablets of the tablet server and can
+        // only be released by flushing when the high watermark advances, so reject the write here
+        // before holding the kv lock which is also required by flushing, the retriable exception
+        // makes the client back off and retry without blocking the request thread
+        if (!kvPreWriteBufferMemoryPool.hasAvailableMemory(kvRecords.sizeInBytes())) {
+            throw new BufferExhaustedException(
+                    String.format(
+                            "Failed to put kv records to %s as the kv pre-write buffer "
+                                    + "memory of the tablet server is exhausted.",
+                            tableBucket));
+        }
         return inWriteLock(
                 kvLock,
                 () -> {
                     rocksDBKv.checkIfRocksDBClosed();
                     short schemaId = kvRecords.schemaId();
                     RowMerger currentMerger = rowMerger.configureTargetColumns(targetColumns);
-                    RowType rowType = schema.getRowType();
-                    WalBuilder walBuilder = createWalBuilder(schemaId, rowType);
+                    WalBuilder walBuilder = createWalBuilder(schemaId, schema.getRowType());
                     walBuilder.setWriterState(kvRecords.writerId(), kvRecords.batchSequence());
                     // get offset to track the offset corresponded to the kv record
                     long logEndOffsetOfPrevBatch = logTablet.localLogEndOffset();
-                    DataType[] fieldTypes = rowType.getChildren().toArray(new DataType[0]);
                     try {
                         long logOffset = logEndOffsetOfPrevBatch;
 
-                        // TODO: reuse the read context and decoder
-                        KvRecordBatch.ReadContext readContext =
-                                KvRecordReadContext.createReadContext(kvFormat, fieldTypes);
-                        ValueDecoder valueDecoder =
-                                new ValueDecoder(readContext.getRowDecoder(schemaId));
-                        for (KvRecord kvRecord : kvRecords.records(readContext)) {
-                            byte[] keyBytes = BytesUtils.toArray(kvRecord.getKey());
-                            KvPreWriteBuffer.Key key = KvPreWriteBuffer.Key.of(keyBytes);
+                        KvRecordDecoder decoder = getOrCreateRecordDecoder(schemaId);
+                        // decode all the records and keys of the batch first, then prefetch the
+                        // values of the keys that can't be found in the pre-write buffer from the
+                        // kv in one multi-get instead of a point get per record
+                        int recordCount = kvRecords.getRecordCount();
+                        List<KvRecord> records = new ArrayList<>(recordCount);
+                        List<KvPreWriteBuffer.Key> keys = new ArrayList<>(recordCount);
+                        for (KvRecord kvRecord : kvRecords.records(decoder.readContext)) {
+                            records.add(kvRecord);
+                            // the key is a view of the batch and is only copied when it's put
+                            // into the pre-write buffer
+                            keys.add(KvPreWriteBuffer.Key.of(kvRecord.getKey()));
+                        }
+                        Map<KvPreWriteBuffer.Key, byte[]> prefetchedValues = prefetchFromKv(keys);
+                        for (int i = 0; i < records.size(); i++) {
+                            KvRecord kvRecord = records.get(i);
+                            KvPreWriteBuffer.Key key = keys.get(i);
                             if (kvRecord.getRow() == null) {
                                 if (!rowMerger.supportsDelete()) {
                                     // skip delete rows if the merger doesn't support yet
                                     continue;
                                 }
                                 // it's for deletion
-                                byte[] oldValue = getFromBufferOrKv(key);
+                                byte[] oldValue = getFromBufferOrKv(key, prefetchedValues);
                                 if (oldValue == null) {
                                     // there might be large amount of such deletion, so we don't log
                                     LOG.debug(
                                             "The specific key can't be found in kv tablet although the kv record is for deletion, "
                                                     + "ignore it directly as it doesn't exist in the kv tablet yet.");
                                 } else {
-                                    BinaryRow oldRow = valueDecoder.decodeValue(oldValue).row;
+                                    BinaryRow oldRow = decoder.decodeOldRow(oldValue);
                                     BinaryRow newRow = currentMerger.delete(oldRow);
                                     // if newRow is null, it means the row should be deleted
                                     if (newRow == null) {
@@ -315,21 +417,19 @@ public final class KvTablet {
                                         // otherwise, it's a partial update, should produce -U,+U
                                         walBuilder.append(ChangeType.UPDATE_BEFORE, oldRow);
                                         walBuilder.append(ChangeType.UPDATE_AFTER, newRow);
-                                        kvPreWriteBuffer.put(
-                                                key,
-                                                ValueEncoder.encodeValue(schemaId, newRow),
-                                                logOffset + 1);
+                                        kvPreWriteBuffer.put(key, schemaId, newRow, logOffset + 1);
                                         logOffset += 2;
                                     }
                                 }
                             } else {
                                 // upsert operation
-                                byte[] oldValue = getFromBufferOrKv(key);
+                                byte[] oldValue = getFromBufferOrKv(key, prefetchedValues);
                                 // it's update
                                 if (oldValue != null) {
-                                    BinaryRow oldRow = valueDecoder.decodeValue(oldValue).row;
+                                    BinaryRow oldRow = decoder.decodeOldRow(oldValue);
                                     BinaryRow newRow =
-                                            currentMerger.merge(oldRow, kvRecord.getRow());
+                                            currentMerger.merge(
+                                                    oldRow, decoder.reuseNewRow(kvRecord.getRow()));
                                     if (newRow == oldRow) {
                                         // newRow is the same to oldRow, means nothing
                                         // happens (no update/delete), and input should be ignored
@@ -339,21 +439,15 @@ public final class KvTablet {
                                     walBuilder.append(ChangeType.UPDATE_AFTER, newRow);
                                     // logOffset is for -U, logOffset + 1 is for +U, we need to use
                                     // the log offset for +U
-                                    kvPreWriteBuffer.put(
-                                            key,
-                                            ValueEncoder.encodeValue(schemaId, newRow),
-                                            logOffset + 1);
+                                    kvPreWriteBuffer.put(key, schemaId, newRow, logOffset + 1);
                                     logOffset += 2;
                                 } else {
                                     // it's insert
                                     // TODO: we should add guarantees that all non-specified columns
                                     //  of the input row are set to null.
-                                    BinaryRow newRow = kvRecord.getRow();
+                                    BinaryRow newRow = decoder.reuseNewRow(kvRecord.getRow());
                                     walBuilder.append(ChangeType.INSERT, newRow);
-                                    kvPreWriteBuffer.put(
-                                            key,
-                                            ValueEncoder.encodeValue(schemaId, newRow),
-                                            logOffset++);
+                                    kvPreWriteBuffer.put(key, schemaId, newRow, logOffset++);
                                 }
                             }
                         }
@@ -416,15 +510,14 @@ public final class KvTablet {
                                 Integer.MAX_VALUE,
                                 rowType,
                                 arrowCompressionInfo),
-                        memorySegmentPool);
+                        memorySegmentPool,
+                        LogRecordBatchStatisticsCollector.create(rowType, logStatisticsColumns));
             default:
                 throw new IllegalArgumentException("Unsupported log format: " + logFormat);
         }
     }
 
     public void flush(long exclusiveUpToLogOffset, FatalErrorHandler fatalErrorHandler) {
-        // todo: need to introduce a backpressure mechanism
-        // to avoid too much records in kvPreWriteBuffer
         inWriteLock(
                 kvLock,
                 () -> {
@@ -451,14 +544,12 @@ public final class KvTablet {
                 });
     }
 
-    /** put key,value,logOffset into pre-write buffer directly. */
+    /**
+     * put key,value,logOffset recovered from the log into pre-write buffer directly, regardless of
+     * the memory limit of the pre-write buffers.
+     */
     void putToPreWriteBuffer(byte[] key, @Nullable byte[] value, long logOffset) {
-        KvPreWriteBuffer.Key wrapKey = KvPreWriteBuffer.Key.of(key);
-        if (value == null) {
-            kvPreWriteBuffer.delete(wrapKey, logOffset);
-        } else {
-            kvPreWriteBuffer.put(wrapKey, value, logOffset);
-        }
+        kvPreWriteBuffer.recover(KvPreWriteBuffer.Key.of(key), value, logOffset);
     }
 
     /**
@@ -472,39 +563,122 @@ public final class KvTablet {
         return runnable -> inWriteLock(kvLock, runnable::run);
     }
 
-    // get from kv pre-write buffer first, if can't find, get from rocksdb
-    private byte[] getFromBufferOrKv(KvPreWriteBuffer.Key key) throws IOException {
+    private KvRecordDecoder getOrCreateRecordDecoder(short schemaId) {
+        KvRecordDecoder decoder = recordDecoders.get(schemaId);
+        if (decoder == null) {
+            KvRecordBatch.ReadContext readContext =
+                    KvRecordReadContext.createReadContext(kvFormat, fieldTypes);
+            decoder =
+                    new KvRecordDecoder(
+                            readContext, new ValueDecoder(readContext.getRowDecoder(schemaId)));
+            recordDecoders.put(schemaId, decoder);
+        }
+        return decoder;
+    }
+
+    /**
+     * Fetch the values of the given keys that can't be found in the pre-write buffer from the kv
+     * with a single multi-get. The keys are deduplicated and sorted in the order of the kv, so that
+     * the lookups of adjacent keys can share the same data blocks.
+     *
+     * @return a map from key to the value in kv, the value is null if the key doesn't exist in kv
+     */
+    private Map<KvPreWriteBuffer.Key, byte[]> prefetchFromKv(List<KvPreWriteBuffer.Key> keys)
+            throws IOException {
+        Set<KvPreWriteBuffer.Key> keysToFetch = new HashSet<>();
+        for (KvPreWriteBuffer.Key key : keys) {
+            if (kvPreWriteBuffer.get(key) == null) {
+                keysToFetch.add(key);
+            }
+        }
+        if (keysToFetch.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        List<KvPreWriteBuffer.Key> sortedKeys = new ArrayList<>(keysToFetch);
+        sortedKeys.sort((k1, k2) -> BytesUtils.compareUnsigned(k1.get(), k2.get()));
+        List<byte[]> keyBytes = new ArrayList<>(sortedKeys.size());
+        for (KvPreWriteBuffer.Key key : sortedKeys) {
+            keyBytes.add(key.get());
+        }
+        List<byte[]> values = rocksDBKv.multiGet(keyBytes);
+        Map<KvPreWriteBuffer.Key, byte[]> prefetchedValues = new HashMap<>(sortedKeys.size());
+        for (int i = 0; i < sortedKeys.size(); i++) {
+            prefetchedValues.put(sortedKeys.get(i), values.get(i));
+        }
+        return prefetchedValues;
+    }
+
+    // get from kv pre-write buffer first, if can't find, get from the values prefetched from
+    // rocksdb, and fall back to get from rocksdb directly if the key wasn't prefetched
+    private byte[] getFromBufferOrKv(
+            KvPreWriteBuffer.Key key, Map<KvPreWriteBuffer.Key, byte[]> prefetchedValues)
+            throws IOException {
         KvPreWriteBuffer.Value value = kvPreWriteBuffer.get(key);
-        if (value == null) {
-            return rocksDBKv.get(key.get());
+        if (value != null) {
+            return value.get();
+        }
+        if (prefetchedValues.containsKey(key)) {
+            return prefetchedValues.get(key);
         }
-        return value.get();
+        return rocksDBKv.get(key.get());
     }
 
     public List<byte[]> multiGet(List<byte[]> keys) throws IOException {
-        return inReadLock(
-                kvLock,
-                () -> {
-                    rocksDBKv.checkIfRocksDBClosed();
-                    return rocksDBKv.multiGet(keys);
-                });
+        try (RocksDBKv.SnapshotReader reader = openSnapshotReader()) {
+            return reader.multiGet(keys);
+        }
+    }
+
+    /** Lookup the values of the keys for each of the prefix keys in one pass. */
+    public List<List<byte[]>> prefixLookups(List<byte[]> prefixKeys) throws IOException {
+        try (RocksDBKv.SnapshotReader reader = openSnapshotReader()) {
+            return reader.prefixLookups(prefixKeys);
+        }
     }
 
-    public List<byte[]> prefixLookup(byte[] prefixKey) throws IOException {
+    public List<byte[]> limitScan(int limit) throws IOException {
+        try (RocksDBKv.SnapshotReader reader = openSnapshotReader()) {
+            return reader.limitScan(limit);
+        }
+    }
+
+    /**
+     * Opens a scanner on the current snapshot of the kv to scan all the values page by page. The
+     * scanner must be closed after scanning, and is closed when this tablet is closed.
+     *
+     * @param projectedFields the fields to project the scanned values to, null if no projection
+     */
+    public KvScanner openScanner(@Nullable int[] projectedFields) throws IOException {
         return inReadLock(
                 kvLock,
                 () -> {
+                    // register the scanner in the lock, so that it's always closed by close()
                     rocksDBKv.checkIfRocksDBClosed();
-                    return rocksDBKv.prefixLookup(prefixKey);
+                    KvScanner scanner =
+                            new KvScanner(
+                                    tableBucket,
+                                    rocksDBKv.openSnapshotReader(),
+                                    kvFormat,
+                                    schema.getRowType(),
+                                    projectedFields,
+                                    openScanners::remove);
+                    openScanners.add(scanner);
+                    return scanner;
                 });
     }
 
-    public List<byte[]> limitScan(int limit) throws IOException {
+    /**
+     * Opens a reader on the snapshot of the kv. Only the snapshot is taken in the read lock, so
+     * that the reader never sees a partially flushed pre-write buffer, while the reading happens
+     * out of the lock and doesn't block (or get blocked by) the writes to this tablet.
+     */
+    private RocksDBKv.SnapshotReader openSnapshotReader() throws IOException {
         return inReadLock(
                 kvLock,
                 () -> {
                     rocksDBKv.checkIfRocksDBClosed();
-                    return rocksDBKv.limitScan(limit);
+                    return rocksDBKv.openSnapshotReader();
                 });
     }
 
@@ -520,6 +694,14 @@ public final class KvTablet {
                     if (isClosed) {
                         return;
                     }
+                    // release the snapshots pinned by the scanners, otherwise closing the kv
+                    // waits for them
+                    new ArrayList<>(openScanners).forEach(KvScanner::close);
+                    // release the memory of the pre-write buffer back to the pool
+                    kvPreWriteBuffer.close();
+                    if (rocksDBMetricMonitor != null) {
+                        rocksDBMetricsCollector.unregister(rocksDBMetricMonitor);
+                    }
                     if (rocksDBKv != null) {
                         rocksDBKv.close();
                     }
@@ -563,4 +745,43 @@ public final class KvTablet {
     public RocksDBKv getRocksDBKv() {
         return rocksDBKv;
     }
+
+    /** The read context of the kv record batches and the decoder of the values of a schema. */
+    private static final class KvRecordDecoder {
+        private final KvRecordBatch.ReadContext readContext;
+        private final ValueDecoder valueDecoder;
+
+        // the rows reused to read the old values and the new rows of the batch, a row is never
+        // used after the next row is read, as the change logs and the merged row copy its bytes,
+        // reusing them also reuses the fields decoded from the rows to append the change logs
+        @Nullable private BinaryRow reusedOldRow;
+        @Nullable private BinaryRow reusedNewRow;
+
+        private KvRecordDecoder(KvRecordBatch.ReadContext readContext, ValueDecoder valueDecoder) {
+            this.readContext = readContext;
+            this.valueDecoder = valueDecoder;
+        }
+
+        private BinaryRow decodeOldRow(byte[] oldValue) {
+            reusedOldRow = valueDecoder.decodeRow(oldValue, reusedOldRow);
+            return reusedOldRow;
+        }
+
+        /** Returns the reused row pointing to the bytes of the given new row. */
+        private BinaryRow reuseNewRow(BinaryRow newRow) {
+            MemorySegment[] segments = newRow.getSegments();
+            if (segments.length != 1) {
+                return newRow;
+            }
+            if (reusedNewRow == null) {
+                reusedNewRow =
+                        valueDecoder
+                                .getRowDecoder()
+                                .decode(segments[0], newRow.getOffset(), newRow.getSizeInBytes());
+            } else {
+                reusedNewRow.pointTo(segments[0], newRow.getOffset(), newRow.getSizeInBytes());
+            }
+            return reusedNewRow;
+        }
+    }
 }
@@ -18,27 +18,32 @@
 package com.alibaba.fluss.server.kv.prewrite;
 
 import com.alibaba.fluss.annotation.VisibleForTesting;
+import com.alibaba.fluss.exception.BufferExhaustedException;
 import com.alibaba.fluss.memory.MemorySegment;
 import com.alibaba.fluss.metrics.Counter;
-import com.alibaba.fluss.metrics.DescriptiveStatisticsHistogram;
 import com.alibaba.fluss.metrics.Histogram;
+import com.alibaba.fluss.metrics.LogBucketHistogram;
 import com.alibaba.fluss.metrics.SimpleCounter;
+import com.alibaba.fluss.row.BinaryRow;
+import com.alibaba.fluss.row.encode.ValueEncoder;
 import com.alibaba.fluss.server.kv.KvBatchWriter;
 import com.alibaba.fluss.utils.MurmurHashUtils;
+import com.alibaba.fluss.utils.UnsafeUtils;
 
 import javax.annotation.Nullable;
 import javax.annotation.concurrent.NotThreadSafe;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Base64;
 import java.util.HashMap;
-import java.util.Iterator;
-import java.util.LinkedList;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 
-import static com.alibaba.fluss.utils.UnsafeUtils.BYTE_ARRAY_BASE_OFFSET;
+import static com.alibaba.fluss.row.encode.ValueEncoder.SCHEMA_ID_LENGTH;
 
 /**
  * An in-memory pre-write buffer for putting kv records. The kv records will first be put into the
@@ -66,19 +71,22 @@ import static com.alibaba.fluss.utils.UnsafeUtils.BYTE_ARRAY_BASE_OFFSET;
  *       kv storage.
  * </ol>
  *
- * <p>In implementation, to achieve the above two purposes, it maintains a map kvEntryMap for
- * put/get a key and a linked list kvEntryList to iterate the kv entries to be flushed.
+ * <p>In implementation, to achieve the above two purposes, it maintains an append-only arena to
+ * store the kv entries in putting order and an open-addressing index to put/get a key.
  *
- * <p>The kvEntryMap is a map from key to the corresponding KvEntry. Each KvEntry wraps a key-value
- * pair and a log sequence number corresponding to the offset of the WAL, with which, we can find
- * the key-value pair to be flush when a perice of WAL was persisted.
+ * <p>The arena is made of off-heap pages allocated from the server-wide {@link
+ * KvPreWriteBufferMemoryPool}, so the memory of the pre-write buffers is bounded and doesn't put
+ * pressure on GC. Each kv entry in the arena wraps a key-value pair, a log sequence number
+ * corresponding to the offset of the WAL and the address of the previous entry of the same key in
+ * the arena, with which, we can find the key-value pair to be flush when a piece of WAL was
+ * persisted and roll back the index when the buffer is truncated.
  *
- * <p>When put a key-value pair, it will always create a new KvEntry wrapping the key-value and put
- * it into the map.
- *
- * <p>Then it will append the new KvEntry to the tail of the kvEntryList. So, the kvEntryList
- * maintains the key-value pair in putting order. When flushing, it will iterate the list to flush
- * all the entries whose log sequence number is less or equal than the given log sequence number.
+ * <p>The index maps each key to the address of the latest kv entry of the key in the arena. When
+ * put a key-value pair, it will always append a new kv entry to the tail of the arena and point the
+ * index of the key to the new entry. So, the arena maintains the key-value pairs in putting order.
+ * When flushing, it will iterate the arena from the head to flush all the entries whose log
+ * sequence number is less than the given log sequence number, and return the pages consumed to the
+ * memory pool.
  *
  * <p>Note: The key-value pairs to be put into the buffer must be with non-decreasing log sequence
  * number. Otherwise, the flushing will not work as expected since once it found any kv entry whose
@@ -87,13 +95,42 @@ import static com.alibaba.fluss.utils.UnsafeUtils.BYTE_ARRAY_BASE_OFFSET;
  */
 @NotThreadSafe
 public class KvPreWriteBuffer implements AutoCloseable {
-    private final KvBatchWriter kvBatchWriter;
 
-    // a mapping from the key to the kv-entry
-    private final Map<Key, KvEntry> kvEntryMap = new HashMap<>();
+    // the layout of a kv entry in the arena, the header of an entry never spans two pages:
+    // | lsn (8) | previous entry address (8) | key hash (4) | key length (4) | value length (4) |
+    // | key bytes | value bytes |
+    private static final int LSN_OFFSET = 0;
+    private static final int PREVIOUS_ADDRESS_OFFSET = LSN_OFFSET + 8;
+    private static final int KEY_HASH_OFFSET = PREVIOUS_ADDRESS_OFFSET + 8;
+    private static final int KEY_LENGTH_OFFSET = KEY_HASH_OFFSET + 4;
+    private static final int VALUE_LENGTH_OFFSET = KEY_LENGTH_OFFSET + 4;
+    static final int ENTRY_HEADER_SIZE = VALUE_LENGTH_OFFSET + 4;
+
+    // the value length of an entry for key deletion
+    private static final int DELETION_VALUE_LENGTH = -1;
+    private static final long NO_PREVIOUS_ADDRESS = -1L;
 
-    // a linked list for all kv entries
-    private final LinkedList<KvEntry> allKvEntries = new LinkedList<>();
+    private static final int INITIAL_INDEX_CAPACITY = 64;
+
+    private final KvBatchWriter kvBatchWriter;
+    private final KvPreWriteBufferMemoryPool memoryPool;
+    private final int pageSize;
+
+    // the pages of the arena, the first page starts at the address of firstPageNumber * pageSize
+    private final List<MemorySegment> pages = new ArrayList<>();
+    private long firstPageNumber = 0;
+    // the address of the oldest kv entry in the arena
+    private long headAddress = 0;
+    // the address to append the next kv entry to
+    private long tailAddress = 0;
+    // the addresses of all kv entries in the arena in putting order
+    private final EntryAddressQueue entryAddresses = new EntryAddressQueue();
+
+    // an open-addressing index with linear probing from the key to the address of the latest kv
+    // entry of the key, the slot stores the address plus one so that zero means an empty slot
+    private long[] indexSlots = new long[INITIAL_INDEX_CAPACITY];
+    private int[] indexHashes = new int[INITIAL_INDEX_CAPACITY];
+    private int indexSize = 0;
 
     // metrics related.
     private final Counter flushCount;
@@ -104,12 +141,18 @@ public class KvPreWriteBuffer implements AutoCloseable {
     // the max LSN in the buffer
     private long maxLogSequenceNumber = -1;
 
-    public KvPreWriteBuffer(KvBatchWriter kvBatchWriter) {
+    // the reusable bytes to write the schema id of a value
+    private final byte[] schemaIdBytes = new byte[SCHEMA_ID_LENGTH];
+
+    public KvPreWriteBuffer(KvBatchWriter kvBatchWriter, KvPreWriteBufferMemoryPool memoryPool) {
         this.kvBatchWriter = kvBatchWriter;
+        this.memoryPool = memoryPool;
+        this.pageSize = memoryPool.pageSize();
 
         flushCount = new SimpleCounter();
-        // consider won't flush frequently, we set a small window size
-        flushLatencyHistogram = new DescriptiveStatisticsHistogram(5);
+        // the buffer is flushed whenever the high watermark advances, so a time window holds
+        // enough flushes for the percentiles and doesn't report the stale flushes of idle buckets
+        flushLatencyHistogram = new LogBucketHistogram();
         truncateAsDuplicatedCount = new SimpleCounter();
         truncateAsErrorCount = new SimpleCounter();
     }
@@ -118,21 +161,71 @@ public class KvPreWriteBuffer implements AutoCloseable {
      * Delete a key-value pair with the given key.
      *
      * @param logSequenceNumber the log sequence number for the delete operation
+     * @throws BufferExhaustedException if the memory of the pre-write buffers is exhausted
      */
     public void delete(Key key, long logSequenceNumber) {
-        update(key, Value.of(null), logSequenceNumber);
+        update(key, DELETION_VALUE_LENGTH, logSequenceNumber, false);
     }
 
     /**
      * Put a key-value pair.
      *
      * @param logSequenceNumber the log sequence number for the put operation
+     * @throws BufferExhaustedException if the memory of the pre-write buffers is exhausted
      */
     public void put(Key key, @Nullable byte[] value, long logSequenceNumber) {
-        update(key, Value.of(value), logSequenceNumber);
+        put(key, value, logSequenceNumber, false);
+    }
+
+    /**
+     * Put a key-value pair recovered from the log, or delete the key if the value is null. Unlike
+     * {@link #put(Key, byte[], long)}, the memory of the entry is allocated even if the memory of
+     * the pre-write buffers is exhausted, since the recovered entries can't be flushed until the
+     * high watermark advances and failing the recovery would fail the bucket to become leader.
+     *
+     * @param logSequenceNumber the log sequence number of the recovered log record
+     */
+    public void recover(Key key, @Nullable byte[] value, long logSequenceNumber) {
+        put(key, value, logSequenceNumber, true);
+    }
+
+    private void put(
+            Key key, @Nullable byte[] value, long logSequenceNumber, boolean ignoreMemoryLimit) {
+        long valueAddress =
+                update(
+                        key,
+                        value == null ? DELETION_VALUE_LENGTH : value.length,
+                        logSequenceNumber,
+                        ignoreMemoryLimit);
+        if (value != null) {
+            writeBytes(valueAddress, value);
+        }
+    }
+
+    /**
+     * Put a key and the value encoded from the given schema id and row in the format of {@link
+     * ValueEncoder#encodeValue(short, BinaryRow)}. The value is written to the arena directly
+     * without materializing the encoded value bytes.
+     *
+     * @param logSequenceNumber the log sequence number for the put operation
+     * @throws BufferExhaustedException if the memory of the pre-write buffers is exhausted
+     */
+    public void put(Key key, short schemaId, BinaryRow row, long logSequenceNumber) {
+        int rowSize = row.getSizeInBytes();
+        long valueAddress = update(key, SCHEMA_ID_LENGTH + rowSize, logSequenceNumber, false);
+        UnsafeUtils.putShort(schemaIdBytes, 0, schemaId);
+        writeBytes(valueAddress, schemaIdBytes);
+        writeSegments(valueAddress + SCHEMA_ID_LENGTH, row.getSegments(), row.getOffset(), rowSize);
     }
 
-    private void update(Key key, Value value, long lsn) {
+    /**
+     * Appends a kv entry of the given key and value length to the arena and points the index of the
+     * key to the entry.
+     *
+     * @param ignoreMemoryLimit whether to allocate the memory even if the pool is exhausted
+     * @return the address to write the value bytes of the entry to
+     */
+    private long update(Key key, int valueLength, long lsn, boolean ignoreMemoryLimit) {
         if (maxLogSequenceNumber >= lsn) {
             throw new IllegalArgumentException(
                     "The log sequence number must be non-decreasing. "
@@ -142,18 +235,20 @@ public class KvPreWriteBuffer implements AutoCloseable {
                             + lsn);
         }
 
-        // create the kv entry with previous pointer if exists, and put the new entry to the map
-        KvEntry kvEntry =
-                kvEntryMap.compute(
-                        key,
-                        (k, v) ->
-                                v == null
-                                        ? KvEntry.of(key, value, lsn)
-                                        : KvEntry.of(key, value, lsn, v));
-        // append the entry to the tail of the list for all kv entries
-        allKvEntries.addLast(kvEntry);
+        int slot = findSlot(key.segment, key.offset, key.length, key.hashCode);
+        long previousAddress = indexSlots[slot] == 0 ? NO_PREVIOUS_ADDRESS : indexSlots[slot] - 1;
+        // append the entry to the tail of the arena with the previous entry if exists, and then
+        // point the index of the key to the new entry
+        long address = append(key, valueLength, lsn, previousAddress, ignoreMemoryLimit);
+        if (indexSlots[slot] == 0) {
+            insertIndex(slot, address, key.hashCode);
+        } else {
+            indexSlots[slot] = address + 1;
+        }
+        entryAddresses.addLast(address);
         // update the max lsn
         maxLogSequenceNumber = lsn;
+        return address + ENTRY_HEADER_SIZE + key.length;
     }
 
     /**
@@ -163,9 +258,11 @@ public class KvPreWriteBuffer implements AutoCloseable {
      *     key-value pair can be found by the key in the buffer.
      */
     public @Nullable Value get(Key key) {
-        KvEntry kvEntry = kvEntryMap.get(key);
-
-        return kvEntry == null ? null : kvEntry.getValue();
+        if (indexSize == 0) {
+            return null;
+        }
+        int slot = findSlot(key.segment, key.offset, key.length, key.hashCode);
+        return indexSlots[slot] == 0 ? null : Value.of(readValue(indexSlots[slot] - 1));
     }
 
     /**
@@ -182,23 +279,27 @@ public class KvPreWriteBuffer implements AutoCloseable {
             truncateAsErrorCount.inc();
         }
 
-        Iterator<KvEntry> descIter = allKvEntries.descendingIterator();
-        while (descIter.hasNext()) {
-            KvEntry entry = descIter.next();
-            if (entry.getLogSequenceNumber() < targetLogSequenceNumber) {
-                maxLogSequenceNumber = entry.logSequenceNumber;
+        while (!entryAddresses.isEmpty()) {
+            long address = entryAddresses.peekLast();
+            if (lsnOf(address) < targetLogSequenceNumber) {
                 break;
             }
-            descIter.remove();
-            boolean removed = kvEntryMap.remove(entry.getKey(), entry);
-            // if the latest entry is removed, we need to rollback the previous entry to the map
-            if (removed && entry.previousEntry != null) {
-                kvEntryMap.put(entry.getKey(), entry.previousEntry);
+            entryAddresses.pollLast();
+            int slot = findSlotOfEntry(address);
+            // if the latest entry is removed, we need to rollback the previous entry to the index,
+            // the previous entry may have been flushed, then the key can be read from the kv
+            if (slot >= 0) {
+                long previousAddress = previousAddressOf(address);
+                if (previousAddress != NO_PREVIOUS_ADDRESS && previousAddress >= headAddress) {
+                    indexSlots[slot] = previousAddress + 1;
+                } else {
+                    removeIndex(slot);
+                }
             }
+            tailAddress = address;
         }
-        if (!descIter.hasNext()) {
-            maxLogSequenceNumber = -1;
-        }
+        maxLogSequenceNumber = entryAddresses.isEmpty() ? -1 : lsnOf(entryAddresses.peekLast());
+        releaseTruncatedPages();
     }
 
     /**
@@ -209,32 +310,37 @@ public class KvPreWriteBuffer implements AutoCloseable {
      */
     public void flush(long exclusiveUpToLogSequenceNumber) throws IOException {
         int flushedCount = 0;
-        for (Iterator<KvEntry> it = allKvEntries.iterator(); it.hasNext(); ) {
-            KvEntry entry = it.next();
+        while (!entryAddresses.isEmpty()) {
+            long address = entryAddresses.peekFirst();
             // if find one entry whose sequence number is greater than the given sequence number,
             // break the loop
-            if (entry.getLogSequenceNumber() >= exclusiveUpToLogSequenceNumber) {
+            if (lsnOf(address) >= exclusiveUpToLogSequenceNumber) {
                 break;
             }
 
-            // first remove the entry from the list
-            it.remove();
+            // first remove the entry from the arena
+            entryAddresses.pollFirst();
 
             // then write data using write batch writer
-            Value value = entry.getValue();
-            if (value.value != null) {
-                flushedCount += 1;
-                kvBatchWriter.put(entry.getKey().key, value.value);
+            byte[] key = readKey(address);
+            byte[] value = readValue(address);
+            flushedCount += 1;
+            if (value != null) {
+                kvBatchWriter.put(key, value);
             } else {
-                flushedCount += 1;
-                kvBatchWriter.delete(entry.getKey().key);
+                kvBatchWriter.delete(key);
             }
 
-            // if the kv entry to be flushed is equal to the one in the kvEntryMap, we
-            // can remove it from the map. Although it's not a must to remove from the map,
-            // we remove it to reduce the memory usage
-            kvEntryMap.remove(entry.getKey(), entry);
+            // if the kv entry to be flushed is the one in the index, we can remove it from the
+            // index, so that the memory of the entry can be released
+            int slot = findSlotOfEntry(address);
+            if (slot >= 0) {
+                removeIndex(slot);
+            }
         }
+        headAddress = entryAddresses.isEmpty() ? tailAddress : entryAddresses.peekFirst();
+        releaseFlushedPages();
+
         // flush to underlying kv tablet
         if (flushedCount > 0) {
             long start = System.nanoTime();
@@ -244,16 +350,333 @@ public class KvPreWriteBuffer implements AutoCloseable {
         }
     }
 
+    // ------------------------------------------------------------------------------------------
+    // Arena
+    // ------------------------------------------------------------------------------------------
+
+    /**
+     * Appends the header and the key of a kv entry to the tail of the arena, and reserves the
+     * memory for the value bytes which are written by the caller.
+     */
+    private long append(
+            Key key, int valueLength, long lsn, long previousAddress, boolean ignoreMemoryLimit) {
+        long address = tailAddress;
+        int remainingInPage = pageSize - offsetOf(address);
+        if (remainingInPage < ENTRY_HEADER_SIZE) {
+            // the header of an entry never spans two pages
+            address += remainingInPage;
+        }
+        long endAddress = address + ENTRY_HEADER_SIZE + key.length + Math.max(valueLength, 0);
+        ensureCapacity(address, endAddress, ignoreMemoryLimit);
+
+        MemorySegment page = pageOf(address);
+        int offset = offsetOf(address);
+        page.putLong(offset + LSN_OFFSET, lsn);
+        page.putLong(offset + PREVIOUS_ADDRESS_OFFSET, previousAddress);
+        page.putInt(offset + KEY_HASH_OFFSET, key.hashCode);
+        page.putInt(offset + KEY_LENGTH_OFFSET, key.length);
+        page.putInt(offset + VALUE_LENGTH_OFFSET, valueLength);
+        writeSegment(address + ENTRY_HEADER_SIZE, key.segment, key.offset, key.length);
+
+        if (entryAddresses.isEmpty()) {
+            headAddress = address;
+        }
+        tailAddress = endAddress;
+        return address;
+    }
+
+    private void ensureCapacity(long startAddress, long endAddress, boolean ignoreMemoryLimit) {
+        if (pages.isEmpty()) {
+            firstPageNumber = startAddress / pageSize;
+        }
+        while ((firstPageNumber + pages.size()) * pageSize < endAddress) {
+            MemorySegment page =
+                    ignoreMemoryLimit ? memoryPool.forceNextSegment() : memoryPool.nextSegment();
+            if (page == null) {
+                throw new BufferExhaustedException(
+                        String.format(
+                                "Failed to allocate memory for kv pre-write buffer, the kv pre-write "
+                                        + "buffer memory of the tablet server is exhausted. Total memory: %d bytes.",
+                                memoryPool.totalSize()));
+            }
+            pages.add(page);
+        }
+    }
+
+    private void releaseFlushedPages() {
+        if (entryAddresses.isEmpty()) {
+            releaseAllPages();
+            return;
+        }
+        int flushedPages = (int) (headAddress / pageSize - firstPageNumber);
+        if (flushedPages > 0) {
+            List<MemorySegment> toRelease = pages.subList(0, flushedPages);
+            memoryPool.returnAll(new ArrayList<>(toRelease));
+            toRelease.clear();
+            firstPageNumber += flushedPages;
+        }
+    }
+
+    private void releaseTruncatedPages() {
+        if (entryAddresses.isEmpty()) {
+            headAddress = tailAddress;
+            releaseAllPages();
+            return;
+        }
+        int usedPages = (int) ((tailAddress + pageSize - 1) / pageSize - firstPageNumber);
+        if (pages.size() > usedPages) {
+            List<MemorySegment> toRelease = pages.subList(usedPages, pages.size());
+            memoryPool.returnAll(new ArrayList<>(toRelease));
+            toRelease.clear();
+        }
+    }
+
+    private void releaseAllPages() {
+        memoryPool.returnAll(new ArrayList<>(pages));
+        pages.clear();
+        if (indexSlots.length > INITIAL_INDEX_CAPACITY) {
+            // the buffer is empty, shrink the index to release the memory
+            indexSlots = new long[INITIAL_INDEX_CAPACITY];
+            indexHashes = new int[INITIAL_INDEX_CAPACITY];
+        }
+    }
+
+    private MemorySegment pageOf(long address) {
+        return pages.get((int) (address / pageSize - firstPageNumber));
+    }
+
+    private int offsetOf(long address) {
+        return (int) (address % pageSize);
+    }
+
+    private long lsnOf(long address) {
+        return pageOf(address).getLong(offsetOf(address) + LSN_OFFSET);
+    }
+
+    private long previousAddressOf(long address) {
+        return pageOf(address).getLong(offsetOf(address) + PREVIOUS_ADDRESS_OFFSET);
+    }
+
+    private int hashOf(long address) {
+        return pageOf(address).getInt(offsetOf(address) + KEY_HASH_OFFSET);
+    }
+
+    private int keyLengthOf(long address) {
+        return pageOf(address).getInt(offsetOf(address) + KEY_LENGTH_OFFSET);
+    }
+
+    private byte[] readKey(long address) {
+        return readBytes(address + ENTRY_HEADER_SIZE, keyLengthOf(address));
+    }
+
+    private @Nullable byte[] readValue(long address) {
+        int valueLength = pageOf(address).getInt(offsetOf(address) + VALUE_LENGTH_OFFSET);
+        if (valueLength == DELETION_VALUE_LENGTH) {
+            return null;
+        }
+        return readBytes(address + ENTRY_HEADER_SIZE + keyLengthOf(address), valueLength);
+    }
+
+    private void writeBytes(long address, byte[] src) {
+        int written = 0;
+        while (written < src.length) {
+            int offset = offsetOf(address + written);
+            int length = Math.min(src.length - written, pageSize - offset);
+            pageOf(address + written).put(offset, src, written, length);
+            written += length;
+        }
+    }
+
+    private void writeSegment(long address, MemorySegment src, int srcOffset, int length) {
+        int written = 0;
+        while (written < length) {
+            int offset = offsetOf(address + written);
+            int chunk = Math.min(length - written, pageSize - offset);
+            src.copyTo(srcOffset + written, pageOf(address + written), offset, chunk);
+            written += chunk;
+        }
+    }
+
+    private void writeSegments(long address, MemorySegment[] srcs, int srcOffset, int length) {
+        if (srcs.length == 1) {
+            writeSegment(address, srcs[0], srcOffset, length);
+            return;
+        }
+        // all the segments of a binary row have the same size
+        int segmentSize = srcs[0].size();
+        int written = 0;
+        while (written < length) {
+            int index = (srcOffset + written) / segmentSize;
+            int offset = (srcOffset + written) % segmentSize;
+            int chunk = Math.min(length - written, segmentSize - offset);
+            writeSegment(address + written, srcs[index], offset, chunk);
+            written += chunk;
+        }
+    }
+
+    private byte[] readBytes(long address, int length) {
+        byte[] dest = new byte[length];
+        int read = 0;
+        while (read < length) {
+            int offset = offsetOf(address + read);
+            int chunk = Math.min(length - read, pageSize - offset);
+            pageOf(address + read).get(offset, dest, read, chunk);
+            read += chunk;
+        }
+        return dest;
+    }
+
+    private boolean keyEquals(long address, MemorySegment key, int keyOffset, int keyLength) {
+        if (keyLengthOf(address) != keyLength) {
+            return false;
+        }
+        long keyAddress = address + ENTRY_HEADER_SIZE;
+        int compared = 0;
+        while (compared < keyLength) {
+            int offset = offsetOf(keyAddress + compared);
+            int length = Math.min(keyLength - compared, pageSize - offset);
+            if (!pageOf(keyAddress + compared).equalTo(key, offset, keyOffset + compared, length)) {
+                return false;
+            }
+            compared += length;
+        }
+        return true;
+    }
+
+    // ------------------------------------------------------------------------------------------
+    // Index
+    // ------------------------------------------------------------------------------------------
+
+    /** Find the slot of the given key, or the empty slot to insert the key if absent. */
+    private int findSlot(MemorySegment key, int keyOffset, int keyLength, int hash) {
+        int mask = indexSlots.length - 1;
+        int slot = hash & mask;
+        while (indexSlots[slot] != 0) {
+            if (indexHashes[slot] == hash
+                    && keyEquals(indexSlots[slot] - 1, key, keyOffset, keyLength)) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    /**
+     * Find the slot pointing to the kv entry of the given address, or -1 if the index of the key
+     * doesn't point to the entry. It only compares the addresses in the probe sequence of the key
+     * instead of the keys, as the address of an entry is unique.
+     */
+    private int findSlotOfEntry(long address) {
+        int mask = indexSlots.length - 1;
+        int slot = hashOf(address) & mask;
+        while (indexSlots[slot] != 0) {
+            if (indexSlots[slot] == address + 1) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private void insertIndex(int slot, long address, int hash) {
+        indexSlots[slot] = address + 1;
+        indexHashes[slot] = hash;
+        indexSize++;
+        // keep the load factor under 0.75 to have short probe sequences
+        if (indexSize * 4L > indexSlots.length * 3L) {
+            resizeIndex(indexSlots.length * 2);
+        }
+    }
+
+    private void removeIndex(int slot) {
+        // shift the following entries of the probe sequence backward to fill the hole, so that
+        // we don't need tombstones which slow down the probing
+        int mask = indexSlots.length - 1;
+        int hole = slot;
+        int next = slot;
+        while (true) {
+            next = (next + 1) & mask;
+            if (indexSlots[next] == 0) {
+                break;
+            }
+            int ideal = indexHashes[next] & mask;
+            boolean inProbeRange =
+                    hole <= next
+                            ? (hole < ideal && ideal <= next)
+                            : (hole < ideal || ideal <= next);
+            if (!inProbeRange) {
+                indexSlots[hole] = indexSlots[next];
+                indexHashes[hole] = indexHashes[next];
+                hole = next;
+            }
+        }
+        indexSlots[hole] = 0;
+        indexHashes[hole] = 0;
+        indexSize--;
+    }
+
+    private void resizeIndex(int newCapacity) {
+        long[] oldSlots = indexSlots;
+        int[] oldHashes = indexHashes;
+        indexSlots = new long[newCapacity];
+        indexHashes = new int[newCapacity];
+        int mask = newCapacity - 1;
+        for (int i = 0; i < oldSlots.length; i++) {
+            if (oldSlots[i] != 0) {
+                int slot = oldHashes[i] & mask;
+                while (indexSlots[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                indexSlots[slot] = oldSlots[i];
+                indexHashes[slot] = oldHashes[i];
+            }
+        }
+    }
+
+    // ------------------------------------------------------------------------------------------
+
+    /** Returns the number of kv entries in the buffer. */
+    public int getEntryCount() {
+        return entryAddresses.size();
+    }
+
+    /** Returns the memory size in bytes of the pages allocated by the buffer. */
+    public long getMemorySize() {
+        return (long) pages.size() * pageSize;
+    }
+
     @VisibleForTesting
     public Map<Key, KvEntry> getKvEntryMap() {
+        Map<Key, KvEntry> kvEntryMap = new HashMap<>();
+        for (long slot : indexSlots) {
+            if (slot != 0) {
+                KvEntry kvEntry = toKvEntry(slot - 1);
+                kvEntryMap.put(kvEntry.getKey(), kvEntry);
+            }
+        }
         return kvEntryMap;
     }
 
     @VisibleForTesting
-    public LinkedList<KvEntry> getAllKvEntries() {
+    public List<KvEntry> getAllKvEntries() {
+        List<KvEntry> allKvEntries = new ArrayList<>(entryAddresses.size());
+        for (int i = 0; i < entryAddresses.size(); i++) {
+            allKvEntries.add(toKvEntry(entryAddresses.get(i)));
+        }
         return allKvEntries;
     }
 
+    private KvEntry toKvEntry(long address) {
+        long previousAddress = previousAddressOf(address);
+        return KvEntry.of(
+                Key.of(readKey(address)),
+                Value.of(readValue(address)),
+                lsnOf(address),
+                previousAddress != NO_PREVIOUS_ADDRESS && previousAddress >= headAddress
+                        ? toKvEntry(previousAddress)
+                        : null);
+    }
+
     @VisibleForTesting
     public long getMaxLSN() {
         return maxLogSequenceNumber;
@@ -261,6 +684,10 @@ public class KvPreWriteBuffer implements AutoCloseable {
 
     @Override
     public void close() throws Exception {
+        entryAddresses.clear();
+        indexSize = 0;
+        Arrays.fill(indexSlots, 0L);
+        releaseAllPages();
         if (kvBatchWriter != null) {
             kvBatchWriter.close();
         }
@@ -282,6 +709,74 @@ public class KvPreWriteBuffer implements AutoCloseable {
         return truncateAsErrorCount;
     }
 
+    /** A growable ring buffer of the addresses of the kv entries in the arena. */
+    private static final class EntryAddressQueue {
+
+        private static final int INITIAL_CAPACITY = 16;
+
+        private long[] elements = new long[INITIAL_CAPACITY];
+        private int head = 0;
+        private int size = 0;
+
+        void addLast(long address) {
+            if (size == elements.length) {
+                long[] newElements = new long[elements.length * 2];
+                for (int i = 0; i < size; i++) {
+                    newElements[i] = get(i);
+                }
+                elements = newElements;
+                head = 0;
+            }
+            elements[(head + size) & (elements.length - 1)] = address;
+            size++;
+        }
+
+        long get(int index) {
+            return elements[(head + index) & (elements.length - 1)];
+        }
+
+        long peekFirst() {
+            return elements[head];
+        }
+
+        long peekLast() {
+            return get(size - 1);
+        }
+
+        void pollFirst() {
+            head = (head + 1) & (elements.length - 1);
+            size--;
+            shrinkIfEmpty();
+        }
+
+        void pollLast() {
+            size--;
+            shrinkIfEmpty();
+        }
+
+        void clear() {
+            size = 0;
+            shrinkIfEmpty();
+        }
+
+        private void shrinkIfEmpty() {
+            if (size == 0) {
+                head = 0;
+                if (elements.length > INITIAL_CAPACITY) {
+                    elements = new long[INITIAL_CAPACITY];
+                }
+            }
+        }
+
+        int size() {
+            return size;
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+    }
+
     /**
      * A class to wrap a key-value pair and the sequence number for the key-value pair. If the byte
      * array in the value is null, it means the key in the entry is marked as deleted.
@@ -361,27 +856,64 @@ public class KvPreWriteBuffer implements AutoCloseable {
         }
     }
 
-    /** A key wrapper to wrap a byte array with overriding the hashCode and equals method. */
+    /**
+     * A key wrapper to wrap the key bytes with overriding the hashCode and equals method. The key
+     * can either wrap a byte array or be a view of the bytes in a memory segment, e.g., the key of
+     * a kv record in the batch to put, which avoids copying the key bytes unless the key is put
+     * into the buffer.
+     */
     public static class Key {
-        private final byte[] key;
+        private final MemorySegment segment;
+        private final int offset;
+        private final int length;
 
         // Currently, in our design, the Key is always created for putting to a map, or getting from
         // a map, which means the hash code for the Key will always be calculated.
         // So, in here, we calculate the hash code eagerly for the key.
         private final int hashCode;
 
+        // the key bytes, copied from the segment lazily if the key is a view of a segment
+        private @Nullable byte[] bytes;
+
         public static Key of(byte[] key) {
-            return new Key(key);
+            return new Key(MemorySegment.wrap(key), 0, key.length, key);
         }
 
-        private Key(byte[] key) {
-            this.key = key;
-            this.hashCode =
-                    MurmurHashUtils.hashUnsafeBytes(key, BYTE_ARRAY_BASE_OFFSET, key.length);
+        /**
+         * Creates a key as a view of the remaining bytes of the given buffer without copying. The
+         * key must not be used after the memory of the buffer is released.
+         */
+        public static Key of(ByteBuffer key) {
+            if (key.hasArray()) {
+                return new Key(
+                        MemorySegment.wrap(key.array()),
+                        key.arrayOffset() + key.position(),
+                        key.remaining(),
+                        null);
+            } else {
+                return new Key(
+                        MemorySegment.wrapOffHeapMemory(key),
+                        key.position(),
+                        key.remaining(),
+                        null);
+            }
+        }
+
+        private Key(MemorySegment segment, int offset, int length, @Nullable byte[] bytes) {
+            this.segment = segment;
+            this.offset = offset;
+            this.length = length;
+            this.bytes = bytes;
+            this.hashCode = MurmurHashUtils.hashBytes(segment, offset, length);
         }
 
+        /** Returns the key bytes, which are copied out of the segment if the key is a view. */
         public byte[] get() {
-            return key;
+            if (bytes == null) {
+                bytes = new byte[length];
+                segment.get(offset, bytes, 0, length);
+            }
+            return bytes;
         }
 
         @Override
@@ -408,14 +940,13 @@ public class KvPreWriteBuffer implements AutoCloseable {
             // then, compare the key
             // we use MemorySegment to compare the key since it's faster
             // than Arrays.equals
-            MemorySegment s1 = MemorySegment.wrap(key);
-            MemorySegment s2 = MemorySegment.wrap(that.key);
-            return key.length == that.key.length && s1.equalTo(s2, 0, 0, key.length);
+            return length == that.length
+                    && segment.equalTo(that.segment, offset, that.offset, length);
         }
 
         @Override
         public String toString() {
-            return "[" + Base64.getEncoder().encodeToString(key) + "]";
+            return "[" + Base64.getEncoder().encodeToString(get()) + "]";
         }
     }
 
@@ -0,0 +1,182 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.fluss.server.kv.prewrite;
+
+import com.alibaba.fluss.annotation.VisibleForTesting;
+import com.alibaba.fluss.config.ConfigOptions;
+import com.alibaba.fluss.config.Configuration;
+import com.alibaba.fluss.memory.MemorySegment;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+import java.io.Closeable;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static com.alibaba.fluss.utils.Preconditions.checkArgument;
+import static com.alibaba.fluss.utils.concurrent.LockUtils.inLock;
+
+/**
+ * A server-wide pool of off-heap {@link MemorySegment}s shared by the {@link KvPreWriteBuffer}s of
+ * all the kv tablets in a tablet server. The pool bounds the total memory of the pre-write buffers,
+ * so that the buffers can't grow without limit when the high watermark stalls.
+ *
+ * <p>Allocating from the pool never blocks, since the pages are allocated while holding the lock of
+ * a kv tablet and the memory can only be released by flushing the pre-write buffers which requires
+ * the lock too. Instead, the writers should check {@link #hasAvailableMemory(long)} before acquiring
+ * the lock of the kv tablet and reject the write when the memory is exhausted, so that the clients
+ * retry later rather than blocking the request threads of the server.
+ *
+ * <p>The pages of the kv entries recovered from the log are allocated by {@link
+ * #forceNextSegment()} regardless of the bound, since a recovery can neither reject the entries nor
+ * flush them before the high watermark advances. The overdraft then holds back the writes until the
+ * pre-write buffers are flushed.
+ */
+@ThreadSafe
+public class KvPreWriteBufferMemoryPool implements Closeable {
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final int pageSize;
+    private final int maxPages;
+
+    /** The pages released by the pre-write buffers and can be reused without allocating. */
+    @GuardedBy("lock")
+    private final Deque<MemorySegment> cachedPages = new ArrayDeque<>();
+
+    @GuardedBy("lock")
+    private int usedPages;
+
+    @GuardedBy("lock")
+    private boolean closed;
+
+    @VisibleForTesting
+    public KvPreWriteBufferMemoryPool(int maxPages, int pageSize) {
+        checkArgument(
+                maxPages > 0, "MaxPages for KvPreWriteBufferMemoryPool should be greater than 0.");
+        checkArgument(
+                pageSize >= KvPreWriteBuffer.ENTRY_HEADER_SIZE,
+                "Page size should be greater than the entry header size %s bytes, but is %s bytes.",
+                KvPreWriteBuffer.ENTRY_HEADER_SIZE,
+                pageSize);
+        this.maxPages = maxPages;
+        this.pageSize = pageSize;
+    }
+
+    public static KvPreWriteBufferMemoryPool create(Configuration conf) {
+        long totalBytes = conf.get(ConfigOptions.KV_PRE_WRITE_BUFFER_MEMORY_SIZE).getBytes();
+        int pageSize = (int) conf.get(ConfigOptions.KV_PRE_WRITE_BUFFER_PAGE_SIZE).getBytes();
+        return new KvPreWriteBufferMemoryPool((int) Math.max(1, totalBytes / pageSize), pageSize);
+    }
+
+    /**
+     * Allocates a page from the pool without blocking.
+     *
+     * @return the allocated page, or null if the memory of the pool is exhausted.
+     */
+    @Nullable
+    public MemorySegment nextSegment() {
+        return inLock(
+                lock,
+                () -> {
+                    if (closed || usedPages >= maxPages) {
+                        return null;
+                    }
+                    usedPages++;
+                    MemorySegment page = cachedPages.pollFirst();
+                    return page != null ? page : MemorySegment.allocateOffHeapMemory(pageSize);
+                });
+    }
+
+    /**
+     * Allocates a page from the pool even if the memory of the pool is exhausted. The used memory
+     * may exceed the total memory of the pool until the pages are returned.
+     */
+    public MemorySegment forceNextSegment() {
+        return inLock(
+                lock,
+                () -> {
+                    usedPages++;
+                    MemorySegment page = cachedPages.pollFirst();
+                    return page != null ? page : MemorySegment.allocateOffHeapMemory(pageSize);
+                });
+    }
+
+    /** Returns the pages back into this pool. */
+    public void returnAll(List<MemorySegment> pages) {
+        if (pages.isEmpty()) {
+            return;
+        }
+        inLock(
+                lock,
+                () -> {
+                    usedPages -= pages.size();
+                    if (usedPages < 0) {
+                        throw new IllegalStateException("Return too more memories.");
+                    }
+                    if (closed) {
+                        pages.forEach(MemorySegment::free);
+                    } else {
+                        cachedPages.addAll(pages);
+                    }
+                });
+    }
+
+    /** Returns whether the pool has at least the given bytes of free memory, without blocking. */
+    public boolean hasAvailableMemory(long requiredBytes) {
+        // never require more memory than the pool can provide
+        long required = Math.min(requiredBytes, totalSize());
+        return inLock(lock, () -> closed || freeMemory() >= required);
+    }
+
+    @GuardedBy("lock")
+    private long freeMemory() {
+        return (long) Math.max(0, maxPages - usedPages) * pageSize;
+    }
+
+    public int pageSize() {
+        return pageSize;
+    }
+
+    public long totalSize() {
+        return (long) maxPages * pageSize;
+    }
+
+    public long usedMemory() {
+        return inLock(lock, () -> (long) usedPages * pageSize);
+    }
+
+    public long availableMemory() {
+        return inLock(lock, this::freeMemory);
+    }
+
+    @Override
+    public void close() {
+        inLock(
+                lock,
+                () -> {
+                    closed = true;
+                    cachedPages.forEach(MemorySegment::free);
+                    cachedPages.clear();
+                });
+    }
+}
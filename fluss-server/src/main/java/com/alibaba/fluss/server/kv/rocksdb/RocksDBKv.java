@@ -29,12 +29,17 @@ import org.rocksdb.ReadOptions;
 import org.rocksdb.RocksDB;
 import org.rocksdb.RocksDBException;
 import org.rocksdb.RocksIterator;
+import org.rocksdb.Slice;
+import org.rocksdb.Snapshot;
+import org.rocksdb.Statistics;
 import org.rocksdb.WriteOptions;
 
 import javax.annotation.Nullable;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 /** A wrapper for the operation of {@link org.rocksdb.RocksDB}. */
@@ -82,6 +87,12 @@ public class RocksDBKv implements AutoCloseable {
         return rocksDBResourceGuard;
     }
 
+    /** Returns the statistics of the RocksDB, null if the statistics is not enabled. */
+    @Nullable
+    public Statistics getStatistics() {
+        return optionsContainer.getStatistics();
+    }
+
     public RocksDBWriteBatchWrapper newWriteBatch(long writeBatchSize) {
         return new RocksDBWriteBatchWrapper(db, writeBatchSize);
     }
@@ -102,27 +113,133 @@ public class RocksDBKv implements AutoCloseable {
         }
     }
 
+    private List<byte[]> multiGet(List<byte[]> keys, Snapshot snapshot) throws IOException {
+        try (ReadOptions readOptions = new ReadOptions().setSnapshot(snapshot)) {
+            return db.multiGetAsList(readOptions, keys);
+        } catch (RocksDBException e) {
+            throw new IOException("Fail to get keys.", e);
+        }
+    }
+
+    /**
+     * Opens a reader on the current snapshot of the kv. The reader sees a consistent view of the kv
+     * no matter what is written to the kv afterward, and prevents the kv from being disposed until
+     * it is closed.
+     *
+     * @throws IOException if the kv is already closed.
+     */
+    public SnapshotReader openSnapshotReader() throws IOException {
+        ResourceGuard.Lease lease = rocksDBResourceGuard.acquireResource();
+        return new SnapshotReader(lease, db.getSnapshot());
+    }
+
     public List<byte[]> prefixLookup(byte[] prefixKey) {
-        List<byte[]> pkList = new ArrayList<>();
-        ReadOptions readOptions = new ReadOptions();
-        RocksIterator iterator = db.newIterator(defaultColumnFamilyHandle, readOptions);
-        try {
-            iterator.seek(prefixKey);
-            while (iterator.isValid() && BytesUtils.prefixEquals(prefixKey, iterator.key())) {
-                pkList.add(iterator.value());
-                iterator.next();
+        return prefixLookups(Collections.singletonList(prefixKey)).get(0);
+    }
+
+    public List<List<byte[]>> prefixLookups(List<byte[]> prefixKeys) {
+        return prefixLookups(prefixKeys, null);
+    }
+
+    /**
+     * Lookup the values of the keys with the given prefixes. The prefixes are sorted and looked up
+     * in one pass of a single iterator bounded by the smallest and largest prefixes, so that the
+     * data blocks are accessed in key order. If the prefix extractor is used, the iterator seeks
+     * with {@code prefix_same_as_start} to make use of the prefix bloom filters, which skips the
+     * memtables and SST files without the prefix.
+     *
+     * @return the values of the keys for each prefix, in the order of the given prefixes
+     */
+    private List<List<byte[]>> prefixLookups(List<byte[]> prefixKeys, @Nullable Snapshot snapshot) {
+        List<List<byte[]>> result = new ArrayList<>(prefixKeys.size());
+        if (prefixKeys.isEmpty()) {
+            return result;
+        }
+        Integer[] sortedIndexes = new Integer[prefixKeys.size()];
+        boolean usePrefixSeek = optionsContainer.getPrefixExtractorLength() > 0;
+        for (int i = 0; i < sortedIndexes.length; i++) {
+            sortedIndexes[i] = i;
+            result.add(null);
+            // the prefix shorter than the extracted prefix can't be filtered by prefix bloom
+            usePrefixSeek &=
+                    prefixKeys.get(i).length >= optionsContainer.getPrefixExtractorLength();
+        }
+        Arrays.sort(
+                sortedIndexes,
+                (i1, i2) -> BytesUtils.compareUnsigned(prefixKeys.get(i1), prefixKeys.get(i2)));
+
+        byte[] upperBound = nextPrefix(prefixKeys.get(sortedIndexes[sortedIndexes.length - 1]));
+        try (ReadOptions readOptions = new ReadOptions();
+                Slice lowerBoundSlice = new Slice(prefixKeys.get(sortedIndexes[0]));
+                Slice upperBoundSlice = upperBound == null ? null : new Slice(upperBound)) {
+            readOptions.setIterateLowerBound(lowerBoundSlice);
+            if (snapshot != null) {
+                readOptions.setSnapshot(snapshot);
+            }
+            if (upperBoundSlice != null) {
+                readOptions.setIterateUpperBound(upperBoundSlice);
+            }
+            if (usePrefixSeek) {
+                readOptions.setPrefixSameAsStart(true);
+            } else if (optionsContainer.getPrefixExtractorLength() > 0) {
+                readOptions.setTotalOrderSeek(true);
+            }
+            try (RocksIterator iterator = db.newIterator(defaultColumnFamilyHandle, readOptions)) {
+                byte[] lastPrefixKey = null;
+                List<byte[]> lastValues = null;
+                for (int index : sortedIndexes) {
+                    byte[] prefixKey = prefixKeys.get(index);
+                    if (lastPrefixKey != null && Arrays.equals(lastPrefixKey, prefixKey)) {
+                        // duplicated prefix, no need to seek again
+                        result.set(index, new ArrayList<>(lastValues));
+                        continue;
+                    }
+                    List<byte[]> values = new ArrayList<>();
+                    iterator.seek(prefixKey);
+                    while (iterator.isValid()
+                            && BytesUtils.prefixEquals(prefixKey, iterator.key())) {
+                        values.add(iterator.value());
+                        iterator.next();
+                    }
+                    result.set(index, values);
+                    lastPrefixKey = prefixKey;
+                    lastValues = values;
+                }
             }
-        } finally {
-            readOptions.close();
-            iterator.close();
         }
+        return result;
+    }
 
-        return pkList;
+    /**
+     * Returns the smallest key which is larger than all the keys with the given prefix, or null if
+     * there is no such key, i.e., the prefix consists of only 0xFF bytes.
+     */
+    @Nullable
+    private static byte[] nextPrefix(byte[] prefix) {
+        for (int i = prefix.length - 1; i >= 0; i--) {
+            if (prefix[i] != (byte) 0xFF) {
+                byte[] next = Arrays.copyOf(prefix, i + 1);
+                next[i]++;
+                return next;
+            }
+        }
+        return null;
     }
 
     public List<byte[]> limitScan(Integer limit) {
+        return limitScan(limit, null);
+    }
+
+    private List<byte[]> limitScan(int limit, @Nullable Snapshot snapshot) {
         List<byte[]> pkList = new ArrayList<>();
         ReadOptions readOptions = new ReadOptions();
+        if (snapshot != null) {
+            readOptions.setSnapshot(snapshot);
+        }
+        if (optionsContainer.getPrefixExtractorLength() > 0) {
+            // scan across the prefixes
+            readOptions.setTotalOrderSeek(true);
+        }
         RocksIterator iterator = db.newIterator(defaultColumnFamilyHandle, readOptions);
 
         int count = 0;
@@ -206,4 +323,62 @@ public class RocksDBKv implements AutoCloseable {
     public RocksDB getDb() {
         return db;
     }
+
+    /**
+     * A reader on a snapshot of the kv, see {@link #openSnapshotReader()}. It must be closed after
+     * reading to release the snapshot. It's not thread-safe.
+     */
+    public final class SnapshotReader implements AutoCloseable {
+
+        private final ResourceGuard.Lease lease;
+        private final Snapshot snapshot;
+
+        private @Nullable ReadOptions scanReadOptions;
+        private @Nullable RocksIterator scanIterator;
+
+        private SnapshotReader(ResourceGuard.Lease lease, Snapshot snapshot) {
+            this.lease = lease;
+            this.snapshot = snapshot;
+        }
+
+        public List<byte[]> multiGet(List<byte[]> keys) throws IOException {
+            return RocksDBKv.this.multiGet(keys, snapshot);
+        }
+
+        public List<List<byte[]>> prefixLookups(List<byte[]> prefixKeys) {
+            return RocksDBKv.this.prefixLookups(prefixKeys, snapshot);
+        }
+
+        public List<byte[]> limitScan(int limit) {
+            return RocksDBKv.this.limitScan(limit, snapshot);
+        }
+
+        /**
+         * Returns the iterator over all the entries of the snapshot in key order. The iterator is
+         * created and positioned at the first entry on the first call, and is closed with the
+         * reader, so the reader can be used to scan the snapshot page by page.
+         */
+        public RocksIterator scanIterator() {
+            if (scanIterator == null) {
+                scanReadOptions = new ReadOptions().setSnapshot(snapshot);
+                if (optionsContainer.getPrefixExtractorLength() > 0) {
+                    // scan across the prefixes
+                    scanReadOptions.setTotalOrderSeek(true);
+                }
+                scanIterator = db.newIterator(defaultColumnFamilyHandle, scanReadOptions);
+                scanIterator.seekToFirst();
+            }
+            return scanIterator;
+        }
+
+        @Override
+        public void close() {
+            if (scanIterator != null) {
+                scanIterator.close();
+                scanReadOptions.close();
+            }
+            db.releaseSnapshot(snapshot);
+            lease.close();
+        }
+    }
 }
@@ -0,0 +1,246 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.fluss.server.kv.rocksdb;
+
+import com.alibaba.fluss.annotation.VisibleForTesting;
+import com.alibaba.fluss.config.ConfigOptions;
+import com.alibaba.fluss.config.ReadableConfig;
+import com.alibaba.fluss.metrics.groups.MetricGroup;
+import com.alibaba.fluss.server.metrics.group.BucketMetricGroup;
+import com.alibaba.fluss.server.metrics.group.PhysicalTableMetricGroup;
+import com.alibaba.fluss.utils.concurrent.FlussScheduler;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.IntToLongFunction;
+
+/**
+ * The collector of the RocksDB native metrics of all the kv tablets in a tablet server. It samples
+ * the {@link RocksDBNativeMetricMonitor}s of the kv tablets periodically in a background thread, so
+ * that reading RocksDB properties and statistics never happens on the request path, and rolls the
+ * sampled values up to the table and tablet server level.
+ *
+ * <p>The metrics are registered in the "rocksdb" group of the bucket kv metric group, the table
+ * metric group and the tablet server metric group respectively. The histograms are rolled up by
+ * maximum, and the others are rolled up by sum.
+ */
+@ThreadSafe
+public final class RocksDBMetricsCollector implements AutoCloseable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RocksDBMetricsCollector.class);
+
+    private static final String ROCKSDB_METRIC_GROUP = "rocksdb";
+
+    private final RocksDBNativeMetricOptions options;
+    private final long sampleIntervalMs;
+    private final FlussScheduler scheduler;
+
+    private final Object lock = new Object();
+
+    /** The monitors of the kv tablets and the bucket metric groups they registered to. */
+    @GuardedBy("lock")
+    private final Map<RocksDBNativeMetricMonitor, Registration> registrations =
+            new IdentityHashMap<>();
+
+    /** The rolled up metrics of the tables, keyed by the table metric group. */
+    @GuardedBy("lock")
+    private final Map<PhysicalTableMetricGroup, RolledUpMetrics> tableMetrics =
+            new IdentityHashMap<>();
+
+    private final RolledUpMetrics serverMetrics;
+
+    public RocksDBMetricsCollector(RocksDBNativeMetricOptions options, long sampleIntervalMs) {
+        this.options = options;
+        this.sampleIntervalMs = sampleIntervalMs;
+        this.scheduler = new FlussScheduler(1, true, "rocksdb-metrics-sampler-");
+        this.serverMetrics = new RolledUpMetrics(null);
+    }
+
+    public static RocksDBMetricsCollector create(ReadableConfig conf) {
+        return new RocksDBMetricsCollector(
+                RocksDBNativeMetricOptions.fromConfig(conf),
+                conf.get(ConfigOptions.KV_ROCKSDB_METRICS_SAMPLE_INTERVAL).toMillis());
+    }
+
+    /** Starts to sample the registered monitors periodically. */
+    public void startup() {
+        if (options.isEnabled()) {
+            scheduler.startup();
+            scheduler.schedule(
+                    "sample-rocksdb-metrics", this::sample, sampleIntervalMs, sampleIntervalMs);
+        }
+    }
+
+    public RocksDBNativeMetricOptions getOptions() {
+        return options;
+    }
+
+    /**
+     * Creates a monitor for the given {@link RocksDBKv}, returns null if no RocksDB native metric
+     * is configured to be exposed.
+     */
+    @Nullable
+    public RocksDBNativeMetricMonitor createMonitor(RocksDBKv rocksDBKv) {
+        return options.isEnabled() ? new RocksDBNativeMetricMonitor(options, rocksDBKv) : null;
+    }
+
+    /** Registers the metrics of the tablet server level. */
+    public void registerServerMetrics(MetricGroup serverMetricGroup) {
+        if (options.isEnabled()) {
+            registerGauges(serverMetricGroup.addGroup(ROCKSDB_METRIC_GROUP), serverMetrics::get);
+        }
+    }
+
+    /**
+     * Registers the metrics of the given monitor to the bucket metric group, and starts to sample
+     * the monitor and roll its metrics up to the table and the tablet server level.
+     */
+    public void register(RocksDBNativeMetricMonitor monitor, BucketMetricGroup bucketMetricGroup) {
+        synchronized (lock) {
+            unregister(monitor);
+
+            MetricGroup bucketGroup =
+                    bucketMetricGroup.addGroup("kv").addGroup(ROCKSDB_METRIC_GROUP);
+            registerGauges(bucketGroup, monitor::getValue);
+
+            PhysicalTableMetricGroup tableGroup = bucketMetricGroup.getPhysicalTableMetricGroup();
+            RolledUpMetrics table =
+                    tableMetrics.computeIfAbsent(
+                            tableGroup,
+                            group -> {
+                                MetricGroup rocksDBGroup = group.addGroup(ROCKSDB_METRIC_GROUP);
+                                RolledUpMetrics rolledUpMetrics = new RolledUpMetrics(rocksDBGroup);
+                                registerGauges(rocksDBGroup, rolledUpMetrics::get);
+                                return rolledUpMetrics;
+                            });
+            table.monitors.add(monitor);
+            registrations.put(monitor, new Registration(bucketGroup, tableGroup));
+        }
+    }
+
+    /** Unregisters the metrics of the given monitor and stops sampling it. */
+    public void unregister(RocksDBNativeMetricMonitor monitor) {
+        synchronized (lock) {
+            Registration registration = registrations.remove(monitor);
+            if (registration == null) {
+                return;
+            }
+            registration.bucketGroup.close();
+            RolledUpMetrics table = tableMetrics.get(registration.tableGroup);
+            if (table != null) {
+                table.monitors.remove(monitor);
+                if (table.monitors.isEmpty()) {
+                    tableMetrics.remove(registration.tableGroup);
+                    if (table.metricGroup != null) {
+                        table.metricGroup.close();
+                    }
+                }
+            }
+        }
+    }
+
+    @VisibleForTesting
+    void sample() {
+        List<RocksDBNativeMetricMonitor> monitors;
+        synchronized (lock) {
+            monitors = new ArrayList<>(registrations.keySet());
+        }
+        // sample outside the lock as it may take a while
+        for (RocksDBNativeMetricMonitor monitor : monitors) {
+            try {
+                monitor.sample();
+            } catch (Throwable t) {
+                LOG.warn("Failed to sample RocksDB native metrics.", t);
+            }
+        }
+        synchronized (lock) {
+            for (RolledUpMetrics table : tableMetrics.values()) {
+                table.rollUp(table.monitors);
+            }
+            serverMetrics.rollUp(registrations.keySet());
+        }
+    }
+
+    private void registerGauges(MetricGroup metricGroup, IntToLongFunction valueGetter) {
+        List<String> metricNames = options.getMetricNames();
+        for (int i = 0; i < metricNames.size(); i++) {
+            final int metricIndex = i;
+            metricGroup.gauge(metricNames.get(i), () -> valueGetter.applyAsLong(metricIndex));
+        }
+    }
+
+    @Override
+    public void close() throws Exception {
+        scheduler.shutdown();
+        synchronized (lock) {
+            new ArrayList<>(registrations.keySet()).forEach(this::unregister);
+        }
+    }
+
+    /** The registration of a monitor. */
+    private static final class Registration {
+        private final MetricGroup bucketGroup;
+        private final PhysicalTableMetricGroup tableGroup;
+
+        private Registration(MetricGroup bucketGroup, PhysicalTableMetricGroup tableGroup) {
+            this.bucketGroup = bucketGroup;
+            this.tableGroup = tableGroup;
+        }
+    }
+
+    /** The metrics rolled up from a set of monitors. */
+    private final class RolledUpMetrics {
+        @Nullable private final MetricGroup metricGroup;
+        private final Set<RocksDBNativeMetricMonitor> monitors = new HashSet<>();
+        private volatile long[] values = new long[options.getMetricNames().size()];
+
+        private RolledUpMetrics(@Nullable MetricGroup metricGroup) {
+            this.metricGroup = metricGroup;
+        }
+
+        private void rollUp(Collection<RocksDBNativeMetricMonitor> monitors) {
+            long[] rolledUp = new long[values.length];
+            for (RocksDBNativeMetricMonitor monitor : monitors) {
+                for (int i = 0; i < rolledUp.length; i++) {
+                    long value = monitor.getValue(i);
+                    rolledUp[i] =
+                            options.isRolledUpByMax(i)
+                                    ? Math.max(rolledUp[i], value)
+                                    : rolledUp[i] + value;
+                }
+            }
+            values = rolledUp;
+        }
+
+        private long get(int metricIndex) {
+            return values[metricIndex];
+        }
+    }
+}
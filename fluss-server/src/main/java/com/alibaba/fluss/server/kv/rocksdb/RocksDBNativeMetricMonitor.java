@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.fluss.server.kv.rocksdb;
+
+import com.alibaba.fluss.server.utils.ResourceGuard;
+
+import org.rocksdb.HistogramData;
+import org.rocksdb.HistogramType;
+import org.rocksdb.RocksDB;
+import org.rocksdb.RocksDBException;
+import org.rocksdb.Statistics;
+import org.rocksdb.TickerType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+import java.io.IOException;
+
+/**
+ * A monitor to sample the RocksDB native metrics configured by {@link RocksDBNativeMetricOptions}
+ * of a {@link RocksDBKv}. The metrics are sampled by {@link #sample()} in background and the
+ * sampled values are cached, so that reading the metrics never touches RocksDB.
+ */
+@ThreadSafe
+public class RocksDBNativeMetricMonitor {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RocksDBNativeMetricMonitor.class);
+
+    private final RocksDBNativeMetricOptions options;
+    private final RocksDB db;
+    private final ResourceGuard resourceGuard;
+    @Nullable private final Statistics statistics;
+
+    /** The sampled values in the layout of {@link RocksDBNativeMetricOptions#getMetricNames()}. */
+    private volatile long[] values;
+
+    public RocksDBNativeMetricMonitor(RocksDBNativeMetricOptions options, RocksDBKv rocksDBKv) {
+        this.options = options;
+        this.db = rocksDBKv.getDb();
+        this.resourceGuard = rocksDBKv.getResourceGuard();
+        this.statistics = rocksDBKv.getStatistics();
+        this.values = new long[options.getMetricNames().size()];
+    }
+
+    /** Samples the metrics from RocksDB, does nothing if the RocksDB is already closed. */
+    public void sample() {
+        try (ResourceGuard.Lease ignored = resourceGuard.acquireResource()) {
+            long[] previous = values;
+            long[] sampled = new long[previous.length];
+            int index = 0;
+            for (String property : options.getProperties()) {
+                try {
+                    sampled[index] = db.getLongProperty(property);
+                } catch (RocksDBException e) {
+                    // keep the previous value if the property is not available
+                    sampled[index] = previous[index];
+                    LOG.debug("Failed to get RocksDB property {}.", property, e);
+                }
+                index++;
+            }
+            if (statistics != null) {
+                for (TickerType ticker : options.getTickers()) {
+                    sampled[index++] = statistics.getTickerCount(ticker);
+                }
+                for (HistogramType histogram : options.getHistograms()) {
+                    HistogramData data = statistics.getHistogramData(histogram);
+                    sampled[index++] = (long) data.getAverage();
+                    sampled[index++] = (long) data.getPercentile99();
+                }
+            }
+            values = sampled;
+        } catch (IOException e) {
+            // the RocksDB is closed, there is nothing to sample
+        }
+    }
+
+    /** Returns the last sampled value of the metric of the given index. */
+    public long getValue(int metricIndex) {
+        return values[metricIndex];
+    }
+
+    public RocksDBNativeMetricOptions getOptions() {
+        return options;
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.fluss.server.kv.rocksdb;
+
+import com.alibaba.fluss.config.ConfigOption;
+import com.alibaba.fluss.config.ConfigOptions;
+import com.alibaba.fluss.config.ReadableConfig;
+import com.alibaba.fluss.exception.IllegalConfigurationException;
+
+import org.rocksdb.HistogramType;
+import org.rocksdb.TickerType;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+
+/**
+ * The options of the RocksDB native metrics to be exposed, including the RocksDB properties, the
+ * tickers and the histograms of RocksDB statistics.
+ *
+ * <p>The metrics are laid out in order of the properties, the tickers and then the histograms,
+ * where each histogram takes two metrics for the average and the 99th percentile.
+ */
+public class RocksDBNativeMetricOptions {
+
+    private final List<String> properties;
+    private final List<TickerType> tickers;
+    private final List<HistogramType> histograms;
+
+    private final List<String> metricNames;
+
+    public RocksDBNativeMetricOptions(
+            List<String> properties, List<TickerType> tickers, List<HistogramType> histograms) {
+        this.properties = properties;
+        this.tickers = tickers;
+        this.histograms = histograms;
+
+        List<String> names = new ArrayList<>(properties);
+        for (TickerType ticker : tickers) {
+            names.add(toMetricName(ticker.name()));
+        }
+        for (HistogramType histogram : histograms) {
+            String name = toMetricName(histogram.name());
+            names.add(name + ".avg");
+            names.add(name + ".p99");
+        }
+        this.metricNames = Collections.unmodifiableList(names);
+    }
+
+    public static RocksDBNativeMetricOptions fromConfig(ReadableConfig config) {
+        List<String> properties = config.get(ConfigOptions.KV_ROCKSDB_METRICS_PROPERTIES);
+        return new RocksDBNativeMetricOptions(
+                properties == null ? Collections.emptyList() : properties,
+                parseTypes(config, ConfigOptions.KV_ROCKSDB_METRICS_TICKERS, TickerType::valueOf),
+                parseTypes(
+                        config,
+                        ConfigOptions.KV_ROCKSDB_METRICS_HISTOGRAMS,
+                        HistogramType::valueOf));
+    }
+
+    private static <T> List<T> parseTypes(
+            ReadableConfig config, ConfigOption<List<String>> option, Function<String, T> parser) {
+        List<String> typeNames = config.get(option);
+        if (typeNames == null) {
+            return Collections.emptyList();
+        }
+        List<T> types = new ArrayList<>(typeNames.size());
+        for (String typeName : typeNames) {
+            try {
+                types.add(parser.apply(typeName.trim().toUpperCase(Locale.ROOT)));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalConfigurationException(
+                        String.format(
+                                "Unknown RocksDB metric type '%s' configured in '%s'.",
+                                typeName, option.key()));
+            }
+        }
+        return types;
+    }
+
+    /** Converts the name of ticker or histogram to the metric name, e.g. "rocksdb.stall.micros". */
+    private static String toMetricName(String typeName) {
+        return "rocksdb." + typeName.toLowerCase(Locale.ROOT).replace('_', '.');
+    }
+
+    /** Returns true if any RocksDB native metric is configured to be exposed. */
+    public boolean isEnabled() {
+        return !metricNames.isEmpty();
+    }
+
+    /** Returns true if the RocksDB statistics is required to expose the tickers or histograms. */
+    public boolean isStatisticsEnabled() {
+        return !tickers.isEmpty() || !histograms.isEmpty();
+    }
+
+    public List<String> getProperties() {
+        return properties;
+    }
+
+    public List<TickerType> getTickers() {
+        return tickers;
+    }
+
+    public List<HistogramType> getHistograms() {
+        return histograms;
+    }
+
+    /** Returns the names of all the metrics in layout order. */
+    public List<String> getMetricNames() {
+        return metricNames;
+    }
+
+    /**
+     * Returns true if the metric of the given index should be rolled up by maximum rather than sum,
+     * which is the case for the histograms since summing up the percentiles is meaningless.
+     */
+    public boolean isRolledUpByMax(int metricIndex) {
+        return metricIndex >= properties.size() + tickers.size();
+    }
+}
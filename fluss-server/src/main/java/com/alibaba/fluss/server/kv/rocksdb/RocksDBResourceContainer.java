@@ -64,6 +64,9 @@ public class RocksDBResourceContainer implements AutoCloseable {
     // the filename length limit is 255 on most operating systems
     private static final int INSTANCE_PATH_LENGTH_LIMIT = 255 - "_LOG".length();
 
+    /** The prefix extractor length representing no prefix extractor is used. */
+    public static final int NO_PREFIX_EXTRACTOR = -1;
+
     @Nullable private final File instanceRocksDBPath;
 
     /** The configurations from file. */
@@ -71,6 +74,18 @@ public class RocksDBResourceContainer implements AutoCloseable {
 
     private final boolean enableStatistics;
 
+    /** The resources shared among all the RocksDB instances, null if not enabled. */
+    @Nullable private final RocksDBSharedResources sharedResources;
+
+    /**
+     * The length of the fixed length prefix extractor, or {@link #NO_PREFIX_EXTRACTOR} if the keys
+     * have no fixed length prefix to be extracted.
+     */
+    private final int prefixExtractorLength;
+
+    /** The statistics of the RocksDB instance, null if the statistics is not enabled. */
+    @Nullable private Statistics statistics;
+
     /** The handles to be closed when the container is closed. */
     private final ArrayList<AutoCloseable> handlesToClose;
 
@@ -87,6 +102,35 @@ public class RocksDBResourceContainer implements AutoCloseable {
             ReadableConfig configuration,
             @Nullable File instanceBasePath,
             boolean enableStatistics) {
+        this(configuration, instanceBasePath, enableStatistics, null);
+    }
+
+    public RocksDBResourceContainer(
+            ReadableConfig configuration,
+            @Nullable File instanceBasePath,
+            @Nullable RocksDBSharedResources sharedResources) {
+        this(configuration, instanceBasePath, false, sharedResources);
+    }
+
+    public RocksDBResourceContainer(
+            ReadableConfig configuration,
+            @Nullable File instanceBasePath,
+            boolean enableStatistics,
+            @Nullable RocksDBSharedResources sharedResources) {
+        this(
+                configuration,
+                instanceBasePath,
+                enableStatistics,
+                sharedResources,
+                NO_PREFIX_EXTRACTOR);
+    }
+
+    public RocksDBResourceContainer(
+            ReadableConfig configuration,
+            @Nullable File instanceBasePath,
+            boolean enableStatistics,
+            @Nullable RocksDBSharedResources sharedResources,
+            int prefixExtractorLength) {
         this.configuration = configuration;
 
         this.instanceRocksDBPath =
@@ -94,6 +138,11 @@ public class RocksDBResourceContainer implements AutoCloseable {
                         ? RocksDBKvBuilder.getInstanceRocksDBPath(instanceBasePath)
                         : null;
         this.enableStatistics = enableStatistics;
+        this.sharedResources = sharedResources;
+        this.prefixExtractorLength =
+                configuration.get(ConfigOptions.KV_USE_PREFIX_BLOOM_FILTER)
+                        ? prefixExtractorLength
+                        : NO_PREFIX_EXTRACTOR;
 
         this.handlesToClose = new ArrayList<>();
     }
@@ -110,13 +159,17 @@ public class RocksDBResourceContainer implements AutoCloseable {
         // todo: maybe we can allow user define options factory and some predefined options
         //  just like Flink
 
-        // todo: introduce WriteBufferManager for controllable memory consume in FLUSS-54164814
+        // the memtables of all the instances are bounded by the shared write buffer manager,
+        // which is owned by the shared resources and must not be closed with this container
+        if (sharedResources != null) {
+            opt.setWriteBufferManager(sharedResources.getWriteBufferManager());
+        }
 
         // add necessary default options
         opt = opt.setCreateIfMissing(true);
 
         if (enableStatistics) {
-            Statistics statistics = new Statistics();
+            statistics = new Statistics();
             opt.setStatistics(statistics);
             handlesToClose.add(statistics);
         }
@@ -124,6 +177,24 @@ public class RocksDBResourceContainer implements AutoCloseable {
         return opt;
     }
 
+    /**
+     * Gets the RocksDB {@link Statistics} set to the {@link DBOptions}, null if the statistics is
+     * not enabled or the {@link DBOptions} haven't been created.
+     */
+    @Nullable
+    public Statistics getStatistics() {
+        return statistics;
+    }
+
+    /**
+     * Gets the length of the fixed length prefix extractor of the column family, or {@link
+     * #NO_PREFIX_EXTRACTOR} if no prefix extractor is used. The iterators seeking across prefixes
+     * must use total order seek if the prefix extractor is used.
+     */
+    public int getPrefixExtractorLength() {
+        return prefixExtractorLength;
+    }
+
     /** Gets the RocksDB {@link ColumnFamilyOptions} to be used for all RocksDB instances. */
     public ColumnFamilyOptions getColumnOptions() {
         // initial options from common profile
@@ -238,6 +309,14 @@ public class RocksDBResourceContainer implements AutoCloseable {
         currentOptions.setMinWriteBufferNumberToMerge(
                 internalGetOption(ConfigOptions.KV_MIN_WRITE_BUFFER_NUMBER_TO_MERGE));
 
+        if (prefixExtractorLength > 0) {
+            // the prefixes are added to the bloom filters of memtables and SST files (if the bloom
+            // filter is used) besides the whole keys, so that the prefix seeks can be filtered
+            currentOptions.useFixedLengthPrefixExtractor(prefixExtractorLength);
+            currentOptions.setMemtablePrefixBloomSizeRatio(
+                    internalGetOption(ConfigOptions.KV_MEMTABLE_PREFIX_BLOOM_SIZE_RATIO));
+        }
+
         TableFormatConfig tableFormatConfig = currentOptions.tableFormatConfig();
 
         BlockBasedTableConfig blockBasedTableConfig;
@@ -259,8 +338,19 @@ public class RocksDBResourceContainer implements AutoCloseable {
         blockBasedTableConfig.setMetadataBlockSize(
                 internalGetOption(ConfigOptions.KV_METADATA_BLOCK_SIZE).getBytes());
 
-        blockBasedTableConfig.setBlockCacheSize(
-                internalGetOption(ConfigOptions.KV_BLOCK_CACHE_SIZE).getBytes());
+        if (sharedResources != null) {
+            // cache the index and filter blocks in the shared block cache with high priority, and
+            // pin the ones of L0 and the top level index, so that the memory of them is bounded
+            // by the shared block cache and frequently accessed ones won't be evicted
+            blockBasedTableConfig.setBlockCache(sharedResources.getCache());
+            blockBasedTableConfig.setCacheIndexAndFilterBlocks(true);
+            blockBasedTableConfig.setCacheIndexAndFilterBlocksWithHighPriority(true);
+            blockBasedTableConfig.setPinL0FilterAndIndexBlocksInCache(true);
+            blockBasedTableConfig.setPinTopLevelIndexAndFilter(true);
+        } else {
+            blockBasedTableConfig.setBlockCacheSize(
+                    internalGetOption(ConfigOptions.KV_BLOCK_CACHE_SIZE).getBytes());
+        }
 
         if (internalGetOption(ConfigOptions.KV_USE_BLOOM_FILTER)) {
             final double bitsPerKey = internalGetOption(ConfigOptions.KV_BLOOM_FILTER_BITS_PER_KEY);
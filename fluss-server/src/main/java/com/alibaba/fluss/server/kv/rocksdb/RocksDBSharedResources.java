@@ -0,0 +1,145 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.fluss.server.kv.rocksdb;
+
+import com.alibaba.fluss.config.ConfigOptions;
+import com.alibaba.fluss.config.ReadableConfig;
+import com.alibaba.fluss.utils.IOUtils;
+
+import org.rocksdb.Cache;
+import org.rocksdb.LRUCache;
+import org.rocksdb.WriteBufferManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+
+import static com.alibaba.fluss.utils.Preconditions.checkArgument;
+
+/* This file is based on source code of Apache Flink Project (https://flink.apache.org/), licensed by the Apache
+ * Software Foundation (ASF) under the Apache License, Version 2.0. See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership. */
+
+/**
+ * The RocksDB resources shared by all the {@link RocksDBKv} instances in a tablet server, including
+ * the block cache and the {@link WriteBufferManager} which charges the memory of the memtables to
+ * the block cache. With the shared resources, the total memory used by RocksDB is bounded by a
+ * single budget no matter how many kv buckets the tablet server hosts.
+ *
+ * <p>The shared resources must be closed after all the RocksDB instances using them are closed.
+ */
+public final class RocksDBSharedResources implements AutoCloseable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RocksDBSharedResources.class);
+
+    private final Cache cache;
+    private final WriteBufferManager writeBufferManager;
+    private final long totalMemorySize;
+
+    private RocksDBSharedResources(
+            Cache cache, WriteBufferManager writeBufferManager, long totalMemorySize) {
+        this.cache = cache;
+        this.writeBufferManager = writeBufferManager;
+        this.totalMemorySize = totalMemorySize;
+    }
+
+    /**
+     * Creates the shared resources from the given configuration, or returns null if the shared
+     * memory of RocksDB is not enabled.
+     */
+    @Nullable
+    public static RocksDBSharedResources create(ReadableConfig configuration) {
+        if (!configuration.get(ConfigOptions.KV_SHARED_MEMORY_ENABLED)) {
+            return null;
+        }
+        return create(
+                configuration.get(ConfigOptions.KV_SHARED_MEMORY_SIZE).getBytes(),
+                configuration.get(ConfigOptions.KV_SHARED_MEMORY_WRITE_BUFFER_RATIO),
+                configuration.get(ConfigOptions.KV_SHARED_MEMORY_HIGH_PRIORITY_POOL_RATIO));
+    }
+
+    static RocksDBSharedResources create(
+            long totalMemorySize, double writeBufferRatio, double highPriorityPoolRatio) {
+        checkArgument(totalMemorySize > 0, "The shared memory size of RocksDB must be positive.");
+        checkArgument(
+                writeBufferRatio > 0 && writeBufferRatio < 1,
+                "The write buffer ratio of RocksDB shared memory must be in (0, 1), but is %s.",
+                writeBufferRatio);
+        checkArgument(
+                highPriorityPoolRatio >= 0 && highPriorityPoolRatio < 1,
+                "The high priority pool ratio of RocksDB shared memory must be in [0, 1), but is %s.",
+                highPriorityPoolRatio);
+
+        long cacheCapacity = calculateActualCacheCapacity(totalMemorySize, writeBufferRatio);
+        long writeBufferManagerCapacity =
+                calculateWriteBufferManagerCapacity(totalMemorySize, writeBufferRatio);
+        // HyperClockCache is not available in the bundled RocksDB version, use LRUCache with a
+        // high priority pool for the index and filter blocks instead
+        Cache cache = new LRUCache(cacheCapacity, -1, false, highPriorityPoolRatio);
+        WriteBufferManager writeBufferManager;
+        try {
+            writeBufferManager = new WriteBufferManager(writeBufferManagerCapacity, cache);
+        } catch (Throwable t) {
+            IOUtils.closeQuietly(cache);
+            throw t;
+        }
+        LOG.info(
+                "Created RocksDB shared resources with total memory size {} bytes, block cache capacity {} bytes "
+                        + "and write buffer manager capacity {} bytes.",
+                totalMemorySize,
+                cacheCapacity,
+                writeBufferManagerCapacity);
+        return new RocksDBSharedResources(cache, writeBufferManager, totalMemorySize);
+    }
+
+    public Cache getCache() {
+        return cache;
+    }
+
+    public WriteBufferManager getWriteBufferManager() {
+        return writeBufferManager;
+    }
+
+    public long getTotalMemorySize() {
+        return totalMemorySize;
+    }
+
+    @Override
+    public void close() {
+        writeBufferManager.close();
+        cache.close();
+    }
+
+    /**
+     * Calculate the actual capacity of the block cache. The memory of the memtables is reserved in
+     * the cache by the write buffer manager, but the memtables may use up to 1.5 times of the
+     * capacity of the write buffer manager before being flushed, the excess is deducted from the
+     * total memory size to get the cache capacity.
+     */
+    static long calculateActualCacheCapacity(long totalMemorySize, double writeBufferRatio) {
+        return (long) ((3 - writeBufferRatio) * totalMemorySize / 3);
+    }
+
+    /**
+     * Calculate the capacity of the write buffer manager, so that the memtables using up to 1.5
+     * times of the capacity fit in the write buffer ratio of the total memory size.
+     */
+    static long calculateWriteBufferManagerCapacity(long totalMemorySize, double writeBufferRatio) {
+        return (long) (2 * totalMemorySize * writeBufferRatio / 3);
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.fluss.server.kv.scan;
+
+import com.alibaba.fluss.exception.KvScannerNotFoundException;
+import com.alibaba.fluss.metadata.KvFormat;
+import com.alibaba.fluss.metadata.TableBucket;
+import com.alibaba.fluss.record.DefaultValueRecordBatch;
+import com.alibaba.fluss.row.BinaryRow;
+import com.alibaba.fluss.row.InternalRow;
+import com.alibaba.fluss.row.decode.RowDecoder;
+import com.alibaba.fluss.row.encode.RowEncoder;
+import com.alibaba.fluss.row.encode.ValueDecoder;
+import com.alibaba.fluss.server.kv.rocksdb.RocksDBKv;
+import com.alibaba.fluss.types.DataType;
+import com.alibaba.fluss.types.RowType;
+import com.alibaba.fluss.utils.IOUtils;
+
+import org.rocksdb.RocksDBException;
+import org.rocksdb.RocksIterator;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+import java.io.IOException;
+import java.util.function.Consumer;
+
+/**
+ * A scanner over a snapshot of the kv of a bucket, which returns the values of the bucket page by
+ * page for the full scan of a primary key table. The values are projected to the projected fields
+ * (if any) before they are returned, so the unneeded columns are never sent to the client.
+ *
+ * <p>The scanner pins the snapshot (and prevents the kv from being disposed) until it is closed,
+ * so it must be closed when the scan is finished, abandoned or the kv is closed.
+ */
+@ThreadSafe
+public final class KvScanner implements AutoCloseable {
+
+    private final TableBucket tableBucket;
+    private final RocksDBKv.SnapshotReader reader;
+    private final Consumer<KvScanner> closeListener;
+
+    // the decoder of the values and the encoder of the projected values, null if no projection
+    private final @Nullable ValueDecoder valueDecoder;
+    private final @Nullable RowEncoder projectedRowEncoder;
+    private final @Nullable InternalRow.FieldGetter[] projectedFieldGetters;
+
+    @GuardedBy("this")
+    private boolean closed;
+
+    public KvScanner(
+            TableBucket tableBucket,
+            RocksDBKv.SnapshotReader reader,
+            KvFormat kvFormat,
+            RowType rowType,
+            @Nullable int[] projectedFields,
+            Consumer<KvScanner> closeListener) {
+        this.tableBucket = tableBucket;
+        this.reader = reader;
+        this.closeListener = closeListener;
+        if (projectedFields == null) {
+            this.valueDecoder = null;
+            this.projectedRowEncoder = null;
+            this.projectedFieldGetters = null;
+        } else {
+            this.valueDecoder =
+                    new ValueDecoder(
+                            RowDecoder.create(
+                                    kvFormat, rowType.getChildren().toArray(new DataType[0])));
+            DataType[] projectedTypes = new DataType[projectedFields.length];
+            this.projectedFieldGetters = new InternalRow.FieldGetter[projectedFields.length];
+            for (int i = 0; i < projectedFields.length; i++) {
+                projectedTypes[i] = rowType.getTypeAt(projectedFields[i]);
+                projectedFieldGetters[i] =
+                        InternalRow.createFieldGetter(projectedTypes[i], projectedFields[i]);
+            }
+            this.projectedRowEncoder = RowEncoder.create(kvFormat, projectedTypes);
+        }
+    }
+
+    public TableBucket getTableBucket() {
+        return tableBucket;
+    }
+
+    /**
+     * Scans the next page of the values. The page contains values of about {@code maxBytes} bytes,
+     * and at least one value if there are more values to scan.
+     *
+     * @throws KvScannerNotFoundException if the scanner is closed.
+     */
+    public synchronized DefaultValueRecordBatch nextPage(int maxBytes) throws IOException {
+        checkNotClosed();
+        RocksIterator iterator = reader.scanIterator();
+        DefaultValueRecordBatch.Builder builder = DefaultValueRecordBatch.builder();
+        int sizeInBytes = 0;
+        while (iterator.isValid() && (sizeInBytes == 0 || sizeInBytes < maxBytes)) {
+            byte[] value = iterator.value();
+            if (valueDecoder == null) {
+                builder.append(value);
+                sizeInBytes += value.length;
+            } else {
+                ValueDecoder.Value decoded = valueDecoder.decodeValue(value);
+                BinaryRow projectedRow = project(decoded.row);
+                builder.append(decoded.schemaId, projectedRow);
+                sizeInBytes += projectedRow.getSizeInBytes();
+            }
+            iterator.next();
+        }
+        try {
+            iterator.status();
+        } catch (RocksDBException e) {
+            throw new IOException("Fail to scan the kv of " + tableBucket + ".", e);
+        }
+        return builder.build();
+    }
+
+    /** Returns true if there are more values to scan. */
+    public synchronized boolean hasMoreResults() {
+        checkNotClosed();
+        return reader.scanIterator().isValid();
+    }
+
+    private BinaryRow project(BinaryRow row) {
+        projectedRowEncoder.startNewRow();
+        for (int i = 0; i < projectedFieldGetters.length; i++) {
+            projectedRowEncoder.encodeField(i, projectedFieldGetters[i].getFieldOrNull(row));
+        }
+        return projectedRowEncoder.finishRow();
+    }
+
+    @GuardedBy("this")
+    private void checkNotClosed() {
+        if (closed) {
+            throw new KvScannerNotFoundException(
+                    "The kv scanner of bucket " + tableBucket + " has been closed.");
+        }
+    }
+
+    /** Closes the scanner and releases the snapshot, waiting for the scanning page if any. */
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            reader.close();
+            if (projectedRowEncoder != null) {
+                IOUtils.closeQuietly(projectedRowEncoder);
+            }
+        }
+        closeListener.accept(this);
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.fluss.server.kv.scan;
+
+import com.alibaba.fluss.annotation.VisibleForTesting;
+import com.alibaba.fluss.exception.KvScannerNotFoundException;
+import com.alibaba.fluss.exception.TooManyKvScannersException;
+import com.alibaba.fluss.metadata.TableBucket;
+import com.alibaba.fluss.utils.clock.Clock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The manager of the open {@link KvScanner}s of a tablet server. The kv scan requests continue the
+ * scan with the scanner id returned by the manager when the scanner is opened.
+ *
+ * <p>The manager holds at most {@code maxNum} scanners, and closes the scanners which have not been
+ * used for {@code expirationMs} by {@link #closeExpiredScanners()}, which should be called
+ * periodically, so that an abandoned scan doesn't pin the snapshot of the kv forever.
+ */
+@ThreadSafe
+public class KvScannerManager {
+
+    private static final Logger LOG = LoggerFactory.getLogger(KvScannerManager.class);
+
+    private final int maxNum;
+    private final long expirationMs;
+    private final Clock clock;
+
+    @GuardedBy("this")
+    private final Map<Long, ScannerEntry> scanners = new HashMap<>();
+
+    public KvScannerManager(int maxNum, long expirationMs, Clock clock) {
+        this.maxNum = maxNum;
+        this.expirationMs = expirationMs;
+        this.clock = clock;
+    }
+
+    /**
+     * Registers the newly opened scanner.
+     *
+     * @return the id of the scanner
+     * @throws TooManyKvScannersException if the manager already holds the maximum number of
+     *     scanners, the scanner is closed in this case.
+     */
+    public long register(KvScanner scanner) {
+        synchronized (this) {
+            if (scanners.size() < maxNum) {
+                long scannerId = newScannerId();
+                scanners.put(scannerId, new ScannerEntry(scanner, clock.milliseconds()));
+                return scannerId;
+            }
+        }
+        scanner.close();
+        throw new TooManyKvScannersException(
+                "The server already has the maximum number of "
+                        + maxNum
+                        + " open kv scanners, can't open a scanner for "
+                        + scanner.getTableBucket()
+                        + ".");
+    }
+
+    /**
+     * Returns the scanner of the given id which scans the given bucket.
+     *
+     * @throws KvScannerNotFoundException if the scanner is not found, e.g. it has expired.
+     */
+    public synchronized KvScanner get(long scannerId, TableBucket tableBucket) {
+        ScannerEntry entry = scanners.get(scannerId);
+        if (entry == null || !entry.scanner.getTableBucket().equals(tableBucket)) {
+            throw new KvScannerNotFoundException(
+                    "The kv scanner " + scannerId + " of bucket " + tableBucket + " is not found.");
+        }
+        entry.lastUsedMs = clock.milliseconds();
+        return entry.scanner;
+    }
+
+    /**
+     * Removes and closes the scanner of the given id if it exists and scans the given bucket, so
+     * that a request of another bucket can't close the scanner.
+     */
+    public void remove(long scannerId, TableBucket tableBucket) {
+        ScannerEntry entry;
+        synchronized (this) {
+            entry = scanners.get(scannerId);
+            if (entry == null || !entry.scanner.getTableBucket().equals(tableBucket)) {
+                return;
+            }
+            scanners.remove(scannerId);
+        }
+        entry.scanner.close();
+    }
+
+    /** Closes the scanners which have not been used for the expiration time. */
+    public void closeExpiredScanners() {
+        List<KvScanner> expired = new ArrayList<>();
+        synchronized (this) {
+            long now = clock.milliseconds();
+            Iterator<ScannerEntry> iterator = scanners.values().iterator();
+            while (iterator.hasNext()) {
+                ScannerEntry entry = iterator.next();
+                if (now - entry.lastUsedMs >= expirationMs) {
+                    iterator.remove();
+                    expired.add(entry.scanner);
+                }
+            }
+        }
+        // close out of the lock as closing waits for the scanning page
+        for (KvScanner scanner : expired) {
+            LOG.info("Close the expired kv scanner of bucket {}.", scanner.getTableBucket());
+            scanner.close();
+        }
+    }
+
+    /** Closes all the scanners. */
+    public void close() {
+        List<ScannerEntry> entries;
+        synchronized (this) {
+            entries = new ArrayList<>(scanners.values());
+            scanners.clear();
+        }
+        entries.forEach(entry -> entry.scanner.close());
+    }
+
+    public synchronized int numScanners() {
+        return scanners.size();
+    }
+
+    @GuardedBy("this")
+    private long newScannerId() {
+        long scannerId;
+        do {
+            scannerId = ThreadLocalRandom.current().nextLong(1, Long.MAX_VALUE);
+        } while (scanners.containsKey(scannerId));
+        return scannerId;
+    }
+
+    @VisibleForTesting
+    synchronized boolean contains(long scannerId) {
+        return scanners.containsKey(scannerId);
+    }
+
+    private static final class ScannerEntry {
+        private final KvScanner scanner;
+        private long lastUsedMs;
+
+        private ScannerEntry(KvScanner scanner, long lastUsedMs) {
+            this.scanner = scanner;
+            this.lastUsedMs = lastUsedMs;
+        }
+    }
+}
@@ -21,8 +21,11 @@ import com.alibaba.fluss.fs.FsPath;
 import com.alibaba.fluss.fs.FsPathAndFileName;
 import com.alibaba.fluss.fs.utils.FileDownloadSpec;
 import com.alibaba.fluss.fs.utils.FileDownloadUtils;
+import com.alibaba.fluss.shaded.guava32.com.google.common.util.concurrent.RateLimiter;
 import com.alibaba.fluss.utils.CloseableRegistry;
 
+import javax.annotation.Nullable;
+
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -34,8 +37,24 @@ import java.util.stream.Stream;
 /** Help class for downloading kv snapshot data files. */
 public class KvSnapshotDataDownloader extends KvSnapshotDataTransfer {
 
+    /** The limiter of the downloaded bytes per second shared by all the downloads, or null. */
+    private final @Nullable RateLimiter rateLimiter;
+
     public KvSnapshotDataDownloader(ExecutorService dataTransferThreadPool) {
+        this(dataTransferThreadPool, 0L);
+    }
+
+    /**
+     * Creates a downloader which downloads at most the given number of bytes per second, 0 means no
+     * limit.
+     */
+    public KvSnapshotDataDownloader(
+            ExecutorService dataTransferThreadPool, long downloadRateLimitBytesPerSecond) {
         super(dataTransferThreadPool);
+        this.rateLimiter =
+                downloadRateLimitBytesPerSecond > 0
+                        ? RateLimiter.create(downloadRateLimitBytesPerSecond)
+                        : null;
     }
 
     /**
@@ -82,6 +101,6 @@ public class KvSnapshotDataDownloader extends KvSnapshotDataTransfer {
                             fsPathAndFileNames, kvSnapshotDownloadSpec.getDownloadDestination()));
         }
         FileDownloadUtils.transferAllDataToDirectory(
-                fileDownloadSpecs, closeableRegistry, dataTransferThreadPool);
+                fileDownloadSpecs, closeableRegistry, dataTransferThreadPool, rateLimiter);
     }
 }
@@ -20,12 +20,15 @@ package com.alibaba.fluss.server.kv.wal;
 import com.alibaba.fluss.memory.ManagedPagedOutputView;
 import com.alibaba.fluss.memory.MemorySegmentPool;
 import com.alibaba.fluss.record.ChangeType;
+import com.alibaba.fluss.record.LogRecordBatchStatisticsCollector;
 import com.alibaba.fluss.record.MemoryLogRecords;
 import com.alibaba.fluss.record.MemoryLogRecordsArrowBuilder;
 import com.alibaba.fluss.record.bytesview.MultiBytesView;
 import com.alibaba.fluss.row.InternalRow;
 import com.alibaba.fluss.row.arrow.ArrowWriter;
 
+import javax.annotation.Nullable;
+
 import java.io.IOException;
 
 /** A {@link WalBuilder} implementation that builds WAL logs in Arrow format. */
@@ -35,12 +38,17 @@ public class ArrowWalBuilder implements WalBuilder {
     private final ManagedPagedOutputView outputView;
     private final MemoryLogRecordsArrowBuilder recordsBuilder;
 
-    public ArrowWalBuilder(int schemaId, ArrowWriter writer, MemorySegmentPool memorySegmentPool)
+    public ArrowWalBuilder(
+            int schemaId,
+            ArrowWriter writer,
+            MemorySegmentPool memorySegmentPool,
+            @Nullable LogRecordBatchStatisticsCollector statisticsCollector)
             throws IOException {
         this.memorySegmentPool = memorySegmentPool;
         this.outputView = new ManagedPagedOutputView(memorySegmentPool);
         this.recordsBuilder =
-                MemoryLogRecordsArrowBuilder.builder(schemaId, writer, outputView, false);
+                MemoryLogRecordsArrowBuilder.builder(
+                        schemaId, writer, outputView, false, statisticsCollector);
     }
 
     @Override
@@ -20,6 +20,8 @@ package com.alibaba.fluss.server.log;
 import com.alibaba.fluss.annotation.VisibleForTesting;
 import com.alibaba.fluss.compression.ArrowCompressionInfo;
 import com.alibaba.fluss.record.FileLogProjection;
+import com.alibaba.fluss.record.FileLogProjection.ProjectionInfo;
+import com.alibaba.fluss.record.LogRecordBatchFilter;
 import com.alibaba.fluss.rpc.messages.FetchLogRequest;
 import com.alibaba.fluss.types.RowType;
 
@@ -100,15 +102,37 @@ public final class FetchParams {
             RowType schema,
             ArrowCompressionInfo compressionInfo,
             @Nullable int[] projectedFields) {
+        setCurrentFetch(
+                tableId,
+                fetchOffset,
+                maxFetchBytes,
+                projectedFields == null
+                        ? null
+                        : ProjectionInfo.create(schema, compressionInfo, projectedFields),
+                null);
+    }
+
+    /**
+     * Sets the current fetch with the prepared projection, which is usually shared by the fetches
+     * of the table through the {@link LogProjectionCache}, and the filter to skip the log record
+     * batches by their statistics. The filter is applied by the {@link FileLogProjection}, so it is
+     * ignored if there is no projection.
+     */
+    public void setCurrentFetch(
+            long tableId,
+            long fetchOffset,
+            int maxFetchBytes,
+            @Nullable ProjectionInfo projection,
+            @Nullable LogRecordBatchFilter batchFilter) {
         this.fetchOffset = fetchOffset;
         this.maxFetchBytes = maxFetchBytes;
-        if (projectedFields != null) {
+        if (projection != null) {
             projectionEnabled = true;
             if (fileLogProjection == null) {
                 fileLogProjection = new FileLogProjection();
             }
-            fileLogProjection.setCurrentProjection(
-                    tableId, schema, compressionInfo, projectedFields);
+            fileLogProjection.setCurrentProjection(tableId, projection);
+            fileLogProjection.setCurrentFilter(batchFilter);
         } else {
             projectionEnabled = false;
         }
@@ -0,0 +1,252 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.fluss.server.log;
+
+import com.alibaba.fluss.annotation.VisibleForTesting;
+import com.alibaba.fluss.exception.FetchSessionIdNotFoundException;
+import com.alibaba.fluss.exception.InvalidFetchSessionEpochException;
+import com.alibaba.fluss.metadata.TableBucket;
+import com.alibaba.fluss.record.LogRecords;
+import com.alibaba.fluss.rpc.entity.FetchLogResultForBucket;
+import com.alibaba.fluss.server.entity.FetchReqInfo;
+import com.alibaba.fluss.utils.clock.Clock;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static com.alibaba.fluss.rpc.util.FetchSessionHandler.INITIAL_EPOCH;
+import static com.alibaba.fluss.rpc.util.FetchSessionHandler.INVALID_SESSION_ID;
+
+/* This file is based on source code of Apache Kafka Project (https://kafka.apache.org/), licensed by the Apache
+ * Software Foundation (ASF) under the Apache License, Version 2.0. See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership. */
+
+/**
+ * The cache of the fetch sessions of a tablet server. A fetch session caches the buckets and the
+ * fetch requests of them of a fetcher (a log scanner or a follower), so the incremental fetch log
+ * requests of the session only contain the changed buckets, and the responses only contain the
+ * buckets which have new data, errors or a new high watermark.
+ *
+ * <p>The cache holds at most {@code maxSize} sessions. If the cache is full, the least recently
+ * used session is evicted to create a new session only if it has not been used for {@link
+ * #EVICTION_IDLE_MS}, otherwise no session is created and the fetcher keeps sending full requests,
+ * which avoids the sessions of active fetchers evicting each other. No session is created if {@code
+ * maxSize} is 0.
+ */
+@ThreadSafe
+public class FetchSessionCache {
+
+    /** The idle time after which a session can be evicted to create a new session. */
+    public static final long EVICTION_IDLE_MS = 120_000L;
+
+    private final int maxSize;
+    private final Clock clock;
+
+    @GuardedBy("this")
+    private final LinkedHashMap<Integer, FetchSession> sessions;
+
+    public FetchSessionCache(int maxSize, Clock clock) {
+        this.maxSize = maxSize;
+        this.clock = clock;
+        // access order for the LRU eviction
+        this.sessions = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * Applies a fetch log request with session epoch to the session cache.
+     *
+     * <p>For the initial epoch, the session of the given session id is closed (if any) and a new
+     * session of the fetched buckets is created. For the other epochs, the request is applied to
+     * the session of the given session id incrementally.
+     *
+     * @return the session of the request, or null if no session is created for the full request.
+     * @throws FetchSessionIdNotFoundException if the session of the incremental request is absent.
+     * @throws InvalidFetchSessionEpochException if the epoch of the incremental request doesn't
+     *     match the session.
+     */
+    @Nullable
+    public synchronized FetchSession update(
+            int fetcherId,
+            int sessionId,
+            int sessionEpoch,
+            Map<TableBucket, FetchReqInfo> fetchData,
+            Collection<TableBucket> forgottenBuckets) {
+        if (sessionEpoch == INITIAL_EPOCH) {
+            if (sessionId != INVALID_SESSION_ID) {
+                sessions.remove(sessionId);
+            }
+            long now = clock.milliseconds();
+            if (maxSize <= 0 || (sessions.size() >= maxSize && !tryEvictLeastRecentlyUsed(now))) {
+                return null;
+            }
+            FetchSession session = new FetchSession(newSessionId(), fetcherId, fetchData);
+            session.lastUsedMs = now;
+            sessions.put(session.id, session);
+            return session;
+        }
+
+        FetchSession session = sessions.get(sessionId);
+        if (session == null || session.fetcherId != fetcherId) {
+            throw new FetchSessionIdNotFoundException(
+                    "The fetch session " + sessionId + " is not found.");
+        }
+        session.update(sessionEpoch, fetchData, forgottenBuckets);
+        session.lastUsedMs = clock.milliseconds();
+        return session;
+    }
+
+    @GuardedBy("this")
+    private boolean tryEvictLeastRecentlyUsed(long now) {
+        Iterator<FetchSession> lru = sessions.values().iterator();
+        if (lru.hasNext() && now - lru.next().lastUsedMs >= EVICTION_IDLE_MS) {
+            lru.remove();
+            return true;
+        }
+        return false;
+    }
+
+    private int newSessionId() {
+        int sessionId;
+        do {
+            sessionId = ThreadLocalRandom.current().nextInt(1, Integer.MAX_VALUE);
+        } while (sessions.containsKey(sessionId));
+        return sessionId;
+    }
+
+    @VisibleForTesting
+    synchronized int size() {
+        return sessions.size();
+    }
+
+    /** A fetch session which caches the fetched buckets of a fetcher. */
+    @ThreadSafe
+    public static final class FetchSession {
+        private final int id;
+        private final int fetcherId;
+
+        /** The last time the session is used, guarded by the lock of the session cache. */
+        private long lastUsedMs;
+
+        @GuardedBy("this")
+        private final Map<TableBucket, CachedBucket> buckets = new HashMap<>();
+
+        /** The expected epoch of the next request. */
+        @GuardedBy("this")
+        private int epoch;
+
+        private FetchSession(int id, int fetcherId, Map<TableBucket, FetchReqInfo> fetchData) {
+            this.id = id;
+            this.fetcherId = fetcherId;
+            this.epoch = nextEpoch(INITIAL_EPOCH);
+            fetchData.forEach(
+                    (bucket, fetchReqInfo) -> buckets.put(bucket, new CachedBucket(fetchReqInfo)));
+        }
+
+        public int id() {
+            return id;
+        }
+
+        private synchronized void update(
+                int sessionEpoch,
+                Map<TableBucket, FetchReqInfo> fetchData,
+                Collection<TableBucket> forgottenBuckets) {
+            if (sessionEpoch != epoch) {
+                throw new InvalidFetchSessionEpochException(
+                        "The epoch "
+                                + sessionEpoch
+                                + " of the fetch session "
+                                + id
+                                + " is invalid, the expected epoch is "
+                                + epoch
+                                + ".");
+            }
+            epoch = nextEpoch(epoch);
+            forgottenBuckets.forEach(buckets::remove);
+            fetchData.forEach(
+                    (bucket, fetchReqInfo) -> {
+                        CachedBucket cachedBucket = buckets.get(bucket);
+                        if (cachedBucket == null) {
+                            buckets.put(bucket, new CachedBucket(fetchReqInfo));
+                        } else {
+                            cachedBucket.fetchReqInfo = fetchReqInfo;
+                        }
+                    });
+        }
+
+        /** Returns the fetch requests of all the buckets in the session. */
+        public synchronized Map<TableBucket, FetchReqInfo> fetchData() {
+            Map<TableBucket, FetchReqInfo> fetchData = new HashMap<>(buckets.size());
+            buckets.forEach(
+                    (bucket, cachedBucket) -> fetchData.put(bucket, cachedBucket.fetchReqInfo));
+            return fetchData;
+        }
+
+        /**
+         * Returns the fetch results which need to be sent to the fetcher, the results of the
+         * buckets without new data, error or change of high watermark since the last response are
+         * omitted.
+         */
+        public synchronized Map<TableBucket, FetchLogResultForBucket> filterResponse(
+                Map<TableBucket, FetchLogResultForBucket> fetchResults) {
+            Map<TableBucket, FetchLogResultForBucket> results = new HashMap<>();
+            fetchResults.forEach(
+                    (bucket, result) -> {
+                        CachedBucket cachedBucket = buckets.get(bucket);
+                        if (cachedBucket == null || cachedBucket.maybeUpdate(result)) {
+                            results.put(bucket, result);
+                        }
+                    });
+            return results;
+        }
+
+        private static int nextEpoch(int epoch) {
+            return epoch == Integer.MAX_VALUE ? 1 : epoch + 1;
+        }
+    }
+
+    private static final class CachedBucket {
+        private FetchReqInfo fetchReqInfo;
+        // the high watermark sent to the fetcher last time, -1 if never sent
+        private long highWatermark = -1L;
+
+        private CachedBucket(FetchReqInfo fetchReqInfo) {
+            this.fetchReqInfo = fetchReqInfo;
+        }
+
+        /** Returns true if the fetch result of the bucket needs to be sent to the fetcher. */
+        private boolean maybeUpdate(FetchLogResultForBucket result) {
+            if (result.failed() || result.fetchFromRemote()) {
+                return true;
+            }
+            LogRecords records = result.records();
+            boolean changed =
+                    (records != null && records.sizeInBytes() > 0)
+                            || result.getHighWatermark() != highWatermark;
+            highWatermark = result.getHighWatermark();
+            return changed;
+        }
+    }
+}
@@ -70,6 +70,8 @@ public final class LocalLog {
 
     public static final long UNKNOWN_OFFSET = -1L;
 
+    private static final int FLUSH_LATENCY_WINDOW_SIZE = 20;
+
     private final Configuration config;
     private final LogSegments segments;
     private final TableBucket tableBucket;
@@ -106,8 +108,9 @@ public final class LocalLog {
 
         lastFlushedTime = new AtomicLong(System.currentTimeMillis());
         flushCount = new SimpleCounter();
-        // consider won't flush frequently, we set a small window size
-        flushLatencyHistogram = new DescriptiveStatisticsHistogram(5);
+        // with the default flush interval, the log is only flushed when a segment rolls, which may
+        // be much rarer than once a minute, so keep the latest flushes rather than a time window
+        flushLatencyHistogram = new DescriptiveStatisticsHistogram(FLUSH_LATENCY_WINDOW_SIZE);
         localLogStartOffset = segments.isEmpty() ? 0L : segments.firstSegmentBaseOffset().get();
         localMaxTimestamp =
                 segments.isEmpty() ? 0L : segments.lastSegment().get().maxTimestampSoFar();
@@ -437,8 +440,21 @@ public final class LocalLog {
             long startOffsetOfMaxTimestamp,
             MemoryLogRecords records)
             throws IOException {
+        append(
+                lastOffset,
+                maxTimestamp,
+                startOffsetOfMaxTimestamp,
+                Collections.singletonList(records));
+    }
+
+    void append(
+            long lastOffset,
+            long maxTimestamp,
+            long startOffsetOfMaxTimestamp,
+            List<MemoryLogRecords> recordsList)
+            throws IOException {
         segments.activeSegment()
-                .append(lastOffset, maxTimestamp, startOffsetOfMaxTimestamp, records);
+                .append(lastOffset, maxTimestamp, startOffsetOfMaxTimestamp, recordsList);
         if (maxTimestamp > localMaxTimestamp) {
             localMaxTimestamp = maxTimestamp;
         }
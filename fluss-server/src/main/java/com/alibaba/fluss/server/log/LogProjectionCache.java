@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.fluss.server.log;
+
+import com.alibaba.fluss.annotation.VisibleForTesting;
+import com.alibaba.fluss.compression.ArrowCompressionInfo;
+import com.alibaba.fluss.compression.ArrowCompressionType;
+import com.alibaba.fluss.record.FileLogProjection;
+import com.alibaba.fluss.record.FileLogProjection.ProjectionInfo;
+import com.alibaba.fluss.types.RowType;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * The cache of the prepared {@link ProjectionInfo}s shared by the {@link FileLogProjection}s of all
+ * the fetch requests in a tablet server. The fetches of a table usually use a few distinct
+ * projections (e.g., from the parallel source tasks of the same job), so the projections are only
+ * prepared once instead of once per fetch request.
+ */
+@ThreadSafe
+public class LogProjectionCache {
+
+    /** The default max number of the cached projections. */
+    public static final int DEFAULT_MAX_SIZE = 1024;
+
+    private final Cache<ProjectionKey, ProjectionInfo> projections;
+
+    public LogProjectionCache() {
+        this(DEFAULT_MAX_SIZE);
+    }
+
+    public LogProjectionCache(int maxSize) {
+        this.projections = Caffeine.newBuilder().maximumSize(maxSize).build();
+    }
+
+    /**
+     * Gets the prepared projection of the given fields of the table schema, the projection is
+     * prepared and cached if absent.
+     */
+    public ProjectionInfo getOrCreate(
+            long tableId,
+            int schemaId,
+            RowType schema,
+            ArrowCompressionInfo compressionInfo,
+            int[] selectedFields) {
+        return projections.get(
+                new ProjectionKey(
+                        tableId, schemaId, compressionInfo.getCompressionType(), selectedFields),
+                k -> ProjectionInfo.create(schema, compressionInfo, selectedFields));
+    }
+
+    @VisibleForTesting
+    long size() {
+        projections.cleanUp();
+        return projections.estimatedSize();
+    }
+
+    private static final class ProjectionKey {
+        private final long tableId;
+        private final int schemaId;
+        // the metadata of the projected batches depends on the compression type only
+        private final ArrowCompressionType compressionType;
+        private final int[] selectedFields;
+
+        private ProjectionKey(
+                long tableId,
+                int schemaId,
+                ArrowCompressionType compressionType,
+                int[] selectedFields) {
+            this.tableId = tableId;
+            this.schemaId = schemaId;
+            this.compressionType = compressionType;
+            this.selectedFields = selectedFields;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            ProjectionKey that = (ProjectionKey) o;
+            return tableId == that.tableId
+                    && schemaId == that.schemaId
+                    && compressionType == that.compressionType
+                    && Arrays.equals(selectedFields, that.selectedFields);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = Objects.hash(tableId, schemaId, compressionType);
+            result = 31 * result + Arrays.hashCode(selectedFields);
+            return result;
+        }
+    }
+}
@@ -44,6 +44,8 @@ import javax.annotation.concurrent.NotThreadSafe;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 
 import static com.alibaba.fluss.record.DefaultLogRecordBatch.RECORD_BATCH_HEADER_SIZE;
@@ -228,11 +230,41 @@ public final class LogSegment {
             long startOffsetOfMaxTimestamp,
             MemoryLogRecords records)
             throws IOException {
-        if (records.sizeInBytes() > 0) {
+        append(
+                largestOffset,
+                maxTimestampMs,
+                startOffsetOfMaxTimestamp,
+                Collections.singletonList(records));
+    }
+
+    /**
+     * Append the given list of messages in order with a single write, the messages are regarded as
+     * a single message set when maintaining the indexes.
+     *
+     * <p>It is assumed this method is being called from within a lock.
+     *
+     * @param largestOffset The last offset in all the message sets
+     * @param maxTimestampMs The max timestamp in all the message sets.
+     * @param startOffsetOfMaxTimestamp The start offset of the message that has the max timestamp
+     *     in all the message sets.
+     * @param recordsList The list of log entries to append.
+     * @throws LogSegmentOffsetOverflowException if the largest offset causes index offset overflow
+     */
+    public void append(
+            long largestOffset,
+            long maxTimestampMs,
+            long startOffsetOfMaxTimestamp,
+            List<MemoryLogRecords> recordsList)
+            throws IOException {
+        int sizeInBytes = 0;
+        for (MemoryLogRecords records : recordsList) {
+            sizeInBytes += records.sizeInBytes();
+        }
+        if (sizeInBytes > 0) {
             if (LOG.isTraceEnabled()) {
                 LOG.trace(
                         "Inserting "
-                                + records.sizeInBytes()
+                                + sizeInBytes
                                 + " bytes at end offset "
                                 + largestOffset
                                 + " at position "
@@ -241,7 +273,7 @@ public final class LogSegment {
 
             int physicalPosition = fileLogRecords.sizeInBytes();
             ensureOffsetInRange(largestOffset);
-            int appendedBytes = fileLogRecords.append(records);
+            int appendedBytes = fileLogRecords.append(recordsList);
 
             if (LOG.isTraceEnabled()) {
                 LOG.trace(
@@ -264,7 +296,7 @@ public final class LogSegment {
                 timeIndex().maybeAppend(maxTimestampSoFar(), startOffsetOfMaxTimestampSoFar());
                 bytesSinceLastIndexEntry = 0;
             }
-            bytesSinceLastIndexEntry += records.sizeInBytes();
+            bytesSinceLastIndexEntry += sizeInBytes;
         }
     }
 
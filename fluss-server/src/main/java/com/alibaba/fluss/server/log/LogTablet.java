@@ -64,6 +64,8 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ScheduledFuture;
 
 import static com.alibaba.fluss.utils.FileUtils.flushFileIfExists;
@@ -94,6 +96,12 @@ public final class LogTablet {
     // A lock that guards all modifications to the localLog.
     private final Object lock = new Object();
 
+    /** Whether to group commit the concurrent appends as leader, see {@link #appendAsLeader}. */
+    private final boolean groupCommitEnabled;
+
+    /** The appends as leader waiting to be group committed. */
+    private final Queue<PendingAppend> pendingAppends = new ConcurrentLinkedQueue<>();
+
     @GuardedBy("lock")
     private final WriterStateManager writerStateManager;
 
@@ -138,6 +146,7 @@ public final class LogTablet {
         this.localLog = localLog;
         this.maxSegmentFileSize = (int) conf.get(ConfigOptions.LOG_SEGMENT_FILE_SIZE).getBytes();
         this.logFlushIntervalMessages = conf.get(ConfigOptions.LOG_FLUSH_INTERVAL_MESSAGES);
+        this.groupCommitEnabled = conf.get(ConfigOptions.LOG_APPEND_GROUP_COMMIT_ENABLED);
         int writerExpirationCheckIntervalMs =
                 (int) conf.get(ConfigOptions.WRITER_ID_EXPIRATION_CHECK_INTERVAL).toMillis();
         this.writerStateManager = writerStateManager;
@@ -358,9 +367,32 @@ public final class LogTablet {
     /**
      * Append this message set to the active segment of the local log, assigning offsets and Bucket
      * Leader Epochs.
+     *
+     * <p>If group commit is enabled, the concurrent appends are queued and the thread holding the
+     * lock appends all the queued message sets as a group, see {@link #drainPendingAppends()}.
      */
     public LogAppendInfo appendAsLeader(MemoryLogRecords records) throws Exception {
-        return append(records, true);
+        if (!groupCommitEnabled) {
+            return append(records, true);
+        }
+
+        LogAppendInfo appendInfo = analyzeAndValidateRecords(records);
+        // return if we have no valid records.
+        if (appendInfo.shallowCount() == 0) {
+            return appendInfo;
+        }
+
+        PendingAppend pendingAppend =
+                new PendingAppend(trimInvalidBytes(records, appendInfo), appendInfo);
+        pendingAppends.add(pendingAppend);
+        synchronized (lock) {
+            // the append may have been completed by another thread while waiting for the lock,
+            // otherwise, it's in the queue and will be drained in order
+            while (!pendingAppend.completed) {
+                drainPendingAppends();
+            }
+            return pendingAppend.getAppendInfo();
+        }
     }
 
     /** Append this message set to the active segment of the local log without assigning offsets. */
@@ -638,7 +670,8 @@ public final class LogTablet {
             }
 
             // maybe roll the log if this segment is full.
-            maybeRoll(validRecords.sizeInBytes(), appendInfo);
+            maybeRoll(
+                    validRecords.sizeInBytes(), appendInfo.firstOffset(), appendInfo.lastOffset());
 
             // now that we have valid records, offsets assigned, we need to validate the idempotent
             // state of the writers and collect some metadata.
@@ -703,6 +736,129 @@ public final class LogTablet {
         }
     }
 
+    /**
+     * Drain the pending appends from the queue and append them as a group. The group is limited to
+     * the segment size so that it can be appended to a single segment, the rest pending appends are
+     * left to the next drain.
+     */
+    @GuardedBy("lock")
+    private void drainPendingAppends() {
+        List<PendingAppend> group = new ArrayList<>();
+        long groupSizeInBytes = 0;
+        PendingAppend next;
+        while ((next = pendingAppends.peek()) != null
+                && (group.isEmpty()
+                        || groupSizeInBytes + next.records.sizeInBytes() <= maxSegmentFileSize)) {
+            group.add(pendingAppends.poll());
+            groupSizeInBytes += next.records.sizeInBytes();
+        }
+
+        try {
+            appendGroupAsLeader(group, (int) groupSizeInBytes);
+        } catch (Throwable t) {
+            for (PendingAppend pendingAppend : group) {
+                if (!pendingAppend.completed) {
+                    pendingAppend.fail(t);
+                }
+            }
+        }
+    }
+
+    /**
+     * Append a group of message sets as leader. The offsets of all the message sets are assigned
+     * and the writer state is validated one by one, the non-duplicated message sets are then
+     * appended to the active segment with a single gathering write.
+     */
+    @GuardedBy("lock")
+    private void appendGroupAsLeader(List<PendingAppend> group, int groupSizeInBytes)
+            throws Exception {
+        localLog.checkIfMemoryMappedBufferClosed();
+        long firstOffset = localLog.getLocalLogEndOffset();
+
+        // maybe roll the log before updating any writer state, the duplicated batches are not
+        // known yet, so use the upper bound of the size and the offsets of the group.
+        long maxLastOffset = firstOffset - 1;
+        for (PendingAppend pendingAppend : group) {
+            for (LogRecordBatch batch : pendingAppend.records.batches()) {
+                maxLastOffset += batch.nextLogOffset() - batch.baseLogOffset();
+            }
+        }
+        maybeRoll(groupSizeInBytes, firstOffset, maxLastOffset);
+
+        long nextOffset = firstOffset;
+        long commitTimestamp = Math.max(localLog.getLocalMaxTimestamp(), clock.milliseconds());
+        List<PendingAppend> appended = new ArrayList<>(group.size());
+        List<MemoryLogRecords> recordsToAppend = new ArrayList<>(group.size());
+        // the writer state is only updated after the group is appended, so the message sets are
+        // validated against the copies of the writer entries which include the former message
+        // sets of the group.
+        Map<Long, WriterStateEntry> groupWriterEntries = new HashMap<>();
+        List<WriterAppendInfo> updatedWriters = new ArrayList<>();
+        for (PendingAppend pendingAppend : group) {
+            LogAppendInfo appendInfo = pendingAppend.appendInfo;
+            try {
+                AssignResult result =
+                        assignOffsetAndTimestamp(
+                                pendingAppend.records, nextOffset, commitTimestamp);
+                appendInfo.setFirstOffset(nextOffset);
+                appendInfo.setLastOffset(result.lastOffset);
+                appendInfo.setMaxTimestamp(result.maxTimestamp);
+                appendInfo.setStartOffsetOfMaxTimestamp(result.startOffsetOfMaxTimestampMs);
+
+                Either<WriterStateEntry.BatchMetadata, Collection<WriterAppendInfo>>
+                        validateResult =
+                                analyzeAndValidateWriterState(
+                                        pendingAppend.records, groupWriterEntries);
+                if (validateResult.isLeft()) {
+                    // have duplicated batch metadata, skip the append and update append info.
+                    WriterStateEntry.BatchMetadata duplicatedBatch = validateResult.left();
+                    appendInfo.setFirstOffset(duplicatedBatch.firstOffset());
+                    appendInfo.setLastOffset(duplicatedBatch.lastOffset);
+                    appendInfo.setMaxTimestamp(duplicatedBatch.timestamp);
+                    appendInfo.setStartOffsetOfMaxTimestamp(duplicatedBatch.firstOffset());
+                    appendInfo.setDuplicated(true);
+                    pendingAppend.complete();
+                } else {
+                    for (WriterAppendInfo writerAppendInfo : validateResult.right()) {
+                        groupWriterEntries
+                                .get(writerAppendInfo.writerId())
+                                .update(writerAppendInfo.toEntry().copy());
+                        updatedWriters.add(writerAppendInfo);
+                    }
+                    appended.add(pendingAppend);
+                    recordsToAppend.add(pendingAppend.records);
+                    nextOffset = result.lastOffset + 1;
+                }
+            } catch (Exception e) {
+                pendingAppend.fail(e);
+            }
+        }
+
+        if (appended.isEmpty()) {
+            return;
+        }
+
+        long lastOffset = nextOffset - 1;
+        // all the message sets in the group have the same commit timestamp, so the first offset
+        // of the group is the start offset of the max timestamp.
+        localLog.append(lastOffset, commitTimestamp, firstOffset, recordsToAppend);
+        updateHighWatermarkWithLogEndOffset();
+        updatedWriters.forEach(writerStateManager::update);
+        writerStateManager.updateMapEndOffset(lastOffset + 1);
+
+        LOG.trace(
+                "Appended {} message sets with last offset: {}, first offset {}, next offset: {}",
+                appended.size(),
+                lastOffset,
+                firstOffset,
+                localLog.getLocalLogEndOffset());
+
+        appended.forEach(PendingAppend::complete);
+        if (localLog.unflushedMessages() >= logFlushIntervalMessages) {
+            flush(false);
+        }
+    }
+
     private void updateHighWatermarkWithLogEndOffset() {
         // Update the high watermark in case it has gotten ahead of the log end offset following a
         // truncation or if a new segment has been rolled and the offset metadata needs to be
@@ -775,12 +931,11 @@ public final class LogTablet {
         }
     }
 
-    private void maybeRoll(int messageSize, LogAppendInfo appendInfo) throws Exception {
+    private void maybeRoll(int messageSize, long firstOffset, long lastOffset) throws Exception {
         synchronized (lock) {
             LogSegment segment = localLog.getSegments().activeSegment();
 
-            if (segment.shouldRoll(
-                    new RollParams(maxSegmentFileSize, appendInfo.lastOffset(), messageSize))) {
+            if (segment.shouldRoll(new RollParams(maxSegmentFileSize, lastOffset, messageSize))) {
                 if (LOG.isDebugEnabled()) {
                     LOG.debug(
                             "Rolling new log segment (log_size = {}/{}), offset_index_size = {}/{}, time_index_size = {}/{}",
@@ -792,7 +947,7 @@ public final class LogTablet {
                             segment.timeIndex().maxEntries());
                 }
 
-                roll(Optional.of(appendInfo.firstOffset()));
+                roll(Optional.of(firstOffset));
             }
         }
     }
@@ -1030,6 +1185,44 @@ public final class LogTablet {
         return Either.right(updatedWriters.values());
     }
 
+    /**
+     * Returns either the duplicated batch metadata (left) or the updated writers (right), the
+     * batches are validated against the given writer entries of the group, which are filled with
+     * the copies of the current writer entries if absent.
+     */
+    private Either<WriterStateEntry.BatchMetadata, Collection<WriterAppendInfo>>
+            analyzeAndValidateWriterState(
+                    MemoryLogRecords records, Map<Long, WriterStateEntry> groupWriterEntries) {
+        Map<Long, WriterAppendInfo> updatedWriters = new HashMap<>();
+
+        for (LogRecordBatch batch : records.batches()) {
+            if (batch.hasWriterId()) {
+                long writerId = batch.writerId();
+                WriterStateEntry currentEntry =
+                        groupWriterEntries.computeIfAbsent(
+                                writerId,
+                                id ->
+                                        writerStateManager
+                                                .lastEntry(id)
+                                                .map(WriterStateEntry::copy)
+                                                .orElse(WriterStateEntry.empty(id)));
+                Optional<WriterStateEntry.BatchMetadata> duplicateBatch =
+                        currentEntry.findDuplicateBatch(batch);
+                if (duplicateBatch.isPresent()) {
+                    return Either.left(duplicateBatch.get());
+                }
+
+                updatedWriters
+                        .computeIfAbsent(
+                                writerId,
+                                id -> new WriterAppendInfo(id, getTableBucket(), currentEntry))
+                        .append(batch);
+            }
+        }
+
+        return Either.right(updatedWriters.values());
+    }
+
     void removeExpiredWriter(long currentTimeMs) {
         synchronized (lock) {
             writerStateManager.removeExpiredWriters(currentTimeMs);
@@ -1241,6 +1434,39 @@ public final class LogTablet {
         }
     }
 
+    /** An append as leader waiting to be group committed. */
+    private static final class PendingAppend {
+        private final MemoryLogRecords records;
+        private final LogAppendInfo appendInfo;
+
+        // the following fields are guarded by the lock of the log tablet
+        private boolean completed;
+        @Nullable private Throwable failure;
+
+        private PendingAppend(MemoryLogRecords records, LogAppendInfo appendInfo) {
+            this.records = records;
+            this.appendInfo = appendInfo;
+        }
+
+        private void complete() {
+            completed = true;
+        }
+
+        private void fail(Throwable t) {
+            failure = t;
+            completed = true;
+        }
+
+        private LogAppendInfo getAppendInfo() throws Exception {
+            if (failure instanceof Exception) {
+                throw (Exception) failure;
+            } else if (failure instanceof Error) {
+                throw (Error) failure;
+            }
+            return appendInfo;
+        }
+    }
+
     private static class AssignResult {
         private final long lastOffset;
         private final long maxTimestamp;
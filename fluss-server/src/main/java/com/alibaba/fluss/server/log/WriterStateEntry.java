@@ -129,6 +129,13 @@ public class WriterStateEntry {
         return new WriterStateEntry(writerId, this.lastTimestamp, batchMetadata);
     }
 
+    /** Returns a copy of the current instance, which could be updated independently. */
+    public WriterStateEntry copy() {
+        WriterStateEntry copy = new WriterStateEntry(writerId, lastTimestamp, null);
+        copy.batchMetadata.addAll(batchMetadata);
+        return copy;
+    }
+
     /** Metadata of a batch. */
     public static final class BatchMetadata {
         public final long writerId;
@@ -222,6 +222,10 @@ public class PhysicalTableMetricGroup extends AbstractMetricGroup {
         }
     }
 
+    public TabletServerMetricGroup getServerMetricGroup() {
+        return (TabletServerMetricGroup) parent;
+    }
+
     // ------------------------------------------------------------------------
     //  bucket groups
     // ------------------------------------------------------------------------
@@ -20,6 +20,8 @@ package com.alibaba.fluss.server.metrics.group;
 import com.alibaba.fluss.metadata.PhysicalTablePath;
 import com.alibaba.fluss.metrics.CharacterFilter;
 import com.alibaba.fluss.metrics.Counter;
+import com.alibaba.fluss.metrics.DescriptiveStatisticsHistogram;
+import com.alibaba.fluss.metrics.Histogram;
 import com.alibaba.fluss.metrics.MeterView;
 import com.alibaba.fluss.metrics.MetricNames;
 import com.alibaba.fluss.metrics.ThreadSafeSimpleCounter;
@@ -33,6 +35,7 @@ import java.util.Map;
 public class TabletServerMetricGroup extends AbstractMetricGroup {
 
     private static final String NAME = "tabletserver";
+    private static final int KV_RECOVER_TIME_WINDOW_SIZE = 100;
 
     private final Map<PhysicalTablePath, PhysicalTableMetricGroup> metricGroupByPhysicalTable =
             MapUtils.newConcurrentHashMap();
@@ -47,6 +50,7 @@ public class TabletServerMetricGroup extends AbstractMetricGroup {
     private final Counter delayedWriteExpireCount;
     private final Counter delayedFetchFromFollowerExpireCount;
     private final Counter delayedFetchFromClientExpireCount;
+    private final Histogram kvRecoverTime;
 
     public TabletServerMetricGroup(
             MetricRegistry registry, String clusterId, String hostname, int serverId) {
@@ -70,6 +74,11 @@ public class TabletServerMetricGroup extends AbstractMetricGroup {
         meter(
                 MetricNames.DELAYED_FETCH_FROM_CLIENT_EXPIRES_RATE,
                 new MeterView(delayedFetchFromClientExpireCount));
+
+        kvRecoverTime =
+                histogram(
+                        MetricNames.KV_RECOVER_TIME_MS,
+                        new DescriptiveStatisticsHistogram(KV_RECOVER_TIME_WINDOW_SIZE));
     }
 
     @Override
@@ -104,6 +113,11 @@ public class TabletServerMetricGroup extends AbstractMetricGroup {
         return delayedFetchFromClientExpireCount;
     }
 
+    /** The time of the kv buckets to restore the kv when they become leaders. */
+    public Histogram kvRecoverTime() {
+        return kvRecoverTime;
+    }
+
     // ------------------------------------------------------------------------
     //  table buckets groups
     // ------------------------------------------------------------------------
@@ -0,0 +1,215 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.fluss.server.replica;
+
+import com.alibaba.fluss.metadata.TableBucket;
+import com.alibaba.fluss.server.kv.snapshot.KvSnapshotDataDownloader;
+import com.alibaba.fluss.utils.MapUtils;
+import com.alibaba.fluss.utils.concurrent.ExecutorThreadFactory;
+import com.alibaba.fluss.utils.function.ThrowingRunnable;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * A scheduler to run the transitions of replicas to leaders in parallel, e.g. when the server takes
+ * over the buckets of a failed server.
+ *
+ * <p>The replica of a kv table restores its kv when it becomes the leader, i.e. downloads the
+ * latest kv snapshot and applies the log since the snapshot, which dominates the time of the
+ * transition. The transitions run in at most {@code parallelism} threads (including the calling
+ * thread), so the downloads of some buckets overlap with the log applying of the others, while all
+ * the downloads share the threads and the rate limit of the {@link KvSnapshotDataDownloader}. The
+ * replicas of log tables transit first as they are cheap, and the buckets requested by lookups or
+ * writes while waiting transit before the other kv buckets.
+ *
+ * <p>The {@link #runAll} must not be called concurrently, while {@link #prioritize} can be called
+ * by any thread.
+ */
+public class KvRecoverScheduler implements AutoCloseable {
+
+    private final int parallelism;
+    private final @Nullable ExecutorService executor;
+
+    /** The transitions of the running {@link #runAll}, null if there are no running transitions. */
+    private volatile @Nullable TransitionQueue runningTransitions;
+
+    public KvRecoverScheduler(int parallelism, int serverId) {
+        this.parallelism = Math.max(1, parallelism);
+        this.executor =
+                this.parallelism > 1
+                        ? Executors.newFixedThreadPool(
+                                this.parallelism - 1,
+                                new ExecutorThreadFactory("fluss-kv-recover-" + serverId))
+                        : null;
+    }
+
+    /**
+     * Runs the given transitions and waits for all of them to complete.
+     *
+     * @return the failures of the transitions by table bucket
+     */
+    public Map<TableBucket, Throwable> runAll(Collection<Transition> transitions)
+            throws InterruptedException {
+        Map<TableBucket, Throwable> failures = MapUtils.newConcurrentHashMap();
+        if (transitions.isEmpty()) {
+            return failures;
+        }
+
+        TransitionQueue queue = new TransitionQueue(transitions);
+        runningTransitions = queue;
+        try {
+            int numWorkers = Math.min(parallelism, transitions.size());
+            CountDownLatch workersDone = new CountDownLatch(numWorkers - 1);
+            for (int i = 1; i < numWorkers; i++) {
+                try {
+                    executor.execute(
+                            () -> {
+                                try {
+                                    runTransitions(queue, failures);
+                                } finally {
+                                    workersDone.countDown();
+                                }
+                            });
+                } catch (RejectedExecutionException e) {
+                    // the scheduler is closed, the calling thread runs the transitions
+                    workersDone.countDown();
+                }
+            }
+            runTransitions(queue, failures);
+            workersDone.await();
+        } finally {
+            runningTransitions = null;
+        }
+        return failures;
+    }
+
+    /** Runs the transition of the given bucket before the others if it is still waiting. */
+    public void prioritize(TableBucket tableBucket) {
+        TransitionQueue queue = runningTransitions;
+        if (queue != null) {
+            queue.prioritize(tableBucket);
+        }
+    }
+
+    /** Returns the number of buckets which are waiting or running to transit. */
+    public int numRecoveringBuckets() {
+        TransitionQueue queue = runningTransitions;
+        return queue == null ? 0 : queue.numUnfinished();
+    }
+
+    @Override
+    public void close() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void runTransitions(
+            TransitionQueue queue, Map<TableBucket, Throwable> failures) {
+        Transition transition;
+        while ((transition = queue.poll()) != null) {
+            try {
+                transition.action.run();
+            } catch (Throwable t) {
+                failures.put(transition.tableBucket, t);
+            } finally {
+                queue.finish();
+            }
+        }
+    }
+
+    /** The transition of a replica to leader. */
+    public static final class Transition {
+        private final TableBucket tableBucket;
+        private final boolean restoresKv;
+        private final ThrowingRunnable<Exception> action;
+
+        private long sequence;
+        private boolean prioritized;
+
+        public Transition(
+                TableBucket tableBucket, boolean restoresKv, ThrowingRunnable<Exception> action) {
+            this.tableBucket = tableBucket;
+            this.restoresKv = restoresKv;
+            this.action = action;
+        }
+    }
+
+    /** The transitions waiting to run, ordered by the priority. */
+    private static final class TransitionQueue {
+        private static final Comparator<Transition> PRIORITY =
+                Comparator.comparing((Transition t) -> !t.prioritized)
+                        .thenComparing(t -> t.restoresKv)
+                        .thenComparingLong(t -> t.sequence);
+
+        @GuardedBy("this")
+        private final PriorityQueue<Transition> queue = new PriorityQueue<>(PRIORITY);
+
+        @GuardedBy("this")
+        private final Map<TableBucket, Transition> waiting = new HashMap<>();
+
+        @GuardedBy("this")
+        private int numUnfinished;
+
+        private TransitionQueue(Collection<Transition> transitions) {
+            long sequence = 0;
+            for (Transition transition : transitions) {
+                transition.sequence = sequence++;
+                queue.add(transition);
+                waiting.put(transition.tableBucket, transition);
+            }
+            numUnfinished = transitions.size();
+        }
+
+        private synchronized @Nullable Transition poll() {
+            Transition transition = queue.poll();
+            if (transition != null) {
+                waiting.remove(transition.tableBucket);
+            }
+            return transition;
+        }
+
+        private synchronized void prioritize(TableBucket tableBucket) {
+            Transition transition = waiting.get(tableBucket);
+            if (transition != null && !transition.prioritized) {
+                queue.remove(transition);
+                transition.prioritized = true;
+                queue.add(transition);
+            }
+        }
+
+        private synchronized void finish() {
+            numUnfinished--;
+        }
+
+        private synchronized int numUnfinished() {
+            return numUnfinished;
+        }
+    }
+}
@@ -53,6 +53,7 @@ import com.alibaba.fluss.server.kv.KvManager;
 import com.alibaba.fluss.server.kv.KvRecoverHelper;
 import com.alibaba.fluss.server.kv.KvTablet;
 import com.alibaba.fluss.server.kv.rocksdb.RocksDBKvBuilder;
+import com.alibaba.fluss.server.kv.scan.KvScanner;
 import com.alibaba.fluss.server.kv.snapshot.CompletedKvSnapshotCommitter;
 import com.alibaba.fluss.server.kv.snapshot.CompletedSnapshot;
 import com.alibaba.fluss.server.kv.snapshot.KvFileHandleAndLocalPath;
@@ -167,6 +168,7 @@ public final class Replica {
     /** The manger to manger the isr expand and shrink. */
     private final AdjustIsrManager adjustIsrManager;
 
+    private final TableInfo tableInfo;
     private final Schema schema;
     private final TableConfig tableConfig;
     // logFormat and arrowCompressionInfo are used in hot-path, so cache them here.
@@ -195,6 +197,11 @@ public final class Replica {
     private volatile @Nullable CloseableRegistry closeableRegistryForKv;
 
     // ------- metrics
+    /** The time of the last kv restoring and the snapshot downloading of it. */
+    private volatile long kvRecoverTimeMs;
+
+    private volatile long kvSnapshotDownloadTimeMs;
+
     private Counter isrShrinks;
     private Counter isrExpands;
     private Counter failedIsrUpdates;
@@ -231,6 +238,7 @@ public final class Replica {
         this.adjustIsrManager = adjustIsrManager;
         this.fatalErrorHandler = fatalErrorHandler;
         this.bucketMetricGroup = bucketMetricGroup;
+        this.tableInfo = tableInfo;
         this.schema = tableInfo.getSchema();
         this.tableConfig = tableInfo.getTableConfig();
         this.logFormat = tableConfig.getLogFormat();
@@ -258,6 +266,12 @@ public final class Replica {
         failedIsrUpdates = new SimpleCounter();
         bucketMetricGroup.meter(
                 MetricNames.FAILED_ISR_UPDATES_RATE, new MeterView(failedIsrUpdates));
+
+        if (isKvTable()) {
+            bucketMetricGroup.gauge(MetricNames.KV_RECOVER_BUCKET_TIME_MS, () -> kvRecoverTimeMs);
+            bucketMetricGroup.gauge(
+                    MetricNames.KV_SNAPSHOT_DOWNLOAD_TIME_MS, () -> kvSnapshotDownloadTimeMs);
+        }
     }
 
     public boolean isKvTable() {
@@ -268,6 +282,14 @@ public final class Replica {
         return schema.getRowType();
     }
 
+    public int getSchemaId() {
+        return tableInfo.getSchemaId();
+    }
+
+    public LogFormat getLogFormat() {
+        return logFormat;
+    }
+
     public ArrowCompressionInfo getArrowCompressionInfo() {
         return arrowCompressionInfo;
     }
@@ -615,17 +637,10 @@ public final class Replica {
                 restoreStartOffset = completedSnapshot.getLogOffset();
             } else {
                 LOG.info("No snapshot found, restore from log.");
+                kvSnapshotDownloadTimeMs = 0L;
                 // actually, kv manager always create a kv tablet since we will drop the kv
                 // if it exists before init kv tablet
-                kvTablet =
-                        kvManager.getOrCreateKv(
-                                physicalPath,
-                                tableBucket,
-                                logTablet,
-                                tableConfig.getKvFormat(),
-                                schema,
-                                tableConfig,
-                                arrowCompressionInfo);
+                kvTablet = kvManager.getOrCreateKv(physicalPath, tableBucket, logTablet, tableInfo);
             }
 
             kvTablet.registerMetrics(bucketMetricGroup);
@@ -645,6 +660,12 @@ public final class Replica {
                 physicalPath,
                 tableBucket,
                 endTime - startTime);
+        kvRecoverTimeMs = endTime - startTime;
+        bucketMetricGroup
+                .getPhysicalTableMetricGroup()
+                .getServerMetricGroup()
+                .kvRecoverTime()
+                .update(kvRecoverTimeMs);
         return optCompletedSnapshot;
     }
 
@@ -663,6 +684,7 @@ public final class Replica {
             throw new IOException("Fail to download kv snapshot.", e);
         }
         long end = clock.milliseconds();
+        kvSnapshotDownloadTimeMs = end - start;
         LOG.info(
                 "Download kv snapshot {} to directory {} finish, cost {} ms.",
                 completedSnapshot,
@@ -1089,7 +1111,7 @@ public final class Replica {
                 });
     }
 
-    public List<byte[]> prefixLookup(byte[] prefixKey) {
+    public List<List<byte[]>> prefixLookups(List<byte[]> prefixKeys) {
         if (!isKvTable()) {
             throw new NonPrimaryKeyTableException(
                     "Try to do prefix lookup on a non primary key table: " + getTablePath());
@@ -1107,7 +1129,7 @@ public final class Replica {
                         }
                         checkNotNull(
                                 kvTablet, "KvTablet for the replica to get key shouldn't be null.");
-                        return kvTablet.prefixLookup(prefixKey);
+                        return kvTablet.prefixLookups(prefixKeys);
                     } catch (IOException e) {
                         String errorMsg =
                                 String.format(
@@ -1155,6 +1177,55 @@ public final class Replica {
                 });
     }
 
+    /**
+     * Opens a scanner on the current snapshot of the kv of the leader replica to scan all the
+     * values of the bucket page by page.
+     *
+     * @param projectedFields the fields to project the scanned values to, null if no projection
+     */
+    public KvScanner openKvScanner(@Nullable int[] projectedFields) {
+        if (!isKvTable()) {
+            throw new NonPrimaryKeyTableException(
+                    "the primary key table not exists for " + tableBucket);
+        }
+        if (projectedFields != null) {
+            int fieldCount = schema.getColumns().size();
+            for (int i : projectedFields) {
+                if (i < 0 || i >= fieldCount) {
+                    throw new InvalidColumnProjectionException(
+                            "Projected fields "
+                                    + Arrays.toString(projectedFields)
+                                    + " is out of bound for schema with "
+                                    + fieldCount
+                                    + " fields.");
+                }
+            }
+        }
+
+        return inReadLock(
+                leaderIsrUpdateLock,
+                () -> {
+                    try {
+                        if (!isLeader()) {
+                            throw new NotLeaderOrFollowerException(
+                                    String.format(
+                                            "Leader not local for bucket %s on tabletServer %d",
+                                            tableBucket, localTabletServerId));
+                        }
+                        checkNotNull(
+                                kvTablet, "KvTablet for the replica to scan shouldn't be null.");
+                        return kvTablet.openScanner(projectedFields);
+                    } catch (IOException e) {
+                        String errorMsg =
+                                String.format(
+                                        "Failed to open kv scanner for table bucket %s, the cause is: %s",
+                                        tableBucket, e.getMessage());
+                        LOG.error(errorMsg, e);
+                        throw new KvStorageException(errorMsg, e);
+                    }
+                });
+    }
+
     public LogRecords limitLogScan(int limit) {
         return inReadLock(
                 leaderIsrUpdateLock,
@@ -23,18 +23,23 @@ import com.alibaba.fluss.config.Configuration;
 import com.alibaba.fluss.exception.FencedLeaderEpochException;
 import com.alibaba.fluss.exception.InvalidCoordinatorException;
 import com.alibaba.fluss.exception.InvalidRequiredAcksException;
+import com.alibaba.fluss.exception.KvScannerNotFoundException;
 import com.alibaba.fluss.exception.LogOffsetOutOfRangeException;
 import com.alibaba.fluss.exception.LogStorageException;
 import com.alibaba.fluss.exception.NotLeaderOrFollowerException;
 import com.alibaba.fluss.exception.StorageException;
+import com.alibaba.fluss.exception.TooManyKvScannersException;
 import com.alibaba.fluss.exception.UnknownTableOrBucketException;
 import com.alibaba.fluss.fs.FsPath;
+import com.alibaba.fluss.metadata.LogFormat;
 import com.alibaba.fluss.metadata.PhysicalTablePath;
 import com.alibaba.fluss.metadata.TableBucket;
 import com.alibaba.fluss.metadata.TableInfo;
 import com.alibaba.fluss.metadata.TablePath;
 import com.alibaba.fluss.metrics.MetricNames;
+import com.alibaba.fluss.record.DefaultValueRecordBatch;
 import com.alibaba.fluss.record.KvRecordBatch;
+import com.alibaba.fluss.record.LogRecordBatchFilter;
 import com.alibaba.fluss.record.MemoryLogRecords;
 import com.alibaba.fluss.remote.RemoteLogFetchInfo;
 import com.alibaba.fluss.remote.RemoteLogSegment;
@@ -46,6 +51,7 @@ import com.alibaba.fluss.rpc.entity.LookupResultForBucket;
 import com.alibaba.fluss.rpc.entity.PrefixLookupResultForBucket;
 import com.alibaba.fluss.rpc.entity.ProduceLogResultForBucket;
 import com.alibaba.fluss.rpc.entity.PutKvResultForBucket;
+import com.alibaba.fluss.rpc.entity.ScanKvResultForBucket;
 import com.alibaba.fluss.rpc.entity.WriteResultForBucket;
 import com.alibaba.fluss.rpc.gateway.CoordinatorGateway;
 import com.alibaba.fluss.rpc.messages.NotifyKvSnapshotOffsetResponse;
@@ -65,6 +71,8 @@ import com.alibaba.fluss.server.entity.StopReplicaData;
 import com.alibaba.fluss.server.entity.StopReplicaResultForBucket;
 import com.alibaba.fluss.server.kv.KvManager;
 import com.alibaba.fluss.server.kv.KvSnapshotResource;
+import com.alibaba.fluss.server.kv.scan.KvScanner;
+import com.alibaba.fluss.server.kv.scan.KvScannerManager;
 import com.alibaba.fluss.server.kv.snapshot.CompletedKvSnapshotCommitter;
 import com.alibaba.fluss.server.kv.snapshot.DefaultSnapshotContext;
 import com.alibaba.fluss.server.kv.snapshot.SnapshotContext;
@@ -74,6 +82,7 @@ import com.alibaba.fluss.server.log.ListOffsetsParam;
 import com.alibaba.fluss.server.log.LogAppendInfo;
 import com.alibaba.fluss.server.log.LogManager;
 import com.alibaba.fluss.server.log.LogOffsetMetadata;
+import com.alibaba.fluss.server.log.LogProjectionCache;
 import com.alibaba.fluss.server.log.LogReadInfo;
 import com.alibaba.fluss.server.log.LogTablet;
 import com.alibaba.fluss.server.log.checkpoint.OffsetCheckpointFile;
@@ -97,6 +106,7 @@ import com.alibaba.fluss.utils.FileUtils;
 import com.alibaba.fluss.utils.FlussPaths;
 import com.alibaba.fluss.utils.MapUtils;
 import com.alibaba.fluss.utils.clock.Clock;
+import com.alibaba.fluss.utils.concurrent.ExecutorThreadFactory;
 import com.alibaba.fluss.utils.concurrent.Scheduler;
 
 import org.slf4j.Logger;
@@ -112,15 +122,21 @@ import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import static com.alibaba.fluss.server.TabletManagerBase.getTableInfo;
@@ -161,6 +177,21 @@ public class ReplicaManager {
      */
     private final DelayedOperationManager<DelayedFetchLog> delayedFetchLogManager;
 
+    /**
+     * The executor to execute the lookups of the kv tables, so that the reads of RocksDB don't
+     * occupy the worker threads of the RPC server which also serve the writes.
+     */
+    private final ExecutorService lookupExecutor;
+
+    /** The scheduler to make the replicas leaders in parallel, restoring the kv of them. */
+    private final KvRecoverScheduler kvRecoverScheduler;
+
+    /** The open scanners of the kv scan requests. */
+    private final KvScannerManager kvScannerManager;
+
+    /** The prepared column projections shared by all the fetch log requests. */
+    private final LogProjectionCache logProjectionCache = new LogProjectionCache();
+
     private final ReplicaFetcherManager replicaFetcherManager;
     // The manager used to manager the replica alter, especially the isr expand and shrink.
     private final AdjustIsrManager adjustIsrManager;
@@ -256,6 +287,25 @@ public class ReplicaManager {
                         serverId,
                         conf.getInt(ConfigOptions.LOG_REPLICA_FETCH_OPERATION_PURGE_NUMBER));
         this.internalListenerName = conf.get(ConfigOptions.INTERNAL_LISTENER_NAME);
+        int lookupThreadNum = conf.getInt(ConfigOptions.KV_LOOKUP_THREAD_NUM);
+        this.lookupExecutor =
+                new ThreadPoolExecutor(
+                        lookupThreadNum,
+                        lookupThreadNum,
+                        0L,
+                        TimeUnit.MILLISECONDS,
+                        new ArrayBlockingQueue<>(conf.getInt(ConfigOptions.KV_LOOKUP_QUEUE_SIZE)),
+                        new ExecutorThreadFactory("fluss-kv-lookup-" + serverId),
+                        // execute in the caller thread when the queue is full (as back pressure)
+                        // or the executor is shut down, the response callback is always invoked
+                        (runnable, executor) -> runnable.run());
+        this.kvRecoverScheduler =
+                new KvRecoverScheduler(conf.getInt(ConfigOptions.KV_RECOVER_PARALLELISM), serverId);
+        this.kvScannerManager =
+                new KvScannerManager(
+                        conf.getInt(ConfigOptions.KV_SCANNER_MAX_NUM),
+                        conf.get(ConfigOptions.KV_SCANNER_EXPIRATION).toMillis(),
+                        clock);
 
         this.replicaFetcherManager =
                 new ReplicaFetcherManager(
@@ -287,6 +337,14 @@ public class ReplicaManager {
                 this::maybeShrinkIsr,
                 0L,
                 conf.get(ConfigOptions.LOG_REPLICA_MAX_LAG_TIME).toMillis() / 2);
+
+        // close the kv scanners abandoned by the clients to release the pinned kv snapshots
+        long scannerExpirationMs = conf.get(ConfigOptions.KV_SCANNER_EXPIRATION).toMillis();
+        scheduler.schedule(
+                "kv-scanner-expiration",
+                kvScannerManager::closeExpiredScanners,
+                scannerExpirationMs,
+                Math.max(scannerExpirationMs / 2, 1L));
     }
 
     public RemoteLogManager getRemoteLogManager() {
@@ -302,6 +360,12 @@ public class ReplicaManager {
         serverMetricGroup.gauge(MetricNames.DELAYED_WRITE_COUNT, delayedWriteManager::numDelayed);
         serverMetricGroup.gauge(
                 MetricNames.DELAYED_FETCH_COUNT, delayedFetchLogManager::numDelayed);
+        serverMetricGroup.gauge(
+                MetricNames.KV_RECOVERING_BUCKETS, kvRecoverScheduler::numRecoveringBuckets);
+        serverMetricGroup.gauge(MetricNames.KV_OPEN_SCANNERS, kvScannerManager::numScanners);
+        if (kvManager != null) {
+            kvManager.registerMetrics(serverMetricGroup);
+        }
     }
 
     private Stream<Replica> onlineReplicas() {
@@ -442,6 +506,7 @@ public class ReplicaManager {
             throw new InvalidRequiredAcksException("Invalid required acks: " + requiredAcks);
         }
 
+        entriesPerBucket.keySet().forEach(kvRecoverScheduler::prioritize);
         long startTime = System.currentTimeMillis();
         Map<TableBucket, PutKvResultForBucket> kvPutResult =
                 putToLocalKv(entriesPerBucket, targetColumns, requiredAcks);
@@ -472,10 +537,19 @@ public class ReplicaManager {
                 });
     }
 
-    /** Lookup with multi key from leader replica of the buckets. */
+    /**
+     * Lookup with multi key from leader replica of the buckets. The lookup is executed
+     * asynchronously in the lookup executor.
+     */
     public void lookups(
             Map<TableBucket, List<byte[]>> entriesPerBucket,
             Consumer<Map<TableBucket, LookupResultForBucket>> responseCallback) {
+        entriesPerBucket.keySet().forEach(kvRecoverScheduler::prioritize);
+        lookupExecutor.execute(() -> responseCallback.accept(lookupFromLocalKv(entriesPerBucket)));
+    }
+
+    private Map<TableBucket, LookupResultForBucket> lookupFromLocalKv(
+            Map<TableBucket, List<byte[]>> entriesPerBucket) {
         Map<TableBucket, LookupResultForBucket> lookupResultForBucketMap = new HashMap<>();
         long startTime = System.currentTimeMillis();
         PhysicalTableMetricGroup tableMetrics = null;
@@ -502,26 +576,33 @@ public class ReplicaManager {
             }
         }
         LOG.debug("Lookup from local kv in {}ms", System.currentTimeMillis() - startTime);
-        responseCallback.accept(lookupResultForBucketMap);
+        return lookupResultForBucketMap;
     }
 
-    /** Lookup multi prefixKeys by prefix scan on kv store. */
+    /**
+     * Lookup multi prefixKeys by prefix scan on kv store. The lookup is executed asynchronously in
+     * the lookup executor.
+     */
     public void prefixLookups(
             Map<TableBucket, List<byte[]>> entriesPerBucket,
             Consumer<Map<TableBucket, PrefixLookupResultForBucket>> responseCallback) {
+        entriesPerBucket.keySet().forEach(kvRecoverScheduler::prioritize);
+        lookupExecutor.execute(
+                () -> responseCallback.accept(prefixLookupFromLocalKv(entriesPerBucket)));
+    }
+
+    private Map<TableBucket, PrefixLookupResultForBucket> prefixLookupFromLocalKv(
+            Map<TableBucket, List<byte[]>> entriesPerBucket) {
         PhysicalTableMetricGroup tableMetrics = null;
         Map<TableBucket, PrefixLookupResultForBucket> result = new HashMap<>();
         for (Map.Entry<TableBucket, List<byte[]>> entry : entriesPerBucket.entrySet()) {
             TableBucket tb = entry.getKey();
-            List<List<byte[]>> resultForBucket = new ArrayList<>();
             try {
                 Replica replica = getReplicaOrException(tb);
                 tableMetrics = replica.tableMetrics();
                 tableMetrics.totalPrefixLookupRequests().inc();
-                for (byte[] prefixKey : entry.getValue()) {
-                    List<byte[]> resultForPerKey = replica.prefixLookup(prefixKey);
-                    resultForBucket.add(resultForPerKey);
-                }
+                // all the prefix keys of the bucket are looked up in one pass over the kv
+                List<List<byte[]>> resultForBucket = replica.prefixLookups(entry.getValue());
                 result.put(tb, new PrefixLookupResultForBucket(tb, resultForBucket));
             } catch (Exception e) {
                 if (isUnexpectedException(e)) {
@@ -533,7 +614,7 @@ public class ReplicaManager {
                 result.put(tb, new PrefixLookupResultForBucket(tb, ApiError.fromThrowable(e)));
             }
         }
-        responseCallback.accept(result);
+        return result;
     }
 
     public void listOffsets(
@@ -728,21 +809,53 @@ public class ReplicaManager {
                         .map(NotifyLeaderAndIsrData::getTableBucket)
                         .collect(Collectors.toSet()));
 
+        // make the replicas leaders in parallel, as the replicas of kv tables restore the kv
+        Map<TableBucket, Replica> newLeaders = new LinkedHashMap<>();
+        List<KvRecoverScheduler.Transition> transitions = new ArrayList<>();
         for (NotifyLeaderAndIsrData data : replicasToBeLeader) {
             TableBucket tb = data.getTableBucket();
             try {
                 Replica replica = getReplicaOrException(tb);
-                replica.makeLeader(data);
+                newLeaders.put(tb, replica);
+                transitions.add(
+                        new KvRecoverScheduler.Transition(
+                                tb, replica.isKvTable(), () -> replica.makeLeader(data)));
+            } catch (Exception e) {
+                LOG.error("Error make replica {} to leader", tb, e);
+                result.put(
+                        tb, new NotifyLeaderAndIsrResultForBucket(tb, ApiError.fromThrowable(e)));
+            }
+        }
+
+        Map<TableBucket, Throwable> failures;
+        try {
+            failures = kvRecoverScheduler.runAll(transitions);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failures = new HashMap<>();
+            for (TableBucket tb : newLeaders.keySet()) {
+                failures.put(tb, e);
+            }
+        }
+
+        for (Map.Entry<TableBucket, Replica> entry : newLeaders.entrySet()) {
+            TableBucket tb = entry.getKey();
+            Replica replica = entry.getValue();
+            try {
+                Throwable failure = failures.get(tb);
+                if (failure != null) {
+                    throw failure;
+                }
                 if (replica.isDataLakeEnabled()) {
                     updateWithLakeTableSnapshot(replica);
                 }
                 // start the remote log tiering tasks for leaders
                 remoteLogManager.startLogTiering(replica);
                 result.put(tb, new NotifyLeaderAndIsrResultForBucket(tb));
-            } catch (Exception e) {
-                LOG.error("Error make replica {} to leader", tb, e);
+            } catch (Throwable t) {
+                LOG.error("Error make replica {} to leader", tb, t);
                 result.put(
-                        tb, new NotifyLeaderAndIsrResultForBucket(tb, ApiError.fromThrowable(e)));
+                        tb, new NotifyLeaderAndIsrResultForBucket(tb, ApiError.fromThrowable(t)));
             }
         }
     }
@@ -948,10 +1061,15 @@ public class ReplicaManager {
         return putResultForBucketMap;
     }
 
+    /** Limit scan the bucket, which is executed asynchronously in the lookup executor. */
     public void limitScan(
             TableBucket tableBucket,
             int limit,
             Consumer<LimitScanResultForBucket> responseCallback) {
+        lookupExecutor.execute(() -> responseCallback.accept(limitScan(tableBucket, limit)));
+    }
+
+    private LimitScanResultForBucket limitScan(TableBucket tableBucket, int limit) {
         LimitScanResultForBucket limitScanResultForBucket;
         PhysicalTableMetricGroup tableMetrics = null;
         try {
@@ -978,7 +1096,66 @@ public class ReplicaManager {
             limitScanResultForBucket =
                     new LimitScanResultForBucket(tableBucket, ApiError.fromThrowable(e));
         }
-        responseCallback.accept(limitScanResultForBucket);
+        return limitScanResultForBucket;
+    }
+
+    /**
+     * Scan a page of the values of the bucket of a primary key table, which is executed
+     * asynchronously in the lookup executor. A new scanner is opened on the snapshot of the kv if
+     * the scanner id is null, otherwise the scan continues with the scanner of the scanner id.
+     */
+    public void scanKv(
+            TableBucket tableBucket,
+            @Nullable Long scannerId,
+            @Nullable int[] projectedFields,
+            int maxBytes,
+            boolean closeScanner,
+            Consumer<ScanKvResultForBucket> responseCallback) {
+        if (closeScanner) {
+            if (scannerId != null) {
+                kvScannerManager.remove(scannerId, tableBucket);
+            }
+            responseCallback.accept(new ScanKvResultForBucket(tableBucket, null, null));
+            return;
+        }
+        lookupExecutor.execute(
+                () ->
+                        responseCallback.accept(
+                                scanKv(tableBucket, scannerId, projectedFields, maxBytes)));
+    }
+
+    private ScanKvResultForBucket scanKv(
+            TableBucket tableBucket,
+            @Nullable Long scannerId,
+            @Nullable int[] projectedFields,
+            int maxBytes) {
+        long id = scannerId == null ? -1L : scannerId;
+        try {
+            KvScanner scanner;
+            if (scannerId == null) {
+                scanner = getReplicaOrException(tableBucket).openKvScanner(projectedFields);
+                id = kvScannerManager.register(scanner);
+            } else {
+                scanner = kvScannerManager.get(scannerId, tableBucket);
+            }
+            DefaultValueRecordBatch values = scanner.nextPage(maxBytes);
+            if (scanner.hasMoreResults()) {
+                return new ScanKvResultForBucket(tableBucket, id, values);
+            } else {
+                kvScannerManager.remove(id, tableBucket);
+                return new ScanKvResultForBucket(tableBucket, null, values);
+            }
+        } catch (Exception e) {
+            if (id != -1L) {
+                kvScannerManager.remove(id, tableBucket);
+            }
+            if (isUnexpectedException(e)
+                    && !(e instanceof KvScannerNotFoundException
+                            || e instanceof TooManyKvScannersException)) {
+                LOG.error("Error scan kv on replica {}", tableBucket, e);
+            }
+            return new ScanKvResultForBucket(tableBucket, ApiError.fromThrowable(e));
+        }
     }
 
     public Map<TableBucket, LogReadResult> readFromLog(
@@ -1002,13 +1179,30 @@ public class ReplicaManager {
                         tb,
                         fetchReqInfo.getFetchOffset());
                 replica.checkProjection(fetchReqInfo.getProjectFields());
+                // the batches only have statistics in ARROW format
+                LogRecordBatchFilter batchFilter =
+                        replica.getLogFormat() == LogFormat.ARROW
+                                ? fetchReqInfo.getBatchFilter()
+                                : null;
+                int[] projectedFields = fetchReqInfo.getProjectFields();
+                if (projectedFields == null && batchFilter != null) {
+                    // the filter is applied by the projection, so project all the fields
+                    projectedFields =
+                            IntStream.range(0, replica.getRowType().getFieldCount()).toArray();
+                }
                 fetchParams.setCurrentFetch(
                         tb.getTableId(),
                         fetchOffset,
                         adjustedMaxBytes,
-                        replica.getRowType(),
-                        replica.getArrowCompressionInfo(),
-                        fetchReqInfo.getProjectFields());
+                        projectedFields == null
+                                ? null
+                                : logProjectionCache.getOrCreate(
+                                        tb.getTableId(),
+                                        replica.getSchemaId(),
+                                        replica.getRowType(),
+                                        replica.getArrowCompressionInfo(),
+                                        projectedFields),
+                        batchFilter);
                 LogReadInfo readInfo = replica.fetchRecords(fetchParams);
 
                 // Once we read from a non-empty bucket, we stop ignoring request and bucket
@@ -1569,6 +1763,9 @@ public class ReplicaManager {
         replicaFetcherManager.shutdown();
         delayedWriteManager.shutdown();
         delayedFetchLogManager.shutdown();
+        lookupExecutor.shutdown();
+        kvRecoverScheduler.close();
+        kvScannerManager.close();
 
         // Checkpoint highWatermark.
         checkpointHighWatermarks();
@@ -29,18 +29,14 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Queue;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
 
 import static com.alibaba.fluss.utils.Preconditions.checkArgument;
-import static com.alibaba.fluss.utils.concurrent.LockUtils.inLock;
 
 /* This file is based on source code of Apache Kafka Project (https://kafka.apache.org/), licensed by the Apache
  * Software Foundation (ASF) under the Apache License, Version 2.0. See the NOTICE file distributed with this work for
@@ -50,8 +46,11 @@ import static com.alibaba.fluss.utils.concurrent.LockUtils.inLock;
 public final class DelayedOperationManager<T extends DelayedOperation> {
     private static final Logger LOG = LoggerFactory.getLogger(DelayedOperationManager.class);
 
-    // Shard the watcher list to reduce lock contention.
-    private static final int DEFAULT_SHARDS = 512;
+    /**
+     * The max number of passes a thread makes over the watched operations of a key for the checks
+     * requested by the other threads, which bounds the time the thread is held by the others.
+     */
+    @VisibleForTesting static final int MAX_COALESCED_CHECK_PASSES = 4;
 
     private final String managerName;
     private final Timer timeoutTimer;
@@ -59,7 +58,9 @@ public final class DelayedOperationManager<T extends DelayedOperation> {
     private final int serverId;
     private final int purgeInterval;
 
-    private final List<WatcherList> watcherLists;
+    // The watchers are added and removed by the atomic compute operations of the concurrent map,
+    // which only lock the hash bin of the key, so watching and completing don't share any lock.
+    private final Map<Object, Watcher> watchersByKey = MapUtils.newConcurrentHashMap();
     // the number of estimated total operations in the manager.
     private final AtomicInteger estimatedTotalOperations = new AtomicInteger(0);
     private final ExpiredOperationReaper expirationReaper;
@@ -69,10 +70,6 @@ public final class DelayedOperationManager<T extends DelayedOperation> {
         this.timeoutTimer = new DefaultTimer(managerName);
         this.serverId = serverId;
         this.purgeInterval = purgeInterval;
-        this.watcherLists = new ArrayList<>(DEFAULT_SHARDS);
-        for (int i = 0; i < DEFAULT_SHARDS; i++) {
-            watcherLists.add(new WatcherList());
-        }
 
         this.expirationReaper = new ExpiredOperationReaper();
         expirationReaper.start();
@@ -128,13 +125,18 @@ public final class DelayedOperationManager<T extends DelayedOperation> {
      * Check if some delayed operations can be completed with the given watch key, and if yes
      * complete them.
      *
-     * @return the number of completed operations during this process
+     * <p>The concurrent checks of the same key are coalesced: if the watched operations of the key
+     * are being checked by another thread, the check is left to that thread, which checks all the
+     * operations again after its current pass. So an append completes all the waiting fetches in
+     * one pass, even if many appends to the same bucket happen at the same time.
+     *
+     * @return the number of completed operations during this process, 0 if the check is coalesced
+     *     into the check of another thread
      */
     public int checkAndComplete(Object key) {
-        WatcherList wl = watcherList(key);
-        Watcher watcher = inLock(wl.watcherLock, () -> wl.watchersByKey.get(key));
+        Watcher watcher = watchersByKey.get(key);
 
-        int numCompleted = watcher == null ? 0 : watcher.tryCompletedWatched();
+        int numCompleted = watcher == null ? 0 : watcher.checkAndComplete();
         if (numCompleted > 0) {
             LOG.debug("Request key {} unblocked {} {} operations", key, numCompleted, managerName);
         }
@@ -149,10 +151,8 @@ public final class DelayedOperationManager<T extends DelayedOperation> {
      */
     public int watched() {
         int count = 0;
-        for (WatcherList wl : watcherLists) {
-            for (Watcher watcher : wl.allWatchers()) {
-                count += watcher.countWatched();
-            }
+        for (Watcher watcher : watchersByKey.values()) {
+            count += watcher.countWatched();
         }
         return count;
     }
@@ -168,48 +168,32 @@ public final class DelayedOperationManager<T extends DelayedOperation> {
      */
     @VisibleForTesting
     public List<T> cancelForKey(Object key) {
-        WatcherList wl = watcherList(key);
-        return inLock(
-                wl.watcherLock,
-                () -> {
-                    Watcher watcher = wl.watchersByKey.remove(key);
-                    if (watcher != null) {
-                        return watcher.cancel();
-                    } else {
-                        return new ArrayList<>();
-                    }
-                });
+        Watcher watcher = watchersByKey.remove(key);
+        if (watcher != null) {
+            return watcher.cancel();
+        } else {
+            return new ArrayList<>();
+        }
     }
 
     @VisibleForTesting
     void watchForOperation(Object key, T operation) {
-        WatcherList wl = watcherList(key);
-        inLock(
-                wl.watcherLock,
-                () -> {
-                    Watcher watcher = wl.watchersByKey.computeIfAbsent(key, Watcher::new);
+        // add the operation in the compute function, so that it is atomic with removeKeyIfEmpty()
+        watchersByKey.compute(
+                key,
+                (k, watcher) -> {
+                    if (watcher == null) {
+                        watcher = new Watcher(k);
+                    }
                     watcher.watch(operation);
+                    return watcher;
                 });
     }
 
-    private WatcherList watcherList(Object key) {
-        return watcherLists.get(Math.abs(key.hashCode()) % watcherLists.size());
-    }
-
     private void removeKeyIfEmpty(Object key, Watcher watcher) {
-        WatcherList wl = watcherList(key);
-        inLock(
-                wl.watcherLock,
-                () -> {
-                    // if the current key is no longer correlated to the watcher to remove, skip.
-                    if (wl.watchersByKey.get(key) != watcher) {
-                        return;
-                    }
-
-                    if (watcher != null && watcher.isEmpty()) {
-                        wl.watchersByKey.remove(key);
-                    }
-                });
+        // if the current key is no longer correlated to the watcher to remove, skip.
+        watchersByKey.computeIfPresent(
+                key, (k, current) -> current == watcher && current.isEmpty() ? null : current);
     }
 
     public void shutdown() {
@@ -230,30 +214,17 @@ public final class DelayedOperationManager<T extends DelayedOperation> {
         timeoutTimer.shutdown();
     }
 
-    /** A list of operation watching keys. */
-    private class WatcherList {
-        private final Map<Object, Watcher> watchersByKey;
-        private final Lock watcherLock;
-
-        public WatcherList() {
-            this.watchersByKey = MapUtils.newConcurrentHashMap();
-            this.watcherLock = new ReentrantLock();
-        }
-
-        /**
-         * Return all the current watcher lists, note that the returned watcher may be removed from
-         * the list by other threads.
-         */
-        public Collection<Watcher> allWatchers() {
-            return watchersByKey.values();
-        }
-    }
-
     /** A linked list of watched delayed operations based on some key. */
     private class Watcher {
         private final Object key;
         private final Queue<T> operations;
 
+        /**
+         * The number of requested checks since the current checking thread starts its pass, 0 if
+         * no thread is checking the operations.
+         */
+        private final AtomicInteger checkRequests = new AtomicInteger(0);
+
         public Watcher(Object key) {
             this.key = key;
             this.operations = new ConcurrentLinkedQueue<>();
@@ -276,8 +247,40 @@ public final class DelayedOperationManager<T extends DelayedOperation> {
             operations.add(t);
         }
 
+        /**
+         * Try to complete the watched elements, or leave it to the thread which is checking them.
+         */
+        public int checkAndComplete() {
+            if (checkRequests.getAndIncrement() > 0) {
+                // the checking thread will check again after its current pass
+                return 0;
+            }
+
+            int completed = 0;
+            int requests;
+            int passes = 0;
+            try {
+                do {
+                    requests = checkRequests.get();
+                    completed += tryCompletedWatched();
+                    if (checkRequests.compareAndSet(requests, 0)) {
+                        return completed;
+                    }
+                } while (++passes < MAX_COALESCED_CHECK_PASSES);
+            } catch (Throwable t) {
+                // let the next check take over, otherwise the operations are never checked again
+                checkRequests.set(0);
+                throw t;
+            }
+
+            // hand the following checks back to the requesting threads, and make a last pass for
+            // the checks requested so far, which may run concurrently with a new checking thread
+            checkRequests.set(0);
+            return completed + tryCompletedWatched();
+        }
+
         /** traverse the list and try to complete some watched elements. */
-        public int tryCompletedWatched() {
+        private int tryCompletedWatched() {
             int completed = 0;
             Iterator<T> iter = operations.iterator();
             while (iter.hasNext()) {
@@ -356,10 +359,8 @@ public final class DelayedOperationManager<T extends DelayedOperation> {
                 estimatedTotalOperations.getAndSet(numDelayed());
                 LOG.debug("Begin purging watch lists");
                 int purged = 0;
-                for (WatcherList watcherList : watcherLists) {
-                    for (Watcher watcher : watcherList.allWatchers()) {
-                        purged += watcher.purgeCompleted();
-                    }
+                for (Watcher watcher : watchersByKey.values()) {
+                    purged += watcher.purgeCompleted();
                 }
                 LOG.debug("Purged {} elements from watch lists", purged);
             }
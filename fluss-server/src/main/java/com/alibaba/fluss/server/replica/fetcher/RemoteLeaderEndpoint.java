@@ -29,8 +29,11 @@ import com.alibaba.fluss.rpc.messages.PbFetchLogRespForBucket;
 import com.alibaba.fluss.rpc.messages.PbFetchLogRespForTable;
 import com.alibaba.fluss.rpc.messages.PbListOffsetsRespForBucket;
 import com.alibaba.fluss.rpc.protocol.Errors;
+import com.alibaba.fluss.rpc.util.FetchSessionHandler;
 import com.alibaba.fluss.server.log.ListOffsetsParam;
 
+import javax.annotation.Nullable;
+
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -53,6 +56,8 @@ final class RemoteLeaderEndpoint implements LeaderEndpoint {
 
     private final int minFetchBytes;
     private final int maxFetchWaitMs;
+    /** The fetch session to the leader server. */
+    private final FetchSessionHandler fetchSessionHandler;
 
     RemoteLeaderEndpoint(
             Configuration conf,
@@ -68,6 +73,7 @@ final class RemoteLeaderEndpoint implements LeaderEndpoint {
         this.maxFetchWaitMs =
                 (int) conf.get(ConfigOptions.LOG_REPLICA_FETCH_WAIT_MAX_TIME).toMillis();
         this.tabletServerGateway = tabletServerGateway;
+        this.fetchSessionHandler = new FetchSessionHandler();
     }
 
     @Override
@@ -95,6 +101,15 @@ final class RemoteLeaderEndpoint implements LeaderEndpoint {
         FetchLogRequest fetchLogRequest = fetchLogContext.getFetchLogRequest();
         return tabletServerGateway
                 .fetchLog(fetchLogRequest)
+                .whenComplete(
+                        (fetchLogResponse, e) -> {
+                            if (e != null) {
+                                fetchSessionHandler.handleError(fetchLogRequest);
+                            } else {
+                                fetchSessionHandler.handleResponse(
+                                        fetchLogRequest, fetchLogResponse);
+                            }
+                        })
                 .thenApply(
                         fetchLogResponse -> {
                             Map<TableBucket, FetchLogResultForBucket> fetchLogResultMap =
@@ -134,7 +149,8 @@ final class RemoteLeaderEndpoint implements LeaderEndpoint {
                 maxFetchSize,
                 maxFetchSizeForBucket,
                 minFetchBytes,
-                maxFetchWaitMs);
+                maxFetchWaitMs,
+                fetchSessionHandler);
     }
 
     @Override
@@ -149,6 +165,30 @@ final class RemoteLeaderEndpoint implements LeaderEndpoint {
             int maxFetchSizeForBucket,
             int minFetchBytes,
             int maxFetchWaitMs) {
+        return buildFetchLogContext(
+                replicas,
+                followerServerId,
+                maxFetchSize,
+                maxFetchSizeForBucket,
+                minFetchBytes,
+                maxFetchWaitMs,
+                null);
+    }
+
+    /**
+     * Builds the fetch log request of the ready buckets. If the fetch session is given, only the
+     * buckets added to the session or with changed fetch offsets are contained in the request.
+     */
+    static Optional<FetchLogContext> buildFetchLogContext(
+            Map<TableBucket, BucketFetchStatus> replicas,
+            int followerServerId,
+            int maxFetchSize,
+            int maxFetchSizeForBucket,
+            int minFetchBytes,
+            int maxFetchWaitMs,
+            @Nullable FetchSessionHandler fetchSessionHandler) {
+        FetchSessionHandler.Builder sessionBuilder =
+                fetchSessionHandler == null ? null : fetchSessionHandler.newBuilder();
         Map<Long, TablePath> tableIdToTablePath = new HashMap<>();
         FetchLogRequest fetchRequest =
                 new FetchLogRequest()
@@ -162,6 +202,15 @@ final class RemoteLeaderEndpoint implements LeaderEndpoint {
             TableBucket tb = entry.getKey();
             BucketFetchStatus bucketFetchStatus = entry.getValue();
             if (bucketFetchStatus.isReadyForFetch()) {
+                // the table path is also required by the buckets which are not sent in the
+                // request but cached by the fetch session
+                tableIdToTablePath.put(tb.getTableId(), bucketFetchStatus.tablePath());
+                readyForFetchCount++;
+                if (sessionBuilder != null
+                        && !sessionBuilder.add(tb, bucketFetchStatus.fetchOffset())) {
+                    continue;
+                }
+
                 PbFetchLogReqForBucket fetchLogReqForBucket =
                         new PbFetchLogReqForBucket()
                                 .setBucketId(tb.getBucket())
@@ -173,9 +222,6 @@ final class RemoteLeaderEndpoint implements LeaderEndpoint {
                 fetchLogReqForBuckets
                         .computeIfAbsent(tb.getTableId(), key -> new ArrayList<>())
                         .add(fetchLogReqForBucket);
-
-                tableIdToTablePath.put(tb.getTableId(), bucketFetchStatus.tablePath());
-                readyForFetchCount++;
             }
         }
 
@@ -189,6 +235,9 @@ final class RemoteLeaderEndpoint implements LeaderEndpoint {
                                     .setProjectionPushdownEnabled(false)
                                     .setTableId(tableId)
                                     .addAllBucketsReqs(buckets));
+            if (sessionBuilder != null) {
+                sessionBuilder.build(fetchRequest);
+            }
             return Optional.of(new FetchLogContext(tableIdToTablePath, fetchRequest));
         }
     }
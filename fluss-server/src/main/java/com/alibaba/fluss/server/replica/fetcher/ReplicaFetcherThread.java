@@ -19,6 +19,8 @@ package com.alibaba.fluss.server.replica.fetcher;
 
 import com.alibaba.fluss.exception.CorruptRecordException;
 import com.alibaba.fluss.exception.DuplicateSequenceException;
+import com.alibaba.fluss.exception.FetchSessionIdNotFoundException;
+import com.alibaba.fluss.exception.InvalidFetchSessionEpochException;
 import com.alibaba.fluss.exception.InvalidOffsetException;
 import com.alibaba.fluss.exception.InvalidRecordException;
 import com.alibaba.fluss.exception.OutOfOrderSequenceException;
@@ -40,6 +42,7 @@ import com.alibaba.fluss.server.replica.Replica;
 import com.alibaba.fluss.server.replica.ReplicaManager;
 import com.alibaba.fluss.server.replica.fetcher.LeaderEndpoint.FetchData;
 import com.alibaba.fluss.shaded.netty4.io.netty.buffer.ByteBuf;
+import com.alibaba.fluss.utils.ExceptionUtils;
 import com.alibaba.fluss.utils.FileUtils;
 import com.alibaba.fluss.utils.FlussPaths;
 import com.alibaba.fluss.utils.concurrent.ShutdownableThread;
@@ -212,7 +215,6 @@ final class ReplicaFetcherThread extends ShutdownableThread {
         }
     }
 
-    // TODO add fetch session to reduce the fetch request byte size.
     private void processFetchLogRequest(FetchLogContext fetchLogContext) {
         Set<TableBucket> bucketsWithError = new HashSet<>();
         FetchData responseData = null;
@@ -226,7 +228,12 @@ final class ReplicaFetcherThread extends ShutdownableThread {
             // FLUSS-56115172.
             responseData = leader.fetchLog(fetchLogContext).get(timeoutSeconds, TimeUnit.SECONDS);
         } catch (Throwable t) {
-            if (isRunning()) {
+            Throwable cause = ExceptionUtils.stripExecutionException(t);
+            if (cause instanceof FetchSessionIdNotFoundException
+                    || cause instanceof InvalidFetchSessionEpochException) {
+                // the fetch session is reset, retry with a full request without back off
+                LOG.debug("Fetch session to leader {} is reset.", leader.leaderServerId(), cause);
+            } else if (isRunning()) {
                 LOG.warn("Error in response for fetch log request {}", fetchLogRequest, t);
                 inLock(
                         bucketStatusMapLock,
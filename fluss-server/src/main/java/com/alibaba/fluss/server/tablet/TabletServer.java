@@ -37,6 +37,7 @@ import com.alibaba.fluss.server.authorizer.AuthorizerLoader;
 import com.alibaba.fluss.server.coordinator.MetadataManager;
 import com.alibaba.fluss.server.kv.KvManager;
 import com.alibaba.fluss.server.kv.snapshot.DefaultCompletedKvSnapshotCommitter;
+import com.alibaba.fluss.server.log.FetchSessionCache;
 import com.alibaba.fluss.server.log.LogManager;
 import com.alibaba.fluss.server.log.remote.RemoteLogManager;
 import com.alibaba.fluss.server.metadata.TabletServerMetadataCache;
@@ -239,6 +240,8 @@ public class TabletServer extends ServerBase {
                             replicaManager,
                             metadataCache,
                             metadataManager,
+                            new FetchSessionCache(
+                                    conf.getInt(ConfigOptions.LOG_FETCH_SESSION_CACHE_SIZE), clock),
                             authorizer);
 
             RequestsMetrics requestsMetrics =
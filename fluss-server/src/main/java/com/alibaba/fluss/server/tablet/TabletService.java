@@ -56,6 +56,8 @@ import com.alibaba.fluss.rpc.messages.ProduceLogRequest;
 import com.alibaba.fluss.rpc.messages.ProduceLogResponse;
 import com.alibaba.fluss.rpc.messages.PutKvRequest;
 import com.alibaba.fluss.rpc.messages.PutKvResponse;
+import com.alibaba.fluss.rpc.messages.ScanKvRequest;
+import com.alibaba.fluss.rpc.messages.ScanKvResponse;
 import com.alibaba.fluss.rpc.messages.StopReplicaRequest;
 import com.alibaba.fluss.rpc.messages.StopReplicaResponse;
 import com.alibaba.fluss.rpc.messages.UpdateMetadataRequest;
@@ -70,6 +72,8 @@ import com.alibaba.fluss.server.coordinator.MetadataManager;
 import com.alibaba.fluss.server.entity.FetchReqInfo;
 import com.alibaba.fluss.server.entity.NotifyLeaderAndIsrData;
 import com.alibaba.fluss.server.log.FetchParams;
+import com.alibaba.fluss.server.log.FetchSessionCache;
+import com.alibaba.fluss.server.log.FetchSessionCache.FetchSession;
 import com.alibaba.fluss.server.log.ListOffsetsParam;
 import com.alibaba.fluss.server.metadata.TabletServerMetadataCache;
 import com.alibaba.fluss.server.replica.ReplicaManager;
@@ -79,6 +83,7 @@ import com.alibaba.fluss.server.zk.ZooKeeperClient;
 import javax.annotation.Nullable;
 
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -88,11 +93,13 @@ import java.util.concurrent.CompletableFuture;
 import java.util.function.BiFunction;
 import java.util.stream.Collectors;
 
+import static com.alibaba.fluss.rpc.util.FetchSessionHandler.INVALID_SESSION_ID;
 import static com.alibaba.fluss.security.acl.OperationType.READ;
 import static com.alibaba.fluss.security.acl.OperationType.WRITE;
 import static com.alibaba.fluss.server.coordinator.CoordinatorContext.INITIAL_COORDINATOR_EPOCH;
 import static com.alibaba.fluss.server.log.FetchParams.DEFAULT_MAX_WAIT_MS_WHEN_MIN_BYTES_ENABLE;
 import static com.alibaba.fluss.server.utils.ServerRpcMessageUtils.getFetchLogData;
+import static com.alibaba.fluss.server.utils.ServerRpcMessageUtils.getForgottenBuckets;
 import static com.alibaba.fluss.server.utils.ServerRpcMessageUtils.getListOffsetsData;
 import static com.alibaba.fluss.server.utils.ServerRpcMessageUtils.getNotifyLakeTableOffset;
 import static com.alibaba.fluss.server.utils.ServerRpcMessageUtils.getNotifyLeaderAndIsrRequestData;
@@ -103,7 +110,6 @@ import static com.alibaba.fluss.server.utils.ServerRpcMessageUtils.getPutKvData;
 import static com.alibaba.fluss.server.utils.ServerRpcMessageUtils.getStopReplicaData;
 import static com.alibaba.fluss.server.utils.ServerRpcMessageUtils.getTargetColumns;
 import static com.alibaba.fluss.server.utils.ServerRpcMessageUtils.getUpdateMetadataRequestData;
-import static com.alibaba.fluss.server.utils.ServerRpcMessageUtils.makeFetchLogResponse;
 import static com.alibaba.fluss.server.utils.ServerRpcMessageUtils.makeInitWriterResponse;
 import static com.alibaba.fluss.server.utils.ServerRpcMessageUtils.makeLimitScanResponse;
 import static com.alibaba.fluss.server.utils.ServerRpcMessageUtils.makeListOffsetsResponse;
@@ -112,6 +118,7 @@ import static com.alibaba.fluss.server.utils.ServerRpcMessageUtils.makeNotifyLea
 import static com.alibaba.fluss.server.utils.ServerRpcMessageUtils.makePrefixLookupResponse;
 import static com.alibaba.fluss.server.utils.ServerRpcMessageUtils.makeProduceLogResponse;
 import static com.alibaba.fluss.server.utils.ServerRpcMessageUtils.makePutKvResponse;
+import static com.alibaba.fluss.server.utils.ServerRpcMessageUtils.makeScanKvResponse;
 import static com.alibaba.fluss.server.utils.ServerRpcMessageUtils.makeStopReplicaResponse;
 import static com.alibaba.fluss.server.utils.ServerRpcMessageUtils.toLookupData;
 import static com.alibaba.fluss.server.utils.ServerRpcMessageUtils.toPrefixLookupData;
@@ -122,6 +129,7 @@ public final class TabletService extends RpcServiceBase implements TabletServerG
     private final String serviceName;
     private final ReplicaManager replicaManager;
     private final TabletServerMetadataCache metadataCache;
+    private final FetchSessionCache fetchSessionCache;
 
     public TabletService(
             int serverId,
@@ -130,11 +138,13 @@ public final class TabletService extends RpcServiceBase implements TabletServerG
             ReplicaManager replicaManager,
             TabletServerMetadataCache metadataCache,
             MetadataManager metadataManager,
+            FetchSessionCache fetchSessionCache,
             @Nullable Authorizer authorizer) {
         super(remoteFileSystem, ServerType.TABLET_SERVER, zkClient, metadataManager, authorizer);
         this.serviceName = "server-" + serverId;
         this.replicaManager = replicaManager;
         this.metadataCache = metadataCache;
+        this.fetchSessionCache = fetchSessionCache;
     }
 
     @Override
@@ -161,6 +171,20 @@ public final class TabletService extends RpcServiceBase implements TabletServerG
     @Override
     public CompletableFuture<FetchLogResponse> fetchLog(FetchLogRequest request) {
         Map<TableBucket, FetchReqInfo> fetchLogData = getFetchLogData(request);
+        FetchSession fetchSession = null;
+        if (request.hasSessionEpoch()) {
+            fetchSession =
+                    fetchSessionCache.update(
+                            request.getFollowerServerId(),
+                            request.hasSessionId() ? request.getSessionId() : INVALID_SESSION_ID,
+                            request.getSessionEpoch(),
+                            fetchLogData,
+                            getForgottenBuckets(request));
+            if (fetchSession != null) {
+                // fetch all the buckets of the session
+                fetchLogData = fetchSession.fetchData();
+            }
+        }
         Map<TableBucket, FetchLogResultForBucket> errorResponseMap = new HashMap<>();
         Map<TableBucket, FetchReqInfo> interesting =
                 // TODO: we should also authorize for follower, otherwise, users can mock follower
@@ -170,20 +194,37 @@ public final class TabletService extends RpcServiceBase implements TabletServerG
                                 READ, fetchLogData, errorResponseMap, FetchLogResultForBucket::new)
                         : fetchLogData;
         if (interesting.isEmpty()) {
-            return CompletableFuture.completedFuture(makeFetchLogResponse(errorResponseMap));
+            return CompletableFuture.completedFuture(
+                    makeFetchLogResponse(fetchSession, Collections.emptyMap(), errorResponseMap));
         }
 
         CompletableFuture<FetchLogResponse> response = new CompletableFuture<>();
         FetchParams fetchParams = getFetchParams(request);
+        FetchSession finalFetchSession = fetchSession;
         replicaManager.fetchLogRecords(
                 fetchParams,
                 interesting,
                 fetchResponseMap ->
                         response.complete(
-                                makeFetchLogResponse(fetchResponseMap, errorResponseMap)));
+                                makeFetchLogResponse(
+                                        finalFetchSession, fetchResponseMap, errorResponseMap)));
         return response;
     }
 
+    private static FetchLogResponse makeFetchLogResponse(
+            @Nullable FetchSession fetchSession,
+            Map<TableBucket, FetchLogResultForBucket> fetchResponseMap,
+            Map<TableBucket, FetchLogResultForBucket> errorResponseMap) {
+        if (fetchSession == null) {
+            return ServerRpcMessageUtils.makeFetchLogResponse(fetchResponseMap, errorResponseMap);
+        }
+        Map<TableBucket, FetchLogResultForBucket> results = new HashMap<>(fetchResponseMap);
+        results.putAll(errorResponseMap);
+        // omit the buckets without any change since the last response of the session
+        return ServerRpcMessageUtils.makeFetchLogResponse(fetchSession.filterResponse(results))
+                .setSessionId(fetchSession.id());
+    }
+
     private static FetchParams getFetchParams(FetchLogRequest request) {
         FetchParams fetchParams;
         if (request.hasMinBytes()) {
@@ -267,6 +308,24 @@ public final class TabletService extends RpcServiceBase implements TabletServerG
         return response;
     }
 
+    @Override
+    public CompletableFuture<ScanKvResponse> scanKv(ScanKvRequest request) {
+        authorizeTable(READ, request.getTableId());
+
+        CompletableFuture<ScanKvResponse> response = new CompletableFuture<>();
+        replicaManager.scanKv(
+                new TableBucket(
+                        request.getTableId(),
+                        request.hasPartitionId() ? request.getPartitionId() : null,
+                        request.getBucketId()),
+                request.hasScannerId() ? request.getScannerId() : null,
+                request.getProjectedFieldsCount() == 0 ? null : request.getProjectedFields(),
+                request.getMaxBytes(),
+                request.hasCloseScanner() && request.isCloseScanner(),
+                value -> response.complete(makeScanKvResponse(value)));
+        return response;
+    }
+
     @Override
     public CompletableFuture<NotifyLeaderAndIsrResponse> notifyLeaderAndIsr(
             NotifyLeaderAndIsrRequest notifyLeaderAndIsrRequest) {
@@ -36,10 +36,12 @@ import com.alibaba.fluss.record.DefaultValueRecordBatch;
 import com.alibaba.fluss.record.FileChannelChunk;
 import com.alibaba.fluss.record.FileLogRecords;
 import com.alibaba.fluss.record.KvRecordBatch;
+import com.alibaba.fluss.record.LogRecordBatchFilter;
 import com.alibaba.fluss.record.LogRecords;
 import com.alibaba.fluss.record.MemoryLogRecords;
 import com.alibaba.fluss.remote.RemoteLogFetchInfo;
 import com.alibaba.fluss.remote.RemoteLogSegment;
+import com.alibaba.fluss.row.BinaryString;
 import com.alibaba.fluss.rpc.entity.FetchLogResultForBucket;
 import com.alibaba.fluss.rpc.entity.LimitScanResultForBucket;
 import com.alibaba.fluss.rpc.entity.ListOffsetsResultForBucket;
@@ -47,6 +49,7 @@ import com.alibaba.fluss.rpc.entity.LookupResultForBucket;
 import com.alibaba.fluss.rpc.entity.PrefixLookupResultForBucket;
 import com.alibaba.fluss.rpc.entity.ProduceLogResultForBucket;
 import com.alibaba.fluss.rpc.entity.PutKvResultForBucket;
+import com.alibaba.fluss.rpc.entity.ScanKvResultForBucket;
 import com.alibaba.fluss.rpc.messages.AdjustIsrRequest;
 import com.alibaba.fluss.rpc.messages.AdjustIsrResponse;
 import com.alibaba.fluss.rpc.messages.CommitKvSnapshotRequest;
@@ -80,6 +83,7 @@ import com.alibaba.fluss.rpc.messages.PbAdjustIsrReqForBucket;
 import com.alibaba.fluss.rpc.messages.PbAdjustIsrReqForTable;
 import com.alibaba.fluss.rpc.messages.PbAdjustIsrRespForBucket;
 import com.alibaba.fluss.rpc.messages.PbAdjustIsrRespForTable;
+import com.alibaba.fluss.rpc.messages.PbBatchFilterPredicate;
 import com.alibaba.fluss.rpc.messages.PbBucketMetadata;
 import com.alibaba.fluss.rpc.messages.PbCreateAclRespInfo;
 import com.alibaba.fluss.rpc.messages.PbDropAclsFilterResult;
@@ -124,6 +128,7 @@ import com.alibaba.fluss.rpc.messages.ProduceLogRequest;
 import com.alibaba.fluss.rpc.messages.ProduceLogResponse;
 import com.alibaba.fluss.rpc.messages.PutKvRequest;
 import com.alibaba.fluss.rpc.messages.PutKvResponse;
+import com.alibaba.fluss.rpc.messages.ScanKvResponse;
 import com.alibaba.fluss.rpc.messages.StopReplicaRequest;
 import com.alibaba.fluss.rpc.messages.StopReplicaResponse;
 import com.alibaba.fluss.rpc.messages.UpdateMetadataRequest;
@@ -687,6 +692,8 @@ public class ServerRpcMessageUtils {
             } else {
                 projectionFields = null;
             }
+            LogRecordBatchFilter batchFilter =
+                    toLogRecordBatchFilter(fetchLogReqForTable.getBatchFiltersList());
 
             List<PbFetchLogReqForBucket> bucketsReqsList = fetchLogReqForTable.getBucketsReqsList();
             for (PbFetchLogReqForBucket fetchLogReqForBucket : bucketsReqsList) {
@@ -702,13 +709,55 @@ public class ServerRpcMessageUtils {
                                 tableId,
                                 fetchLogReqForBucket.getFetchOffset(),
                                 fetchLogReqForBucket.getMaxFetchBytes(),
-                                projectionFields));
+                                projectionFields,
+                                batchFilter));
             }
         }
 
         return fetchDataMap;
     }
 
+    public static List<TableBucket> getForgottenBuckets(FetchLogRequest request) {
+        List<TableBucket> forgottenBuckets = new ArrayList<>(request.getForgottenBucketsCount());
+        for (PbTableBucket forgottenBucket : request.getForgottenBucketsList()) {
+            forgottenBuckets.add(
+                    new TableBucket(
+                            forgottenBucket.getTableId(),
+                            forgottenBucket.hasPartitionId()
+                                    ? forgottenBucket.getPartitionId()
+                                    : null,
+                            forgottenBucket.getBucketId()));
+        }
+        return forgottenBuckets;
+    }
+
+    @Nullable
+    private static LogRecordBatchFilter toLogRecordBatchFilter(
+            List<PbBatchFilterPredicate> pbPredicates) {
+        if (pbPredicates.isEmpty()) {
+            return null;
+        }
+        List<LogRecordBatchFilter.Predicate> predicates = new ArrayList<>(pbPredicates.size());
+        for (PbBatchFilterPredicate pbPredicate : pbPredicates) {
+            final Comparable<?> literal;
+            if (pbPredicate.hasLongValue()) {
+                literal = pbPredicate.getLongValue();
+            } else if (pbPredicate.hasDoubleValue()) {
+                literal = pbPredicate.getDoubleValue();
+            } else if (pbPredicate.hasBytesValue()) {
+                literal = BinaryString.fromBytes(pbPredicate.getBytesValue());
+            } else {
+                literal = null;
+            }
+            predicates.add(
+                    new LogRecordBatchFilter.Predicate(
+                            pbPredicate.getFieldIndex(),
+                            LogRecordBatchFilter.Operator.fromId(pbPredicate.getOperator()),
+                            literal));
+        }
+        return LogRecordBatchFilter.of(predicates);
+    }
+
     public static FetchLogResponse makeFetchLogResponse(
             Map<TableBucket, FetchLogResultForBucket> fetchLogResult,
             Map<TableBucket, FetchLogResultForBucket> fetchLogErrors) {
@@ -949,6 +998,27 @@ public class ServerRpcMessageUtils {
         return limitScanResponse;
     }
 
+    public static ScanKvResponse makeScanKvResponse(ScanKvResultForBucket bucketResult) {
+        ScanKvResponse scanKvResponse = new ScanKvResponse();
+        if (bucketResult.failed()) {
+            scanKvResponse.setError(bucketResult.getErrorCode(), bucketResult.getErrorMessage());
+        } else {
+            DefaultValueRecordBatch valueRecords = bucketResult.getValues();
+            if (valueRecords != null) {
+                scanKvResponse.setRecords(
+                        valueRecords.getSegment(),
+                        valueRecords.getPosition(),
+                        valueRecords.sizeInBytes());
+            }
+            Long scannerId = bucketResult.getScannerId();
+            if (scannerId != null) {
+                scanKvResponse.setScannerId(scannerId);
+            }
+            scanKvResponse.setHasMoreResults(bucketResult.hasMoreResults());
+        }
+        return scanKvResponse;
+    }
+
     public static LookupResponse makeLookupResponse(
             Map<TableBucket, LookupResultForBucket> lookupResult,
             Map<TableBucket, LookupResultForBucket> lookupError) {
@@ -87,6 +87,7 @@ public class TableDescriptorValidation {
         checkReplicationFactor(tableConf);
         checkLogFormat(tableConf, hasPrimaryKey);
         checkArrowCompression(tableConf);
+        checkArrowStatistics(tableConf, schema);
         checkMergeEngine(tableConf, hasPrimaryKey, schema);
         checkTieredLog(tableConf);
         checkPartition(tableConf, tableDescriptor.getPartitionKeys(), schema);
@@ -162,6 +163,30 @@ public class TableDescriptorValidation {
         }
     }
 
+    private static void checkArrowStatistics(Configuration tableConf, RowType schema) {
+        List<String> columns =
+                tableConf
+                        .getOptional(ConfigOptions.TABLE_LOG_ARROW_STATISTICS_COLUMNS)
+                        .orElse(Collections.emptyList());
+        if (columns.isEmpty()) {
+            return;
+        }
+        if (tableConf.get(ConfigOptions.TABLE_LOG_FORMAT) != LogFormat.ARROW) {
+            throw new InvalidConfigException(
+                    String.format(
+                            "'%s' is only supported for ARROW log format.",
+                            ConfigOptions.TABLE_LOG_ARROW_STATISTICS_COLUMNS.key()));
+        }
+        for (String column : columns) {
+            if (schema.getFieldIndex(column) < 0) {
+                throw new InvalidConfigException(
+                        String.format(
+                                "The statistics column '%s' of '%s' doesn't exist in schema.",
+                                column, ConfigOptions.TABLE_LOG_ARROW_STATISTICS_COLUMNS.key()));
+            }
+        }
+    }
+
     private static void checkMergeEngine(
             Configuration tableConf, boolean hasPrimaryKey, RowType schema) {
         MergeEngineType mergeEngine = tableConf.get(ConfigOptions.TABLE_MERGE_ENGINE);
@@ -301,6 +301,39 @@ public class ZooKeeperClient implements AutoCloseable {
         LOG.info("Updated {} for bucket {} in Zookeeper.", leaderAndIsr, tableBucket);
     }
 
+    /**
+     * Update the LeaderAndIsr of the buckets in ZK by transactions of at most {@link
+     * #MAX_BATCH_SIZE} operations. A transaction fails as a whole if the LeaderAndIsr of any
+     * bucket in it fails to update.
+     */
+    public void batchUpdateLeaderAndIsr(Map<TableBucket, LeaderAndIsr> leaderAndIsrList)
+            throws Exception {
+        if (leaderAndIsrList.isEmpty()) {
+            return;
+        }
+
+        List<CuratorOp> ops = new ArrayList<>(Math.min(leaderAndIsrList.size(), MAX_BATCH_SIZE));
+        for (Map.Entry<TableBucket, LeaderAndIsr> entry : leaderAndIsrList.entrySet()) {
+            CuratorOp updateOp =
+                    zkClient.transactionOp()
+                            .setData()
+                            .forPath(
+                                    LeaderAndIsrZNode.path(entry.getKey()),
+                                    LeaderAndIsrZNode.encode(entry.getValue()));
+            ops.add(updateOp);
+            if (ops.size() == MAX_BATCH_SIZE) {
+                zkClient.transaction().forOperations(ops);
+                ops.clear();
+            }
+        }
+        if (!ops.isEmpty()) {
+            zkClient.transaction().forOperations(ops);
+        }
+        LOG.info(
+                "Batch updated LeaderAndIsr for {} buckets in Zookeeper.",
+                leaderAndIsrList.size());
+    }
+
     public void deleteLeaderAndIsr(TableBucket tableBucket) throws Exception {
         String path = LeaderAndIsrZNode.path(tableBucket);
         zkClient.delete().forPath(path);
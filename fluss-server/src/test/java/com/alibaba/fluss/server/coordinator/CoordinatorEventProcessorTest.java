@@ -31,16 +31,29 @@ import com.alibaba.fluss.metadata.TableBucketReplica;
 import com.alibaba.fluss.metadata.TableDescriptor;
 import com.alibaba.fluss.metadata.TablePartition;
 import com.alibaba.fluss.metadata.TablePath;
+import com.alibaba.fluss.rpc.messages.AdjustIsrResponse;
+import com.alibaba.fluss.rpc.messages.ApiMessage;
 import com.alibaba.fluss.rpc.messages.CommitKvSnapshotResponse;
 import com.alibaba.fluss.rpc.messages.CommitRemoteLogManifestResponse;
 import com.alibaba.fluss.rpc.messages.NotifyKvSnapshotOffsetRequest;
+import com.alibaba.fluss.rpc.messages.NotifyLeaderAndIsrRequest;
+import com.alibaba.fluss.rpc.messages.NotifyLeaderAndIsrResponse;
 import com.alibaba.fluss.rpc.messages.NotifyRemoteLogOffsetsRequest;
+import com.alibaba.fluss.rpc.messages.PbNotifyLeaderAndIsrReqForBucket;
+import com.alibaba.fluss.rpc.messages.StopReplicaRequest;
+import com.alibaba.fluss.rpc.messages.StopReplicaResponse;
+import com.alibaba.fluss.rpc.messages.UpdateMetadataRequest;
+import com.alibaba.fluss.rpc.messages.UpdateMetadataResponse;
 import com.alibaba.fluss.server.coordinator.event.AccessContextEvent;
+import com.alibaba.fluss.server.coordinator.event.AdjustIsrReceivedEvent;
 import com.alibaba.fluss.server.coordinator.event.CommitKvSnapshotEvent;
 import com.alibaba.fluss.server.coordinator.event.CommitRemoteLogManifestEvent;
+import com.alibaba.fluss.server.coordinator.event.CoordinatorEvent;
 import com.alibaba.fluss.server.coordinator.event.CoordinatorEventManager;
+import com.alibaba.fluss.server.coordinator.event.DeadTabletServerEvent;
 import com.alibaba.fluss.server.coordinator.statemachine.BucketState;
 import com.alibaba.fluss.server.coordinator.statemachine.ReplicaState;
+import com.alibaba.fluss.server.entity.AdjustIsrResultForBucket;
 import com.alibaba.fluss.server.entity.CommitKvSnapshotData;
 import com.alibaba.fluss.server.entity.CommitRemoteLogManifestData;
 import com.alibaba.fluss.server.kv.snapshot.CompletedSnapshot;
@@ -78,11 +91,14 @@ import java.nio.file.Path;
 import java.time.Duration;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
@@ -99,6 +115,7 @@ import static com.alibaba.fluss.server.coordinator.statemachine.BucketState.Onli
 import static com.alibaba.fluss.server.coordinator.statemachine.ReplicaState.OfflineReplica;
 import static com.alibaba.fluss.server.coordinator.statemachine.ReplicaState.OnlineReplica;
 import static com.alibaba.fluss.server.testutils.KvTestUtils.mockCompletedSnapshot;
+import static com.alibaba.fluss.server.utils.ServerRpcMessageUtils.getAdjustIsrResponseData;
 import static com.alibaba.fluss.server.utils.TableAssignmentUtils.generateAssignment;
 import static com.alibaba.fluss.testutils.common.CommonTestUtils.retry;
 import static com.alibaba.fluss.testutils.common.CommonTestUtils.waitValue;
@@ -761,6 +778,191 @@ class CoordinatorEventProcessorTest {
         verifyReceiveRequestExceptFor(3, leader, NotifyKvSnapshotOffsetRequest.class);
     }
 
+    @Test
+    void testBatchAdjustIsr() throws Exception {
+        initCoordinatorChannel();
+        TablePath t1 = TablePath.of(defaultDatabase, "test_batch_adjust_isr");
+        final long t1Id =
+                createTable(
+                        t1,
+                        new TabletServerInfo[] {
+                            new TabletServerInfo(0, "rack0"),
+                            new TabletServerInfo(1, "rack1"),
+                            new TabletServerInfo(2, "rack2")
+                        });
+        TableBucket tb0 = new TableBucket(t1Id, 0);
+        TableBucket tb1 = new TableBucket(t1Id, 1);
+        LeaderAndIsr leaderAndIsr0 =
+                waitValue(
+                        () -> fromCtx((ctx) -> ctx.getBucketLeaderAndIsr(tb0)),
+                        Duration.ofMinutes(1),
+                        "leader not elected");
+        LeaderAndIsr leaderAndIsr1 =
+                waitValue(
+                        () -> fromCtx((ctx) -> ctx.getBucketLeaderAndIsr(tb1)),
+                        Duration.ofMinutes(1),
+                        "leader not elected");
+
+        // shrink the isr of bucket 0, then expand it back based on the shrunk one, and adjust the
+        // isr of bucket 1 with a stale leader epoch
+        List<Integer> shrunkIsr = Collections.singletonList(leaderAndIsr0.leader());
+        CompletableFuture<AdjustIsrResponse> shrinkFuture = new CompletableFuture<>();
+        CompletableFuture<AdjustIsrResponse> expandFuture = new CompletableFuture<>();
+        CompletableFuture<AdjustIsrResponse> staleFuture = new CompletableFuture<>();
+        List<CoordinatorEvent> events =
+                Arrays.asList(
+                        new AdjustIsrReceivedEvent(
+                                Collections.singletonMap(
+                                        tb0,
+                                        new LeaderAndIsr(
+                                                leaderAndIsr0.leader(),
+                                                leaderAndIsr0.leaderEpoch(),
+                                                shrunkIsr,
+                                                leaderAndIsr0.coordinatorEpoch(),
+                                                leaderAndIsr0.bucketEpoch())),
+                                shrinkFuture),
+                        new AdjustIsrReceivedEvent(
+                                Collections.singletonMap(
+                                        tb0,
+                                        new LeaderAndIsr(
+                                                leaderAndIsr0.leader(),
+                                                leaderAndIsr0.leaderEpoch(),
+                                                leaderAndIsr0.isr(),
+                                                leaderAndIsr0.coordinatorEpoch(),
+                                                leaderAndIsr0.bucketEpoch() + 1)),
+                                expandFuture),
+                        new AdjustIsrReceivedEvent(
+                                Collections.singletonMap(
+                                        tb1,
+                                        new LeaderAndIsr(
+                                                leaderAndIsr1.leader(),
+                                                leaderAndIsr1.leaderEpoch() - 1,
+                                                shrunkIsr,
+                                                leaderAndIsr1.coordinatorEpoch(),
+                                                leaderAndIsr1.bucketEpoch())),
+                                staleFuture));
+        // process the events as a batch in the event thread
+        fromCtx(
+                ctx -> {
+                    eventProcessor.process(events);
+                    return null;
+                });
+
+        AdjustIsrResultForBucket shrinkResult =
+                getAdjustIsrResponseData(shrinkFuture.get()).get(tb0);
+        assertThat(shrinkResult.succeeded()).isTrue();
+        assertThat(shrinkResult.leaderAndIsr().isr()).isEqualTo(shrunkIsr);
+        assertThat(shrinkResult.leaderAndIsr().bucketEpoch())
+                .isEqualTo(leaderAndIsr0.bucketEpoch() + 1);
+
+        AdjustIsrResultForBucket expandResult =
+                getAdjustIsrResponseData(expandFuture.get()).get(tb0);
+        assertThat(expandResult.succeeded()).isTrue();
+        assertThat(expandResult.leaderAndIsr().isr()).isEqualTo(leaderAndIsr0.isr());
+        assertThat(expandResult.leaderAndIsr().bucketEpoch())
+                .isEqualTo(leaderAndIsr0.bucketEpoch() + 2);
+        assertThat(zookeeperClient.getLeaderAndIsr(tb0)).hasValue(expandResult.leaderAndIsr());
+        Optional<LeaderAndIsr> cachedLeaderAndIsr = fromCtx(ctx -> ctx.getBucketLeaderAndIsr(tb0));
+        assertThat(cachedLeaderAndIsr).hasValue(expandResult.leaderAndIsr());
+
+        AdjustIsrResultForBucket staleResult = getAdjustIsrResponseData(staleFuture.get()).get(tb1);
+        assertThat(staleResult.failed()).isTrue();
+        assertThat(staleResult.getError().exception())
+                .isInstanceOf(FencedLeaderEpochException.class);
+        assertThat(zookeeperClient.getLeaderAndIsr(tb1)).hasValue(leaderAndIsr1);
+    }
+
+    @Test
+    void testBatchDeadTabletServers() throws Exception {
+        initCoordinatorChannel();
+        // the leaders are 0, 1 and 2 respectively
+        TableAssignment tableAssignment =
+                TableAssignment.builder()
+                        .add(0, BucketAssignment.of(0, 1, 2))
+                        .add(1, BucketAssignment.of(1, 0, 2))
+                        .add(2, BucketAssignment.of(2, 0, 1))
+                        .build();
+        long tableId =
+                metadataManager.createTable(
+                        TablePath.of(defaultDatabase, "test_batch_dead_tablet_servers"),
+                        TEST_TABLE,
+                        tableAssignment,
+                        false);
+        for (int bucket = 0; bucket < N_BUCKETS; bucket++) {
+            TableBucket tableBucket = new TableBucket(tableId, bucket);
+            LeaderAndIsr leaderAndIsr =
+                    waitValue(
+                            () -> fromCtx((ctx) -> ctx.getBucketLeaderAndIsr(tableBucket)),
+                            Duration.ofMinutes(1),
+                            "leader not elected");
+            assertThat(leaderAndIsr.leader()).isEqualTo(bucket);
+            assertThat(leaderAndIsr.isr()).containsExactlyInAnyOrder(0, 1, 2);
+        }
+
+        // record the requests sent to the tablet servers since now
+        Map<Integer, RecordingTabletServerGateway> gateways = new HashMap<>();
+        for (int server = 0; server < 3; server++) {
+            gateways.put(server, new RecordingTabletServerGateway());
+        }
+        testCoordinatorChannelManager.setGateways(new HashMap<>(gateways));
+
+        // the servers 0 and 1 fail at the same time and are processed as a batch in the event
+        // thread
+        List<CoordinatorEvent> events =
+                Arrays.asList(new DeadTabletServerEvent(0), new DeadTabletServerEvent(1));
+        fromCtx(
+                ctx -> {
+                    eventProcessor.process(events);
+                    return null;
+                });
+
+        // the leaders are elected to the only live server 2 directly, without electing any leader
+        // to the other failed server in the batch
+        retryVerifyContext(ctx -> assertThat(ctx.getLiveTabletServers()).containsOnlyKeys(2));
+        verifyReplicaOnlineOrOffline(tableId, tableAssignment, new HashSet<>(Arrays.asList(0, 1)));
+        for (int bucket = 0; bucket < N_BUCKETS; bucket++) {
+            TableBucket tableBucket = new TableBucket(tableId, bucket);
+            verifyBucketIsr(tableId, bucket, new int[] {2});
+            BucketState bucketState = fromCtx(ctx -> ctx.getBucketState(tableBucket));
+            assertThat(bucketState).isEqualTo(OnlineBucket);
+            LeaderAndIsr leaderAndIsr = zookeeperClient.getLeaderAndIsr(tableBucket).get();
+            assertThat(leaderAndIsr.leader()).isEqualTo(2);
+            // the leader of bucket 2 stays, the leaders of the others change once
+            assertThat(leaderAndIsr.leaderEpoch()).isEqualTo(bucket == 2 ? 0 : 1);
+        }
+
+        // the live server is notified by one request for the leader elections of the batch, and
+        // one request for the offline replicas of the batch, and is never notified of a leader
+        // elected to the other failed server
+        List<NotifyLeaderAndIsrRequest> notifyRequests =
+                gateways.get(2).receivedRequests.stream()
+                        .filter(request -> request instanceof NotifyLeaderAndIsrRequest)
+                        .map(request -> (NotifyLeaderAndIsrRequest) request)
+                        .collect(Collectors.toList());
+        assertThat(notifyRequests).hasSize(2);
+        assertThat(notifyRequests.get(0).getNotifyBucketsLeaderReqsList())
+                .extracting(bucket -> bucket.getTableBucket().getBucketId())
+                .containsExactlyInAnyOrder(0, 1);
+        assertThat(notifyRequests.get(1).getNotifyBucketsLeaderReqsList())
+                .extracting(bucket -> bucket.getTableBucket().getBucketId())
+                .containsExactlyInAnyOrder(0, 1, 2);
+        for (NotifyLeaderAndIsrRequest notifyRequest : notifyRequests) {
+            for (PbNotifyLeaderAndIsrReqForBucket notifiedBucket :
+                    notifyRequest.getNotifyBucketsLeaderReqsList()) {
+                assertThat(notifiedBucket.getLeader()).isEqualTo(2);
+            }
+        }
+        for (PbNotifyLeaderAndIsrReqForBucket notifiedBucket :
+                notifyRequests.get(1).getNotifyBucketsLeaderReqsList()) {
+            assertThat(notifiedBucket.getIsrs()).containsExactly(2);
+        }
+        // the metadata of the live servers is updated for the whole batch rather than for each
+        // failed server
+        assertThat(gateways.get(2).receivedRequests)
+                .filteredOn(request -> request instanceof UpdateMetadataRequest)
+                .hasSize(4);
+    }
+
     private CoordinatorEventProcessor buildCoordinatorEventProcessor() {
         return new CoordinatorEventProcessor(
                 zookeeperClient,
@@ -1092,6 +1294,36 @@ class CoordinatorEventProcessorTest {
                 .collect(Collectors.toList());
     }
 
+    /** A {@link TestTabletServerGateway} recording the requests sent by the coordinator. */
+    private static class RecordingTabletServerGateway extends TestTabletServerGateway {
+
+        private final List<ApiMessage> receivedRequests = new CopyOnWriteArrayList<>();
+
+        private RecordingTabletServerGateway() {
+            super(false);
+        }
+
+        @Override
+        public CompletableFuture<UpdateMetadataResponse> updateMetadata(
+                UpdateMetadataRequest request) {
+            receivedRequests.add(request);
+            return super.updateMetadata(request);
+        }
+
+        @Override
+        public CompletableFuture<NotifyLeaderAndIsrResponse> notifyLeaderAndIsr(
+                NotifyLeaderAndIsrRequest request) {
+            receivedRequests.add(request);
+            return super.notifyLeaderAndIsr(request);
+        }
+
+        @Override
+        public CompletableFuture<StopReplicaResponse> stopReplica(StopReplicaRequest request) {
+            receivedRequests.add(request);
+            return super.stopReplica(request);
+        }
+    }
+
     private static class PartitionIdName {
         private final long partitionId;
         private final String partitionName;
@@ -0,0 +1,157 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.fluss.server.coordinator.event;
+
+import com.alibaba.fluss.server.metrics.group.TestingMetricGroups;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+
+import static com.alibaba.fluss.testutils.common.CommonTestUtils.retry;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Tests for {@link CoordinatorEventManager}. */
+class CoordinatorEventManagerTest {
+
+    @Test
+    void testProcessEventsInBatches() throws Exception {
+        CountDownLatch firstEventStarted = new CountDownLatch(1);
+        CountDownLatch firstEventReleased = new CountDownLatch(1);
+        RecordingEventProcessor eventProcessor =
+                new RecordingEventProcessor(firstEventStarted, firstEventReleased);
+        CoordinatorEventManager eventManager =
+                new CoordinatorEventManager(
+                        eventProcessor, TestingMetricGroups.COORDINATOR_METRICS, 4);
+        eventManager.start();
+        try {
+            eventManager.put(new NewTabletServerEvent(null));
+            firstEventStarted.await();
+
+            // queue the events while the first one is processed
+            List<CoordinatorEvent> events =
+                    Arrays.asList(
+                            new DeadTabletServerEvent(1),
+                            new DeadTabletServerEvent(2),
+                            new DeadTabletServerEvent(3),
+                            new DropTableEvent(1L, false, false),
+                            new DeadTabletServerEvent(4),
+                            new DeadTabletServerEvent(5));
+            for (CoordinatorEvent event : events) {
+                eventManager.put(event);
+            }
+            firstEventReleased.countDown();
+
+            // at most 4 events are taken at a time, and only the consecutive events of the same
+            // type are processed together
+            retry(
+                    Duration.ofMinutes(1),
+                    () ->
+                            assertThat(eventProcessor.batches)
+                                    .containsExactly(
+                                            Collections.singletonList(NewTabletServerEvent.class),
+                                            Arrays.asList(
+                                                    DeadTabletServerEvent.class,
+                                                    DeadTabletServerEvent.class,
+                                                    DeadTabletServerEvent.class),
+                                            Collections.singletonList(DropTableEvent.class),
+                                            Arrays.asList(
+                                                    DeadTabletServerEvent.class,
+                                                    DeadTabletServerEvent.class)));
+            assertThat(eventProcessor.events).containsSubsequence(events);
+        } finally {
+            eventManager.close();
+        }
+    }
+
+    @Test
+    void testProcessEventsOneByOne() throws Exception {
+        CountDownLatch firstEventStarted = new CountDownLatch(1);
+        CountDownLatch firstEventReleased = new CountDownLatch(1);
+        RecordingEventProcessor eventProcessor =
+                new RecordingEventProcessor(firstEventStarted, firstEventReleased);
+        CoordinatorEventManager eventManager =
+                new CoordinatorEventManager(
+                        eventProcessor, TestingMetricGroups.COORDINATOR_METRICS, 1);
+        eventManager.start();
+        try {
+            eventManager.put(new NewTabletServerEvent(null));
+            firstEventStarted.await();
+            eventManager.put(new DeadTabletServerEvent(1));
+            eventManager.put(new DeadTabletServerEvent(2));
+            firstEventReleased.countDown();
+
+            retry(
+                    Duration.ofMinutes(1),
+                    () ->
+                            assertThat(eventProcessor.batches)
+                                    .containsExactly(
+                                            Collections.singletonList(NewTabletServerEvent.class),
+                                            Collections.singletonList(DeadTabletServerEvent.class),
+                                            Collections.singletonList(
+                                                    DeadTabletServerEvent.class)));
+        } finally {
+            eventManager.close();
+        }
+    }
+
+    /** An event processor recording the types of the events processed together. */
+    private static class RecordingEventProcessor implements EventProcessor {
+
+        private final List<List<Class<?>>> batches = new CopyOnWriteArrayList<>();
+        private final List<CoordinatorEvent> events = new CopyOnWriteArrayList<>();
+        private final CountDownLatch firstEventStarted;
+        private final CountDownLatch firstEventReleased;
+
+        private RecordingEventProcessor(
+                CountDownLatch firstEventStarted, CountDownLatch firstEventReleased) {
+            this.firstEventStarted = firstEventStarted;
+            this.firstEventReleased = firstEventReleased;
+        }
+
+        @Override
+        public void process(CoordinatorEvent event) {
+            process(Collections.singletonList(event));
+        }
+
+        @Override
+        public void process(List<CoordinatorEvent> events) {
+            List<Class<?>> types = new ArrayList<>();
+            for (CoordinatorEvent event : events) {
+                types.add(event.getClass());
+            }
+            batches.add(types);
+            this.events.addAll(events);
+
+            if (firstEventStarted.getCount() > 0) {
+                firstEventStarted.countDown();
+                try {
+                    firstEventReleased.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+}
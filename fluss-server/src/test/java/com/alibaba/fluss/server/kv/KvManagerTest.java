@@ -19,23 +19,26 @@ package com.alibaba.fluss.server.kv;
 
 import com.alibaba.fluss.config.ConfigOptions;
 import com.alibaba.fluss.config.Configuration;
-import com.alibaba.fluss.config.TableConfig;
-import com.alibaba.fluss.metadata.KvFormat;
 import com.alibaba.fluss.metadata.LogFormat;
 import com.alibaba.fluss.metadata.PhysicalTablePath;
+import com.alibaba.fluss.metadata.Schema;
 import com.alibaba.fluss.metadata.TableBucket;
+import com.alibaba.fluss.metadata.TableDescriptor;
+import com.alibaba.fluss.metadata.TableInfo;
 import com.alibaba.fluss.metadata.TablePath;
 import com.alibaba.fluss.record.KvRecord;
 import com.alibaba.fluss.record.KvRecordBatch;
 import com.alibaba.fluss.record.KvRecordTestUtils;
 import com.alibaba.fluss.record.TestData;
 import com.alibaba.fluss.row.encode.ValueEncoder;
+import com.alibaba.fluss.server.kv.rocksdb.RocksDBResourceContainer;
 import com.alibaba.fluss.server.log.LogManager;
 import com.alibaba.fluss.server.log.LogTablet;
 import com.alibaba.fluss.server.zk.NOPErrorHandler;
 import com.alibaba.fluss.server.zk.ZooKeeperClient;
 import com.alibaba.fluss.server.zk.ZooKeeperExtension;
 import com.alibaba.fluss.testutils.common.AllCallbackWrapper;
+import com.alibaba.fluss.types.DataTypes;
 import com.alibaba.fluss.types.RowType;
 import com.alibaba.fluss.utils.clock.SystemClock;
 import com.alibaba.fluss.utils.concurrent.FlussScheduler;
@@ -59,8 +62,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
-import static com.alibaba.fluss.compression.ArrowCompressionInfo.DEFAULT_COMPRESSION;
-import static com.alibaba.fluss.record.TestData.DATA1_SCHEMA_PK;
+import static com.alibaba.fluss.record.TestData.DATA1_TABLE_INFO_PK;
 import static org.assertj.core.api.Assertions.assertThat;
 
 /** Test for {@link KvManager} . */
@@ -237,6 +239,51 @@ final class KvManagerTest {
         assertThat(kv).isNotPresent();
     }
 
+    @Test
+    void testGetPrefixExtractorLength() {
+        Schema schema =
+                Schema.newBuilder()
+                        .column("a", DataTypes.INT())
+                        .column("b", DataTypes.DOUBLE())
+                        .column("c", DataTypes.STRING())
+                        .column("dt", DataTypes.STRING())
+                        .primaryKey("a", "b", "c", "dt")
+                        .build();
+        // the bucket key is a prefix of the primary key
+        assertThat(KvManager.getPrefixExtractorLength(tableInfo(schema, "a"))).isEqualTo(1);
+        assertThat(KvManager.getPrefixExtractorLength(tableInfo(schema, "a", "b"))).isEqualTo(9);
+        // the partition keys are excluded from the physical primary key
+        assertThat(
+                        KvManager.getPrefixExtractorLength(
+                                tableInfo(schema, Collections.singletonList("dt"), "a", "b")))
+                .isEqualTo(9);
+        // the bucket key is not a prefix of the primary key
+        assertThat(KvManager.getPrefixExtractorLength(tableInfo(schema, "b")))
+                .isEqualTo(RocksDBResourceContainer.NO_PREFIX_EXTRACTOR);
+        // the default bucket key
+        assertThat(KvManager.getPrefixExtractorLength(tableInfo(schema, "a", "b", "c", "dt")))
+                .isEqualTo(RocksDBResourceContainer.NO_PREFIX_EXTRACTOR);
+    }
+
+    private static TableInfo tableInfo(Schema schema, String... bucketKeys) {
+        return tableInfo(schema, Collections.emptyList(), bucketKeys);
+    }
+
+    private static TableInfo tableInfo(
+            Schema schema, List<String> partitionKeys, String... bucketKeys) {
+        return TableInfo.of(
+                TablePath.of("db", "table"),
+                1L,
+                1,
+                TableDescriptor.builder()
+                        .schema(schema)
+                        .partitionedBy(partitionKeys)
+                        .distributedBy(3, bucketKeys)
+                        .build(),
+                System.currentTimeMillis(),
+                System.currentTimeMillis());
+    }
+
     private void initTableBuckets(@Nullable String partitionName) {
         if (partitionName == null) {
             tableBucket1 = new TableBucket(15001L, 1);
@@ -263,13 +310,7 @@ final class KvManagerTest {
         LogTablet logTablet =
                 logManager.getOrCreateLog(physicalTablePath, tableBucket, LogFormat.ARROW, 1, true);
         return kvManager.getOrCreateKv(
-                physicalTablePath,
-                tableBucket,
-                logTablet,
-                KvFormat.COMPACTED,
-                DATA1_SCHEMA_PK,
-                new TableConfig(new Configuration()),
-                DEFAULT_COMPRESSION);
+                physicalTablePath, tableBucket, logTablet, DATA1_TABLE_INFO_PK);
     }
 
     private byte[] valueOf(KvRecord kvRecord) {
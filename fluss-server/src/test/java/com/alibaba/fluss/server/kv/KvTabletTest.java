@@ -19,8 +19,10 @@ package com.alibaba.fluss.server.kv;
 
 import com.alibaba.fluss.config.Configuration;
 import com.alibaba.fluss.config.TableConfig;
+import com.alibaba.fluss.exception.BufferExhaustedException;
 import com.alibaba.fluss.exception.InvalidTargetColumnException;
 import com.alibaba.fluss.exception.OutOfOrderSequenceException;
+import com.alibaba.fluss.memory.MemorySegment;
 import com.alibaba.fluss.memory.TestingMemorySegmentPool;
 import com.alibaba.fluss.metadata.KvFormat;
 import com.alibaba.fluss.metadata.LogFormat;
@@ -43,11 +45,14 @@ import com.alibaba.fluss.row.encode.ValueEncoder;
 import com.alibaba.fluss.server.kv.prewrite.KvPreWriteBuffer.Key;
 import com.alibaba.fluss.server.kv.prewrite.KvPreWriteBuffer.KvEntry;
 import com.alibaba.fluss.server.kv.prewrite.KvPreWriteBuffer.Value;
+import com.alibaba.fluss.server.kv.prewrite.KvPreWriteBufferMemoryPool;
+import com.alibaba.fluss.server.kv.rocksdb.RocksDBResourceContainer;
 import com.alibaba.fluss.server.kv.rowmerger.RowMerger;
 import com.alibaba.fluss.server.log.FetchIsolation;
 import com.alibaba.fluss.server.log.LogAppendInfo;
 import com.alibaba.fluss.server.log.LogTablet;
 import com.alibaba.fluss.server.log.LogTestUtils;
+import com.alibaba.fluss.server.zk.NOPErrorHandler;
 import com.alibaba.fluss.shaded.arrow.org.apache.arrow.memory.RootAllocator;
 import com.alibaba.fluss.types.DataTypes;
 import com.alibaba.fluss.types.RowType;
@@ -106,11 +111,13 @@ class KvTabletTest {
 
     private LogTablet logTablet;
     private KvTablet kvTablet;
+    private KvPreWriteBufferMemoryPool kvPreWriteBufferMemoryPool;
     private ExecutorService executor;
 
     @BeforeEach
     void beforeEach() {
         executor = Executors.newFixedThreadPool(2);
+        kvPreWriteBufferMemoryPool = KvPreWriteBufferMemoryPool.create(conf);
     }
 
     @AfterEach
@@ -118,6 +125,9 @@ class KvTabletTest {
         if (executor != null) {
             executor.shutdown();
         }
+        if (kvPreWriteBufferMemoryPool != null) {
+            kvPreWriteBufferMemoryPool.close();
+        }
     }
 
     private void initLogTabletAndKvTablet(Schema schema, Map<String, String> tableConfig)
@@ -172,12 +182,17 @@ class KvTabletTest {
                 logTablet,
                 tmpKvDir,
                 conf,
+                kvPreWriteBufferMemoryPool,
+                null,
+                null,
+                RocksDBResourceContainer.NO_PREFIX_EXTRACTOR,
                 new RootAllocator(Long.MAX_VALUE),
                 new TestingMemorySegmentPool(10 * 1024),
                 KvFormat.COMPACTED,
                 schema,
                 rowMerger,
-                DEFAULT_COMPRESSION);
+                DEFAULT_COMPRESSION,
+                new TableConfig(Configuration.fromMap(tableConfig)).getLogArrowStatisticsColumns());
     }
 
     @Test
@@ -860,6 +875,121 @@ class KvTabletTest {
         assertThat(kvTablet.getKvPreWriteBuffer().getMaxLSN()).isEqualTo(9);
     }
 
+    @Test
+    void testPutWithKeysFlushedToKv() throws Exception {
+        initLogTabletAndKvTablet(DATA1_SCHEMA_PK, new HashMap<>());
+        List<KvRecord> kvData1 =
+                Arrays.asList(
+                        kvRecordFactory.ofRecord("k1".getBytes(), new Object[] {1, "v11"}),
+                        kvRecordFactory.ofRecord("k2".getBytes(), new Object[] {2, "v21"}));
+        kvTablet.putAsLeader(kvRecordBatchFactory.ofRecords(kvData1), null);
+        long endOffset = logTablet.localLogEndOffset();
+        // flush all the data to kv, so that the old values must be fetched from kv
+        kvTablet.flush(endOffset, NOPErrorHandler.INSTANCE);
+        assertThat(kvTablet.getKvPreWriteBuffer().getKvEntryMap()).isEmpty();
+
+        // the batch mixes keys in kv, keys that don't exist and keys updated in the same batch
+        List<KvRecord> kvData2 =
+                Arrays.asList(
+                        kvRecordFactory.ofRecord("k1".getBytes(), new Object[] {1, "v12"}),
+                        kvRecordFactory.ofRecord("k3".getBytes(), new Object[] {3, "v31"}),
+                        kvRecordFactory.ofRecord("k2".getBytes(), null),
+                        kvRecordFactory.ofRecord("k4".getBytes(), null),
+                        kvRecordFactory.ofRecord("k1".getBytes(), new Object[] {1, "v13"}),
+                        kvRecordFactory.ofRecord("k2".getBytes(), new Object[] {2, "v22"}));
+        kvTablet.putAsLeader(kvRecordBatchFactory.ofRecords(kvData2), null);
+
+        List<MemoryLogRecords> expectedLogs =
+                Collections.singletonList(
+                        logRecords(
+                                endOffset,
+                                Arrays.asList(
+                                        ChangeType.UPDATE_BEFORE,
+                                        ChangeType.UPDATE_AFTER,
+                                        ChangeType.INSERT,
+                                        ChangeType.DELETE,
+                                        ChangeType.UPDATE_BEFORE,
+                                        ChangeType.UPDATE_AFTER,
+                                        ChangeType.INSERT),
+                                Arrays.asList(
+                                        new Object[] {1, "v11"},
+                                        new Object[] {1, "v12"},
+                                        new Object[] {3, "v31"},
+                                        new Object[] {2, "v21"},
+                                        new Object[] {1, "v12"},
+                                        new Object[] {1, "v13"},
+                                        new Object[] {2, "v22"})));
+        checkEqual(readLogRecords(endOffset), expectedLogs);
+    }
+
+    @Test
+    void testPutWithPreWriteBufferExhausted() throws Exception {
+        // a pool with only one page, which will be exhausted by the first batch
+        kvPreWriteBufferMemoryPool.close();
+        kvPreWriteBufferMemoryPool = new KvPreWriteBufferMemoryPool(1, 1024);
+        initLogTabletAndKvTablet(DATA1_SCHEMA_PK, new HashMap<>());
+        KvRecordBatch kvRecordBatch1 =
+                kvRecordBatchFactory.ofRecords(
+                        kvRecordFactory.ofRecord("k1".getBytes(), new Object[] {1, "v11"}));
+        kvTablet.putAsLeader(kvRecordBatch1, null);
+        assertThat(kvPreWriteBufferMemoryPool.availableMemory()).isEqualTo(0);
+
+        // the memory can't be released until the pre-write buffer is flushed
+        KvRecordBatch kvRecordBatch2 =
+                kvRecordBatchFactory.ofRecords(
+                        kvRecordFactory.ofRecord("k2".getBytes(), new Object[] {2, "v21"}));
+        long endOffset = logTablet.localLogEndOffset();
+        assertThatThrownBy(() -> kvTablet.putAsLeader(kvRecordBatch2, null))
+                .isInstanceOf(BufferExhaustedException.class)
+                .hasMessageContaining(
+                        "kv pre-write buffer memory of the tablet server is exhausted");
+        // nothing should be written to the log
+        assertThat(logTablet.localLogEndOffset()).isEqualTo(endOffset);
+
+        // flush the pre-write buffer to release the memory, then the put should succeed
+        kvTablet.flush(endOffset, NOPErrorHandler.INSTANCE);
+        assertThat(kvPreWriteBufferMemoryPool.availableMemory()).isEqualTo(1024);
+        kvTablet.putAsLeader(kvRecordBatch2, null);
+        assertThat(kvTablet.getKvPreWriteBuffer().getKvEntryMap()).hasSize(1);
+
+        // closing the kv tablet returns the memory of the pre-write buffer to the pool
+        kvTablet.close();
+        assertThat(kvPreWriteBufferMemoryPool.availableMemory()).isEqualTo(1024);
+    }
+
+    @Test
+    void testRecoverWithPreWriteBufferExhausted() throws Exception {
+        // a pool with only one page, which is exhausted by the puts of another leader
+        kvPreWriteBufferMemoryPool.close();
+        kvPreWriteBufferMemoryPool = new KvPreWriteBufferMemoryPool(1, 1024);
+        MemorySegment usedPage = kvPreWriteBufferMemoryPool.nextSegment();
+        assertThat(kvPreWriteBufferMemoryPool.availableMemory()).isEqualTo(0);
+        initLogTabletAndKvTablet(DATA1_SCHEMA_PK, new HashMap<>());
+
+        // the recovery of the records between the high watermark and the log end offset must not
+        // fail on the exhausted memory
+        int numRecords = 100;
+        for (int i = 0; i < numRecords; i++) {
+            byte[] value = i % 10 == 9 ? null : ("v" + i).getBytes();
+            kvTablet.putToPreWriteBuffer(("k" + i).getBytes(), value, i);
+        }
+        assertThat(kvTablet.getKvPreWriteBuffer().getKvEntryMap()).hasSize(numRecords);
+        assertThat(kvPreWriteBufferMemoryPool.usedMemory()).isGreaterThan(1024);
+        assertThat(kvPreWriteBufferMemoryPool.availableMemory()).isEqualTo(0);
+
+        // the writes are rejected until the recovered entries are flushed
+        KvRecordBatch kvRecordBatch =
+                kvRecordBatchFactory.ofRecords(
+                        kvRecordFactory.ofRecord("k1".getBytes(), new Object[] {1, "v11"}));
+        assertThatThrownBy(() -> kvTablet.putAsLeader(kvRecordBatch, null))
+                .isInstanceOf(BufferExhaustedException.class);
+        kvTablet.flush(numRecords, NOPErrorHandler.INSTANCE);
+        assertThat(kvTablet.getKvPreWriteBuffer().getKvEntryMap()).isEmpty();
+        kvPreWriteBufferMemoryPool.returnAll(Collections.singletonList(usedPage));
+        assertThat(kvPreWriteBufferMemoryPool.usedMemory()).isEqualTo(0);
+        assertThat(kvPreWriteBufferMemoryPool.availableMemory()).isEqualTo(1024);
+    }
+
     private LogRecords readLogRecords() throws Exception {
         return readLogRecords(0L);
     }
@@ -17,22 +17,50 @@
 
 package com.alibaba.fluss.server.kv.prewrite;
 
+import com.alibaba.fluss.exception.BufferExhaustedException;
+import com.alibaba.fluss.row.BinaryRow;
+import com.alibaba.fluss.row.encode.ValueEncoder;
 import com.alibaba.fluss.server.kv.KvBatchWriter;
 import com.alibaba.fluss.server.kv.prewrite.KvPreWriteBuffer.TruncateReason;
 
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import javax.annotation.Nonnull;
 
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.alibaba.fluss.record.TestData.DATA1_ROW_TYPE;
+import static com.alibaba.fluss.testutils.DataTestUtils.compactedRow;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 /** Test for {@link com.alibaba.fluss.server.kv.prewrite.KvPreWriteBuffer}. */
 class KvPreWriteBufferTest {
 
+    // use a small page size to make the kv entries span multiple pages
+    private static final int PAGE_SIZE = 64;
+    private static final int MAX_PAGES = 16;
+
+    private KvPreWriteBufferMemoryPool memoryPool;
+
+    @BeforeEach
+    void beforeEach() {
+        memoryPool = new KvPreWriteBufferMemoryPool(MAX_PAGES, PAGE_SIZE);
+    }
+
+    @AfterEach
+    void afterEach() {
+        memoryPool.close();
+    }
+
     @Test
     void testIllegalLSN() {
-        KvPreWriteBuffer buffer = new KvPreWriteBuffer(new NopKvBatchWriter());
+        KvPreWriteBuffer buffer = newBuffer();
         bufferPut(buffer, "key1", "value1", 1);
         bufferDelete(buffer, "key1", 3);
 
@@ -51,7 +79,7 @@ class KvPreWriteBufferTest {
 
     @Test
     void testWriteAndFlush() throws Exception {
-        KvPreWriteBuffer buffer = new KvPreWriteBuffer(new NopKvBatchWriter());
+        KvPreWriteBuffer buffer = newBuffer();
         int elementCount = 0;
 
         // put a series of kv entries
@@ -132,7 +160,7 @@ class KvPreWriteBufferTest {
 
     @Test
     void testTruncate() {
-        KvPreWriteBuffer buffer = new KvPreWriteBuffer(new NopKvBatchWriter());
+        KvPreWriteBuffer buffer = newBuffer();
         int elementCount = 0;
 
         // put a series of kv entries
@@ -183,6 +211,152 @@ class KvPreWriteBufferTest {
         assertThat(buffer.getKvEntryMap().size()).isEqualTo(0);
     }
 
+    @Test
+    void testPutLargeValueAcrossPages() throws Exception {
+        KvPreWriteBuffer buffer = newBuffer();
+        List<String> values = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            StringBuilder value = new StringBuilder();
+            for (int j = 0; j < 3 * PAGE_SIZE / 2 + i; j++) {
+                value.append((char) ('a' + (i + j) % 26));
+            }
+            values.add(value.toString());
+            bufferPut(buffer, "key" + i, value.toString(), i);
+        }
+        for (int i = 0; i < 5; i++) {
+            assertThat(getValue(buffer, "key" + i)).isEqualTo(values.get(i));
+        }
+        assertThat(buffer.getEntryCount()).isEqualTo(5);
+
+        // flush the first 3 entries, the pages of the flushed entries should be released
+        long usedMemory = memoryPool.usedMemory();
+        buffer.flush(3);
+        assertThat(buffer.getEntryCount()).isEqualTo(2);
+        assertThat(memoryPool.usedMemory()).isLessThan(usedMemory);
+        assertThat(buffer.getMemorySize()).isEqualTo(memoryPool.usedMemory());
+        for (int i = 3; i < 5; i++) {
+            assertThat(getValue(buffer, "key" + i)).isEqualTo(values.get(i));
+        }
+
+        // truncate the last entry, the pages of the truncated entry should be released
+        usedMemory = memoryPool.usedMemory();
+        buffer.truncateTo(4, TruncateReason.ERROR);
+        assertThat(memoryPool.usedMemory()).isLessThan(usedMemory);
+        assertThat(getValue(buffer, "key3")).isEqualTo(values.get(3));
+        assertThat(getValue(buffer, "key4")).isNull();
+
+        buffer.close();
+        assertThat(memoryPool.usedMemory()).isEqualTo(0);
+    }
+
+    @Test
+    void testMemoryExhausted() throws Exception {
+        KvPreWriteBuffer buffer = newBuffer();
+        // put until the memory is exhausted
+        assertThatThrownBy(
+                        () -> {
+                            for (int i = 0; ; i++) {
+                                bufferPut(buffer, "key" + i, "value" + i, i);
+                            }
+                        })
+                .isInstanceOf(BufferExhaustedException.class);
+        assertThat(memoryPool.availableMemory()).isEqualTo(0);
+        assertThat(memoryPool.hasAvailableMemory(1)).isFalse();
+
+        // the buffer is still consistent after the failed put
+        int elementCount = buffer.getEntryCount();
+        for (int i = 0; i < elementCount; i++) {
+            assertThat(getValue(buffer, "key" + i)).isEqualTo("value" + i);
+        }
+        assertThat(getValue(buffer, "key" + elementCount)).isNull();
+        assertThat(buffer.getMaxLSN()).isEqualTo(elementCount - 1);
+
+        // flush all the entries to release the memory
+        buffer.flush(elementCount);
+        assertThat(buffer.getEntryCount()).isEqualTo(0);
+        assertThat(memoryPool.availableMemory()).isEqualTo((long) MAX_PAGES * PAGE_SIZE);
+        assertThat(memoryPool.hasAvailableMemory(1)).isTrue();
+        bufferPut(buffer, "key0", "value00", elementCount);
+        assertThat(getValue(buffer, "key0")).isEqualTo("value00");
+        buffer.close();
+    }
+
+    @Test
+    void testManyKeys() throws Exception {
+        memoryPool.close();
+        memoryPool = new KvPreWriteBufferMemoryPool(1024, 1024);
+        KvPreWriteBuffer buffer = newBuffer();
+        int keyCount = 5000;
+        for (int i = 0; i < keyCount; i++) {
+            bufferPut(buffer, "key" + i, "value" + i, i);
+        }
+        // update the even keys and delete the odd keys
+        for (int i = 0; i < keyCount; i++) {
+            if (i % 2 == 0) {
+                bufferPut(buffer, "key" + i, "new-value" + i, keyCount + i);
+            } else {
+                bufferDelete(buffer, "key" + i, keyCount + i);
+            }
+        }
+        assertThat(buffer.getKvEntryMap()).hasSize(keyCount);
+
+        // flush the first round of puts, the latest entries still in the buffer
+        buffer.flush(keyCount);
+        assertThat(buffer.getKvEntryMap()).hasSize(keyCount);
+        // truncate the deletes of the odd keys, the odd keys have been flushed
+        buffer.truncateTo(keyCount + 1, TruncateReason.ERROR);
+        for (int i = 0; i < keyCount; i++) {
+            if (i == 0) {
+                assertThat(getValue(buffer, "key" + i)).isEqualTo("new-value" + i);
+            } else {
+                assertThat(buffer.get(toKey("key" + i))).isNull();
+            }
+        }
+        buffer.close();
+    }
+
+    @Test
+    void testPutKeyViewAndRow() throws Exception {
+        KvPreWriteBuffer buffer = newBuffer();
+        byte[] keyBytes = "key1".getBytes();
+
+        // the key views of heap and off-heap buffers are equal to the key of the bytes
+        byte[] heapBytes = "xxkey1yy".getBytes();
+        KvPreWriteBuffer.Key heapKey = KvPreWriteBuffer.Key.of(ByteBuffer.wrap(heapBytes, 2, 4));
+        ByteBuffer directBuffer = ByteBuffer.allocateDirect(8);
+        directBuffer.put(heapBytes);
+        directBuffer.position(2);
+        directBuffer.limit(6);
+        KvPreWriteBuffer.Key directKey = KvPreWriteBuffer.Key.of(directBuffer);
+        for (KvPreWriteBuffer.Key key : Arrays.asList(heapKey, directKey)) {
+            assertThat(key).isEqualTo(toKey("key1"));
+            assertThat(key.hashCode()).isEqualTo(toKey("key1").hashCode());
+            assertThat(key.get()).isEqualTo(keyBytes);
+        }
+
+        // put a row larger than a page with the key view, the value is encoded in the buffer
+        StringBuilder largeString = new StringBuilder();
+        for (int i = 0; i < 2 * PAGE_SIZE; i++) {
+            largeString.append((char) ('a' + i % 26));
+        }
+        BinaryRow row = compactedRow(DATA1_ROW_TYPE, new Object[] {1, largeString.toString()});
+        buffer.put(heapKey, (short) 3, row, 0);
+        // the key is copied into the buffer, changing the source bytes doesn't affect the buffer
+        heapBytes[2] = 'x';
+        KvPreWriteBuffer.Value value = buffer.get(toKey("key1"));
+        assertThat(value).isNotNull();
+        assertThat(value.get()).isEqualTo(ValueEncoder.encodeValue((short) 3, row));
+
+        buffer.put(directKey, (short) 3, compactedRow(DATA1_ROW_TYPE, new Object[] {2, "b"}), 1);
+        assertThat(buffer.getEntryCount()).isEqualTo(2);
+        assertThat(buffer.getKvEntryMap()).hasSize(1);
+        buffer.close();
+    }
+
+    private KvPreWriteBuffer newBuffer() {
+        return new KvPreWriteBuffer(new NopKvBatchWriter(), memoryPool);
+    }
+
     private static void bufferPut(
             KvPreWriteBuffer kvPreWriteBuffer, String key, String value, int elementCount) {
         kvPreWriteBuffer.put(toKey(key), value.getBytes(), elementCount);
@@ -21,12 +21,23 @@ import com.alibaba.fluss.config.Configuration;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.rocksdb.FlushOptions;
 
 import java.io.File;
+import java.io.IOException;
 import java.nio.file.Path;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 /** Test for {@link com.alibaba.fluss.server.kv.rocksdb.RocksDBKv}. */
 class RocksDBKvTest {
@@ -64,4 +75,108 @@ class RocksDBKvTest {
             assertThat(rocksDBKv.multiGet(Arrays.asList(key, key2))).containsExactly(null, val2);
         }
     }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {true, false})
+    void testPrefixLookups(boolean usePrefixExtractor, @TempDir Path tempDir) throws Exception {
+        File instanceBasePath = tempDir.toFile();
+        RocksDBResourceContainer rocksDBResourceContainer =
+                new RocksDBResourceContainer(
+                        new Configuration(),
+                        instanceBasePath,
+                        false,
+                        null,
+                        usePrefixExtractor ? 2 : RocksDBResourceContainer.NO_PREFIX_EXTRACTOR);
+        RocksDBKvBuilder rocksDBKvBuilder =
+                new RocksDBKvBuilder(
+                        instanceBasePath,
+                        rocksDBResourceContainer,
+                        rocksDBResourceContainer.getColumnOptions());
+
+        try (RocksDBKv rocksDBKv = rocksDBKvBuilder.build()) {
+            byte[][] keys =
+                    new byte[][] {
+                        {1, 1, 1}, {1, 1, 2}, {1, 2, 1}, {2, 1, 1}, {(byte) 0xFF, (byte) 0xFF, 1}
+                    };
+            for (int i = 0; i < keys.length; i++) {
+                rocksDBKv.put(keys[i], new byte[] {(byte) i});
+                // flush some of the keys to SST files
+                if (i == 2) {
+                    try (FlushOptions flushOptions = new FlushOptions().setWaitForFlush(true)) {
+                        rocksDBKv.getDb().flush(flushOptions);
+                    }
+                }
+            }
+
+            List<List<byte[]>> result =
+                    rocksDBKv.prefixLookups(
+                            Arrays.asList(
+                                    new byte[] {2, 1},
+                                    new byte[] {1, 1},
+                                    new byte[] {3, 3},
+                                    new byte[] {(byte) 0xFF, (byte) 0xFF},
+                                    new byte[] {1, 1}));
+            assertThat(result).hasSize(5);
+            assertThat(result.get(0)).containsExactly(new byte[] {3});
+            assertThat(result.get(1)).containsExactly(new byte[] {0}, new byte[] {1});
+            assertThat(result.get(2)).isEmpty();
+            assertThat(result.get(3)).containsExactly(new byte[] {4});
+            assertThat(result.get(4)).containsExactly(new byte[] {0}, new byte[] {1});
+
+            // the prefix shorter than the fixed length prefix
+            assertThat(rocksDBKv.prefixLookup(new byte[] {1}))
+                    .containsExactly(new byte[] {0}, new byte[] {1}, new byte[] {2});
+            assertThat(rocksDBKv.prefixLookups(Collections.emptyList())).isEmpty();
+
+            // scan across the prefixes
+            assertThat(rocksDBKv.limitScan(10)).hasSize(keys.length);
+        }
+    }
+
+    @Test
+    void testSnapshotReader(@TempDir Path tempDir) throws Exception {
+        File instanceBasePath = tempDir.toFile();
+        RocksDBResourceContainer rocksDBResourceContainer =
+                new RocksDBResourceContainer(new Configuration(), instanceBasePath);
+        RocksDBKvBuilder rocksDBKvBuilder =
+                new RocksDBKvBuilder(
+                        instanceBasePath,
+                        rocksDBResourceContainer,
+                        rocksDBResourceContainer.getColumnOptions());
+
+        RocksDBKv rocksDBKv = rocksDBKvBuilder.build();
+        byte[] key1 = new byte[] {1, 1};
+        byte[] key2 = new byte[] {1, 2};
+        rocksDBKv.put(key1, new byte[] {1});
+
+        RocksDBKv.SnapshotReader reader = rocksDBKv.openSnapshotReader();
+        // the writes after the snapshot is taken are invisible to the reader
+        rocksDBKv.put(key1, new byte[] {2});
+        rocksDBKv.put(key2, new byte[] {2});
+        assertThat(reader.multiGet(Arrays.asList(key1, key2)))
+                .containsExactly(new byte[] {1}, null);
+        List<List<byte[]>> prefixLookupResult =
+                reader.prefixLookups(Collections.singletonList(new byte[] {1}));
+        assertThat(prefixLookupResult).hasSize(1);
+        assertThat(prefixLookupResult.get(0)).containsExactly(new byte[] {1});
+        assertThat(reader.limitScan(10)).containsExactly(new byte[] {1});
+        assertThat(rocksDBKv.multiGet(Arrays.asList(key1, key2)))
+                .containsExactly(new byte[] {2}, new byte[] {2});
+
+        // the kv can't be closed until the reader is closed
+        CompletableFuture<Void> closeFuture =
+                CompletableFuture.runAsync(
+                        () -> {
+                            try {
+                                rocksDBKv.close();
+                            } catch (Exception e) {
+                                throw new CompletionException(e);
+                            }
+                        });
+        assertThatThrownBy(() -> closeFuture.get(100, TimeUnit.MILLISECONDS))
+                .isInstanceOf(TimeoutException.class);
+        reader.close();
+        closeFuture.get();
+        assertThatThrownBy(rocksDBKv::openSnapshotReader).isInstanceOf(IOException.class);
+    }
 }
@@ -0,0 +1,258 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.fluss.server.kv.rocksdb;
+
+import com.alibaba.fluss.config.ConfigOptions;
+import com.alibaba.fluss.config.Configuration;
+import com.alibaba.fluss.exception.IllegalConfigurationException;
+import com.alibaba.fluss.metadata.PhysicalTablePath;
+import com.alibaba.fluss.metadata.TablePath;
+import com.alibaba.fluss.metrics.Gauge;
+import com.alibaba.fluss.metrics.Metric;
+import com.alibaba.fluss.metrics.groups.AbstractMetricGroup;
+import com.alibaba.fluss.metrics.groups.MetricGroup;
+import com.alibaba.fluss.metrics.registry.MetricRegistry;
+import com.alibaba.fluss.server.metrics.group.BucketMetricGroup;
+import com.alibaba.fluss.server.metrics.group.PhysicalTableMetricGroup;
+import com.alibaba.fluss.server.metrics.group.TabletServerMetricGroup;
+import com.alibaba.fluss.utils.IOUtils;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.rocksdb.HistogramType;
+import org.rocksdb.TickerType;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/** Test for {@link RocksDBMetricsCollector} and {@link RocksDBNativeMetricMonitor}. */
+class RocksDBMetricsCollectorTest {
+
+    private static final String NUM_KEYS = "rocksdb.estimate-num-keys";
+    private static final String BYTES_WRITTEN = "rocksdb.bytes.written";
+    private static final String GET_AVG = "rocksdb.db.get.avg";
+    private static final String GET_P99 = "rocksdb.db.get.p99";
+
+    private final TestingMetricRegistry registry = new TestingMetricRegistry();
+    private final List<AutoCloseable> closeables = new ArrayList<>();
+
+    private RocksDBMetricsCollector collector;
+    private TabletServerMetricGroup serverMetricGroup;
+    private PhysicalTableMetricGroup tableMetricGroup;
+
+    @BeforeEach
+    void beforeEach() {
+        RocksDBNativeMetricOptions options =
+                new RocksDBNativeMetricOptions(
+                        Collections.singletonList(NUM_KEYS),
+                        Collections.singletonList(TickerType.BYTES_WRITTEN),
+                        Collections.singletonList(HistogramType.DB_GET));
+        collector = new RocksDBMetricsCollector(options, Long.MAX_VALUE);
+        serverMetricGroup = new TabletServerMetricGroup(registry, "fluss", "host", 0);
+        tableMetricGroup =
+                new PhysicalTableMetricGroup(
+                        registry,
+                        PhysicalTablePath.of(TablePath.of("db", "table"), null),
+                        true,
+                        serverMetricGroup);
+    }
+
+    @AfterEach
+    void afterEach() throws Exception {
+        collector.close();
+        closeables.forEach(IOUtils::closeQuietly);
+    }
+
+    @Test
+    void testOptionsFromConfig() {
+        Configuration conf = new Configuration();
+        conf.set(ConfigOptions.KV_ROCKSDB_METRICS_PROPERTIES, Collections.emptyList());
+        conf.set(ConfigOptions.KV_ROCKSDB_METRICS_TICKERS, Collections.emptyList());
+        RocksDBNativeMetricOptions options = RocksDBNativeMetricOptions.fromConfig(conf);
+        assertThat(options.isEnabled()).isFalse();
+        assertThat(options.isStatisticsEnabled()).isFalse();
+        assertThat(RocksDBMetricsCollector.create(conf).createMonitor(null)).isNull();
+
+        conf.set(ConfigOptions.KV_ROCKSDB_METRICS_TICKERS, Arrays.asList("block_cache_miss"));
+        conf.set(ConfigOptions.KV_ROCKSDB_METRICS_HISTOGRAMS, Arrays.asList("DB_WRITE"));
+        options = RocksDBNativeMetricOptions.fromConfig(conf);
+        assertThat(options.isStatisticsEnabled()).isTrue();
+        assertThat(options.getMetricNames())
+                .containsExactly(
+                        "rocksdb.block.cache.miss", "rocksdb.db.write.avg", "rocksdb.db.write.p99");
+        assertThat(options.isRolledUpByMax(0)).isFalse();
+        assertThat(options.isRolledUpByMax(1)).isTrue();
+
+        conf.set(ConfigOptions.KV_ROCKSDB_METRICS_TICKERS, Arrays.asList("NOT_EXIST"));
+        assertThatThrownBy(() -> RocksDBNativeMetricOptions.fromConfig(conf))
+                .isInstanceOf(IllegalConfigurationException.class)
+                .hasMessageContaining("Unknown RocksDB metric type 'NOT_EXIST'");
+    }
+
+    @Test
+    void testSampleAndRollUp(@TempDir Path tempDir) throws Exception {
+        RocksDBKv kv1 = createRocksDBKv(tempDir.resolve("kv1").toFile());
+        RocksDBKv kv2 = createRocksDBKv(tempDir.resolve("kv2").toFile());
+        BucketMetricGroup bucket1 = new BucketMetricGroup(registry, 0, tableMetricGroup);
+        BucketMetricGroup bucket2 = new BucketMetricGroup(registry, 1, tableMetricGroup);
+
+        RocksDBNativeMetricMonitor monitor1 = collector.createMonitor(kv1);
+        RocksDBNativeMetricMonitor monitor2 = collector.createMonitor(kv2);
+        collector.registerServerMetrics(serverMetricGroup);
+        collector.register(monitor1, bucket1);
+        collector.register(monitor2, bucket2);
+
+        putAndGet(kv1, 10);
+        putAndGet(kv2, 20);
+        collector.sample();
+
+        MetricGroup bucketGroup1 = bucket1.addGroup("kv").addGroup("rocksdb");
+        MetricGroup bucketGroup2 = bucket2.addGroup("kv").addGroup("rocksdb");
+        MetricGroup tableGroup = tableMetricGroup.addGroup("rocksdb");
+        MetricGroup serverGroup = serverMetricGroup.addGroup("rocksdb");
+
+        assertThat(registry.getValue(bucketGroup1, NUM_KEYS)).isEqualTo(10L);
+        assertThat(registry.getValue(bucketGroup2, NUM_KEYS)).isEqualTo(20L);
+        assertThat(registry.getValue(bucketGroup1, BYTES_WRITTEN)).isGreaterThan(0L);
+
+        // the properties and tickers are rolled up by sum, the histograms by max
+        for (String metric : Arrays.asList(NUM_KEYS, BYTES_WRITTEN)) {
+            long expected =
+                    registry.getValue(bucketGroup1, metric)
+                            + registry.getValue(bucketGroup2, metric);
+            assertThat(registry.getValue(tableGroup, metric)).isEqualTo(expected);
+            assertThat(registry.getValue(serverGroup, metric)).isEqualTo(expected);
+        }
+        for (String metric : Arrays.asList(GET_AVG, GET_P99)) {
+            long expected =
+                    Math.max(
+                            registry.getValue(bucketGroup1, metric),
+                            registry.getValue(bucketGroup2, metric));
+            assertThat(registry.getValue(tableGroup, metric)).isEqualTo(expected);
+            assertThat(registry.getValue(serverGroup, metric)).isEqualTo(expected);
+        }
+
+        // unregister the first bucket, only the second bucket is rolled up
+        collector.unregister(monitor1);
+        assertThat(registry.isRegistered(bucketGroup1, NUM_KEYS)).isFalse();
+        collector.sample();
+        assertThat(registry.getValue(tableGroup, NUM_KEYS)).isEqualTo(20L);
+        assertThat(registry.getValue(serverGroup, NUM_KEYS)).isEqualTo(20L);
+
+        // the table metrics are removed after all the buckets are unregistered
+        collector.unregister(monitor2);
+        assertThat(registry.isRegistered(tableGroup, NUM_KEYS)).isFalse();
+        collector.sample();
+        assertThat(registry.getValue(serverGroup, NUM_KEYS)).isEqualTo(0L);
+
+        // the monitor can be registered again after unregistered, e.g., becomes leader again
+        collector.register(monitor1, bucket1);
+        collector.sample();
+        assertThat(registry.getValue(bucket1.addGroup("kv").addGroup("rocksdb"), NUM_KEYS))
+                .isEqualTo(10L);
+        assertThat(registry.getValue(tableMetricGroup.addGroup("rocksdb"), NUM_KEYS))
+                .isEqualTo(10L);
+    }
+
+    @Test
+    void testSampleClosedRocksDB(@TempDir Path tempDir) throws Exception {
+        RocksDBKv kv = createRocksDBKv(tempDir.toFile());
+        BucketMetricGroup bucket = new BucketMetricGroup(registry, 0, tableMetricGroup);
+        RocksDBNativeMetricMonitor monitor = collector.createMonitor(kv);
+        collector.register(monitor, bucket);
+        putAndGet(kv, 5);
+        collector.sample();
+        assertThat(monitor.getValue(0)).isEqualTo(5L);
+
+        // the last sampled values are kept after the RocksDB is closed
+        kv.close();
+        collector.sample();
+        assertThat(monitor.getValue(0)).isEqualTo(5L);
+    }
+
+    private RocksDBKv createRocksDBKv(File dir) throws Exception {
+        RocksDBResourceContainer container =
+                new RocksDBResourceContainer(new Configuration(), dir, true, null);
+        RocksDBKv kv = new RocksDBKvBuilder(dir, container, container.getColumnOptions()).build();
+        // the resource container is closed with the kv
+        closeables.add(kv);
+        assertThat(kv.getStatistics()).isNotNull();
+        return kv;
+    }
+
+    private static void putAndGet(RocksDBKv kv, int numKeys) throws Exception {
+        for (int i = 0; i < numKeys; i++) {
+            byte[] key = new byte[] {(byte) i};
+            kv.put(key, key);
+            assertThat(kv.get(key)).isEqualTo(key);
+        }
+    }
+
+    /** A {@link MetricRegistry} which keeps the registered metrics of each group. */
+    private static class TestingMetricRegistry implements MetricRegistry {
+
+        private final Map<MetricGroup, Map<String, Metric>> metrics = new IdentityHashMap<>();
+
+        @Override
+        public int getNumberReporters() {
+            return 0;
+        }
+
+        @Override
+        public synchronized void register(
+                Metric metric, String metricName, AbstractMetricGroup group) {
+            metrics.computeIfAbsent(group, k -> new HashMap<>()).put(metricName, metric);
+        }
+
+        @Override
+        public synchronized void unregister(
+                Metric metric, String metricName, AbstractMetricGroup group) {
+            Map<String, Metric> groupMetrics = metrics.get(group);
+            if (groupMetrics != null) {
+                groupMetrics.remove(metricName);
+            }
+        }
+
+        synchronized boolean isRegistered(MetricGroup group, String metricName) {
+            return metrics.getOrDefault(group, Collections.emptyMap()).containsKey(metricName);
+        }
+
+        synchronized long getValue(MetricGroup group, String metricName) {
+            assertThat(isRegistered(group, metricName)).isTrue();
+            return (Long) ((Gauge<?>) metrics.get(group).get(metricName)).getValue();
+        }
+
+        @Override
+        public CompletableFuture<Void> closeAsync() {
+            return CompletableFuture.completedFuture(null);
+        }
+    }
+}
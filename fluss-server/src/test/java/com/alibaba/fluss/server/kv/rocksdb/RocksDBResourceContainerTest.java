@@ -19,6 +19,7 @@ package com.alibaba.fluss.server.kv.rocksdb;
 
 import com.alibaba.fluss.config.ConfigOptions;
 import com.alibaba.fluss.config.Configuration;
+import com.alibaba.fluss.config.MemorySize;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
@@ -37,6 +38,7 @@ import java.io.File;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -191,4 +193,81 @@ class RocksDBResourceContainerTest {
             assertThat(tableConfig.filterPolicy() instanceof BloomFilter).isTrue();
         }
     }
+
+    @Test
+    void testPrefixExtractor() throws Exception {
+        Configuration configuration = new Configuration();
+        try (RocksDBResourceContainer container =
+                new RocksDBResourceContainer(configuration, null, false, null, 4)) {
+            assertThat(container.getPrefixExtractorLength()).isEqualTo(4);
+            ColumnFamilyOptions columnOptions = container.getColumnOptions();
+            assertThat(columnOptions.memtablePrefixBloomSizeRatio()).isEqualTo(0.1);
+        }
+
+        configuration.set(ConfigOptions.KV_USE_PREFIX_BLOOM_FILTER, false);
+        try (RocksDBResourceContainer container =
+                new RocksDBResourceContainer(configuration, null, false, null, 4)) {
+            assertThat(container.getPrefixExtractorLength())
+                    .isEqualTo(RocksDBResourceContainer.NO_PREFIX_EXTRACTOR);
+            ColumnFamilyOptions columnOptions = container.getColumnOptions();
+            assertThat(columnOptions.memtablePrefixBloomSizeRatio()).isEqualTo(0.0);
+        }
+    }
+
+    @Test
+    void testSharedResources(@TempDir Path tempFolder) throws Exception {
+        Configuration configuration = new Configuration();
+        configuration.set(ConfigOptions.KV_SHARED_MEMORY_ENABLED, true);
+        configuration.set(ConfigOptions.KV_SHARED_MEMORY_SIZE, MemorySize.parse("64mb"));
+        configuration.set(ConfigOptions.KV_SHARED_MEMORY_WRITE_BUFFER_RATIO, 0.5);
+
+        try (RocksDBSharedResources sharedResources =
+                RocksDBSharedResources.create(configuration)) {
+            assertThat(sharedResources).isNotNull();
+            assertThat(sharedResources.getTotalMemorySize()).isEqualTo(64 * SizeUnit.MB);
+            // the memtables may use up to 1.5 times of the write buffer manager capacity
+            assertThat(
+                            RocksDBSharedResources.calculateWriteBufferManagerCapacity(
+                                    64 * SizeUnit.MB, 0.5))
+                    .isEqualTo(64 * SizeUnit.MB / 3);
+            assertThat(RocksDBSharedResources.calculateActualCacheCapacity(64 * SizeUnit.MB, 0.5))
+                    .isEqualTo(64 * SizeUnit.MB * 5 / 6);
+
+            // all the rocksdb instances use the same block cache and write buffer manager
+            List<RocksDBKv> rocksDBKvs = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                File instanceBasePath = tempFolder.resolve("kv-" + i).toFile();
+                RocksDBResourceContainer container =
+                        new RocksDBResourceContainer(
+                                configuration, instanceBasePath, sharedResources);
+                DBOptions dbOptions = container.getDbOptions();
+                assertThat(dbOptions.writeBufferManager())
+                        .isSameAs(sharedResources.getWriteBufferManager());
+                ColumnFamilyOptions columnOptions = container.getColumnOptions();
+                BlockBasedTableConfig tableConfig =
+                        (BlockBasedTableConfig) columnOptions.tableFormatConfig();
+                assertThat(tableConfig.cacheIndexAndFilterBlocks()).isTrue();
+                assertThat(tableConfig.cacheIndexAndFilterBlocksWithHighPriority()).isTrue();
+                assertThat(tableConfig.pinL0FilterAndIndexBlocksInCache()).isTrue();
+                assertThat(tableConfig.pinTopLevelIndexAndFilter()).isTrue();
+
+                RocksDBKv rocksDBKv =
+                        new RocksDBKvBuilder(instanceBasePath, container, columnOptions).build();
+                rocksDBKv.put(new byte[] {(byte) i}, new byte[] {1, 2, 3});
+                rocksDBKvs.add(rocksDBKv);
+            }
+            for (int i = 0; i < rocksDBKvs.size(); i++) {
+                assertThat(rocksDBKvs.get(i).get(new byte[] {(byte) i}))
+                        .isEqualTo(new byte[] {1, 2, 3});
+                rocksDBKvs.get(i).close();
+            }
+
+            // closing the rocksdb instances won't close the shared resources
+            assertThat(sharedResources.getCache().isOwningHandle()).isTrue();
+            assertThat(sharedResources.getWriteBufferManager().isOwningHandle()).isTrue();
+        }
+
+        // the shared resources are disabled by default
+        assertThat(RocksDBSharedResources.create(new Configuration())).isNull();
+    }
 }
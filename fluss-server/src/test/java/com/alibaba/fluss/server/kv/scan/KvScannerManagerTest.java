@@ -0,0 +1,138 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.fluss.server.kv.scan;
+
+import com.alibaba.fluss.config.Configuration;
+import com.alibaba.fluss.exception.KvScannerNotFoundException;
+import com.alibaba.fluss.exception.TooManyKvScannersException;
+import com.alibaba.fluss.metadata.KvFormat;
+import com.alibaba.fluss.metadata.TableBucket;
+import com.alibaba.fluss.server.kv.rocksdb.RocksDBKv;
+import com.alibaba.fluss.server.kv.rocksdb.RocksDBKvBuilder;
+import com.alibaba.fluss.server.kv.rocksdb.RocksDBResourceContainer;
+import com.alibaba.fluss.utils.clock.ManualClock;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+import static com.alibaba.fluss.record.TestData.DATA1_ROW_TYPE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/** Test for {@link KvScannerManager}. */
+class KvScannerManagerTest {
+
+    private final TableBucket tableBucket = new TableBucket(150001L, 0);
+    private final ManualClock clock = new ManualClock();
+
+    private @TempDir File tempDir;
+    private RocksDBKv rocksDBKv;
+
+    @BeforeEach
+    void beforeEach() throws Exception {
+        RocksDBResourceContainer container =
+                new RocksDBResourceContainer(new Configuration(), tempDir);
+        rocksDBKv = new RocksDBKvBuilder(tempDir, container, container.getColumnOptions()).build();
+    }
+
+    @AfterEach
+    void afterEach() throws Exception {
+        rocksDBKv.close();
+    }
+
+    @Test
+    void testRegisterAndRemove() throws Exception {
+        KvScannerManager manager = new KvScannerManager(10, 60_000L, clock);
+        KvScanner scanner = newScanner();
+        long scannerId = manager.register(scanner);
+        assertThat(manager.numScanners()).isEqualTo(1);
+        assertThat(manager.get(scannerId, tableBucket)).isSameAs(scanner);
+
+        // the scanner must be got with the bucket it scans
+        assertThatThrownBy(() -> manager.get(scannerId, new TableBucket(150001L, 1)))
+                .isInstanceOf(KvScannerNotFoundException.class);
+
+        // the scanner can't be removed with another bucket
+        manager.remove(scannerId, new TableBucket(150001L, 1));
+        assertThat(manager.get(scannerId, tableBucket)).isSameAs(scanner);
+
+        manager.remove(scannerId, tableBucket);
+        assertThat(manager.numScanners()).isEqualTo(0);
+        assertThatThrownBy(() -> manager.get(scannerId, tableBucket))
+                .isInstanceOf(KvScannerNotFoundException.class);
+        // the removed scanner is closed
+        assertThatThrownBy(scanner::hasMoreResults)
+                .isInstanceOf(KvScannerNotFoundException.class);
+        // remove a removed scanner is a no-op
+        manager.remove(scannerId, tableBucket);
+    }
+
+    @Test
+    void testTooManyScanners() throws Exception {
+        KvScannerManager manager = new KvScannerManager(2, 60_000L, clock);
+        manager.register(newScanner());
+        long scannerId = manager.register(newScanner());
+
+        KvScanner scanner = newScanner();
+        assertThatThrownBy(() -> manager.register(scanner))
+                .isInstanceOf(TooManyKvScannersException.class);
+        assertThatThrownBy(scanner::hasMoreResults)
+                .isInstanceOf(KvScannerNotFoundException.class);
+
+        manager.remove(scannerId, tableBucket);
+        manager.register(newScanner());
+        assertThat(manager.numScanners()).isEqualTo(2);
+
+        manager.close();
+        assertThat(manager.numScanners()).isEqualTo(0);
+    }
+
+    @Test
+    void testCloseExpiredScanners() throws Exception {
+        KvScannerManager manager = new KvScannerManager(10, 1000L, clock);
+        long scannerId1 = manager.register(newScanner());
+        clock.advanceTime(500, TimeUnit.MILLISECONDS);
+        long scannerId2 = manager.register(newScanner());
+
+        clock.advanceTime(500, TimeUnit.MILLISECONDS);
+        // the scanner is used, so it doesn't expire
+        manager.get(scannerId2, tableBucket);
+        manager.closeExpiredScanners();
+        assertThat(manager.contains(scannerId1)).isFalse();
+        assertThat(manager.contains(scannerId2)).isTrue();
+
+        clock.advanceTime(1000, TimeUnit.MILLISECONDS);
+        manager.closeExpiredScanners();
+        assertThat(manager.numScanners()).isEqualTo(0);
+    }
+
+    private KvScanner newScanner() throws Exception {
+        return new KvScanner(
+                tableBucket,
+                rocksDBKv.openSnapshotReader(),
+                KvFormat.COMPACTED,
+                DATA1_ROW_TYPE,
+                null,
+                scanner -> {});
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.fluss.server.kv.scan;
+
+import com.alibaba.fluss.config.Configuration;
+import com.alibaba.fluss.exception.KvScannerNotFoundException;
+import com.alibaba.fluss.metadata.KvFormat;
+import com.alibaba.fluss.metadata.TableBucket;
+import com.alibaba.fluss.record.DefaultValueRecordBatch;
+import com.alibaba.fluss.record.ValueRecord;
+import com.alibaba.fluss.record.ValueRecordReadContext;
+import com.alibaba.fluss.row.InternalRow;
+import com.alibaba.fluss.row.decode.RowDecoder;
+import com.alibaba.fluss.row.encode.ValueEncoder;
+import com.alibaba.fluss.server.kv.rocksdb.RocksDBKv;
+import com.alibaba.fluss.server.kv.rocksdb.RocksDBKvBuilder;
+import com.alibaba.fluss.server.kv.rocksdb.RocksDBResourceContainer;
+import com.alibaba.fluss.types.DataType;
+import com.alibaba.fluss.types.DataTypes;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.annotation.Nullable;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static com.alibaba.fluss.record.TestData.DATA1_ROW_TYPE;
+import static com.alibaba.fluss.testutils.DataTestUtils.compactedRow;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/** Test for {@link KvScanner}. */
+class KvScannerTest {
+
+    private static final short SCHEMA_ID = 1;
+    private static final int NUM_VALUES = 100;
+
+    private final TableBucket tableBucket = new TableBucket(150001L, 0);
+
+    private @TempDir File tempDir;
+    private RocksDBKv rocksDBKv;
+
+    @BeforeEach
+    void beforeEach() throws Exception {
+        RocksDBResourceContainer container =
+                new RocksDBResourceContainer(new Configuration(), tempDir);
+        rocksDBKv = new RocksDBKvBuilder(tempDir, container, container.getColumnOptions()).build();
+        for (int i = 0; i < NUM_VALUES; i++) {
+            rocksDBKv.put(
+                    new byte[] {(byte) i},
+                    ValueEncoder.encodeValue(
+                            SCHEMA_ID, compactedRow(DATA1_ROW_TYPE, new Object[] {i, "v" + i})));
+        }
+    }
+
+    @AfterEach
+    void afterEach() throws Exception {
+        rocksDBKv.close();
+    }
+
+    @Test
+    void testScanPages() throws Exception {
+        AtomicInteger closed = new AtomicInteger();
+        KvScanner scanner = newScanner(null, s -> closed.incrementAndGet());
+
+        // puts after the scanner is opened are not visible to the scanner
+        rocksDBKv.put(
+                new byte[] {(byte) NUM_VALUES},
+                ValueEncoder.encodeValue(
+                        SCHEMA_ID, compactedRow(DATA1_ROW_TYPE, new Object[] {-1, "v"})));
+
+        List<InternalRow> rows = new ArrayList<>();
+        int numPages = 0;
+        while (scanner.hasMoreResults()) {
+            DefaultValueRecordBatch page = scanner.nextPage(64);
+            assertThat(page.getRecordCount()).isGreaterThan(0);
+            rows.addAll(readRows(page, DATA1_ROW_TYPE.getChildren().toArray(new DataType[0])));
+            numPages++;
+        }
+        assertThat(numPages).isGreaterThan(1);
+        assertThat(rows).hasSize(NUM_VALUES);
+        for (int i = 0; i < NUM_VALUES; i++) {
+            assertThat(rows.get(i).getInt(0)).isEqualTo(i);
+            assertThat(rows.get(i).getString(1).toString()).isEqualTo("v" + i);
+        }
+        // the scan is finished, the next page is empty
+        assertThat(scanner.nextPage(64).getRecordCount()).isEqualTo(0);
+
+        scanner.close();
+        scanner.close();
+        assertThat(closed.get()).isEqualTo(1);
+        assertThatThrownBy(() -> scanner.nextPage(64))
+                .isInstanceOf(KvScannerNotFoundException.class);
+    }
+
+    @Test
+    void testScanWithProjection() throws Exception {
+        KvScanner scanner = newScanner(new int[] {1}, s -> {});
+        DefaultValueRecordBatch page = scanner.nextPage(Integer.MAX_VALUE);
+        assertThat(scanner.hasMoreResults()).isFalse();
+
+        List<InternalRow> rows = readRows(page, new DataType[] {DataTypes.STRING()});
+        assertThat(rows).hasSize(NUM_VALUES);
+        for (int i = 0; i < NUM_VALUES; i++) {
+            assertThat(rows.get(i).getFieldCount()).isEqualTo(1);
+            assertThat(rows.get(i).getString(0).toString()).isEqualTo("v" + i);
+        }
+        scanner.close();
+    }
+
+    private KvScanner newScanner(@Nullable int[] projectedFields, Consumer<KvScanner> listener)
+            throws Exception {
+        return new KvScanner(
+                tableBucket,
+                rocksDBKv.openSnapshotReader(),
+                KvFormat.COMPACTED,
+                DATA1_ROW_TYPE,
+                projectedFields,
+                listener);
+    }
+
+    private static List<InternalRow> readRows(DefaultValueRecordBatch page, DataType[] types) {
+        ValueRecordReadContext readContext =
+                new ValueRecordReadContext(RowDecoder.create(KvFormat.COMPACTED, types));
+        List<InternalRow> rows = new ArrayList<>();
+        for (ValueRecord record : page.records(readContext)) {
+            rows.add(record.getRow());
+        }
+        return rows;
+    }
+}
@@ -23,6 +23,8 @@ import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 
 import java.io.IOException;
 import java.nio.file.Files;
@@ -54,10 +56,11 @@ class KvSnapshotDataDownloaderTest {
         }
     }
 
-    /** Tests that download files with multi-thread correctly. */
-    @Test
-    void testMultiThreadRestoreCorrectly(@TempDir Path destDir, @TempDir Path srcDir)
-            throws Exception {
+    /** Tests that download files with multi-thread correctly, with and without rate limit. */
+    @ParameterizedTest
+    @ValueSource(longs = {0L, 1024 * 1024L})
+    void testMultiThreadRestoreCorrectly(
+            long downloadRateLimit, @TempDir Path destDir, @TempDir Path srcDir) throws Exception {
         int numRemoteHandles = 3;
         int numSubHandles = 6;
         byte[][][] contents = createContents(numRemoteHandles, numSubHandles);
@@ -67,7 +70,7 @@ class KvSnapshotDataDownloaderTest {
         }
 
         KvSnapshotDataDownloader kvSnapshotDataDownloader =
-                new KvSnapshotDataDownloader(downLoaderThreadPool);
+                new KvSnapshotDataDownloader(downLoaderThreadPool, downloadRateLimit);
         kvSnapshotDataDownloader.transferAllDataToDirectory(
                 downloadRequests, new CloseableRegistry());
 
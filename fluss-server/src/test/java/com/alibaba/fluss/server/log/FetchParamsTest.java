@@ -53,5 +53,21 @@ class FetchParamsTest {
                 2L, 30L, 512, TestData.DATA2_ROW_TYPE, DEFAULT_COMPRESSION, new int[] {0, 2});
         // the FileLogProjection should be cached
         assertThat(fetchParams.projection()).isNotNull().isSameAs(prevProjection);
+
+        // set the current fetch with the shared projection
+        LogProjectionCache projectionCache = new LogProjectionCache();
+        fetchParams.setCurrentFetch(
+                3L,
+                50L,
+                128,
+                projectionCache.getOrCreate(
+                        3L, 1, TestData.DATA2_ROW_TYPE, DEFAULT_COMPRESSION, new int[] {1}),
+                null);
+        assertThat(fetchParams.fetchOffset()).isEqualTo(50L);
+        assertThat(fetchParams.maxFetchBytes()).isEqualTo(128);
+        assertThat(fetchParams.projection()).isNotNull().isSameAs(prevProjection);
+
+        fetchParams.setCurrentFetch(3L, 60L, 128, null, null);
+        assertThat(fetchParams.projection()).isNull();
     }
 }
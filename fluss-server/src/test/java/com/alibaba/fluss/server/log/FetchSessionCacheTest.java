@@ -0,0 +1,172 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.fluss.server.log;
+
+import com.alibaba.fluss.exception.FetchSessionIdNotFoundException;
+import com.alibaba.fluss.exception.InvalidFetchSessionEpochException;
+import com.alibaba.fluss.metadata.TableBucket;
+import com.alibaba.fluss.record.MemoryLogRecords;
+import com.alibaba.fluss.rpc.entity.FetchLogResultForBucket;
+import com.alibaba.fluss.rpc.protocol.ApiError;
+import com.alibaba.fluss.rpc.protocol.Errors;
+import com.alibaba.fluss.server.entity.FetchReqInfo;
+import com.alibaba.fluss.server.log.FetchSessionCache.FetchSession;
+import com.alibaba.fluss.utils.clock.ManualClock;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static com.alibaba.fluss.record.TestData.DATA1;
+import static com.alibaba.fluss.rpc.util.FetchSessionHandler.INITIAL_EPOCH;
+import static com.alibaba.fluss.rpc.util.FetchSessionHandler.INVALID_SESSION_ID;
+import static com.alibaba.fluss.server.log.FetchSessionCache.EVICTION_IDLE_MS;
+import static com.alibaba.fluss.testutils.DataTestUtils.genMemoryLogRecordsByObject;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/** Tests for {@link FetchSessionCache}. */
+class FetchSessionCacheTest {
+
+    private static final TableBucket TB0 = new TableBucket(1L, 0);
+    private static final TableBucket TB1 = new TableBucket(1L, 1);
+    private static final TableBucket TB2 = new TableBucket(1L, 2);
+
+    @Test
+    void testIncrementalUpdate() {
+        FetchSessionCache cache = new FetchSessionCache(10, new ManualClock());
+        Map<TableBucket, FetchReqInfo> fetchData = new HashMap<>();
+        fetchData.put(TB0, fetchReqInfo(0L));
+        fetchData.put(TB1, fetchReqInfo(0L));
+        FetchSession session =
+                cache.update(-1, INVALID_SESSION_ID, INITIAL_EPOCH, fetchData, emptyList());
+        assertThat(session).isNotNull();
+        assertThat(session.fetchData()).isEqualTo(fetchData);
+
+        // add a bucket, change the offset of a bucket and forget a bucket
+        Map<TableBucket, FetchReqInfo> incremental = new HashMap<>();
+        incremental.put(TB0, fetchReqInfo(10L));
+        incremental.put(TB2, fetchReqInfo(5L));
+        assertThat(cache.update(-1, session.id(), 1, incremental, Collections.singletonList(TB1)))
+                .isSameAs(session);
+        assertThat(session.fetchData()).isEqualTo(incremental);
+
+        // the epoch must be the next epoch
+        assertThatThrownBy(() -> cache.update(-1, session.id(), 1, incremental, emptyList()))
+                .isInstanceOf(InvalidFetchSessionEpochException.class);
+        // the session belongs to another fetcher
+        assertThatThrownBy(() -> cache.update(1, session.id(), 2, incremental, emptyList()))
+                .isInstanceOf(FetchSessionIdNotFoundException.class);
+        assertThat(cache.update(-1, session.id(), 2, Collections.emptyMap(), emptyList()))
+                .isSameAs(session);
+
+        // a full request closes the old session
+        FetchSession newSession =
+                cache.update(-1, session.id(), INITIAL_EPOCH, fetchData, emptyList());
+        assertThat(newSession).isNotNull();
+        assertThat(newSession.id()).isNotEqualTo(session.id());
+        assertThat(cache.size()).isEqualTo(1);
+        assertThatThrownBy(() -> cache.update(-1, session.id(), 3, incremental, emptyList()))
+                .isInstanceOf(FetchSessionIdNotFoundException.class);
+    }
+
+    @Test
+    void testFilterResponse() throws Exception {
+        FetchSessionCache cache = new FetchSessionCache(10, new ManualClock());
+        Map<TableBucket, FetchReqInfo> fetchData = new HashMap<>();
+        fetchData.put(TB0, fetchReqInfo(0L));
+        fetchData.put(TB1, fetchReqInfo(0L));
+        FetchSession session =
+                cache.update(-1, INVALID_SESSION_ID, INITIAL_EPOCH, fetchData, emptyList());
+        assertThat(session).isNotNull();
+
+        // all the buckets are returned in the first response
+        Map<TableBucket, FetchLogResultForBucket> results = new HashMap<>();
+        results.put(TB0, new FetchLogResultForBucket(TB0, MemoryLogRecords.EMPTY, 0L));
+        results.put(TB1, new FetchLogResultForBucket(TB1, MemoryLogRecords.EMPTY, 0L));
+        assertThat(session.filterResponse(results)).containsOnlyKeys(TB0, TB1);
+
+        // the idle buckets are omitted
+        assertThat(session.filterResponse(results)).isEmpty();
+
+        // the buckets with new data, new high watermark or error are returned
+        results.put(TB0, new FetchLogResultForBucket(TB0, genMemoryLogRecordsByObject(DATA1), 10L));
+        results.put(
+                TB1,
+                new FetchLogResultForBucket(
+                        TB1, new ApiError(Errors.NOT_LEADER_OR_FOLLOWER, null)));
+        assertThat(session.filterResponse(results)).containsOnlyKeys(TB0, TB1);
+        results.put(TB0, new FetchLogResultForBucket(TB0, MemoryLogRecords.EMPTY, 10L));
+        results.put(TB1, new FetchLogResultForBucket(TB1, MemoryLogRecords.EMPTY, 5L));
+        assertThat(session.filterResponse(results)).containsOnlyKeys(TB1);
+    }
+
+    @Test
+    void testEviction() {
+        ManualClock clock = new ManualClock();
+        FetchSessionCache cache = new FetchSessionCache(2, clock);
+        Map<TableBucket, FetchReqInfo> fetchData = Collections.singletonMap(TB0, fetchReqInfo(0L));
+        FetchSession session1 =
+                cache.update(-1, INVALID_SESSION_ID, INITIAL_EPOCH, fetchData, emptyList());
+        FetchSession session2 =
+                cache.update(-1, INVALID_SESSION_ID, INITIAL_EPOCH, fetchData, emptyList());
+        assertThat(session1).isNotNull();
+        assertThat(session2).isNotNull();
+
+        // no session is evicted if all the sessions are active
+        assertThat(cache.update(-1, INVALID_SESSION_ID, INITIAL_EPOCH, fetchData, emptyList()))
+                .isNull();
+
+        clock.advanceTime(EVICTION_IDLE_MS, TimeUnit.MILLISECONDS);
+        // the session 2 is used recently, so the session 1 is evicted
+        cache.update(-1, session2.id(), 1, fetchData, emptyList());
+        FetchSession session3 =
+                cache.update(-1, INVALID_SESSION_ID, INITIAL_EPOCH, fetchData, emptyList());
+        assertThat(session3).isNotNull();
+        assertThat(cache.size()).isEqualTo(2);
+        assertThatThrownBy(() -> cache.update(-1, session1.id(), 1, fetchData, emptyList()))
+                .isInstanceOf(FetchSessionIdNotFoundException.class);
+        assertThat(cache.update(-1, session2.id(), 2, fetchData, emptyList())).isSameAs(session2);
+    }
+
+    @Test
+    void testDisabled() {
+        FetchSessionCache cache = new FetchSessionCache(0, new ManualClock());
+        assertThat(
+                        cache.update(
+                                -1,
+                                INVALID_SESSION_ID,
+                                INITIAL_EPOCH,
+                                Collections.singletonMap(TB0, fetchReqInfo(0L)),
+                                emptyList()))
+                .isNull();
+        assertThat(cache.size()).isEqualTo(0);
+    }
+
+    private static FetchReqInfo fetchReqInfo(long fetchOffset) {
+        return new FetchReqInfo(1L, fetchOffset, 1024);
+    }
+
+    private static List<TableBucket> emptyList() {
+        return Collections.emptyList();
+    }
+}
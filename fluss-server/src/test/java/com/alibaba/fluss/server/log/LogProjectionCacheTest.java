@@ -0,0 +1,77 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.fluss.server.log;
+
+import com.alibaba.fluss.exception.InvalidColumnProjectionException;
+import com.alibaba.fluss.record.FileLogProjection.ProjectionInfo;
+
+import org.junit.jupiter.api.Test;
+
+import static com.alibaba.fluss.compression.ArrowCompressionInfo.DEFAULT_COMPRESSION;
+import static com.alibaba.fluss.compression.ArrowCompressionInfo.NO_COMPRESSION;
+import static com.alibaba.fluss.record.TestData.DATA1_ROW_TYPE;
+import static com.alibaba.fluss.record.TestData.DATA2_ROW_TYPE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/** Tests for {@link LogProjectionCache}. */
+class LogProjectionCacheTest {
+
+    @Test
+    void testGetOrCreate() {
+        LogProjectionCache cache = new LogProjectionCache();
+        ProjectionInfo projection =
+                cache.getOrCreate(1L, 1, DATA2_ROW_TYPE, DEFAULT_COMPRESSION, new int[] {0, 2});
+        // the same projection is shared even if the projected fields are different instances
+        assertThat(cache.getOrCreate(1L, 1, DATA2_ROW_TYPE, DEFAULT_COMPRESSION, new int[] {0, 2}))
+                .isSameAs(projection);
+        assertThat(cache.size()).isEqualTo(1);
+
+        // different fields, table, schema or compression type
+        assertThat(cache.getOrCreate(1L, 1, DATA2_ROW_TYPE, DEFAULT_COMPRESSION, new int[] {1}))
+                .isNotSameAs(projection);
+        assertThat(cache.getOrCreate(2L, 1, DATA2_ROW_TYPE, DEFAULT_COMPRESSION, new int[] {0, 2}))
+                .isNotSameAs(projection);
+        assertThat(cache.getOrCreate(1L, 2, DATA2_ROW_TYPE, DEFAULT_COMPRESSION, new int[] {0, 2}))
+                .isNotSameAs(projection);
+        assertThat(cache.getOrCreate(1L, 1, DATA2_ROW_TYPE, NO_COMPRESSION, new int[] {0, 2}))
+                .isNotSameAs(projection);
+        assertThat(cache.size()).isEqualTo(5);
+    }
+
+    @Test
+    void testBoundedSize() {
+        LogProjectionCache cache = new LogProjectionCache(2);
+        for (long tableId = 0; tableId < 10; tableId++) {
+            cache.getOrCreate(tableId, 1, DATA1_ROW_TYPE, DEFAULT_COMPRESSION, new int[] {0});
+        }
+        assertThat(cache.size()).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    void testIllegalProjection() {
+        LogProjectionCache cache = new LogProjectionCache();
+        assertThatThrownBy(
+                        () ->
+                                cache.getOrCreate(
+                                        1L, 1, DATA1_ROW_TYPE, DEFAULT_COMPRESSION, new int[] {3}))
+                .isInstanceOf(InvalidColumnProjectionException.class)
+                .hasMessageContaining("is out of bound for schema with 2 fields");
+        assertThat(cache.size()).isEqualTo(0);
+    }
+}
@@ -38,6 +38,8 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 
 import java.io.File;
 import java.io.IOException;
@@ -45,11 +47,15 @@ import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledFuture;
 
 import static com.alibaba.fluss.record.TestData.DATA1;
@@ -232,6 +238,84 @@ final class LogTabletTest extends LogTestBase {
         assertThat(entry.firstDataOffset()).isEqualTo(10L);
     }
 
+    @Test
+    void testConcurrentAppendsWithGroupCommit() throws Exception {
+        conf.set(ConfigOptions.LOG_APPEND_GROUP_COMMIT_ENABLED, true);
+        LogTablet log = createLogTablet(conf);
+        int numWriters = 8;
+        int numBatchesPerWriter = 50;
+        ExecutorService executor = Executors.newFixedThreadPool(numWriters);
+        List<Future<List<LogAppendInfo>>> futures = new ArrayList<>();
+        for (int i = 0; i < numWriters; i++) {
+            long writerId = i;
+            futures.add(
+                    executor.submit(
+                            () -> {
+                                List<LogAppendInfo> appendInfos = new ArrayList<>();
+                                for (int seq = 0; seq < numBatchesPerWriter; seq++) {
+                                    appendInfos.add(
+                                            log.appendAsLeader(
+                                                    genMemoryLogRecordsWithWriterId(
+                                                            DATA1, writerId, seq, 0L)));
+                                }
+                                // the duplicated batch returns the offsets of the original one
+                                LogAppendInfo duplicated =
+                                        log.appendAsLeader(
+                                                genMemoryLogRecordsWithWriterId(
+                                                        DATA1,
+                                                        writerId,
+                                                        numBatchesPerWriter - 1,
+                                                        0L));
+                                assertThat(duplicated.duplicated()).isTrue();
+                                assertThat(duplicated.firstOffset())
+                                        .isEqualTo(
+                                                appendInfos
+                                                        .get(numBatchesPerWriter - 1)
+                                                        .firstOffset());
+                                return appendInfos;
+                            }));
+        }
+
+        List<LogAppendInfo> allAppendInfos = new ArrayList<>();
+        for (Future<List<LogAppendInfo>> future : futures) {
+            List<LogAppendInfo> appendInfos = future.get();
+            // the appends of a writer are ordered
+            for (int i = 1; i < appendInfos.size(); i++) {
+                assertThat(appendInfos.get(i).firstOffset())
+                        .isGreaterThan(appendInfos.get(i - 1).lastOffset());
+            }
+            allAppendInfos.addAll(appendInfos);
+        }
+        executor.shutdown();
+
+        // the offsets of all the appends are contiguous without overlapping
+        allAppendInfos.sort(Comparator.comparingLong(LogAppendInfo::firstOffset));
+        long expectedOffset = 0L;
+        for (LogAppendInfo appendInfo : allAppendInfos) {
+            assertThat(appendInfo.duplicated()).isFalse();
+            assertThat(appendInfo.firstOffset()).isEqualTo(expectedOffset);
+            assertThat(appendInfo.lastOffset() - appendInfo.firstOffset() + 1)
+                    .isEqualTo(DATA1.size());
+            expectedOffset = appendInfo.lastOffset() + 1;
+        }
+        assertThat(log.localLogEndOffset()).isEqualTo(expectedOffset);
+        for (long writerId = 0; writerId < numWriters; writerId++) {
+            assertThat(log.activeWriters().get(writerId).lastBatchSequence())
+                    .isEqualTo(numBatchesPerWriter - 1);
+        }
+
+        // the batches in the log are the same as the appended ones
+        FetchDataInfo fetchDataInfo =
+                log.read(0L, Integer.MAX_VALUE, FetchIsolation.LOG_END, false, null);
+        int index = 0;
+        for (LogRecordBatch batch : fetchDataInfo.getRecords().batches()) {
+            assertThat(batch.baseLogOffset()).isEqualTo(allAppendInfos.get(index).firstOffset());
+            assertThat(batch.lastLogOffset()).isEqualTo(allAppendInfos.get(index).lastOffset());
+            index++;
+        }
+        assertThat(index).isEqualTo(allAppendInfos.size());
+    }
+
     @Test
     void testOffsetFromWriterSnapshotFile() {
         long offset = 23423423L;
@@ -424,25 +508,28 @@ final class LogTabletTest extends LogTestBase {
                 () -> assertThat(log.activeWriters().keySet()).isEqualTo(Collections.emptySet()));
     }
 
-    @Test
-    void testDuplicateAppends() throws Exception {
+    @ParameterizedTest
+    @ValueSource(booleans = {true, false})
+    void testDuplicateAppends(boolean groupCommitEnabled) throws Exception {
+        conf.set(ConfigOptions.LOG_APPEND_GROUP_COMMIT_ENABLED, groupCommitEnabled);
+        LogTablet log = createLogTablet(conf);
         long writerId = 1L;
         // Pad the beginning of the log.
         for (int i = 0; i <= 5; i++) {
-            logTablet.appendAsLeader(
+            log.appendAsLeader(
                     genMemoryLogRecordsWithWriterId(
                             Collections.singletonList(new Object[] {1, "a"}), writerId, i, 0L));
         }
 
         // Append an entry with multiple log records.
         LogAppendInfo multiEntryAppendInfo =
-                logTablet.appendAsLeader(genMemoryLogRecordsWithWriterId(DATA1, writerId, 6, 0L));
+                log.appendAsLeader(genMemoryLogRecordsWithWriterId(DATA1, writerId, 6, 0L));
         assertThat(multiEntryAppendInfo.lastOffset() - multiEntryAppendInfo.firstOffset() + 1)
                 .isEqualTo(DATA1.size());
 
         // Append a Duplicate of the tail, when the entry at the tail has multiple records.
         LogAppendInfo dupMultiEntryAppendInfo =
-                logTablet.appendAsLeader(genMemoryLogRecordsWithWriterId(DATA1, writerId, 6, 0L));
+                log.appendAsLeader(genMemoryLogRecordsWithWriterId(DATA1, writerId, 6, 0L));
         assertThat(dupMultiEntryAppendInfo.firstOffset())
                 .isEqualTo(multiEntryAppendInfo.firstOffset());
         assertThat(dupMultiEntryAppendInfo.lastOffset())
@@ -451,31 +538,31 @@ final class LogTabletTest extends LogTestBase {
         // Append a partial duplicate of the tail. This is not allowed.
         assertThatThrownBy(
                         () ->
-                                logTablet.appendAsLeader(
+                                log.appendAsLeader(
                                         genMemoryLogRecordsWithWriterId(DATA1, writerId, 8, 0L)))
                 .isInstanceOf(OutOfOrderSequenceException.class)
                 .hasMessageContaining(
                         String.format(
                                 "Out of order batch sequence for writer 1 at offset 25 in table-bucket "
                                         + "TableBucket{tableId=150001, bucket=%s} : 8 (incoming batch seq.), 6 (current batch seq.)",
-                                logTablet.getTableBucket().getBucket()));
+                                log.getTableBucket().getBucket()));
 
         // Append a duplicate of the batch which is 4th from the tail. This should succeed without
         // error since we retain the batch metadata of the last 5 batches.
-        logTablet.appendAsLeader(genMemoryLogRecordsWithWriterId(DATA1, writerId, 4, 0L));
+        log.appendAsLeader(genMemoryLogRecordsWithWriterId(DATA1, writerId, 4, 0L));
 
         // Duplicates at older entries are reported as OutOfOrderSequence errors. batch 1 is removed
         // from writerState.
         assertThatThrownBy(
                         () ->
-                                logTablet.appendAsLeader(
+                                log.appendAsLeader(
                                         genMemoryLogRecordsWithWriterId(DATA1, writerId, 1, 0L)))
                 .isInstanceOf(OutOfOrderSequenceException.class)
                 .hasMessageContaining(
                         String.format(
                                 "Out of order batch sequence for writer 1 at offset 25 in table-bucket "
                                         + "TableBucket{tableId=150001, bucket=%s} : 1 (incoming batch seq.), 6 (current batch seq.)",
-                                logTablet.getTableBucket().getBucket()));
+                                log.getTableBucket().getBucket()));
     }
 
     private LogTablet createLogTablet(Configuration config) throws Exception {
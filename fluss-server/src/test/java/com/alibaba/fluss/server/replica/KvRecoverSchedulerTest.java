@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.fluss.server.replica;
+
+import com.alibaba.fluss.metadata.TableBucket;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Tests for {@link KvRecoverScheduler}. */
+class KvRecoverSchedulerTest {
+
+    private static final TableBucket KV_TB0 = new TableBucket(1L, 0);
+    private static final TableBucket KV_TB1 = new TableBucket(1L, 1);
+    private static final TableBucket KV_TB2 = new TableBucket(1L, 2);
+    private static final TableBucket LOG_TB0 = new TableBucket(2L, 0);
+
+    @Test
+    void testRunInPriority() throws Exception {
+        try (KvRecoverScheduler scheduler = new KvRecoverScheduler(1, 0)) {
+            List<TableBucket> transited = Collections.synchronizedList(new ArrayList<>());
+            List<KvRecoverScheduler.Transition> transitions =
+                    Arrays.asList(
+                            new KvRecoverScheduler.Transition(
+                                    KV_TB0,
+                                    true,
+                                    () -> {
+                                        transited.add(KV_TB0);
+                                        assertThat(scheduler.numRecoveringBuckets()).isEqualTo(3);
+                                        // the bucket 2 is requested while waiting
+                                        scheduler.prioritize(KV_TB2);
+                                    }),
+                            new KvRecoverScheduler.Transition(
+                                    KV_TB1, true, () -> transited.add(KV_TB1)),
+                            new KvRecoverScheduler.Transition(
+                                    KV_TB2, true, () -> transited.add(KV_TB2)),
+                            new KvRecoverScheduler.Transition(
+                                    LOG_TB0, false, () -> transited.add(LOG_TB0)));
+
+            assertThat(scheduler.runAll(transitions)).isEmpty();
+            // the log bucket transits first
+            assertThat(transited).containsExactly(LOG_TB0, KV_TB0, KV_TB2, KV_TB1);
+            assertThat(scheduler.numRecoveringBuckets()).isEqualTo(0);
+        }
+    }
+
+    @Test
+    void testRunInParallel() throws Exception {
+        try (KvRecoverScheduler scheduler = new KvRecoverScheduler(3, 0)) {
+            // all the transitions wait for each other, so they must run in parallel
+            CountDownLatch allStarted = new CountDownLatch(3);
+            List<KvRecoverScheduler.Transition> transitions = new ArrayList<>();
+            for (TableBucket tb : Arrays.asList(KV_TB0, KV_TB1, KV_TB2)) {
+                transitions.add(
+                        new KvRecoverScheduler.Transition(
+                                tb,
+                                true,
+                                () -> {
+                                    allStarted.countDown();
+                                    assertThat(allStarted.await(1, TimeUnit.MINUTES)).isTrue();
+                                }));
+            }
+            assertThat(scheduler.runAll(transitions)).isEmpty();
+        }
+    }
+
+    @Test
+    void testFailures() throws Exception {
+        try (KvRecoverScheduler scheduler = new KvRecoverScheduler(2, 0)) {
+            Exception failure = new Exception("restore failed");
+            List<KvRecoverScheduler.Transition> transitions =
+                    Arrays.asList(
+                            new KvRecoverScheduler.Transition(
+                                    KV_TB0,
+                                    true,
+                                    () -> {
+                                        throw failure;
+                                    }),
+                            new KvRecoverScheduler.Transition(KV_TB1, true, () -> {}),
+                            new KvRecoverScheduler.Transition(LOG_TB0, false, () -> {}));
+            Map<TableBucket, Throwable> failures = scheduler.runAll(transitions);
+            assertThat(failures).containsOnlyKeys(KV_TB0);
+            assertThat(failures.get(KV_TB0)).isSameAs(failure);
+        }
+    }
+}
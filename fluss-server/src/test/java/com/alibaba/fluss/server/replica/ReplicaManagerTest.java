@@ -698,16 +698,16 @@ class ReplicaManagerTest extends ReplicaTestBase {
         // Lookup from none pk table.
         TableBucket tb2 = new TableBucket(DATA1_TABLE_ID, 1);
         makeLogTableAsLeader(tb2.getBucket());
+        CompletableFuture<Map<TableBucket, LookupResultForBucket>> lookupFuture =
+                new CompletableFuture<>();
         replicaManager.lookups(
                 Collections.singletonMap(tb2, Collections.singletonList(key1Bytes)),
-                (lookupResultForBuckets) -> {
-                    LookupResultForBucket lookupResultForBucket = lookupResultForBuckets.get(tb2);
-                    assertThat(lookupResultForBucket.failed()).isTrue();
-                    ApiError apiError = lookupResultForBucket.getError();
-                    assertThat(apiError.error()).isEqualTo(Errors.NON_PRIMARY_KEY_TABLE_EXCEPTION);
-                    assertThat(apiError.message())
-                            .isEqualTo("the primary key table not exists for %s", tb2);
-                });
+                lookupFuture::complete);
+        LookupResultForBucket lookupResultForBucket = lookupFuture.get().get(tb2);
+        assertThat(lookupResultForBucket.failed()).isTrue();
+        ApiError apiError = lookupResultForBucket.getError();
+        assertThat(apiError.error()).isEqualTo(Errors.NON_PRIMARY_KEY_TABLE_EXCEPTION);
+        assertThat(apiError.message()).isEqualTo("the primary key table not exists for %s", tb2);
     }
 
     @Test
@@ -796,19 +796,18 @@ class ReplicaManagerTest extends ReplicaTestBase {
                         Collections.emptyMap());
         TableBucket tb3 = new TableBucket(tableId, 0);
         makeLogTableAsLeader(tb3, false);
+        CompletableFuture<Map<TableBucket, PrefixLookupResultForBucket>> prefixLookupFuture =
+                new CompletableFuture<>();
         replicaManager.prefixLookups(
                 Collections.singletonMap(tb3, Collections.singletonList(prefixKey2Bytes)),
-                (prefixLookupResultForBuckets) -> {
-                    PrefixLookupResultForBucket lookupResultForBucket =
-                            prefixLookupResultForBuckets.get(tb3);
-                    assertThat(lookupResultForBucket.failed()).isTrue();
-                    ApiError apiError = lookupResultForBucket.getError();
-                    assertThat(apiError.error()).isEqualTo(Errors.NON_PRIMARY_KEY_TABLE_EXCEPTION);
-                    assertThat(apiError.message())
-                            .isEqualTo(
-                                    "Try to do prefix lookup on a non primary key table: "
-                                            + DATA1_TABLE_PATH);
-                });
+                prefixLookupFuture::complete);
+        PrefixLookupResultForBucket lookupResultForBucket = prefixLookupFuture.get().get(tb3);
+        assertThat(lookupResultForBucket.failed()).isTrue();
+        ApiError apiError = lookupResultForBucket.getError();
+        assertThat(apiError.error()).isEqualTo(Errors.NON_PRIMARY_KEY_TABLE_EXCEPTION);
+        assertThat(apiError.message())
+                .isEqualTo(
+                        "Try to do prefix lookup on a non primary key table: " + DATA1_TABLE_PATH);
     }
 
     @Test
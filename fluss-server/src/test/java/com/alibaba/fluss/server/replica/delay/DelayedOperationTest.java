@@ -29,6 +29,7 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Random;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
@@ -240,6 +241,88 @@ public class DelayedOperationTest {
         assertThat(cancelledOperations.size()).isEqualTo(0);
     }
 
+    @Test
+    void testCoalesceConcurrentCheckAndComplete() throws Exception {
+        executorService = Executors.newSingleThreadExecutor();
+        CountDownLatch checking = new CountDownLatch(1);
+        CountDownLatch coalesced = new CountDownLatch(1);
+        AtomicInteger checks = new AtomicInteger(0);
+        TestDelayedOperation r1 =
+                new TestDelayedOperation(100000L) {
+                    @Override
+                    public boolean tryComplete() {
+                        // the first two checks are from tryCompleteElseWatch()
+                        if (checks.incrementAndGet() == 3) {
+                            // the first check of the manager, block it until another check comes
+                            checking.countDown();
+                            try {
+                                coalesced.await();
+                            } catch (InterruptedException e) {
+                                throw new FlussRuntimeException(e);
+                            }
+                            return false;
+                        }
+                        return super.tryComplete();
+                    }
+                };
+        assertThat(
+                        delayedOperationManager.tryCompleteElseWatch(
+                                r1, Collections.singletonList("test1")))
+                .isFalse();
+
+        Future<Integer> firstCheck =
+                executorService.submit(() -> delayedOperationManager.checkAndComplete("test1"));
+        checking.await();
+        r1.completable = true;
+        // the check is coalesced into the running check
+        assertThat(delayedOperationManager.checkAndComplete("test1")).isEqualTo(0);
+        coalesced.countDown();
+
+        // the running check checks again and completes the operation
+        assertThat(firstCheck.get()).isEqualTo(1);
+        assertThat(r1.isCompleted()).isTrue();
+        assertThat(delayedOperationManager.watched()).isEqualTo(0);
+    }
+
+    @Test
+    void testBoundedCoalescedCheckPasses() throws Exception {
+        executorService = Executors.newSingleThreadExecutor();
+        AtomicInteger checks = new AtomicInteger(0);
+        TestDelayedOperation r1 =
+                new TestDelayedOperation(100000L) {
+                    private boolean requesting = false;
+
+                    @Override
+                    public boolean tryComplete() {
+                        checks.incrementAndGet();
+                        if (!requesting) {
+                            // another check is requested during every pass of the checking thread
+                            requesting = true;
+                            try {
+                                delayedOperationManager.checkAndComplete("test1");
+                            } finally {
+                                requesting = false;
+                            }
+                        }
+                        return false;
+                    }
+                };
+        assertThat(
+                        delayedOperationManager.tryCompleteElseWatch(
+                                r1, Collections.singletonList("test1")))
+                .isFalse();
+        checks.set(0);
+
+        Future<Integer> check =
+                executorService.submit(() -> delayedOperationManager.checkAndComplete("test1"));
+        assertThat(check.get(1, TimeUnit.MINUTES)).isEqualTo(0);
+        // the max passes for the coalesced checks, the last pass for the checks requested so far,
+        // in which the requested check takes over and makes its own pass
+        assertThat(checks.get())
+                .isEqualTo(DelayedOperationManager.MAX_COALESCED_CHECK_PASSES + 2);
+        assertThat(delayedOperationManager.watched()).isEqualTo(1);
+    }
+
     /**
      * Test `tryComplete` with multiple threads to verify that there are no timing windows when
      * completion is not performed even if the thread that makes the operation completable may not
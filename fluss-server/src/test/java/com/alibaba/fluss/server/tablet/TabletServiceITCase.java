@@ -19,6 +19,7 @@ package com.alibaba.fluss.server.tablet;
 
 import com.alibaba.fluss.config.ConfigOptions;
 import com.alibaba.fluss.exception.FlussRuntimeException;
+import com.alibaba.fluss.exception.InvalidFetchSessionEpochException;
 import com.alibaba.fluss.exception.InvalidRequiredAcksException;
 import com.alibaba.fluss.metadata.LogFormat;
 import com.alibaba.fluss.metadata.PhysicalTablePath;
@@ -31,6 +32,7 @@ import com.alibaba.fluss.record.DefaultValueRecordBatch;
 import com.alibaba.fluss.row.encode.CompactedKeyEncoder;
 import com.alibaba.fluss.row.encode.ValueEncoder;
 import com.alibaba.fluss.rpc.gateway.TabletServerGateway;
+import com.alibaba.fluss.rpc.messages.FetchLogRequest;
 import com.alibaba.fluss.rpc.messages.FetchLogResponse;
 import com.alibaba.fluss.rpc.messages.InitWriterRequest;
 import com.alibaba.fluss.rpc.messages.InitWriterResponse;
@@ -88,6 +90,7 @@ import static com.alibaba.fluss.record.TestData.DATA1_TABLE_PATH;
 import static com.alibaba.fluss.record.TestData.DATA1_TABLE_PATH_PK;
 import static com.alibaba.fluss.record.TestData.DATA_1_WITH_KEY_AND_VALUE;
 import static com.alibaba.fluss.record.TestData.DEFAULT_SCHEMA_ID;
+import static com.alibaba.fluss.rpc.util.FetchSessionHandler.INITIAL_EPOCH;
 import static com.alibaba.fluss.server.testutils.KvTestUtils.assertLookupResponse;
 import static com.alibaba.fluss.server.testutils.KvTestUtils.assertPrefixLookupResponse;
 import static com.alibaba.fluss.server.testutils.RpcMessageTestUtils.assertFetchLogResponse;
@@ -425,6 +428,85 @@ public class TabletServiceITCase {
                         + "but the table test_db_1.test_indexed_table_1 is INDEXED format.");
     }
 
+    @Test
+    void testFetchLogWithSession() throws Exception {
+        long tableId =
+                createTable(
+                        FLUSS_CLUSTER_EXTENSION,
+                        TablePath.of("test_db_1", "test_fetch_session_table"),
+                        TableDescriptor.builder().schema(DATA1_SCHEMA).distributedBy(1).build());
+        TableBucket tb = new TableBucket(tableId, 0);
+
+        FLUSS_CLUSTER_EXTENSION.waitUtilAllReplicaReady(tb);
+        int leader = FLUSS_CLUSTER_EXTENSION.waitAndGetLeader(tb);
+        TabletServerGateway leaderGateWay =
+                FLUSS_CLUSTER_EXTENSION.newTabletServerClientForNode(leader);
+        assertProduceLogResponse(
+                leaderGateWay
+                        .produceLog(
+                                newProduceLogRequest(
+                                        tableId, 0, 1, genMemoryLogRecordsByObject(DATA1)))
+                        .get(),
+                0,
+                0L);
+
+        // the full request creates a session
+        FetchLogResponse response =
+                leaderGateWay
+                        .fetchLog(
+                                newFetchLogRequest(-1, tableId, 0, 0L)
+                                        .setSessionEpoch(INITIAL_EPOCH))
+                        .get();
+        assertFetchLogResponse(response, tableId, 0, 10L, DATA1);
+        assertThat(response.hasSessionId()).isTrue();
+        int sessionId = response.getSessionId();
+
+        // the bucket without new data is omitted
+        response =
+                leaderGateWay
+                        .fetchLog(
+                                newFetchLogRequest(-1, tableId, 0, 10L)
+                                        .setSessionId(sessionId)
+                                        .setSessionEpoch(1))
+                        .get();
+        assertThat(response.getSessionId()).isEqualTo(sessionId);
+        assertThat(response.getTablesRespsCount()).isEqualTo(0);
+
+        // the bucket cached by the session is fetched from the cached offset
+        assertProduceLogResponse(
+                leaderGateWay
+                        .produceLog(
+                                newProduceLogRequest(
+                                        tableId, 0, 1, genMemoryLogRecordsByObject(ANOTHER_DATA1)))
+                        .get(),
+                0,
+                10L);
+        response =
+                leaderGateWay
+                        .fetchLog(
+                                new FetchLogRequest()
+                                        .setFollowerServerId(-1)
+                                        .setMaxBytes(Integer.MAX_VALUE)
+                                        .setSessionId(sessionId)
+                                        .setSessionEpoch(2))
+                        .get();
+        assertFetchLogResponse(response, tableId, 0, 20L, ANOTHER_DATA1);
+
+        // the epoch of the session is 3 now
+        assertThatThrownBy(
+                        () ->
+                                leaderGateWay
+                                        .fetchLog(
+                                                new FetchLogRequest()
+                                                        .setFollowerServerId(-1)
+                                                        .setMaxBytes(Integer.MAX_VALUE)
+                                                        .setSessionId(sessionId)
+                                                        .setSessionEpoch(2))
+                                        .get())
+                .rootCause()
+                .isInstanceOf(InvalidFetchSessionEpochException.class);
+    }
+
     @Test
     void testPutKv() throws Exception {
         long tableId =